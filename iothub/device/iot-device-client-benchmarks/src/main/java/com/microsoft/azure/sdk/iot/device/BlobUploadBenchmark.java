@@ -0,0 +1,155 @@
+// Copyright (c) Microsoft. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package com.microsoft.azure.sdk.iot.device;
+
+import com.sun.net.httpserver.HttpServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.util.Random;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how long {@link BlobUploader} takes to upload a 10 MB to 2 GB file to an in-process stand-in for the Azure
+ * Storage block blob REST API on the loopback interface. The stand-in reads and discards each block, and then waits
+ * "blockLatencyMillis" before it responds, to stand in for the round trip to a real storage account. The file is
+ * generated as it is read, so only the uploader's own buffers are held in memory. The throughput in MB/s is the file
+ * size divided by the reported time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = "-Dsun.net.httpserver.nodelay=true")
+public class BlobUploadBenchmark
+{
+    private static final int MEGABYTE = 1024 * 1024;
+
+    @Param({"10", "100", "2048"})
+    public int fileSizeMegabytes;
+
+    @Param({"1", "4", "8"})
+    public int maxConcurrency;
+
+    @Param({"0", "20"})
+    public int blockLatencyMillis;
+
+    private HttpServer server;
+    private URI blobUri;
+    private BlobUploader blobUploader;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException
+    {
+        this.server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        this.server.createContext("/container/blob", exchange ->
+        {
+            byte[] buffer = new byte[64 * 1024];
+            try (InputStream requestBody = exchange.getRequestBody())
+            {
+                while (requestBody.read(buffer) != -1)
+                {
+                    // discard the block
+                }
+            }
+
+            if (this.blockLatencyMillis > 0)
+            {
+                try
+                {
+                    Thread.sleep(this.blockLatencyMillis);
+                }
+                catch (InterruptedException e)
+                {
+                    Thread.currentThread().interrupt();
+                }
+            }
+
+            exchange.sendResponseHeaders(201, -1);
+            exchange.close();
+        });
+        this.server.setExecutor(Executors.newCachedThreadPool());
+        this.server.start();
+
+        // HttpsConnection only allows plain HTTP requests to localhost
+        this.blobUri = URI.create("http://localhost:" + this.server.getAddress().getPort() + "/container/blob?sv=2020-08-04&sig=signature");
+
+        BlobUploadOptions options = BlobUploadOptions.builder()
+            .maxConcurrency(this.maxConcurrency)
+            .maxBufferedBytes((long) this.maxConcurrency * BlobUploadOptions.builder().build().getBlockSize())
+            .build();
+        this.blobUploader = new BlobUploader(options, null, "benchmark", 0, 60000);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown()
+    {
+        this.server.stop(0);
+    }
+
+    @Benchmark
+    public void upload() throws IOException, InterruptedException
+    {
+        this.blobUploader.upload(this.blobUri, BlobUploader.BlockSource.of(new GeneratedFileInputStream((long) this.fileSizeMegabytes * MEGABYTE)));
+    }
+
+    /**
+     * A file of the given length that repeats one megabyte of random bytes.
+     */
+    private static final class GeneratedFileInputStream extends InputStream
+    {
+        private static final byte[] PATTERN = new byte[MEGABYTE];
+
+        static
+        {
+            new Random(0).nextBytes(PATTERN);
+        }
+
+        private final long length;
+        private long position;
+
+        GeneratedFileInputStream(long length)
+        {
+            this.length = length;
+        }
+
+        @Override
+        public int read()
+        {
+            return this.position < this.length ? PATTERN[(int) (this.position++ % MEGABYTE)] & 0xff : -1;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length)
+        {
+            if (this.position == this.length)
+            {
+                return -1;
+            }
+
+            int patternOffset = (int) (this.position % MEGABYTE);
+            int bytesRead = (int) Math.min(Math.min(length, MEGABYTE - patternOffset), this.length - this.position);
+            System.arraycopy(PATTERN, patternOffset, buffer, offset, bytesRead);
+            this.position += bytesRead;
+            return bytesRead;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+// Copyright (c) Microsoft. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package com.microsoft.azure.sdk.iot.device;
+
+import com.microsoft.azure.sdk.iot.device.benchmarks.BenchmarkPayloads;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of building the {@link Message} instances that users hand to the client for every send.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MessageBenchmark
+{
+    @Param({"256", "16384", "262144"})
+    public int payloadSize;
+
+    private byte[] payload;
+    private String stringPayload;
+
+    @Setup(Level.Trial)
+    public void setup()
+    {
+        this.payload = BenchmarkPayloads.payload(this.payloadSize);
+        this.stringPayload = new String(this.payload, Message.DEFAULT_IOTHUB_MESSAGE_CHARSET);
+    }
+
+    @Benchmark
+    public Message constructFromBytes()
+    {
+        return new Message(this.payload);
+    }
+
+    @Benchmark
+    public Message constructFromString()
+    {
+        return new Message(this.stringPayload);
+    }
+
+    @Benchmark
+    public Message constructWithProperties()
+    {
+        Message message = new Message(this.payload);
+        message.setContentType("application/json");
+        message.setProperty("sensorType", "temperature");
+        message.setProperty("unit", "celsius");
+        message.setProperty("location", "building 1");
+        return message;
+    }
+
+    @Benchmark
+    public byte[] getBytes()
+    {
+        return new Message(this.payload).getBytes();
+    }
+}
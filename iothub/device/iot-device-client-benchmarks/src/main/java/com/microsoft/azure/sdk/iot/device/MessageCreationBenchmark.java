@@ -0,0 +1,64 @@
+// Copyright (c) Microsoft. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package com.microsoft.azure.sdk.iot.device;
+
+import com.microsoft.azure.sdk.iot.device.benchmarks.BenchmarkPayloads;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how many {@link Message}s per millisecond 8 threads can create and give a message id and correlation id,
+ * the way a client does for every message that is sent without them.
+ * <p>
+ * "uuid" creates both ids with {@link UUID#randomUUID()}, which is what every {@link Message} constructor used to do.
+ * Every thread shares the {@link java.security.SecureRandom} behind it. "counting" uses the
+ * {@link CountingMessageIdGenerator} that clients use by default, which one client's threads share.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class MessageCreationBenchmark
+{
+    @Param({"uuid", "counting"})
+    public String idGenerator;
+
+    private MessageIdGenerator messageIdGenerator;
+    private byte[] payload;
+
+    @Setup(Level.Trial)
+    public void setup()
+    {
+        this.messageIdGenerator = "uuid".equals(this.idGenerator)
+            ? () -> UUID.randomUUID().toString()
+            : new CountingMessageIdGenerator();
+        this.payload = BenchmarkPayloads.payload(256);
+    }
+
+    @Benchmark
+    public Message createMessageWithIds()
+    {
+        Message message = new Message(this.payload);
+        message.setMessageId(this.messageIdGenerator.generateId());
+        message.setCorrelationId(this.messageIdGenerator.generateId());
+        return message;
+    }
+}
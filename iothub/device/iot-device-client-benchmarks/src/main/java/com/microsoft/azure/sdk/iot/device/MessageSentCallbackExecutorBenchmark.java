@@ -0,0 +1,185 @@
+// Copyright (c) Microsoft. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package com.microsoft.azure.sdk.iot.device;
+
+import com.microsoft.azure.sdk.iot.device.benchmarks.BenchmarkPayloads;
+import com.microsoft.azure.sdk.iot.device.exceptions.IotHubClientException;
+import com.microsoft.azure.sdk.iot.device.transport.IotHubListener;
+import com.microsoft.azure.sdk.iot.device.transport.IotHubTransport;
+import com.microsoft.azure.sdk.iot.device.transport.IotHubTransportConnection;
+import com.microsoft.azure.sdk.iot.device.transport.IotHubTransportMessage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how many messages per second a {@link DeviceClient} puts on the wire while every
+ * {@link MessageSentCallback} takes 1 millisecond, with the callbacks running on the thread that sends messages and
+ * with them running on an executor set with {@link ClientOptions#getMessageSentCallbackExecutor()}.
+ * <p>
+ * Each invocation sends {@link #MESSAGES_PER_INVOCATION} messages with {@link DeviceClient#sendEventAsync} and ends
+ * once the connection has sent all of them. Before the next invocation starts, and outside of the measurement, it waits
+ * for all of their callbacks to finish so that a backlog of callbacks doesn't build up from one invocation to the next.
+ * Since callbacks for the same device run in order, the callbacks themselves complete at no more than 1000 per second
+ * in either case; what the executor changes is whether sending waits for them.
+ * <p>
+ * The client is a real {@link DeviceClient} whose transport connection is replaced with a stand-in that acknowledges
+ * every message from its own thread, the way Paho acknowledges MQTT messages.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class MessageSentCallbackExecutorBenchmark
+{
+    private static final String CONNECTION_STRING = "HostName=benchmark.localhost;DeviceId=benchmarkDevice;SharedAccessKey=AAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAA=";
+    private static final int MESSAGES_PER_INVOCATION = 1000;
+    private static final int MESSAGES_SENT_PER_SEND_INTERVAL = 100;
+    private static final long CALLBACK_DURATION_MILLISECONDS = 1;
+
+    @Param({"false", "true"})
+    public boolean callbackExecutor;
+
+    private DeviceClient client;
+    private StandInConnection connection;
+    private ExecutorService executor;
+    private MessageSentCallback slowCallback;
+    private byte[] body;
+
+    // Released once per completed callback
+    private final Semaphore completedCallbacks = new Semaphore(0);
+
+    @Setup(Level.Trial)
+    public void setup() throws ReflectiveOperationException, IotHubClientException
+    {
+        this.executor = this.callbackExecutor ? Executors.newFixedThreadPool(4) : null;
+        ClientOptions options = ClientOptions.builder()
+            .messagesSentPerSendInterval(MESSAGES_SENT_PER_SEND_INTERVAL)
+            .messageSentCallbackExecutor(this.executor)
+            .build();
+        this.client = new DeviceClient(CONNECTION_STRING, IotHubClientProtocol.MQTT, options);
+
+        // There is no public way to give the client a connection other than a real one, but the transport only creates
+        // its connection when it doesn't already have one
+        Field transportField = DeviceIO.class.getDeclaredField("transport");
+        transportField.setAccessible(true);
+        IotHubTransport transport = (IotHubTransport) transportField.get(this.client.getDeviceIO());
+        Field connectionField = IotHubTransport.class.getDeclaredField("iotHubTransportConnection");
+        connectionField.setAccessible(true);
+        this.connection = new StandInConnection();
+        connectionField.set(transport, this.connection);
+
+        this.client.open(false);
+
+        // Stands in for an application that records each result in a database
+        this.slowCallback = (sentMessage, clientException, callbackContext) ->
+        {
+            try
+            {
+                Thread.sleep(CALLBACK_DURATION_MILLISECONDS);
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+            }
+
+            this.completedCallbacks.release();
+        };
+        this.body = BenchmarkPayloads.payload(256);
+    }
+
+    @TearDown(Level.Invocation)
+    public void awaitCallbacks() throws InterruptedException
+    {
+        this.completedCallbacks.acquire(MESSAGES_PER_INVOCATION);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown()
+    {
+        this.client.close();
+        this.connection.acknowledgingThread.shutdownNow();
+        if (this.executor != null)
+        {
+            this.executor.shutdownNow();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MESSAGES_PER_INVOCATION)
+    public void sendWithSlowCallbacks() throws InterruptedException
+    {
+        for (int i = 0; i < MESSAGES_PER_INVOCATION; i++)
+        {
+            this.client.sendEventAsync(new Message(this.body), this.slowCallback, null);
+        }
+
+        this.connection.sentMessages.acquire(MESSAGES_PER_INVOCATION);
+    }
+
+    /**
+     * Stand-in for the service: accepts every message, and acknowledges it from a separate thread.
+     */
+    private static class StandInConnection implements IotHubTransportConnection
+    {
+        private final ExecutorService acknowledgingThread = Executors.newSingleThreadExecutor();
+        private final Semaphore sentMessages = new Semaphore(0);
+        private IotHubListener listener;
+
+        @Override
+        public void open()
+        {
+        }
+
+        @Override
+        public void setListener(IotHubListener listener)
+        {
+            this.listener = listener;
+        }
+
+        @Override
+        public void close()
+        {
+        }
+
+        @Override
+        public IotHubStatusCode sendMessage(Message message)
+        {
+            this.sentMessages.release();
+            this.acknowledgingThread.execute(() -> this.listener.onMessageSent(message, message.getConnectionDeviceId(), null));
+            return IotHubStatusCode.OK;
+        }
+
+        @Override
+        public boolean sendMessageResult(IotHubTransportMessage message, IotHubMessageResult result)
+        {
+            return true;
+        }
+
+        @Override
+        public String getConnectionId()
+        {
+            return "standInConnection";
+        }
+    }
+}
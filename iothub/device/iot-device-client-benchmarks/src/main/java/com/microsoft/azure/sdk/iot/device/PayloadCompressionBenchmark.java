@@ -0,0 +1,80 @@
+// Copyright (c) Microsoft. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package com.microsoft.azure.sdk.iot.device;
+
+import com.microsoft.azure.sdk.iot.device.benchmarks.BenchmarkPayloads;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Measures the CPU time it takes to compress one JSON telemetry body with {@link ClientOptions#getPayloadCompression()}
+ * set, which is the inverse of how many bodies per second one thread can compress. "pooledCodec" is the
+ * {@link PayloadCodec} that clients use, and "streamPerMessage" creates a {@link GZIPOutputStream} or
+ * {@link DeflaterOutputStream}, and with it a new {@link java.util.zip.Deflater}, for every body.
+ * <p>
+ * The compressed size of each body is printed when the trial starts.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PayloadCompressionBenchmark
+{
+    @Param({"1024", "16384", "262144"})
+    public int payloadSize;
+
+    @Param({"GZIP", "DEFLATE"})
+    public PayloadCompression compression;
+
+    private PayloadCodec payloadCodec;
+    private byte[] body;
+
+    @Setup(Level.Trial)
+    public void setup()
+    {
+        this.payloadCodec = new PayloadCodec(this.compression, 0);
+        this.body = BenchmarkPayloads.jsonPayload(this.payloadSize);
+        System.out.println();
+        System.out.println(this.compression + " compresses " + this.body.length + " bytes of JSON to " + this.payloadCodec.compress(this.body).length + " bytes");
+    }
+
+    @Benchmark
+    public byte[] pooledCodec()
+    {
+        return this.payloadCodec.compress(this.body);
+    }
+
+    @Benchmark
+    public byte[] streamPerMessage() throws IOException
+    {
+        ByteArrayOutputStream compressedBody = new ByteArrayOutputStream();
+        try (OutputStream outputStream = this.compression == PayloadCompression.GZIP
+            ? new GZIPOutputStream(compressedBody)
+            : new DeflaterOutputStream(compressedBody))
+        {
+            outputStream.write(this.body);
+        }
+
+        return compressedBody.toByteArray();
+    }
+}
@@ -0,0 +1,181 @@
+// Copyright (c) Microsoft. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package com.microsoft.azure.sdk.iot.device;
+
+import com.microsoft.azure.sdk.iot.device.benchmarks.BenchmarkPayloads;
+import com.microsoft.azure.sdk.iot.device.exceptions.IotHubClientException;
+import com.microsoft.azure.sdk.iot.device.transport.IotHubListener;
+import com.microsoft.azure.sdk.iot.device.transport.IotHubTransport;
+import com.microsoft.azure.sdk.iot.device.transport.IotHubTransportConnection;
+import com.microsoft.azure.sdk.iot.device.transport.IotHubTransportMessage;
+import com.microsoft.azure.sdk.iot.device.transport.VirtualThreads;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Measures how long 10,000 application threads that each call the blocking {@link DeviceClient#sendEvent(Message)} at
+ * the same time take to all get their acknowledgement, with platform threads and with virtual threads. In the virtual
+ * thread case, both the calling threads and the client's own threads (see {@link ClientOptions#isUsingVirtualThreads()})
+ * are virtual threads.
+ * <p>
+ * The client is a real {@link DeviceClient} whose transport connection is replaced with a stand-in that acknowledges
+ * every message from its own thread, the way Paho acknowledges MQTT messages, so everything above the protocol layer
+ * is the SDK's own code. The virtual thread case requires Java 21 or later, and an SDK jar that was built with Java 21
+ * or later so that it contains the Java 21 version of {@link VirtualThreads}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class SendEventConcurrencyBenchmark
+{
+    private static final String CONNECTION_STRING = "HostName=benchmark.localhost;DeviceId=benchmarkDevice;SharedAccessKey=AAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAA=";
+
+    @Param({"10000"})
+    public int concurrentCalls;
+
+    @Param({"false", "true"})
+    public boolean virtualThreads;
+
+    private DeviceClient client;
+    private StandInConnection connection;
+    private ThreadFactory callerThreadFactory;
+    private byte[] body;
+
+    @Setup(Level.Trial)
+    public void setup() throws ReflectiveOperationException, IotHubClientException
+    {
+        if (this.virtualThreads && !VirtualThreads.isSupported())
+        {
+            throw new IllegalStateException("Virtual threads require Java 21 or later, and an SDK jar built with Java 21 or later");
+        }
+
+        // By default, the send task sends 10 messages every 10 milliseconds, which would hide any other cost here
+        ClientOptions options = ClientOptions.builder()
+            .useVirtualThreads(this.virtualThreads)
+            .messagesSentPerSendInterval(this.concurrentCalls)
+            .build();
+        this.client = new DeviceClient(CONNECTION_STRING, IotHubClientProtocol.MQTT, options);
+
+        // There is no public way to give the client a connection other than a real one, but the transport only creates
+        // its connection when it doesn't already have one
+        Field transportField = DeviceIO.class.getDeclaredField("transport");
+        transportField.setAccessible(true);
+        IotHubTransport transport = (IotHubTransport) transportField.get(this.client.getDeviceIO());
+        Field connectionField = IotHubTransport.class.getDeclaredField("iotHubTransportConnection");
+        connectionField.setAccessible(true);
+        this.connection = new StandInConnection();
+        connectionField.set(transport, this.connection);
+
+        this.client.open(false);
+
+        this.callerThreadFactory = this.virtualThreads ? VirtualThreads.getThreadFactory() : Thread::new;
+        this.body = BenchmarkPayloads.payload(256);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown()
+    {
+        this.client.close();
+        this.connection.acknowledgingThread.shutdownNow();
+    }
+
+    @Benchmark
+    public int concurrentBlockingSendEvent() throws InterruptedException
+    {
+        final AtomicInteger failedCalls = new AtomicInteger();
+        Thread[] callers = new Thread[this.concurrentCalls];
+        for (int i = 0; i < callers.length; i++)
+        {
+            callers[i] = this.callerThreadFactory.newThread(() ->
+            {
+                try
+                {
+                    this.client.sendEvent(new Message(this.body));
+                }
+                catch (InterruptedException | IotHubClientException e)
+                {
+                    failedCalls.incrementAndGet();
+                }
+            });
+            callers[i].start();
+        }
+
+        for (Thread caller : callers)
+        {
+            caller.join();
+        }
+
+        if (failedCalls.get() > 0)
+        {
+            throw new IllegalStateException(failedCalls.get() + " calls to sendEvent failed");
+        }
+
+        return callers.length;
+    }
+
+    /**
+     * Stand-in for the service: accepts every message, and acknowledges it from a separate thread.
+     */
+    private static class StandInConnection implements IotHubTransportConnection
+    {
+        private final ExecutorService acknowledgingThread = Executors.newSingleThreadExecutor();
+        private IotHubListener listener;
+
+        @Override
+        public void open()
+        {
+        }
+
+        @Override
+        public void setListener(IotHubListener listener)
+        {
+            this.listener = listener;
+        }
+
+        @Override
+        public void close()
+        {
+        }
+
+        @Override
+        public IotHubStatusCode sendMessage(Message message)
+        {
+            this.acknowledgingThread.execute(() -> this.listener.onMessageSent(message, message.getConnectionDeviceId(), null));
+            return IotHubStatusCode.OK;
+        }
+
+        @Override
+        public boolean sendMessageResult(IotHubTransportMessage message, IotHubMessageResult result)
+        {
+            return true;
+        }
+
+        @Override
+        public String getConnectionId()
+        {
+            return "standInConnection";
+        }
+    }
+}
@@ -0,0 +1,54 @@
+// Copyright (c) Microsoft. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package com.microsoft.azure.sdk.iot.device.auth;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures generating and parsing SAS tokens, which happens on every connection and every token renewal.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IotHubSasTokenBenchmark
+{
+    private static final String HOSTNAME = "benchmark-hub.azure-devices.net";
+    private static final String DEVICE_ID = "device1";
+    private static final String MODULE_ID = "module1";
+    private static final String DEVICE_KEY = "AAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAA=";
+    private static final long EXPIRY_TIME = 4102444800L; // 2100-01-01
+
+    private final String sharedAccessToken = new IotHubSasToken(HOSTNAME, DEVICE_ID, DEVICE_KEY, null, null, EXPIRY_TIME).toString();
+
+    @Benchmark
+    public String generateDeviceToken()
+    {
+        return new IotHubSasToken(HOSTNAME, DEVICE_ID, DEVICE_KEY, null, null, EXPIRY_TIME).toString();
+    }
+
+    @Benchmark
+    public String generateModuleToken()
+    {
+        return new IotHubSasToken(HOSTNAME, DEVICE_ID, DEVICE_KEY, null, MODULE_ID, EXPIRY_TIME).toString();
+    }
+
+    @Benchmark
+    public String parseSharedAccessToken()
+    {
+        return new IotHubSasToken(HOSTNAME, DEVICE_ID, null, this.sharedAccessToken, null, 0).toString();
+    }
+}
@@ -0,0 +1,167 @@
+// Copyright (c) Microsoft. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package com.microsoft.azure.sdk.iot.device.benchmarks;
+
+import com.microsoft.azure.sdk.iot.device.Message;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.Random;
+
+/**
+ * Deterministic payloads shared by the benchmarks so that results are comparable between runs and between suites.
+ */
+public final class BenchmarkPayloads
+{
+    private static final long SEED = 42;
+
+    private BenchmarkPayloads()
+    {
+    }
+
+    /**
+     * @param size the number of bytes in the returned payload.
+     * @return a payload of printable ASCII characters of the requested size.
+     */
+    public static byte[] payload(int size)
+    {
+        Random random = new Random(SEED);
+        byte[] payload = new byte[size];
+        for (int i = 0; i < size; i++)
+        {
+            payload[i] = (byte) ('a' + random.nextInt(26));
+        }
+
+        return payload;
+    }
+
+    /**
+     * @param size the number of bytes in the returned payload.
+     * @return a JSON array of sensor readings of the requested size, which compresses about as well as real telemetry.
+     */
+    public static byte[] jsonPayload(int size)
+    {
+        Random random = new Random(SEED);
+        StringBuilder json = new StringBuilder(size + 128).append('[');
+        for (int i = 0; json.length() < size; i++)
+        {
+            json.append("{\"sensorId\":\"sensor-").append(i % 16)
+                .append("\",\"temperature\":").append(18 + random.nextInt(80) / 10.0)
+                .append(",\"humidity\":").append(30 + random.nextInt(400) / 10.0)
+                .append(",\"status\":\"").append(random.nextInt(20) == 0 ? "warning" : "ok")
+                .append("\"},");
+        }
+
+        json.setLength(size - 1);
+        json.append(']');
+        return json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Builds a telemetry message that resembles what a typical device sends: a body of the requested size, a content
+     * type and encoding, a creation time and a handful of application properties, one of which needs to be percent
+     * encoded.
+     *
+     * @param size the size of the message body, in bytes.
+     * @param propertyCount the number of application properties to set on the message.
+     * @return the telemetry message.
+     */
+    public static Message telemetryMessage(int size, int propertyCount)
+    {
+        Message message = new Message(payload(size));
+        message.setContentType("application/json");
+        message.setContentEncoding(StandardCharsets.UTF_8.name());
+        message.setCreationTimeUTC(new Date(1600000000000L));
+        for (int i = 0; i < propertyCount; i++)
+        {
+            message.setProperty("property" + i, i == 0 ? "value with spaces" : "value" + i);
+        }
+
+        return message;
+    }
+
+    /**
+     * Builds a twin collection JSON document with roughly the requested number of leaves. Leaves are nested up to
+     * three levels deep and each one has its own metadata, matching what the service returns on a full twin GET.
+     *
+     * @param leafCount the approximate number of leaf properties.
+     * @param withMetadata true if "$metadata" should be included, as it is on a full twin GET.
+     * @return the JSON document.
+     */
+    public static String twinCollectionJson(int leafCount, boolean withMetadata)
+    {
+        final int leavesPerGroup = 10;
+        int groupCount = Math.max(1, leafCount / leavesPerGroup);
+        StringBuilder values = new StringBuilder("{");
+        StringBuilder metadata = new StringBuilder("{\"$lastUpdated\":\"2021-06-01T00:00:00.000Z\",\"$lastUpdatedVersion\":7");
+        for (int group = 0; group < groupCount; group++)
+        {
+            if (group > 0)
+            {
+                values.append(',');
+            }
+
+            values.append("\"group").append(group).append("\":{\"settings\":{");
+            metadata.append(",\"group").append(group).append("\":{").append(leafMetadata()).append(",\"settings\":{").append(leafMetadata());
+            for (int leaf = 0; leaf < leavesPerGroup; leaf++)
+            {
+                if (leaf > 0)
+                {
+                    values.append(',');
+                }
+
+                values.append("\"leaf").append(leaf).append("\":");
+                switch (leaf % 3)
+                {
+                    case 0:
+                        values.append(leaf * 100);
+                        break;
+                    case 1:
+                        values.append("\"value").append(leaf).append('"');
+                        break;
+                    default:
+                        values.append(leaf % 2 == 0);
+                }
+
+                metadata.append(",\"leaf").append(leaf).append("\":{").append(leafMetadata()).append('}');
+            }
+
+            values.append("}}");
+            metadata.append("}}");
+        }
+
+        metadata.append('}');
+        values.append(",\"$version\":7");
+        if (withMetadata)
+        {
+            values.append(",\"$metadata\":").append(metadata);
+        }
+
+        values.append('}');
+        return values.toString();
+    }
+
+    /**
+     * @param leafCount the approximate number of leaf properties in each of the desired and reported collections.
+     * @return the twin properties JSON document, as returned by the service for a twin GET.
+     */
+    public static String twinPropertiesJson(int leafCount)
+    {
+        return "{\"desired\":" + twinCollectionJson(leafCount, true) + ",\"reported\":" + twinCollectionJson(leafCount, true) + "}";
+    }
+
+    /**
+     * @param leafCount the approximate number of leaf properties in each of the desired and reported collections.
+     * @return a full twin JSON document, with the twin properties nested under "properties".
+     */
+    public static String twinJson(int leafCount)
+    {
+        return "{\"properties\":" + twinPropertiesJson(leafCount) + "}";
+    }
+
+    private static String leafMetadata()
+    {
+        return "\"$lastUpdated\":\"2021-06-01T00:00:00.000Z\",\"$lastUpdatedVersion\":7";
+    }
+}
@@ -0,0 +1,78 @@
+// Copyright (c) Microsoft. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package com.microsoft.azure.sdk.iot.device.transport;
+
+import com.microsoft.azure.sdk.iot.device.IotHubClientProtocol;
+import com.microsoft.azure.sdk.iot.device.Message;
+import com.microsoft.azure.sdk.iot.device.benchmarks.BenchmarkPayloads;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures one {@link IotHubTransport#sendMessages()} call while the connection is down and messages are piling up.
+ * In that state the call only checks the waiting messages for expiry before returning, so this is the cost the send
+ * thread pays on every tick of an outage. None of the queued messages have expired yet.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExpiredMessageCheckBenchmark
+{
+    private static final int DEVICE_COUNT = 100;
+    private static final long EXPIRY_TIME_MILLISECONDS = TimeUnit.HOURS.toMillis(1);
+
+    @Param({"1000", "100000"})
+    public int waitingMessages;
+
+    // Whether the queued messages have an expiry time set
+    @Param({"false", "true"})
+    public boolean withExpiryTime;
+
+    private IotHubTransport transport;
+
+    @Setup(Level.Trial)
+    public void setup() throws ReflectiveOperationException
+    {
+        this.transport = new IotHubTransport("localhost", IotHubClientProtocol.AMQPS, null, null, null, 230, 10, false, false, null, null, 10000);
+
+        // There is no public way to put the transport in the middle of an outage without a real connection
+        Field connectionStatus = IotHubTransport.class.getDeclaredField("connectionStatus");
+        connectionStatus.setAccessible(true);
+        connectionStatus.set(this.transport, IotHubConnectionStatus.DISCONNECTED_RETRYING);
+
+        byte[] body = BenchmarkPayloads.payload(256);
+        for (int i = 0; i < this.waitingMessages; i++)
+        {
+            Message message = new Message(body);
+            if (this.withExpiryTime)
+            {
+                message.setExpiryTime(EXPIRY_TIME_MILLISECONDS);
+            }
+
+            this.transport.addMessage(message, null, null, "device" + (i % DEVICE_COUNT));
+        }
+    }
+
+    @Benchmark
+    public void sendMessagesWhileDisconnected()
+    {
+        this.transport.sendMessages();
+    }
+}
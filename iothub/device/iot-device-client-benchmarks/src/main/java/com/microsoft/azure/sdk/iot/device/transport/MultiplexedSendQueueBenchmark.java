@@ -0,0 +1,179 @@
+// Copyright (c) Microsoft. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package com.microsoft.azure.sdk.iot.device.transport;
+
+import com.microsoft.azure.sdk.iot.device.Message;
+import com.microsoft.azure.sdk.iot.device.benchmarks.BenchmarkPayloads;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Measures the queue that {@link IotHubTransport} keeps its waiting packets in, for 1000 devices multiplexed over one
+ * connection. The send side stands in for the broker: it takes packets off the queue the way
+ * {@link IotHubTransport#sendMessages()} does and hands them to a blackhole rather than to a connection.
+ * <p>
+ * "fifo" is the single shared queue the transport used before, "roundRobin" is {@link DeviceRoundRobinPacketQueue}.
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class MultiplexedSendQueueBenchmark
+{
+    private static final int DEVICE_COUNT = 1000;
+
+    // How many packets the chatty device has queued ahead of the other devices
+    private static final int CHATTY_DEVICE_BACKLOG = 10000;
+
+    // Keeps the queue from growing without bound when the producers outpace the sender
+    private static final int MAX_WAITING_PACKETS = 10000;
+
+    private static IotHubTransportPacket[] createDevicePackets()
+    {
+        Message message = BenchmarkPayloads.telemetryMessage(256, 3);
+        IotHubTransportPacket[] packets = new IotHubTransportPacket[DEVICE_COUNT];
+        for (int i = 0; i < DEVICE_COUNT; i++)
+        {
+            packets[i] = new IotHubTransportPacket(message, null, null, null, System.currentTimeMillis(), "device" + i);
+        }
+
+        return packets;
+    }
+
+    private static Queue<IotHubTransportPacket> createQueue(String queueType)
+    {
+        return "fifo".equals(queueType) ? new ConcurrentLinkedQueue<>() : new DeviceRoundRobinPacketQueue();
+    }
+
+    /**
+     * Device 0 has a backlog of {@link #CHATTY_DEVICE_BACKLOG} packets queued before each of the other 999 devices
+     * queues one. Measures how long the sender takes until every one of the other devices has had its packet sent.
+     */
+    @State(Scope.Thread)
+    public static class ChattyDeviceState
+    {
+        @Param({"fifo", "roundRobin"})
+        public String queueType;
+
+        IotHubTransportPacket[] devicePackets;
+        Queue<IotHubTransportPacket> queue;
+
+        @Setup(Level.Trial)
+        public void setupTrial()
+        {
+            this.devicePackets = createDevicePackets();
+        }
+
+        @Setup(Level.Invocation)
+        public void setupInvocation()
+        {
+            this.queue = createQueue(this.queueType);
+            for (int i = 0; i < CHATTY_DEVICE_BACKLOG; i++)
+            {
+                this.queue.add(this.devicePackets[0]);
+            }
+
+            for (int i = 1; i < DEVICE_COUNT; i++)
+            {
+                this.queue.add(this.devicePackets[i]);
+            }
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public int sendUntilQuietDevicesServed(ChattyDeviceState state, Blackhole blackhole)
+    {
+        int quietDevicesRemaining = DEVICE_COUNT - 1;
+        int packetsSent = 0;
+        while (quietDevicesRemaining > 0)
+        {
+            IotHubTransportPacket packet = state.queue.poll();
+            blackhole.consume(packet);
+            packetsSent++;
+
+            if (packet != state.devicePackets[0])
+            {
+                quietDevicesRemaining--;
+            }
+        }
+
+        return packetsSent;
+    }
+
+    /**
+     * Four threads queue packets for randomly chosen devices while one thread sends them.
+     */
+    @State(Scope.Group)
+    public static class ContendedState
+    {
+        @Param({"fifo", "roundRobin"})
+        public String queueType;
+
+        IotHubTransportPacket[] devicePackets;
+        Queue<IotHubTransportPacket> queue;
+
+        // Tracked here rather than with queue.size(), which walks the whole queue for a ConcurrentLinkedQueue
+        final AtomicInteger waitingPackets = new AtomicInteger();
+
+        @Setup(Level.Iteration)
+        public void setup()
+        {
+            this.devicePackets = createDevicePackets();
+            this.queue = createQueue(this.queueType);
+            this.waitingPackets.set(0);
+        }
+    }
+
+    @Benchmark
+    @Group("contended")
+    @GroupThreads(4)
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public boolean queuePacket(ContendedState state)
+    {
+        if (state.waitingPackets.get() >= MAX_WAITING_PACKETS)
+        {
+            return false;
+        }
+
+        state.waitingPackets.incrementAndGet();
+        return state.queue.add(state.devicePackets[ThreadLocalRandom.current().nextInt(DEVICE_COUNT)]);
+    }
+
+    @Benchmark
+    @Group("contended")
+    @GroupThreads(1)
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public IotHubTransportPacket sendPacket(ContendedState state)
+    {
+        IotHubTransportPacket packet = state.queue.poll();
+        if (packet != null)
+        {
+            state.waitingPackets.decrementAndGet();
+        }
+
+        return packet;
+    }
+}
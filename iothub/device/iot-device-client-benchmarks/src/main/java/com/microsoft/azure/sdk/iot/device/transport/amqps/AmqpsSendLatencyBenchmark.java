@@ -0,0 +1,355 @@
+// Copyright (c) Microsoft. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package com.microsoft.azure.sdk.iot.device.transport.amqps;
+
+import com.microsoft.azure.sdk.iot.device.Message;
+import com.microsoft.azure.sdk.iot.device.benchmarks.BenchmarkPayloads;
+import com.microsoft.azure.sdk.iot.device.transport.IotHubTransportMessage;
+import org.apache.qpid.proton.Proton;
+import org.apache.qpid.proton.amqp.messaging.Accepted;
+import org.apache.qpid.proton.amqp.transport.DeliveryState;
+import org.apache.qpid.proton.amqp.transport.ErrorCondition;
+import org.apache.qpid.proton.engine.BaseHandler;
+import org.apache.qpid.proton.engine.Connection;
+import org.apache.qpid.proton.engine.Delivery;
+import org.apache.qpid.proton.engine.Event;
+import org.apache.qpid.proton.engine.Link;
+import org.apache.qpid.proton.engine.Receiver;
+import org.apache.qpid.proton.engine.Sender;
+import org.apache.qpid.proton.engine.Session;
+import org.apache.qpid.proton.reactor.Handshaker;
+import org.apache.qpid.proton.reactor.Reactor;
+import org.apache.qpid.proton.reactor.ReactorOptions;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Measures the latency from queueing a telemetry message to receiving its acknowledgement, against a plain AMQP
+ * receiver running in this process on the loopback interface. The sample time mode reports the p50/p90/p99
+ * percentiles.
+ * <p>
+ * The client side reproduces how {@link AmqpsIotHubConnection} drives its reactor: messages are queued from a
+ * non-reactor thread and are sent either from the periodic onTimerTask callback or, in event driven mode, from the
+ * onReactorQuiesced callback right after the queueing thread woke the reactor. Encoding and acknowledgement handling
+ * go through the SDK's own {@link AmqpsSenderLinkHandler}. TLS and CBS authentication are left out since they don't
+ * affect how quickly a queued message is picked up.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AmqpsSendLatencyBenchmark
+{
+    // Same as the default ClientOptions sendInterval
+    private static final int SEND_INTERVAL_MILLISECONDS = 10;
+
+    // Same as the timeout ReactorRunner sets on the SDK's reactor
+    private static final int REACTOR_TIMEOUT_MILLISECONDS = 10;
+
+    private static final String LOOPBACK_ADDRESS = "127.0.0.1";
+    private static final int RECEIVER_LINK_CREDIT = 1000;
+
+    @Param({"false", "true"})
+    public boolean eventDrivenSend;
+
+    private Message message;
+    private ReceiverHandler receiverHandler;
+    private SenderHandler senderHandler;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException, InterruptedException
+    {
+        int port;
+        try (ServerSocket serverSocket = new ServerSocket(0))
+        {
+            port = serverSocket.getLocalPort();
+        }
+
+        this.receiverHandler = new ReceiverHandler(port);
+        this.receiverHandler.start();
+
+        this.senderHandler = new SenderHandler(port, this.eventDrivenSend);
+        this.senderHandler.start();
+
+        if (!this.senderHandler.linkOpenedLatch.await(30, TimeUnit.SECONDS))
+        {
+            throw new IllegalStateException("Timed out waiting for the sender link to open");
+        }
+
+        this.message = BenchmarkPayloads.telemetryMessage(256, 3);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException
+    {
+        this.senderHandler.shutdown();
+        this.receiverHandler.shutdown();
+    }
+
+    @Benchmark
+    public DeliveryState sendAndWaitForAcknowledgement() throws InterruptedException
+    {
+        return this.senderHandler.sendAndWaitForAcknowledgement(this.message);
+    }
+
+    /**
+     * Runs a proton reactor on its own thread, and stops it from the reactor thread once asked to.
+     */
+    private abstract static class ReactorThreadHandler extends BaseHandler
+    {
+        private final AtomicBoolean stopRequested = new AtomicBoolean(false);
+        private Thread reactorThread;
+        Reactor reactor;
+
+        void start() throws IOException
+        {
+            ReactorOptions options = new ReactorOptions();
+            options.setEnableSaslByDefault(false);
+            this.reactor = Proton.reactor(options, this);
+
+            this.reactorThread = new Thread(() ->
+            {
+                this.reactor.setTimeout(REACTOR_TIMEOUT_MILLISECONDS);
+                this.reactor.start();
+
+                //noinspection StatementWithEmptyBody
+                while (this.reactor.process())
+                {
+                }
+
+                this.reactor.stop();
+                this.reactor.process();
+                this.reactor.free();
+            });
+
+            this.reactorThread.setDaemon(true);
+            this.reactorThread.start();
+        }
+
+        void shutdown() throws InterruptedException
+        {
+            this.stopRequested.set(true);
+            this.reactor.wakeup();
+            this.reactorThread.join(TimeUnit.SECONDS.toMillis(10));
+        }
+
+        @Override
+        public void onReactorQuiesced(Event event)
+        {
+            if (this.stopRequested.get())
+            {
+                event.getReactor().stop();
+            }
+        }
+    }
+
+    /**
+     * Stand-in for the service: accepts any connection, session and receiver link, and accepts every delivery as soon
+     * as it has fully arrived.
+     */
+    private static class ReceiverHandler extends ReactorThreadHandler
+    {
+        private final int port;
+
+        ReceiverHandler(int port)
+        {
+            this.port = port;
+            add(new Handshaker());
+        }
+
+        @Override
+        public void onReactorInit(Event event)
+        {
+            try
+            {
+                event.getReactor().acceptor(LOOPBACK_ADDRESS, this.port, this);
+            }
+            catch (IOException e)
+            {
+                throw new IllegalStateException("Failed to listen on port " + this.port, e);
+            }
+        }
+
+        @Override
+        public void onLinkRemoteOpen(Event event)
+        {
+            Link link = event.getLink();
+            link.setSource(link.getRemoteSource());
+            link.setTarget(link.getRemoteTarget());
+
+            if (link instanceof Receiver)
+            {
+                ((Receiver) link).flow(RECEIVER_LINK_CREDIT);
+            }
+        }
+
+        @Override
+        public void onDelivery(Event event)
+        {
+            Delivery delivery = event.getDelivery();
+            if (delivery.isPartial() || !(delivery.getLink() instanceof Receiver))
+            {
+                return;
+            }
+
+            Receiver receiver = (Receiver) delivery.getLink();
+            byte[] buffer = new byte[delivery.pending()];
+            receiver.recv(buffer, 0, buffer.length);
+            receiver.advance();
+
+            delivery.disposition(Accepted.getInstance());
+            delivery.settle();
+
+            if (receiver.getCredit() < RECEIVER_LINK_CREDIT / 2)
+            {
+                receiver.flow(RECEIVER_LINK_CREDIT);
+            }
+        }
+    }
+
+    /**
+     * Stand-in for {@link AmqpsIotHubConnection}: owns a single telemetry sender link and sends queued messages the same
+     * way that connection does.
+     */
+    private static class SenderHandler extends ReactorThreadHandler implements AmqpsLinkStateCallback
+    {
+        private final int port;
+        private final boolean eventDrivenSend;
+        private final Queue<Message> messagesToSend = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean reactorWakeupPending = new AtomicBoolean(false);
+        private final AtomicReference<DeliveryState> acknowledgement = new AtomicReference<>();
+        private final CountDownLatch linkOpenedLatch = new CountDownLatch(1);
+        private volatile CountDownLatch acknowledgedLatch;
+        private AmqpsSenderLinkHandler senderLinkHandler;
+
+        SenderHandler(int port, boolean eventDrivenSend)
+        {
+            this.port = port;
+            this.eventDrivenSend = eventDrivenSend;
+        }
+
+        DeliveryState sendAndWaitForAcknowledgement(Message message) throws InterruptedException
+        {
+            CountDownLatch acknowledgedLatch = new CountDownLatch(1);
+            this.acknowledgedLatch = acknowledgedLatch;
+            this.messagesToSend.add(message);
+
+            if (this.eventDrivenSend && this.reactorWakeupPending.compareAndSet(false, true))
+            {
+                this.reactor.wakeup();
+            }
+
+            acknowledgedLatch.await();
+            return this.acknowledgement.get();
+        }
+
+        @Override
+        public void onReactorInit(Event event)
+        {
+            event.getReactor().connectionToHost(LOOPBACK_ADDRESS, this.port, this);
+            event.getReactor().schedule(SEND_INTERVAL_MILLISECONDS, this);
+        }
+
+        @Override
+        public void onConnectionInit(Event event)
+        {
+            Connection connection = event.getConnection();
+            connection.setHostname(LOOPBACK_ADDRESS);
+            connection.open();
+
+            Session session = connection.session();
+            session.open();
+
+            Sender sender = session.sender("telemetry");
+            this.senderLinkHandler = new BenchmarkSenderLinkHandler(sender, this);
+        }
+
+        @Override
+        public void onTimerTask(Event event)
+        {
+            sendQueuedMessages();
+            event.getReactor().schedule(SEND_INTERVAL_MILLISECONDS, this);
+        }
+
+        @Override
+        public void onReactorQuiesced(Event event)
+        {
+            if (this.reactorWakeupPending.getAndSet(false))
+            {
+                sendQueuedMessages();
+            }
+
+            super.onReactorQuiesced(event);
+        }
+
+        private void sendQueuedMessages()
+        {
+            Message message;
+            while ((message = this.messagesToSend.poll()) != null)
+            {
+                this.senderLinkHandler.sendMessageAndGetDeliveryTag(message);
+            }
+        }
+
+        @Override
+        public void onLinkOpened(BaseHandler linkHandler)
+        {
+            this.linkOpenedLatch.countDown();
+        }
+
+        @Override
+        public void onMessageAcknowledged(Message message, int deliveryTag, DeliveryState deliveryState)
+        {
+            this.acknowledgement.set(deliveryState);
+            this.acknowledgedLatch.countDown();
+        }
+
+        @Override
+        public void onMessageReceived(IotHubTransportMessage message)
+        {
+        }
+
+        @Override
+        public void onLinkClosedUnexpectedly(ErrorCondition errorCondition)
+        {
+        }
+    }
+
+    private static class BenchmarkSenderLinkHandler extends AmqpsSenderLinkHandler
+    {
+        BenchmarkSenderLinkHandler(Sender sender, AmqpsLinkStateCallback amqpsLinkStateCallback)
+        {
+            super(sender, amqpsLinkStateCallback, "benchmark", null);
+            this.senderLinkAddress = "/devices/device1/messages/events";
+        }
+
+        @Override
+        protected String getLinkInstanceType()
+        {
+            return "benchmark";
+        }
+    }
+}
@@ -0,0 +1,140 @@
+// Copyright (c) Microsoft. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package com.microsoft.azure.sdk.iot.device.transport.amqps;
+
+import com.microsoft.azure.sdk.iot.device.Message;
+import com.microsoft.azure.sdk.iot.device.benchmarks.BenchmarkPayloads;
+import com.microsoft.azure.sdk.iot.device.transport.IotHubTransportMessage;
+import org.apache.qpid.proton.Proton;
+import org.apache.qpid.proton.amqp.transport.DeliveryState;
+import org.apache.qpid.proton.amqp.transport.ErrorCondition;
+import org.apache.qpid.proton.engine.BaseHandler;
+import org.apache.qpid.proton.engine.Delivery;
+import org.apache.qpid.proton.engine.Sender;
+import org.apache.qpid.proton.engine.Session;
+import org.apache.qpid.proton.engine.impl.ConnectionImpl;
+import org.apache.qpid.proton.engine.impl.DeliveryImpl;
+import org.apache.qpid.proton.message.impl.MessageImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the AMQP send path of a sender link: converting an IoT hub message into a proton message, and encoding that
+ * proton message onto an (unconnected) proton sender link.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AmqpsSenderLinkHandlerBenchmark
+{
+    @Param({"256", "16384", "204800"})
+    public int payloadSize;
+
+    private ConnectionImpl connection;
+    private Sender sender;
+    private AmqpsSenderLinkHandler senderLinkHandler;
+    private Message message;
+    private MessageImpl protonMessage;
+
+    @Setup(Level.Trial)
+    public void setup()
+    {
+        this.connection = (ConnectionImpl) Proton.connection();
+        Session session = this.connection.session();
+        this.sender = session.sender("benchmark");
+        this.senderLinkHandler = new BenchmarkSenderLinkHandler(this.sender);
+        this.message = BenchmarkPayloads.telemetryMessage(this.payloadSize, 5);
+        this.protonMessage = this.senderLinkHandler.iotHubMessageToProtonMessage(this.message);
+    }
+
+    @Benchmark
+    public MessageImpl iotHubMessageToProtonMessage()
+    {
+        return this.senderLinkHandler.iotHubMessageToProtonMessage(this.message);
+    }
+
+    @Benchmark
+    public AmqpsSendResult encodeAndSend()
+    {
+        AmqpsSendResult sendResult = this.senderLinkHandler.sendMessageAndGetDeliveryTag(this.protonMessage);
+        settleDeliveries();
+        return sendResult;
+    }
+
+    @Benchmark
+    public AmqpsSendResult convertEncodeAndSend()
+    {
+        AmqpsSendResult sendResult = this.senderLinkHandler.sendMessageAndGetDeliveryTag(this.message);
+        this.senderLinkHandler.inProgressMessages.clear();
+        settleDeliveries();
+        return sendResult;
+    }
+
+    // Nothing ever acknowledges these deliveries since the link isn't connected, so settle them here to keep the link's
+    // unsettled delivery list from growing for the duration of the benchmark. With no transport bound, settled
+    // deliveries (and the bytes sent on them) would also pile up on the connection's transport work list, so they are
+    // taken off of it as well.
+    private void settleDeliveries()
+    {
+        Delivery delivery;
+        while ((delivery = this.sender.head()) != null)
+        {
+            delivery.settle();
+            this.connection.removeTransportWork((DeliveryImpl) delivery);
+        }
+    }
+
+    private static class BenchmarkSenderLinkHandler extends AmqpsSenderLinkHandler
+    {
+        BenchmarkSenderLinkHandler(Sender sender)
+        {
+            super(sender, new NoOpLinkStateCallback(), "benchmark", null);
+            this.senderLinkAddress = "/devices/device1/messages/events";
+        }
+
+        @Override
+        protected String getLinkInstanceType()
+        {
+            return "benchmark";
+        }
+    }
+
+    private static class NoOpLinkStateCallback implements AmqpsLinkStateCallback
+    {
+        @Override
+        public void onLinkOpened(BaseHandler linkHandler)
+        {
+        }
+
+        @Override
+        public void onMessageAcknowledged(Message message, int deliveryTag, DeliveryState deliveryState)
+        {
+        }
+
+        @Override
+        public void onMessageReceived(IotHubTransportMessage message)
+        {
+        }
+
+        @Override
+        public void onLinkClosedUnexpectedly(ErrorCondition errorCondition)
+        {
+        }
+    }
+}
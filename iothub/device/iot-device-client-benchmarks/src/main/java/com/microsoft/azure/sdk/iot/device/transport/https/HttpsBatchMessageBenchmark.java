@@ -0,0 +1,78 @@
+// Copyright (c) Microsoft. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package com.microsoft.azure.sdk.iot.device.transport.https;
+
+import com.microsoft.azure.sdk.iot.device.Message;
+import com.microsoft.azure.sdk.iot.device.benchmarks.BenchmarkPayloads;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures building the JSON body of an HTTPS batch send request out of a list of messages.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HttpsBatchMessageBenchmark
+{
+    // The batch body is limited to 255 KB by the service, so the batch size and payload size are paired to stay
+    // under that limit once the payloads are base64 encoded.
+    @Param({"1:1024", "10:1024", "100:1024", "300:256"})
+    public String batchSizeAndPayloadSize;
+
+    private List<Message> messages;
+    private List<HttpsSingleMessage> httpsMessages;
+
+    @Setup(Level.Trial)
+    public void setup()
+    {
+        String[] parts = this.batchSizeAndPayloadSize.split(":");
+        int batchSize = Integer.parseInt(parts[0]);
+        int payloadSize = Integer.parseInt(parts[1]);
+
+        this.messages = new ArrayList<>(batchSize);
+        this.httpsMessages = new ArrayList<>(batchSize);
+        for (int i = 0; i < batchSize; i++)
+        {
+            Message message = BenchmarkPayloads.telemetryMessage(payloadSize, 3);
+            this.messages.add(message);
+            this.httpsMessages.add(HttpsSingleMessage.parseHttpsMessage(message));
+        }
+    }
+
+    @Benchmark
+    public HttpsBatchMessage construct()
+    {
+        return new HttpsBatchMessage(this.httpsMessages);
+    }
+
+    @Benchmark
+    public byte[] parseConstructAndGetBody()
+    {
+        List<HttpsSingleMessage> singleMessages = new ArrayList<>(this.messages.size());
+        for (Message message : this.messages)
+        {
+            singleMessages.add(HttpsSingleMessage.parseHttpsMessage(message));
+        }
+
+        return new HttpsBatchMessage(singleMessages).getBody();
+    }
+}
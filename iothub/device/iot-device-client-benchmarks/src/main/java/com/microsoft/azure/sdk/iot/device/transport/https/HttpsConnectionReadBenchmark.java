@@ -0,0 +1,93 @@
+// Copyright (c) Microsoft. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package com.microsoft.azure.sdk.iot.device.transport.https;
+
+import com.microsoft.azure.sdk.iot.device.transport.TransportException;
+import com.sun.net.httpserver.HttpServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a full GET request through {@link HttpsConnection}, including reading the response body with
+ * {@link HttpsConnection#readInput()}, against a plain HTTP server running in this process on the loopback interface.
+ * The server either sets the Content-Length of the response or sends it chunked, so both ways of sizing the read are
+ * covered.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+// Without TCP_NODELAY on the server, Nagle's algorithm and delayed ACKs add ~40 ms to every small response
+@Fork(value = 1, jvmArgsAppend = "-Dsun.net.httpserver.nodelay=true")
+public class HttpsConnectionReadBenchmark
+{
+    private static final String PATH = "/body";
+
+    @Param({"1024", "16384", "262144"})
+    public int bodySize;
+
+    @Param({"false", "true"})
+    public boolean chunked;
+
+    private HttpServer server;
+    private URL url;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException
+    {
+        final byte[] body = new byte[this.bodySize];
+        new Random(0).nextBytes(body);
+
+        // A response length of 0 makes the server send the body chunked, without a Content-Length
+        final long responseLength = this.chunked ? 0 : body.length;
+
+        this.server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        this.server.createContext(PATH, exchange ->
+        {
+            exchange.getRequestBody().close();
+            exchange.sendResponseHeaders(200, responseLength);
+            try (OutputStream responseBody = exchange.getResponseBody())
+            {
+                responseBody.write(body);
+            }
+        });
+        this.server.start();
+
+        // HttpsConnection only allows plain HTTP requests to localhost
+        this.url = new URL("http://localhost:" + this.server.getAddress().getPort() + PATH);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown()
+    {
+        this.server.stop(0);
+    }
+
+    @Benchmark
+    public byte[] getAndReadInput() throws TransportException
+    {
+        HttpsConnection connection = new HttpsConnection(this.url, HttpsMethod.GET, null, false);
+        connection.connect();
+        return connection.readInput();
+    }
+}
@@ -0,0 +1,52 @@
+// Copyright (c) Microsoft. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package com.microsoft.azure.sdk.iot.device.transport.https;
+
+import com.microsoft.azure.sdk.iot.device.Message;
+import com.microsoft.azure.sdk.iot.device.benchmarks.BenchmarkPayloads;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link HttpsSingleMessage#parseHttpsMessage(Message)}, which the HTTPS transport does for every message it
+ * sends. Its {@code gc.alloc.rate.norm} shows how many bytes are allocated per sent message, most of which is copies
+ * of the message body for large payloads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HttpsSingleMessageBenchmark
+{
+    @Param({"256", "262144"})
+    public int payloadSize;
+
+    private Message message;
+
+    @Setup(Level.Trial)
+    public void setup()
+    {
+        this.message = BenchmarkPayloads.telemetryMessage(this.payloadSize, 5);
+    }
+
+    @Benchmark
+    public HttpsSingleMessage parseHttpsMessage()
+    {
+        return HttpsSingleMessage.parseHttpsMessage(this.message);
+    }
+}
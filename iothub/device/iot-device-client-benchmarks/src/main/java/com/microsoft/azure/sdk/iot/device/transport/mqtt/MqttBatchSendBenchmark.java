@@ -0,0 +1,214 @@
+// Copyright (c) Microsoft. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package com.microsoft.azure.sdk.iot.device.transport.mqtt;
+
+import com.microsoft.azure.sdk.iot.device.BatchMessage;
+import com.microsoft.azure.sdk.iot.device.ClientConfiguration;
+import com.microsoft.azure.sdk.iot.device.Message;
+import com.microsoft.azure.sdk.iot.device.benchmarks.BenchmarkPayloads;
+import com.microsoft.azure.sdk.iot.device.transport.IotHubListener;
+import com.microsoft.azure.sdk.iot.device.transport.IotHubTransportMessage;
+import com.microsoft.azure.sdk.iot.device.transport.TransportException;
+import org.eclipse.paho.client.mqttv3.IMqttDeliveryToken;
+import org.eclipse.paho.client.mqttv3.MqttAsyncClient;
+import org.eclipse.paho.client.mqttv3.MqttConnectOptions;
+import org.eclipse.paho.client.mqttv3.MqttDeliveryToken;
+import org.eclipse.paho.client.mqttv3.MqttException;
+import org.eclipse.paho.client.mqttv3.MqttMessage;
+import org.eclipse.paho.client.mqttv3.persist.MemoryPersistence;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.lang.reflect.Constructor;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures sending a batch of telemetry messages over MQTT and getting them acknowledged, either as one
+ * {@link BatchMessage} through {@link MqttMessaging#sendBatch(BatchMessage)} or one {@link MqttMessaging#send(Message)}
+ * per message. Every operation sends {@code batchSize} messages and acknowledges each publish, so the two benchmarks
+ * can be compared directly; divide by {@code batchSize} for the cost of a single message.
+ * <p>
+ * This only covers the MQTT layer. Sending the messages one at a time through a client also takes one pass through
+ * the transport's send loop and one callback per message, which a batch only pays for once.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MqttBatchSendBenchmark
+{
+    private static final int PAYLOAD_SIZE = 256;
+    private static final int PROPERTY_COUNT = 5;
+
+    @Param({"1", "10", "100", "500"})
+    public int batchSize;
+
+    private MqttMessaging mqttMessaging;
+    private AcknowledgingMqttAsyncClient mqttAsyncClient;
+    private CountingListener listener;
+    private List<Message> messages;
+    private BatchMessage batchMessage;
+
+    @Setup(Level.Trial)
+    public void setup() throws MqttException, ReflectiveOperationException
+    {
+        MqttInFlightMessageGate inFlightMessageGate = new MqttInFlightMessageGate(ClientConfiguration.DEFAULT_MQTT_MAX_IN_FLIGHT_MESSAGES, true);
+        this.mqttMessaging = new MqttMessaging(
+            "device1",
+            null,
+            null,
+            false,
+            new MqttConnectOptions(),
+            new HashMap<>(),
+            new ConcurrentLinkedQueue<>(),
+            inFlightMessageGate);
+
+        this.mqttAsyncClient = new AcknowledgingMqttAsyncClient(this.batchSize);
+        this.mqttMessaging.setMqttAsyncClient(this.mqttAsyncClient);
+        this.listener = new CountingListener();
+        this.mqttMessaging.setListener(this.listener);
+
+        this.messages = new ArrayList<>(this.batchSize);
+        for (int i = 0; i < this.batchSize; i++)
+        {
+            this.messages.add(BenchmarkPayloads.telemetryMessage(PAYLOAD_SIZE, PROPERTY_COUNT));
+        }
+
+        // The batch message constructor is only visible to the client itself
+        Constructor<BatchMessage> batchMessageConstructor = BatchMessage.class.getDeclaredConstructor(List.class);
+        batchMessageConstructor.setAccessible(true);
+        this.batchMessage = batchMessageConstructor.newInstance(this.messages);
+    }
+
+    @Benchmark
+    public void sendIndividually(Blackhole blackhole) throws TransportException
+    {
+        this.mqttAsyncClient.blackhole = blackhole;
+        for (Message message : this.messages)
+        {
+            this.mqttMessaging.send(message);
+        }
+
+        this.mqttAsyncClient.acknowledgeAll(this.mqttMessaging);
+        blackhole.consume(this.listener.sentCount);
+    }
+
+    @Benchmark
+    public void sendBatch(Blackhole blackhole) throws TransportException
+    {
+        this.mqttAsyncClient.blackhole = blackhole;
+        this.mqttMessaging.sendBatch(this.batchMessage);
+
+        this.mqttAsyncClient.acknowledgeAll(this.mqttMessaging);
+        blackhole.consume(this.listener.sentCount);
+    }
+
+    /**
+     * Stops the send path at the Paho boundary. Each publish in an operation gets its own delivery token with its own
+     * MQTT message id, and {@link #acknowledgeAll(MqttMessaging)} then acknowledges them the way Paho would once the service responds.
+     * The client is never connected, so no network or Paho threads are involved.
+     */
+    private static class AcknowledgingMqttAsyncClient extends MqttAsyncClient
+    {
+        // Creating a Paho token is expensive enough to hide the SDK's own work, so one token per message is made up front
+        private final List<MqttDeliveryToken> deliveryTokens;
+        private int unacknowledgedTokenCount;
+        Blackhole blackhole;
+
+        AcknowledgingMqttAsyncClient(int batchSize) throws MqttException
+        {
+            super("tcp://localhost:1883", "benchmark", new MemoryPersistence());
+            this.deliveryTokens = new ArrayList<>(batchSize);
+            for (int i = 0; i < batchSize; i++)
+            {
+                MqttDeliveryToken deliveryToken = new MqttDeliveryToken("benchmark");
+                deliveryToken.internalTok.setMessageID(i + 1);
+                this.deliveryTokens.add(deliveryToken);
+            }
+        }
+
+        @Override
+        public boolean isConnected()
+        {
+            return true;
+        }
+
+        @Override
+        public IMqttDeliveryToken publish(String topic, MqttMessage message)
+        {
+            this.blackhole.consume(topic);
+            this.blackhole.consume(message.getPayload());
+
+            return this.deliveryTokens.get(this.unacknowledgedTokenCount++);
+        }
+
+        void acknowledgeAll(MqttMessaging mqttMessaging)
+        {
+            for (int i = 0; i < this.unacknowledgedTokenCount; i++)
+            {
+                mqttMessaging.deliveryComplete(this.deliveryTokens.get(i));
+            }
+
+            this.unacknowledgedTokenCount = 0;
+        }
+    }
+
+    private static class CountingListener implements IotHubListener
+    {
+        long sentCount;
+
+        @Override
+        public void onMessageSent(Message message, String deviceId, TransportException e)
+        {
+            this.sentCount++;
+        }
+
+        @Override
+        public void onMessageReceived(IotHubTransportMessage transportMessage, TransportException e)
+        {
+        }
+
+        @Override
+        public void onConnectionLost(TransportException e, String connectionId)
+        {
+        }
+
+        @Override
+        public void onConnectionEstablished(String connectionId)
+        {
+        }
+
+        @Override
+        public void onMultiplexedDeviceSessionEstablished(String connectionId, String deviceId)
+        {
+        }
+
+        @Override
+        public void onMultiplexedDeviceSessionLost(TransportException e, String connectionId, String deviceId, boolean shouldReconnect)
+        {
+        }
+
+        @Override
+        public void onMultiplexedDeviceSessionRegistrationFailed(String connectionId, String deviceId, Exception e)
+        {
+        }
+    }
+}
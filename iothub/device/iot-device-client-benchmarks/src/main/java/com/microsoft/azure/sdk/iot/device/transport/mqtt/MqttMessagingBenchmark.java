@@ -0,0 +1,120 @@
+// Copyright (c) Microsoft. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package com.microsoft.azure.sdk.iot.device.transport.mqtt;
+
+import com.microsoft.azure.sdk.iot.device.ClientConfiguration;
+import com.microsoft.azure.sdk.iot.device.Message;
+import com.microsoft.azure.sdk.iot.device.benchmarks.BenchmarkPayloads;
+import com.microsoft.azure.sdk.iot.device.transport.TransportException;
+import org.eclipse.paho.client.mqttv3.IMqttDeliveryToken;
+import org.eclipse.paho.client.mqttv3.MqttAsyncClient;
+import org.eclipse.paho.client.mqttv3.MqttConnectOptions;
+import org.eclipse.paho.client.mqttv3.MqttDeliveryToken;
+import org.eclipse.paho.client.mqttv3.MqttException;
+import org.eclipse.paho.client.mqttv3.MqttMessage;
+import org.eclipse.paho.client.mqttv3.persist.MemoryPersistence;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.HashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link MqttMessaging#send(Message)} up to the point where the message is handed to Paho. This covers
+ * building the publish topic out of the message's system and application properties as well as preparing the
+ * {@link MqttMessage} payload.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MqttMessagingBenchmark
+{
+    @Param({"0", "5", "20"})
+    public int propertyCount;
+
+    @Param({"false", "true"})
+    public boolean isModule;
+
+    @Param({"256", "262144"})
+    public int payloadSize;
+
+    private MqttMessaging mqttMessaging;
+    private MqttInFlightMessageGate inFlightMessageGate;
+    private PublishCapturingMqttAsyncClient mqttAsyncClient;
+    private Message message;
+
+    @Setup(Level.Trial)
+    public void setup() throws MqttException
+    {
+        this.inFlightMessageGate = new MqttInFlightMessageGate(ClientConfiguration.DEFAULT_MQTT_MAX_IN_FLIGHT_MESSAGES, true);
+        this.mqttMessaging = new MqttMessaging(
+            "device1",
+            null,
+            this.isModule ? "module1" : null,
+            false,
+            new MqttConnectOptions(),
+            new HashMap<>(),
+            new ConcurrentLinkedQueue<>(),
+            this.inFlightMessageGate);
+
+        this.mqttAsyncClient = new PublishCapturingMqttAsyncClient(this.inFlightMessageGate);
+        this.mqttMessaging.setMqttAsyncClient(this.mqttAsyncClient);
+        this.message = BenchmarkPayloads.telemetryMessage(this.payloadSize, this.propertyCount);
+    }
+
+    @Benchmark
+    public void send(Blackhole blackhole) throws TransportException
+    {
+        this.mqttAsyncClient.blackhole = blackhole;
+        this.mqttMessaging.send(this.message);
+    }
+
+    /**
+     * Stops the send path at the Paho boundary so that only the SDK's own work is measured. The client is never
+     * connected, so no network or Paho threads are involved. Each publish is treated as acknowledged right away so
+     * that the in-flight limit is never reached.
+     */
+    private static class PublishCapturingMqttAsyncClient extends MqttAsyncClient
+    {
+        private final MqttDeliveryToken deliveryToken = new MqttDeliveryToken("benchmark");
+        private final MqttInFlightMessageGate inFlightMessageGate;
+        Blackhole blackhole;
+
+        PublishCapturingMqttAsyncClient(MqttInFlightMessageGate inFlightMessageGate) throws MqttException
+        {
+            super("tcp://localhost:1883", "benchmark", new MemoryPersistence());
+            this.inFlightMessageGate = inFlightMessageGate;
+        }
+
+        @Override
+        public boolean isConnected()
+        {
+            return true;
+        }
+
+        @Override
+        public IMqttDeliveryToken publish(String topic, MqttMessage message)
+        {
+            this.blackhole.consume(topic);
+            this.blackhole.consume(message.getPayload());
+            this.inFlightMessageGate.release();
+            return this.deliveryToken;
+        }
+    }
+}
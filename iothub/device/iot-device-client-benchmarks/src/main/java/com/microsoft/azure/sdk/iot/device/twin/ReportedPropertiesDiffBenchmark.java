@@ -0,0 +1,99 @@
+// Copyright (c) Microsoft. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package com.microsoft.azure.sdk.iot.device.twin;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures reporting a full reported state in which one leaf changed: serializing the whole state, as
+ * {@code updateReportedPropertiesAsync} sends it, against diffing it with {@link ReportedPropertiesDiffEngine} and
+ * serializing the patch, as {@code updateReportedPropertiesStateAsync} sends it. The states have 100 or 10000 leaves,
+ * either all at the root (wide) or spread over 5 levels of nested collections (deep).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReportedPropertiesDiffBenchmark
+{
+    @Param({"100", "10000"})
+    public int leafCount;
+
+    @Param({"1", "5"})
+    public int depth;
+
+    private TwinCollection state;
+    private TwinCollection previousState;
+    private ReportedPropertiesDiffEngine engine;
+
+    @Setup(Level.Trial)
+    public void setup()
+    {
+        // Each level has the same number of children, so that the tree has about leafCount leaves
+        int fanOut = (int) Math.ceil(Math.pow(this.leafCount, 1.0 / this.depth));
+        this.previousState = buildState(this.depth, fanOut, new int[] { this.leafCount });
+        this.engine = new ReportedPropertiesDiffEngine();
+        this.engine.diff(this.previousState);
+
+        // The same state with one leaf changed
+        this.state = new TwinCollection(this.previousState);
+        TwinCollection parent = this.state;
+        for (int level = 1; level < this.depth; level++)
+        {
+            parent = (TwinCollection) parent.get("group0");
+        }
+
+        parent.putWithoutCopy("leaf0", -1L);
+    }
+
+    private static TwinCollection buildState(int depth, int fanOut, int[] leavesLeft)
+    {
+        TwinCollection collection = new TwinCollection();
+        for (int i = 0; i < fanOut && leavesLeft[0] > 0; i++)
+        {
+            if (depth == 1)
+            {
+                collection.putWithoutCopy("leaf" + i, (long) leavesLeft[0]--);
+            }
+            else
+            {
+                collection.putWithoutCopy("group" + i, buildState(depth - 1, fanOut, leavesLeft));
+            }
+        }
+
+        return collection;
+    }
+
+    @Benchmark
+    public String serializeFullState()
+    {
+        return this.state.toJsonElement().toString();
+    }
+
+    @Benchmark
+    public String diffAndSerializePatch()
+    {
+        // The engine diffs against the state it was last given, so alternate between the two states to keep
+        // diffing a state in which one leaf changed
+        TwinCollection nextState = this.state;
+        this.state = this.previousState;
+        this.previousState = nextState;
+        return this.engine.diff(nextState).toJsonElement().toString();
+    }
+}
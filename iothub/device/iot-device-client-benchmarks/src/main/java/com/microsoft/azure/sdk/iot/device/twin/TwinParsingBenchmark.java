@@ -0,0 +1,78 @@
+// Copyright (c) Microsoft. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package com.microsoft.azure.sdk.iot.device.twin;
+
+import com.google.gson.reflect.TypeToken;
+import com.microsoft.azure.sdk.iot.device.benchmarks.BenchmarkPayloads;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures parsing of the twin payloads the service sends to the device: the full twin on a GET, and desired property
+ * patches. Twin sizes roughly span 1 KB, 32 KB and 512 KB of JSON once metadata is included.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TwinParsingBenchmark
+{
+    @Param({"10", "200", "3000"})
+    public int leafCount;
+
+    private String twinJson;
+    private String twinPropertiesJson;
+    private String desiredPropertiesPatchJson;
+    private Map<String, Object> rawCollection;
+
+    @Setup(Level.Trial)
+    public void setup()
+    {
+        this.twinJson = BenchmarkPayloads.twinJson(this.leafCount);
+        this.twinPropertiesJson = BenchmarkPayloads.twinPropertiesJson(this.leafCount);
+        this.desiredPropertiesPatchJson = BenchmarkPayloads.twinCollectionJson(this.leafCount, false);
+        this.rawCollection = TwinGsonBuilder.getGson().fromJson(
+            BenchmarkPayloads.twinCollectionJson(this.leafCount, true),
+            new TypeToken<Map<String, Object>>() {}.getType());
+    }
+
+    @Benchmark
+    public Twin createFromTwinJson()
+    {
+        return Twin.createFromTwinJson(this.twinJson);
+    }
+
+    @Benchmark
+    public Twin createFromPropertiesJson()
+    {
+        return Twin.createFromPropertiesJson(this.twinPropertiesJson);
+    }
+
+    @Benchmark
+    public Twin createFromDesiredPropertyJson()
+    {
+        return Twin.createFromDesiredPropertyJson(this.desiredPropertiesPatchJson);
+    }
+
+    @Benchmark
+    public TwinCollection createFromRawCollection()
+    {
+        return TwinCollection.createFromRawCollection(this.rawCollection);
+    }
+}
@@ -0,0 +1 @@
+memberSearchIndex = [{"p":"com.microsoft.azure.sdk.iot.device","c":"IotHubMessageResult","l":"ABANDON"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps","c":"AmqpsMessage","l":"acknowledge(DeliveryState)","u":"acknowledge(org.apache.qpid.proton.amqp.transport.DeliveryState)"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"IotHubTransport","l":"addMessage(Message, MessageSentCallback, Object, String)","u":"addMessage(com.microsoft.azure.sdk.iot.device.Message,com.microsoft.azure.sdk.iot.device.MessageSentCallback,java.lang.Object,java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device.exceptions","c":"MultiplexingClientRegistrationException","l":"addRegistrationException(String, Exception)","u":"addRegistrationException(java.lang.String,java.lang.Exception)"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"MultiplexingDeviceUnauthorizedException","l":"addRegistrationException(String, Exception)","u":"addRegistrationException(java.lang.String,java.lang.Exception)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"AmqpConnectionForcedException","l":"AmqpConnectionForcedException()","u":"%3Cinit%3E()"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"AmqpConnectionForcedException","l":"AmqpConnectionForcedException(String)","u":"%3Cinit%3E(java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"AmqpConnectionForcedException","l":"AmqpConnectionForcedException(String, Throwable)","u":"%3Cinit%3E(java.lang.String,java.lang.Throwable)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"AmqpConnectionForcedException","l":"AmqpConnectionForcedException(Throwable)","u":"%3Cinit%3E(java.lang.Throwable)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"AmqpConnectionFramingErrorException","l":"AmqpConnectionFramingErrorException()","u":"%3Cinit%3E()"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"AmqpConnectionFramingErrorException","l":"AmqpConnectionFramingErrorException(String)","u":"%3Cinit%3E(java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"AmqpConnectionFramingErrorException","l":"AmqpConnectionFramingErrorException(String, Throwable)","u":"%3Cinit%3E(java.lang.String,java.lang.Throwable)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"AmqpConnectionFramingErrorException","l":"AmqpConnectionFramingErrorException(Throwable)","u":"%3Cinit%3E(java.lang.Throwable)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"AmqpConnectionRedirectException","l":"AmqpConnectionRedirectException()","u":"%3Cinit%3E()"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"AmqpConnectionRedirectException","l":"AmqpConnectionRedirectException(String)","u":"%3Cinit%3E(java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"AmqpConnectionRedirectException","l":"AmqpConnectionRedirectException(String, Throwable)","u":"%3Cinit%3E(java.lang.String,java.lang.Throwable)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"AmqpConnectionRedirectException","l":"AmqpConnectionRedirectException(Throwable)","u":"%3Cinit%3E(java.lang.Throwable)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"AmqpConnectionThrottledException","l":"AmqpConnectionThrottledException()","u":"%3Cinit%3E()"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"AmqpConnectionThrottledException","l":"AmqpConnectionThrottledException(String)","u":"%3Cinit%3E(java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"AmqpConnectionThrottledException","l":"AmqpConnectionThrottledException(String, Throwable)","u":"%3Cinit%3E(java.lang.String,java.lang.Throwable)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"AmqpConnectionThrottledException","l":"AmqpConnectionThrottledException(Throwable)","u":"%3Cinit%3E(java.lang.Throwable)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"AmqpDecodeErrorException","l":"AmqpDecodeErrorException()","u":"%3Cinit%3E()"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"AmqpDecodeErrorException","l":"AmqpDecodeErrorException(String)","u":"%3Cinit%3E(java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"AmqpDecodeErrorException","l":"AmqpDecodeErrorException(String, Throwable)","u":"%3Cinit%3E(java.lang.String,java.lang.Throwable)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"AmqpDecodeErrorException","l":"AmqpDecodeErrorException(Throwable)","u":"%3Cinit%3E(java.lang.Throwable)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"AmqpFrameSizeTooSmallException","l":"AmqpFrameSizeTooSmallException()","u":"%3Cinit%3E()"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"AmqpFrameSizeTooSmallException","l":"AmqpFrameSizeTooSmallException(String)","u":"%3Cinit%3E(java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"AmqpFrameSizeTooSmallException","l":"AmqpFrameSizeTooSmallException(String, Throwable)","u":"%3Cinit%3E(java.lang.String,java.lang.Throwable)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"AmqpFrameSizeTooSmallException","l":"AmqpFrameSizeTooSmallException(Throwable)","u":"%3Cinit%3E(java.lang.Throwable)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"AmqpIllegalStateException","l":"AmqpIllegalStateException()","u":"%3Cinit%3E()"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"AmqpIllegalStateException","l":"AmqpIllegalStateException(String)","u":"%3Cinit%3E(java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"AmqpIllegalStateException","l":"AmqpIllegalStateException(String, Throwable)","u":"%3Cinit%3E(java.lang.String,java.lang.Throwable)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"AmqpIllegalStateException","l":"AmqpIllegalStateException(Throwable)","u":"%3Cinit%3E(java.lang.Throwable)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"AmqpInternalErrorException","l":"AmqpInternalErrorException()","u":"%3Cinit%3E()"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"AmqpInternalErrorException","l":"AmqpInternalErrorException(String)","u":"%3Cinit%3E(java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"AmqpInternalErrorException","l":"AmqpInternalErrorException(String, Throwable)","u":"%3Cinit%3E(java.lang.String,java.lang.Throwable)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"AmqpInternalErrorException","l":"AmqpInternalErrorException(Throwable)","u":"%3Cinit%3E(java.lang.Throwable)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"AmqpInvalidFieldException","l":"AmqpInvalidFieldException()","u":"%3Cinit%3E()"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"AmqpInvalidFieldException","l":"AmqpInvalidFieldException(String)","u":"%3Cinit%3E(java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"AmqpInvalidFieldException","l":"AmqpInvalidFieldException(String, Throwable)","u":"%3Cinit%3E(java.lang.String,java.lang.Throwable)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"AmqpInvalidFieldException","l":"AmqpInvalidFieldException(Throwable)","u":"%3Cinit%3E(java.lang.Throwable)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"AmqpLinkCreationConflict","l":"AmqpLinkCreationConflict()","u":"%3Cinit%3E()"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"AmqpLinkCreationConflict","l":"AmqpLinkCreationConflict(String)","u":"%3Cinit%3E(java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"AmqpLinkCreationConflict","l":"AmqpLinkCreationConflict(String, Throwable)","u":"%3Cinit%3E(java.lang.String,java.lang.Throwable)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"AmqpLinkCreationConflict","l":"AmqpLinkCreationConflict(Throwable)","u":"%3Cinit%3E(java.lang.Throwable)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"AmqpLinkDetachForcedException","l":"AmqpLinkDetachForcedException()","u":"%3Cinit%3E()"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"AmqpLinkDetachForcedException","l":"AmqpLinkDetachForcedException(String)","u":"%3Cinit%3E(java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"AmqpLinkDetachForcedException","l":"AmqpLinkDetachForcedException(String, Throwable)","u":"%3Cinit%3E(java.lang.String,java.lang.Throwable)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"AmqpLinkDetachForcedException","l":"AmqpLinkDetachForcedException(Throwable)","u":"%3Cinit%3E(java.lang.Throwable)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"AmqpLinkMessageSizeExceededException","l":"AmqpLinkMessageSizeExceededException()","u":"%3Cinit%3E()"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"AmqpLinkMessageSizeExceededException","l":"AmqpLinkMessageSizeExceededException(String)","u":"%3Cinit%3E(java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"AmqpLinkMessageSizeExceededException","l":"AmqpLinkMessageSizeExceededException(String, Throwable)","u":"%3Cinit%3E(java.lang.String,java.lang.Throwable)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"AmqpLinkMessageSizeExceededException","l":"AmqpLinkMessageSizeExceededException(Throwable)","u":"%3Cinit%3E(java.lang.Throwable)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"AmqpLinkRedirectException","l":"AmqpLinkRedirectException()","u":"%3Cinit%3E()"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"AmqpLinkRedirectException","l":"AmqpLinkRedirectException(String)","u":"%3Cinit%3E(java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"AmqpLinkRedirectException","l":"AmqpLinkRedirectException(String, Throwable)","u":"%3Cinit%3E(java.lang.String,java.lang.Throwable)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"AmqpLinkRedirectException","l":"AmqpLinkRedirectException(Throwable)","u":"%3Cinit%3E(java.lang.Throwable)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"AmqpLinkStolenException","l":"AmqpLinkStolenException()","u":"%3Cinit%3E()"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"AmqpLinkStolenException","l":"AmqpLinkStolenException(String)","u":"%3Cinit%3E(java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"AmqpLinkStolenException","l":"AmqpLinkStolenException(String, Throwable)","u":"%3Cinit%3E(java.lang.String,java.lang.Throwable)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"AmqpLinkStolenException","l":"AmqpLinkStolenException(Throwable)","u":"%3Cinit%3E(java.lang.Throwable)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"AmqpLinkTransferLimitExceededException","l":"AmqpLinkTransferLimitExceededException()","u":"%3Cinit%3E()"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"AmqpLinkTransferLimitExceededException","l":"AmqpLinkTransferLimitExceededException(String)","u":"%3Cinit%3E(java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"AmqpLinkTransferLimitExceededException","l":"AmqpLinkTransferLimitExceededException(String, Throwable)","u":"%3Cinit%3E(java.lang.String,java.lang.Throwable)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"AmqpLinkTransferLimitExceededException","l":"AmqpLinkTransferLimitExceededException(Throwable)","u":"%3Cinit%3E(java.lang.Throwable)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"AmqpNotAllowedException","l":"AmqpNotAllowedException()","u":"%3Cinit%3E()"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"AmqpNotAllowedException","l":"AmqpNotAllowedException(String)","u":"%3Cinit%3E(java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"AmqpNotAllowedException","l":"AmqpNotAllowedException(String, Throwable)","u":"%3Cinit%3E(java.lang.String,java.lang.Throwable)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"AmqpNotAllowedException","l":"AmqpNotAllowedException(Throwable)","u":"%3Cinit%3E(java.lang.Throwable)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"AmqpNotFoundException","l":"AmqpNotFoundException()","u":"%3Cinit%3E()"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"AmqpNotFoundException","l":"AmqpNotFoundException(String)","u":"%3Cinit%3E(java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"AmqpNotFoundException","l":"AmqpNotFoundException(String, Throwable)","u":"%3Cinit%3E(java.lang.String,java.lang.Throwable)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"AmqpNotFoundException","l":"AmqpNotFoundException(Throwable)","u":"%3Cinit%3E(java.lang.Throwable)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"AmqpNotImplementedException","l":"AmqpNotImplementedException()","u":"%3Cinit%3E()"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"AmqpNotImplementedException","l":"AmqpNotImplementedException(String)","u":"%3Cinit%3E(java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"AmqpNotImplementedException","l":"AmqpNotImplementedException(String, Throwable)","u":"%3Cinit%3E(java.lang.String,java.lang.Throwable)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"AmqpNotImplementedException","l":"AmqpNotImplementedException(Throwable)","u":"%3Cinit%3E(java.lang.Throwable)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"AmqpPreconditionFailedException","l":"AmqpPreconditionFailedException()","u":"%3Cinit%3E()"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"AmqpPreconditionFailedException","l":"AmqpPreconditionFailedException(String)","u":"%3Cinit%3E(java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"AmqpPreconditionFailedException","l":"AmqpPreconditionFailedException(String, Throwable)","u":"%3Cinit%3E(java.lang.String,java.lang.Throwable)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"AmqpPreconditionFailedException","l":"AmqpPreconditionFailedException(Throwable)","u":"%3Cinit%3E(java.lang.Throwable)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"AmqpResourceDeletedException","l":"AmqpResourceDeletedException()","u":"%3Cinit%3E()"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"AmqpResourceDeletedException","l":"AmqpResourceDeletedException(String)","u":"%3Cinit%3E(java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"AmqpResourceDeletedException","l":"AmqpResourceDeletedException(String, Throwable)","u":"%3Cinit%3E(java.lang.String,java.lang.Throwable)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"AmqpResourceDeletedException","l":"AmqpResourceDeletedException(Throwable)","u":"%3Cinit%3E(java.lang.Throwable)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"AmqpResourceLimitExceededException","l":"AmqpResourceLimitExceededException()","u":"%3Cinit%3E()"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"AmqpResourceLimitExceededException","l":"AmqpResourceLimitExceededException(String)","u":"%3Cinit%3E(java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"AmqpResourceLimitExceededException","l":"AmqpResourceLimitExceededException(String, Throwable)","u":"%3Cinit%3E(java.lang.String,java.lang.Throwable)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"AmqpResourceLimitExceededException","l":"AmqpResourceLimitExceededException(Throwable)","u":"%3Cinit%3E(java.lang.Throwable)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"AmqpResourceLockedException","l":"AmqpResourceLockedException()","u":"%3Cinit%3E()"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"AmqpResourceLockedException","l":"AmqpResourceLockedException(String)","u":"%3Cinit%3E(java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"AmqpResourceLockedException","l":"AmqpResourceLockedException(String, Throwable)","u":"%3Cinit%3E(java.lang.String,java.lang.Throwable)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"AmqpResourceLockedException","l":"AmqpResourceLockedException(Throwable)","u":"%3Cinit%3E(java.lang.Throwable)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"IotHubClientProtocol","l":"AMQPS"},{"p":"com.microsoft.azure.sdk.iot.device","c":"IotHubClientProtocol","l":"AMQPS_WS"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"AmqpSessionErrantLinkException","l":"AmqpSessionErrantLinkException()","u":"%3Cinit%3E()"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"AmqpSessionErrantLinkException","l":"AmqpSessionErrantLinkException(String)","u":"%3Cinit%3E(java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"AmqpSessionErrantLinkException","l":"AmqpSessionErrantLinkException(String, Throwable)","u":"%3Cinit%3E(java.lang.String,java.lang.Throwable)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"AmqpSessionErrantLinkException","l":"AmqpSessionErrantLinkException(Throwable)","u":"%3Cinit%3E(java.lang.Throwable)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"AmqpSessionHandleInUseException","l":"AmqpSessionHandleInUseException()","u":"%3Cinit%3E()"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"AmqpSessionHandleInUseException","l":"AmqpSessionHandleInUseException(String)","u":"%3Cinit%3E(java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"AmqpSessionHandleInUseException","l":"AmqpSessionHandleInUseException(String, Throwable)","u":"%3Cinit%3E(java.lang.String,java.lang.Throwable)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"AmqpSessionHandleInUseException","l":"AmqpSessionHandleInUseException(Throwable)","u":"%3Cinit%3E(java.lang.Throwable)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"AmqpSessionUnattachedHandleException","l":"AmqpSessionUnattachedHandleException()","u":"%3Cinit%3E()"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"AmqpSessionUnattachedHandleException","l":"AmqpSessionUnattachedHandleException(String)","u":"%3Cinit%3E(java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"AmqpSessionUnattachedHandleException","l":"AmqpSessionUnattachedHandleException(String, Throwable)","u":"%3Cinit%3E(java.lang.String,java.lang.Throwable)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"AmqpSessionUnattachedHandleException","l":"AmqpSessionUnattachedHandleException(Throwable)","u":"%3Cinit%3E(java.lang.Throwable)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"AmqpSessionWindowViolationException","l":"AmqpSessionWindowViolationException()","u":"%3Cinit%3E()"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"AmqpSessionWindowViolationException","l":"AmqpSessionWindowViolationException(String)","u":"%3Cinit%3E(java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"AmqpSessionWindowViolationException","l":"AmqpSessionWindowViolationException(String, Throwable)","u":"%3Cinit%3E(java.lang.String,java.lang.Throwable)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"AmqpSessionWindowViolationException","l":"AmqpSessionWindowViolationException(Throwable)","u":"%3Cinit%3E(java.lang.Throwable)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps","c":"AmqpsIotHubConnection","l":"AmqpsIotHubConnection(ClientConfiguration, String)","u":"%3Cinit%3E(com.microsoft.azure.sdk.iot.device.ClientConfiguration,java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps","c":"AmqpsIotHubConnection","l":"AmqpsIotHubConnection(String, String, boolean, SSLContext, ProxySettings, int, int, boolean, boolean, String, String)","u":"%3Cinit%3E(java.lang.String,java.lang.String,boolean,javax.net.ssl.SSLContext,com.microsoft.azure.sdk.iot.device.ProxySettings,int,int,boolean,boolean,java.lang.String,java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps","c":"AmqpsMessage","l":"AmqpsMessage()","u":"%3Cinit%3E()"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"AmqpUnauthorizedAccessException","l":"AmqpUnauthorizedAccessException()","u":"%3Cinit%3E()"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"AmqpUnauthorizedAccessException","l":"AmqpUnauthorizedAccessException(String)","u":"%3Cinit%3E(java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"AmqpUnauthorizedAccessException","l":"AmqpUnauthorizedAccessException(String, Throwable)","u":"%3Cinit%3E(java.lang.String,java.lang.Throwable)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"AmqpUnauthorizedAccessException","l":"AmqpUnauthorizedAccessException(Throwable)","u":"%3Cinit%3E(java.lang.Throwable)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https","c":"IotHubUri","l":"API_VERSION"},{"p":"com.microsoft.azure.sdk.iot.device","c":"IotHubConnectionStatusChangeReason","l":"BAD_CREDENTIAL"},{"p":"com.microsoft.azure.sdk.iot.device","c":"IotHubStatusCode","l":"BAD_FORMAT"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https.exceptions","c":"BadFormatException","l":"BadFormatException()","u":"%3Cinit%3E()"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https.exceptions","c":"BadFormatException","l":"BadFormatException(String)","u":"%3Cinit%3E(java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https.exceptions","c":"BadFormatException","l":"BadFormatException(String, Throwable)","u":"%3Cinit%3E(java.lang.String,java.lang.Throwable)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https.exceptions","c":"BadFormatException","l":"BadFormatException(Throwable)","u":"%3Cinit%3E(java.lang.Throwable)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"BlobUploadOptions","l":"BlobUploadOptions()","u":"%3Cinit%3E()"},{"p":"com.microsoft.azure.sdk.iot.device","c":"OutboundQueueOverflowPolicy","l":"BLOCK"},{"p":"com.microsoft.azure.sdk.iot.device.auth","c":"IotHubSasTokenWithRefreshAuthenticationProvider","l":"buildAudience(String, String, String)","u":"buildAudience(java.lang.String,java.lang.String,java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device.auth","c":"IotHubSasToken","l":"buildSharedAccessToken(String, String, long)","u":"buildSharedAccessToken(java.lang.String,java.lang.String,long)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps","c":"ReactorRunner","l":"call()"},{"p":"com.microsoft.azure.sdk.iot.device.auth","c":"IotHubSasTokenAuthenticationProvider","l":"canRefreshToken()"},{"p":"com.microsoft.azure.sdk.iot.device.auth","c":"IotHubSasTokenHardwareAuthenticationProvider","l":"canRefreshToken()"},{"p":"com.microsoft.azure.sdk.iot.device.auth","c":"IotHubSasTokenProvidedAuthenticationProvider","l":"canRefreshToken()"},{"p":"com.microsoft.azure.sdk.iot.device.auth","c":"IotHubSasTokenSoftwareAuthenticationProvider","l":"canRefreshToken()"},{"p":"com.microsoft.azure.sdk.iot.device.hsm","c":"IotHubSasTokenHsmAuthenticationProvider","l":"canRefreshToken()"},{"p":"com.microsoft.azure.sdk.iot.device","c":"IotHubConnectionStatusChangeReason","l":"CLIENT_CLOSE"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"TransportUtils","l":"CLIENT_VERSION"},{"p":"com.microsoft.azure.sdk.iot.device","c":"ClientConfiguration","l":"ClientConfiguration()","u":"%3Cinit%3E()"},{"p":"com.microsoft.azure.sdk.iot.device","c":"ClientOptions","l":"ClientOptions()","u":"%3Cinit%3E()"},{"p":"com.microsoft.azure.sdk.iot.device","c":"ClientRuntime","l":"ClientRuntime()","u":"%3Cinit%3E()"},{"p":"com.microsoft.azure.sdk.iot.device","c":"ClientRuntime","l":"ClientRuntime(int)","u":"%3Cinit%3E(int)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"ClientRuntime","l":"close()"},{"p":"com.microsoft.azure.sdk.iot.device","c":"DeviceClient","l":"close()"},{"p":"com.microsoft.azure.sdk.iot.device.hsm","c":"UnixDomainSocketChannel","l":"close()"},{"p":"com.microsoft.azure.sdk.iot.device","c":"InternalClient","l":"close()"},{"p":"com.microsoft.azure.sdk.iot.device","c":"MultiplexingClient","l":"close()"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps","c":"AmqpsIotHubConnection","l":"close()"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https","c":"HttpsIotHubConnection","l":"close()"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"IotHubTransportConnection","l":"close()"},{"p":"com.microsoft.azure.sdk.iot.device.transport.mqtt","c":"MqttIotHubConnection","l":"close()"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"IotHubTransport","l":"close(IotHubConnectionStatusChangeReason, Throwable)","u":"close(com.microsoft.azure.sdk.iot.device.IotHubConnectionStatusChangeReason,java.lang.Throwable)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"IotHubConnectionStatusChangeReason","l":"COMMUNICATION_ERROR"},{"p":"com.microsoft.azure.sdk.iot.device","c":"IotHubMessageResult","l":"COMPLETE"},{"p":"com.microsoft.azure.sdk.iot.device","c":"DeviceClient","l":"completeFileUpload(FileUploadCompletionNotification)","u":"completeFileUpload(com.microsoft.azure.sdk.iot.device.FileUploadCompletionNotification)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"MessageProperty","l":"COMPONENT_ID"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https","c":"HttpsConnection","l":"connect()"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"IotHubConnectionStatus","l":"CONNECTED"},{"p":"com.microsoft.azure.sdk.iot.device","c":"MessageProperty","l":"CONNECTION_DEVICE_ID"},{"p":"com.microsoft.azure.sdk.iot.device","c":"MessageProperty","l":"CONNECTION_MODULE_ID"},{"p":"com.microsoft.azure.sdk.iot.device","c":"IotHubConnectionStatusChangeReason","l":"CONNECTION_OK"},{"p":"com.microsoft.azure.sdk.iot.device.transport.mqtt","c":"Mqtt","l":"connectionLost(Throwable)","u":"connectionLost(java.lang.Throwable)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"ConnectionStatusChangeContext","l":"ConnectionStatusChangeContext()","u":"%3Cinit%3E()"},{"p":"com.microsoft.azure.sdk.iot.device.transport.mqtt.exceptions","c":"PahoExceptionTranslator","l":"convertToMqttException(MqttException, String)","u":"convertToMqttException(org.eclipse.paho.client.mqttv3.MqttException,java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device.hsm","c":"IotHubSasTokenHsmAuthenticationProvider","l":"create(SignatureProvider, String, String, String, String, String, int, int)","u":"create(com.microsoft.azure.sdk.iot.device.auth.SignatureProvider,java.lang.String,java.lang.String,java.lang.String,java.lang.String,java.lang.String,int,int)"},{"p":"com.microsoft.azure.sdk.iot.device.hsm","c":"IotHubSasTokenHsmAuthenticationProvider","l":"create(SignatureProvider, String, String, String, String, String, int, int, SSLContext)","u":"create(com.microsoft.azure.sdk.iot.device.auth.SignatureProvider,java.lang.String,java.lang.String,java.lang.String,java.lang.String,java.lang.String,int,int,javax.net.ssl.SSLContext)"},{"p":"com.microsoft.azure.sdk.iot.device.twin","c":"Twin","l":"createFromDesiredPropertyJson(String)","u":"createFromDesiredPropertyJson(java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"ModuleClient","l":"createFromEnvironment(UnixDomainSocketChannel)","u":"createFromEnvironment(com.microsoft.azure.sdk.iot.device.hsm.UnixDomainSocketChannel)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"ModuleClient","l":"createFromEnvironment(UnixDomainSocketChannel, IotHubClientProtocol)","u":"createFromEnvironment(com.microsoft.azure.sdk.iot.device.hsm.UnixDomainSocketChannel,com.microsoft.azure.sdk.iot.device.IotHubClientProtocol)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"ModuleClient","l":"createFromEnvironment(UnixDomainSocketChannel, IotHubClientProtocol, ClientOptions)","u":"createFromEnvironment(com.microsoft.azure.sdk.iot.device.hsm.UnixDomainSocketChannel,com.microsoft.azure.sdk.iot.device.IotHubClientProtocol,com.microsoft.azure.sdk.iot.device.ClientOptions)"},{"p":"com.microsoft.azure.sdk.iot.device.twin","c":"Twin","l":"createFromPropertiesJson(String)","u":"createFromPropertiesJson(java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device.twin","c":"Twin","l":"createFromReportedPropertyJson(String)","u":"createFromReportedPropertyJson(java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device.twin","c":"Twin","l":"createFromTwinJson(String)","u":"createFromTwinJson(java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"HttpProxySocketFactory","l":"createSocket()"},{"p":"com.microsoft.azure.sdk.iot.device.twin","c":"ParserUtility","l":"dateTimeUtcToString(Date)","u":"dateTimeUtcToString(java.util.Date)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"ClientConfiguration","l":"DEFAULT_AMQP_OPEN_AUTHENTICATION_SESSION_TIMEOUT_IN_SECONDS"},{"p":"com.microsoft.azure.sdk.iot.device","c":"ClientConfiguration","l":"DEFAULT_AMQP_OPEN_DEVICE_SESSIONS_TIMEOUT_IN_SECONDS"},{"p":"com.microsoft.azure.sdk.iot.device","c":"Message","l":"DEFAULT_IOTHUB_MESSAGE_CHARSET"},{"p":"com.microsoft.azure.sdk.iot.device","c":"ClientConfiguration","l":"DEFAULT_KEEP_ALIVE_INTERVAL_IN_SECONDS"},{"p":"com.microsoft.azure.sdk.iot.device","c":"ClientConfiguration","l":"DEFAULT_MQTT_MAX_IN_FLIGHT_MESSAGES"},{"p":"com.microsoft.azure.sdk.iot.device","c":"ClientConfiguration","l":"DEFAULT_SEND_INTERVAL_IN_MILLISECONDS"},{"p":"com.microsoft.azure.sdk.iot.device","c":"ClientConfiguration","l":"DEFAULT_SEND_INTERVAL_IN_SECONDS"},{"p":"com.microsoft.azure.sdk.iot.device","c":"InternalClient","l":"DEFAULT_TIMEOUT_MILLISECONDS"},{"p":"com.microsoft.azure.sdk.iot.device","c":"PayloadCompression","l":"DEFLATE"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https","c":"HttpsMethod","l":"DELETE"},{"p":"com.microsoft.azure.sdk.iot.device.transport.mqtt","c":"Mqtt","l":"deliveryComplete(IMqttDeliveryToken)","u":"deliveryComplete(org.eclipse.paho.client.mqttv3.IMqttDeliveryToken)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"MessageType","l":"DEVICE_METHODS"},{"p":"com.microsoft.azure.sdk.iot.device.twin","c":"DeviceOperations","l":"DEVICE_OPERATION_METHOD_RECEIVE_REQUEST"},{"p":"com.microsoft.azure.sdk.iot.device.twin","c":"DeviceOperations","l":"DEVICE_OPERATION_METHOD_SEND_RESPONSE"},{"p":"com.microsoft.azure.sdk.iot.device.twin","c":"DeviceOperations","l":"DEVICE_OPERATION_METHOD_SUBSCRIBE_REQUEST"},{"p":"com.microsoft.azure.sdk.iot.device.twin","c":"DeviceOperations","l":"DEVICE_OPERATION_METHOD_SUBSCRIBE_RESPONSE"},{"p":"com.microsoft.azure.sdk.iot.device","c":"IotHubStatusCode","l":"DEVICE_OPERATION_TIMED_OUT"},{"p":"com.microsoft.azure.sdk.iot.device.twin","c":"DeviceOperations","l":"DEVICE_OPERATION_TWIN_GET_REQUEST"},{"p":"com.microsoft.azure.sdk.iot.device.twin","c":"DeviceOperations","l":"DEVICE_OPERATION_TWIN_GET_RESPONSE"},{"p":"com.microsoft.azure.sdk.iot.device.twin","c":"DeviceOperations","l":"DEVICE_OPERATION_TWIN_SUBSCRIBE_DESIRED_PROPERTIES_REQUEST"},{"p":"com.microsoft.azure.sdk.iot.device.twin","c":"DeviceOperations","l":"DEVICE_OPERATION_TWIN_SUBSCRIBE_DESIRED_PROPERTIES_RESPONSE"},{"p":"com.microsoft.azure.sdk.iot.device.twin","c":"DeviceOperations","l":"DEVICE_OPERATION_TWIN_UNSUBSCRIBE_DESIRED_PROPERTIES_REQUEST"},{"p":"com.microsoft.azure.sdk.iot.device.twin","c":"DeviceOperations","l":"DEVICE_OPERATION_TWIN_UNSUBSCRIBE_DESIRED_PROPERTIES_RESPONSE"},{"p":"com.microsoft.azure.sdk.iot.device.twin","c":"DeviceOperations","l":"DEVICE_OPERATION_TWIN_UPDATE_REPORTED_PROPERTIES_REQUEST"},{"p":"com.microsoft.azure.sdk.iot.device.twin","c":"DeviceOperations","l":"DEVICE_OPERATION_TWIN_UPDATE_REPORTED_PROPERTIES_RESPONSE"},{"p":"com.microsoft.azure.sdk.iot.device.twin","c":"DeviceOperations","l":"DEVICE_OPERATION_UNKNOWN"},{"p":"com.microsoft.azure.sdk.iot.device","c":"MessageType","l":"DEVICE_TELEMETRY"},{"p":"com.microsoft.azure.sdk.iot.device","c":"MessageType","l":"DEVICE_TWIN"},{"p":"com.microsoft.azure.sdk.iot.device","c":"DeviceClient","l":"DeviceClient(String, IotHubClientProtocol)","u":"%3Cinit%3E(java.lang.String,com.microsoft.azure.sdk.iot.device.IotHubClientProtocol)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"DeviceClient","l":"DeviceClient(String, IotHubClientProtocol, ClientOptions)","u":"%3Cinit%3E(java.lang.String,com.microsoft.azure.sdk.iot.device.IotHubClientProtocol,com.microsoft.azure.sdk.iot.device.ClientOptions)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"DeviceClient","l":"DeviceClient(String, String, SasTokenProvider, IotHubClientProtocol)","u":"%3Cinit%3E(java.lang.String,java.lang.String,com.microsoft.azure.sdk.iot.device.SasTokenProvider,com.microsoft.azure.sdk.iot.device.IotHubClientProtocol)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"DeviceClient","l":"DeviceClient(String, String, SasTokenProvider, IotHubClientProtocol, ClientOptions)","u":"%3Cinit%3E(java.lang.String,java.lang.String,com.microsoft.azure.sdk.iot.device.SasTokenProvider,com.microsoft.azure.sdk.iot.device.IotHubClientProtocol,com.microsoft.azure.sdk.iot.device.ClientOptions)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"DeviceClient","l":"DeviceClient(String, String, SecurityProvider, IotHubClientProtocol)","u":"%3Cinit%3E(java.lang.String,java.lang.String,com.microsoft.azure.sdk.iot.provisioning.security.SecurityProvider,com.microsoft.azure.sdk.iot.device.IotHubClientProtocol)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"DeviceClient","l":"DeviceClient(String, String, SecurityProvider, IotHubClientProtocol, ClientOptions)","u":"%3Cinit%3E(java.lang.String,java.lang.String,com.microsoft.azure.sdk.iot.provisioning.security.SecurityProvider,com.microsoft.azure.sdk.iot.device.IotHubClientProtocol,com.microsoft.azure.sdk.iot.device.ClientOptions)"},{"p":"com.microsoft.azure.sdk.iot.device.auth","c":"IotHubAuthenticationProvider","l":"deviceId"},{"p":"com.microsoft.azure.sdk.iot.device.twin","c":"DeviceTwin","l":"DeviceTwin(InternalClient)","u":"%3Cinit%3E(com.microsoft.azure.sdk.iot.device.InternalClient)"},{"p":"com.microsoft.azure.sdk.iot.device.twin","c":"DeviceTwin","l":"DeviceTwin(InternalClient, TwinCache)","u":"%3Cinit%3E(com.microsoft.azure.sdk.iot.device.InternalClient,com.microsoft.azure.sdk.iot.device.twin.TwinCache)"},{"p":"com.microsoft.azure.sdk.iot.device.twin","c":"ReportedPropertiesDiffEngine","l":"diff(TwinCollection)","u":"diff(com.microsoft.azure.sdk.iot.device.twin.TwinCollection)"},{"p":"com.microsoft.azure.sdk.iot.device.twin","c":"ReportedPropertiesDiffEngine","l":"diff(TwinCollection, TwinCollection)","u":"diff(com.microsoft.azure.sdk.iot.device.twin.TwinCollection,com.microsoft.azure.sdk.iot.device.twin.TwinCollection)"},{"p":"com.microsoft.azure.sdk.iot.device.twin","c":"DirectMethod","l":"DirectMethod(InternalClient, SubscriptionAcknowledgedCallback, Object)","u":"%3Cinit%3E(com.microsoft.azure.sdk.iot.device.InternalClient,com.microsoft.azure.sdk.iot.device.twin.SubscriptionAcknowledgedCallback,java.lang.Object)"},{"p":"com.microsoft.azure.sdk.iot.device.twin","c":"DirectMethodPayload","l":"DirectMethodPayload()","u":"%3Cinit%3E()"},{"p":"com.microsoft.azure.sdk.iot.device.edge","c":"DirectMethodRequest","l":"DirectMethodRequest(String, Object)","u":"%3Cinit%3E(java.lang.String,java.lang.Object)"},{"p":"com.microsoft.azure.sdk.iot.device.edge","c":"DirectMethodRequest","l":"DirectMethodRequest(String, Object, Integer, Integer)","u":"%3Cinit%3E(java.lang.String,java.lang.Object,java.lang.Integer,java.lang.Integer)"},{"p":"com.microsoft.azure.sdk.iot.device.twin","c":"DirectMethodResponse","l":"DirectMethodResponse(int, Object)","u":"%3Cinit%3E(int,java.lang.Object)"},{"p":"com.microsoft.azure.sdk.iot.device.edge","c":"DirectMethodResponse","l":"DirectMethodResponse(String)","u":"%3Cinit%3E(java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"IotHubConnectionStatus","l":"DISCONNECTED"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"IotHubConnectionStatus","l":"DISCONNECTED_RETRYING"},{"p":"com.microsoft.azure.sdk.iot.device","c":"OutboundQueueOverflowPolicy","l":"DROP_LOWEST_PRIORITY"},{"p":"com.microsoft.azure.sdk.iot.device","c":"OutboundQueueOverflowPolicy","l":"DROP_OLDEST"},{"p":"com.microsoft.azure.sdk.iot.device","c":"IotHubStatusCode","l":"ERROR"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"AmqpConnectionForcedException","l":"errorCode"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"AmqpConnectionFramingErrorException","l":"errorCode"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"AmqpConnectionRedirectException","l":"errorCode"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"AmqpConnectionThrottledException","l":"errorCode"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"AmqpDecodeErrorException","l":"errorCode"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"AmqpFrameSizeTooSmallException","l":"errorCode"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"AmqpIllegalStateException","l":"errorCode"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"AmqpInternalErrorException","l":"errorCode"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"AmqpInvalidFieldException","l":"errorCode"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"AmqpLinkCreationConflict","l":"errorCode"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"AmqpLinkDetachForcedException","l":"errorCode"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"AmqpLinkMessageSizeExceededException","l":"errorCode"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"AmqpLinkRedirectException","l":"errorCode"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"AmqpLinkStolenException","l":"errorCode"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"AmqpLinkTransferLimitExceededException","l":"errorCode"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"AmqpNotAllowedException","l":"errorCode"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"AmqpNotFoundException","l":"errorCode"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"AmqpNotImplementedException","l":"errorCode"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"AmqpPreconditionFailedException","l":"errorCode"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"AmqpResourceDeletedException","l":"errorCode"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"AmqpResourceLimitExceededException","l":"errorCode"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"AmqpResourceLockedException","l":"errorCode"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"AmqpSessionErrantLinkException","l":"errorCode"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"AmqpSessionHandleInUseException","l":"errorCode"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"AmqpSessionUnattachedHandleException","l":"errorCode"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"AmqpSessionWindowViolationException","l":"errorCode"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"AmqpUnauthorizedAccessException","l":"errorCode"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"ProtonIOException","l":"errorCode"},{"p":"com.microsoft.azure.sdk.iot.device.hsm.parser","c":"ErrorResponse","l":"ErrorResponse()","u":"%3Cinit%3E()"},{"p":"com.microsoft.azure.sdk.iot.device","c":"IotHubConnectionStatusChangeReason","l":"EXPIRED_SAS_TOKEN"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"ExponentialBackoffWithJitter","l":"ExponentialBackoffWithJitter()","u":"%3Cinit%3E()"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"ExponentialBackoffWithJitter","l":"ExponentialBackoffWithJitter(int, long, long, long, boolean)","u":"%3Cinit%3E(int,long,long,long,boolean)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"FileUploadCompletionNotification","l":"FileUploadCompletionNotification()","u":"%3Cinit%3E()"},{"p":"com.microsoft.azure.sdk.iot.device","c":"FileUploadCompletionNotification","l":"FileUploadCompletionNotification(String, Boolean)","u":"%3Cinit%3E(java.lang.String,java.lang.Boolean)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"FileUploadCompletionNotification","l":"FileUploadCompletionNotification(String, Boolean, Integer, String)","u":"%3Cinit%3E(java.lang.String,java.lang.Boolean,java.lang.Integer,java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"FileUploadSasUriRequest","l":"FileUploadSasUriRequest(String)","u":"%3Cinit%3E(java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"FileUploadSasUriResponse","l":"FileUploadSasUriResponse(String)","u":"%3Cinit%3E(java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device.hsm.parser","c":"ErrorResponse","l":"fromJson(String)","u":"fromJson(java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device.hsm.parser","c":"SignResponse","l":"fromJson(String)","u":"fromJson(java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device.hsm.parser","c":"TrustBundleResponse","l":"fromJson(String)","u":"fromJson(java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device.twin","c":"MethodParser","l":"fromJson(String)","u":"fromJson(java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device.auth","c":"IotHubAuthenticationProvider","l":"gatewayHostname"},{"p":"com.microsoft.azure.sdk.iot.device","c":"MessageIdGenerator","l":"generateId()"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https","c":"HttpsMethod","l":"GET"},{"p":"com.microsoft.azure.sdk.iot.device.twin","c":"ReportedPropertiesDiffEngine","l":"getAcknowledgedVersion()"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https","c":"IotHubUri","l":"getApiVersionString()"},{"p":"com.microsoft.azure.sdk.iot.device","c":"ClientConfiguration","l":"getAuthenticationProvider()"},{"p":"com.microsoft.azure.sdk.iot.device","c":"ClientConfiguration","l":"getAuthenticationType()"},{"p":"com.microsoft.azure.sdk.iot.device","c":"FileUploadSasUriResponse","l":"getBlobUri()"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https","c":"HttpsMessage","l":"getBody()"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https","c":"HttpsRequest","l":"getBody()"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https","c":"HttpsResponse","l":"getBody()"},{"p":"com.microsoft.azure.sdk.iot.device","c":"Message","l":"getBodyLength()"},{"p":"com.microsoft.azure.sdk.iot.device","c":"Message","l":"getBodyStream()"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"ReceivedMessageBuffer","l":"getBufferedBytes()"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"ReceivedMessageBuffer","l":"getBufferedMessageCount()"},{"p":"com.microsoft.azure.sdk.iot.device","c":"InternalClient","l":"getBufferedReceivedMessageBytes()"},{"p":"com.microsoft.azure.sdk.iot.device","c":"MultiplexingClient","l":"getBufferedReceivedMessageBytes()"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"IotHubTransport","l":"getBufferedReceivedMessageBytes()"},{"p":"com.microsoft.azure.sdk.iot.device","c":"InternalClient","l":"getBufferedReceivedMessageCount()"},{"p":"com.microsoft.azure.sdk.iot.device","c":"MultiplexingClient","l":"getBufferedReceivedMessageCount()"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"IotHubTransport","l":"getBufferedReceivedMessageCount()"},{"p":"com.microsoft.azure.sdk.iot.device","c":"Message","l":"getBytes()"},{"p":"com.microsoft.azure.sdk.iot.device","c":"Message","l":"getBytesWithoutCopy()"},{"p":"com.microsoft.azure.sdk.iot.device","c":"InternalClient","l":"getCachedTwin()"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"IotHubTransportPacket","l":"getCallback()"},{"p":"com.microsoft.azure.sdk.iot.device.hsm.parser","c":"TrustBundleResponse","l":"getCertificates()"},{"p":"com.microsoft.azure.sdk.iot.device","c":"InternalClient","l":"getConfig()"},{"p":"com.microsoft.azure.sdk.iot.device","c":"Message","l":"getConnectionDeviceId()"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps","c":"AmqpsIotHubConnection","l":"getConnectionId()"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https","c":"HttpsIotHubConnection","l":"getConnectionId()"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"IotHubTransportConnection","l":"getConnectionId()"},{"p":"com.microsoft.azure.sdk.iot.device.transport.mqtt","c":"MqttIotHubConnection","l":"getConnectionId()"},{"p":"com.microsoft.azure.sdk.iot.device","c":"Message","l":"getConnectionModuleId()"},{"p":"com.microsoft.azure.sdk.iot.device","c":"IotHubStatusCode","l":"getConnectionStatusException(IotHubStatusCode, String)","u":"getConnectionStatusException(com.microsoft.azure.sdk.iot.device.IotHubStatusCode,java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"Message","l":"getContentEncoding()"},{"p":"com.microsoft.azure.sdk.iot.device","c":"PayloadCompression","l":"getContentEncoding()"},{"p":"com.microsoft.azure.sdk.iot.device","c":"Message","l":"getContentType()"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https","c":"HttpsMessage","l":"getContentType()"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"IotHubTransportPacket","l":"getContext()"},{"p":"com.microsoft.azure.sdk.iot.device","c":"Message","l":"getCorrelatingMessageCallback()"},{"p":"com.microsoft.azure.sdk.iot.device","c":"Message","l":"getCorrelatingMessageCallbackContext()"},{"p":"com.microsoft.azure.sdk.iot.device","c":"FileUploadCompletionNotification","l":"getCorrelationId()"},{"p":"com.microsoft.azure.sdk.iot.device","c":"Message","l":"getCorrelationId()"},{"p":"com.microsoft.azure.sdk.iot.device","c":"Message","l":"getCreationTimeUTC()"},{"p":"com.microsoft.azure.sdk.iot.device","c":"Message","l":"getCreationTimeUTCString()"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"IotHubTransportPacket","l":"getCurrentRetryAttempt()"},{"p":"com.microsoft.azure.sdk.iot.device.hsm.parser","c":"SignRequest","l":"getData()"},{"p":"com.microsoft.azure.sdk.iot.device.twin","c":"ParserUtility","l":"getDateTimeUtc(String)","u":"getDateTimeUtc(java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"Message","l":"getDeliveryAcknowledgement()"},{"p":"com.microsoft.azure.sdk.iot.device.twin","c":"TwinProperties","l":"getDesired()"},{"p":"com.microsoft.azure.sdk.iot.device.twin","c":"Twin","l":"getDesiredProperties()"},{"p":"com.microsoft.azure.sdk.iot.device","c":"ClientConfiguration","l":"getDeviceClientUniqueIdentifier()"},{"p":"com.microsoft.azure.sdk.iot.device.auth","c":"IotHubAuthenticationProvider","l":"getDeviceId()"},{"p":"com.microsoft.azure.sdk.iot.device","c":"ClientConfiguration","l":"getDeviceId()"},{"p":"com.microsoft.azure.sdk.iot.device","c":"IotHubConnectionString","l":"getDeviceId()"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"IotHubTransportPacket","l":"getDeviceId()"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"IotHubTransportMessage","l":"getDeviceOperationType()"},{"p":"com.microsoft.azure.sdk.iot.device","c":"ClientConfiguration","l":"getDeviceTelemetryMessageCallback(String)","u":"getDeviceTelemetryMessageCallback(java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"ClientConfiguration","l":"getDeviceTelemetryMessageContext(String)","u":"getDeviceTelemetryMessageContext(java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"ClientConfiguration","l":"getDeviceTwinMessageCallback()"},{"p":"com.microsoft.azure.sdk.iot.device","c":"ClientConfiguration","l":"getDeviceTwinMessageContext()"},{"p":"com.microsoft.azure.sdk.iot.device","c":"ClientConfiguration","l":"getDirectMethodsMessageCallback()"},{"p":"com.microsoft.azure.sdk.iot.device","c":"ClientConfiguration","l":"getDirectMethodsMessageContext()"},{"p":"com.microsoft.azure.sdk.iot.device","c":"InternalClient","l":"getDroppedOutboundMessageCount()"},{"p":"com.microsoft.azure.sdk.iot.device","c":"MultiplexingClient","l":"getDroppedOutboundMessageCount()"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"IotHubTransport","l":"getDroppedOutboundMessageCount()"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"RetryDecision","l":"getDuration()"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https","c":"HttpsResponse","l":"getErrorReason()"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"IotHubTransport","l":"getExpiredCorrelationCallbackCount()"},{"p":"com.microsoft.azure.sdk.iot.device","c":"Message","l":"getExpiryTime()"},{"p":"com.microsoft.azure.sdk.iot.device","c":"DeviceClient","l":"getFileUploadSasUri(FileUploadSasUriRequest)","u":"getFileUploadSasUri(com.microsoft.azure.sdk.iot.device.FileUploadSasUriRequest)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https","c":"HttpsTransportManager","l":"getFileUploadSasUri(IotHubTransportMessage)","u":"getFileUploadSasUri(com.microsoft.azure.sdk.iot.device.transport.IotHubTransportMessage)"},{"p":"com.microsoft.azure.sdk.iot.device.auth","c":"IotHubAuthenticationProvider","l":"getGatewayHostname()"},{"p":"com.microsoft.azure.sdk.iot.device","c":"ClientConfiguration","l":"getGatewayHostname()"},{"p":"com.microsoft.azure.sdk.iot.device","c":"IotHubConnectionString","l":"getGatewayHostName()"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https","c":"HttpsIotHubConnection","l":"getHandshakeCount()"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https","c":"HttpsIotHubConnection","l":"getHandshakesAvoided()"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https","c":"HttpsResponse","l":"getHeaderField(String)","u":"getHeaderField(java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https","c":"HttpsResponse","l":"getHeaderFields()"},{"p":"com.microsoft.azure.sdk.iot.device.auth","c":"IotHubAuthenticationProvider","l":"getHostname()"},{"p":"com.microsoft.azure.sdk.iot.device","c":"ProxySettings","l":"getHostname()"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https","c":"IotHubUri","l":"getHostname()"},{"p":"com.microsoft.azure.sdk.iot.device","c":"IotHubConnectionString","l":"getHostName()"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https","c":"HttpsRequest","l":"getHttpMethod()"},{"p":"com.microsoft.azure.sdk.iot.device","c":"IotHubConnectionString","l":"getHubName()"},{"p":"com.microsoft.azure.sdk.iot.device","c":"Message","l":"getInputName()"},{"p":"com.microsoft.azure.sdk.iot.device","c":"Message","l":"getIotHubConnectionString()"},{"p":"com.microsoft.azure.sdk.iot.device","c":"ClientConfiguration","l":"getIotHubHostname()"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"IotHubTransportMessage","l":"getIotHubMethod()"},{"p":"com.microsoft.azure.sdk.iot.device","c":"ClientConfiguration","l":"getIotHubName()"},{"p":"com.microsoft.azure.sdk.iot.device","c":"IotHubStatusCode","l":"getIotHubStatusCode(int)"},{"p":"com.microsoft.azure.sdk.iot.device.twin","c":"Property","l":"getIsReported()"},{"p":"com.microsoft.azure.sdk.iot.device.twin","c":"ParserUtility","l":"getJsonObjectValue(JsonObject)","u":"getJsonObjectValue(com.google.gson.JsonObject)"},{"p":"com.microsoft.azure.sdk.iot.device.twin","c":"Pair","l":"getKey()"},{"p":"com.microsoft.azure.sdk.iot.device.twin","c":"Property","l":"getKey()"},{"p":"com.microsoft.azure.sdk.iot.device.twin","c":"Property","l":"getLastUpdated()"},{"p":"com.microsoft.azure.sdk.iot.device.twin","c":"TwinMetadata","l":"getLastUpdated()"},{"p":"com.microsoft.azure.sdk.iot.device.twin","c":"Property","l":"getLastUpdatedBy()"},{"p":"com.microsoft.azure.sdk.iot.device.twin","c":"TwinMetadata","l":"getLastUpdatedBy()"},{"p":"com.microsoft.azure.sdk.iot.device.twin","c":"Property","l":"getLastUpdatedByDigest()"},{"p":"com.microsoft.azure.sdk.iot.device.twin","c":"TwinMetadata","l":"getLastUpdatedByDigest()"},{"p":"com.microsoft.azure.sdk.iot.device.twin","c":"Property","l":"getLastUpdatedVersion()"},{"p":"com.microsoft.azure.sdk.iot.device.twin","c":"TwinMetadata","l":"getLastUpdatedVersion()"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"IotHubTransport","l":"getLiveCorrelationCallbackCount()"},{"p":"com.microsoft.azure.sdk.iot.device.hsm.parser","c":"ErrorResponse","l":"getMessage()"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"IotHubTransportPacket","l":"getMessage()"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"IotHubTransportMessage","l":"getMessageCallback()"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"IotHubTransportMessage","l":"getMessageCallbackContext()"},{"p":"com.microsoft.azure.sdk.iot.device","c":"Message","l":"getMessageId()"},{"p":"com.microsoft.azure.sdk.iot.device","c":"ClientConfiguration","l":"getMessageLockTimeoutSecs()"},{"p":"com.microsoft.azure.sdk.iot.device","c":"Message","l":"getMessageType()"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"IotHubTransportMessage","l":"getMethodName()"},{"p":"com.microsoft.azure.sdk.iot.device.auth","c":"IotHubSasTokenAuthenticationProvider","l":"getMillisecondsBeforeProactiveRenewal()"},{"p":"com.microsoft.azure.sdk.iot.device.auth","c":"IotHubSasTokenProvidedAuthenticationProvider","l":"getMillisecondsBeforeProactiveRenewal()"},{"p":"com.microsoft.azure.sdk.iot.device.auth","c":"IotHubAuthenticationProvider","l":"getModuleId()"},{"p":"com.microsoft.azure.sdk.iot.device","c":"ClientConfiguration","l":"getModuleId()"},{"p":"com.microsoft.azure.sdk.iot.device","c":"IotHubConnectionString","l":"getModuleId()"},{"p":"com.microsoft.azure.sdk.iot.device","c":"MessageProperty","l":"getName()"},{"p":"com.microsoft.azure.sdk.iot.device","c":"BatchMessage","l":"getNestedMessages()"},{"p":"com.microsoft.azure.sdk.iot.device","c":"Message","l":"getOutputName()"},{"p":"com.microsoft.azure.sdk.iot.device","c":"ProxySettings","l":"getPassword()"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https","c":"IotHubUri","l":"getPath()"},{"p":"com.microsoft.azure.sdk.iot.device.twin","c":"DirectMethodResponse","l":"getPayload()"},{"p":"com.microsoft.azure.sdk.iot.device.twin","c":"MethodParser","l":"getPayload()"},{"p":"com.microsoft.azure.sdk.iot.device.edge","c":"DirectMethodResponse","l":"getPayload(Class<T>)","u":"getPayload(java.lang.Class)"},{"p":"com.microsoft.azure.sdk.iot.device.twin","c":"DirectMethodPayload","l":"getPayload(Class<T>)","u":"getPayload(java.lang.Class)"},{"p":"com.microsoft.azure.sdk.iot.device.edge","c":"DirectMethodResponse","l":"getPayloadAsJsonElement()"},{"p":"com.microsoft.azure.sdk.iot.device.twin","c":"DirectMethodPayload","l":"getPayloadAsJsonElement()"},{"p":"com.microsoft.azure.sdk.iot.device.edge","c":"DirectMethodResponse","l":"getPayloadAsJsonString()"},{"p":"com.microsoft.azure.sdk.iot.device.twin","c":"DirectMethodPayload","l":"getPayloadAsJsonString()"},{"p":"com.microsoft.azure.sdk.iot.device.twin","c":"MethodParser","l":"getPayloadFromJson(String)","u":"getPayloadFromJson(java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"InternalClient","l":"getPendingMessageSentCallbackCount()"},{"p":"com.microsoft.azure.sdk.iot.device","c":"MultiplexingClient","l":"getPendingMessageSentCallbackCount()"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"IotHubTransport","l":"getPendingMessageSentCallbackCount()"},{"p":"com.microsoft.azure.sdk.iot.device","c":"ProxySettings","l":"getPort()"},{"p":"com.microsoft.azure.sdk.iot.device","c":"InternalClient","l":"getProductInfo()"},{"p":"com.microsoft.azure.sdk.iot.device","c":"Message","l":"getProperties()"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https","c":"HttpsMessage","l":"getProperties()"},{"p":"com.microsoft.azure.sdk.iot.device","c":"Message","l":"getProperty(String)","u":"getProperty(java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"IotHubTransport","l":"getProtocol()"},{"p":"com.microsoft.azure.sdk.iot.device","c":"ProxySettings","l":"getProxy()"},{"p":"com.microsoft.azure.sdk.iot.device","c":"InternalClient","l":"getQueuedOutboundMessageBytes()"},{"p":"com.microsoft.azure.sdk.iot.device","c":"MultiplexingClient","l":"getQueuedOutboundMessageBytes()"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"IotHubTransport","l":"getQueuedOutboundMessageBytes()"},{"p":"com.microsoft.azure.sdk.iot.device","c":"InternalClient","l":"getQueuedOutboundMessageCount()"},{"p":"com.microsoft.azure.sdk.iot.device","c":"MultiplexingClient","l":"getQueuedOutboundMessageCount()"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"IotHubTransport","l":"getQueuedOutboundMessageCount()"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"IotHubTransport","l":"getReceiveThreadSemaphore()"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"IotHubTransport","l":"getReconnectThreadSemaphore()"},{"p":"com.microsoft.azure.sdk.iot.device","c":"MultiplexingClient","l":"getRegisteredDeviceCount()"},{"p":"com.microsoft.azure.sdk.iot.device.exceptions","c":"MultiplexingClientRegistrationException","l":"getRegistrationExceptions()"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"MultiplexingDeviceUnauthorizedException","l":"getRegistrationExceptions()"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"ReceivedMessageBuffer","l":"getRemainingMessageCapacity()"},{"p":"com.microsoft.azure.sdk.iot.device.twin","c":"TwinProperties","l":"getReported()"},{"p":"com.microsoft.azure.sdk.iot.device.twin","c":"Twin","l":"getReportedProperties()"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https","c":"HttpsIotHubConnection","l":"getRequestCount()"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https","c":"HttpsRequest","l":"getRequestHeaders()"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"IotHubTransportMessage","l":"getRequestId()"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https","c":"HttpsRequest","l":"getRequestUrl()"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https","c":"IotHubUri","l":"getResourceUri(String, String, String)","u":"getResourceUri(java.lang.String,java.lang.String,java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https","c":"HttpsConnection","l":"getResponseHeaders()"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https","c":"HttpsConnection","l":"getResponseStatus()"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"ExponentialBackoffWithJitter","l":"getRetryDecision(int, TransportException)","u":"getRetryDecision(int,com.microsoft.azure.sdk.iot.device.transport.TransportException)"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"NoRetry","l":"getRetryDecision(int, TransportException)","u":"getRetryDecision(int,com.microsoft.azure.sdk.iot.device.transport.TransportException)"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"RetryPolicy","l":"getRetryDecision(int, TransportException)","u":"getRetryDecision(int,com.microsoft.azure.sdk.iot.device.transport.TransportException)"},{"p":"com.microsoft.azure.sdk.iot.device.auth","c":"IotHubSasToken","l":"getSasToken()"},{"p":"com.microsoft.azure.sdk.iot.device.auth","c":"IotHubSasTokenAuthenticationProvider","l":"getSasToken()"},{"p":"com.microsoft.azure.sdk.iot.device.auth","c":"IotHubSasTokenHardwareAuthenticationProvider","l":"getSasToken()"},{"p":"com.microsoft.azure.sdk.iot.device.auth","c":"IotHubSasTokenProvidedAuthenticationProvider","l":"getSasToken()"},{"p":"com.microsoft.azure.sdk.iot.device.auth","c":"IotHubSasTokenSoftwareAuthenticationProvider","l":"getSasToken()"},{"p":"com.microsoft.azure.sdk.iot.device.auth","c":"IotHubSasTokenWithRefreshAuthenticationProvider","l":"getSasToken()"},{"p":"com.microsoft.azure.sdk.iot.device","c":"SasTokenProvider","l":"getSasToken()"},{"p":"com.microsoft.azure.sdk.iot.device","c":"ClientConfiguration","l":"getSasTokenAuthentication()"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"IotHubTransport","l":"getSendThreadSemaphore()"},{"p":"com.microsoft.azure.sdk.iot.device","c":"IotHubConnectionString","l":"getSharedAccessKey()"},{"p":"com.microsoft.azure.sdk.iot.device","c":"IotHubConnectionString","l":"getSharedAccessToken()"},{"p":"com.microsoft.azure.sdk.iot.device","c":"ClientConfiguration","l":"getSharedTaskScheduler()"},{"p":"com.microsoft.azure.sdk.iot.device.auth","c":"IotHubAuthenticationProvider","l":"getSSLContext()"},{"p":"com.microsoft.azure.sdk.iot.device.auth","c":"IotHubSSLContext","l":"getSSLContext()"},{"p":"com.microsoft.azure.sdk.iot.device.auth","c":"IotHubX509HardwareAuthenticationProvider","l":"getSSLContext()"},{"p":"com.microsoft.azure.sdk.iot.device.auth","c":"IotHubSSLContext","l":"getSSLContextFromFile(String)","u":"getSSLContextFromFile(java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device.auth","c":"IotHubSSLContext","l":"getSSLContextFromString(String)","u":"getSSLContextFromString(java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"IotHubTransportPacket","l":"getStartTimeMillis()"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https","c":"HttpsResponse","l":"getStatus()"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"IotHubTransportMessage","l":"getStatus()"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"IotHubTransportPacket","l":"getStatus()"},{"p":"com.microsoft.azure.sdk.iot.device.twin","c":"DirectMethodResponse","l":"getStatus()"},{"p":"com.microsoft.azure.sdk.iot.device","c":"FileUploadCompletionNotification","l":"getStatusCode()"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https.exceptions","c":"BadFormatException","l":"getStatusCode()"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https.exceptions","c":"HubOrDeviceIdNotFoundException","l":"getStatusCode()"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https.exceptions","c":"InternalServerErrorException","l":"getStatusCode()"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https.exceptions","c":"PreconditionFailedException","l":"getStatusCode()"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https.exceptions","c":"QuotaExceededException","l":"getStatusCode()"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https.exceptions","c":"RequestEntityTooLargeException","l":"getStatusCode()"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https.exceptions","c":"ServerBusyException","l":"getStatusCode()"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https.exceptions","c":"ThrottledException","l":"getStatusCode()"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https.exceptions","c":"UnauthorizedException","l":"getStatusCode()"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"IotHubServiceException","l":"getStatusCode()"},{"p":"com.microsoft.azure.sdk.iot.device","c":"FileUploadCompletionNotification","l":"getStatusDescription()"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https","c":"HttpsMessage","l":"getSystemProperties()"},{"p":"com.microsoft.azure.sdk.iot.device","c":"ClientRuntime","l":"getThreadCount()"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"VirtualThreads","l":"getThreadFactory()"},{"p":"com.microsoft.azure.sdk.iot.device","c":"Message","l":"getTo()"},{"p":"com.microsoft.azure.sdk.iot.device.auth","c":"IotHubSasTokenAuthenticationProvider","l":"getTokenValidSecs()"},{"p":"com.microsoft.azure.sdk.iot.device.hsm","c":"HttpsHsmClient","l":"getTrustBundle(String)","u":"getTrustBundle(java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device.edge","c":"HttpsHsmTrustBundleProvider","l":"getTrustBundleCerts(String, String, UnixDomainSocketChannel)","u":"getTrustBundleCerts(java.lang.String,java.lang.String,com.microsoft.azure.sdk.iot.device.hsm.UnixDomainSocketChannel)"},{"p":"com.microsoft.azure.sdk.iot.device.edge","c":"TrustBundleProvider","l":"getTrustBundleCerts(String, String, UnixDomainSocketChannel)","u":"getTrustBundleCerts(java.lang.String,java.lang.String,com.microsoft.azure.sdk.iot.device.hsm.UnixDomainSocketChannel)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"InternalClient","l":"getTwin()"},{"p":"com.microsoft.azure.sdk.iot.device.twin","c":"TwinCache","l":"getTwin()"},{"p":"com.microsoft.azure.sdk.iot.device","c":"InternalClient","l":"getTwin(int)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"InternalClient","l":"getTwinAsync(GetTwinCallback, Object)","u":"getTwinAsync(com.microsoft.azure.sdk.iot.device.twin.GetTwinCallback,java.lang.Object)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"InternalClient","l":"getTwinAsync(GetTwinCorrelatingMessageCallback, Object)","u":"getTwinAsync(com.microsoft.azure.sdk.iot.device.twin.GetTwinCorrelatingMessageCallback,java.lang.Object)"},{"p":"com.microsoft.azure.sdk.iot.device.twin","c":"DeviceTwin","l":"getTwinAsync(GetTwinCorrelatingMessageCallback, Object)","u":"getTwinAsync(com.microsoft.azure.sdk.iot.device.twin.GetTwinCorrelatingMessageCallback,java.lang.Object)"},{"p":"com.microsoft.azure.sdk.iot.device.twin","c":"TwinCollection","l":"getTwinMetadata()"},{"p":"com.microsoft.azure.sdk.iot.device.twin","c":"TwinCollection","l":"getTwinMetadata(String)","u":"getTwinMetadata(java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"IotHubTransportMessage","l":"getUriPath()"},{"p":"com.microsoft.azure.sdk.iot.device","c":"ProductInfo","l":"getUserAgentString()"},{"p":"com.microsoft.azure.sdk.iot.device","c":"Message","l":"getUserId()"},{"p":"com.microsoft.azure.sdk.iot.device","c":"ProxySettings","l":"getUsername()"},{"p":"com.microsoft.azure.sdk.iot.device.twin","c":"ParserUtility","l":"getUTCDateStringFromDate(Date)","u":"getUTCDateStringFromDate(java.util.Date)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"MessageProperty","l":"getValue()"},{"p":"com.microsoft.azure.sdk.iot.device.twin","c":"Pair","l":"getValue()"},{"p":"com.microsoft.azure.sdk.iot.device.twin","c":"Property","l":"getValue()"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"IotHubTransportMessage","l":"getVersion()"},{"p":"com.microsoft.azure.sdk.iot.device.twin","c":"Property","l":"getVersion()"},{"p":"com.microsoft.azure.sdk.iot.device.twin","c":"TwinCollection","l":"getVersion()"},{"p":"com.microsoft.azure.sdk.iot.device","c":"PayloadCompression","l":"GZIP"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"IotHubTransport","l":"handleMessage()"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"IotHubTransport","l":"hasCallbacksToExecute()"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"IotHubTransport","l":"hasMessagesToSend()"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"IotHubTransport","l":"hasReceivedMessagesToHandle()"},{"p":"com.microsoft.azure.sdk.iot.device","c":"MessageProperty","l":"hasSameName(String)","u":"hasSameName(java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device.auth","c":"IotHubAuthenticationProvider","l":"hostname"},{"p":"com.microsoft.azure.sdk.iot.device.hsm","c":"HttpHsmSignatureProvider","l":"HttpHsmSignatureProvider(String, String, UnixDomainSocketChannel)","u":"%3Cinit%3E(java.lang.String,java.lang.String,com.microsoft.azure.sdk.iot.device.hsm.UnixDomainSocketChannel)"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"HttpProxySocketFactory","l":"HttpProxySocketFactory()","u":"%3Cinit%3E()"},{"p":"com.microsoft.azure.sdk.iot.device","c":"IotHubClientProtocol","l":"HTTPS"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https","c":"HttpsMessage","l":"HTTPS_APP_PROPERTY_PREFIX"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https","c":"HttpsMessage","l":"HTTPS_SYSTEM_PROPERTY_PREFIX"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https","c":"HttpsConnection","l":"HttpsConnection()","u":"%3Cinit%3E()"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https","c":"HttpsConnection","l":"HttpsConnection(URL, HttpsMethod)","u":"%3Cinit%3E(java.net.URL,com.microsoft.azure.sdk.iot.device.transport.https.HttpsMethod)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https","c":"HttpsConnection","l":"HttpsConnection(URL, HttpsMethod, ProxySettings)","u":"%3Cinit%3E(java.net.URL,com.microsoft.azure.sdk.iot.device.transport.https.HttpsMethod,com.microsoft.azure.sdk.iot.device.ProxySettings)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https","c":"HttpsConnection","l":"HttpsConnection(URL, HttpsMethod, ProxySettings, boolean)","u":"%3Cinit%3E(java.net.URL,com.microsoft.azure.sdk.iot.device.transport.https.HttpsMethod,com.microsoft.azure.sdk.iot.device.ProxySettings,boolean)"},{"p":"com.microsoft.azure.sdk.iot.device.hsm","c":"HttpsHsmClient","l":"HttpsHsmClient(String, UnixDomainSocketChannel)","u":"%3Cinit%3E(java.lang.String,com.microsoft.azure.sdk.iot.device.hsm.UnixDomainSocketChannel)"},{"p":"com.microsoft.azure.sdk.iot.device.edge","c":"HttpsHsmTrustBundleProvider","l":"HttpsHsmTrustBundleProvider()","u":"%3Cinit%3E()"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https","c":"HttpsIotHubConnection","l":"HttpsIotHubConnection(ClientConfiguration)","u":"%3Cinit%3E(com.microsoft.azure.sdk.iot.device.ClientConfiguration)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https","c":"HttpsRequest","l":"HttpsRequest()","u":"%3Cinit%3E()"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https","c":"HttpsRequest","l":"HttpsRequest(URL, HttpsMethod, byte[], String)","u":"%3Cinit%3E(java.net.URL,com.microsoft.azure.sdk.iot.device.transport.https.HttpsMethod,byte[],java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https","c":"HttpsRequest","l":"HttpsRequest(URL, HttpsMethod, byte[], String, ProxySettings)","u":"%3Cinit%3E(java.net.URL,com.microsoft.azure.sdk.iot.device.transport.https.HttpsMethod,byte[],java.lang.String,com.microsoft.azure.sdk.iot.device.ProxySettings)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https","c":"HttpsResponse","l":"HttpsResponse()","u":"%3Cinit%3E()"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https","c":"HttpsResponse","l":"HttpsResponse(int, byte[], Map<String, List<String>>, byte[])","u":"%3Cinit%3E(int,byte[],java.util.Map,byte[])"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https","c":"HttpsTransportManager","l":"HttpsTransportManager(ClientConfiguration)","u":"%3Cinit%3E(com.microsoft.azure.sdk.iot.device.ClientConfiguration)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https.exceptions","c":"HubOrDeviceIdNotFoundException","l":"HubOrDeviceIdNotFoundException()","u":"%3Cinit%3E()"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https.exceptions","c":"HubOrDeviceIdNotFoundException","l":"HubOrDeviceIdNotFoundException(String)","u":"%3Cinit%3E(java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https.exceptions","c":"HubOrDeviceIdNotFoundException","l":"HubOrDeviceIdNotFoundException(String, Throwable)","u":"%3Cinit%3E(java.lang.String,java.lang.Throwable)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https.exceptions","c":"HubOrDeviceIdNotFoundException","l":"HubOrDeviceIdNotFoundException(Throwable)","u":"%3Cinit%3E(java.lang.Throwable)"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"MultiplexedDeviceState","l":"incrementReconnectionAttemptNumber()"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"IotHubTransportPacket","l":"incrementRetryAttempt()"},{"p":"com.microsoft.azure.sdk.iot.device","c":"IotHubStatusCode","l":"INTERNAL_SERVER_ERROR"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https.exceptions","c":"InternalServerErrorException","l":"InternalServerErrorException()","u":"%3Cinit%3E()"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https.exceptions","c":"InternalServerErrorException","l":"InternalServerErrorException(String)","u":"%3Cinit%3E(java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https.exceptions","c":"InternalServerErrorException","l":"InternalServerErrorException(String, Throwable)","u":"%3Cinit%3E(java.lang.String,java.lang.Throwable)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https.exceptions","c":"InternalServerErrorException","l":"InternalServerErrorException(Throwable)","u":"%3Cinit%3E(java.lang.Throwable)"},{"p":"com.microsoft.azure.sdk.iot.device.twin","c":"MethodParser.Operation","l":"invoke"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"IotHubTransport","l":"invokeCallbacks()"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https","c":"HttpsTransportManager","l":"invokeMethod(DirectMethodRequest, String, String)","u":"invokeMethod(com.microsoft.azure.sdk.iot.device.edge.DirectMethodRequest,java.lang.String,java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"ModuleClient","l":"invokeMethod(String, DirectMethodRequest)","u":"invokeMethod(java.lang.String,com.microsoft.azure.sdk.iot.device.edge.DirectMethodRequest)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"ModuleClient","l":"invokeMethod(String, String, DirectMethodRequest)","u":"invokeMethod(java.lang.String,java.lang.String,com.microsoft.azure.sdk.iot.device.edge.DirectMethodRequest)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"IotHubStatusCode","l":"IO_ERROR"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"TransportUtils","l":"IOTHUB_API_VERSION"},{"p":"com.microsoft.azure.sdk.iot.device","c":"MessageProperty","l":"IOTHUB_CONTENT_ENCODING"},{"p":"com.microsoft.azure.sdk.iot.device","c":"MessageProperty","l":"IOTHUB_CONTENT_TYPE"},{"p":"com.microsoft.azure.sdk.iot.device","c":"MessageProperty","l":"IOTHUB_CREATION_TIME_UTC"},{"p":"com.microsoft.azure.sdk.iot.device","c":"MessageProperty","l":"IOTHUB_SECURITY_INTERFACE_ID"},{"p":"com.microsoft.azure.sdk.iot.device","c":"MessageProperty","l":"IOTHUB_SECURITY_INTERFACE_ID_VALUE"},{"p":"com.microsoft.azure.sdk.iot.device.auth","c":"IotHubAuthenticationProvider","l":"IotHubAuthenticationProvider(String, String, String, String)","u":"%3Cinit%3E(java.lang.String,java.lang.String,java.lang.String,java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device.auth","c":"IotHubAuthenticationProvider","l":"IotHubAuthenticationProvider(String, String, String, String, SSLContext)","u":"%3Cinit%3E(java.lang.String,java.lang.String,java.lang.String,java.lang.String,javax.net.ssl.SSLContext)"},{"p":"com.microsoft.azure.sdk.iot.device.exceptions","c":"IotHubClientException","l":"IotHubClientException(IotHubStatusCode)","u":"%3Cinit%3E(com.microsoft.azure.sdk.iot.device.IotHubStatusCode)"},{"p":"com.microsoft.azure.sdk.iot.device.exceptions","c":"IotHubClientException","l":"IotHubClientException(IotHubStatusCode, Exception)","u":"%3Cinit%3E(com.microsoft.azure.sdk.iot.device.IotHubStatusCode,java.lang.Exception)"},{"p":"com.microsoft.azure.sdk.iot.device.exceptions","c":"IotHubClientException","l":"IotHubClientException(IotHubStatusCode, String)","u":"%3Cinit%3E(com.microsoft.azure.sdk.iot.device.IotHubStatusCode,java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device.exceptions","c":"IotHubClientException","l":"IotHubClientException(IotHubStatusCode, String, Exception)","u":"%3Cinit%3E(com.microsoft.azure.sdk.iot.device.IotHubStatusCode,java.lang.String,java.lang.Exception)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"IotHubConnectionString","l":"IotHubConnectionString(String)","u":"%3Cinit%3E(java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"IotHubConnectionString","l":"IotHubConnectionString(String, String, String, String)","u":"%3Cinit%3E(java.lang.String,java.lang.String,java.lang.String,java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"IotHubReceiveTask","l":"IotHubReceiveTask(IotHubTransport, boolean, String, String)","u":"%3Cinit%3E(com.microsoft.azure.sdk.iot.device.transport.IotHubTransport,boolean,java.lang.String,java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"IotHubReconnectTask","l":"IotHubReconnectTask(IotHubTransport, boolean, String, String)","u":"%3Cinit%3E(com.microsoft.azure.sdk.iot.device.transport.IotHubTransport,boolean,java.lang.String,java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device.auth","c":"IotHubSasToken","l":"IotHubSasToken()","u":"%3Cinit%3E()"},{"p":"com.microsoft.azure.sdk.iot.device.auth","c":"IotHubSasToken","l":"IotHubSasToken(String, String, String, String, String, long)","u":"%3Cinit%3E(java.lang.String,java.lang.String,java.lang.String,java.lang.String,java.lang.String,long)"},{"p":"com.microsoft.azure.sdk.iot.device.auth","c":"IotHubSasTokenAuthenticationProvider","l":"IotHubSasTokenAuthenticationProvider(String, String, String, String)","u":"%3Cinit%3E(java.lang.String,java.lang.String,java.lang.String,java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device.auth","c":"IotHubSasTokenAuthenticationProvider","l":"IotHubSasTokenAuthenticationProvider(String, String, String, String, long, int)","u":"%3Cinit%3E(java.lang.String,java.lang.String,java.lang.String,java.lang.String,long,int)"},{"p":"com.microsoft.azure.sdk.iot.device.auth","c":"IotHubSasTokenHardwareAuthenticationProvider","l":"IotHubSasTokenHardwareAuthenticationProvider(String, String, String, String, SecurityProvider)","u":"%3Cinit%3E(java.lang.String,java.lang.String,java.lang.String,java.lang.String,com.microsoft.azure.sdk.iot.provisioning.security.SecurityProvider)"},{"p":"com.microsoft.azure.sdk.iot.device.auth","c":"IotHubSasTokenProvidedAuthenticationProvider","l":"IotHubSasTokenProvidedAuthenticationProvider(String, String, String, SasTokenProvider, SSLContext)","u":"%3Cinit%3E(java.lang.String,java.lang.String,java.lang.String,com.microsoft.azure.sdk.iot.device.SasTokenProvider,javax.net.ssl.SSLContext)"},{"p":"com.microsoft.azure.sdk.iot.device.auth","c":"IotHubSasTokenSoftwareAuthenticationProvider","l":"IotHubSasTokenSoftwareAuthenticationProvider(String, String, String, String, String, String)","u":"%3Cinit%3E(java.lang.String,java.lang.String,java.lang.String,java.lang.String,java.lang.String,java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device.auth","c":"IotHubSasTokenSoftwareAuthenticationProvider","l":"IotHubSasTokenSoftwareAuthenticationProvider(String, String, String, String, String, String, int, int)","u":"%3Cinit%3E(java.lang.String,java.lang.String,java.lang.String,java.lang.String,java.lang.String,java.lang.String,int,int)"},{"p":"com.microsoft.azure.sdk.iot.device.auth","c":"IotHubSasTokenSoftwareAuthenticationProvider","l":"IotHubSasTokenSoftwareAuthenticationProvider(String, String, String, String, String, String, SSLContext)","u":"%3Cinit%3E(java.lang.String,java.lang.String,java.lang.String,java.lang.String,java.lang.String,java.lang.String,javax.net.ssl.SSLContext)"},{"p":"com.microsoft.azure.sdk.iot.device.auth","c":"IotHubSasTokenWithRefreshAuthenticationProvider","l":"IotHubSasTokenWithRefreshAuthenticationProvider(String, String, String, String, String, int, int)","u":"%3Cinit%3E(java.lang.String,java.lang.String,java.lang.String,java.lang.String,java.lang.String,int,int)"},{"p":"com.microsoft.azure.sdk.iot.device.auth","c":"IotHubSasTokenWithRefreshAuthenticationProvider","l":"IotHubSasTokenWithRefreshAuthenticationProvider(String, String, String, String, String, int, int, SSLContext)","u":"%3Cinit%3E(java.lang.String,java.lang.String,java.lang.String,java.lang.String,java.lang.String,int,int,javax.net.ssl.SSLContext)"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"IotHubSendTask","l":"IotHubSendTask(IotHubTransport, boolean, String, String)","u":"%3Cinit%3E(com.microsoft.azure.sdk.iot.device.transport.IotHubTransport,boolean,java.lang.String,java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"IotHubServiceException","l":"IotHubServiceException()","u":"%3Cinit%3E()"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"IotHubServiceException","l":"IotHubServiceException(String)","u":"%3Cinit%3E(java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"IotHubServiceException","l":"IotHubServiceException(String, Throwable)","u":"%3Cinit%3E(java.lang.String,java.lang.Throwable)"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"IotHubServiceException","l":"IotHubServiceException(Throwable)","u":"%3Cinit%3E(java.lang.Throwable)"},{"p":"com.microsoft.azure.sdk.iot.device.auth","c":"IotHubSSLContext","l":"IotHubSSLContext()","u":"%3Cinit%3E()"},{"p":"com.microsoft.azure.sdk.iot.device.auth","c":"IotHubSSLContext","l":"IotHubSSLContext(SSLContext)","u":"%3Cinit%3E(javax.net.ssl.SSLContext)"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"IotHubTransport","l":"IotHubTransport(ClientConfiguration, IotHubConnectionStatusChangeCallback, boolean)","u":"%3Cinit%3E(com.microsoft.azure.sdk.iot.device.ClientConfiguration,com.microsoft.azure.sdk.iot.device.IotHubConnectionStatusChangeCallback,boolean)"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"IotHubTransport","l":"IotHubTransport(String, IotHubClientProtocol, SSLContext, ProxySettings, IotHubConnectionStatusChangeCallback, int, int, boolean, boolean, String, String, long)","u":"%3Cinit%3E(java.lang.String,com.microsoft.azure.sdk.iot.device.IotHubClientProtocol,javax.net.ssl.SSLContext,com.microsoft.azure.sdk.iot.device.ProxySettings,com.microsoft.azure.sdk.iot.device.IotHubConnectionStatusChangeCallback,int,int,boolean,boolean,java.lang.String,java.lang.String,long)"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"IotHubTransportMessage","l":"IotHubTransportMessage(byte[], MessageType)","u":"%3Cinit%3E(byte[],com.microsoft.azure.sdk.iot.device.MessageType)"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"IotHubTransportMessage","l":"IotHubTransportMessage(byte[], MessageType, String, String, MessageProperty[])","u":"%3Cinit%3E(byte[],com.microsoft.azure.sdk.iot.device.MessageType,java.lang.String,java.lang.String,com.microsoft.azure.sdk.iot.device.MessageProperty[])"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"IotHubTransportMessage","l":"IotHubTransportMessage(String)","u":"%3Cinit%3E(java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"IotHubTransportPacket","l":"IotHubTransportPacket(Message, MessageSentCallback, Object, IotHubStatusCode, long, String)","u":"%3Cinit%3E(com.microsoft.azure.sdk.iot.device.Message,com.microsoft.azure.sdk.iot.device.MessageSentCallback,java.lang.Object,com.microsoft.azure.sdk.iot.device.IotHubStatusCode,long,java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https","c":"IotHubUri","l":"IotHubUri()","u":"%3Cinit%3E()"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https","c":"IotHubUri","l":"IotHubUri(String, String, String, Map<String, String>, String)","u":"%3Cinit%3E(java.lang.String,java.lang.String,java.lang.String,java.util.Map,java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https","c":"IotHubUri","l":"IotHubUri(String, String, String, String)","u":"%3Cinit%3E(java.lang.String,java.lang.String,java.lang.String,java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device.auth","c":"IotHubX509HardwareAuthenticationProvider","l":"IotHubX509HardwareAuthenticationProvider(String, String, String, String, SecurityProvider)","u":"%3Cinit%3E(java.lang.String,java.lang.String,java.lang.String,java.lang.String,com.microsoft.azure.sdk.iot.provisioning.security.SecurityProvider)"},{"p":"com.microsoft.azure.sdk.iot.device.auth","c":"IotHubX509SoftwareAuthenticationProvider","l":"IotHubX509SoftwareAuthenticationProvider(String, String, String, String, SSLContext)","u":"%3Cinit%3E(java.lang.String,java.lang.String,java.lang.String,java.lang.String,javax.net.ssl.SSLContext)"},{"p":"com.microsoft.azure.sdk.iot.device.auth","c":"IotHubSasTokenAuthenticationProvider","l":"isAuthenticationProviderRenewalNecessary()"},{"p":"com.microsoft.azure.sdk.iot.device.auth","c":"IotHubSasTokenHardwareAuthenticationProvider","l":"isAuthenticationProviderRenewalNecessary()"},{"p":"com.microsoft.azure.sdk.iot.device.auth","c":"IotHubSasTokenProvidedAuthenticationProvider","l":"isAuthenticationProviderRenewalNecessary()"},{"p":"com.microsoft.azure.sdk.iot.device.auth","c":"IotHubSasTokenSoftwareAuthenticationProvider","l":"isAuthenticationProviderRenewalNecessary()"},{"p":"com.microsoft.azure.sdk.iot.device.auth","c":"IotHubSasTokenWithRefreshAuthenticationProvider","l":"isAuthenticationProviderRenewalNecessary()"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"IotHubTransport","l":"isClosed()"},{"p":"com.microsoft.azure.sdk.iot.device","c":"MultiplexingClient","l":"isDeviceRegistered(String)","u":"isDeviceRegistered(java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"IotHubTransport","l":"isEmpty()"},{"p":"com.microsoft.azure.sdk.iot.device","c":"Message","l":"isExpired()"},{"p":"com.microsoft.azure.sdk.iot.device.auth","c":"IotHubSasToken","l":"isExpired(String)","u":"isExpired(java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"ReceivedMessageBuffer","l":"isFull()"},{"p":"com.microsoft.azure.sdk.iot.device","c":"ClientConfiguration","l":"isLoggingRoutineDisconnectsAsErrors()"},{"p":"com.microsoft.azure.sdk.iot.device","c":"ClientOptions","l":"isLoggingRoutineDisconnectsAsErrors()"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"IotHubTransportMessage","l":"isMessageAckNeeded(IotHubClientProtocol)","u":"isMessageAckNeeded(com.microsoft.azure.sdk.iot.device.IotHubClientProtocol)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"ClientConfiguration","l":"isMqttBlockingOnMaxInFlightMessages()"},{"p":"com.microsoft.azure.sdk.iot.device","c":"ClientOptions","l":"isMqttBlockingOnMaxInFlightMessages()"},{"p":"com.microsoft.azure.sdk.iot.device","c":"DeviceClient","l":"isMultiplexed()"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"TransportException","l":"isRetryable"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"TransportException","l":"isRetryable()"},{"p":"com.microsoft.azure.sdk.iot.device","c":"IotHubStatusCode","l":"isRetryable(IotHubStatusCode)","u":"isRetryable(com.microsoft.azure.sdk.iot.device.IotHubStatusCode)"},{"p":"com.microsoft.azure.sdk.iot.device.auth","c":"IotHubSasTokenAuthenticationProvider","l":"isSasTokenExpired()"},{"p":"com.microsoft.azure.sdk.iot.device.auth","c":"IotHubSasTokenProvidedAuthenticationProvider","l":"isSasTokenExpired()"},{"p":"com.microsoft.azure.sdk.iot.device","c":"Message","l":"isSecurityMessage()"},{"p":"com.microsoft.azure.sdk.iot.device","c":"FileUploadCompletionNotification","l":"isSuccess()"},{"p":"com.microsoft.azure.sdk.iot.device","c":"IotHubStatusCode","l":"isSuccessful(IotHubStatusCode)","u":"isSuccessful(com.microsoft.azure.sdk.iot.device.IotHubStatusCode)"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"VirtualThreads","l":"isSupported()"},{"p":"com.microsoft.azure.sdk.iot.device","c":"ClientConfiguration","l":"isUsingIdentifiableThreadNames()"},{"p":"com.microsoft.azure.sdk.iot.device","c":"ClientOptions","l":"isUsingIdentifiableThreadNames()"},{"p":"com.microsoft.azure.sdk.iot.device","c":"MultiplexingClientOptions","l":"isUsingIdentifiableThreadNames()"},{"p":"com.microsoft.azure.sdk.iot.device","c":"ClientOptions","l":"isUsingTwinCache()"},{"p":"com.microsoft.azure.sdk.iot.device","c":"ClientConfiguration","l":"isUsingVirtualThreads()"},{"p":"com.microsoft.azure.sdk.iot.device","c":"ClientOptions","l":"isUsingVirtualThreads()"},{"p":"com.microsoft.azure.sdk.iot.device","c":"ClientConfiguration","l":"isUsingWebsocket()"},{"p":"com.microsoft.azure.sdk.iot.device","c":"IotHubConnectionString","l":"isUsingX509()"},{"p":"com.microsoft.azure.sdk.iot.device","c":"MessageProperty","l":"isValidAppProperty(String, String)","u":"isValidAppProperty(java.lang.String,java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"MessageProperty","l":"isValidSystemProperty(String, String)","u":"isValidSystemProperty(java.lang.String,java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"MultiplexingClientOptions","l":"keepAliveInterval"},{"p":"com.microsoft.azure.sdk.iot.device.twin","c":"TwinMetadata","l":"LAST_UPDATE_TAG"},{"p":"com.microsoft.azure.sdk.iot.device.twin","c":"TwinMetadata","l":"LAST_UPDATE_VERSION_TAG"},{"p":"com.microsoft.azure.sdk.iot.device.twin","c":"TwinMetadata","l":"LAST_UPDATED_BY"},{"p":"com.microsoft.azure.sdk.iot.device.twin","c":"TwinMetadata","l":"LAST_UPDATED_BY_DIGEST"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps","c":"LoggingFlowController","l":"LoggingFlowController(String)","u":"%3Cinit%3E(java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps","c":"LoggingFlowController","l":"LoggingFlowController(String, ReceivedMessageBuffer)","u":"%3Cinit%3E(java.lang.String,com.microsoft.azure.sdk.iot.device.transport.ReceivedMessageBuffer)"},{"p":"com.microsoft.azure.sdk.iot.device.twin","c":"ParserUtility","l":"mapToJsonElement(Map<String, Object>)","u":"mapToJsonElement(java.util.Map)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"MultiplexingClient","l":"MAX_MULTIPLEX_DEVICE_COUNT_AMQPS"},{"p":"com.microsoft.azure.sdk.iot.device","c":"MultiplexingClient","l":"MAX_MULTIPLEX_DEVICE_COUNT_AMQPS_WS"},{"p":"com.microsoft.azure.sdk.iot.device","c":"IotHubStatusCode","l":"MESSAGE_CANCELLED_ONCLOSE"},{"p":"com.microsoft.azure.sdk.iot.device","c":"IotHubStatusCode","l":"MESSAGE_DROPPED"},{"p":"com.microsoft.azure.sdk.iot.device","c":"IotHubStatusCode","l":"MESSAGE_EXPIRED"},{"p":"com.microsoft.azure.sdk.iot.device","c":"Message","l":"Message()","u":"%3Cinit%3E()"},{"p":"com.microsoft.azure.sdk.iot.device","c":"Message","l":"Message(byte[])","u":"%3Cinit%3E(byte[])"},{"p":"com.microsoft.azure.sdk.iot.device","c":"Message","l":"Message(String)","u":"%3Cinit%3E(java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.mqtt","c":"Mqtt","l":"messageArrived(String, MqttMessage)","u":"messageArrived(java.lang.String,org.eclipse.paho.client.mqttv3.MqttMessage)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"MessageProperty","l":"MessageProperty()","u":"%3Cinit%3E()"},{"p":"com.microsoft.azure.sdk.iot.device","c":"MessageProperty","l":"MessageProperty(String, String)","u":"%3Cinit%3E(java.lang.String,java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device.twin","c":"MethodParser","l":"MethodParser()","u":"%3Cinit%3E()"},{"p":"com.microsoft.azure.sdk.iot.device.twin","c":"MethodParser","l":"MethodParser(JsonElement)","u":"%3Cinit%3E(com.google.gson.JsonElement)"},{"p":"com.microsoft.azure.sdk.iot.device.twin","c":"MethodParser","l":"MethodParser(String, Long, Long, JsonElement)","u":"%3Cinit%3E(java.lang.String,java.lang.Long,java.lang.Long,com.google.gson.JsonElement)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"ModuleClient","l":"ModuleClient(String, IotHubClientProtocol)","u":"%3Cinit%3E(java.lang.String,com.microsoft.azure.sdk.iot.device.IotHubClientProtocol)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"ModuleClient","l":"ModuleClient(String, IotHubClientProtocol, ClientOptions)","u":"%3Cinit%3E(java.lang.String,com.microsoft.azure.sdk.iot.device.IotHubClientProtocol,com.microsoft.azure.sdk.iot.device.ClientOptions)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"ModuleClient","l":"ModuleClient(String, String, String, SasTokenProvider, IotHubClientProtocol)","u":"%3Cinit%3E(java.lang.String,java.lang.String,java.lang.String,com.microsoft.azure.sdk.iot.device.SasTokenProvider,com.microsoft.azure.sdk.iot.device.IotHubClientProtocol)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"ModuleClient","l":"ModuleClient(String, String, String, SasTokenProvider, IotHubClientProtocol, ClientOptions)","u":"%3Cinit%3E(java.lang.String,java.lang.String,java.lang.String,com.microsoft.azure.sdk.iot.device.SasTokenProvider,com.microsoft.azure.sdk.iot.device.IotHubClientProtocol,com.microsoft.azure.sdk.iot.device.ClientOptions)"},{"p":"com.microsoft.azure.sdk.iot.device.auth","c":"IotHubAuthenticationProvider","l":"moduleId"},{"p":"com.microsoft.azure.sdk.iot.device","c":"IotHubClientProtocol","l":"MQTT"},{"p":"com.microsoft.azure.sdk.iot.device","c":"IotHubClientProtocol","l":"MQTT_WS"},{"p":"com.microsoft.azure.sdk.iot.device.transport.mqtt.exceptions","c":"MqttBadUsernameOrPasswordException","l":"MqttBadUsernameOrPasswordException()","u":"%3Cinit%3E()"},{"p":"com.microsoft.azure.sdk.iot.device.transport.mqtt.exceptions","c":"MqttBadUsernameOrPasswordException","l":"MqttBadUsernameOrPasswordException(String)","u":"%3Cinit%3E(java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.mqtt.exceptions","c":"MqttBadUsernameOrPasswordException","l":"MqttBadUsernameOrPasswordException(String, Throwable)","u":"%3Cinit%3E(java.lang.String,java.lang.Throwable)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.mqtt.exceptions","c":"MqttBadUsernameOrPasswordException","l":"MqttBadUsernameOrPasswordException(Throwable)","u":"%3Cinit%3E(java.lang.Throwable)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.mqtt.exceptions","c":"MqttIdentifierRejectedException","l":"MqttIdentifierRejectedException()","u":"%3Cinit%3E()"},{"p":"com.microsoft.azure.sdk.iot.device.transport.mqtt.exceptions","c":"MqttIdentifierRejectedException","l":"MqttIdentifierRejectedException(String)","u":"%3Cinit%3E(java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.mqtt.exceptions","c":"MqttIdentifierRejectedException","l":"MqttIdentifierRejectedException(String, Throwable)","u":"%3Cinit%3E(java.lang.String,java.lang.Throwable)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.mqtt.exceptions","c":"MqttIdentifierRejectedException","l":"MqttIdentifierRejectedException(Throwable)","u":"%3Cinit%3E(java.lang.Throwable)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.mqtt.exceptions","c":"MqttInFlightLimitReachedException","l":"MqttInFlightLimitReachedException(String)","u":"%3Cinit%3E(java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.mqtt","c":"MqttIotHubConnection","l":"MqttIotHubConnection(ClientConfiguration)","u":"%3Cinit%3E(com.microsoft.azure.sdk.iot.device.ClientConfiguration)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.mqtt.exceptions","c":"MqttRejectedProtocolVersionException","l":"MqttRejectedProtocolVersionException()","u":"%3Cinit%3E()"},{"p":"com.microsoft.azure.sdk.iot.device.transport.mqtt.exceptions","c":"MqttRejectedProtocolVersionException","l":"MqttRejectedProtocolVersionException(String)","u":"%3Cinit%3E(java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.mqtt.exceptions","c":"MqttRejectedProtocolVersionException","l":"MqttRejectedProtocolVersionException(String, Throwable)","u":"%3Cinit%3E(java.lang.String,java.lang.Throwable)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.mqtt.exceptions","c":"MqttRejectedProtocolVersionException","l":"MqttRejectedProtocolVersionException(Throwable)","u":"%3Cinit%3E(java.lang.Throwable)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.mqtt.exceptions","c":"MqttServerUnavailableException","l":"MqttServerUnavailableException()","u":"%3Cinit%3E()"},{"p":"com.microsoft.azure.sdk.iot.device.transport.mqtt.exceptions","c":"MqttServerUnavailableException","l":"MqttServerUnavailableException(String)","u":"%3Cinit%3E(java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.mqtt.exceptions","c":"MqttServerUnavailableException","l":"MqttServerUnavailableException(String, Throwable)","u":"%3Cinit%3E(java.lang.String,java.lang.Throwable)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.mqtt.exceptions","c":"MqttServerUnavailableException","l":"MqttServerUnavailableException(Throwable)","u":"%3Cinit%3E(java.lang.Throwable)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.mqtt.exceptions","c":"MqttUnauthorizedException","l":"MqttUnauthorizedException()","u":"%3Cinit%3E()"},{"p":"com.microsoft.azure.sdk.iot.device.transport.mqtt.exceptions","c":"MqttUnauthorizedException","l":"MqttUnauthorizedException(String)","u":"%3Cinit%3E(java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.mqtt.exceptions","c":"MqttUnauthorizedException","l":"MqttUnauthorizedException(String, Throwable)","u":"%3Cinit%3E(java.lang.String,java.lang.Throwable)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.mqtt.exceptions","c":"MqttUnauthorizedException","l":"MqttUnauthorizedException(Throwable)","u":"%3Cinit%3E(java.lang.Throwable)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.mqtt.exceptions","c":"MqttUnexpectedErrorException","l":"MqttUnexpectedErrorException()","u":"%3Cinit%3E()"},{"p":"com.microsoft.azure.sdk.iot.device.transport.mqtt.exceptions","c":"MqttUnexpectedErrorException","l":"MqttUnexpectedErrorException(String)","u":"%3Cinit%3E(java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.mqtt.exceptions","c":"MqttUnexpectedErrorException","l":"MqttUnexpectedErrorException(String, Throwable)","u":"%3Cinit%3E(java.lang.String,java.lang.Throwable)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.mqtt.exceptions","c":"MqttUnexpectedErrorException","l":"MqttUnexpectedErrorException(Throwable)","u":"%3Cinit%3E(java.lang.Throwable)"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"MultiplexedDeviceState","l":"MultiplexedDeviceState(IotHubConnectionStatus)","u":"%3Cinit%3E(com.microsoft.azure.sdk.iot.device.transport.IotHubConnectionStatus)"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"MultiplexedDeviceState","l":"MultiplexedDeviceState(IotHubConnectionStatus, Throwable)","u":"%3Cinit%3E(com.microsoft.azure.sdk.iot.device.transport.IotHubConnectionStatus,java.lang.Throwable)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"MultiplexingClient","l":"MultiplexingClient(String, IotHubClientProtocol)","u":"%3Cinit%3E(java.lang.String,com.microsoft.azure.sdk.iot.device.IotHubClientProtocol)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"MultiplexingClient","l":"MultiplexingClient(String, IotHubClientProtocol, MultiplexingClientOptions)","u":"%3Cinit%3E(java.lang.String,com.microsoft.azure.sdk.iot.device.IotHubClientProtocol,com.microsoft.azure.sdk.iot.device.MultiplexingClientOptions)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"MultiplexingClientOptions","l":"MultiplexingClientOptions()","u":"%3Cinit%3E()"},{"p":"com.microsoft.azure.sdk.iot.device.exceptions","c":"MultiplexingClientRegistrationException","l":"MultiplexingClientRegistrationException()","u":"%3Cinit%3E()"},{"p":"com.microsoft.azure.sdk.iot.device.exceptions","c":"MultiplexingClientRegistrationException","l":"MultiplexingClientRegistrationException(Exception)","u":"%3Cinit%3E(java.lang.Exception)"},{"p":"com.microsoft.azure.sdk.iot.device.exceptions","c":"MultiplexingClientRegistrationException","l":"MultiplexingClientRegistrationException(String)","u":"%3Cinit%3E(java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device.exceptions","c":"MultiplexingClientRegistrationException","l":"MultiplexingClientRegistrationException(String, Exception)","u":"%3Cinit%3E(java.lang.String,java.lang.Exception)"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"MultiplexingDeviceUnauthorizedException","l":"MultiplexingDeviceUnauthorizedException()","u":"%3Cinit%3E()"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"MultiplexingDeviceUnauthorizedException","l":"MultiplexingDeviceUnauthorizedException(String)","u":"%3Cinit%3E(java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"MultiplexingDeviceUnauthorizedException","l":"MultiplexingDeviceUnauthorizedException(String, Throwable)","u":"%3Cinit%3E(java.lang.String,java.lang.Throwable)"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"MultiplexingDeviceUnauthorizedException","l":"MultiplexingDeviceUnauthorizedException(Throwable)","u":"%3Cinit%3E(java.lang.Throwable)"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"IotHubTransport","l":"needsReconnect()"},{"p":"com.microsoft.azure.sdk.iot.device","c":"IotHubConnectionStatusChangeReason","l":"NO_NETWORK"},{"p":"com.microsoft.azure.sdk.iot.device.twin","c":"MethodParser.Operation","l":"none"},{"p":"com.microsoft.azure.sdk.iot.device","c":"PayloadCompression","l":"NONE"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"NoRetry","l":"NoRetry()","u":"%3Cinit%3E()"},{"p":"com.microsoft.azure.sdk.iot.device","c":"IotHubStatusCode","l":"NOT_FOUND"},{"p":"com.microsoft.azure.sdk.iot.device","c":"IotHubStatusCode","l":"OK"},{"p":"com.microsoft.azure.sdk.iot.device.twin","c":"ReportedPropertiesDiffEngine","l":"onAcknowledged(TwinCollection, Integer)","u":"onAcknowledged(com.microsoft.azure.sdk.iot.device.twin.TwinCollection,java.lang.Integer)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps","c":"AmqpsIotHubConnection","l":"onAuthenticationFailed(String, TransportException)","u":"onAuthenticationFailed(java.lang.String,com.microsoft.azure.sdk.iot.device.transport.TransportException)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps","c":"AmqpsIotHubConnection","l":"onAuthenticationSessionOpened()"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps","c":"AmqpsIotHubConnection","l":"onCBSSessionClosedUnexpectedly(ErrorCondition)","u":"onCBSSessionClosedUnexpectedly(org.apache.qpid.proton.amqp.transport.ErrorCondition)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"MessageCallback","l":"onCloudToDeviceMessageReceived(Message, Object)","u":"onCloudToDeviceMessageReceived(com.microsoft.azure.sdk.iot.device.Message,java.lang.Object)"},{"p":"com.microsoft.azure.sdk.iot.device.twin","c":"DeviceTwin","l":"onCloudToDeviceMessageReceived(Message, Object)","u":"onCloudToDeviceMessageReceived(com.microsoft.azure.sdk.iot.device.Message,java.lang.Object)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps","c":"AmqpsIotHubConnection","l":"onConnectionBound(Event)","u":"onConnectionBound(org.apache.qpid.proton.engine.Event)"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"IotHubListener","l":"onConnectionEstablished(String)","u":"onConnectionEstablished(java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"IotHubTransport","l":"onConnectionEstablished(String)","u":"onConnectionEstablished(java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps","c":"AmqpsIotHubConnection","l":"onConnectionInit(Event)","u":"onConnectionInit(org.apache.qpid.proton.engine.Event)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps","c":"AmqpsIotHubConnection","l":"onConnectionLocalClose(Event)","u":"onConnectionLocalClose(org.apache.qpid.proton.engine.Event)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps","c":"AmqpsIotHubConnection","l":"onConnectionLocalOpen(Event)","u":"onConnectionLocalOpen(org.apache.qpid.proton.engine.Event)"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"IotHubListener","l":"onConnectionLost(TransportException, String)","u":"onConnectionLost(com.microsoft.azure.sdk.iot.device.transport.TransportException,java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"IotHubTransport","l":"onConnectionLost(TransportException, String)","u":"onConnectionLost(com.microsoft.azure.sdk.iot.device.transport.TransportException,java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps","c":"AmqpsIotHubConnection","l":"onConnectionRemoteClose(Event)","u":"onConnectionRemoteClose(org.apache.qpid.proton.engine.Event)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps","c":"AmqpsIotHubConnection","l":"onConnectionRemoteOpen(Event)","u":"onConnectionRemoteOpen(org.apache.qpid.proton.engine.Event)"},{"p":"com.microsoft.azure.sdk.iot.device.twin","c":"DesiredPropertiesCallback","l":"onDesiredPropertiesUpdated(Twin, Object)","u":"onDesiredPropertiesUpdated(com.microsoft.azure.sdk.iot.device.twin.Twin,java.lang.Object)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps","c":"AmqpsIotHubConnection","l":"onDeviceSessionOpened(String)","u":"onDeviceSessionOpened(java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps","c":"AmqpsIotHubConnection","l":"onMessageAcknowledged(Message, DeliveryState, String)","u":"onMessageAcknowledged(com.microsoft.azure.sdk.iot.device.Message,org.apache.qpid.proton.amqp.transport.DeliveryState,java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.mqtt","c":"MqttIotHubConnection","l":"onMessageArrived(int)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps","c":"AmqpsIotHubConnection","l":"onMessageReceived(IotHubTransportMessage)","u":"onMessageReceived(com.microsoft.azure.sdk.iot.device.transport.IotHubTransportMessage)"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"IotHubListener","l":"onMessageReceived(IotHubTransportMessage, TransportException)","u":"onMessageReceived(com.microsoft.azure.sdk.iot.device.transport.IotHubTransportMessage,com.microsoft.azure.sdk.iot.device.transport.TransportException)"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"IotHubTransport","l":"onMessageReceived(IotHubTransportMessage, TransportException)","u":"onMessageReceived(com.microsoft.azure.sdk.iot.device.transport.IotHubTransportMessage,com.microsoft.azure.sdk.iot.device.transport.TransportException)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"MessageSentCallback","l":"onMessageSent(Message, IotHubClientException, Object)","u":"onMessageSent(com.microsoft.azure.sdk.iot.device.Message,com.microsoft.azure.sdk.iot.device.exceptions.IotHubClientException,java.lang.Object)"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"IotHubListener","l":"onMessageSent(Message, String, TransportException)","u":"onMessageSent(com.microsoft.azure.sdk.iot.device.Message,java.lang.String,com.microsoft.azure.sdk.iot.device.transport.TransportException)"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"IotHubTransport","l":"onMessageSent(Message, String, TransportException)","u":"onMessageSent(com.microsoft.azure.sdk.iot.device.Message,java.lang.String,com.microsoft.azure.sdk.iot.device.transport.TransportException)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"MessagesSentCallback","l":"onMessagesSent(List<Message>, IotHubClientException, Object)","u":"onMessagesSent(java.util.List,com.microsoft.azure.sdk.iot.device.exceptions.IotHubClientException,java.lang.Object)"},{"p":"com.microsoft.azure.sdk.iot.device.twin","c":"MethodCallback","l":"onMethodInvoked(String, DirectMethodPayload, Object)","u":"onMethodInvoked(java.lang.String,com.microsoft.azure.sdk.iot.device.twin.DirectMethodPayload,java.lang.Object)"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"IotHubListener","l":"onMultiplexedDeviceSessionEstablished(String, String)","u":"onMultiplexedDeviceSessionEstablished(java.lang.String,java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"IotHubTransport","l":"onMultiplexedDeviceSessionEstablished(String, String)","u":"onMultiplexedDeviceSessionEstablished(java.lang.String,java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"IotHubListener","l":"onMultiplexedDeviceSessionLost(TransportException, String, String, boolean)","u":"onMultiplexedDeviceSessionLost(com.microsoft.azure.sdk.iot.device.transport.TransportException,java.lang.String,java.lang.String,boolean)"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"IotHubTransport","l":"onMultiplexedDeviceSessionLost(TransportException, String, String, boolean)","u":"onMultiplexedDeviceSessionLost(com.microsoft.azure.sdk.iot.device.transport.TransportException,java.lang.String,java.lang.String,boolean)"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"IotHubListener","l":"onMultiplexedDeviceSessionRegistrationFailed(String, String, Exception)","u":"onMultiplexedDeviceSessionRegistrationFailed(java.lang.String,java.lang.String,java.lang.Exception)"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"IotHubTransport","l":"onMultiplexedDeviceSessionRegistrationFailed(String, String, Exception)","u":"onMultiplexedDeviceSessionRegistrationFailed(java.lang.String,java.lang.String,java.lang.Exception)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps","c":"AmqpsIotHubConnection","l":"onReactorClosedUnexpectedly()"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps","c":"AmqpsIotHubConnection","l":"onReactorFinal(Event)","u":"onReactorFinal(org.apache.qpid.proton.engine.Event)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps","c":"AmqpsIotHubConnection","l":"onReactorInit(Event)","u":"onReactorInit(org.apache.qpid.proton.engine.Event)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps","c":"AmqpsIotHubConnection","l":"onReactorQuiesced(Event)","u":"onReactorQuiesced(org.apache.qpid.proton.engine.Event)"},{"p":"com.microsoft.azure.sdk.iot.device.twin","c":"ReportedPropertiesCallback","l":"onReportedPropertiesUpdateAcknowledged(IotHubStatusCode, ReportedPropertiesUpdateResponse, IotHubClientException, Object)","u":"onReportedPropertiesUpdateAcknowledged(com.microsoft.azure.sdk.iot.device.IotHubStatusCode,com.microsoft.azure.sdk.iot.device.twin.ReportedPropertiesUpdateResponse,com.microsoft.azure.sdk.iot.device.exceptions.IotHubClientException,java.lang.Object)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"CorrelatingMessageCallback","l":"onRequestAcknowledged(Message, Object, IotHubClientException)","u":"onRequestAcknowledged(com.microsoft.azure.sdk.iot.device.Message,java.lang.Object,com.microsoft.azure.sdk.iot.device.exceptions.IotHubClientException)"},{"p":"com.microsoft.azure.sdk.iot.device.twin","c":"GetTwinCorrelatingMessageCallback","l":"onRequestAcknowledged(Message, Object, IotHubClientException)","u":"onRequestAcknowledged(com.microsoft.azure.sdk.iot.device.Message,java.lang.Object,com.microsoft.azure.sdk.iot.device.exceptions.IotHubClientException)"},{"p":"com.microsoft.azure.sdk.iot.device.twin","c":"ReportedPropertiesUpdateCorrelatingMessageCallback","l":"onRequestAcknowledged(Message, Object, IotHubClientException)","u":"onRequestAcknowledged(com.microsoft.azure.sdk.iot.device.Message,java.lang.Object,com.microsoft.azure.sdk.iot.device.exceptions.IotHubClientException)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"CorrelatingMessageCallback","l":"onRequestQueued(Message, Object)","u":"onRequestQueued(com.microsoft.azure.sdk.iot.device.Message,java.lang.Object)"},{"p":"com.microsoft.azure.sdk.iot.device.twin","c":"GetTwinCorrelatingMessageCallback","l":"onRequestQueued(Message, Object)","u":"onRequestQueued(com.microsoft.azure.sdk.iot.device.Message,java.lang.Object)"},{"p":"com.microsoft.azure.sdk.iot.device.twin","c":"ReportedPropertiesUpdateCorrelatingMessageCallback","l":"onRequestQueued(Message, Object)","u":"onRequestQueued(com.microsoft.azure.sdk.iot.device.Message,java.lang.Object)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"CorrelatingMessageCallback","l":"onRequestSent(Message, Object)","u":"onRequestSent(com.microsoft.azure.sdk.iot.device.Message,java.lang.Object)"},{"p":"com.microsoft.azure.sdk.iot.device.twin","c":"GetTwinCorrelatingMessageCallback","l":"onRequestSent(Message, Object)","u":"onRequestSent(com.microsoft.azure.sdk.iot.device.Message,java.lang.Object)"},{"p":"com.microsoft.azure.sdk.iot.device.twin","c":"ReportedPropertiesUpdateCorrelatingMessageCallback","l":"onRequestSent(Message, Object)","u":"onRequestSent(com.microsoft.azure.sdk.iot.device.Message,java.lang.Object)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"CorrelatingMessageCallback","l":"onResponseAcknowledged(Message, Object)","u":"onResponseAcknowledged(com.microsoft.azure.sdk.iot.device.Message,java.lang.Object)"},{"p":"com.microsoft.azure.sdk.iot.device.twin","c":"GetTwinCorrelatingMessageCallback","l":"onResponseAcknowledged(Message, Object)","u":"onResponseAcknowledged(com.microsoft.azure.sdk.iot.device.Message,java.lang.Object)"},{"p":"com.microsoft.azure.sdk.iot.device.twin","c":"ReportedPropertiesUpdateCorrelatingMessageCallback","l":"onResponseAcknowledged(Message, Object)","u":"onResponseAcknowledged(com.microsoft.azure.sdk.iot.device.Message,java.lang.Object)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"CorrelatingMessageCallback","l":"onResponseReceived(Message, Object, IotHubClientException)","u":"onResponseReceived(com.microsoft.azure.sdk.iot.device.Message,java.lang.Object,com.microsoft.azure.sdk.iot.device.exceptions.IotHubClientException)"},{"p":"com.microsoft.azure.sdk.iot.device.twin","c":"ReportedPropertiesUpdateCorrelatingMessageCallback","l":"onResponseReceived(Message, Object, IotHubStatusCode, ReportedPropertiesUpdateResponse, IotHubClientException)","u":"onResponseReceived(com.microsoft.azure.sdk.iot.device.Message,java.lang.Object,com.microsoft.azure.sdk.iot.device.IotHubStatusCode,com.microsoft.azure.sdk.iot.device.twin.ReportedPropertiesUpdateResponse,com.microsoft.azure.sdk.iot.device.exceptions.IotHubClientException)"},{"p":"com.microsoft.azure.sdk.iot.device.twin","c":"GetTwinCorrelatingMessageCallback","l":"onResponseReceived(Twin, Message, Object, IotHubStatusCode, IotHubClientException)","u":"onResponseReceived(com.microsoft.azure.sdk.iot.device.twin.Twin,com.microsoft.azure.sdk.iot.device.Message,java.lang.Object,com.microsoft.azure.sdk.iot.device.IotHubStatusCode,com.microsoft.azure.sdk.iot.device.exceptions.IotHubClientException)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps","c":"AmqpsIotHubConnection","l":"onSessionClosedAsExpected(String)","u":"onSessionClosedAsExpected(java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps","c":"AmqpsIotHubConnection","l":"onSessionClosedUnexpectedly(ErrorCondition, String)","u":"onSessionClosedUnexpectedly(org.apache.qpid.proton.amqp.transport.ErrorCondition,java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"IotHubConnectionStatusChangeCallback","l":"onStatusChanged(ConnectionStatusChangeContext)","u":"onStatusChanged(com.microsoft.azure.sdk.iot.device.ConnectionStatusChangeContext)"},{"p":"com.microsoft.azure.sdk.iot.device.twin","c":"SubscriptionAcknowledgedCallback","l":"onSubscriptionAcknowledged(IotHubClientException, Object)","u":"onSubscriptionAcknowledged(com.microsoft.azure.sdk.iot.device.exceptions.IotHubClientException,java.lang.Object)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps","c":"AmqpsIotHubConnection","l":"onTimerTask(Event)","u":"onTimerTask(org.apache.qpid.proton.engine.Event)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps","c":"AmqpsIotHubConnection","l":"onTransportError(Event)","u":"onTransportError(org.apache.qpid.proton.engine.Event)"},{"p":"com.microsoft.azure.sdk.iot.device.twin","c":"GetTwinCallback","l":"onTwinReceived(Twin, IotHubClientException, Object)","u":"onTwinReceived(com.microsoft.azure.sdk.iot.device.twin.Twin,com.microsoft.azure.sdk.iot.device.exceptions.IotHubClientException,java.lang.Object)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps","c":"LoggingFlowController","l":"onUnhandled(Event)","u":"onUnhandled(org.apache.qpid.proton.engine.Event)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps","c":"AmqpsIotHubConnection","l":"open()"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https","c":"HttpsIotHubConnection","l":"open()"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"IotHubTransportConnection","l":"open()"},{"p":"com.microsoft.azure.sdk.iot.device.transport.mqtt","c":"MqttIotHubConnection","l":"open()"},{"p":"com.microsoft.azure.sdk.iot.device","c":"DeviceClient","l":"open(boolean)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"InternalClient","l":"open(boolean)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"MultiplexingClient","l":"open(boolean)"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"IotHubTransport","l":"open(boolean)"},{"p":"com.microsoft.azure.sdk.iot.device.hsm","c":"UnixDomainSocketChannel","l":"open(String)","u":"open(java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"MessageProperty","l":"OUTPUT_NAME_PROPERTY"},{"p":"com.microsoft.azure.sdk.iot.device.transport.mqtt.exceptions","c":"PahoExceptionTranslator","l":"PahoExceptionTranslator()","u":"%3Cinit%3E()"},{"p":"com.microsoft.azure.sdk.iot.device.twin","c":"Pair","l":"Pair(Type1, Type2)","u":"%3Cinit%3E(Type1,Type2)"},{"p":"com.microsoft.azure.sdk.iot.device.twin","c":"ParserUtility","l":"ParserUtility()","u":"%3Cinit%3E()"},{"p":"com.microsoft.azure.sdk.iot.device.twin","c":"MethodParser.Operation","l":"payload"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https","c":"HttpsMethod","l":"POST"},{"p":"com.microsoft.azure.sdk.iot.device","c":"IotHubStatusCode","l":"PRECONDITION_FAILED"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https.exceptions","c":"PreconditionFailedException","l":"PreconditionFailedException()","u":"%3Cinit%3E()"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https.exceptions","c":"PreconditionFailedException","l":"PreconditionFailedException(String)","u":"%3Cinit%3E(java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https.exceptions","c":"PreconditionFailedException","l":"PreconditionFailedException(String, Throwable)","u":"%3Cinit%3E(java.lang.String,java.lang.Throwable)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https.exceptions","c":"PreconditionFailedException","l":"PreconditionFailedException(Throwable)","u":"%3Cinit%3E(java.lang.Throwable)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"ProductInfo","l":"ProductInfo()","u":"%3Cinit%3E()"},{"p":"com.microsoft.azure.sdk.iot.device.twin","c":"Property","l":"Property(String, Object)","u":"%3Cinit%3E(java.lang.String,java.lang.Object)"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"ProtocolException","l":"ProtocolException()","u":"%3Cinit%3E()"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"ProtocolException","l":"ProtocolException(String)","u":"%3Cinit%3E(java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"ProtocolException","l":"ProtocolException(String, Throwable)","u":"%3Cinit%3E(java.lang.String,java.lang.Throwable)"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"ProtocolException","l":"ProtocolException(Throwable)","u":"%3Cinit%3E(java.lang.Throwable)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"ProtonIOException","l":"ProtonIOException()","u":"%3Cinit%3E()"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"ProtonIOException","l":"ProtonIOException(String)","u":"%3Cinit%3E(java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"ProtonIOException","l":"ProtonIOException(String, Throwable)","u":"%3Cinit%3E(java.lang.String,java.lang.Throwable)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","c":"ProtonIOException","l":"ProtonIOException(Throwable)","u":"%3Cinit%3E(java.lang.Throwable)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"ProxySettings","l":"ProxySettings(Proxy)","u":"%3Cinit%3E(java.net.Proxy)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"ProxySettings","l":"ProxySettings(Proxy, String, char[])","u":"%3Cinit%3E(java.net.Proxy,java.lang.String,char[])"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https","c":"HttpsMethod","l":"PUT"},{"p":"com.microsoft.azure.sdk.iot.device.twin","c":"TwinCollection","l":"put(String, Object)","u":"put(java.lang.String,java.lang.Object)"},{"p":"com.microsoft.azure.sdk.iot.device.twin","c":"TwinCollection","l":"putAll(Map<? extends String, ?>)","u":"putAll(java.util.Map)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"IotHubStatusCode","l":"QUOTA_EXCEEDED"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https.exceptions","c":"QuotaExceededException","l":"QuotaExceededException()","u":"%3Cinit%3E()"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https.exceptions","c":"QuotaExceededException","l":"QuotaExceededException(String)","u":"%3Cinit%3E(java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https.exceptions","c":"QuotaExceededException","l":"QuotaExceededException(String, Throwable)","u":"%3Cinit%3E(java.lang.String,java.lang.Throwable)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https.exceptions","c":"QuotaExceededException","l":"QuotaExceededException(Throwable)","u":"%3Cinit%3E(java.lang.Throwable)"},{"p":"com.microsoft.azure.sdk.iot.device.hsm","c":"UnixDomainSocketChannel","l":"read(byte[])"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https","c":"HttpsConnection","l":"readError()"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https","c":"HttpsConnection","l":"readInput()"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https","c":"HttpsTransportManager","l":"receive()"},{"p":"com.microsoft.azure.sdk.iot.device.transport.mqtt","c":"Mqtt","l":"receive()"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"ReceivedMessageBuffer","l":"ReceivedMessageBuffer()","u":"%3Cinit%3E()"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https","c":"HttpsIotHubConnection","l":"receiveMessage()"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"IotHubTransport","l":"reconnect()"},{"p":"com.microsoft.azure.sdk.iot.device.auth","c":"IotHubSasTokenWithRefreshAuthenticationProvider","l":"refreshSasToken()"},{"p":"com.microsoft.azure.sdk.iot.device.hsm","c":"IotHubSasTokenHsmAuthenticationProvider","l":"refreshSasToken()"},{"p":"com.microsoft.azure.sdk.iot.device","c":"MultiplexingClient","l":"registerDeviceClient(DeviceClient)","u":"registerDeviceClient(com.microsoft.azure.sdk.iot.device.DeviceClient)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"MultiplexingClient","l":"registerDeviceClient(DeviceClient, long)","u":"registerDeviceClient(com.microsoft.azure.sdk.iot.device.DeviceClient,long)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"MultiplexingClient","l":"registerDeviceClients(Iterable<DeviceClient>)","u":"registerDeviceClients(java.lang.Iterable)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"MultiplexingClient","l":"registerDeviceClients(Iterable<DeviceClient>, long)","u":"registerDeviceClients(java.lang.Iterable,long)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps","c":"AmqpsIotHubConnection","l":"registerMultiplexedDevice(ClientConfiguration)","u":"registerMultiplexedDevice(com.microsoft.azure.sdk.iot.device.ClientConfiguration)"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"IotHubTransport","l":"registerMultiplexedDeviceClient(List<ClientConfiguration>, long)","u":"registerMultiplexedDeviceClient(java.util.List,long)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"IotHubMessageResult","l":"REJECT"},{"p":"com.microsoft.azure.sdk.iot.device","c":"OutboundQueueOverflowPolicy","l":"REJECT"},{"p":"com.microsoft.azure.sdk.iot.device.twin","c":"ReportedPropertiesDiffEngine","l":"ReportedPropertiesDiffEngine()","u":"%3Cinit%3E()"},{"p":"com.microsoft.azure.sdk.iot.device.twin","c":"ReportedPropertiesUpdateResponse","l":"ReportedPropertiesUpdateResponse()","u":"%3Cinit%3E()"},{"p":"com.microsoft.azure.sdk.iot.device","c":"IotHubStatusCode","l":"REQUEST_ENTITY_TOO_LARGE"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https.exceptions","c":"RequestEntityTooLargeException","l":"RequestEntityTooLargeException()","u":"%3Cinit%3E()"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https.exceptions","c":"RequestEntityTooLargeException","l":"RequestEntityTooLargeException(String)","u":"%3Cinit%3E(java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https.exceptions","c":"RequestEntityTooLargeException","l":"RequestEntityTooLargeException(String, Throwable)","u":"%3Cinit%3E(java.lang.String,java.lang.Throwable)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https.exceptions","c":"RequestEntityTooLargeException","l":"RequestEntityTooLargeException(Throwable)","u":"%3Cinit%3E(java.lang.Throwable)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"MessageProperty","l":"RESERVED_PROPERTY_NAMES"},{"p":"com.microsoft.azure.sdk.iot.device.twin","c":"ParserUtility","l":"resolveJsonElement(JsonElement)","u":"resolveJsonElement(com.google.gson.JsonElement)"},{"p":"com.microsoft.azure.sdk.iot.device.twin","c":"MethodParser.Operation","l":"response"},{"p":"com.microsoft.azure.sdk.iot.device","c":"IotHubConnectionStatusChangeReason","l":"RETRY_EXPIRED"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"RetryDecision","l":"RetryDecision(boolean, long)","u":"%3Cinit%3E(boolean,long)"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"IotHubReceiveTask","l":"run()"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"IotHubReconnectTask","l":"run()"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"IotHubSendTask","l":"run()"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"IotHubTransport.MessageRetryRunnable","l":"run()"},{"p":"com.microsoft.azure.sdk.iot.device","c":"ClientConfiguration.AuthType","l":"SAS_TOKEN"},{"p":"com.microsoft.azure.sdk.iot.device.auth","c":"IotHubSasTokenAuthenticationProvider","l":"sasToken"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https","c":"HttpsRequest","l":"send()"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https","c":"HttpsTransportManager","l":"send(IotHubTransportMessage, Map<String, String>)","u":"send(com.microsoft.azure.sdk.iot.device.transport.IotHubTransportMessage,java.util.Map)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https","c":"HttpsRequest","l":"sendAsHttpRequest()"},{"p":"com.microsoft.azure.sdk.iot.device","c":"InternalClient","l":"sendEvent(Message)","u":"sendEvent(com.microsoft.azure.sdk.iot.device.Message)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"ModuleClient","l":"sendEvent(Message)","u":"sendEvent(com.microsoft.azure.sdk.iot.device.Message)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"InternalClient","l":"sendEvent(Message, int)","u":"sendEvent(com.microsoft.azure.sdk.iot.device.Message,int)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"ModuleClient","l":"sendEvent(Message, String)","u":"sendEvent(com.microsoft.azure.sdk.iot.device.Message,java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"ModuleClient","l":"sendEvent(Message, String, int)","u":"sendEvent(com.microsoft.azure.sdk.iot.device.Message,java.lang.String,int)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"InternalClient","l":"sendEventAsync(Message, MessageSentCallback, Object)","u":"sendEventAsync(com.microsoft.azure.sdk.iot.device.Message,com.microsoft.azure.sdk.iot.device.MessageSentCallback,java.lang.Object)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"ModuleClient","l":"sendEventAsync(Message, MessageSentCallback, Object)","u":"sendEventAsync(com.microsoft.azure.sdk.iot.device.Message,com.microsoft.azure.sdk.iot.device.MessageSentCallback,java.lang.Object)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"ModuleClient","l":"sendEventAsync(Message, MessageSentCallback, Object, String)","u":"sendEventAsync(com.microsoft.azure.sdk.iot.device.Message,com.microsoft.azure.sdk.iot.device.MessageSentCallback,java.lang.Object,java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"InternalClient","l":"sendEvents(List<Message>)","u":"sendEvents(java.util.List)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"InternalClient","l":"sendEvents(List<Message>, int)","u":"sendEvents(java.util.List,int)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"InternalClient","l":"sendEventsAsync(List<Message>, MessagesSentCallback, Object)","u":"sendEventsAsync(java.util.List,com.microsoft.azure.sdk.iot.device.MessagesSentCallback,java.lang.Object)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https","c":"HttpsTransportManager","l":"sendFileUploadNotification(IotHubTransportMessage)","u":"sendFileUploadNotification(com.microsoft.azure.sdk.iot.device.transport.IotHubTransportMessage)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https","c":"HttpsIotHubConnection","l":"sendHttpsMessage(HttpsMessage, HttpsMethod, String, Map<String, String>)","u":"sendHttpsMessage(com.microsoft.azure.sdk.iot.device.transport.https.HttpsMessage,com.microsoft.azure.sdk.iot.device.transport.https.HttpsMethod,java.lang.String,java.util.Map)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps","c":"AmqpsIotHubConnection","l":"sendMessage(Message)","u":"sendMessage(com.microsoft.azure.sdk.iot.device.Message)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https","c":"HttpsIotHubConnection","l":"sendMessage(Message)","u":"sendMessage(com.microsoft.azure.sdk.iot.device.Message)"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"IotHubTransportConnection","l":"sendMessage(Message)","u":"sendMessage(com.microsoft.azure.sdk.iot.device.Message)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.mqtt","c":"MqttIotHubConnection","l":"sendMessage(Message)","u":"sendMessage(com.microsoft.azure.sdk.iot.device.Message)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps","c":"AmqpsIotHubConnection","l":"sendMessageResult(IotHubTransportMessage, IotHubMessageResult)","u":"sendMessageResult(com.microsoft.azure.sdk.iot.device.transport.IotHubTransportMessage,com.microsoft.azure.sdk.iot.device.IotHubMessageResult)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https","c":"HttpsIotHubConnection","l":"sendMessageResult(IotHubTransportMessage, IotHubMessageResult)","u":"sendMessageResult(com.microsoft.azure.sdk.iot.device.transport.IotHubTransportMessage,com.microsoft.azure.sdk.iot.device.IotHubMessageResult)"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"IotHubTransportConnection","l":"sendMessageResult(IotHubTransportMessage, IotHubMessageResult)","u":"sendMessageResult(com.microsoft.azure.sdk.iot.device.transport.IotHubTransportMessage,com.microsoft.azure.sdk.iot.device.IotHubMessageResult)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.mqtt","c":"MqttIotHubConnection","l":"sendMessageResult(IotHubTransportMessage, IotHubMessageResult)","u":"sendMessageResult(com.microsoft.azure.sdk.iot.device.transport.IotHubTransportMessage,com.microsoft.azure.sdk.iot.device.IotHubMessageResult)"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"IotHubTransport","l":"sendMessages()"},{"p":"com.microsoft.azure.sdk.iot.device","c":"IotHubStatusCode","l":"SERVER_BUSY"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https.exceptions","c":"ServerBusyException","l":"ServerBusyException()","u":"%3Cinit%3E()"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https.exceptions","c":"ServerBusyException","l":"ServerBusyException(String)","u":"%3Cinit%3E(java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https.exceptions","c":"ServerBusyException","l":"ServerBusyException(String, Throwable)","u":"%3Cinit%3E(java.lang.String,java.lang.Throwable)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https.exceptions","c":"ServerBusyException","l":"ServerBusyException(Throwable)","u":"%3Cinit%3E(java.lang.Throwable)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https.exceptions","c":"ServiceUnknownException","l":"ServiceUnknownException()","u":"%3Cinit%3E()"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https.exceptions","c":"ServiceUnknownException","l":"ServiceUnknownException(String)","u":"%3Cinit%3E(java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https.exceptions","c":"ServiceUnknownException","l":"ServiceUnknownException(String, Throwable)","u":"%3Cinit%3E(java.lang.String,java.lang.Throwable)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https.exceptions","c":"ServiceUnknownException","l":"ServiceUnknownException(Throwable)","u":"%3Cinit%3E(java.lang.Throwable)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"Message","l":"setAbsoluteExpiryTime(long)"},{"p":"com.microsoft.azure.sdk.iot.device.hsm.parser","c":"SignRequest","l":"setAlgo(Mac)","u":"setAlgo(javax.crypto.Mac)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"Message","l":"setAsSecurityMessage()"},{"p":"com.microsoft.azure.sdk.iot.device","c":"Message","l":"setConnectionDeviceId(String)","u":"setConnectionDeviceId(java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"Message","l":"setConnectionModuleId(String)","u":"setConnectionModuleId(java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"InternalClient","l":"setConnectionStatusChangeCallback(IotHubConnectionStatusChangeCallback, Object)","u":"setConnectionStatusChangeCallback(com.microsoft.azure.sdk.iot.device.IotHubConnectionStatusChangeCallback,java.lang.Object)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"MultiplexingClient","l":"setConnectionStatusChangeCallback(IotHubConnectionStatusChangeCallback, Object)","u":"setConnectionStatusChangeCallback(com.microsoft.azure.sdk.iot.device.IotHubConnectionStatusChangeCallback,java.lang.Object)"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"IotHubTransport","l":"setConnectionStatusChangeCallback(IotHubConnectionStatusChangeCallback, Object, String)","u":"setConnectionStatusChangeCallback(com.microsoft.azure.sdk.iot.device.IotHubConnectionStatusChangeCallback,java.lang.Object,java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https","c":"HttpsConnection","l":"setConnectTimeout(int)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https","c":"HttpsRequest","l":"setConnectTimeout(int)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"Message","l":"setContentEncoding(String)","u":"setContentEncoding(java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"Message","l":"setContentType(String)","u":"setContentType(java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"Message","l":"setCorrelatingMessageCallback(CorrelatingMessageCallback)","u":"setCorrelatingMessageCallback(com.microsoft.azure.sdk.iot.device.CorrelatingMessageCallback)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"Message","l":"setCorrelatingMessageCallbackContext(Object)","u":"setCorrelatingMessageCallbackContext(java.lang.Object)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"FileUploadCompletionNotification","l":"setCorrelationId(String)","u":"setCorrelationId(java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"Message","l":"setCorrelationId(String)","u":"setCorrelationId(java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"Message","l":"setCreationTimeUTC(Date)","u":"setCreationTimeUTC(java.util.Date)"},{"p":"com.microsoft.azure.sdk.iot.device.hsm.parser","c":"SignRequest","l":"setData(byte[])"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"IotHubTransportMessage","l":"setDeviceOperationType(DeviceOperations)","u":"setDeviceOperationType(com.microsoft.azure.sdk.iot.device.twin.DeviceOperations)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"ClientConfiguration","l":"setDeviceTwinMessageCallback(MessageCallback, Object)","u":"setDeviceTwinMessageCallback(com.microsoft.azure.sdk.iot.device.MessageCallback,java.lang.Object)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"ClientConfiguration","l":"setDirectMethodsMessageCallback(MessageCallback, Object)","u":"setDirectMethodsMessageCallback(com.microsoft.azure.sdk.iot.device.MessageCallback,java.lang.Object)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"Message","l":"setExpiryTime(long)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"ProductInfo","l":"setExtra(String)","u":"setExtra(java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https","c":"HttpsRequest","l":"setHeaderField(String, String)","u":"setHeaderField(java.lang.String,java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"Message","l":"setInputName(String)","u":"setInputName(java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"Message","l":"setIotHubConnectionString(IotHubConnectionString)","u":"setIotHubConnectionString(com.microsoft.azure.sdk.iot.device.IotHubConnectionString)"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"IotHubTransportMessage","l":"setIotHubMethod(HttpsMethod)","u":"setIotHubMethod(com.microsoft.azure.sdk.iot.device.transport.https.HttpsMethod)"},{"p":"com.microsoft.azure.sdk.iot.device.hsm.parser","c":"SignRequest","l":"setKeyId(String)","u":"setKeyId(java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps","c":"AmqpsIotHubConnection","l":"setListener(IotHubListener)","u":"setListener(com.microsoft.azure.sdk.iot.device.transport.IotHubListener)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https","c":"HttpsIotHubConnection","l":"setListener(IotHubListener)","u":"setListener(com.microsoft.azure.sdk.iot.device.transport.IotHubListener)"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"IotHubTransportConnection","l":"setListener(IotHubListener)","u":"setListener(com.microsoft.azure.sdk.iot.device.transport.IotHubListener)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.mqtt","c":"MqttIotHubConnection","l":"setListener(IotHubListener)","u":"setListener(com.microsoft.azure.sdk.iot.device.transport.IotHubListener)"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"IotHubTransport","l":"setMaxNumberOfMessagesSentPerSendThread(int)"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"IotHubTransportMessage","l":"setMessageCallback(MessageCallback)","u":"setMessageCallback(com.microsoft.azure.sdk.iot.device.MessageCallback)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"DeviceClient","l":"setMessageCallback(MessageCallback, Object)","u":"setMessageCallback(com.microsoft.azure.sdk.iot.device.MessageCallback,java.lang.Object)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"ModuleClient","l":"setMessageCallback(MessageCallback, Object)","u":"setMessageCallback(com.microsoft.azure.sdk.iot.device.MessageCallback,java.lang.Object)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"ModuleClient","l":"setMessageCallback(String, MessageCallback, Object)","u":"setMessageCallback(java.lang.String,com.microsoft.azure.sdk.iot.device.MessageCallback,java.lang.Object)"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"IotHubTransportMessage","l":"setMessageCallbackContext(Object)","u":"setMessageCallbackContext(java.lang.Object)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"Message","l":"setMessageId(String)","u":"setMessageId(java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"IotHubTransport","l":"setMessageSentCallbackExecutor(Executor)","u":"setMessageSentCallbackExecutor(java.util.concurrent.Executor)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"Message","l":"setMessageType(MessageType)","u":"setMessageType(com.microsoft.azure.sdk.iot.device.MessageType)"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"IotHubTransportMessage","l":"setMethodName(String)","u":"setMethodName(java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"IotHubTransport","l":"setMultiplexingConnectionStateCallback(IotHubConnectionStatusChangeCallback, Object)","u":"setMultiplexingConnectionStateCallback(com.microsoft.azure.sdk.iot.device.IotHubConnectionStatusChangeCallback,java.lang.Object)"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"IotHubTransport","l":"setMultiplexingRetryPolicy(RetryPolicy)","u":"setMultiplexingRetryPolicy(com.microsoft.azure.sdk.iot.device.transport.RetryPolicy)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"InternalClient","l":"setOperationTimeout(long)"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"IotHubTransport","l":"setOutboundQueueLimits(int, long, OutboundQueueOverflowPolicy)","u":"setOutboundQueueLimits(int,long,com.microsoft.azure.sdk.iot.device.OutboundQueueOverflowPolicy)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"Message","l":"setOutputName(String)","u":"setOutputName(java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device.twin","c":"DirectMethodResponse","l":"setPayload(Object)","u":"setPayload(java.lang.Object)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"Message","l":"setProperty(String, String)","u":"setProperty(java.lang.String,java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https","c":"HttpsConnection","l":"setReadTimeout(int)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https","c":"HttpsRequest","l":"setReadTimeout(int)"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"IotHubTransport","l":"setReceiveBufferLimits(int, long)","u":"setReceiveBufferLimits(int,long)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps","c":"AmqpsIotHubConnection","l":"setReceivedMessageBuffer(ReceivedMessageBuffer)","u":"setReceivedMessageBuffer(com.microsoft.azure.sdk.iot.device.transport.ReceivedMessageBuffer)"},{"p":"com.microsoft.azure.sdk.iot.device.exceptions","c":"MultiplexingClientRegistrationException","l":"setRegistrationExceptionsMap(Map<String, Exception>)","u":"setRegistrationExceptionsMap(java.util.Map)"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"MultiplexingDeviceUnauthorizedException","l":"setRegistrationExceptionsMap(Map<String, Exception>)","u":"setRegistrationExceptionsMap(java.util.Map)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https","c":"HttpsConnection","l":"setRequestHeader(String, String)","u":"setRequestHeader(java.lang.String,java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"IotHubTransportMessage","l":"setRequestId(String)","u":"setRequestId(java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https","c":"HttpsConnection","l":"setRequestMethod(HttpsMethod)","u":"setRequestMethod(com.microsoft.azure.sdk.iot.device.transport.https.HttpsMethod)"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"TransportException","l":"setRetryable(boolean)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"InternalClient","l":"setRetryPolicy(RetryPolicy)","u":"setRetryPolicy(com.microsoft.azure.sdk.iot.device.transport.RetryPolicy)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"MultiplexingClient","l":"setRetryPolicy(RetryPolicy)","u":"setRetryPolicy(com.microsoft.azure.sdk.iot.device.transport.RetryPolicy)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"IotHubConnectionString","l":"setSharedAccessToken(String)","u":"setSharedAccessToken(java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https","c":"HttpsRequest","l":"setSSLContext(SSLContext)","u":"setSSLContext(javax.net.ssl.SSLContext)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https","c":"HttpsRequest","l":"setSSLSocketFactory(SSLSocketFactory)","u":"setSSLSocketFactory(javax.net.ssl.SSLSocketFactory)"},{"p":"com.microsoft.azure.sdk.iot.device.twin","c":"DirectMethodResponse","l":"setStatus(int)"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"IotHubTransportPacket","l":"setStatus(IotHubStatusCode)","u":"setStatus(com.microsoft.azure.sdk.iot.device.IotHubStatusCode)"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"IotHubTransportMessage","l":"setStatus(String)","u":"setStatus(java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"FileUploadCompletionNotification","l":"setStatusCode(Integer)","u":"setStatusCode(java.lang.Integer)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"FileUploadCompletionNotification","l":"setStatusDescription(String)","u":"setStatusDescription(java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"FileUploadCompletionNotification","l":"setSuccess(Boolean)","u":"setSuccess(java.lang.Boolean)"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"IotHubTransport","l":"setTaskWakeUpListeners(Runnable, Runnable, Runnable)","u":"setTaskWakeUpListeners(java.lang.Runnable,java.lang.Runnable,java.lang.Runnable)"},{"p":"com.microsoft.azure.sdk.iot.device.auth","c":"IotHubSasTokenAuthenticationProvider","l":"setTokenValidSecs(long)"},{"p":"com.microsoft.azure.sdk.iot.device.auth","c":"IotHubSasTokenProvidedAuthenticationProvider","l":"setTokenValidSecs(long)"},{"p":"com.microsoft.azure.sdk.iot.device.auth","c":"IotHubSasTokenSoftwareAuthenticationProvider","l":"setTokenValidSecs(long)"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"IotHubTransportMessage","l":"setUriPath(String)","u":"setUriPath(java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"Message","l":"setUserId(String)","u":"setUserId(java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device.twin","c":"Property","l":"setValue(Object)","u":"setValue(java.lang.Object)"},{"p":"com.microsoft.azure.sdk.iot.device.twin","c":"Pair","l":"setValue(Type2)"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"IotHubTransportMessage","l":"setVersion(Integer)","u":"setVersion(java.lang.Integer)"},{"p":"com.microsoft.azure.sdk.iot.device.twin","c":"TwinCollection","l":"setVersion(Integer)","u":"setVersion(java.lang.Integer)"},{"p":"com.microsoft.azure.sdk.iot.device.auth","c":"IotHubSasTokenAuthenticationProvider","l":"shouldRefreshToken(boolean)"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"RetryDecision","l":"shouldRetry()"},{"p":"com.microsoft.azure.sdk.iot.device.hsm","c":"HttpsHsmClient","l":"sign(String, String, SignRequest, String)","u":"sign(java.lang.String,java.lang.String,com.microsoft.azure.sdk.iot.device.hsm.parser.SignRequest,java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device.auth","c":"SignatureProvider","l":"sign(String, String, String)","u":"sign(java.lang.String,java.lang.String,java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device.hsm","c":"HttpHsmSignatureProvider","l":"sign(String, String, String)","u":"sign(java.lang.String,java.lang.String,java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device.hsm.parser","c":"SignRequest","l":"SignRequest()","u":"%3Cinit%3E()"},{"p":"com.microsoft.azure.sdk.iot.device.hsm.parser","c":"SignResponse","l":"SignResponse()","u":"%3Cinit%3E()"},{"p":"com.microsoft.azure.sdk.iot.device.twin","c":"ParserUtility","l":"stringToDateTimeOffset(String)","u":"stringToDateTimeOffset(java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"InternalClient","l":"subscribeToDesiredProperties(DesiredPropertiesCallback, Object)","u":"subscribeToDesiredProperties(com.microsoft.azure.sdk.iot.device.twin.DesiredPropertiesCallback,java.lang.Object)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"InternalClient","l":"subscribeToDesiredProperties(DesiredPropertiesCallback, Object, int)","u":"subscribeToDesiredProperties(com.microsoft.azure.sdk.iot.device.twin.DesiredPropertiesCallback,java.lang.Object,int)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"InternalClient","l":"subscribeToDesiredPropertiesAsync(DesiredPropertiesCallback, Object, SubscriptionAcknowledgedCallback, Object)","u":"subscribeToDesiredPropertiesAsync(com.microsoft.azure.sdk.iot.device.twin.DesiredPropertiesCallback,java.lang.Object,com.microsoft.azure.sdk.iot.device.twin.SubscriptionAcknowledgedCallback,java.lang.Object)"},{"p":"com.microsoft.azure.sdk.iot.device.twin","c":"DeviceTwin","l":"subscribeToDesiredPropertiesAsync(SubscriptionAcknowledgedCallback, Object, DesiredPropertiesCallback, Object)","u":"subscribeToDesiredPropertiesAsync(com.microsoft.azure.sdk.iot.device.twin.SubscriptionAcknowledgedCallback,java.lang.Object,com.microsoft.azure.sdk.iot.device.twin.DesiredPropertiesCallback,java.lang.Object)"},{"p":"com.microsoft.azure.sdk.iot.device.twin","c":"DirectMethod","l":"subscribeToDirectMethods(MethodCallback, Object)","u":"subscribeToDirectMethods(com.microsoft.azure.sdk.iot.device.twin.MethodCallback,java.lang.Object)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"InternalClient","l":"subscribeToMethods(MethodCallback, Object)","u":"subscribeToMethods(com.microsoft.azure.sdk.iot.device.twin.MethodCallback,java.lang.Object)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"InternalClient","l":"subscribeToMethods(MethodCallback, Object, int)","u":"subscribeToMethods(com.microsoft.azure.sdk.iot.device.twin.MethodCallback,java.lang.Object,int)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"InternalClient","l":"subscribeToMethodsAsync(MethodCallback, Object, SubscriptionAcknowledgedCallback, Object)","u":"subscribeToMethodsAsync(com.microsoft.azure.sdk.iot.device.twin.MethodCallback,java.lang.Object,com.microsoft.azure.sdk.iot.device.twin.SubscriptionAcknowledgedCallback,java.lang.Object)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"IotHubStatusCode","l":"THROTTLED"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https.exceptions","c":"ThrottledException","l":"ThrottledException()","u":"%3Cinit%3E()"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https.exceptions","c":"ThrottledException","l":"ThrottledException(String)","u":"%3Cinit%3E(java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https.exceptions","c":"ThrottledException","l":"ThrottledException(String, Throwable)","u":"%3Cinit%3E(java.lang.String,java.lang.Throwable)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https.exceptions","c":"ThrottledException","l":"ThrottledException(Throwable)","u":"%3Cinit%3E(java.lang.Throwable)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"IotHubStatusCode","l":"toException(IotHubStatusCode)","u":"toException(com.microsoft.azure.sdk.iot.device.IotHubStatusCode)"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"TransportException","l":"toIotHubClientException()"},{"p":"com.microsoft.azure.sdk.iot.device.edge","c":"DirectMethodRequest","l":"toJson()"},{"p":"com.microsoft.azure.sdk.iot.device","c":"FileUploadCompletionNotification","l":"toJson()"},{"p":"com.microsoft.azure.sdk.iot.device","c":"FileUploadSasUriRequest","l":"toJson()"},{"p":"com.microsoft.azure.sdk.iot.device.hsm.parser","c":"SignRequest","l":"toJson()"},{"p":"com.microsoft.azure.sdk.iot.device.twin","c":"MethodParser","l":"toJson()"},{"p":"com.microsoft.azure.sdk.iot.device.twin","c":"MethodParser","l":"toJsonElement()"},{"p":"com.microsoft.azure.sdk.iot.device.twin","c":"Twin","l":"toJsonElement()"},{"p":"com.microsoft.azure.sdk.iot.device.twin","c":"TwinCollection","l":"toJsonElement()"},{"p":"com.microsoft.azure.sdk.iot.device.auth","c":"IotHubSasTokenAuthenticationProvider","l":"tokenValidSecs"},{"p":"com.microsoft.azure.sdk.iot.device.auth","c":"IotHubSasToken","l":"toString()"},{"p":"com.microsoft.azure.sdk.iot.device","c":"Message","l":"toString()"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https","c":"IotHubUri","l":"toString()"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"IotHubTransportMessage","l":"toString()"},{"p":"com.microsoft.azure.sdk.iot.device.twin","c":"Property","l":"toString()"},{"p":"com.microsoft.azure.sdk.iot.device.twin","c":"Twin","l":"toString()"},{"p":"com.microsoft.azure.sdk.iot.device.twin","c":"TwinCollection","l":"toString()"},{"p":"com.microsoft.azure.sdk.iot.device.twin","c":"TwinMetadata","l":"toString()"},{"p":"com.microsoft.azure.sdk.iot.device.twin","c":"TwinProperties","l":"toString()"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https","c":"IotHubUri","l":"toStringWithoutApiVersion()"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"TransportException","l":"TransportException()","u":"%3Cinit%3E()"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"TransportException","l":"TransportException(String)","u":"%3Cinit%3E(java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"TransportException","l":"TransportException(String, Throwable)","u":"%3Cinit%3E(java.lang.String,java.lang.Throwable)"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"TransportException","l":"TransportException(Throwable)","u":"%3Cinit%3E(java.lang.Throwable)"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"TransportUtils","l":"TransportUtils()","u":"%3Cinit%3E()"},{"p":"com.microsoft.azure.sdk.iot.device.hsm.parser","c":"TrustBundleResponse","l":"TrustBundleResponse()","u":"%3Cinit%3E()"},{"p":"com.microsoft.azure.sdk.iot.device.twin","c":"Twin","l":"Twin(TwinCollection, TwinCollection)","u":"%3Cinit%3E(com.microsoft.azure.sdk.iot.device.twin.TwinCollection,com.microsoft.azure.sdk.iot.device.twin.TwinCollection)"},{"p":"com.microsoft.azure.sdk.iot.device.twin","c":"TwinCache","l":"TwinCache()","u":"%3Cinit%3E()"},{"p":"com.microsoft.azure.sdk.iot.device.twin","c":"TwinCollection","l":"TwinCollection()","u":"%3Cinit%3E()"},{"p":"com.microsoft.azure.sdk.iot.device.twin","c":"TwinCollection","l":"TwinCollection(Map<? extends String, Object>)","u":"%3Cinit%3E(java.util.Map)"},{"p":"com.microsoft.azure.sdk.iot.device.twin","c":"TwinCollection","l":"TwinCollection(TwinCollection)","u":"%3Cinit%3E(com.microsoft.azure.sdk.iot.device.twin.TwinCollection)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"IotHubStatusCode","l":"UNAUTHORIZED"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https.exceptions","c":"UnauthorizedException","l":"UnauthorizedException()","u":"%3Cinit%3E()"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https.exceptions","c":"UnauthorizedException","l":"UnauthorizedException(String)","u":"%3Cinit%3E(java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https.exceptions","c":"UnauthorizedException","l":"UnauthorizedException(String, Throwable)","u":"%3Cinit%3E(java.lang.String,java.lang.Throwable)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https.exceptions","c":"UnauthorizedException","l":"UnauthorizedException(Throwable)","u":"%3Cinit%3E(java.lang.Throwable)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"MessageType","l":"UNKNOWN"},{"p":"com.microsoft.azure.sdk.iot.device","c":"MultiplexingClient","l":"unregisterDeviceClient(DeviceClient)","u":"unregisterDeviceClient(com.microsoft.azure.sdk.iot.device.DeviceClient)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"MultiplexingClient","l":"unregisterDeviceClient(DeviceClient, long)","u":"unregisterDeviceClient(com.microsoft.azure.sdk.iot.device.DeviceClient,long)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"MultiplexingClient","l":"unregisterDeviceClients(Iterable<DeviceClient>)","u":"unregisterDeviceClients(java.lang.Iterable)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"MultiplexingClient","l":"unregisterDeviceClients(Iterable<DeviceClient>, long)","u":"unregisterDeviceClients(java.lang.Iterable,long)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps","c":"AmqpsIotHubConnection","l":"unregisterMultiplexedDevice(ClientConfiguration, boolean)","u":"unregisterMultiplexedDevice(com.microsoft.azure.sdk.iot.device.ClientConfiguration,boolean)"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"IotHubTransport","l":"unregisterMultiplexedDeviceClient(List<ClientConfiguration>, long)","u":"unregisterMultiplexedDeviceClient(java.util.List,long)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"InternalClient","l":"updateReportedProperties(TwinCollection)","u":"updateReportedProperties(com.microsoft.azure.sdk.iot.device.twin.TwinCollection)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"InternalClient","l":"updateReportedProperties(TwinCollection, int)","u":"updateReportedProperties(com.microsoft.azure.sdk.iot.device.twin.TwinCollection,int)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"InternalClient","l":"updateReportedPropertiesAsync(TwinCollection, ReportedPropertiesCallback, Object)","u":"updateReportedPropertiesAsync(com.microsoft.azure.sdk.iot.device.twin.TwinCollection,com.microsoft.azure.sdk.iot.device.twin.ReportedPropertiesCallback,java.lang.Object)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"InternalClient","l":"updateReportedPropertiesAsync(TwinCollection, ReportedPropertiesUpdateCorrelatingMessageCallback, Object)","u":"updateReportedPropertiesAsync(com.microsoft.azure.sdk.iot.device.twin.TwinCollection,com.microsoft.azure.sdk.iot.device.twin.ReportedPropertiesUpdateCorrelatingMessageCallback,java.lang.Object)"},{"p":"com.microsoft.azure.sdk.iot.device.twin","c":"DeviceTwin","l":"updateReportedPropertiesAsync(TwinCollection, ReportedPropertiesUpdateCorrelatingMessageCallback, Object)","u":"updateReportedPropertiesAsync(com.microsoft.azure.sdk.iot.device.twin.TwinCollection,com.microsoft.azure.sdk.iot.device.twin.ReportedPropertiesUpdateCorrelatingMessageCallback,java.lang.Object)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"InternalClient","l":"updateReportedPropertiesStateAsync(TwinCollection, ReportedPropertiesCallback, Object)","u":"updateReportedPropertiesStateAsync(com.microsoft.azure.sdk.iot.device.twin.TwinCollection,com.microsoft.azure.sdk.iot.device.twin.ReportedPropertiesCallback,java.lang.Object)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"DeviceClient","l":"uploadToBlob(String, FileChannel)","u":"uploadToBlob(java.lang.String,java.nio.channels.FileChannel)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"DeviceClient","l":"uploadToBlob(String, FileChannel, BlobUploadOptions)","u":"uploadToBlob(java.lang.String,java.nio.channels.FileChannel,com.microsoft.azure.sdk.iot.device.BlobUploadOptions)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"DeviceClient","l":"uploadToBlob(String, InputStream)","u":"uploadToBlob(java.lang.String,java.io.InputStream)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"DeviceClient","l":"uploadToBlob(String, InputStream, BlobUploadOptions)","u":"uploadToBlob(java.lang.String,java.io.InputStream,com.microsoft.azure.sdk.iot.device.BlobUploadOptions)"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"TransportUtils","l":"USER_AGENT_STRING"},{"p":"com.microsoft.azure.sdk.iot.device.twin","c":"ParserUtility","l":"validateBlobName(String)","u":"validateBlobName(java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device.twin","c":"ParserUtility","l":"validateMap(Map<String, Object>)","u":"validateMap(java.util.Map)"},{"p":"com.microsoft.azure.sdk.iot.device.twin","c":"ParserUtility","l":"validateObject(Object)","u":"validateObject(java.lang.Object)"},{"p":"com.microsoft.azure.sdk.iot.device.twin","c":"ParserUtility","l":"validateQuery(String)","u":"validateQuery(java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device.twin","c":"ParserUtility","l":"validateStringUTF8(String)","u":"validateStringUTF8(java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"ClientConfiguration.AuthType","l":"valueOf(String)","u":"valueOf(java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"IotHubClientProtocol","l":"valueOf(String)","u":"valueOf(java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"IotHubConnectionStatusChangeReason","l":"valueOf(String)","u":"valueOf(java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"IotHubMessageResult","l":"valueOf(String)","u":"valueOf(java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"IotHubStatusCode","l":"valueOf(String)","u":"valueOf(java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"MessageType","l":"valueOf(String)","u":"valueOf(java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"OutboundQueueOverflowPolicy","l":"valueOf(String)","u":"valueOf(java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"PayloadCompression","l":"valueOf(String)","u":"valueOf(java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https","c":"HttpsMethod","l":"valueOf(String)","u":"valueOf(java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"IotHubConnectionStatus","l":"valueOf(String)","u":"valueOf(java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device.twin","c":"DeviceOperations","l":"valueOf(String)","u":"valueOf(java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device.twin","c":"MethodParser.Operation","l":"valueOf(String)","u":"valueOf(java.lang.String)"},{"p":"com.microsoft.azure.sdk.iot.device","c":"ClientConfiguration.AuthType","l":"values()"},{"p":"com.microsoft.azure.sdk.iot.device","c":"IotHubClientProtocol","l":"values()"},{"p":"com.microsoft.azure.sdk.iot.device","c":"IotHubConnectionStatusChangeReason","l":"values()"},{"p":"com.microsoft.azure.sdk.iot.device","c":"IotHubMessageResult","l":"values()"},{"p":"com.microsoft.azure.sdk.iot.device","c":"IotHubStatusCode","l":"values()"},{"p":"com.microsoft.azure.sdk.iot.device","c":"MessageType","l":"values()"},{"p":"com.microsoft.azure.sdk.iot.device","c":"OutboundQueueOverflowPolicy","l":"values()"},{"p":"com.microsoft.azure.sdk.iot.device","c":"PayloadCompression","l":"values()"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https","c":"HttpsMethod","l":"values()"},{"p":"com.microsoft.azure.sdk.iot.device.transport","c":"IotHubConnectionStatus","l":"values()"},{"p":"com.microsoft.azure.sdk.iot.device.twin","c":"DeviceOperations","l":"values()"},{"p":"com.microsoft.azure.sdk.iot.device.twin","c":"MethodParser.Operation","l":"values()"},{"p":"com.microsoft.azure.sdk.iot.device.hsm","c":"UnixDomainSocketChannel","l":"write(byte[])"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https","c":"HttpsConnection","l":"writeOutput(byte[])"},{"p":"com.microsoft.azure.sdk.iot.device","c":"ClientConfiguration.AuthType","l":"X509_CERTIFICATE"}];updateSearchResults();
\ No newline at end of file
@@ -0,0 +1 @@
+packageSearchIndex = [{"l":"All Packages","u":"allpackages-index.html"},{"l":"com.microsoft.azure.sdk.iot.device"},{"l":"com.microsoft.azure.sdk.iot.device.auth"},{"l":"com.microsoft.azure.sdk.iot.device.edge"},{"l":"com.microsoft.azure.sdk.iot.device.exceptions"},{"l":"com.microsoft.azure.sdk.iot.device.hsm"},{"l":"com.microsoft.azure.sdk.iot.device.hsm.parser"},{"l":"com.microsoft.azure.sdk.iot.device.transport"},{"l":"com.microsoft.azure.sdk.iot.device.transport.amqps"},{"l":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions"},{"l":"com.microsoft.azure.sdk.iot.device.transport.https"},{"l":"com.microsoft.azure.sdk.iot.device.transport.https.exceptions"},{"l":"com.microsoft.azure.sdk.iot.device.transport.mqtt"},{"l":"com.microsoft.azure.sdk.iot.device.transport.mqtt.exceptions"},{"l":"com.microsoft.azure.sdk.iot.device.twin"}];updateSearchResults();
\ No newline at end of file
@@ -0,0 +1 @@
+typeSearchIndex = [{"l":"All Classes and Interfaces","u":"allclasses-index.html"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","l":"AmqpConnectionForcedException"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","l":"AmqpConnectionFramingErrorException"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","l":"AmqpConnectionRedirectException"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","l":"AmqpConnectionThrottledException"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","l":"AmqpDecodeErrorException"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","l":"AmqpFrameSizeTooSmallException"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","l":"AmqpIllegalStateException"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","l":"AmqpInternalErrorException"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","l":"AmqpInvalidFieldException"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","l":"AmqpLinkCreationConflict"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","l":"AmqpLinkDetachForcedException"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","l":"AmqpLinkMessageSizeExceededException"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","l":"AmqpLinkRedirectException"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","l":"AmqpLinkStolenException"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","l":"AmqpLinkTransferLimitExceededException"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","l":"AmqpNotAllowedException"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","l":"AmqpNotFoundException"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","l":"AmqpNotImplementedException"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","l":"AmqpPreconditionFailedException"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","l":"AmqpResourceDeletedException"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","l":"AmqpResourceLimitExceededException"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","l":"AmqpResourceLockedException"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","l":"AmqpSessionErrantLinkException"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","l":"AmqpSessionHandleInUseException"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","l":"AmqpSessionUnattachedHandleException"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","l":"AmqpSessionWindowViolationException"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps","l":"AmqpsIotHubConnection"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps","l":"AmqpsMessage"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps","l":"AmqpsSendResult"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","l":"AmqpUnauthorizedAccessException"},{"p":"com.microsoft.azure.sdk.iot.device","l":"ClientConfiguration.AuthType"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https.exceptions","l":"BadFormatException"},{"p":"com.microsoft.azure.sdk.iot.device","l":"BatchMessage"},{"p":"com.microsoft.azure.sdk.iot.device","l":"BlobUploadOptions"},{"p":"com.microsoft.azure.sdk.iot.device","l":"ClientConfiguration"},{"p":"com.microsoft.azure.sdk.iot.device","l":"ClientOptions"},{"p":"com.microsoft.azure.sdk.iot.device","l":"ClientRuntime"},{"p":"com.microsoft.azure.sdk.iot.device","l":"ConnectionStatusChangeContext"},{"p":"com.microsoft.azure.sdk.iot.device","l":"CorrelatingMessageCallback"},{"p":"com.microsoft.azure.sdk.iot.device.twin","l":"DesiredPropertiesCallback"},{"p":"com.microsoft.azure.sdk.iot.device","l":"DeviceClient"},{"p":"com.microsoft.azure.sdk.iot.device.twin","l":"DeviceOperations"},{"p":"com.microsoft.azure.sdk.iot.device.twin","l":"DeviceTwin"},{"p":"com.microsoft.azure.sdk.iot.device.twin","l":"DirectMethod"},{"p":"com.microsoft.azure.sdk.iot.device.twin","l":"DirectMethodPayload"},{"p":"com.microsoft.azure.sdk.iot.device.edge","l":"DirectMethodRequest"},{"p":"com.microsoft.azure.sdk.iot.device.edge","l":"DirectMethodResponse"},{"p":"com.microsoft.azure.sdk.iot.device.twin","l":"DirectMethodResponse"},{"p":"com.microsoft.azure.sdk.iot.device.hsm.parser","l":"ErrorResponse"},{"p":"com.microsoft.azure.sdk.iot.device.transport","l":"ExponentialBackoffWithJitter"},{"p":"com.microsoft.azure.sdk.iot.device","l":"FileUploadCompletionNotification"},{"p":"com.microsoft.azure.sdk.iot.device","l":"FileUploadSasUriRequest"},{"p":"com.microsoft.azure.sdk.iot.device","l":"FileUploadSasUriResponse"},{"p":"com.microsoft.azure.sdk.iot.device.twin","l":"GetTwinCallback"},{"p":"com.microsoft.azure.sdk.iot.device.twin","l":"GetTwinCorrelatingMessageCallback"},{"p":"com.microsoft.azure.sdk.iot.device.hsm","l":"HttpHsmSignatureProvider"},{"p":"com.microsoft.azure.sdk.iot.device.transport","l":"HttpProxySocketFactory"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https","l":"HttpsConnection"},{"p":"com.microsoft.azure.sdk.iot.device.hsm","l":"HttpsHsmClient"},{"p":"com.microsoft.azure.sdk.iot.device.edge","l":"HttpsHsmTrustBundleProvider"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https","l":"HttpsIotHubConnection"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https","l":"HttpsMessage"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https","l":"HttpsMethod"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https","l":"HttpsRequest"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https","l":"HttpsResponse"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https","l":"HttpsTransportManager"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https.exceptions","l":"HubOrDeviceIdNotFoundException"},{"p":"com.microsoft.azure.sdk.iot.device","l":"InternalClient"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https.exceptions","l":"InternalServerErrorException"},{"p":"com.microsoft.azure.sdk.iot.device.auth","l":"IotHubAuthenticationProvider"},{"p":"com.microsoft.azure.sdk.iot.device.exceptions","l":"IotHubClientException"},{"p":"com.microsoft.azure.sdk.iot.device","l":"IotHubClientProtocol"},{"p":"com.microsoft.azure.sdk.iot.device.transport","l":"IotHubConnectionStatus"},{"p":"com.microsoft.azure.sdk.iot.device","l":"IotHubConnectionStatusChangeCallback"},{"p":"com.microsoft.azure.sdk.iot.device","l":"IotHubConnectionStatusChangeReason"},{"p":"com.microsoft.azure.sdk.iot.device","l":"IotHubConnectionString"},{"p":"com.microsoft.azure.sdk.iot.device.transport","l":"IotHubListener"},{"p":"com.microsoft.azure.sdk.iot.device","l":"IotHubMessageResult"},{"p":"com.microsoft.azure.sdk.iot.device.transport","l":"IotHubReceiveTask"},{"p":"com.microsoft.azure.sdk.iot.device.transport","l":"IotHubReconnectTask"},{"p":"com.microsoft.azure.sdk.iot.device.auth","l":"IotHubSasToken"},{"p":"com.microsoft.azure.sdk.iot.device.auth","l":"IotHubSasTokenAuthenticationProvider"},{"p":"com.microsoft.azure.sdk.iot.device.auth","l":"IotHubSasTokenHardwareAuthenticationProvider"},{"p":"com.microsoft.azure.sdk.iot.device.hsm","l":"IotHubSasTokenHsmAuthenticationProvider"},{"p":"com.microsoft.azure.sdk.iot.device.auth","l":"IotHubSasTokenProvidedAuthenticationProvider"},{"p":"com.microsoft.azure.sdk.iot.device.auth","l":"IotHubSasTokenSoftwareAuthenticationProvider"},{"p":"com.microsoft.azure.sdk.iot.device.auth","l":"IotHubSasTokenWithRefreshAuthenticationProvider"},{"p":"com.microsoft.azure.sdk.iot.device.transport","l":"IotHubSendTask"},{"p":"com.microsoft.azure.sdk.iot.device.transport","l":"IotHubServiceException"},{"p":"com.microsoft.azure.sdk.iot.device.auth","l":"IotHubSSLContext"},{"p":"com.microsoft.azure.sdk.iot.device","l":"IotHubStatusCode"},{"p":"com.microsoft.azure.sdk.iot.device.transport","l":"IotHubTransport"},{"p":"com.microsoft.azure.sdk.iot.device.transport","l":"IotHubTransportConnection"},{"p":"com.microsoft.azure.sdk.iot.device.transport","l":"IotHubTransportMessage"},{"p":"com.microsoft.azure.sdk.iot.device.transport","l":"IotHubTransportPacket"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https","l":"IotHubUri"},{"p":"com.microsoft.azure.sdk.iot.device.auth","l":"IotHubX509HardwareAuthenticationProvider"},{"p":"com.microsoft.azure.sdk.iot.device.auth","l":"IotHubX509SoftwareAuthenticationProvider"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps","l":"LoggingFlowController"},{"p":"com.microsoft.azure.sdk.iot.device","l":"Message"},{"p":"com.microsoft.azure.sdk.iot.device","l":"MessageCallback"},{"p":"com.microsoft.azure.sdk.iot.device","l":"MessageIdGenerator"},{"p":"com.microsoft.azure.sdk.iot.device","l":"MessageProperty"},{"p":"com.microsoft.azure.sdk.iot.device.transport","l":"IotHubTransport.MessageRetryRunnable"},{"p":"com.microsoft.azure.sdk.iot.device","l":"MessageSentCallback"},{"p":"com.microsoft.azure.sdk.iot.device","l":"MessagesSentCallback"},{"p":"com.microsoft.azure.sdk.iot.device","l":"MessageType"},{"p":"com.microsoft.azure.sdk.iot.device.twin","l":"MethodCallback"},{"p":"com.microsoft.azure.sdk.iot.device.twin","l":"MethodParser"},{"p":"com.microsoft.azure.sdk.iot.device","l":"ModuleClient"},{"p":"com.microsoft.azure.sdk.iot.device.transport.mqtt","l":"Mqtt"},{"p":"com.microsoft.azure.sdk.iot.device.transport.mqtt.exceptions","l":"MqttBadUsernameOrPasswordException"},{"p":"com.microsoft.azure.sdk.iot.device.transport.mqtt.exceptions","l":"MqttIdentifierRejectedException"},{"p":"com.microsoft.azure.sdk.iot.device.transport.mqtt.exceptions","l":"MqttInFlightLimitReachedException"},{"p":"com.microsoft.azure.sdk.iot.device.transport.mqtt","l":"MqttIotHubConnection"},{"p":"com.microsoft.azure.sdk.iot.device.transport.mqtt.exceptions","l":"MqttRejectedProtocolVersionException"},{"p":"com.microsoft.azure.sdk.iot.device.transport.mqtt.exceptions","l":"MqttServerUnavailableException"},{"p":"com.microsoft.azure.sdk.iot.device.transport.mqtt.exceptions","l":"MqttUnauthorizedException"},{"p":"com.microsoft.azure.sdk.iot.device.transport.mqtt.exceptions","l":"MqttUnexpectedErrorException"},{"p":"com.microsoft.azure.sdk.iot.device.transport","l":"MultiplexedDeviceState"},{"p":"com.microsoft.azure.sdk.iot.device","l":"MultiplexingClient"},{"p":"com.microsoft.azure.sdk.iot.device","l":"MultiplexingClientOptions"},{"p":"com.microsoft.azure.sdk.iot.device.exceptions","l":"MultiplexingClientRegistrationException"},{"p":"com.microsoft.azure.sdk.iot.device.transport","l":"MultiplexingDeviceUnauthorizedException"},{"p":"com.microsoft.azure.sdk.iot.device.transport","l":"NoRetry"},{"p":"com.microsoft.azure.sdk.iot.device.twin","l":"MethodParser.Operation"},{"p":"com.microsoft.azure.sdk.iot.device","l":"OutboundQueueOverflowPolicy"},{"p":"com.microsoft.azure.sdk.iot.device.transport.mqtt.exceptions","l":"PahoExceptionTranslator"},{"p":"com.microsoft.azure.sdk.iot.device.twin","l":"Pair"},{"p":"com.microsoft.azure.sdk.iot.device.twin","l":"ParserUtility"},{"p":"com.microsoft.azure.sdk.iot.device","l":"PayloadCompression"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https.exceptions","l":"PreconditionFailedException"},{"p":"com.microsoft.azure.sdk.iot.device","l":"ProductInfo"},{"p":"com.microsoft.azure.sdk.iot.device.twin","l":"Property"},{"p":"com.microsoft.azure.sdk.iot.device.transport","l":"ProtocolException"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps.exceptions","l":"ProtonIOException"},{"p":"com.microsoft.azure.sdk.iot.device","l":"ProxySettings"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https.exceptions","l":"QuotaExceededException"},{"p":"com.microsoft.azure.sdk.iot.device.transport.amqps","l":"ReactorRunner"},{"p":"com.microsoft.azure.sdk.iot.device.transport","l":"ReceivedMessageBuffer"},{"p":"com.microsoft.azure.sdk.iot.device.twin","l":"ReportedPropertiesCallback"},{"p":"com.microsoft.azure.sdk.iot.device.twin","l":"ReportedPropertiesDiffEngine"},{"p":"com.microsoft.azure.sdk.iot.device.twin","l":"ReportedPropertiesUpdateCorrelatingMessageCallback"},{"p":"com.microsoft.azure.sdk.iot.device.twin","l":"ReportedPropertiesUpdateResponse"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https.exceptions","l":"RequestEntityTooLargeException"},{"p":"com.microsoft.azure.sdk.iot.device.transport","l":"RetryDecision"},{"p":"com.microsoft.azure.sdk.iot.device.transport","l":"RetryPolicy"},{"p":"com.microsoft.azure.sdk.iot.device","l":"SasTokenProvider"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https.exceptions","l":"ServerBusyException"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https.exceptions","l":"ServiceUnknownException"},{"p":"com.microsoft.azure.sdk.iot.device.auth","l":"SignatureProvider"},{"p":"com.microsoft.azure.sdk.iot.device.hsm.parser","l":"SignRequest"},{"p":"com.microsoft.azure.sdk.iot.device.hsm.parser","l":"SignResponse"},{"p":"com.microsoft.azure.sdk.iot.device.twin","l":"SubscriptionAcknowledgedCallback"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https.exceptions","l":"ThrottledException"},{"p":"com.microsoft.azure.sdk.iot.device.transport","l":"TransportException"},{"p":"com.microsoft.azure.sdk.iot.device.transport","l":"TransportUtils"},{"p":"com.microsoft.azure.sdk.iot.device.edge","l":"TrustBundleProvider"},{"p":"com.microsoft.azure.sdk.iot.device.hsm.parser","l":"TrustBundleResponse"},{"p":"com.microsoft.azure.sdk.iot.device.twin","l":"Twin"},{"p":"com.microsoft.azure.sdk.iot.device.twin","l":"TwinCache"},{"p":"com.microsoft.azure.sdk.iot.device.twin","l":"TwinCollection"},{"p":"com.microsoft.azure.sdk.iot.device.twin","l":"TwinMetadata"},{"p":"com.microsoft.azure.sdk.iot.device.twin","l":"TwinProperties"},{"p":"com.microsoft.azure.sdk.iot.device.transport.https.exceptions","l":"UnauthorizedException"},{"p":"com.microsoft.azure.sdk.iot.device.hsm","l":"UnixDomainSocketChannel"},{"p":"com.microsoft.azure.sdk.iot.device.transport","l":"VirtualThreads"}];updateSearchResults();
\ No newline at end of file
@@ -0,0 +1,86 @@
+// Copyright (c) Microsoft. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package com.microsoft.azure.sdk.iot.device;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import javax.net.ssl.SSLContext;
+
+/**
+ * Options for how {@link DeviceClient#uploadToBlob(String, java.io.InputStream, BlobUploadOptions)} uploads a file to
+ * Azure Storage.
+ * <p>
+ * The file is read in blocks of {@link #blockSize} bytes, which are uploaded, up to {@link #maxConcurrency} at a time,
+ * and then committed as one block blob. At most {@link #maxBufferedBytes} bytes of the file are held in memory at once,
+ * so reading stops when the uploads fall behind.
+ */
+@Builder(toBuilder = true)
+public final class BlobUploadOptions
+{
+    private static final int DEFAULT_BLOCK_SIZE = 4 * 1024 * 1024;
+    private static final int DEFAULT_MAX_CONCURRENCY = 1;
+
+    // One block being uploaded and the next one being read
+    private static final long DEFAULT_MAX_BUFFERED_BYTES = 2L * DEFAULT_BLOCK_SIZE;
+    private static final int DEFAULT_MAX_RETRIES = 5;
+    private static final int DEFAULT_RETRY_DELAY_MILLISECONDS = 1000;
+
+    /**
+     * The size, in bytes, of each block of the file that is uploaded in its own request. Only the last block may be
+     * smaller. A block blob can have at most 50,000 blocks, so this limits the size of the file that can be uploaded
+     * to 50,000 times this size. By default, this value is 4 MB.
+     */
+    @Getter
+    @Builder.Default
+    private final int blockSize = DEFAULT_BLOCK_SIZE;
+
+    /**
+     * The maximum number of blocks that are uploaded at once. By default, this value is 1.
+     * <p>
+     * Uploading more blocks at once only helps when the round trip of each request to Azure Storage, rather than the
+     * device's own throughput, is what limits the upload. In the BlobUploadBenchmark, against a stand-in for Azure
+     * Storage on the same machine, a 2 GB file took about 4.1 seconds to upload one block at a time and about 5.7
+     * seconds four blocks at a time. Measure with the network the device actually uses before raising this, and raise
+     * {@link #maxBufferedBytes} along with it.
+     */
+    @Getter
+    @Builder.Default
+    private final int maxConcurrency = DEFAULT_MAX_CONCURRENCY;
+
+    /**
+     * The maximum number of bytes of the file that are read into memory at once, including the blocks that are being
+     * uploaded. Must be at least {@link #blockSize}. If it is less than {@link #maxConcurrency} blocks, then fewer
+     * blocks are uploaded at once. The HTTP stack may hold on to another copy of each block while it is being
+     * uploaded. By default, this value is 8 MB, so that the next block is read while one is being uploaded.
+     */
+    @Getter
+    @Builder.Default
+    private final long maxBufferedBytes = DEFAULT_MAX_BUFFERED_BYTES;
+
+    /**
+     * The number of times each request to Azure Storage is retried if it times out, fails to connect or is rejected
+     * with a status code of 408, 429 or 500 and above. Only the block that failed is uploaded again, not the blocks
+     * that were already uploaded. By default, this value is 5.
+     */
+    @Getter
+    @Builder.Default
+    private final int maxRetries = DEFAULT_MAX_RETRIES;
+
+    /**
+     * The time, in milliseconds, to wait before the first retry of a request. Each further retry of the same request
+     * waits twice as long as the one before it. By default, this value is 1 second.
+     */
+    @Getter
+    @Builder.Default
+    private final int retryDelayMilliseconds = DEFAULT_RETRY_DELAY_MILLISECONDS;
+
+    /**
+     * The SSL context to use for the requests to Azure Storage. Note that this is not the client's
+     * {@link ClientOptions#getSslContext()}, since that one may only trust IoT Hub's certificates. If null, the JVM's
+     * default SSL context is used. By default, this value is null.
+     */
+    @Getter
+    private final SSLContext sslContext;
+}
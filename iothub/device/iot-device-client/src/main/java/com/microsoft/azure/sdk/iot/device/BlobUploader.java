@@ -0,0 +1,378 @@
+// Copyright (c) Microsoft. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package com.microsoft.azure.sdk.iot.device;
+
+import com.microsoft.azure.sdk.iot.device.transport.HttpProxySocketFactory;
+import com.microsoft.azure.sdk.iot.device.transport.TransportException;
+import com.microsoft.azure.sdk.iot.device.transport.https.HttpsMethod;
+import com.microsoft.azure.sdk.iot.device.transport.https.HttpsRequest;
+import com.microsoft.azure.sdk.iot.device.transport.https.HttpsResponse;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSocketFactory;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLEncoder;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Uploads a file to a block blob with the Azure Storage REST API, given the blob's SAS URI from
+ * {@link FileUploadSasUriResponse#getBlobUri()}.
+ * <p>
+ * The file is read on the calling thread, one block at a time, into a bounded pool of buffers. Each block is uploaded
+ * with its own Put Block request on one of {@link BlobUploadOptions#getMaxConcurrency()} threads, and its buffer is
+ * handed back to the pool once it has been uploaded, so reading waits whenever the uploads fall behind. A request that
+ * fails is retried on its own, and once every block has been uploaded they are committed in order with a Put Block
+ * List request. Blocks that were uploaded but never committed are discarded by Azure Storage after a week.
+ */
+@Slf4j
+final class BlobUploader
+{
+    private static final String THREAD_NAME = "azure-iot-sdk-BlobUploader-";
+    private static final String STORAGE_API_VERSION_HEADER = "x-ms-version";
+    private static final String STORAGE_API_VERSION = "2019-12-12";
+
+    // A block blob can have at most this many committed blocks
+    static final int MAX_BLOCK_COUNT = 50000;
+
+    // The longest that any one retry waits, however many retries came before it
+    private static final long MAX_RETRY_DELAY_MILLISECONDS = 60 * 1000;
+
+    private final BlobUploadOptions options;
+    private final int bufferCount;
+    private final int threadCount;
+    private final ProxySettings proxySettings;
+    private final String userAgentString;
+    private final int connectTimeout;
+    private final int readTimeout;
+
+    // Shared by all requests so that they can reuse kept-alive connections to the storage account
+    private SSLSocketFactory sslSocketFactory;
+
+    /**
+     * Reads a file one block at a time.
+     */
+    interface BlockSource
+    {
+        /**
+         * Reads the next block of the file.
+         *
+         * @param buffer the buffer to read the block into.
+         * @return the number of bytes read, which is less than the length of the buffer only for the last block of the
+         * file, or 0 if there is nothing left to read.
+         * @throws IOException if the file can't be read.
+         */
+        int read(byte[] buffer) throws IOException;
+
+        static BlockSource of(InputStream inputStream)
+        {
+            return buffer ->
+            {
+                int length = 0;
+                while (length < buffer.length)
+                {
+                    int bytesRead = inputStream.read(buffer, length, buffer.length - length);
+                    if (bytesRead == -1)
+                    {
+                        break;
+                    }
+
+                    length += bytesRead;
+                }
+
+                return length;
+            };
+        }
+
+        static BlockSource of(FileChannel fileChannel)
+        {
+            return buffer ->
+            {
+                ByteBuffer byteBuffer = ByteBuffer.wrap(buffer);
+                while (byteBuffer.hasRemaining() && fileChannel.read(byteBuffer) != -1)
+                {
+                    // keep reading until the buffer is full or the end of the file
+                }
+
+                return byteBuffer.position();
+            };
+        }
+    }
+
+    /**
+     * @param options how to upload files. Must not be null.
+     * @param proxySettings the proxy to connect to Azure Storage through, or null to connect directly.
+     * @param userAgentString the user agent of the requests to Azure Storage.
+     * @param connectTimeout the connect timeout of each request in milliseconds, or 0 for no timeout.
+     * @param readTimeout the read timeout of each request in milliseconds, or 0 for no timeout.
+     * @throws IllegalArgumentException if any of the options are out of range.
+     */
+    BlobUploader(BlobUploadOptions options, ProxySettings proxySettings, String userAgentString, int connectTimeout, int readTimeout)
+    {
+        if (options == null)
+        {
+            throw new IllegalArgumentException("options cannot be null");
+        }
+
+        if (options.getBlockSize() < 1)
+        {
+            throw new IllegalArgumentException("blockSize must be greater than 0");
+        }
+
+        if (options.getMaxConcurrency() < 1)
+        {
+            throw new IllegalArgumentException("maxConcurrency must be greater than 0");
+        }
+
+        if (options.getMaxBufferedBytes() < options.getBlockSize())
+        {
+            throw new IllegalArgumentException("maxBufferedBytes must be greater than or equal to blockSize");
+        }
+
+        if (options.getMaxRetries() < 0)
+        {
+            throw new IllegalArgumentException("maxRetries must be greater than or equal to 0");
+        }
+
+        if (options.getRetryDelayMilliseconds() < 0)
+        {
+            throw new IllegalArgumentException("retryDelayMilliseconds must be greater than or equal to 0");
+        }
+
+        this.options = options;
+        this.bufferCount = (int) Math.min(options.getMaxBufferedBytes() / options.getBlockSize(), MAX_BLOCK_COUNT);
+        this.threadCount = Math.min(options.getMaxConcurrency(), this.bufferCount);
+        this.proxySettings = proxySettings;
+        this.userAgentString = userAgentString;
+        this.connectTimeout = connectTimeout;
+        this.readTimeout = readTimeout;
+    }
+
+    /**
+     * Uploads the file to the blob, replacing the blob if it already exists.
+     *
+     * @param blobUri the SAS URI of the blob, including its SAS token.
+     * @param source the file to upload.
+     * @throws IOException if the file couldn't be read, or if any request to Azure Storage still failed after it was
+     * retried.
+     * @throws InterruptedException if the calling thread was interrupted while waiting for the blocks to upload.
+     */
+    void upload(URI blobUri, BlockSource source) throws IOException, InterruptedException
+    {
+        String blobUrl = blobUri.toString();
+        String queryPrefix = blobUri.getRawQuery() == null ? "?" : "&";
+
+        BlockingQueue<byte[]> freeBuffers = new ArrayBlockingQueue<>(this.bufferCount);
+        int allocatedBufferCount = 0;
+        List<String> blockIds = new ArrayList<>();
+        AtomicReference<Exception> failure = new AtomicReference<>();
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> new Thread(runnable, THREAD_NAME + threadNumber.incrementAndGet());
+        ExecutorService executor = Executors.newFixedThreadPool(this.threadCount, threadFactory);
+
+        try
+        {
+            while (failure.get() == null)
+            {
+                // Buffers are only allocated as they are needed, so small files don't pay for the whole budget
+                byte[] buffer = freeBuffers.poll();
+                if (buffer == null && allocatedBufferCount < this.bufferCount)
+                {
+                    buffer = new byte[this.options.getBlockSize()];
+                    allocatedBufferCount++;
+                }
+                else if (buffer == null)
+                {
+                    buffer = freeBuffers.take();
+                }
+
+                int length = source.read(buffer);
+                if (length <= 0 || failure.get() != null)
+                {
+                    break;
+                }
+
+                if (blockIds.size() == MAX_BLOCK_COUNT)
+                {
+                    throw new IOException("The file has more than " + MAX_BLOCK_COUNT + " blocks of " + this.options.getBlockSize() + " bytes, which is more than a block blob can hold");
+                }
+
+                String blockId = blockId(blockIds.size());
+                blockIds.add(blockId);
+
+                final byte[] blockBuffer = buffer;
+                final URL putBlockUrl = toUrl(blobUrl + queryPrefix + "comp=block&blockid=" + URLEncoder.encode(blockId, StandardCharsets.UTF_8.name()));
+                final byte[] body = length == buffer.length ? buffer : Arrays.copyOf(buffer, length);
+                executor.execute(() ->
+                {
+                    try
+                    {
+                        this.sendWithRetries(putBlockUrl, body, "Put Block " + blockId);
+                    }
+                    catch (IOException | InterruptedException | RuntimeException e)
+                    {
+                        failure.compareAndSet(null, e);
+                    }
+                    finally
+                    {
+                        freeBuffers.offer(blockBuffer);
+                    }
+                });
+            }
+
+            executor.shutdown();
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+
+        Exception blockFailure = failure.get();
+        if (blockFailure instanceof IOException)
+        {
+            throw (IOException) blockFailure;
+        }
+        else if (blockFailure != null)
+        {
+            throw new IOException("Failed to upload a block of the file", blockFailure);
+        }
+
+        log.debug("Uploaded {} blocks to blob, committing them", blockIds.size());
+        this.sendWithRetries(toUrl(blobUrl + queryPrefix + "comp=blocklist"), buildBlockList(blockIds), "Put Block List");
+    }
+
+    private void sendWithRetries(URL url, byte[] body, String requestName) throws IOException, InterruptedException
+    {
+        long retryDelay = this.options.getRetryDelayMilliseconds();
+        for (int attempt = 0; ; attempt++)
+        {
+            IOException attemptFailure;
+            try
+            {
+                HttpsResponse response = this.send(url, body);
+                int status = response.getStatus();
+                if (status >= 200 && status < 300)
+                {
+                    return;
+                }
+
+                String errorReason = response.getErrorReason() == null ? "" : new String(response.getErrorReason(), StandardCharsets.UTF_8);
+                attemptFailure = new IOException(requestName + " request failed with status " + status + ": " + errorReason);
+                if (status != 408 && status != 429 && status < 500)
+                {
+                    throw attemptFailure;
+                }
+            }
+            catch (TransportException e)
+            {
+                attemptFailure = new IOException(requestName + " request failed", e);
+            }
+
+            if (attempt >= this.options.getMaxRetries())
+            {
+                throw attemptFailure;
+            }
+
+            log.debug("{} request failed, retrying in {} milliseconds", requestName, retryDelay, attemptFailure);
+            Thread.sleep(retryDelay);
+            retryDelay = Math.min(retryDelay * 2, MAX_RETRY_DELAY_MILLISECONDS);
+        }
+    }
+
+    private HttpsResponse send(URL url, byte[] body) throws TransportException
+    {
+        HttpsRequest request = new HttpsRequest(url, HttpsMethod.PUT, body, this.userAgentString, this.proxySettings);
+        request.setHeaderField(STORAGE_API_VERSION_HEADER, STORAGE_API_VERSION);
+        request.setConnectTimeout(this.connectTimeout);
+        request.setReadTimeout(this.readTimeout);
+
+        if (!"https".equalsIgnoreCase(url.getProtocol()))
+        {
+            // Only ever the case for a local stand-in for Azure Storage, since HttpsConnection only allows HTTP to localhost
+            return request.sendAsHttpRequest();
+        }
+
+        request.setSSLSocketFactory(this.getSSLSocketFactory());
+        return request.send();
+    }
+
+    private synchronized SSLSocketFactory getSSLSocketFactory() throws TransportException
+    {
+        if (this.sslSocketFactory == null)
+        {
+            SSLContext sslContext = this.options.getSslContext();
+            if (sslContext == null)
+            {
+                try
+                {
+                    sslContext = SSLContext.getDefault();
+                }
+                catch (NoSuchAlgorithmException e)
+                {
+                    throw new TransportException("Failed to get the default SSLContext", e);
+                }
+            }
+
+            SSLSocketFactory socketFactory = sslContext.getSocketFactory();
+            if (this.proxySettings != null)
+            {
+                socketFactory = new HttpProxySocketFactory(socketFactory, this.proxySettings);
+            }
+
+            this.sslSocketFactory = socketFactory;
+        }
+
+        return this.sslSocketFactory;
+    }
+
+    static String blockId(int blockIndex)
+    {
+        // All block ids of a blob must be the same length, so the index is zero padded
+        return Base64.getEncoder().encodeToString(String.format("block-%06d", blockIndex).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    static byte[] buildBlockList(List<String> blockIds)
+    {
+        StringBuilder blockList = new StringBuilder("<?xml version=\"1.0\" encoding=\"utf-8\"?><BlockList>");
+        for (String blockId : blockIds)
+        {
+            blockList.append("<Latest>").append(blockId).append("</Latest>");
+        }
+
+        return blockList.append("</BlockList>").toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static URL toUrl(String url) throws IOException
+    {
+        try
+        {
+            return new URL(url);
+        }
+        catch (MalformedURLException e)
+        {
+            throw new IOException("Invalid blob URL", e);
+        }
+    }
+}
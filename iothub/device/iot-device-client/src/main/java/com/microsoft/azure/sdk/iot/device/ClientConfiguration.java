@@ -7,6 +7,7 @@ import com.microsoft.azure.sdk.iot.device.transport.ExponentialBackoffWithJitter
 import com.microsoft.azure.sdk.iot.device.twin.Pair;
 import com.microsoft.azure.sdk.iot.device.auth.*;
 import com.microsoft.azure.sdk.iot.device.transport.RetryPolicy;
+import com.microsoft.azure.sdk.iot.device.transport.VirtualThreads;
 import com.microsoft.azure.sdk.iot.provisioning.security.SecurityProvider;
 import com.microsoft.azure.sdk.iot.provisioning.security.SecurityProviderSymmetricKey;
 import com.microsoft.azure.sdk.iot.provisioning.security.SecurityProviderTpm;
@@ -20,6 +21,7 @@ import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ScheduledExecutorService;
 
 import static com.microsoft.azure.sdk.iot.device.IotHubClientProtocol.*;
 
@@ -41,6 +43,10 @@ public final class ClientConfiguration
 
     public static final int DEFAULT_SEND_INTERVAL_IN_MILLISECONDS = 10;
 
+    // relatively arbitrary, but only because Paho doesn't have any particular recommendations here. Just a high enough
+    // value that users who are building a gateway type solution don't find this value to be a bottleneck.
+    public static final int DEFAULT_MQTT_MAX_IN_FLIGHT_MESSAGES = 65000;
+
     /** The default value for messageLockTimeoutSecs. */
     private static final int DEFAULT_MESSAGE_LOCK_TIMEOUT_SECS = 180;
 
@@ -71,6 +77,14 @@ public final class ClientConfiguration
     @Setter(AccessLevel.PACKAGE)
     private int httpsConnectTimeout = DEFAULT_HTTPS_CONNECT_TIMEOUT_MILLIS;
 
+    @Getter
+    private boolean httpsKeepAlive = false;
+
+    @Getter
+    private ClientRuntime clientRuntime;
+
+    private boolean useVirtualThreads;
+
     @Getter
     @Setter(AccessLevel.PACKAGE)
     private int amqpOpenAuthenticationSessionTimeout = DEFAULT_AMQP_OPEN_AUTHENTICATION_SESSION_TIMEOUT_IN_SECONDS;
@@ -87,6 +101,14 @@ public final class ClientConfiguration
     @Setter(AccessLevel.PACKAGE)
     private int sendInterval = DEFAULT_SEND_INTERVAL_IN_MILLISECONDS;
 
+    @Getter
+    private boolean amqpEventDrivenSend = false;
+
+    @Getter
+    private int mqttMaxInFlightMessages = DEFAULT_MQTT_MAX_IN_FLIGHT_MESSAGES;
+
+    private boolean mqttBlockOnMaxInFlightMessages = true;
+
     @Getter
     private String threadNameSuffix = null;
 
@@ -100,6 +122,16 @@ public final class ClientConfiguration
 
     private boolean logRoutineDisconnectsAsErrors = true;
 
+    @Getter
+    private MessageIdGenerator messageIdGenerator = new CountingMessageIdGenerator();
+
+    @Getter
+    private int reportedPropertiesCoalescingWindow;
+
+    // Null unless payload compression was set in the client options
+    @Getter(AccessLevel.PACKAGE)
+    private PayloadCodec payloadCodec;
+
     private IotHubAuthenticationProvider authenticationProvider;
 
     /**
@@ -226,16 +258,52 @@ public final class ClientConfiguration
         this.keepAliveInterval = clientOptions != null && clientOptions.getKeepAliveInterval() != 0 ? clientOptions.getKeepAliveInterval() : DEFAULT_KEEP_ALIVE_INTERVAL_IN_SECONDS;
         this.httpsReadTimeout = clientOptions != null && clientOptions.getHttpsReadTimeout() != 0 ? clientOptions.getHttpsReadTimeout() : DEFAULT_HTTPS_READ_TIMEOUT_MILLIS;
         this.httpsConnectTimeout = clientOptions != null && clientOptions.getHttpsConnectTimeout() != 0 ? clientOptions.getHttpsConnectTimeout() : DEFAULT_HTTPS_CONNECT_TIMEOUT_MILLIS;
+        this.httpsKeepAlive = clientOptions != null && clientOptions.isHttpsKeepAlive();
+        this.clientRuntime = clientOptions != null ? clientOptions.getClientRuntime() : null;
+        this.useVirtualThreads = clientOptions != null && clientOptions.isUsingVirtualThreads() && this.clientRuntime == null;
+        if (this.useVirtualThreads && !VirtualThreads.isSupported())
+        {
+            log.warn("Virtual threads were requested in the client options, but they require Java 21 or later. Platform threads will be used instead.");
+            this.useVirtualThreads = false;
+        }
         this.amqpOpenAuthenticationSessionTimeout = clientOptions != null && clientOptions.getAmqpAuthenticationSessionTimeout() != 0 ? clientOptions.getAmqpAuthenticationSessionTimeout() : DEFAULT_AMQP_OPEN_AUTHENTICATION_SESSION_TIMEOUT_IN_SECONDS;
         this.amqpOpenDeviceSessionsTimeout = clientOptions != null && clientOptions.getAmqpDeviceSessionTimeout() != 0 ? clientOptions.getAmqpDeviceSessionTimeout() : DEFAULT_AMQP_OPEN_DEVICE_SESSIONS_TIMEOUT_IN_SECONDS;
         this.proxySettings = clientOptions != null && clientOptions.getProxySettings() != null ? clientOptions.getProxySettings() : null;
         this.sendInterval = clientOptions != null && clientOptions.getSendInterval() != 0 ? clientOptions.getSendInterval() : DEFAULT_SEND_INTERVAL_IN_MILLISECONDS;
+        this.amqpEventDrivenSend = clientOptions != null && clientOptions.isAmqpEventDrivenSend();
+        this.mqttMaxInFlightMessages = clientOptions != null && clientOptions.getMqttMaxInFlightMessages() != 0 ? clientOptions.getMqttMaxInFlightMessages() : DEFAULT_MQTT_MAX_IN_FLIGHT_MESSAGES;
+        this.mqttBlockOnMaxInFlightMessages = clientOptions == null || clientOptions.isMqttBlockingOnMaxInFlightMessages();
         this.threadNamePrefix = clientOptions != null ? clientOptions.getThreadNamePrefix() : null;
         this.threadNameSuffix = clientOptions != null ? clientOptions.getThreadNameSuffix() : null;
         this.useIdentifiableThreadNames = clientOptions == null || clientOptions.isUsingIdentifiableThreadNames();
         this.logRoutineDisconnectsAsErrors = clientOptions == null || clientOptions.isLoggingRoutineDisconnectsAsErrors();
         this.messageExpiredCheckPeriod = clientOptions != null ? clientOptions.getMessageExpirationCheckPeriod() : DEFAULT_MESSAGE_EXPIRATION_CHECK_PERIOD;
 
+        if (clientOptions != null && clientOptions.getMessageIdGenerator() != null)
+        {
+            this.messageIdGenerator = clientOptions.getMessageIdGenerator();
+        }
+
+        if (clientOptions != null)
+        {
+            if (clientOptions.getReportedPropertiesCoalescingWindow() < 0)
+            {
+                throw new IllegalArgumentException("ClientOption reportedPropertiesCoalescingWindow must be greater than or equal to 0");
+            }
+
+            this.reportedPropertiesCoalescingWindow = clientOptions.getReportedPropertiesCoalescingWindow();
+        }
+
+        if (clientOptions != null && clientOptions.getPayloadCompression() != null && clientOptions.getPayloadCompression() != PayloadCompression.NONE)
+        {
+            if (clientOptions.getPayloadCompressionThreshold() < 0)
+            {
+                throw new IllegalArgumentException("ClientOption payloadCompressionThreshold must be greater than or equal to 0");
+            }
+
+            this.payloadCodec = new PayloadCodec(clientOptions.getPayloadCompression(), clientOptions.getPayloadCompressionThreshold());
+        }
+
         if (proxySettings != null)
         {
             IotHubClientProtocol protocol = this.getProtocol();
@@ -287,6 +355,11 @@ public final class ClientConfiguration
         {
             throw new IllegalArgumentException("ClientOption amqpDeviceSessionTimeout must be greater than 0");
         }
+
+        if (this.mqttMaxInFlightMessages <= 0)
+        {
+            throw new IllegalArgumentException("ClientOption mqttMaxInFlightMessages must be greater than 0");
+        }
     }
 
     ClientConfiguration(IotHubConnectionString iotHubConnectionString, IotHubClientProtocol protocol, SSLContext sslContext)
@@ -454,7 +527,7 @@ public final class ClientConfiguration
      */
     void setMessageCallback(MessageCallback callback, Object context)
     {
-        this.defaultDeviceTelemetryMessageCallback = callback;
+        this.defaultDeviceTelemetryMessageCallback = this.decompressingMessageCallback(callback);
         this.defaultDeviceTelemetryMessageContext = context;
     }
 
@@ -466,10 +539,29 @@ public final class ClientConfiguration
         }
         else
         {
-            this.inputChannelMessageCallbacks.put(inputName, new Pair<>(callback, context));
+            this.inputChannelMessageCallbacks.put(inputName, new Pair<>(this.decompressingMessageCallback(callback), context));
         }
     }
 
+    /**
+     * @return a callback that decompresses the body of each received message before handing it to the provided
+     * callback, or the provided callback if payload compression isn't set.
+     */
+    private MessageCallback decompressingMessageCallback(MessageCallback callback)
+    {
+        final PayloadCodec codec = this.payloadCodec;
+        if (callback == null || codec == null)
+        {
+            return callback;
+        }
+
+        return (message, callbackContext) ->
+        {
+            codec.decompress(message);
+            return callback.onCloudToDeviceMessageReceived(message, callbackContext);
+        };
+    }
+
     /**
      * Getter for the IoT Hub hostname.
      * @return the IoT Hub hostname.
@@ -529,6 +621,23 @@ public final class ClientConfiguration
         return identifierPrefix + "-" + this.deviceClientUniqueIdentifier;
     }
 
+    /**
+     * @return the scheduler of the {@link ClientRuntime} that this client shares with other clients, or null if this
+     * client runs its background work on its own threads.
+     */
+    public ScheduledExecutorService getSharedTaskScheduler()
+    {
+        return this.clientRuntime != null ? this.clientRuntime.getScheduler() : null;
+    }
+
+    /**
+     * @return true if this client starts virtual threads rather than platform threads for its background work.
+     */
+    public boolean isUsingVirtualThreads()
+    {
+        return this.useVirtualThreads;
+    }
+
     /**
      * Getter for the message callback.
      *
@@ -671,6 +780,12 @@ public final class ClientConfiguration
         return this.logRoutineDisconnectsAsErrors;
     }
 
+    public boolean isMqttBlockingOnMaxInFlightMessages()
+    {
+        // Using a manually written method here to override the name that Lombok would have given it
+        return this.mqttBlockOnMaxInFlightMessages;
+    }
+
     /**
      * Sets the device operation timeout
      * @param timeout the amount of time, in milliseconds, that a given device operation can last before expiring
@@ -7,8 +7,10 @@ import lombok.Builder;
 import lombok.Getter;
 
 import javax.net.ssl.SSLContext;
+import java.util.concurrent.Executor;
 
 import static com.microsoft.azure.sdk.iot.device.ClientConfiguration.DEFAULT_KEEP_ALIVE_INTERVAL_IN_SECONDS;
+import static com.microsoft.azure.sdk.iot.device.ClientConfiguration.DEFAULT_MQTT_MAX_IN_FLIGHT_MESSAGES;
 
 /**
  * Options that allow configuration of the device client instance during initialization.
@@ -81,6 +83,17 @@ public final class ClientOptions
     @Builder.Default
     private final int httpsConnectTimeout = DEFAULT_HTTPS_CONNECT_TIMEOUT_MILLISECONDS;
 
+    /**
+     * This option is only applicable for HTTPS.
+     * If true, all https requests made by this client share one socket factory so that the JDK can keep their
+     * connections alive and reuse them, instead of doing a new TLS handshake for each request. Kept-alive connections
+     * are pooled per host by the JDK, which keeps at most "http.maxConnections" (5 by default) idle connections per host.
+     * Since this client sends one request at a time, it only ever needs one of them. By default, this value is false.
+     */
+    @Getter
+    @Builder.Default
+    private final boolean httpsKeepAlive = false;
+
     /**
      * This option specifies the time to live (in seconds) for all SAS tokens generated for this client. By default,
      * this value is 1 hour.
@@ -137,6 +150,166 @@ public final class ClientOptions
     @Builder.Default
     private final int receiveInterval = RECEIVE_PERIOD_MILLIS;
 
+    /**
+     * This option is applicable to all protocols. This option specifies how many received messages this client holds on
+     * to, counting from when a message arrives until its callback has returned, before it stops asking the service for
+     * more. Over AMQP, the client stops giving the service link credit. Over MQTT, the client holds back the
+     * acknowledgements of the messages it has handled, which stops the service from sending more. Over HTTP, the client
+     * stops polling. A few messages that the service had already been allowed to send may still arrive after the limit
+     * is reached.
+     *
+     * If 0, the number of received messages is not limited. By default, this value is 0.
+     *
+     * If this client will be used in a multiplexed connection, this value is ignored in favor of the same setting in
+     * {@link MultiplexingClientOptions}.
+     */
+    @Getter
+    @Builder.Default
+    private final int receiveBufferMaxMessages = 0;
+
+    /**
+     * This option is applicable to all protocols. This option specifies how many bytes of received message body this
+     * client holds on to before it stops asking the service for more, in the same way as {@link #receiveBufferMaxMessages}.
+     *
+     * If 0, the number of bytes of received messages is not limited. By default, this value is 0.
+     *
+     * If this client will be used in a multiplexed connection, this value is ignored in favor of the same setting in
+     * {@link MultiplexingClientOptions}.
+     */
+    @Getter
+    @Builder.Default
+    private final long receiveBufferMaxBytes = 0;
+
+    /**
+     * This option is applicable to all protocols. This option specifies how many messages this client holds on to, from
+     * when each is sent until its callback is executed, before {@link #outboundQueueOverflowPolicy} applies to newly
+     * sent messages. This includes messages that are waiting to be sent, waiting for an acknowledgement from the
+     * service, or waiting to be retried, so it bounds how much memory queued messages take while the client is
+     * disconnected. Messages that this client sends on its own behalf, such as twin requests and direct method
+     * responses, count towards this limit as well.
+     *
+     * If 0, the number of queued messages is not limited. By default, this value is 0.
+     *
+     * If this client will be used in a multiplexed connection, this value is ignored in favor of the same setting in
+     * {@link MultiplexingClientOptions}.
+     */
+    @Getter
+    @Builder.Default
+    private final int outboundQueueMaxMessages = 0;
+
+    /**
+     * This option is applicable to all protocols. This option specifies how many bytes of message body this client holds
+     * on to for the messages counted by {@link #outboundQueueMaxMessages} before {@link #outboundQueueOverflowPolicy}
+     * applies to newly sent messages. A message that is larger than this limit is still queued if no other messages are.
+     *
+     * If 0, the number of bytes of queued messages is not limited. By default, this value is 0.
+     *
+     * If this client will be used in a multiplexed connection, this value is ignored in favor of the same setting in
+     * {@link MultiplexingClientOptions}.
+     */
+    @Getter
+    @Builder.Default
+    private final long outboundQueueMaxBytes = 0;
+
+    /**
+     * This option is applicable to all protocols. This option specifies what happens to a message that is sent while
+     * this client's queue of outgoing messages is at the limits set by {@link #outboundQueueMaxMessages} and
+     * {@link #outboundQueueMaxBytes}. Messages that are rejected or dropped complete their callback with
+     * {@link IotHubStatusCode#MESSAGE_DROPPED}. By default, this value is {@link OutboundQueueOverflowPolicy#REJECT}.
+     *
+     * If this client will be used in a multiplexed connection, this value is ignored in favor of the same setting in
+     * {@link MultiplexingClientOptions}.
+     */
+    @Getter
+    @Builder.Default
+    private final OutboundQueueOverflowPolicy outboundQueueOverflowPolicy = OutboundQueueOverflowPolicy.REJECT;
+
+    /**
+     * The executor that {@link MessageSentCallback}s run on. Callbacks for messages sent by this client run one at a
+     * time, in the order that their messages completed, but on the executor's threads rather than on the thread that
+     * sends messages. This keeps callbacks that are slow, such as ones that write to a database, from slowing down how
+     * fast this client sends messages. A backlog of callbacks that the executor hasn't run yet doesn't hold up sending,
+     * so the executor should keep up with the rate that messages are sent at.
+     *
+     * The same executor may be given to many clients, in which case callbacks for different clients may run in
+     * parallel. This client never shuts the executor down. If the executor rejects a callback, the callback runs on the
+     * thread that sends messages instead. By default, this value is null and callbacks run on the thread that sends
+     * messages.
+     */
+    @Getter
+    @Builder.Default
+    private final Executor messageSentCallbackExecutor = null;
+
+    /**
+     * The generator of the message id and correlation id for messages that this client sends without them. Ids are
+     * created when a message is queued to be sent, not when it is constructed, and a message that already has a
+     * message id or correlation id keeps it. By default, this value is null and each client creates ids from one random
+     * UUID followed by a counter, which avoids creating a random UUID for every message.
+     */
+    @Getter
+    @Builder.Default
+    private final MessageIdGenerator messageIdGenerator = null;
+
+    /**
+     * This option is applicable to all protocols. This option specifies how the bodies of telemetry messages sent by
+     * {@link InternalClient#sendEventAsync(Message, MessageSentCallback, Object)} and
+     * {@link InternalClient#sendEventsAsync(java.util.List, MessagesSentCallback, Object)} are compressed. A message is
+     * only compressed if its body is at least {@link #payloadCompressionThreshold} bytes, it doesn't already have a
+     * content encoding, and compressing makes it smaller. A compressed message's body is replaced with the compressed
+     * body and its content encoding is set to match, so the message that is handed to its {@link MessageSentCallback}
+     * is the compressed one.
+     *
+     * When this is not {@link PayloadCompression#NONE}, received messages whose content encoding is "gzip" or "deflate"
+     * are decompressed before they are handed to the message callback, and their content encoding is cleared.
+     *
+     * Note that IoT hub can't route messages on the contents of compressed bodies. By default, this value is
+     * {@link PayloadCompression#NONE}.
+     */
+    @Getter
+    @Builder.Default
+    private final PayloadCompression payloadCompression = PayloadCompression.NONE;
+
+    /**
+     * This option specifies the size, in bytes, that a message body must be at least for it to be compressed as set by
+     * {@link #payloadCompression}. Small bodies don't compress well, and may even grow. By default, this value is 1024.
+     */
+    @Getter
+    @Builder.Default
+    private final int payloadCompressionThreshold = 1024;
+
+    /**
+     * This option is applicable for AMQP.
+     * If true, queueing a message to send (or a completion/abandon/reject of a received message) wakes the AMQP
+     * connection's reactor thread right away so that it goes out on the wire without waiting for the next
+     * {@link #sendInterval} tick. The periodic tick is still kept as a fallback. By default, this value is false.
+     *
+     * If this client will be used in a multiplexed connection, this value is ignored in favor of the same setting in
+     * {@link MultiplexingClientOptions}.
+     */
+    @Getter
+    @Builder.Default
+    private final boolean amqpEventDrivenSend = false;
+
+    /**
+     * This option is applicable for MQTT.
+     * This option specifies the maximum number of published messages that can be waiting on an acknowledgement from the
+     * service at a time. See {@link #mqttBlockOnMaxInFlightMessages} for what happens when a message is sent while this
+     * many messages are in flight. The default value is 65000.
+     */
+    @Getter
+    @Builder.Default
+    private final int mqttMaxInFlightMessages = DEFAULT_MQTT_MAX_IN_FLIGHT_MESSAGES;
+
+    /**
+     * This option is applicable for MQTT.
+     * If true, sending a message while {@link #mqttMaxInFlightMessages} messages are in flight waits until one of them
+     * is acknowledged by the service. If false, that send fails right away with a retryable
+     * {@link com.microsoft.azure.sdk.iot.device.transport.mqtt.exceptions.MqttInFlightLimitReachedException}, and the
+     * message is retried according to the client's retry policy. By default, this value is true.
+     */
+    @Builder.Default
+    private final boolean mqttBlockOnMaxInFlightMessages = true;
+
     /**
      * The prefix that will be applied to the names of all threads created by this client. If
      * {@link #useIdentifiableThreadNames} is set to true, then this value is ignored and this client will create the
@@ -203,6 +376,81 @@ public final class ClientOptions
     @Builder.Default
     private final long messageExpirationCheckPeriod = 10000;
 
+    /**
+     * The runtime to run this client's background work on. Sending, receiving, reconnecting, checking for expired
+     * messages and cleaning up old callbacks are then done on the runtime's threads, which are shared with every other
+     * client given the same runtime, instead of on threads that this client starts for itself. This is useful in
+     * applications that run many clients that cannot be multiplexed. The runtime is not closed when this client is
+     * closed.
+     *
+     * Threads that the underlying protocol library starts for each connection, such as Paho's MQTT threads, are not
+     * affected by this option.
+     *
+     * If null, this client starts its own threads for this work. By default, this value is null.
+     *
+     * If this client will be used in a multiplexed connection, this value is ignored.
+     */
+    @Getter
+    @Builder.Default
+    private final ClientRuntime clientRuntime = null;
+
+    /**
+     * If true, the threads that this client starts to send messages, handle received messages, reconnect, check for
+     * expired messages and clean up old callbacks are virtual threads. The callbacks that this client executes, such as
+     * message sent callbacks and direct method callbacks, run on these threads. Since a virtual thread that waits for
+     * work doesn't hold on to an operating system thread, this allows an application to run many clients, and to call
+     * blocking methods such as {@link DeviceClient#sendEvent(Message)} from many threads of its own, without each
+     * waiting thread costing an operating system thread.
+     *
+     * Virtual threads require Java 21 or later. On older versions of Java, this value is ignored and a warning is
+     * logged. By default, this value is false.
+     *
+     * Threads that the underlying protocol library starts for each connection, such as Paho's MQTT threads, are not
+     * affected by this option. If {@link #clientRuntime} is set, or if this client will be used in a multiplexed
+     * connection, this value is ignored.
+     */
+    @Builder.Default
+    private final boolean useVirtualThreads = false;
+
+    /**
+     * This option is applicable for MQTT, MQTT_WS, AMQPS and AMQPS_WS.
+     * If true, this client keeps a local copy of its twin that {@link InternalClient#getCachedTwin()} returns. The copy
+     * is filled by the first twin that this client gets, and is then kept up to date from the desired property patches
+     * that the service sends and the reported property updates that this client sends, so that an application can read
+     * its twin after a reconnect without getting it from the service again.
+     *
+     * Patches are applied in the order of their "$version". If a patch shows that earlier patches were missed, for
+     * instance while this client was reconnecting, then this client gets the full twin once and hands all of its desired
+     * properties to the desired properties callback in place of the missed patches. Patches that the cache already has
+     * are not handed to the callback again. By default, this value is false.
+     */
+    @Builder.Default
+    private final boolean useTwinCache = false;
+
+    /**
+     * This option is applicable for MQTT, MQTT_WS, AMQPS and AMQPS_WS.
+     * The window, in milliseconds, that reported property updates made through
+     * {@link InternalClient#updateReportedPropertiesAsync(com.microsoft.azure.sdk.iot.device.twin.TwinCollection, com.microsoft.azure.sdk.iot.device.twin.ReportedPropertiesCallback, Object)}
+     * and its overloads are merged in. The window starts with the first update after the previous patch was sent, and
+     * once it has passed, all updates made in it are sent as one reported properties patch. An update to a property that
+     * was already updated in the window replaces the earlier value. The callback of each merged update is executed with
+     * the response to that patch.
+     *
+     * This saves requests and twin throttling quota for applications that update their reported properties often, at
+     * the cost of delaying each update by up to this window. Updates whose reported properties have a version can't be
+     * merged, and are sent right away after the updates that were made before them.
+     *
+     * Merged patches are sent on the scheduler thread of this client's {@link ClientRuntime}, or on one thread that all
+     * clients without a ClientRuntime share. With {@link OutboundQueueOverflowPolicy#BLOCK}, sending a patch while the
+     * outbound queue is full waits on that thread for room in the queue, which delays the patches of the other clients
+     * on it as well. Use another overflow policy along with this option if the outbound queue may fill up.
+     *
+     * If 0, each update is sent as its own patch. By default, this value is 0.
+     */
+    @Getter
+    @Builder.Default
+    private final int reportedPropertiesCoalescingWindow = 0;
+
     public boolean isUsingIdentifiableThreadNames()
     {
         // Using a manually written method here to override the name that Lombok would have given it
@@ -214,4 +462,22 @@ public final class ClientOptions
         // Using a manually written method here to override the name that Lombok would have given it
         return this.logRoutineDisconnectsAsErrors;
     }
+
+    public boolean isUsingVirtualThreads()
+    {
+        // Using a manually written method here to override the name that Lombok would have given it
+        return this.useVirtualThreads;
+    }
+
+    public boolean isUsingTwinCache()
+    {
+        // Using a manually written method here to override the name that Lombok would have given it
+        return this.useTwinCache;
+    }
+
+    public boolean isMqttBlockingOnMaxInFlightMessages()
+    {
+        // Using a manually written method here to override the name that Lombok would have given it
+        return this.mqttBlockOnMaxInFlightMessages;
+    }
 }
@@ -0,0 +1,88 @@
+// Copyright (c) Microsoft. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package com.microsoft.azure.sdk.iot.device;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A fixed size pool of threads that any number of {@link DeviceClient} and {@link ModuleClient} instances can run their
+ * background work on, given to each of them through {@link ClientOptions#getClientRuntime()}.
+ * <p>
+ * By default, each client starts its own threads to send messages, handle received messages, reconnect, check for
+ * expired messages and clean up old callbacks. Most of these threads spend their time waiting, but an application
+ * that runs thousands of clients that cannot be multiplexed still ends up with thousands of them. Clients that share a
+ * runtime instead only schedule this work on the runtime's threads when there is work to do. Each client's work is
+ * still done in order: its messages are sent, and its callbacks executed, one at a time, as they would be on its own
+ * threads.
+ * <p>
+ * A client that is reconnecting only holds on to one of the runtime's threads while it makes a connection attempt. It
+ * gives the thread back while it waits between attempts, and schedules its next attempt for when the wait is over.
+ * <p>
+ * The runtime is not closed when the clients using it are closed. It should be closed once all of them are.
+ */
+@Slf4j
+public final class ClientRuntime implements Closeable
+{
+    private static final String THREAD_NAME = "azure-iot-sdk-ClientRuntime-";
+
+    private final ScheduledThreadPoolExecutor scheduler;
+
+    /**
+     * Creates a runtime with as many threads as there are available processors.
+     */
+    public ClientRuntime()
+    {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates a runtime with the given number of threads.
+     *
+     * @param threadCount the number of threads that the clients using this runtime share. Must be greater than 0.
+     */
+    public ClientRuntime(int threadCount)
+    {
+        if (threadCount < 1)
+        {
+            throw new IllegalArgumentException("threadCount must be greater than 0");
+        }
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> new Thread(runnable, THREAD_NAME + threadNumber.incrementAndGet());
+
+        this.scheduler = new ScheduledThreadPoolExecutor(threadCount, threadFactory);
+
+        // Closed clients cancel their periodic work, which shouldn't linger in the queue until it was due to run
+        this.scheduler.setRemoveOnCancelPolicy(true);
+    }
+
+    /**
+     * @return the number of threads that the clients using this runtime share.
+     */
+    public int getThreadCount()
+    {
+        return this.scheduler.getCorePoolSize();
+    }
+
+    /**
+     * Stops the threads of this runtime. Any client still using this runtime will no longer send or receive anything.
+     */
+    @Override
+    public void close()
+    {
+        log.debug("Closing client runtime");
+        this.scheduler.shutdownNow();
+    }
+
+    ScheduledExecutorService getScheduler()
+    {
+        return this.scheduler;
+    }
+}
@@ -0,0 +1,24 @@
+// Copyright (c) Microsoft. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package com.microsoft.azure.sdk.iot.device;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The {@link MessageIdGenerator} that clients use when none is set in their {@link ClientOptions}. Each instance
+ * creates one random UUID up front and returns it followed by a counter, so creating an id doesn't need the shared
+ * {@link java.security.SecureRandom} that {@link UUID#randomUUID()} locks on.
+ */
+final class CountingMessageIdGenerator implements MessageIdGenerator
+{
+    private final String prefix = UUID.randomUUID().toString() + "-";
+    private final AtomicLong counter = new AtomicLong();
+
+    @Override
+    public String generateId()
+    {
+        return this.prefix + this.counter.incrementAndGet();
+    }
+}
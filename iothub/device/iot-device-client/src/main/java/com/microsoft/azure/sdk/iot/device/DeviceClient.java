@@ -11,6 +11,8 @@ import com.microsoft.azure.sdk.iot.provisioning.security.SecurityProvider;
 import lombok.extern.slf4j.Slf4j;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
 
 /**
  * <p>
@@ -260,6 +262,95 @@ public final class DeviceClient extends InternalClient
         this.fileUpload.sendNotification(notification);
     }
 
+    /**
+     * Upload the contents of a stream to a blob for this device, and notify IoT hub once it is done. This gets a file
+     * upload SAS URI from IoT hub, uploads the stream to Azure Storage in blocks with the default
+     * {@link BlobUploadOptions}, and then completes the file upload, successfully or otherwise. The stream is read to
+     * its end but is not closed.
+     * @param blobName The name of the blob to upload to.
+     * @param inputStream The contents to upload.
+     * @throws IotHubClientException If any of the requests to IoT hub fail, or if the upload to Azure Storage fails.
+     * @throws InterruptedException If this thread is interrupted while waiting for the upload to finish.
+     */
+    public void uploadToBlob(String blobName, InputStream inputStream) throws IotHubClientException, InterruptedException
+    {
+        this.uploadToBlob(blobName, inputStream, BlobUploadOptions.builder().build());
+    }
+
+    /**
+     * Upload the contents of a stream to a blob for this device, and notify IoT hub once it is done. This gets a file
+     * upload SAS URI from IoT hub, uploads the stream to Azure Storage in blocks, and then completes the file
+     * upload, successfully or otherwise. The stream is read to its end but is not closed.
+     * @param blobName The name of the blob to upload to.
+     * @param inputStream The contents to upload.
+     * @param options How to upload the contents to Azure Storage.
+     * @throws IotHubClientException If any of the requests to IoT hub fail, or if the upload to Azure Storage fails.
+     * @throws InterruptedException If this thread is interrupted while waiting for the upload to finish.
+     */
+    public void uploadToBlob(String blobName, InputStream inputStream, BlobUploadOptions options) throws IotHubClientException, InterruptedException
+    {
+        if (inputStream == null)
+        {
+            throw new IllegalArgumentException("inputStream cannot be null");
+        }
+
+        this.uploadToBlob(blobName, BlobUploader.BlockSource.of(inputStream), options);
+    }
+
+    /**
+     * Upload the contents of a file channel, from its current position to its end, to a blob for this device, and
+     * notify IoT hub once it is done. See {@link #uploadToBlob(String, InputStream)} for more details.
+     * @param blobName The name of the blob to upload to.
+     * @param fileChannel The contents to upload.
+     * @throws IotHubClientException If any of the requests to IoT hub fail, or if the upload to Azure Storage fails.
+     * @throws InterruptedException If this thread is interrupted while waiting for the upload to finish.
+     */
+    public void uploadToBlob(String blobName, FileChannel fileChannel) throws IotHubClientException, InterruptedException
+    {
+        this.uploadToBlob(blobName, fileChannel, BlobUploadOptions.builder().build());
+    }
+
+    /**
+     * Upload the contents of a file channel, from its current position to its end, to a blob for this device, and
+     * notify IoT hub once it is done. See {@link #uploadToBlob(String, InputStream, BlobUploadOptions)} for more details.
+     * @param blobName The name of the blob to upload to.
+     * @param fileChannel The contents to upload.
+     * @param options How to upload the contents to Azure Storage.
+     * @throws IotHubClientException If any of the requests to IoT hub fail, or if the upload to Azure Storage fails.
+     * @throws InterruptedException If this thread is interrupted while waiting for the upload to finish.
+     */
+    public void uploadToBlob(String blobName, FileChannel fileChannel, BlobUploadOptions options) throws IotHubClientException, InterruptedException
+    {
+        if (fileChannel == null)
+        {
+            throw new IllegalArgumentException("fileChannel cannot be null");
+        }
+
+        this.uploadToBlob(blobName, BlobUploader.BlockSource.of(fileChannel), options);
+    }
+
+    private void uploadToBlob(String blobName, BlobUploader.BlockSource source, BlobUploadOptions options) throws IotHubClientException, InterruptedException
+    {
+        if (blobName == null || blobName.isEmpty())
+        {
+            throw new IllegalArgumentException("blobName cannot be null or empty");
+        }
+
+        BlobUploader blobUploader = new BlobUploader(
+            options,
+            this.config.getProxySettings(),
+            this.config.getProductInfo().getUserAgentString(),
+            this.config.getHttpsConnectTimeout(),
+            this.config.getHttpsReadTimeout());
+
+        if (this.fileUpload == null)
+        {
+            this.fileUpload = new FileUpload(new HttpsTransportManager(this.config));
+        }
+
+        this.fileUpload.uploadToBlob(blobName, source, blobUploader);
+    }
+
     /**
      * Returns if this client is or ever was registered to a {@link MultiplexingClient} instance. Device clients that were
      * cannot be used in non-multiplexed connections. Device clients that aren't registered to any multiplexing client
@@ -9,6 +9,7 @@ import lombok.extern.slf4j.Slf4j;
 
 import javax.net.ssl.SSLContext;
 import java.util.List;
+import java.util.concurrent.Executor;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
@@ -36,6 +37,15 @@ final class DeviceIO implements IotHubConnectionStatusChangeCallback
     private ScheduledExecutorService sendTaskScheduler;
     private ScheduledExecutorService reconnectTaskScheduler;
 
+    // Only set if this client runs its tasks on a ClientRuntime that it shares with other clients. In that case none of
+    // the above schedulers are used.
+    private final SerialTask sharedSendTask;
+    private final SerialTask sharedReceiveTask;
+    private final SerialTask sharedReconnectTask;
+
+    // If true, the above schedulers run their tasks on virtual threads rather than platform threads
+    private final boolean useVirtualThreads;
+
     private IotHubConnectionStatus state;
 
     // This lock is used to keep calls to open/close/connection status changes synchronous.
@@ -68,6 +78,22 @@ final class DeviceIO implements IotHubConnectionStatusChangeCallback
         this.sendTask = new IotHubSendTask(this.transport, config.isUsingIdentifiableThreadNames(), config.getThreadNamePrefix(), config.getThreadNameSuffix());
         this.receiveTask = new IotHubReceiveTask(this.transport, config.isUsingIdentifiableThreadNames(), config.getThreadNamePrefix(), config.getThreadNameSuffix());
         this.reconnectTask = new IotHubReconnectTask(this.transport, config.isUsingIdentifiableThreadNames(), config.getThreadNamePrefix(), config.getThreadNameSuffix());
+        this.useVirtualThreads = config.isUsingVirtualThreads();
+
+        ScheduledExecutorService sharedTaskScheduler = config.getSharedTaskScheduler();
+        if (sharedTaskScheduler != null)
+        {
+            this.sharedSendTask = new SerialTask("Send task", sharedTaskScheduler, this::runSharedSendTask, this.sendPeriodInMilliseconds);
+            this.sharedReceiveTask = new SerialTask("Receive task", sharedTaskScheduler, this::runSharedReceiveTask, this.receivePeriodInMilliseconds);
+            this.sharedReconnectTask = new SerialTask("Reconnect task", sharedTaskScheduler, this::runSharedReconnectTask);
+            this.transport.setTaskWakeUpListeners(this.sharedSendTask::wakeUp, this.sharedReceiveTask::wakeUp, this.sharedReconnectTask::wakeUp);
+        }
+        else
+        {
+            this.sharedSendTask = null;
+            this.sharedReceiveTask = null;
+            this.sharedReconnectTask = null;
+        }
     }
 
     DeviceIO(
@@ -77,6 +103,7 @@ final class DeviceIO implements IotHubConnectionStatusChangeCallback
         ProxySettings proxySettings,
         int keepAliveInterval,
         int sendInterval,
+        boolean amqpEventDrivenSend,
         boolean useIdentifiableThreadNames,
         String threadNamePrefix,
         String threadNameSuffix,
@@ -91,6 +118,7 @@ final class DeviceIO implements IotHubConnectionStatusChangeCallback
             this,
             keepAliveInterval,
             sendInterval,
+            amqpEventDrivenSend,
             useIdentifiableThreadNames,
             threadNamePrefix,
             threadNameSuffix,
@@ -99,6 +127,12 @@ final class DeviceIO implements IotHubConnectionStatusChangeCallback
         this.sendTask = new IotHubSendTask(this.transport, useIdentifiableThreadNames, threadNamePrefix, threadNameSuffix);
         this.receiveTask = new IotHubReceiveTask(this.transport, useIdentifiableThreadNames, threadNamePrefix, threadNameSuffix);
         this.reconnectTask = new IotHubReconnectTask(this.transport, useIdentifiableThreadNames, threadNamePrefix, threadNameSuffix);
+
+        // Multiplexed connections always run their tasks on their own threads
+        this.sharedSendTask = null;
+        this.sharedReceiveTask = null;
+        this.sharedReconnectTask = null;
+        this.useVirtualThreads = false;
     }
 
     /**
@@ -145,6 +179,51 @@ final class DeviceIO implements IotHubConnectionStatusChangeCallback
         this.transport.setMaxNumberOfMessagesSentPerSendThread(maxNumberOfMessagesSentPerSendThread);
     }
 
+    void setOutboundQueueLimits(int maxMessages, long maxBytes, OutboundQueueOverflowPolicy overflowPolicy)
+    {
+        this.transport.setOutboundQueueLimits(maxMessages, maxBytes, overflowPolicy);
+    }
+
+    int getQueuedOutboundMessageCount()
+    {
+        return this.transport.getQueuedOutboundMessageCount();
+    }
+
+    long getQueuedOutboundMessageBytes()
+    {
+        return this.transport.getQueuedOutboundMessageBytes();
+    }
+
+    long getDroppedOutboundMessageCount()
+    {
+        return this.transport.getDroppedOutboundMessageCount();
+    }
+
+    void setMessageSentCallbackExecutor(Executor executor)
+    {
+        this.transport.setMessageSentCallbackExecutor(executor);
+    }
+
+    int getPendingMessageSentCallbackCount()
+    {
+        return this.transport.getPendingMessageSentCallbackCount();
+    }
+
+    void setReceiveBufferLimits(int maxMessages, long maxBytes)
+    {
+        this.transport.setReceiveBufferLimits(maxMessages, maxBytes);
+    }
+
+    int getBufferedReceivedMessageCount()
+    {
+        return this.transport.getBufferedReceivedMessageCount();
+    }
+
+    long getBufferedReceivedMessageBytes()
+    {
+        return this.transport.getBufferedReceivedMessageBytes();
+    }
+
     /**
      * Handles logic common to all open functions.
      */
@@ -154,10 +233,26 @@ final class DeviceIO implements IotHubConnectionStatusChangeCallback
         // check that any previous thread pools have been shut down.
         stopSendAndReceiveThreads();
 
+        if (this.sharedSendTask != null)
+        {
+            log.debug("Starting worker tasks on the shared client runtime");
+            this.sharedSendTask.start();
+            this.sharedReceiveTask.start();
+
+            // Like the reconnect thread pool below, this task stays active through disconnected_retrying
+            if (!this.sharedReconnectTask.isStarted())
+            {
+                this.sharedReconnectTask.start();
+            }
+
+            this.state = IotHubConnectionStatus.CONNECTED;
+            return;
+        }
+
         log.debug("Starting worker threads");
 
-        this.sendTaskScheduler = Executors.newScheduledThreadPool(1);
-        this.receiveTaskScheduler = Executors.newScheduledThreadPool(1);
+        this.sendTaskScheduler = this.newTaskScheduler();
+        this.receiveTaskScheduler = this.newTaskScheduler();
 
         // Note that even though these threads are scheduled at a fixed interval, the sender/receiver threads will wait
         // if no messages are available to process. These waiting threads will still count against the pool size defined above,
@@ -176,7 +271,7 @@ final class DeviceIO implements IotHubConnectionStatusChangeCallback
         // This is only set to null if the client as a whole has been closed. This thread pool stays active through disconnected_retrying.
         if (this.reconnectTaskScheduler == null)
         {
-            this.reconnectTaskScheduler = Executors.newScheduledThreadPool(1);
+            this.reconnectTaskScheduler = this.newTaskScheduler();
             this.reconnectTaskScheduler.scheduleWithFixedDelay(this.reconnectTask, 0,
                 receivePeriodInMilliseconds, TimeUnit.MILLISECONDS);
         }
@@ -184,8 +279,24 @@ final class DeviceIO implements IotHubConnectionStatusChangeCallback
         this.state = IotHubConnectionStatus.CONNECTED;
     }
 
+    private ScheduledExecutorService newTaskScheduler()
+    {
+        if (this.useVirtualThreads)
+        {
+            return Executors.newScheduledThreadPool(1, VirtualThreads.getThreadFactory());
+        }
+
+        return Executors.newScheduledThreadPool(1);
+    }
+
     private void stopSendAndReceiveThreads()
     {
+        if (this.sharedSendTask != null)
+        {
+            this.sharedSendTask.stop();
+            this.sharedReceiveTask.stop();
+        }
+
         if (this.sendTaskScheduler != null)
         {
             log.trace("Shutting down sendTaskScheduler");
@@ -203,6 +314,11 @@ final class DeviceIO implements IotHubConnectionStatusChangeCallback
 
     private void stopReconnectThreads()
     {
+        if (this.sharedReconnectTask != null)
+        {
+            this.sharedReconnectTask.stop();
+        }
+
         if (this.reconnectTaskScheduler != null)
         {
             log.trace("Shutting down reconnectTaskScheduler");
@@ -211,6 +327,56 @@ final class DeviceIO implements IotHubConnectionStatusChangeCallback
         }
     }
 
+    // The shared tasks below do the same work as IotHubSendTask, IotHubReceiveTask and IotHubReconnectTask, but rather
+    // than waiting on the transport's semaphores for work, they are woken up when the semaphores are released. The permits
+    // are drained first since any work they signalled is handled by the run that follows.
+
+    private boolean runSharedSendTask()
+    {
+        this.transport.getSendThreadSemaphore().drainPermits();
+        this.transport.sendMessages();
+        this.transport.invokeCallbacks();
+        return this.transport.hasMessagesToSend() || this.transport.hasCallbacksToExecute();
+    }
+
+    private boolean runSharedReceiveTask()
+    {
+        this.transport.getReceiveThreadSemaphore().drainPermits();
+        try
+        {
+            this.transport.handleMessage();
+        }
+        catch (TransportException e)
+        {
+            log.warn("Receive task encountered exception while processing received messages", e);
+        }
+
+        // HTTP is the only protocol where the SDK must actively poll for received messages
+        return this.transport.getProtocol() == IotHubClientProtocol.HTTPS || this.transport.hasReceivedMessagesToHandle();
+    }
+
+    // Unlike IotHubReconnectTask, this doesn't sleep between reconnection attempts, since that would keep a thread of the
+    // shared scheduler from the other clients' tasks. Each attempt is scheduled to run once its retry delay has passed.
+    private long runSharedReconnectTask()
+    {
+        this.transport.getReconnectThreadSemaphore().drainPermits();
+        if (this.transport.needsReconnect())
+        {
+            try
+            {
+                return this.transport.reconnectWithoutWaiting();
+            }
+            catch (InterruptedException e)
+            {
+                // likely means the client runtime is shutting down, and any reconnection attempts should be abandoned
+                log.trace("Interrupted while reconnecting");
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        return -1;
+    }
+
     /**
      * Completes all current outstanding requests and closes the IoT Hub client.
      * Must be called to terminate the background thread that is sending data to
@@ -286,11 +452,16 @@ final class DeviceIO implements IotHubConnectionStatusChangeCallback
 
         this.receivePeriodInMilliseconds = newIntervalInMilliseconds;
 
+        if (this.sharedReceiveTask != null)
+        {
+            this.sharedReceiveTask.setDelayMilliseconds(newIntervalInMilliseconds);
+        }
+
         if (this.receiveTaskScheduler != null)
         {
             // close the old scheduler and start a new one with the new receive period
             this.receiveTaskScheduler.shutdown();
-            this.receiveTaskScheduler = Executors.newScheduledThreadPool(1);
+            this.receiveTaskScheduler = this.newTaskScheduler();
             this.receiveTaskScheduler.scheduleAtFixedRate(this.receiveTask, 0,
                 this.receivePeriodInMilliseconds, TimeUnit.MILLISECONDS);
         }
@@ -311,11 +482,16 @@ final class DeviceIO implements IotHubConnectionStatusChangeCallback
 
         this.sendPeriodInMilliseconds = newIntervalInMilliseconds;
 
+        if (this.sharedSendTask != null)
+        {
+            this.sharedSendTask.setDelayMilliseconds(newIntervalInMilliseconds);
+        }
+
         if (this.sendTaskScheduler != null)
         {
             // close the old scheduler and start a new one with the new send period
             this.sendTaskScheduler.shutdown();
-            this.sendTaskScheduler = Executors.newScheduledThreadPool(1);
+            this.sendTaskScheduler = this.newTaskScheduler();
             this.sendTaskScheduler.scheduleAtFixedRate(this.sendTask, 0,
                 this.sendPeriodInMilliseconds, TimeUnit.MILLISECONDS);
         }
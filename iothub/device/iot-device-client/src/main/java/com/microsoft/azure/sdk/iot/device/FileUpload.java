@@ -11,6 +11,7 @@ import com.microsoft.azure.sdk.iot.device.transport.https.HttpsTransportManager;
 import lombok.extern.slf4j.Slf4j;
 
 import java.io.IOException;
+import java.net.URISyntaxException;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 
@@ -18,6 +19,8 @@ import java.nio.charset.StandardCharsets;
 final class FileUpload
 {
     private static final Charset DEFAULT_IOTHUB_MESSAGE_CHARSET = StandardCharsets.UTF_8;
+    private static final int FILE_UPLOAD_SUCCESS_STATUS_CODE = 200;
+    private static final int FILE_UPLOAD_FAILURE_STATUS_CODE = 500;
 
     private final HttpsTransportManager httpsTransportManager;
 
@@ -65,6 +68,48 @@ final class FileUpload
         }
     }
 
+    /**
+     * Gets a SAS URI for the blob, uploads the file to it and then notifies IoT hub that the upload is complete,
+     * whether it succeeded or not.
+     */
+    void uploadToBlob(String blobName, BlobUploader.BlockSource source, BlobUploader blobUploader) throws IotHubClientException, InterruptedException
+    {
+        FileUploadSasUriResponse sasUriResponse = this.getFileUploadSasUri(new FileUploadSasUriRequest(blobName));
+        String correlationId = sasUriResponse.getCorrelationId();
+
+        try
+        {
+            blobUploader.upload(sasUriResponse.getBlobUri(), source);
+        }
+        catch (IOException | URISyntaxException e)
+        {
+            IotHubClientException uploadException = new IotHubClientException(IotHubStatusCode.IO_ERROR, "Failed to upload file to blob " + blobName, e);
+            this.sendFailureNotification(correlationId, e.getMessage(), uploadException);
+            throw uploadException;
+        }
+        catch (InterruptedException e)
+        {
+            this.sendFailureNotification(correlationId, "File upload was interrupted", e);
+            throw e;
+        }
+
+        log.debug("Uploaded file to blob {}, notifying IoT hub", blobName);
+        this.sendNotification(new FileUploadCompletionNotification(correlationId, true, FILE_UPLOAD_SUCCESS_STATUS_CODE, "Success"));
+    }
+
+    private void sendFailureNotification(String correlationId, String statusDescription, Exception uploadException)
+    {
+        try
+        {
+            this.sendNotification(new FileUploadCompletionNotification(correlationId, false, FILE_UPLOAD_FAILURE_STATUS_CODE, statusDescription));
+        }
+        catch (IotHubClientException e)
+        {
+            log.warn("Failed to notify IoT hub that the upload to blob failed", e);
+            uploadException.addSuppressed(e);
+        }
+    }
+
     private String validateServiceStatusCode(HttpsResponse responseMessage) throws IotHubClientException
     {
         String responseMessagePayload = null;
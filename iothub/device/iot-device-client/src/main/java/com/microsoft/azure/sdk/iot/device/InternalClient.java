@@ -19,6 +19,8 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 
 import static com.microsoft.azure.sdk.iot.device.IotHubClientProtocol.HTTPS;
+import static com.microsoft.azure.sdk.iot.device.IotHubClientProtocol.MQTT;
+import static com.microsoft.azure.sdk.iot.device.IotHubClientProtocol.MQTT_WS;
 
 @Slf4j
 public class InternalClient
@@ -42,6 +44,12 @@ public class InternalClient
     private DeviceTwin twin;
     private DirectMethod method;
 
+    // Outlives the twin subscription, so that the cached twin survives reconnects. Null unless the twin cache is used.
+    private TwinCache twinCache;
+
+    private final ReportedPropertiesDiffEngine reportedPropertiesDiffEngine = new ReportedPropertiesDiffEngine();
+    private final Object reportedPropertiesStateLock = new Object();
+
     InternalClient(IotHubConnectionString iotHubConnectionString, IotHubClientProtocol protocol, ClientOptions clientOptions)
     {
         commonConstructorVerification(iotHubConnectionString, protocol);
@@ -122,6 +130,21 @@ public class InternalClient
                 throw new IllegalArgumentException("ClientOption receiveInterval must be greater than 0");
             }
 
+            if (clientOptions.getReceiveBufferMaxMessages() < 0 || clientOptions.getReceiveBufferMaxBytes() < 0)
+            {
+                throw new IllegalArgumentException("ClientOptions receiveBufferMaxMessages and receiveBufferMaxBytes cannot be negative");
+            }
+
+            if (clientOptions.getOutboundQueueMaxMessages() < 0 || clientOptions.getOutboundQueueMaxBytes() < 0)
+            {
+                throw new IllegalArgumentException("ClientOptions outboundQueueMaxMessages and outboundQueueMaxBytes cannot be negative");
+            }
+
+            if (clientOptions.getOutboundQueueOverflowPolicy() == null)
+            {
+                throw new IllegalArgumentException("ClientOption outboundQueueOverflowPolicy cannot be null");
+            }
+
             if (clientOptions.getProxySettings() != null)
             {
                 if (this.isMultiplexed)
@@ -137,6 +160,14 @@ public class InternalClient
             this.deviceIO.setMaxNumberOfMessagesSentPerSendThread(clientOptions.getMessagesSentPerSendInterval());
             this.deviceIO.setSendPeriodInMilliseconds(clientOptions.getSendInterval());
             this.deviceIO.setReceivePeriodInMilliseconds(clientOptions.getReceiveInterval());
+            this.deviceIO.setReceiveBufferLimits(clientOptions.getReceiveBufferMaxMessages(), clientOptions.getReceiveBufferMaxBytes());
+            this.deviceIO.setOutboundQueueLimits(clientOptions.getOutboundQueueMaxMessages(), clientOptions.getOutboundQueueMaxBytes(), clientOptions.getOutboundQueueOverflowPolicy());
+            this.deviceIO.setMessageSentCallbackExecutor(clientOptions.getMessageSentCallbackExecutor());
+
+            if (clientOptions.isUsingTwinCache())
+            {
+                this.twinCache = new TwinCache();
+            }
         }
     }
 
@@ -171,6 +202,13 @@ public class InternalClient
         this.deviceIO.close();
         this.method = null;
         this.twin = null;
+
+        // The pooled compressors hold on to native memory until they are ended
+        PayloadCodec payloadCodec = this.config.getPayloadCodec();
+        if (payloadCodec != null)
+        {
+            payloadCodec.close();
+        }
     }
 
     /**
@@ -241,7 +279,7 @@ public class InternalClient
     /**
      * Synchronously sends a batch of messages to IoT hub
      *
-     * This operation is only supported over HTTPS.
+     * This operation is only supported over HTTPS, MQTT and MQTT_WS.
      *
      * Maximum payload size for HTTPS is 255KB
      *
@@ -250,7 +288,7 @@ public class InternalClient
      * @throws InterruptedException if the operation is interrupted while waiting on the telemetry to be acknowledged by the service.
      * @throws IllegalStateException if the client has not been opened yet or is already closed.
      * @throws IotHubClientException if the request is rejected by the service for any reason of if the synchronous operation times out.
-     * @throws UnsupportedOperationException if the client is not using HTTPS.
+     * @throws UnsupportedOperationException if the client is using AMQPS or AMQPS_WS.
      */
     public void sendEvents(List<Message> messages)
             throws InterruptedException, IllegalStateException, IotHubClientException, UnsupportedOperationException
@@ -261,7 +299,7 @@ public class InternalClient
     /**
      * Synchronously sends a batch of messages to IoT hub
      *
-     * This operation is only supported over HTTPS.
+     * This operation is only supported over HTTPS, MQTT and MQTT_WS.
      *
      * Maximum payload size for HTTPS is 255KB
      *
@@ -272,7 +310,7 @@ public class InternalClient
      * @throws InterruptedException if the operation is interrupted while waiting on the telemetry to be acknowledged by the service.
      * @throws IllegalStateException if the client has not been opened yet or is already closed.
      * @throws IotHubClientException if the request is rejected by the service for any reason of if the synchronous operation times out.
-     * @throws UnsupportedOperationException if the client is not using HTTPS.
+     * @throws UnsupportedOperationException if the client is using AMQPS or AMQPS_WS.
      */
     public void sendEvents(List<Message> messages, int timeoutMilliseconds)
             throws InterruptedException, IllegalStateException, IotHubClientException, UnsupportedOperationException
@@ -534,6 +572,31 @@ public class InternalClient
         return twinAtomicReference.get();
     }
 
+    /**
+     * Get this client's locally cached twin, without making a request to the service. The cache is filled by the first
+     * twin that this client gets, either from {@link #getTwin()} or one of its overloads, or from the request that the
+     * first desired property patch triggers. After that, the cache is kept up to date from desired property patches and
+     * reported property updates, and outlives reconnects.
+     *
+     * <p>
+     * Desired property patches that were missed while this client was disconnected are only detected when the next
+     * patch arrives, at which point the full twin is fetched again. Call {@link #getTwin()} to make sure the cache is
+     * up to date.
+     * </p>
+     *
+     * @return A copy of the cached twin, or null if this client hasn't got its twin yet.
+     * @throws IllegalStateException if this client was not created with {@link ClientOptions#isUsingTwinCache()} set.
+     */
+    public Twin getCachedTwin() throws IllegalStateException
+    {
+        if (this.twinCache == null)
+        {
+            throw new IllegalStateException("The twin cache is only available if this client was created with the useTwinCache client option");
+        }
+
+        return this.twinCache.getTwin();
+    }
+
     /**
      * Subscribes to direct methods.
      * <p>
@@ -633,14 +696,22 @@ public class InternalClient
     {
         verifyRegisteredIfMultiplexing();
         message.setConnectionDeviceId(this.config.getDeviceId());
+        this.compressIfNeeded(message);
         deviceIO.sendEventAsync(message, callback, callbackContext, this.config.getDeviceId());
     }
 
     /**
      * Asynchronously sends a batch of messages to the IoT hub
      *
-     * This operation is only supported over HTTPS. This API call is an all-or-nothing single HTTPS message and the
-     * callback will be triggered once this batch message has been sent.
+     * This operation is only supported over HTTPS, MQTT and MQTT_WS. Over HTTPS, this API call is an all-or-nothing
+     * single HTTPS message and the callback will be triggered once this batch message has been sent. Over MQTT, each
+     * message is published right after the other and the callback will be triggered once every message has been
+     * acknowledged by the service.
+     *
+     * Over MQTT, delivery is at least once. If the connection is lost before every message of the batch was
+     * acknowledged, the whole batch is published again once the client reconnects, so the service may get some of its
+     * messages twice. If publishing fails partway through the batch without the connection being lost, only the
+     * messages that were not published yet are published again.
      *
      * Maximum payload size for HTTPS is 255KB
      *
@@ -652,7 +723,7 @@ public class InternalClient
      *
      * @throws IllegalArgumentException if the message provided is {@code null}.
      * @throws IllegalStateException if the client has not been opened yet or is already closed.
-     * @throws UnsupportedOperationException if the client is not using HTTPS.
+     * @throws UnsupportedOperationException if the client is using AMQPS or AMQPS_WS.
      */
     public void sendEventsAsync(List<Message> messages, MessagesSentCallback callback, Object callbackContext)
         throws IllegalStateException, UnsupportedOperationException
@@ -668,9 +739,15 @@ public class InternalClient
         MessageSentCallback messageSentCallback =
                 (sentMessage, clientException, callbackContext1) -> callback.onMessagesSent(messages, clientException, callbackContext1);
 
-        if (this.config.getProtocol() != HTTPS)
+        IotHubClientProtocol protocol = this.config.getProtocol();
+        if (protocol != HTTPS && protocol != MQTT && protocol != MQTT_WS)
         {
-            throw new UnsupportedOperationException("Batch messaging is only supported over HTTPS");
+            throw new UnsupportedOperationException("Batch messaging is only supported over HTTPS, MQTT and MQTT_WS");
+        }
+
+        for (Message message : messages)
+        {
+            this.compressIfNeeded(message);
         }
 
         Message message = new BatchMessage(messages);
@@ -711,7 +788,7 @@ public class InternalClient
             throw new IllegalStateException("Open the client connection before using it");
         }
 
-        this.twin = new DeviceTwin(this);
+        this.twin = new DeviceTwin(this, this.twinCache);
         this.twin.subscribeToDesiredPropertiesAsync(
             subscriptionAcknowledgedCallback,
             desiredPropertiesSubscriptionCallbackContext,
@@ -773,6 +850,91 @@ public class InternalClient
             callbackContext);
     }
 
+    /**
+     * Report the full reported state of this client asynchronously. Rather than sending the whole state, this client only
+     * sends the properties that changed since the last state that was sent through this method, and a null for each
+     * property that is no longer in the state, which deletes it. The first state is sent in full. The properties of an
+     * update that failed are sent again with the next update. This client must have subscribed to desired properties
+     * before this method can be called.
+     *
+     * <p>
+     * If nothing changed since the last state that was sent, no request is sent, and the callback is executed right away
+     * on the calling thread with {@link IotHubStatusCode#OK} and the last reported properties version that the service
+     * answered with.
+     * </p>
+     *
+     * @param reportedPropertiesState The full reported state of this client. Properties of a previously reported state
+     * that are not in this one are deleted. The state is copied, so it may be changed once this method returns.
+     * @param reportedPropertiesCallback The callback to be executed once the reported properties update request
+     * has been acknowledged by the service.
+     * @param callbackContext The context that will be included in the callback of reportedPropertiesCallback. May be null.
+     * @throws IllegalArgumentException if the reported properties state or the callback is null.
+     * @throws IllegalStateException if this client is not open or if this client has not subscribed to desired properties yet.
+     */
+    public void updateReportedPropertiesStateAsync(
+        TwinCollection reportedPropertiesState,
+        ReportedPropertiesCallback reportedPropertiesCallback,
+        Object callbackContext)
+            throws IllegalStateException
+    {
+        if (reportedPropertiesCallback == null)
+        {
+            throw new IllegalArgumentException("Reported properties callback cannot be null");
+        }
+
+        TwinCollection patch;
+        synchronized (this.reportedPropertiesStateLock)
+        {
+            // Each patch builds on the one before it, so patches are queued in the order they are computed in
+            patch = this.reportedPropertiesDiffEngine.diff(reportedPropertiesState);
+            if (!patch.isEmpty())
+            {
+                sendReportedPropertiesStatePatch(patch, reportedPropertiesCallback, callbackContext);
+                return;
+            }
+        }
+
+        log.trace("Reported properties state has not changed since it was last sent, so no update is sent");
+        reportedPropertiesCallback.onReportedPropertiesUpdateAcknowledged(
+            IotHubStatusCode.OK,
+            new ReportedPropertiesUpdateResponse(this.reportedPropertiesDiffEngine.getAcknowledgedVersion()),
+            null,
+            callbackContext);
+    }
+
+    private void sendReportedPropertiesStatePatch(
+        TwinCollection patch,
+        ReportedPropertiesCallback reportedPropertiesCallback,
+        Object callbackContext)
+    {
+        // The patch is sent as it is, so a copy is kept for the engine in case the patch fails
+        TwinCollection sentPatch = new TwinCollection(patch);
+        try
+        {
+            this.updateReportedPropertiesAsync(
+                patch,
+                (statusCode, response, e, context) ->
+                {
+                    if (e == null && IotHubStatusCode.isSuccessful(statusCode))
+                    {
+                        this.reportedPropertiesDiffEngine.onAcknowledged(response != null ? response.getVersion() : null);
+                    }
+                    else
+                    {
+                        this.reportedPropertiesDiffEngine.onFailed(sentPatch);
+                    }
+
+                    reportedPropertiesCallback.onReportedPropertiesUpdateAcknowledged(statusCode, response, e, context);
+                },
+                callbackContext);
+        }
+        catch (RuntimeException e)
+        {
+            this.reportedPropertiesDiffEngine.onFailed(sentPatch);
+            throw e;
+        }
+    }
+
     /**
      * Patch this client's twin with the provided reported properties asynchronously. This client must have subscribed
      * to desired properties before this method can be called.
@@ -797,7 +959,7 @@ public class InternalClient
     {
         if (this.twin == null)
         {
-            this.twin = new DeviceTwin(this);
+            this.twin = new DeviceTwin(this, this.twinCache);
         }
 
         this.twin.updateReportedPropertiesAsync(reportedProperties, reportedPropertiesUpdateCorrelatingMessageCallback, callbackContext);
@@ -875,7 +1037,7 @@ public class InternalClient
 
         if (this.twin == null)
         {
-            this.twin = new DeviceTwin(this);
+            this.twin = new DeviceTwin(this, this.twinCache);
         }
 
         this.twin.getTwinAsync(twinCallback, callbackContext);
@@ -923,6 +1085,52 @@ public class InternalClient
         this.method.subscribeToDirectMethods(methodCallback, methodCallbackContext);
     }
 
+    /**
+     * Subscribes to direct methods, and hands each invocation to the callback that the dispatcher has for its method
+     * name, on that callback's executor.
+     * <p>
+     * Unlike with {@link #subscribeToMethodsAsync(MethodCallback, Object, SubscriptionAcknowledgedCallback, Object)},
+     * the methods don't run on the thread that receives messages from the service, so a slow method doesn't hold up other
+     * methods or cloud to device messages. Each response is sent once its method returns.
+     * </p>
+     * <p>
+     * This call can only be made after the client has been successfully opened.
+     * </p>
+     * <p>
+     * This subscription is preserved between reconnect attempts. However, it is not preserved after a client has
+     * been closed because the user called {@link #close()} or because this client lost its connection and its retry
+     * policy was exhausted.
+     * </p>
+     * @param methodDispatcher The dispatcher with the method callbacks. Cannot be {@code null}.
+     * @param methodStatusCallback Callback for providing IotHub status for direct methods. Cannot be {@code null}.
+     * @param methodStatusCallbackContext Context for device method status callback. Can be {@code null}.
+     *
+     * @throws IllegalStateException if called when client is not opened.
+     * @throws IllegalArgumentException if the dispatcher or the callback is null.
+     */
+    public void subscribeToMethodsAsync(
+        DirectMethodDispatcher methodDispatcher,
+        SubscriptionAcknowledgedCallback methodStatusCallback,
+        Object methodStatusCallbackContext)
+            throws IllegalStateException
+    {
+        verifyRegisteredIfMultiplexing();
+        verifyMethodsAreSupported();
+
+        if (!this.deviceIO.isOpen())
+        {
+            throw new IllegalStateException("Open the client connection before using it");
+        }
+
+        if (methodDispatcher == null || methodStatusCallback == null)
+        {
+            throw new IllegalArgumentException("Dispatcher and callback cannot be null");
+        }
+
+        this.method = new DirectMethod(this, methodStatusCallback, methodStatusCallbackContext);
+        this.method.subscribeToDirectMethods(methodDispatcher);
+    }
+
     /**
      * Sets the callback to be executed when the connection status of the device changes. The callback will be fired
      * with a status and a reason why the device's status changed. When the callback is fired, the provided context will
@@ -973,6 +1181,73 @@ public class InternalClient
         this.config.setOperationTimeout(timeout);
     }
 
+    /**
+     * Get the number of messages that this client is holding on to, from when each was sent until its callback was
+     * queued. See {@link ClientOptions#getOutboundQueueMaxMessages()}.
+     *
+     * @return the number of messages that this client is holding on to.
+     */
+    public int getQueuedOutboundMessageCount()
+    {
+        return this.deviceIO.getQueuedOutboundMessageCount();
+    }
+
+    /**
+     * Get the number of bytes of message body that this client is holding on to for the messages counted by
+     * {@link #getQueuedOutboundMessageCount()}. See {@link ClientOptions#getOutboundQueueMaxBytes()}.
+     *
+     * @return the number of bytes of message body that this client is holding on to.
+     */
+    public long getQueuedOutboundMessageBytes()
+    {
+        return this.deviceIO.getQueuedOutboundMessageBytes();
+    }
+
+    /**
+     * Get the number of messages that this client has rejected or dropped because its queue of outgoing messages was
+     * full. See {@link ClientOptions#getOutboundQueueOverflowPolicy()}.
+     *
+     * @return the number of messages that this client has rejected or dropped.
+     */
+    public long getDroppedOutboundMessageCount()
+    {
+        return this.deviceIO.getDroppedOutboundMessageCount();
+    }
+
+    /**
+     * Get the number of message sent callbacks that this client has handed to its message sent callback executor and
+     * that haven't finished running yet. See {@link ClientOptions#getMessageSentCallbackExecutor()}.
+     *
+     * @return the number of message sent callbacks that are waiting for or running on the executor, or 0 if no executor
+     * was set.
+     */
+    public int getPendingMessageSentCallbackCount()
+    {
+        return this.deviceIO.getPendingMessageSentCallbackCount();
+    }
+
+    /**
+     * Get the number of received messages that this client is holding on to, from when each message arrived until its
+     * callback returned. See {@link ClientOptions#getReceiveBufferMaxMessages()}.
+     *
+     * @return the number of received messages that this client is holding on to.
+     */
+    public int getBufferedReceivedMessageCount()
+    {
+        return this.deviceIO.getBufferedReceivedMessageCount();
+    }
+
+    /**
+     * Get the number of bytes of received message body that this client is holding on to, from when each message
+     * arrived until its callback returned. See {@link ClientOptions#getReceiveBufferMaxBytes()}.
+     *
+     * @return the number of bytes of received message body that this client is holding on to.
+     */
+    public long getBufferedReceivedMessageBytes()
+    {
+        return this.deviceIO.getBufferedReceivedMessageBytes();
+    }
+
     public ProductInfo getProductInfo()
     {
         return this.config.getProductInfo();
@@ -1076,6 +1351,18 @@ public class InternalClient
         }
     }
 
+    private void compressIfNeeded(Message message)
+    {
+        // Twin and direct method messages go through sendEventAsync too, but only telemetry bodies are compressed
+        PayloadCodec payloadCodec = this.config.getPayloadCodec();
+        if (payloadCodec != null
+            && message.getMessageType() != MessageType.DEVICE_TWIN
+            && message.getMessageType() != MessageType.DEVICE_METHODS)
+        {
+            payloadCodec.compress(message);
+        }
+    }
+
     private void verifyRegisteredIfMultiplexing()
     {
         // deviceIO is only ever null when a client was registered to a multiplexing client, became unregistered, and hasn't be re-registered yet.
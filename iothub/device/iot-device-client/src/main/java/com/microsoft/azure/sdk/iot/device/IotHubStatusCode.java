@@ -92,7 +92,14 @@ public enum IotHubStatusCode
      * The request failed because it took longer than the device operation timeout as defined in {@link DeviceClient#setOperationTimeout(long)}
      * or took longer than the timeout as defined in a synchronous operation such as {@link DeviceClient#sendEvent(Message, int)}.
      */
-    DEVICE_OPERATION_TIMED_OUT;
+    DEVICE_OPERATION_TIMED_OUT,
+
+    /**
+     * The request was not sent because the client's queue of outgoing messages was full. It was either rejected when it
+     * was sent, or dropped from the queue to make room for a newer message, as configured by
+     * {@link ClientOptions#getOutboundQueueOverflowPolicy()}.
+     */
+    MESSAGE_DROPPED;
 
     public static IotHubServiceException getConnectionStatusException(IotHubStatusCode statusCode, String statusDescription)
     {
@@ -102,6 +109,7 @@ public enum IotHubStatusCode
             case OK:
             case MESSAGE_CANCELLED_ONCLOSE:
             case MESSAGE_EXPIRED:
+            case MESSAGE_DROPPED:
                 transportException = null;
                 break;
             case BAD_FORMAT:
@@ -212,6 +220,7 @@ public enum IotHubStatusCode
             case SERVER_BUSY:
             case IO_ERROR:
             case DEVICE_OPERATION_TIMED_OUT:
+            case MESSAGE_DROPPED:
                 return true;
             default:
                 return false; // even for OK case, return false here since it wouldn't need to be retried.
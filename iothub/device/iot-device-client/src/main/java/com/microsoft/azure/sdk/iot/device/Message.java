@@ -5,13 +5,15 @@ package com.microsoft.azure.sdk.iot.device;
 
 import lombok.Getter;
 import lombok.Setter;
+import com.microsoft.azure.sdk.iot.device.internal.MessageBodyAccessor;
 import lombok.extern.slf4j.Slf4j;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
-import java.text.SimpleDateFormat;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
 import java.util.*;
 
 @Slf4j
@@ -21,11 +23,33 @@ public class Message
 
     public static final Charset DEFAULT_IOTHUB_MESSAGE_CHARSET = StandardCharsets.UTF_8;
 
-    private static final String DATE_TIME_FORMAT = "yyyy-MM-dd_HH:mm:ss.SSSSSSS";
+    // IoT Hub takes 7 fractional digits, but Date only has milliseconds, so the first 4 are always 0
+    private static final DateTimeFormatter CREATION_TIME_UTC_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.'0000'SSS'Z'");
 
     private static final String SECURITY_CLIENT_JSON_ENCODING = "application/json";
 
-    private static final String UTC_TIMEZONE = "UTC";
+    static
+    {
+        // The transports are in other packages, so they read bodies without copying them through MessageBodyAccessor
+        BodyAccessor.registerAccessor();
+    }
+
+    /**
+     * The only {@link MessageBodyAccessor}, which hands the transports the body of a message without copying it.
+     */
+    private static final class BodyAccessor extends MessageBodyAccessor
+    {
+        static void registerAccessor()
+        {
+            register(new BodyAccessor());
+        }
+
+        @Override
+        protected byte[] readBody(Message message)
+        {
+            return message.getBody();
+        }
+    }
 
     // ----- Data Fields -----
 
@@ -120,6 +144,16 @@ public class Message
     @Setter
     String componentName;
 
+    /**
+     * The priority of this message relative to the other messages that the client has queued to send, where higher
+     * values are more important. This value is never sent to the service. It is only used to choose which message to
+     * drop when the client's queue of outgoing messages is full and its overflow policy is
+     * {@link OutboundQueueOverflowPolicy#DROP_LOWEST_PRIORITY}. By default, this value is 0.
+     */
+    @Getter
+    @Setter
+    private int priority;
+
     // ----- Constructors -----
 
     /**
@@ -200,6 +234,34 @@ public class Message
         return bodyClone;
     }
 
+    /**
+     * The body itself, not a copy, so it must not be modified. Used by the client to compress and decompress message
+     * bodies, and by the transports through {@link MessageBodyAccessor}.
+     * @return this Message's body, or null if it has no body.
+     */
+    byte[] getBody()
+    {
+        return this.body;
+    }
+
+    /**
+     * Replaces the body of this message. Used by the client to compress and decompress message bodies.
+     * @param body the new body.
+     */
+    void setBody(byte[] body)
+    {
+        this.body = body;
+    }
+
+    /**
+     * The length of the body, without copying it.
+     * @return the number of bytes in this Message's body, or 0 if it has no body.
+     */
+    public int getBodyLength()
+    {
+        return this.body != null ? this.body.length : 0;
+    }
+
     /**
      * Gets the values of user-defined properties of this Message.
      * @param name Name of the user-defined property to search for.
@@ -280,8 +342,6 @@ public class Message
      */
     private void initialize()
     {
-        this.messageId = UUID.randomUUID().toString();
-        this.correlationId = UUID.randomUUID().toString();
         this.properties = new ArrayList<>();
         this.isSecurityClient = false;
     }
@@ -316,8 +376,9 @@ public class Message
     }
 
     /**
-     * Getter for the messageId property
-     * @return The property value
+     * Getter for the messageId property. A message that is sent without a messageId is given one by the client's
+     * {@link MessageIdGenerator} when it is queued to be sent.
+     * @return The property value, or null if it hasn't been set or given one yet
      */
     public String getMessageId()
     {
@@ -339,8 +400,9 @@ public class Message
     }
 
     /**
-     * Getter for the correlationId property
-     * @return The property value
+     * Getter for the correlationId property. A message that is sent without a correlationId is given one by the
+     * client's {@link MessageIdGenerator} when it is queued to be sent.
+     * @return The property value, or an empty string if it hasn't been set or given one yet
      */
     public String getCorrelationId()
     {
@@ -361,6 +423,16 @@ public class Message
         this.correlationId = correlationId;
     }
 
+    /**
+     * Getter for the expiryTime property
+     * @return The absolute time, in milliseconds since epoch, that the message expires at. 0 if the message doesn't
+     * expire.
+     */
+    public long getExpiryTime()
+    {
+        return this.expiryTime;
+    }
+
     /**
      * Setter for the expiryTime property. This setter uses relative time, not absolute time.
      * @param timeOut The time out for the message, in milliseconds, from the current time.
@@ -555,9 +627,7 @@ public class Message
             return null;
         }
 
-        SimpleDateFormat sdf = new SimpleDateFormat(DATE_TIME_FORMAT);
-        sdf.setTimeZone(TimeZone.getTimeZone(UTC_TIMEZONE));
-        return sdf.format(this.creationTimeUTC).replace("_", "T") + "Z";
+        return CREATION_TIME_UTC_FORMATTER.format(this.creationTimeUTC.toInstant().atOffset(ZoneOffset.UTC));
     }
 
     public final void setCreationTimeUTC(Date creationTimeUTC)
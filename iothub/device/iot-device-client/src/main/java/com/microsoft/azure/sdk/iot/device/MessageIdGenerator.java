@@ -0,0 +1,23 @@
+// Copyright (c) Microsoft. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package com.microsoft.azure.sdk.iot.device;
+
+/**
+ * The interface that defines how this client creates the message id and correlation id of a {@link Message} that is
+ * sent without them. Set with {@link ClientOptions#getMessageIdGenerator()}.
+ * <p>
+ * Ids are created when a message is queued to be sent rather than when it is constructed, so messages that already
+ * have a message id and correlation id never call this. This may be called by many threads at once, so
+ * implementations must be thread safe, and they should not block.
+ */
+@FunctionalInterface
+public interface MessageIdGenerator
+{
+    /**
+     * Creates an id for a message that is about to be sent.
+     *
+     * @return a non-empty id that is unique among all the ids that this generator has returned.
+     */
+    String generateId();
+}
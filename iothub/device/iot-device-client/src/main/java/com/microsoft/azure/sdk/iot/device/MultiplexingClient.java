@@ -7,6 +7,7 @@ import lombok.extern.slf4j.Slf4j;
 
 import javax.net.ssl.SSLContext;
 import java.util.*;
+import java.util.concurrent.Executor;
 
 import static com.microsoft.azure.sdk.iot.device.ClientConfiguration.DEFAULT_KEEP_ALIVE_INTERVAL_IN_SECONDS;
 import static com.microsoft.azure.sdk.iot.device.ClientConfiguration.DEFAULT_SEND_INTERVAL_IN_MILLISECONDS;
@@ -102,10 +103,17 @@ public class MultiplexingClient
         int sendMessagesPerThread = options != null ? options.getMaxMessagesSentPerSendInterval() : DEFAULT_MAX_MESSAGES_TO_SEND_PER_THREAD;
         int keepAliveInterval = options != null ? options.getKeepAliveInterval() : DEFAULT_KEEP_ALIVE_INTERVAL_IN_SECONDS;
         int sendInterval = (int) (options != null ? options.getSendInterval() : DEFAULT_SEND_INTERVAL_IN_MILLISECONDS);
+        boolean amqpEventDrivenSend = options != null && options.isAmqpEventDrivenSend();
         String threadNamePrefix = options != null ? options.getThreadNamePrefix() : null;
         String threadNameSuffix = options != null ? options.getThreadNameSuffix() : null;
         boolean useIdentifiableThreadNames = options == null || options.isUsingIdentifiableThreadNames();
         long messageExpiredCheckPeriod = options != null ? options.getMessageExpirationCheckPeriod() : DEFAULT_MESSAGE_EXPIRATION_CHECK_PERIOD;
+        int receiveBufferMaxMessages = options != null ? options.getReceiveBufferMaxMessages() : 0;
+        long receiveBufferMaxBytes = options != null ? options.getReceiveBufferMaxBytes() : 0;
+        int outboundQueueMaxMessages = options != null ? options.getOutboundQueueMaxMessages() : 0;
+        long outboundQueueMaxBytes = options != null ? options.getOutboundQueueMaxBytes() : 0;
+        OutboundQueueOverflowPolicy outboundQueueOverflowPolicy = options != null ? options.getOutboundQueueOverflowPolicy() : OutboundQueueOverflowPolicy.REJECT;
+        Executor messageSentCallbackExecutor = options != null ? options.getMessageSentCallbackExecutor() : null;
 
         if (sendPeriod < 0)
         {
@@ -139,6 +147,7 @@ public class MultiplexingClient
             proxySettings,
             keepAliveInterval,
             sendInterval,
+            amqpEventDrivenSend,
             useIdentifiableThreadNames,
             threadNamePrefix,
             threadNameSuffix,
@@ -147,6 +156,9 @@ public class MultiplexingClient
         this.deviceIO.setMaxNumberOfMessagesSentPerSendThread(sendMessagesPerThread);
         this.deviceIO.setSendPeriodInMilliseconds(sendPeriod);
         this.deviceIO.setReceivePeriodInMilliseconds(receivePeriod);
+        this.deviceIO.setReceiveBufferLimits(receiveBufferMaxMessages, receiveBufferMaxBytes);
+        this.deviceIO.setOutboundQueueLimits(outboundQueueMaxMessages, outboundQueueMaxBytes, outboundQueueOverflowPolicy);
+        this.deviceIO.setMessageSentCallbackExecutor(messageSentCallbackExecutor);
     }
 
     /**
@@ -194,7 +206,15 @@ public class MultiplexingClient
 
             // Note that this method does not close each of the registered device client instances. This is intentional
             // as the calls to deviceClient.close() do nothing besides close the deviceIO layer, which is already closed
-            // by the above code.
+            // by the above code. Their pooled compressors, which hold on to native memory, are ended here instead.
+            for (DeviceClient deviceClient : this.multiplexedDeviceClients.values())
+            {
+                PayloadCodec payloadCodec = deviceClient.getConfig().getPayloadCodec();
+                if (payloadCodec != null)
+                {
+                    payloadCodec.close();
+                }
+            }
 
             log.info("Successfully closed multiplexing client");
         }
@@ -712,6 +732,67 @@ public class MultiplexingClient
         }
     }
 
+    /**
+     * Get the number of messages, across all the registered devices, that this client is holding on to from when each
+     * was sent until its callback was queued. See {@link MultiplexingClientOptions#getOutboundQueueMaxMessages()}.
+     * @return The number of messages that this client is holding on to.
+     */
+    public int getQueuedOutboundMessageCount()
+    {
+        return this.deviceIO.getQueuedOutboundMessageCount();
+    }
+
+    /**
+     * Get the number of bytes of message body that this client is holding on to for the messages counted by
+     * {@link #getQueuedOutboundMessageCount()}. See {@link MultiplexingClientOptions#getOutboundQueueMaxBytes()}.
+     * @return The number of bytes of message body that this client is holding on to.
+     */
+    public long getQueuedOutboundMessageBytes()
+    {
+        return this.deviceIO.getQueuedOutboundMessageBytes();
+    }
+
+    /**
+     * Get the number of messages, across all the registered devices, that this client has rejected or dropped because
+     * its queue of outgoing messages was full. See {@link MultiplexingClientOptions#getOutboundQueueOverflowPolicy()}.
+     * @return The number of messages that this client has rejected or dropped.
+     */
+    public long getDroppedOutboundMessageCount()
+    {
+        return this.deviceIO.getDroppedOutboundMessageCount();
+    }
+
+    /**
+     * Get the number of message sent callbacks, across all the registered devices, that this client has handed to its
+     * message sent callback executor and that haven't finished running yet. See
+     * {@link MultiplexingClientOptions#getMessageSentCallbackExecutor()}.
+     * @return The number of message sent callbacks that are waiting for or running on the executor.
+     */
+    public int getPendingMessageSentCallbackCount()
+    {
+        return this.deviceIO.getPendingMessageSentCallbackCount();
+    }
+
+    /**
+     * Get the number of received messages, across all the registered devices, that this client is holding on to. See
+     * {@link MultiplexingClientOptions#getReceiveBufferMaxMessages()}.
+     * @return The number of received messages that this client is holding on to.
+     */
+    public int getBufferedReceivedMessageCount()
+    {
+        return this.deviceIO.getBufferedReceivedMessageCount();
+    }
+
+    /**
+     * Get the number of bytes of received message body, across all the registered devices, that this client is holding
+     * on to. See {@link MultiplexingClientOptions#getReceiveBufferMaxBytes()}.
+     * @return The number of bytes of received message body that this client is holding on to.
+     */
+    public long getBufferedReceivedMessageBytes()
+    {
+        return this.deviceIO.getBufferedReceivedMessageBytes();
+    }
+
     /**
      * Sets the given retry policy for the multiplexing client level connection management.
      * <a href="https://github.com/Azure/azure-iot-sdk-java/blob/main/device/iot-device-client/devdoc/requirement_docs/com/microsoft/azure/iothub/retryPolicy.md">
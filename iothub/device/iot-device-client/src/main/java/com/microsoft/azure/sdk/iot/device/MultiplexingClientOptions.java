@@ -7,6 +7,7 @@ import lombok.Builder;
 import lombok.Getter;
 
 import javax.net.ssl.SSLContext;
+import java.util.concurrent.Executor;
 
 import static com.microsoft.azure.sdk.iot.device.ClientConfiguration.DEFAULT_KEEP_ALIVE_INTERVAL_IN_SECONDS;
 import static com.microsoft.azure.sdk.iot.device.MultiplexingClient.*;
@@ -55,6 +56,72 @@ public final class MultiplexingClientOptions
     @Builder.Default
     private final int maxMessagesSentPerSendInterval = DEFAULT_MAX_MESSAGES_TO_SEND_PER_THREAD;
 
+    /**
+     * How many received messages, across all the multiplexed devices, this client holds on to before its receiver links
+     * stop giving the service credit. A message is held on to from when it arrives until its callback has returned. A
+     * few messages that the service had already been allowed to send may still arrive after the limit is reached. If 0,
+     * the number of received messages is not limited. By default, this value is 0.
+     */
+    @Getter
+    @Builder.Default
+    private final int receiveBufferMaxMessages = 0;
+
+    /**
+     * How many bytes of received message body, across all the multiplexed devices, this client holds on to before its
+     * receiver links stop giving the service credit. If 0, the number of bytes of received messages is not limited. By
+     * default, this value is 0.
+     */
+    @Getter
+    @Builder.Default
+    private final long receiveBufferMaxBytes = 0;
+
+    /**
+     * How many messages, across all the multiplexed devices, this client holds on to from when each is sent until its
+     * callback is executed before {@link #outboundQueueOverflowPolicy} applies to newly sent messages. This includes
+     * messages that are waiting to be sent, waiting for an acknowledgement, or waiting to be retried. If 0, the number
+     * of queued messages is not limited. By default, this value is 0.
+     */
+    @Getter
+    @Builder.Default
+    private final int outboundQueueMaxMessages = 0;
+
+    /**
+     * How many bytes of message body, across all the multiplexed devices, this client holds on to for the messages
+     * counted by {@link #outboundQueueMaxMessages} before {@link #outboundQueueOverflowPolicy} applies to newly sent
+     * messages. If 0, the number of bytes of queued messages is not limited. By default, this value is 0.
+     */
+    @Getter
+    @Builder.Default
+    private final long outboundQueueMaxBytes = 0;
+
+    /**
+     * What happens to a message that is sent while this client's queue of outgoing messages is full. Messages that are
+     * rejected or dropped complete their callback with {@link IotHubStatusCode#MESSAGE_DROPPED}. By default, this value
+     * is {@link OutboundQueueOverflowPolicy#REJECT}.
+     */
+    @Getter
+    @Builder.Default
+    private final OutboundQueueOverflowPolicy outboundQueueOverflowPolicy = OutboundQueueOverflowPolicy.REJECT;
+
+    /**
+     * The executor that the {@link MessageSentCallback}s of the multiplexed devices run on, rather than the thread that
+     * sends messages. Callbacks for the same device run one at a time and in order, while callbacks for different
+     * devices may run in parallel. This client never shuts the executor down. By default, this value is null and
+     * callbacks run on the thread that sends messages.
+     */
+    @Getter
+    @Builder.Default
+    private final Executor messageSentCallbackExecutor = null;
+
+    /**
+     * If true, queueing a message to send (or a completion/abandon/reject of a received message) wakes the AMQP
+     * connection's reactor thread right away so that it goes out on the wire without waiting for the next
+     * {@link #sendInterval} tick. The periodic tick is still kept as a fallback. By default, this value is false.
+     */
+    @Getter
+    @Builder.Default
+    private final boolean amqpEventDrivenSend = false;
+
     /**
      * Gets the keep alive interval in seconds. This value defines the
      * maximum time interval between messages sent or received. It enables the
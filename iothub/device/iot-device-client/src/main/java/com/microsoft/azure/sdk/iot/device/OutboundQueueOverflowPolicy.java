@@ -0,0 +1,43 @@
+// Copyright (c) Microsoft. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package com.microsoft.azure.sdk.iot.device;
+
+/**
+ * What a client does when a message is sent while its queue of outgoing messages is at the limits set by
+ * {@link ClientOptions#getOutboundQueueMaxMessages()} and {@link ClientOptions#getOutboundQueueMaxBytes()}. Messages
+ * that are dropped or rejected complete their {@link MessageSentCallback} with
+ * {@link IotHubStatusCode#MESSAGE_DROPPED}.
+ * <p>
+ * Only telemetry messages are ever dropped to make room for a new message. Twin and direct method messages that are
+ * waiting to be sent are never dropped, though they still count towards the limits.
+ */
+public enum OutboundQueueOverflowPolicy
+{
+    /**
+     * The thread sending the message waits until the queue has room for it, or until the client is closed. Messages
+     * should not be sent from this client's callbacks with this policy, since those callbacks run on the thread that
+     * makes room in the queue.
+     */
+    BLOCK,
+
+    /**
+     * The new message is not queued.
+     */
+    REJECT,
+
+    /**
+     * Telemetry messages that are waiting to be sent are dropped, starting with the one that would have been sent next,
+     * until the new message fits. Messages that have already been sent and are waiting for an acknowledgement are never
+     * dropped, so if they and twin and direct method messages alone fill the queue, the new message is rejected instead.
+     */
+    DROP_OLDEST,
+
+    /**
+     * Telemetry messages that are waiting to be sent are dropped, starting with the one with the lowest
+     * {@link Message#getPriority()} and the oldest among those, until the new message fits. A queued message is only
+     * dropped if its priority is lower than or equal to the new message's priority. Otherwise, the new message is
+     * rejected. Finding the message to drop takes time proportional to the number of queued messages.
+     */
+    DROP_LOWEST_PRIORITY
+}
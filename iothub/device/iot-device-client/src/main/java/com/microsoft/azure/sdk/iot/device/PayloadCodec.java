@@ -0,0 +1,255 @@
+// Copyright (c) Microsoft. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package com.microsoft.azure.sdk.iot.device;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Compresses the bodies of the telemetry messages that a client sends, and decompresses the bodies of the messages it
+ * receives, as set by {@link ClientOptions#getPayloadCompression()}.
+ * <p>
+ * Each {@link Deflater} holds on to native memory that is only freed when it is ended, so rather than creating one
+ * per message, this keeps a pool of them along with the buffers they compress into. {@link #close()} ends the pooled
+ * ones when the client is closed.
+ * <p>
+ * A received body is only decompressed up to {@link #MAX_DECOMPRESSED_BODY_SIZE}, so that a small compressed body
+ * can't make the client allocate an arbitrary amount of memory.
+ */
+@Slf4j
+final class PayloadCodec
+{
+    private static final String GZIP_CONTENT_ENCODING = PayloadCompression.GZIP.getContentEncoding();
+    private static final String DEFLATE_CONTENT_ENCODING = PayloadCompression.DEFLATE.getContentEncoding();
+
+    // Magic number, compression method, no flags, no modification time, no extra flags, unknown operating system
+    private static final byte[] GZIP_HEADER = { 0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff };
+
+    // CRC-32 and uncompressed length of the data
+    private static final int GZIP_TRAILER_LENGTH = 8;
+
+    // Compression buffers of up to this size are kept in the pool. Larger bodies get a buffer of their own.
+    static final int MAX_POOLED_BUFFER_SIZE = 64 * 1024;
+
+    // IoT hub doesn't take messages larger than this, so no genuine message decompresses to more
+    static final int MAX_DECOMPRESSED_BODY_SIZE = 256 * 1024;
+
+    private final PayloadCompression compression;
+    private final int compressionThreshold;
+    private final int maxPooledCompressors = Math.max(2, Runtime.getRuntime().availableProcessors());
+    private final Queue<Compressor> compressorPool = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pooledCompressorCount = new AtomicInteger();
+
+    private static final class Compressor
+    {
+        final Deflater deflater;
+        final CRC32 crc = new CRC32();
+        byte[] buffer = new byte[0];
+
+        Compressor(boolean isGzip)
+        {
+            // gzip wraps raw deflate data in its own header and trailer, whereas the "deflate" content encoding is the
+            // zlib format that Deflater produces by default
+            this.deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, isGzip);
+        }
+    }
+
+    /**
+     * @param compression how to compress message bodies. Must not be {@link PayloadCompression#NONE}.
+     * @param compressionThreshold the size, in bytes, that a message body must be at least for it to be compressed.
+     */
+    PayloadCodec(PayloadCompression compression, int compressionThreshold)
+    {
+        this.compression = compression;
+        this.compressionThreshold = compressionThreshold;
+    }
+
+    /**
+     * Compresses the body of the message and sets its content encoding to match, unless the message already has a
+     * content encoding, its body is smaller than the compression threshold, or compressing doesn't make it smaller.
+     *
+     * @param message the message to compress the body of.
+     */
+    void compress(Message message)
+    {
+        String contentEncoding = message.getContentEncoding();
+        byte[] body = message.getBody();
+        if ((contentEncoding != null && !contentEncoding.isEmpty()) || body == null || body.length < this.compressionThreshold)
+        {
+            return;
+        }
+
+        byte[] compressedBody = this.compress(body);
+        if (compressedBody != null)
+        {
+            message.setBody(compressedBody);
+            message.setContentEncoding(this.compression.getContentEncoding());
+        }
+    }
+
+    /**
+     * @return the compressed body, or null if compressing it wouldn't make it any smaller.
+     */
+    byte[] compress(byte[] body)
+    {
+        // There is no point in sending a compressed body that isn't smaller, so that is all the room it gets
+        int maxCompressedLength = body.length - 1;
+        if (maxCompressedLength <= 0)
+        {
+            return null;
+        }
+
+        boolean isGzip = this.compression == PayloadCompression.GZIP;
+        Compressor compressor = this.compressorPool.poll();
+        if (compressor == null)
+        {
+            compressor = new Compressor(isGzip);
+        }
+        else
+        {
+            this.pooledCompressorCount.decrementAndGet();
+        }
+
+        try
+        {
+            byte[] buffer = compressor.buffer;
+            if (buffer.length < maxCompressedLength)
+            {
+                buffer = new byte[maxCompressedLength];
+                if (maxCompressedLength <= MAX_POOLED_BUFFER_SIZE)
+                {
+                    compressor.buffer = buffer;
+                }
+            }
+
+            int position = 0;
+            int dataLimit = maxCompressedLength;
+            if (isGzip)
+            {
+                if (maxCompressedLength < GZIP_HEADER.length + GZIP_TRAILER_LENGTH)
+                {
+                    return null;
+                }
+
+                System.arraycopy(GZIP_HEADER, 0, buffer, 0, GZIP_HEADER.length);
+                position = GZIP_HEADER.length;
+                dataLimit -= GZIP_TRAILER_LENGTH;
+            }
+
+            Deflater deflater = compressor.deflater;
+            deflater.setInput(body);
+            deflater.finish();
+            while (!deflater.finished())
+            {
+                if (position == dataLimit)
+                {
+                    return null;
+                }
+
+                position += deflater.deflate(buffer, position, dataLimit - position);
+            }
+
+            if (isGzip)
+            {
+                compressor.crc.reset();
+                compressor.crc.update(body, 0, body.length);
+                position = writeIntLittleEndian(buffer, position, (int) compressor.crc.getValue());
+                position = writeIntLittleEndian(buffer, position, body.length);
+            }
+
+            return Arrays.copyOf(buffer, position);
+        }
+        finally
+        {
+            compressor.deflater.reset();
+            if (this.pooledCompressorCount.incrementAndGet() <= this.maxPooledCompressors)
+            {
+                this.compressorPool.offer(compressor);
+            }
+            else
+            {
+                this.pooledCompressorCount.decrementAndGet();
+                compressor.deflater.end();
+            }
+        }
+    }
+
+    /**
+     * Ends the pooled {@link Deflater} instances. Compressing after this still works, and pools new instances.
+     */
+    void close()
+    {
+        Compressor compressor = this.compressorPool.poll();
+        while (compressor != null)
+        {
+            this.pooledCompressorCount.decrementAndGet();
+            compressor.deflater.end();
+            compressor = this.compressorPool.poll();
+        }
+    }
+
+    /**
+     * Decompresses the body of a received message if its content encoding is "gzip" or "deflate", and then clears its
+     * content encoding. If the body can't be decompressed, or it decompresses to more than
+     * {@link #MAX_DECOMPRESSED_BODY_SIZE} bytes, the message is left as it is.
+     *
+     * @param message the message to decompress the body of.
+     */
+    void decompress(Message message)
+    {
+        String contentEncoding = message.getContentEncoding();
+        byte[] body = message.getBody();
+        boolean isGzip = GZIP_CONTENT_ENCODING.equalsIgnoreCase(contentEncoding);
+        if (body == null || (!isGzip && !DEFLATE_CONTENT_ENCODING.equalsIgnoreCase(contentEncoding)))
+        {
+            return;
+        }
+
+        ByteArrayInputStream compressedBody = new ByteArrayInputStream(body);
+        try (InputStream inputStream = isGzip ? new GZIPInputStream(compressedBody) : new InflaterInputStream(compressedBody))
+        {
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream((int) Math.min((long) body.length * 4, MAX_DECOMPRESSED_BODY_SIZE));
+            byte[] buffer = new byte[4096];
+            int bytesRead;
+            while ((bytesRead = inputStream.read(buffer)) != -1)
+            {
+                if (outputStream.size() + bytesRead > MAX_DECOMPRESSED_BODY_SIZE)
+                {
+                    log.warn("The body of a received message with content encoding {} decompresses to more than {} bytes, so it will be delivered as it is ({})", contentEncoding, MAX_DECOMPRESSED_BODY_SIZE, message);
+                    return;
+                }
+
+                outputStream.write(buffer, 0, bytesRead);
+            }
+
+            message.setBody(outputStream.toByteArray());
+            message.setContentEncoding(null);
+        }
+        catch (IOException e)
+        {
+            log.warn("Could not decompress the body of a received message with content encoding {}, so it will be delivered as it is ({})", contentEncoding, message, e);
+        }
+    }
+
+    private static int writeIntLittleEndian(byte[] buffer, int position, int value)
+    {
+        buffer[position] = (byte) value;
+        buffer[position + 1] = (byte) (value >> 8);
+        buffer[position + 2] = (byte) (value >> 16);
+        buffer[position + 3] = (byte) (value >> 24);
+        return position + 4;
+    }
+}
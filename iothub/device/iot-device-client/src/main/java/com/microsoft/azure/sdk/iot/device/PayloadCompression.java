@@ -0,0 +1,41 @@
+// Copyright (c) Microsoft. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package com.microsoft.azure.sdk.iot.device;
+
+/**
+ * How a client compresses the bodies of the telemetry messages it sends. Set with
+ * {@link ClientOptions#getPayloadCompression()}.
+ */
+public enum PayloadCompression
+{
+    /**
+     * Message bodies are sent as they are.
+     */
+    NONE(null),
+
+    /**
+     * Message bodies are compressed in the gzip format, and their content encoding is set to "gzip".
+     */
+    GZIP("gzip"),
+
+    /**
+     * Message bodies are compressed in the zlib format, and their content encoding is set to "deflate".
+     */
+    DEFLATE("deflate");
+
+    private final String contentEncoding;
+
+    PayloadCompression(String contentEncoding)
+    {
+        this.contentEncoding = contentEncoding;
+    }
+
+    /**
+     * @return the content encoding of messages whose bodies are compressed this way, or null for {@link #NONE}.
+     */
+    public String getContentEncoding()
+    {
+        return this.contentEncoding;
+    }
+}
@@ -0,0 +1,171 @@
+// Copyright (c) Microsoft. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package com.microsoft.azure.sdk.iot.device;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.function.LongSupplier;
+
+/**
+ * Runs one of a client's background tasks on a scheduler that is shared with other clients, with at most one run of
+ * the task at a time.
+ * <p>
+ * Rather than running periodically, the task runs when it is woken up. Waking it up while it is running makes it run
+ * once more afterwards, and waking it up while a run is already scheduled does nothing, so a burst of wake ups only
+ * leads to a single run. If a run reports that it left work undone, the task runs again after the configured delay, or
+ * after the delay that the run asked for.
+ */
+@Slf4j
+final class SerialTask
+{
+    private static final int IDLE = 0;
+    private static final int SCHEDULED = 1;
+    private static final int RUNNING = 2;
+    private static final int RUNNING_WITH_WAKE_UP = 3;
+
+    private final String name;
+    private final ScheduledExecutorService scheduler;
+    private final LongSupplier task;
+    private volatile long delayMilliseconds;
+
+    private final AtomicInteger state = new AtomicInteger(IDLE);
+    private volatile boolean isStarted;
+
+    /**
+     * @param name the name of the task, for logging.
+     * @param scheduler the scheduler to run the task on.
+     * @param task the task to run. Returns true if it should run again after the delay, even if it isn't woken up.
+     * @param delayMilliseconds how long to wait before running the task again when it didn't finish its work.
+     */
+    SerialTask(String name, ScheduledExecutorService scheduler, BooleanSupplier task, long delayMilliseconds)
+    {
+        this.name = name;
+        this.scheduler = scheduler;
+        this.task = () -> task.getAsBoolean() ? this.delayMilliseconds : -1;
+        this.delayMilliseconds = delayMilliseconds;
+    }
+
+    /**
+     * @param name the name of the task, for logging.
+     * @param scheduler the scheduler to run the task on.
+     * @param task the task to run. Returns how many milliseconds to wait before running it again even if it isn't woken
+     * up, or a negative number to only run it again once it is woken up.
+     */
+    SerialTask(String name, ScheduledExecutorService scheduler, LongSupplier task)
+    {
+        this.name = name;
+        this.scheduler = scheduler;
+        this.task = task;
+    }
+
+    void setDelayMilliseconds(long delayMilliseconds)
+    {
+        this.delayMilliseconds = delayMilliseconds;
+    }
+
+    /**
+     * Allows the task to run, and runs it once.
+     */
+    void start()
+    {
+        this.isStarted = true;
+        this.wakeUp();
+    }
+
+    /**
+     * Stops the task from running again until {@link #start()} is called. A run that is in progress is not interrupted.
+     */
+    void stop()
+    {
+        this.isStarted = false;
+    }
+
+    boolean isStarted()
+    {
+        return this.isStarted;
+    }
+
+    /**
+     * Makes sure the task runs at least once after this call, if it is started.
+     */
+    void wakeUp()
+    {
+        if (!this.isStarted)
+        {
+            return;
+        }
+
+        while (true)
+        {
+            int currentState = this.state.get();
+            if (currentState == IDLE)
+            {
+                if (this.state.compareAndSet(IDLE, SCHEDULED))
+                {
+                    this.schedule(0);
+                    return;
+                }
+            }
+            else if (currentState == RUNNING)
+            {
+                if (this.state.compareAndSet(RUNNING, RUNNING_WITH_WAKE_UP))
+                {
+                    return;
+                }
+            }
+            else
+            {
+                // Either a run is already scheduled, or the current run will be followed by another one
+                return;
+            }
+        }
+    }
+
+    private void run()
+    {
+        this.state.set(RUNNING);
+
+        long nextRunDelayMilliseconds = -1;
+        try
+        {
+            if (this.isStarted)
+            {
+                nextRunDelayMilliseconds = this.task.getAsLong();
+            }
+        }
+        catch (Throwable e)
+        {
+            log.warn("{} encountered an exception", this.name, e);
+        }
+
+        if (!this.state.compareAndSet(RUNNING, IDLE))
+        {
+            // Woken up during this run, so there may be new work
+            this.state.set(SCHEDULED);
+            this.schedule(0);
+        }
+        else if (nextRunDelayMilliseconds >= 0 && this.isStarted && this.state.compareAndSet(IDLE, SCHEDULED))
+        {
+            this.schedule(nextRunDelayMilliseconds);
+        }
+    }
+
+    private void schedule(long delayMilliseconds)
+    {
+        try
+        {
+            this.scheduler.schedule(this::run, delayMilliseconds, TimeUnit.MILLISECONDS);
+        }
+        catch (RejectedExecutionException e)
+        {
+            this.state.set(IDLE);
+            log.warn("{} could not be scheduled because its client runtime has been closed", this.name);
+        }
+    }
+}
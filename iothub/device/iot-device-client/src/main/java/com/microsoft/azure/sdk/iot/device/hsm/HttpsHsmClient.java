@@ -19,7 +19,6 @@ import lombok.extern.slf4j.Slf4j;
 import java.io.*;
 import java.net.*;
 import java.nio.charset.StandardCharsets;
-import java.util.Arrays;
 
 @Slf4j
 public class HttpsHsmClient
@@ -34,6 +33,9 @@ public class HttpsHsmClient
 
     private static final String API_VERSION_QUERY_STRING_PREFIX = "api-version=";
 
+    // Size of the chunks that responses are read in from the unix domain socket
+    private static final int READ_BUFFER_SIZE = 8 * 1024;
+
     /**
      * Client object for sending sign requests to an HSM unit
      * @param baseUrl The base url of the HSM
@@ -288,8 +290,8 @@ public class HttpsHsmClient
     {
         log.debug("Reading response from unix domain socket");
 
-        byte[] buf = new byte[400];
-        StringBuilder responseStringBuilder = new StringBuilder();
+        byte[] buf = new byte[READ_BUFFER_SIZE];
+        ByteArrayOutputStream responseBytes = new ByteArrayOutputStream(READ_BUFFER_SIZE);
         int numRead = channel.read(buf);
 
         // keep reading from the unix domain socket in chunks until no more bytes are read
@@ -297,17 +299,14 @@ public class HttpsHsmClient
         {
             log.trace("Read {} bytes from unix domain socket", numRead);
 
-            // buf may not be filled completely, so take the subArray of bytes sized equal to numRead
-            String readChunk = new String(Arrays.copyOfRange(buf, 0, numRead), StandardCharsets.US_ASCII);
-            log.trace("Read chunk of data from unix domain socket:");
-            log.trace("{}", readChunk);
-            responseStringBuilder.append(readChunk);
+            // buf may not be filled completely, so only keep the first numRead bytes of it
+            responseBytes.write(buf, 0, numRead);
 
             // Read bytes from the channel
             numRead = channel.read(buf);
         }
 
-        String response = responseStringBuilder.toString();
+        String response = new String(responseBytes.toByteArray(), StandardCharsets.US_ASCII);
         log.debug("Read response from unix domain socket channel");
         log.debug("{}", response);
 
@@ -0,0 +1,67 @@
+// Copyright (c) Microsoft. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package com.microsoft.azure.sdk.iot.device.internal;
+
+import com.microsoft.azure.sdk.iot.device.Message;
+
+/**
+ * Gives this SDK's transports the body of a {@link Message} without copying it, so that a body isn't copied each time
+ * it is checked or handed to the underlying protocol library on its way to the socket.
+ * <p>
+ * This class is internal to the SDK and is not part of the client's API. It is left out of the API docs, and it may
+ * change or be removed in any release. Users of the client get a copy of a message's body from
+ * {@link Message#getBytes()}.
+ * <p>
+ * The only implementation is nested in {@link Message}, which registers it when it is loaded, since the transports are
+ * in other packages than {@link Message}. No other class can be registered.
+ */
+public abstract class MessageBodyAccessor
+{
+    private static volatile MessageBodyAccessor instance;
+
+    /**
+     * @throws IllegalStateException if the implementation isn't nested in {@link Message}.
+     */
+    protected MessageBodyAccessor()
+    {
+        if (this.getClass().getEnclosingClass() != Message.class)
+        {
+            throw new IllegalStateException("Only Message can give out message bodies without copying them");
+        }
+    }
+
+    /**
+     * @param message the message to get the body of.
+     * @return the message's body itself, or null if it has no body.
+     */
+    protected abstract byte[] readBody(Message message);
+
+    /**
+     * Called once by {@link Message} when it is loaded.
+     *
+     * @param accessor the implementation nested in {@link Message}.
+     * @throws IllegalStateException if an implementation was already registered.
+     */
+    protected static synchronized void register(MessageBodyAccessor accessor)
+    {
+        if (instance != null)
+        {
+            throw new IllegalStateException("The message body accessor can only be registered once");
+        }
+
+        instance = accessor;
+    }
+
+    /**
+     * The returned array is the message's body itself, not a copy, so it must not be modified.
+     *
+     * @param message the message to get the body of.
+     * @return the message's body, or null if it has no body.
+     */
+    public static byte[] getBodyWithoutCopy(Message message)
+    {
+        // Message registered the accessor when it was loaded, which it was before the message could be constructed
+        return instance.readBody(message);
+    }
+}
@@ -0,0 +1,285 @@
+// Copyright (c) Microsoft. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package com.microsoft.azure.sdk.iot.device.transport;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Holds the {@link CorrelationCallbackContext} of each correlation Id that {@link IotHubTransport} is waiting on a
+ * response for, and forgets them once their request can no longer be sent and the configured live time has passed
+ * since then.
+ * <p>
+ * Besides the map from correlation Id to context, each context is put in the slot of a timer wheel that matches when
+ * it will be too old. {@link #removeExpired(long)} only looks at the slots whose time has passed since it last ran,
+ * so it doesn't need to scan every context. A context that expires more than one turn of the wheel away stays in its
+ * slot until the turn it expires in. Each slot is a doubly linked list of its entries, so removing a context through
+ * {@link #remove(String)}, or replacing it by putting the same correlation Id again, unlinks its entry from its slot
+ * right away. Nothing is kept after it was removed, or for longer than its expiry time plus one tick, as long as
+ * {@link #removeExpired(long)} is called every tick.
+ */
+final class CorrelationCallbackRegistry
+{
+    private final long liveTimeMillis;
+    private final long tickMillis;
+
+    private final ConcurrentMap<String, WheelEntry> callbacks = new ConcurrentHashMap<>();
+
+    private final List<Slot> wheel;
+
+    // Only read and written by removeExpired
+    private long lastSweptTick;
+
+    private final AtomicLong expiredCount = new AtomicLong();
+
+    private static final class WheelEntry
+    {
+        final String correlationId;
+        final CorrelationCallbackContext context;
+        final long expiryTimeMillis;
+        final Slot slot;
+
+        // Guarded by the slot's lock
+        WheelEntry previous;
+        WheelEntry next;
+        boolean removed;
+
+        WheelEntry(String correlationId, CorrelationCallbackContext context, long expiryTimeMillis, Slot slot)
+        {
+            this.correlationId = correlationId;
+            this.context = context;
+            this.expiryTimeMillis = expiryTimeMillis;
+            this.slot = slot;
+        }
+    }
+
+    /**
+     * The entries that expire in the ticks of one slot of the wheel, as a doubly linked list that is guarded by the
+     * slot's lock.
+     */
+    private static final class Slot
+    {
+        private WheelEntry head;
+
+        synchronized void link(WheelEntry entry)
+        {
+            // The entry may have been removed between being put in the map and being linked here
+            if (entry.removed)
+            {
+                return;
+            }
+
+            entry.next = this.head;
+            if (this.head != null)
+            {
+                this.head.previous = entry;
+            }
+
+            this.head = entry;
+        }
+
+        synchronized void unlink(WheelEntry entry)
+        {
+            if (entry.removed)
+            {
+                return;
+            }
+
+            entry.removed = true;
+            if (entry.previous != null)
+            {
+                entry.previous.next = entry.next;
+            }
+            else if (this.head == entry)
+            {
+                this.head = entry.next;
+            }
+            else
+            {
+                // Never linked
+                return;
+            }
+
+            if (entry.next != null)
+            {
+                entry.next.previous = entry.previous;
+            }
+
+            entry.previous = null;
+            entry.next = null;
+        }
+
+        /**
+         * Unlinks and returns the entries that expired by the given time.
+         */
+        synchronized List<WheelEntry> unlinkExpired(long currentTimeMillis)
+        {
+            List<WheelEntry> expiredEntries = new ArrayList<>();
+            WheelEntry entry = this.head;
+            while (entry != null)
+            {
+                WheelEntry next = entry.next;
+                if (entry.expiryTimeMillis <= currentTimeMillis)
+                {
+                    unlink(entry);
+                    expiredEntries.add(entry);
+                }
+
+                entry = next;
+            }
+
+            return expiredEntries;
+        }
+    }
+
+    /**
+     * @param liveTimeMillis how long a context is kept for after the last time its request may be sent, which leaves
+     * the service that long to respond.
+     * @param tickMillis how often {@link #removeExpired(long)} will be called.
+     */
+    CorrelationCallbackRegistry(long liveTimeMillis, long tickMillis)
+    {
+        if (liveTimeMillis <= 0 || tickMillis <= 0)
+        {
+            throw new IllegalArgumentException("liveTimeMillis and tickMillis must be greater than 0");
+        }
+
+        this.liveTimeMillis = liveTimeMillis;
+        this.tickMillis = tickMillis;
+
+        // Enough slots that a context whose request is sent right away expires less than one full turn of the wheel after it
+        // was added
+        int slotCount = (int) (liveTimeMillis / tickMillis) + 2;
+        this.wheel = new ArrayList<>(slotCount);
+        for (int i = 0; i < slotCount; i++)
+        {
+            this.wheel.add(new Slot());
+        }
+
+        this.lastSweptTick = System.currentTimeMillis() / tickMillis - 1;
+    }
+
+    /**
+     * Adds a context whose request is sent right away.
+     */
+    void put(String correlationId, CorrelationCallbackContext context)
+    {
+        put(correlationId, context, context.getStartTimeMillis());
+    }
+
+    /**
+     * Adds a context that is kept until the live time has passed since the last time its request may be sent.
+     *
+     * @param correlationId the correlation Id of the request.
+     * @param context the context of the request.
+     * @param lastSendTimeMillis the time, in milliseconds since epoch, after which the request is no longer sent or
+     * retried, such as when its message expires or its operation times out.
+     */
+    void put(String correlationId, CorrelationCallbackContext context, long lastSendTimeMillis)
+    {
+        long expiryTimeMillis = Math.max(lastSendTimeMillis, context.getStartTimeMillis()) + this.liveTimeMillis;
+        Slot slot = this.wheel.get(slotIndex(expiryTimeMillis / this.tickMillis));
+        WheelEntry entry = new WheelEntry(correlationId, context, expiryTimeMillis, slot);
+
+        // A request that is queued again, such as when it is retried, replaces its previous entry
+        WheelEntry previousEntry = this.callbacks.put(correlationId, entry);
+        if (previousEntry != null)
+        {
+            previousEntry.slot.unlink(previousEntry);
+        }
+
+        slot.link(entry);
+    }
+
+    CorrelationCallbackContext get(String correlationId)
+    {
+        WheelEntry entry = this.callbacks.get(correlationId);
+        return entry != null ? entry.context : null;
+    }
+
+    void remove(String correlationId)
+    {
+        WheelEntry entry = this.callbacks.remove(correlationId);
+        if (entry != null)
+        {
+            entry.slot.unlink(entry);
+        }
+    }
+
+    /**
+     * @return the number of correlation Ids that are currently being tracked.
+     */
+    int size()
+    {
+        return this.callbacks.size();
+    }
+
+    /**
+     * @return the number of entries that are linked into the wheel, which is only used by tests to check that removed
+     * contexts are not kept.
+     */
+    int wheelSize()
+    {
+        int wheelSize = 0;
+        for (Slot slot : this.wheel)
+        {
+            synchronized (slot)
+            {
+                for (WheelEntry entry = slot.head; entry != null; entry = entry.next)
+                {
+                    wheelSize++;
+                }
+            }
+        }
+
+        return wheelSize;
+    }
+
+    /**
+     * @return the number of contexts that were removed by {@link #removeExpired(long)} because they were never removed
+     * through {@link #remove(String)} before they got too old.
+     */
+    long getExpiredCount()
+    {
+        return this.expiredCount.get();
+    }
+
+    /**
+     * Removes every context whose expiry time has passed.
+     *
+     * @param currentTimeMillis the current time, in milliseconds since epoch.
+     * @return the number of contexts that were removed.
+     */
+    synchronized int removeExpired(long currentTimeMillis)
+    {
+        // Only sweep the ticks that have fully passed. If this wasn't called for a while, each slot is swept once.
+        long lastPassedTick = currentTimeMillis / this.tickMillis - 1;
+        long firstTickToSweep = Math.max(this.lastSweptTick + 1, lastPassedTick - this.wheel.size() + 1);
+
+        int removedCount = 0;
+        for (long tick = firstTickToSweep; tick <= lastPassedTick; tick++)
+        {
+            for (WheelEntry entry : this.wheel.get(slotIndex(tick)).unlinkExpired(currentTimeMillis))
+            {
+                // Only removes the context if the correlation Id wasn't reused for a newer context
+                if (this.callbacks.remove(entry.correlationId, entry))
+                {
+                    removedCount++;
+                }
+            }
+        }
+
+        this.lastSweptTick = Math.max(this.lastSweptTick, lastPassedTick);
+        this.expiredCount.addAndGet(removedCount);
+        return removedCount;
+    }
+
+    private int slotIndex(long tick)
+    {
+        return (int) (tick % this.wheel.size());
+    }
+}
@@ -0,0 +1,362 @@
+// Copyright (c) Microsoft. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package com.microsoft.azure.sdk.iot.device.transport;
+
+import java.util.AbstractQueue;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+/**
+ * The queue of packets waiting to be sent by an {@link IotHubTransport}. Each device gets its own queue, and
+ * {@link #poll()} takes one packet from each device that has packets waiting in turn, so a device that queues a large
+ * burst of messages on a multiplexed connection only delays the other devices by one packet each time it is polled.
+ * Packets from the same device are still polled in the order they were added.
+ * <p>
+ * A device's queue is removed once its last packet is polled, so devices that come and go on a multiplexed connection
+ * don't leave entries behind. Adding a packet and removing an emptied device queue are atomic per device in the
+ * underlying map, so threads that queue messages for different devices rarely contend with each other, and polling
+ * a device that still has packets waiting is lock free.
+ */
+final class DeviceRoundRobinPacketQueue extends AbstractQueue<IotHubTransportPacket>
+{
+    // Packets that were queued without a device Id (only possible through the public IotHubTransportPacket constructor)
+    // share a single queue
+    private static final String NO_DEVICE_ID = "";
+
+    private final ConcurrentMap<String, DeviceQueue> deviceQueues = new ConcurrentHashMap<>();
+
+    // The devices that have packets waiting, in the order they will next be polled. A device is in here at most once.
+    private final Queue<DeviceQueue> readyDeviceQueues = new ConcurrentLinkedQueue<>();
+
+    private final AtomicInteger size = new AtomicInteger();
+
+    private static class DeviceQueue
+    {
+        final String key;
+        final Queue<IotHubTransportPacket> packets = new ConcurrentLinkedQueue<>();
+
+        // True while this device is in readyDeviceQueues
+        final AtomicBoolean isReady = new AtomicBoolean(false);
+
+        DeviceQueue(String key)
+        {
+            this.key = key;
+        }
+    }
+
+    @Override
+    public boolean offer(IotHubTransportPacket packet)
+    {
+        if (packet == null)
+        {
+            throw new NullPointerException("packet cannot be null");
+        }
+
+        // The packet is added while the device's entry is locked, so that removeIfEmpty can't remove the entry between
+        // looking it up and adding the packet to it
+        DeviceQueue deviceQueue = this.deviceQueues.compute(getKey(packet.getDeviceId()), (key, existingDeviceQueue) ->
+        {
+            DeviceQueue queue = existingDeviceQueue != null ? existingDeviceQueue : new DeviceQueue(key);
+            queue.packets.add(packet);
+            return queue;
+        });
+
+        this.size.incrementAndGet();
+        markReady(deviceQueue);
+        return true;
+    }
+
+    @Override
+    public IotHubTransportPacket poll()
+    {
+        DeviceQueue deviceQueue = this.readyDeviceQueues.poll();
+        while (deviceQueue != null)
+        {
+            IotHubTransportPacket packet = deviceQueue.packets.poll();
+            if (packet != null)
+            {
+                this.size.decrementAndGet();
+            }
+
+            // Clear the flag before checking for more packets, so that a packet added concurrently either sees the
+            // cleared flag and marks the device ready itself, or is seen here. If the device still has packets, it
+            // goes to the back of the line behind every other device that has packets waiting.
+            deviceQueue.isReady.set(false);
+            if (!deviceQueue.packets.isEmpty())
+            {
+                markReady(deviceQueue);
+            }
+            else
+            {
+                removeIfEmpty(deviceQueue);
+            }
+
+            if (packet != null)
+            {
+                return packet;
+            }
+
+            // The device's packets were all removed through remove() or the iterator since it was marked ready
+            deviceQueue = this.readyDeviceQueues.poll();
+        }
+
+        return null;
+    }
+
+    @Override
+    public IotHubTransportPacket peek()
+    {
+        for (DeviceQueue deviceQueue : this.readyDeviceQueues)
+        {
+            IotHubTransportPacket packet = deviceQueue.packets.peek();
+            if (packet != null)
+            {
+                return packet;
+            }
+        }
+
+        return null;
+    }
+
+    @Override
+    public int size()
+    {
+        return Math.max(0, this.size.get());
+    }
+
+    @Override
+    public boolean isEmpty()
+    {
+        return this.size() == 0;
+    }
+
+    /**
+     * Iterates over the waiting packets device by device rather than in the order {@link #poll()} would return them.
+     * Like the iterators of the concurrent collections, it is weakly consistent, and {@link Iterator#remove()} is
+     * supported.
+     */
+    @Override
+    public Iterator<IotHubTransportPacket> iterator()
+    {
+        return new PacketIterator(this.deviceQueues.values().iterator());
+    }
+
+    /**
+     * Removes the given packet, only looking through the packets of the device it belongs to.
+     */
+    @Override
+    public boolean remove(Object o)
+    {
+        if (!(o instanceof IotHubTransportPacket))
+        {
+            return false;
+        }
+
+        DeviceQueue deviceQueue = this.deviceQueues.get(getKey(((IotHubTransportPacket) o).getDeviceId()));
+        if (deviceQueue != null && deviceQueue.packets.remove(o))
+        {
+            this.size.decrementAndGet();
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Removes and returns all the packets waiting for the given device, in the order they were added.
+     *
+     * @param deviceId the Id of the device to remove the packets of.
+     * @return the removed packets. Empty if the device has no packets waiting.
+     */
+    List<IotHubTransportPacket> pollAll(String deviceId)
+    {
+        List<IotHubTransportPacket> packets = new ArrayList<>();
+        DeviceQueue deviceQueue = this.deviceQueues.get(getKey(deviceId));
+        if (deviceQueue != null)
+        {
+            IotHubTransportPacket packet = deviceQueue.packets.poll();
+            while (packet != null)
+            {
+                this.size.decrementAndGet();
+                packets.add(packet);
+                packet = deviceQueue.packets.poll();
+            }
+
+            removeIfEmpty(deviceQueue);
+        }
+
+        return packets;
+    }
+
+    /**
+     * @return the number of devices that have a queue, including devices whose last packet was removed but that
+     * haven't been polled since.
+     */
+    int getDeviceCount()
+    {
+        return this.deviceQueues.size();
+    }
+
+    /**
+     * Removes the first removable packet of the device that {@link #poll()} would take a packet from next, or of the
+     * device after it if that one has no removable packets, and so on.
+     *
+     * @param canRemove whether a packet may be removed.
+     * @return the removed packet, or null if no waiting packet may be removed.
+     */
+    IotHubTransportPacket removeNext(Predicate<IotHubTransportPacket> canRemove)
+    {
+        while (true)
+        {
+            IotHubTransportPacket nextPacket = null;
+            for (DeviceQueue deviceQueue : this.readyDeviceQueues)
+            {
+                for (IotHubTransportPacket packet : deviceQueue.packets)
+                {
+                    if (canRemove.test(packet))
+                    {
+                        nextPacket = packet;
+                        break;
+                    }
+                }
+
+                if (nextPacket != null)
+                {
+                    break;
+                }
+            }
+
+            // If the packet was polled in the meantime, look for another one
+            if (nextPacket == null || this.remove(nextPacket))
+            {
+                return nextPacket;
+            }
+        }
+    }
+
+    /**
+     * Removes the removable packet whose message has the lowest priority, and the oldest packet among those. This looks
+     * through every waiting packet.
+     *
+     * @param maxPriority the highest message priority that the removed packet may have.
+     * @param canRemove whether a packet may be removed.
+     * @return the removed packet, or null if no waiting packet that may be removed has a message priority of at most
+     * maxPriority.
+     */
+    IotHubTransportPacket removeLowestPriority(int maxPriority, Predicate<IotHubTransportPacket> canRemove)
+    {
+        while (true)
+        {
+            IotHubTransportPacket lowestPriorityPacket = null;
+            int lowestPriority = maxPriority;
+            for (IotHubTransportPacket packet : this)
+            {
+                int priority = packet.getMessage().getPriority();
+                if ((priority < lowestPriority
+                        || (priority == lowestPriority
+                            && (lowestPriorityPacket == null || packet.getStartTimeMillis() < lowestPriorityPacket.getStartTimeMillis())))
+                    && canRemove.test(packet))
+                {
+                    lowestPriorityPacket = packet;
+                    lowestPriority = priority;
+                }
+            }
+
+            // If the packet was polled in the meantime, look for another one
+            if (lowestPriorityPacket == null || this.remove(lowestPriorityPacket))
+            {
+                return lowestPriorityPacket;
+            }
+        }
+    }
+
+    private void markReady(DeviceQueue deviceQueue)
+    {
+        if (deviceQueue.isReady.compareAndSet(false, true))
+        {
+            this.readyDeviceQueues.add(deviceQueue);
+        }
+    }
+
+    private void removeIfEmpty(DeviceQueue deviceQueue)
+    {
+        // A packet added after this check goes into a new queue for the device, which is marked ready on its own
+        this.deviceQueues.computeIfPresent(
+            deviceQueue.key,
+            (key, existingDeviceQueue) -> existingDeviceQueue == deviceQueue && existingDeviceQueue.packets.isEmpty() ? null : existingDeviceQueue);
+    }
+
+    private static String getKey(String deviceId)
+    {
+        return deviceId == null ? NO_DEVICE_ID : deviceId;
+    }
+
+    private class PacketIterator implements Iterator<IotHubTransportPacket>
+    {
+        private final Iterator<DeviceQueue> deviceQueueIterator;
+        private DeviceQueue currentDeviceQueue;
+        private Iterator<IotHubTransportPacket> currentPacketIterator;
+        private IotHubTransportPacket lastReturned;
+
+        PacketIterator(Iterator<DeviceQueue> deviceQueueIterator)
+        {
+            this.deviceQueueIterator = deviceQueueIterator;
+        }
+
+        @Override
+        public boolean hasNext()
+        {
+            while (this.currentPacketIterator == null || !this.currentPacketIterator.hasNext())
+            {
+                if (!this.deviceQueueIterator.hasNext())
+                {
+                    return false;
+                }
+
+                this.currentDeviceQueue = this.deviceQueueIterator.next();
+                this.currentPacketIterator = this.currentDeviceQueue.packets.iterator();
+            }
+
+            return true;
+        }
+
+        @Override
+        public IotHubTransportPacket next()
+        {
+            if (!hasNext())
+            {
+                throw new NoSuchElementException();
+            }
+
+            this.lastReturned = this.currentPacketIterator.next();
+            return this.lastReturned;
+        }
+
+        @Override
+        public void remove()
+        {
+            if (this.lastReturned == null)
+            {
+                throw new IllegalStateException();
+            }
+
+            // Only count the removal if this call removed the packet, rather than a concurrent poll
+            if (this.currentDeviceQueue.packets.remove(this.lastReturned))
+            {
+                DeviceRoundRobinPacketQueue.this.size.decrementAndGet();
+            }
+
+            this.lastReturned = null;
+        }
+    }
+}
@@ -53,18 +53,36 @@ public class IotHubTransport implements IotHubListener
 
     private IotHubTransportConnection iotHubTransportConnection;
 
-    // Messages waiting to be sent to the IoT Hub.
-    private final Queue<IotHubTransportPacket> waitingPacketsQueue = new ConcurrentLinkedQueue<>();
+    // Messages waiting to be sent to the IoT Hub. Queued per device and sent round-robin across devices so that one
+    // device on a multiplexed connection can't hold up the others.
+    private final DeviceRoundRobinPacketQueue waitingPacketsQueue = new DeviceRoundRobinPacketQueue();
+
+    // Counts the messages from when they are added until their callback is queued, and enforces the outbound queue
+    // limits on them. What happens to a message that doesn't fit depends on outboundQueueOverflowPolicy.
+    private final OutboundQueueCapacity outboundQueueCapacity = new OutboundQueueCapacity();
+    private volatile OutboundQueueOverflowPolicy outboundQueueOverflowPolicy = OutboundQueueOverflowPolicy.REJECT;
 
     // Messages which are sent to the IoT Hub but did not receive ack yet.
     private final Map<String, IotHubTransportPacket> inProgressPackets = new ConcurrentHashMap<>();
 
-    // Messages received from the IoT Hub
-    private final Queue<IotHubTransportMessage> receivedMessagesQueue = new ConcurrentLinkedQueue<>();
+    // The waiting and in progress packets whose message has an expiry time, ordered by that expiry time. A packet is
+    // added when it is first queued and removed once it is added to the callback queue.
+    private final PacketExpiryIndex expiringPackets = new PacketExpiryIndex();
+
+    // Messages received from the IoT Hub. Once it is full, the AMQP receiver links stop granting the service credit, and
+    // acknowledgements of MQTT messages are held back in deferredAcknowledgements until it has room again.
+    private final ReceivedMessageBuffer receivedMessageBuffer = new ReceivedMessageBuffer();
+
+    // Results of received MQTT messages whose callbacks have executed while the received message buffer was full. The
+    // service won't send more than a few messages without an acknowledgement, so holding these back stops the flow.
+    private final Queue<Map.Entry<IotHubTransportMessage, IotHubMessageResult>> deferredAcknowledgements = new ConcurrentLinkedQueue<>();
 
     // Messages whose callbacks that are waiting to be invoked.
     private final Queue<IotHubTransportPacket> callbackPacketsQueue = new ConcurrentLinkedQueue<>();
 
+    // Runs the message sent callbacks on the user's executor, or null if they run on the thread that invokes them
+    private volatile MessageSentCallbackDispatcher messageSentCallbackDispatcher;
+
     // Connection Status change callback information
     private final Map<String, IotHubConnectionStatusChangeCallback> connectionStatusChangeCallbacks = new ConcurrentHashMap<>();
     private final Map<String, Object> connectionStatusChangeCallbackContexts = new ConcurrentHashMap<>();
@@ -79,7 +97,7 @@ public class IotHubTransport implements IotHubListener
     // should stop spawning send/receive threads when this layer is disconnected or disconnected retrying
     private final IotHubConnectionStatusChangeCallback deviceIOConnectionStatusChangeCallback;
 
-    // Lock on reading and writing on the waitingPackets queue
+    // Lock on taking packets from the waitingPackets queue to send them. Adding packets to the queue doesn't need it.
     final private Object waitingPacketsLock = new Object();
 
     // Lock on reading and writing on the inProgressPackets map
@@ -91,30 +109,50 @@ public class IotHubTransport implements IotHubListener
     // Keys are deviceIds. Helps with getting configs based on deviceIds
     private final Map<String, ClientConfiguration> deviceClientConfigs = new ConcurrentHashMap<>();
 
+    // Used for messages whose device no longer has a config, such as a device that was unregistered from a multiplexed
+    // connection while its message was being added. That is rare enough that random UUIDs are fine here.
+    private final MessageIdGenerator unregisteredDeviceMessageIdGenerator = () -> UUID.randomUUID().toString();
+
     private final String transportUniqueIdentifier = UUID.randomUUID().toString().substring(0, 8);
 
     private ScheduledExecutorService taskScheduler;
 
+    // The scheduler of the ClientRuntime that this client shares with other clients, or null if this client runs its
+    // background work on its own threads. This layer never shuts it down since other clients may still be using it.
+    private final ScheduledExecutorService sharedTaskScheduler;
+
+    // If true, this transport's own task scheduler and expired message checks run on virtual threads
+    private final boolean useVirtualThreads;
+    private ScheduledFuture<?> correlationCallbackCleanupFuture;
+    private ScheduledFuture<?> expiredMessagesCheckFuture;
+
     // state lock to prevent simultaneous close and reconnect operations. Also prevents multiple reconnect threads from executing at once
     final private Object reconnectionLock = new Object();
 
+    // The state of a reconnection that reconnectWithoutWaiting spreads over several calls. Only used while holding
+    // reconnectionLock.
+    private long stepwiseReconnectionStartTimeMillis;
+    private int stepwiseReconnectionAttempt;
+    private long stepwiseReconnectionNextAttemptTimeMillis;
+
     // State lock used to communicate to the IotHubSendTask thread when a message needs to be sent or a callback needs to be invoked.
     // It is this layer's responsibility to notify that task each time a message is queued to send, or when a callback is queued to be invoked.
-    private final Semaphore sendThreadSemaphore = new Semaphore(0);
+    private final SignalingSemaphore sendThreadSemaphore = new SignalingSemaphore();
 
     // State lock used to communicate to the IotHubReceiveTask thread when a received message needs to be handled. It is this
     // layer's responsibility to notify that task each time a message is received.
-    private final Semaphore receiveThreadSemaphore = new Semaphore(0);
+    private final SignalingSemaphore receiveThreadSemaphore = new SignalingSemaphore();
 
     // State lock used to communicate to the IotHubReconnectTask thread when a reconnection needs to be handled. It is this
     // layer's responsibility to notify that task each time a connection is lost.
-    private final Semaphore reconnectThreadSemaphore = new Semaphore(0);
+    private final SignalingSemaphore reconnectThreadSemaphore = new SignalingSemaphore();
 
     private final IotHubClientProtocol protocol;
     private final String hostName;
     private final ProxySettings proxySettings;
     private final int keepAliveInterval;
     private final int sendInterval;
+    private final boolean amqpEventDrivenSend;
     private SSLContext sslContext;
     private final boolean isMultiplexing;
 
@@ -126,15 +164,16 @@ public class IotHubTransport implements IotHubListener
     @Setter
     private boolean isClosing;
 
-    // Used to store the CorrelationCallbackMessage, context, and start time for a correlationId
-    private final Map<String, CorrelationCallbackContext> correlationCallbacks = new ConcurrentHashMap<>();
+    // How often the task scheduler removes the correlation callbacks whose request can no longer be sent and that have
+    // not been acknowledged within DEFAULT_CORRELATION_ID_LIVE_TIME since
+    private static final int CORRELATION_CALLBACK_CLEANUP_PERIOD_MILLISECONDS = 1000;
 
-    // A job that runs periodically to remove any stale correlation callbacks
-    private final Thread correlationCallbackCleanupThread = new Thread(() -> checkForOldMessages());
-    private static final int CORRELATION_CALLBACK_CLEANUP_PERIOD_MILLISECONDS = 60 * 60 * 1000;
+    // Used to store the CorrelationCallbackMessage, context, and start time for a correlationId
+    private final CorrelationCallbackRegistry correlationCallbacks =
+        new CorrelationCallbackRegistry(DEFAULT_CORRELATION_ID_LIVE_TIME, CORRELATION_CALLBACK_CLEANUP_PERIOD_MILLISECONDS);
 
     // A job that runs periodically to remove any expired messages from the in progress and waiting queue
-    private final Thread expiredMessagesCleanupThread = new Thread(() -> checkForExpiredOutgoingMessages());
+    private final Thread expiredMessagesCleanupThread;
     private final long messageExpirationCheckPeriod;
 
     /**
@@ -164,10 +203,14 @@ public class IotHubTransport implements IotHubListener
         this.deviceIOConnectionStatusChangeCallback = deviceIOConnectionStatusChangeCallback;
         this.keepAliveInterval = defaultConfig.getKeepAliveInterval();
         this.sendInterval = defaultConfig.getSendInterval();
+        this.amqpEventDrivenSend = defaultConfig.isAmqpEventDrivenSend();
         this.useIdentifiableThreadNames = defaultConfig.isUsingIdentifiableThreadNames();
         this.threadNamePrefix = defaultConfig.getThreadNamePrefix();
         this.threadNameSuffix = defaultConfig.getThreadNameSuffix();
         this.messageExpirationCheckPeriod = defaultConfig.getMessageExpiredCheckPeriod();
+        this.sharedTaskScheduler = defaultConfig.getSharedTaskScheduler();
+        this.useVirtualThreads = defaultConfig.isUsingVirtualThreads();
+        this.expiredMessagesCleanupThread = this.newThread(this::checkForExpiredOutgoingMessages);
     }
 
     public IotHubTransport(
@@ -178,6 +221,7 @@ public class IotHubTransport implements IotHubListener
             IotHubConnectionStatusChangeCallback deviceIOConnectionStatusChangeCallback,
             int keepAliveInterval,
             int sendInterval,
+            boolean amqpEventDrivenSend,
             boolean useIdentifiableThreadNames,
             String threadNamePrefix,
             String threadNameSuffix,
@@ -193,10 +237,14 @@ public class IotHubTransport implements IotHubListener
         this.multiplexingRetryPolicy = new ExponentialBackoffWithJitter();
         this.keepAliveInterval = keepAliveInterval;
         this.sendInterval = sendInterval;
+        this.amqpEventDrivenSend = amqpEventDrivenSend;
         this.useIdentifiableThreadNames = useIdentifiableThreadNames;
         this.threadNamePrefix = threadNamePrefix;
         this.threadNameSuffix = threadNameSuffix;
         this.messageExpirationCheckPeriod = messageExpirationCheckPeriod;
+        this.sharedTaskScheduler = null;
+        this.useVirtualThreads = false;
+        this.expiredMessagesCleanupThread = this.newThread(this::checkForExpiredOutgoingMessages);
     }
 
     public Semaphore getSendThreadSemaphore()
@@ -214,14 +262,48 @@ public class IotHubTransport implements IotHubListener
         return this.reconnectThreadSemaphore;
     }
 
+    /**
+     * Sets the listeners to run each time there is new work for the send, receive or reconnect task. This is for clients
+     * that run those tasks on a shared {@link ClientRuntime} instead of on threads of their own that wait on this layer's
+     * semaphores. The semaphores are still released as usual, so the tasks should drain them before doing their work.
+     *
+     * @param sendTaskListener run when a message is queued to be sent or a callback is queued to be executed.
+     * @param receiveTaskListener run when a received message is queued to be handled.
+     * @param reconnectTaskListener run when the connection is lost.
+     */
+    public void setTaskWakeUpListeners(Runnable sendTaskListener, Runnable receiveTaskListener, Runnable reconnectTaskListener)
+    {
+        this.sendThreadSemaphore.setReleaseListener(sendTaskListener);
+        this.receiveThreadSemaphore.setReleaseListener(receiveTaskListener);
+        this.reconnectThreadSemaphore.setReleaseListener(reconnectTaskListener);
+    }
+
+    /**
+     * @return the number of correlation callbacks that are currently kept for sent messages that are waiting on a
+     * response or acknowledgement.
+     */
+    public int getLiveCorrelationCallbackCount()
+    {
+        return this.correlationCallbacks.size();
+    }
+
+    /**
+     * @return the number of correlation callbacks that were removed because they were not acknowledged within the
+     * correlation Id live time after their request's operation timed out or its message expired.
+     */
+    public long getExpiredCorrelationCallbackCount()
+    {
+        return this.correlationCallbacks.getExpiredCount();
+    }
+
     public boolean hasMessagesToSend()
     {
-        return this.waitingPacketsQueue.size() > 0;
+        return !this.waitingPacketsQueue.isEmpty();
     }
 
     public boolean hasReceivedMessagesToHandle()
     {
-        return this.receivedMessagesQueue.size() > 0;
+        return this.receivedMessageBuffer.hasMessagesToHandle();
     }
 
     public boolean hasCallbacksToExecute()
@@ -482,7 +564,22 @@ public class IotHubTransport implements IotHubListener
 
         this.isClosing = false;
 
-        this.taskScheduler = Executors.newScheduledThreadPool(1);
+        if (this.sharedTaskScheduler != null)
+        {
+            this.taskScheduler = this.sharedTaskScheduler;
+        }
+        else
+        {
+            this.taskScheduler = this.useVirtualThreads
+                ? Executors.newScheduledThreadPool(1, VirtualThreads.getThreadFactory())
+                : Executors.newScheduledThreadPool(1);
+        }
+
+        this.correlationCallbackCleanupFuture = this.taskScheduler.scheduleWithFixedDelay(
+            this::removeOldCorrelationCallbacks,
+            CORRELATION_CALLBACK_CLEANUP_PERIOD_MILLISECONDS,
+            CORRELATION_CALLBACK_CLEANUP_PERIOD_MILLISECONDS,
+            MILLISECONDS);
 
         if (withRetry)
         {
@@ -568,9 +665,17 @@ public class IotHubTransport implements IotHubListener
         {
             this.cancelPendingPackets();
 
+            // These can't be sent once the connection is closed. The service will send their messages again.
+            this.deferredAcknowledgements.clear();
+
             this.invokeCallbacks();
 
-            if (this.taskScheduler != null)
+            if (this.correlationCallbackCleanupFuture != null)
+            {
+                this.correlationCallbackCleanupFuture.cancel(false);
+            }
+
+            if (this.taskScheduler != null && this.taskScheduler != this.sharedTaskScheduler)
             {
                 this.taskScheduler.shutdown();
             }
@@ -595,6 +700,9 @@ public class IotHubTransport implements IotHubListener
                 // Notify reconnect thread to finish up so it doesn't survive this close
                 this.reconnectThreadSemaphore.release();
 
+                // Senders that are waiting for room in the outbound queue give up now that this transport is closed
+                this.outboundQueueCapacity.wakeUpWaitingSenders();
+
                 log.debug("Client connection closed successfully");
             }
         }
@@ -653,6 +761,83 @@ public class IotHubTransport implements IotHubListener
         }
     }
 
+    /**
+     * Does the same work as {@link #reconnect()}, but rather than sleeping between reconnection attempts, returns how long
+     * to wait before calling it again for the next attempt. This is for clients whose reconnect task runs on a scheduler
+     * that is shared with other clients, where sleeping would keep the other clients' tasks from running.
+     *
+     * @return how many milliseconds to wait before calling this again, or -1 if the connection no longer needs to be
+     * reconnected.
+     * @throws InterruptedException if interrupted while reconnecting.
+     */
+    public long reconnectWithoutWaiting() throws InterruptedException
+    {
+        synchronized (this.reconnectionLock)
+        {
+            if (!needsReconnect() || this.isClosing)
+            {
+                resetStepwiseReconnection();
+                return -1;
+            }
+
+            if (this.connectionStatus != IotHubConnectionStatus.DISCONNECTED_RETRYING)
+            {
+                // Only multiplexed device sessions need reconnecting, and the multiplexing client doesn't use a shared
+                // scheduler, so there is no thread to give back
+                reconnect();
+                resetStepwiseReconnection();
+                return -1;
+            }
+
+            clearInProgressMessages();
+
+            long currentTimeMillis = System.currentTimeMillis();
+            if (this.stepwiseReconnectionStartTimeMillis == 0)
+            {
+                this.stepwiseReconnectionStartTimeMillis = currentTimeMillis;
+            }
+
+            if (this.stepwiseReconnectionNextAttemptTimeMillis == 0)
+            {
+                RetryPolicy retryPolicy = this.getDefaultConfig().getRetryPolicy();
+                long retryDelayMillis = getReconnectionRetryDelay(retryPolicy, this.stepwiseReconnectionAttempt, this.stepwiseReconnectionStartTimeMillis);
+                if (retryDelayMillis < 0)
+                {
+                    resetStepwiseReconnection();
+                    return -1;
+                }
+
+                this.stepwiseReconnectionNextAttemptTimeMillis = currentTimeMillis + retryDelayMillis;
+            }
+
+            long remainingDelayMillis = this.stepwiseReconnectionNextAttemptTimeMillis - currentTimeMillis;
+            if (remainingDelayMillis > 0)
+            {
+                log.trace("Waiting {} milliseconds before the next reconnect attempt", remainingDelayMillis);
+                return remainingDelayMillis;
+            }
+
+            this.stepwiseReconnectionNextAttemptTimeMillis = 0;
+            this.stepwiseReconnectionAttempt++;
+            reopenConnection();
+
+            if (!needsReconnect() || this.isClosing)
+            {
+                resetStepwiseReconnection();
+                return -1;
+            }
+
+            return 0;
+        }
+    }
+
+    private void resetStepwiseReconnection()
+    {
+        this.stepwiseReconnectionStartTimeMillis = 0;
+        this.stepwiseReconnectionAttempt = 0;
+        this.stepwiseReconnectionNextAttemptTimeMillis = 0;
+    }
+
     /**
      * Check if the previous reconnection attempt for the given device session has reached a terminal state yet or not
      * @param deviceSessionToReconnect the deviceId of the device session to check on.
@@ -745,12 +930,125 @@ public class IotHubTransport implements IotHubListener
             throw new IllegalStateException("Cannot add a message when the transport is closed.");
         }
 
+        this.assignMissingIds(message, deviceId);
+
         IotHubTransportPacket packet = new IotHubTransportPacket(message, callback, callbackContext, null, System.currentTimeMillis(), deviceId);
+        if (!this.outboundQueueCapacity.tryAcquire(packet) && !this.makeRoomInOutboundQueue(packet))
+        {
+            if (this.connectionStatus == IotHubConnectionStatus.DISCONNECTED)
+            {
+                throw new IllegalStateException("Cannot add a message when the transport is closed.");
+            }
+
+            log.warn("Outbound message queue is full, so the message was rejected ({})", message);
+            this.dropPacket(packet);
+            return;
+        }
+
         this.addToWaitingQueue(packet);
 
         log.debug("Message was queued to be sent later ({})", message);
     }
 
+    /**
+     * Gives the message, and each message nested in it if it is a batch, a message id and correlation id from the
+     * device's {@link MessageIdGenerator} if it doesn't have them already. Messages don't create their own ids when they
+     * are constructed, so this is where every sent message gets the unique message id that in progress messages are
+     * tracked by.
+     */
+    private void assignMissingIds(Message message, String deviceId)
+    {
+        ClientConfiguration config = deviceId != null ? this.getConfig(deviceId) : null;
+        MessageIdGenerator messageIdGenerator = config != null ? config.getMessageIdGenerator() : this.unregisteredDeviceMessageIdGenerator;
+
+        assignMissingIds(message, messageIdGenerator);
+        if (message instanceof BatchMessage && ((BatchMessage) message).getNestedMessages() != null)
+        {
+            for (Message nestedMessage : ((BatchMessage) message).getNestedMessages())
+            {
+                assignMissingIds(nestedMessage, messageIdGenerator);
+            }
+        }
+    }
+
+    private static void assignMissingIds(Message message, MessageIdGenerator messageIdGenerator)
+    {
+        if (message.getMessageId() == null)
+        {
+            message.setMessageId(messageIdGenerator.generateId());
+        }
+
+        String correlationId = message.getCorrelationId();
+        if (correlationId == null || correlationId.isEmpty())
+        {
+            message.setCorrelationId(messageIdGenerator.generateId());
+        }
+    }
+
+    /**
+     * Makes room in the outbound queue for the given packet, as the overflow policy allows, and counts it.
+     *
+     * @return true if the packet was counted, and false if it should be rejected.
+     */
+    private boolean makeRoomInOutboundQueue(IotHubTransportPacket packet)
+    {
+        OutboundQueueOverflowPolicy overflowPolicy = this.outboundQueueOverflowPolicy;
+        if (overflowPolicy == OutboundQueueOverflowPolicy.BLOCK)
+        {
+            log.trace("Outbound message queue is full, waiting for room for the message ({})", packet.getMessage());
+            try
+            {
+                return this.outboundQueueCapacity.acquire(packet, () -> this.connectionStatus == IotHubConnectionStatus.DISCONNECTED);
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        else if (overflowPolicy == OutboundQueueOverflowPolicy.DROP_OLDEST
+            || overflowPolicy == OutboundQueueOverflowPolicy.DROP_LOWEST_PRIORITY)
+        {
+            do
+            {
+                IotHubTransportPacket droppedPacket = overflowPolicy == OutboundQueueOverflowPolicy.DROP_OLDEST
+                    ? this.waitingPacketsQueue.removeNext(IotHubTransport::isDroppable)
+                    : this.waitingPacketsQueue.removeLowestPriority(packet.getMessage().getPriority(), IotHubTransport::isDroppable);
+
+                if (droppedPacket == null)
+                {
+                    // Only messages that are already in flight, or that can never be dropped, are left
+                    return false;
+                }
+
+                log.warn("Outbound message queue is full, so a queued message was dropped to make room for a new one ({})", droppedPacket.getMessage());
+                this.dropPacket(droppedPacket);
+            }
+            while (!this.outboundQueueCapacity.tryAcquire(packet));
+
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Only telemetry is dropped to make room in the outbound queue. Twin and direct method messages are requests and
+     * responses that the service or the client is waiting on, so dropping one would leave that operation hanging.
+     */
+    private static boolean isDroppable(IotHubTransportPacket packet)
+    {
+        MessageType messageType = packet.getMessage().getMessageType();
+        return messageType != MessageType.DEVICE_TWIN && messageType != MessageType.DEVICE_METHODS;
+    }
+
+    private void dropPacket(IotHubTransportPacket packet)
+    {
+        this.outboundQueueCapacity.onPacketDropped();
+        packet.setStatus(IotHubStatusCode.MESSAGE_DROPPED);
+        this.addToCallbackQueue(packet);
+    }
+
     public IotHubClientProtocol getProtocol()
     {
         return this.protocol;
@@ -829,84 +1127,104 @@ public class IotHubTransport implements IotHubListener
 
     private void checkForExpiredMessages()
     {
-        synchronized (this.waitingPacketsQueue)
+        // Only the packets that have expired are looked at, rather than every waiting and in progress packet
+        for (IotHubTransportPacket expiredPacket : this.expiringPackets.getExpired(System.currentTimeMillis()))
         {
-            //Check waiting packets, remove any that have expired.
-            IotHubTransportPacket packet = this.waitingPacketsQueue.poll();
-            Queue<IotHubTransportPacket> packetsToAddBackIntoWaitingPacketsQueue = new LinkedBlockingQueue<>();
-            while (packet != null)
+            boolean isRemoved = this.waitingPacketsQueue.remove(expiredPacket);
+            if (!isRemoved)
             {
-                if (packet.getMessage().isExpired())
-                {
-                    packet.setStatus(IotHubStatusCode.MESSAGE_EXPIRED);
-                    this.addToCallbackQueue(packet);
-                }
-                else
+                synchronized (this.inProgressMessagesLock)
                 {
-                    //message not expired, requeue it
-                    packetsToAddBackIntoWaitingPacketsQueue.add(packet);
+                    isRemoved = this.inProgressPackets.remove(expiredPacket.getMessage().getMessageId(), expiredPacket);
                 }
+            }
 
-                packet = this.waitingPacketsQueue.poll();
+            if (isRemoved)
+            {
+                log.warn("Message has expired, adding to callbacks queue with MESSAGE_EXPIRED ({})", expiredPacket.getMessage());
+                expiredPacket.setStatus(IotHubStatusCode.MESSAGE_EXPIRED);
+                this.addToCallbackQueue(expiredPacket);
             }
 
-            //Requeue all the non-expired messages.
-            this.waitingPacketsQueue.addAll(packetsToAddBackIntoWaitingPacketsQueue);
+            // Otherwise the packet is waiting for its retry delay to pass, or is being sent right now. It stays in the
+            // index until it is added to the callback queue, so if it is still waiting or in progress next time, it
+            // is found then.
         }
+    }
 
-        //Check in progress messages
-        synchronized (this.inProgressMessagesLock)
+    // Remove any correlation callbacks that have not been acknowledged within the default correlation ID live time since
+    // their request could last be sent. Otherwise, the number of callbacks will grow endlessly which results in OutOfMemory
+    // eventually.
+    private void removeOldCorrelationCallbacks()
+    {
+        try
         {
-            List<String> expiredPacketMessageIds = new ArrayList<>();
-            for (String messageId : this.inProgressPackets.keySet())
+            int removedCount = this.correlationCallbacks.removeExpired(System.currentTimeMillis());
+            if (removedCount > 0)
             {
-                if (this.inProgressPackets.get(messageId).getMessage().isExpired())
-                {
-                    expiredPacketMessageIds.add(messageId);
-                }
+                log.debug("Removed {} correlation callbacks that were not acknowledged within {} milliseconds of their request's operation timeout or expiry. {} correlation callbacks remain", removedCount, DEFAULT_CORRELATION_ID_LIVE_TIME, this.correlationCallbacks.size());
             }
+        }
+        catch (Exception e)
+        {
+            // An exception thrown from here would cancel all future runs of this task
+            log.warn("Exception thrown while removing old correlation callbacks", e);
+        }
+    }
 
-            for (String messageId : expiredPacketMessageIds)
+    private Thread newThread(Runnable runnable)
+    {
+        return this.useVirtualThreads ? VirtualThreads.getThreadFactory().newThread(runnable) : new Thread(runnable);
+    }
+
+    private void startExpiredMessagesCheck()
+    {
+        if (this.sharedTaskScheduler == null)
+        {
+            try
             {
-                IotHubTransportPacket expiredPacket = this.inProgressPackets.remove(messageId);
-                expiredPacket.setStatus(IotHubStatusCode.MESSAGE_EXPIRED);
-                this.addToCallbackQueue(expiredPacket);
+                expiredMessagesCleanupThread.start();
+            }
+            catch (IllegalThreadStateException e)
+            {
+                // Thread has already started. No need to report this exception
             }
         }
+        else if (this.expiredMessagesCheckFuture == null)
+        {
+            // Expired messages are added to the callback queue, which wakes up the send task to execute their callbacks,
+            // so callbacks are still only executed by that task.
+            this.expiredMessagesCheckFuture = this.sharedTaskScheduler.scheduleWithFixedDelay(
+                this::checkForExpiredMessagesOnSchedule,
+                this.messageExpirationCheckPeriod,
+                this.messageExpirationCheckPeriod,
+                MILLISECONDS);
+        }
     }
 
-    // Check if the "correlationCallbacks" map contains any correlation ID which has existed over the
-    // default correlation ID live time. If so, remove the old correlation IDs from the map. Otherwise,
-    // the size of map will grow endlessly which results in OutOfMemory eventually.
-    private void checkForOldMessages()
+    private void stopExpiredMessagesCheck()
     {
-        try
+        if (this.sharedTaskScheduler == null)
         {
-            Thread.currentThread().setName("azure-iot-sdk-IotHubCleanupTask");
-            while (true)
-            {
-                Thread.sleep(CORRELATION_CALLBACK_CLEANUP_PERIOD_MILLISECONDS);
-
-                List<String> correlationIdsToRemove = new ArrayList<>();
-
-                for (String correlationId : correlationCallbacks.keySet())
-                {
-                    if (System.currentTimeMillis() - correlationCallbacks.get(correlationId).getStartTimeMillis() >= DEFAULT_CORRELATION_ID_LIVE_TIME)
-                    {
-                        correlationIdsToRemove.add(correlationId);
-                    }
-                }
+            expiredMessagesCleanupThread.interrupt();
+        }
+        else if (this.expiredMessagesCheckFuture != null)
+        {
+            this.expiredMessagesCheckFuture.cancel(false);
+            this.expiredMessagesCheckFuture = null;
+        }
+    }
 
-                for (String correlationId : correlationIdsToRemove)
-                {
-                    correlationCallbacks.remove(correlationId);
-                }
-            }
+    private void checkForExpiredMessagesOnSchedule()
+    {
+        try
+        {
+            checkForExpiredMessages();
         }
-        catch (InterruptedException e)
+        catch (Exception e)
         {
-            // The exception can be ignored since this thread is interrupted when the client is closing.
-            // Once interrupted, simply end this thread.
+            // An exception thrown from here would cancel all future runs of this task
+            log.warn("Exception thrown while checking for expired messages", e);
         }
     }
 
@@ -935,27 +1253,41 @@ public class IotHubTransport implements IotHubListener
      */
     public void invokeCallbacks()
     {
+        MessageSentCallbackDispatcher dispatcher = this.messageSentCallbackDispatcher;
         IotHubTransportPacket packet = this.callbackPacketsQueue.poll();
         while (packet != null)
         {
-            IotHubStatusCode status = packet.getStatus();
-            MessageSentCallback callback = packet.getCallback();
-            Object context = packet.getContext();
-
-            log.debug("Invoking the callback function for sent message, IoT Hub responded to message ({}) with status {}", packet.getMessage(), status);
-
-            IotHubClientException clientException = null;
-            if (status != OK)
+            if (dispatcher != null)
             {
-                clientException = new IotHubClientException(status, "Received an unsuccessful operation error code from the service: " + status);
+                final IotHubTransportPacket dispatchedPacket = packet;
+                dispatcher.dispatch(packet.getDeviceId(), () -> invokeCallback(dispatchedPacket));
+            }
+            else
+            {
+                invokeCallback(packet);
             }
-
-            callback.onMessageSent(packet.getMessage(), clientException, context);
 
             packet = this.callbackPacketsQueue.poll();
         }
     }
 
+    private static void invokeCallback(IotHubTransportPacket packet)
+    {
+        IotHubStatusCode status = packet.getStatus();
+        MessageSentCallback callback = packet.getCallback();
+        Object context = packet.getContext();
+
+        log.debug("Invoking the callback function for sent message, IoT Hub responded to message ({}) with status {}", packet.getMessage(), status);
+
+        IotHubClientException clientException = null;
+        if (status != OK)
+        {
+            clientException = new IotHubClientException(status, "Received an unsuccessful operation error code from the service: " + status);
+        }
+
+        callback.onMessageSent(packet.getMessage(), clientException, context);
+    }
+
     /**
      * <p>
      * Invokes the message callback if a message is found and
@@ -970,17 +1302,27 @@ public class IotHubTransport implements IotHubListener
     {
         if (this.connectionStatus == IotHubConnectionStatus.CONNECTED)
         {
-            if (this.iotHubTransportConnection instanceof HttpsIotHubConnection)
+            if (this.iotHubTransportConnection instanceof HttpsIotHubConnection && !this.receivedMessageBuffer.isFull())
             {
                 log.trace("Sending http request to check for any cloud to device messages...");
                 addReceivedMessagesOverHttpToReceivedQueue();
             }
 
-            IotHubTransportMessage receivedMessage = this.receivedMessagesQueue.poll();
+            IotHubTransportMessage receivedMessage = this.receivedMessageBuffer.poll();
             if (receivedMessage != null)
             {
-                this.acknowledgeReceivedMessage(receivedMessage);
+                try
+                {
+                    this.acknowledgeReceivedMessage(receivedMessage);
+                }
+                finally
+                {
+                    // If its acknowledgement couldn't be sent, the message was already added back and counted again
+                    this.receivedMessageBuffer.release(receivedMessage);
+                }
             }
+
+            this.sendDeferredAcknowledgements();
         }
     }
 
@@ -995,7 +1337,11 @@ public class IotHubTransport implements IotHubListener
     {
         synchronized (this.inProgressMessagesLock)
         {
-            return this.waitingPacketsQueue.isEmpty() && this.inProgressPackets.size() == 0 && this.callbackPacketsQueue.isEmpty();
+            MessageSentCallbackDispatcher dispatcher = this.messageSentCallbackDispatcher;
+            return this.waitingPacketsQueue.isEmpty()
+                && this.inProgressPackets.size() == 0
+                && this.callbackPacketsQueue.isEmpty()
+                && (dispatcher == null || dispatcher.getPendingCallbackCount() == 0);
         }
     }
 
@@ -1153,17 +1499,12 @@ public class IotHubTransport implements IotHubListener
         }
 
         // When a client is unregistered, remove all "waiting" and "in progress" messages that it had queued.
-        for (IotHubTransportPacket waitingPacket : this.waitingPacketsQueue)
+        for (ClientConfiguration unregisteredConfig : configs)
         {
-            String deviceIdForMessage = waitingPacket.getDeviceId();
-            for (ClientConfiguration unregisteredConfig : configs)
+            for (IotHubTransportPacket waitingPacket : this.waitingPacketsQueue.pollAll(unregisteredConfig.getDeviceId()))
             {
-                if (unregisteredConfig.getDeviceId().equals(deviceIdForMessage))
-                {
-                    this.waitingPacketsQueue.remove(waitingPacket);
-                    waitingPacket.setStatus(IotHubStatusCode.MESSAGE_CANCELLED_ONCLOSE);
-                    this.addToCallbackQueue(waitingPacket);
-                }
+                waitingPacket.setStatus(IotHubStatusCode.MESSAGE_CANCELLED_ONCLOSE);
+                this.addToCallbackQueue(waitingPacket);
             }
         }
 
@@ -1195,6 +1536,104 @@ public class IotHubTransport implements IotHubListener
         this.maxNumberOfMessagesToSendPerThread = maxNumberOfMessagesSentPerSendThread;
     }
 
+    /**
+     * Limits how many messages, and how many bytes of message body, this client holds on to from when they are sent
+     * until their callback is queued, and sets what happens to a message that is sent when those limits are reached.
+     *
+     * @param maxMessages the maximum number of messages to hold on to, or 0 for no limit.
+     * @param maxBytes the maximum number of bytes of message body to hold on to, or 0 for no limit.
+     * @param overflowPolicy what to do with a message that is sent when the limits are reached.
+     */
+    public void setOutboundQueueLimits(int maxMessages, long maxBytes, OutboundQueueOverflowPolicy overflowPolicy)
+    {
+        if (overflowPolicy == null)
+        {
+            throw new IllegalArgumentException("Outbound queue overflow policy cannot be null");
+        }
+
+        this.outboundQueueCapacity.setLimits(maxMessages, maxBytes);
+        this.outboundQueueOverflowPolicy = overflowPolicy;
+    }
+
+    /**
+     * @return the number of messages that this client holds on to, from when each was sent until its callback was
+     * queued. This includes messages that are waiting to be sent, waiting for an acknowledgement, or waiting to be retried.
+     */
+    public int getQueuedOutboundMessageCount()
+    {
+        return this.outboundQueueCapacity.getMessageCount();
+    }
+
+    /**
+     * @return the number of bytes of message body of the messages counted by {@link #getQueuedOutboundMessageCount()}.
+     */
+    public long getQueuedOutboundMessageBytes()
+    {
+        return this.outboundQueueCapacity.getBytes();
+    }
+
+    /**
+     * @return the number of messages that this client rejected or dropped because its outbound queue was full.
+     */
+    public long getDroppedOutboundMessageCount()
+    {
+        return this.outboundQueueCapacity.getDroppedMessageCount();
+    }
+
+    /**
+     * Sets the executor that message sent callbacks run on. Callbacks for the same device run one at a time and in
+     * order, while callbacks for different devices may run in parallel. Callbacks that are already queued when this is
+     * called may still run on the previous executor.
+     *
+     * @param executor the executor to run message sent callbacks on, or null to run them on the thread that sends
+     * messages.
+     */
+    public void setMessageSentCallbackExecutor(Executor executor)
+    {
+        this.messageSentCallbackDispatcher = executor != null ? new MessageSentCallbackDispatcher(executor) : null;
+    }
+
+    /**
+     * @return the number of message sent callbacks that were handed to the message sent callback executor and haven't
+     * finished running yet, or 0 if no such executor is set.
+     */
+    public int getPendingMessageSentCallbackCount()
+    {
+        MessageSentCallbackDispatcher dispatcher = this.messageSentCallbackDispatcher;
+        return dispatcher != null ? dispatcher.getPendingCallbackCount() : 0;
+    }
+
+    /**
+     * Limits how many received messages, and how many bytes of received message body, this client holds on to before it
+     * stops asking the service for more. Over AMQP, the receiver links stop granting the service credit. Over MQTT, the
+     * acknowledgements of the messages that were handled are held back. Over HTTPS, the client stops polling.
+     *
+     * @param maxMessages the maximum number of received messages to hold on to, or 0 for no limit.
+     * @param maxBytes the maximum number of bytes of received message body to hold on to, or 0 for no limit.
+     */
+    public void setReceiveBufferLimits(int maxMessages, long maxBytes)
+    {
+        this.receivedMessageBuffer.setLimits(maxMessages, maxBytes);
+    }
+
+    /**
+     * @return the number of received messages that this client is holding on to, including the one whose callback is
+     * executing.
+     */
+    public int getBufferedReceivedMessageCount()
+    {
+        return this.receivedMessageBuffer.getBufferedMessageCount();
+    }
+
+    /**
+     * @return the number of bytes of received message body that this client is holding on to, including the body of the
+     * message whose callback is executing.
+     */
+    public long getBufferedReceivedMessageBytes()
+    {
+        return this.receivedMessageBuffer.getBufferedBytes();
+    }
+
     /**
      * Moves all packets from waiting queue and in progress map into callbacks queue with status MESSAGE_CANCELLED_ONCLOSE
      */
@@ -1254,32 +1693,16 @@ public class IotHubTransport implements IotHubListener
                 throw ex;
             }
 
-            try
+            if ((this.protocol == IotHubClientProtocol.MQTT || this.protocol == IotHubClientProtocol.MQTT_WS) && this.receivedMessageBuffer.isFull())
             {
-                log.debug("Sending acknowledgement for received cloud to device message ({})", receivedMessage);
-                this.iotHubTransportConnection.sendMessageResult(receivedMessage, result);
-
-                try
-                {
-                    String correlationId = receivedMessage.getCorrelationId();
-                    if (!correlationId.isEmpty())
-                    {
-                        CorrelationCallbackContext callbackContext = correlationCallbacks.get(correlationId);
-
-                        if (callbackContext != null && callbackContext.getCallback() != null)
-                        {
-                            callbackContext.getCallback().onResponseAcknowledged(receivedMessage, callbackContext.getUserContext());
-                        }
+                log.trace("Received message buffer is full, deferring the acknowledgement of received message ({})", receivedMessage);
+                this.deferredAcknowledgements.add(new AbstractMap.SimpleImmutableEntry<>(receivedMessage, result));
+                return;
+            }
 
-                        // We need to remove the CorrelatingMessageCallback with the current correlation ID from the map after the received C2D
-                        // message has been acknowledged. Otherwise, the size of map will grow endlessly which results in OutOfMemory eventually.
-                        new Thread(() -> correlationCallbacks.remove(correlationId)).start();
-                    }
-                }
-                catch (Exception ex)
-                {
-                    log.warn("Exception thrown while calling the onResponseAcknowledged callback in acknowledgeReceivedMessage", ex);
-                }
+            try
+            {
+                this.sendMessageResult(receivedMessage, result);
             }
             catch (TransportException e)
             {
@@ -1290,6 +1713,60 @@ public class IotHubTransport implements IotHubListener
         }
     }
 
+    /**
+     * Sends the acknowledgements that were held back while the received message buffer was full, for as long as it
+     * isn't full. A deferred acknowledgement that can't be sent is dropped since its message's callback has already been
+     * executed. The service will send that message again.
+     */
+    private void sendDeferredAcknowledgements()
+    {
+        while (!this.receivedMessageBuffer.isFull())
+        {
+            Map.Entry<IotHubTransportMessage, IotHubMessageResult> deferredAcknowledgement = this.deferredAcknowledgements.poll();
+            if (deferredAcknowledgement == null)
+            {
+                return;
+            }
+
+            try
+            {
+                this.sendMessageResult(deferredAcknowledgement.getKey(), deferredAcknowledgement.getValue());
+            }
+            catch (TransportException e)
+            {
+                log.warn("Sending deferred acknowledgement for received cloud to device message failed ({})", deferredAcknowledgement.getKey(), e);
+            }
+        }
+    }
+
+    private void sendMessageResult(IotHubTransportMessage receivedMessage, IotHubMessageResult result) throws TransportException
+    {
+        log.debug("Sending acknowledgement for received cloud to device message ({})", receivedMessage);
+        this.iotHubTransportConnection.sendMessageResult(receivedMessage, result);
+
+        try
+        {
+            String correlationId = receivedMessage.getCorrelationId();
+            if (!correlationId.isEmpty())
+            {
+                CorrelationCallbackContext callbackContext = correlationCallbacks.get(correlationId);
+
+                if (callbackContext != null && callbackContext.getCallback() != null)
+                {
+                    callbackContext.getCallback().onResponseAcknowledged(receivedMessage, callbackContext.getUserContext());
+                }
+
+                // We need to remove the CorrelatingMessageCallback with the current correlation ID after the received C2D
+                // message has been acknowledged, rather than waiting for it to be removed for being too old.
+                correlationCallbacks.remove(correlationId);
+            }
+        }
+        catch (Exception ex)
+        {
+            log.warn("Exception thrown while calling the onResponseAcknowledged callback in acknowledgeReceivedMessage", ex);
+        }
+    }
+
     /**
      * Checks if any messages were received over HTTP and adds all of them to the received messages queue
      *
@@ -1391,6 +1868,7 @@ public class IotHubTransport implements IotHubListener
                                 this.proxySettings,
                                 this.keepAliveInterval,
                                 this.sendInterval,
+                                this.amqpEventDrivenSend,
                                 this.useIdentifiableThreadNames,
                                 this.threadNamePrefix,
                                 this.threadNameSuffix);
@@ -1405,6 +1883,8 @@ public class IotHubTransport implements IotHubListener
                         this.iotHubTransportConnection = new AmqpsIotHubConnection(this.getDefaultConfig(), this.transportUniqueIdentifier);
                     }
 
+                    ((AmqpsIotHubConnection) this.iotHubTransportConnection).setReceivedMessageBuffer(this.receivedMessageBuffer);
+
                     break;
                 default:
                     throw new TransportException("Protocol not supported");
@@ -1488,6 +1968,25 @@ public class IotHubTransport implements IotHubListener
      * Attempts to close and then re-open the iotHubTransportConnection once
      */
     private void singleReconnectAttempt(RetryPolicy retryPolicy, int reconnectionAttempt, long reconnectionStartTimeMillis) throws InterruptedException
+    {
+        long retryDelayMillis = getReconnectionRetryDelay(retryPolicy, reconnectionAttempt, reconnectionStartTimeMillis);
+        if (retryDelayMillis < 0)
+        {
+            return;
+        }
+
+        log.trace("Sleeping between reconnect attempts");
+        MILLISECONDS.sleep(retryDelayMillis);
+
+        reopenConnection();
+    }
+
+    /**
+     * Decides whether to make another reconnect attempt, and closes this transport if not.
+     *
+     * @return how many milliseconds to wait before the attempt, or -1 if no more attempts should be made.
+     */
+    private long getReconnectionRetryDelay(RetryPolicy retryPolicy, int reconnectionAttempt, long reconnectionStartTimeMillis)
     {
         if (this.hasOperationTimedOut(reconnectionStartTimeMillis))
         {
@@ -1495,7 +1994,7 @@ public class IotHubTransport implements IotHubListener
             this.close(
                     IotHubConnectionStatusChangeReason.RETRY_EXPIRED,
                     new IotHubClientException(DEVICE_OPERATION_TIMED_OUT, "Device operation for reconnection timed out"));
-            return;
+            return -1;
         }
 
         TransportException transportException = getTransportExceptionFromThrowable(this.connectionStatusLastException);
@@ -1507,11 +2006,19 @@ public class IotHubTransport implements IotHubListener
         {
             log.debug("Reconnection was abandoned due to the retry policy");
             this.close(IotHubConnectionStatusChangeReason.RETRY_EXPIRED, transportException);
-            return;
+            return -1;
         }
 
-        log.trace("Sleeping between reconnect attempts");
-        MILLISECONDS.sleep(retryDecision.getDuration());
+        return retryDecision.getDuration();
+    }
+
+    /**
+     * Closes and re-opens the iotHubTransportConnection once, and closes this transport if that fails with a
+     * non-retryable exception.
+     */
+    private void reopenConnection() throws InterruptedException
+    {
+        TransportException transportException = getTransportExceptionFromThrowable(this.connectionStatusLastException);
 
         try
         {
@@ -1584,6 +2091,7 @@ public class IotHubTransport implements IotHubListener
                 if (config == null)
                 {
                     log.debug("Abandoning handling the message exception since the device it was associated with has been unregistered.");
+                    this.expiringPackets.remove(packet);
                     return;
                 }
 
@@ -1745,32 +2253,15 @@ public class IotHubTransport implements IotHubListener
 
             if (newConnectionStatus == IotHubConnectionStatus.CONNECTED)
             {
-                try
+                // 0 means that the user doesn't want to ever run this check
+                if (messageExpirationCheckPeriod != 0)
                 {
-                    correlationCallbackCleanupThread.start();
-                }
-                catch (IllegalThreadStateException e)
-                {
-                    // Thread has already started. No need to report this exception
-                }
-
-                try
-                {
-                    // 0 means that the user doesn't want to ever run this check
-                    if (messageExpirationCheckPeriod != 0)
-                    {
-                        expiredMessagesCleanupThread.start();
-                    }
-                }
-                catch (IllegalThreadStateException e)
-                {
-                    // Thread has already started. No need to report this exception
+                    startExpiredMessagesCheck();
                 }
             }
             else if (newConnectionStatus == IotHubConnectionStatus.DISCONNECTED)
             {
-                correlationCallbackCleanupThread.interrupt();
-                expiredMessagesCleanupThread.interrupt();
+                stopExpiredMessagesCheck();
             }
         }
     }
@@ -1827,28 +2318,13 @@ public class IotHubTransport implements IotHubListener
     // that the message was cancelled.
     private void finalizeMultiplexedDevicesMessages(String deviceId)
     {
-        //Check waiting packets, remove any that have expired.
-        IotHubTransportPacket packet = this.waitingPacketsQueue.poll();
-        Queue<IotHubTransportPacket> packetsToAddBackIntoWaitingPacketsQueue = new LinkedBlockingQueue<>();
-        while (packet != null)
+        //Cancel the waiting packets of this device. The other devices' packets are left where they are.
+        for (IotHubTransportPacket packet : this.waitingPacketsQueue.pollAll(deviceId))
         {
-            if (packet.getMessage().getConnectionDeviceId().equals(deviceId))
-            {
-                packet.setStatus(IotHubStatusCode.MESSAGE_CANCELLED_ONCLOSE);
-                this.addToCallbackQueue(packet);
-            }
-            else
-            {
-                //message didn't belong to this device, requeue it
-                packetsToAddBackIntoWaitingPacketsQueue.add(packet);
-            }
-
-            packet = this.waitingPacketsQueue.poll();
+            packet.setStatus(IotHubStatusCode.MESSAGE_CANCELLED_ONCLOSE);
+            this.addToCallbackQueue(packet);
         }
 
-        //Requeue all the messages that belong to other devices.
-        this.waitingPacketsQueue.addAll(packetsToAddBackIntoWaitingPacketsQueue);
-
         //Check in progress messages
         synchronized (this.inProgressMessagesLock)
         {
@@ -1958,6 +2434,9 @@ public class IotHubTransport implements IotHubListener
      */
     private void addToCallbackQueue(IotHubTransportPacket packet)
     {
+        this.expiringPackets.remove(packet);
+        this.outboundQueueCapacity.release(packet);
+
         if (packet.getCallback() != null)
         {
             this.callbackPacketsQueue.add(packet);
@@ -1993,10 +2472,18 @@ public class IotHubTransport implements IotHubListener
                     if (!correlationId.isEmpty() && correlationCallback != null)
                     {
                         Object correlationCallbackContext = message.getCorrelatingMessageCallbackContext();
-                        correlationCallbacks.put(correlationId, new CorrelationCallbackContext(
-                            correlationCallback,
-                            correlationCallbackContext,
-                            System.currentTimeMillis()));
+                        long startTimeMillis = System.currentTimeMillis();
+
+                        // The request may wait in the queue or be retried until its operation times out or its message
+                        // expires, whichever is later, so its callback is kept until then plus the live time
+                        ClientConfiguration config = this.getDefaultConfig();
+                        long lastSendTimeMillis = config != null ? startTimeMillis + config.getOperationTimeout() : startTimeMillis;
+                        lastSendTimeMillis = Math.max(lastSendTimeMillis, message.getExpiryTime());
+
+                        correlationCallbacks.put(
+                            correlationId,
+                            new CorrelationCallbackContext(correlationCallback, correlationCallbackContext, startTimeMillis),
+                            lastSendTimeMillis);
 
                         correlationCallback.onRequestQueued(message, correlationCallbackContext);
                     }
@@ -2008,6 +2495,11 @@ public class IotHubTransport implements IotHubListener
             log.warn("Exception thrown while calling the onQueueRequest callback in addToWaitingQueue", ex);
         }
 
+        if (packet != null)
+        {
+            this.expiringPackets.add(packet);
+        }
+
         this.waitingPacketsQueue.add(packet);
 
         // Wake up IotHubSendTask so it can send this message
@@ -2016,7 +2508,7 @@ public class IotHubTransport implements IotHubListener
 
     private void addToReceivedMessagesQueue(IotHubTransportMessage message)
     {
-        this.receivedMessagesQueue.add(message);
+        this.receivedMessageBuffer.add(message);
 
         // Wake up IotHubReceiveTask so it can handle receiving this message
         this.receiveThreadSemaphore.release();
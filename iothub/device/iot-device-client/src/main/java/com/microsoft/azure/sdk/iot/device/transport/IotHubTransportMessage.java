@@ -36,6 +36,14 @@ public class IotHubTransportMessage extends Message
     @Setter
     private int qualityOfService;
 
+    // The body length that ReceivedMessageBuffer counted this message at, which its body may have outgrown since by
+    // being decompressed
+    int bufferedBodyLength;
+
+    // The body length that ReceivedMessageBuffer releases this message at, which is what it was counted at when it was
+    // last taken. The message may be added back, and counted again, before it is released.
+    int takenBodyLength;
+
     /**
      * Constructor with binary data and message type
      * @param data The byte array of the message.
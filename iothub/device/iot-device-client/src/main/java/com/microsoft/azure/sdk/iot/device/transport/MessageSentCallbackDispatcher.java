@@ -0,0 +1,127 @@
+// Copyright (c) Microsoft. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package com.microsoft.azure.sdk.iot.device.transport;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs message sent callbacks on a user provided executor instead of on the thread that sends messages. Callbacks for
+ * the same device run one at a time, in the order that they were dispatched, while callbacks for different devices
+ * may run in parallel on different executor threads.
+ * <p>
+ * Each device has its own queue of callbacks, and at most one task per device is submitted to the executor at a time.
+ * That task invokes up to {@link #MAX_CALLBACKS_PER_DRAIN} callbacks and then submits itself again if more are queued,
+ * so that one device with a long backlog doesn't hold on to an executor thread while other devices' callbacks wait.
+ */
+@Slf4j
+final class MessageSentCallbackDispatcher
+{
+    static final int MAX_CALLBACKS_PER_DRAIN = 64;
+
+    private final Executor executor;
+
+    // Keys are deviceIds
+    private final Map<String, DeviceCallbackQueue> deviceCallbackQueues = new ConcurrentHashMap<>();
+
+    // The number of callbacks that were dispatched and haven't finished running yet
+    private final AtomicInteger pendingCallbackCount = new AtomicInteger();
+
+    MessageSentCallbackDispatcher(Executor executor)
+    {
+        if (executor == null)
+        {
+            throw new IllegalArgumentException("Executor cannot be null");
+        }
+
+        this.executor = executor;
+    }
+
+    /**
+     * Queues the callback to run on the executor after every callback that was previously dispatched for the same device.
+     *
+     * @param deviceId the device that the callback belongs to.
+     * @param callback the callback to run.
+     */
+    void dispatch(String deviceId, Runnable callback)
+    {
+        DeviceCallbackQueue deviceCallbackQueue = this.deviceCallbackQueues.computeIfAbsent(deviceId, id -> new DeviceCallbackQueue());
+        this.pendingCallbackCount.incrementAndGet();
+        deviceCallbackQueue.callbacks.add(callback);
+        this.schedule(deviceCallbackQueue);
+    }
+
+    int getPendingCallbackCount()
+    {
+        return this.pendingCallbackCount.get();
+    }
+
+    private void schedule(DeviceCallbackQueue deviceCallbackQueue)
+    {
+        // Only one drain per device is submitted at a time, which is what keeps that device's callbacks in order
+        if (!deviceCallbackQueue.isScheduled.compareAndSet(false, true))
+        {
+            return;
+        }
+
+        try
+        {
+            this.executor.execute(() -> this.drain(deviceCallbackQueue));
+        }
+        catch (RejectedExecutionException e)
+        {
+            // The executor was likely shut down by the user. Rather than losing the callbacks, run them on this thread.
+            log.warn("Message sent callback executor rejected the callbacks, so they will be invoked on the calling thread instead", e);
+            this.drain(deviceCallbackQueue);
+        }
+    }
+
+    private void drain(DeviceCallbackQueue deviceCallbackQueue)
+    {
+        for (int i = 0; i < MAX_CALLBACKS_PER_DRAIN; i++)
+        {
+            Runnable callback = deviceCallbackQueue.callbacks.poll();
+            if (callback == null)
+            {
+                break;
+            }
+
+            try
+            {
+                callback.run();
+            }
+            catch (Throwable e)
+            {
+                log.warn("Message sent callback threw an exception", e);
+            }
+            finally
+            {
+                this.pendingCallbackCount.decrementAndGet();
+            }
+        }
+
+        deviceCallbackQueue.isScheduled.set(false);
+
+        // A callback may have been queued after the last poll but before the flag was cleared, in which case its
+        // dispatch call saw this drain as still scheduled and left it to this drain to pick up.
+        if (!deviceCallbackQueue.callbacks.isEmpty())
+        {
+            this.schedule(deviceCallbackQueue);
+        }
+    }
+
+    private static final class DeviceCallbackQueue
+    {
+        private final Queue<Runnable> callbacks = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean isScheduled = new AtomicBoolean();
+    }
+}
@@ -0,0 +1,181 @@
+// Copyright (c) Microsoft. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package com.microsoft.azure.sdk.iot.device.transport;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Counts the packets, and the bytes of message body, that an {@link IotHubTransport} holds on to from when they are
+ * added until their callback is queued, and checks them against the client's outbound queue limits. A packet is
+ * counted while it waits to be sent, while it waits for an acknowledgement, and while it waits to be retried.
+ * <p>
+ * A packet always fits when nothing else is counted, so that a single message that is larger than the byte limit
+ * can't block its sender forever.
+ */
+final class OutboundQueueCapacity
+{
+    // 0 means no limit
+    private volatile int maxMessages;
+    private volatile long maxBytes;
+
+    // The counted packets, and the body length that each was counted with
+    private final Map<IotHubTransportPacket, Integer> countedPackets = new ConcurrentHashMap<>();
+    private final AtomicInteger messageCount = new AtomicInteger();
+    private final AtomicLong bytes = new AtomicLong();
+    private final AtomicLong droppedMessageCount = new AtomicLong();
+
+    // Held while checking and counting a packet when there are limits, and waited on by blocked senders
+    private final Object capacityLock = new Object();
+    private final AtomicInteger waitingSenderCount = new AtomicInteger();
+
+    void setLimits(int maxMessages, long maxBytes)
+    {
+        if (maxMessages < 0 || maxBytes < 0)
+        {
+            throw new IllegalArgumentException("Outbound queue limits cannot be negative");
+        }
+
+        this.maxMessages = maxMessages;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Counts the given packet if it fits within the limits.
+     *
+     * @return true if the packet was counted, and false if it doesn't fit.
+     */
+    boolean tryAcquire(IotHubTransportPacket packet)
+    {
+        if (this.maxMessages == 0 && this.maxBytes == 0)
+        {
+            this.count(packet);
+            return true;
+        }
+
+        synchronized (this.capacityLock)
+        {
+            if (!this.fits(packet))
+            {
+                return false;
+            }
+
+            this.count(packet);
+            return true;
+        }
+    }
+
+    /**
+     * Waits until the given packet fits within the limits, and counts it.
+     *
+     * @param packet the packet to count.
+     * @param stopWaiting checked each time this thread is woken up. If it returns true, this method returns without
+     * counting the packet.
+     * @return true if the packet was counted, and false if stopWaiting returned true first.
+     * @throws InterruptedException if this thread is interrupted while waiting.
+     */
+    boolean acquire(IotHubTransportPacket packet, BooleanSupplier stopWaiting) throws InterruptedException
+    {
+        synchronized (this.capacityLock)
+        {
+            this.waitingSenderCount.incrementAndGet();
+            try
+            {
+                while (!this.fits(packet))
+                {
+                    if (stopWaiting.getAsBoolean())
+                    {
+                        return false;
+                    }
+
+                    this.capacityLock.wait();
+                }
+
+                this.count(packet);
+                return true;
+            }
+            finally
+            {
+                this.waitingSenderCount.decrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Stops counting the given packet, if it is counted, and wakes up any senders that are waiting for room.
+     */
+    void release(IotHubTransportPacket packet)
+    {
+        Integer bodyLength = this.countedPackets.remove(packet);
+        if (bodyLength == null)
+        {
+            return;
+        }
+
+        this.messageCount.decrementAndGet();
+        this.bytes.addAndGet(-bodyLength);
+
+        // A sender registers itself before checking for room, so either it sees this release or it is seen here
+        if (this.waitingSenderCount.get() > 0)
+        {
+            this.wakeUpWaitingSenders();
+        }
+    }
+
+    /**
+     * Wakes up any senders that are waiting for room so that they check whether they should stop waiting.
+     */
+    void wakeUpWaitingSenders()
+    {
+        synchronized (this.capacityLock)
+        {
+            this.capacityLock.notifyAll();
+        }
+    }
+
+    void onPacketDropped()
+    {
+        this.droppedMessageCount.incrementAndGet();
+    }
+
+    int getMessageCount()
+    {
+        return this.messageCount.get();
+    }
+
+    long getBytes()
+    {
+        return this.bytes.get();
+    }
+
+    long getDroppedMessageCount()
+    {
+        return this.droppedMessageCount.get();
+    }
+
+    private boolean fits(IotHubTransportPacket packet)
+    {
+        int currentMessageCount = this.messageCount.get();
+        if (currentMessageCount == 0)
+        {
+            return true;
+        }
+
+        int maxMessages = this.maxMessages;
+        long maxBytes = this.maxBytes;
+        return (maxMessages == 0 || currentMessageCount < maxMessages)
+            && (maxBytes == 0 || this.bytes.get() + packet.getMessage().getBodyLength() <= maxBytes);
+    }
+
+    private void count(IotHubTransportPacket packet)
+    {
+        int bodyLength = packet.getMessage().getBodyLength();
+        this.countedPackets.put(packet, bodyLength);
+        this.messageCount.incrementAndGet();
+        this.bytes.addAndGet(bodyLength);
+    }
+}
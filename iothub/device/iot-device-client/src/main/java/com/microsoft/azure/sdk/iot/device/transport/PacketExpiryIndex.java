@@ -0,0 +1,115 @@
+// Copyright (c) Microsoft. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package com.microsoft.azure.sdk.iot.device.transport;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Keeps the packets that {@link IotHubTransport} is responsible for ordered by when their message expires, so that
+ * finding the expired packets only costs as much as the number of packets that actually expired. Packets whose message
+ * has no expiry time are not tracked at all.
+ */
+final class PacketExpiryIndex
+{
+    private final TreeSet<Entry> entriesByExpiryTime = new TreeSet<>();
+    private final Map<IotHubTransportPacket, Entry> entriesByPacket = new IdentityHashMap<>();
+
+    // Breaks ties between packets that expire at the same millisecond
+    private long nextSequenceNumber;
+
+    private static final class Entry implements Comparable<Entry>
+    {
+        final long expiryTime;
+        final long sequenceNumber;
+        final IotHubTransportPacket packet;
+
+        Entry(long expiryTime, long sequenceNumber, IotHubTransportPacket packet)
+        {
+            this.expiryTime = expiryTime;
+            this.sequenceNumber = sequenceNumber;
+            this.packet = packet;
+        }
+
+        @Override
+        public int compareTo(Entry other)
+        {
+            int result = Long.compare(this.expiryTime, other.expiryTime);
+            return result != 0 ? result : Long.compare(this.sequenceNumber, other.sequenceNumber);
+        }
+    }
+
+    /**
+     * Starts tracking the given packet, if its message has an expiry time and it isn't already tracked.
+     *
+     * @param packet the packet to track.
+     */
+    synchronized void add(IotHubTransportPacket packet)
+    {
+        long expiryTime = packet.getMessage().getExpiryTime();
+        if (expiryTime == 0 || this.entriesByPacket.containsKey(packet))
+        {
+            return;
+        }
+
+        Entry entry = new Entry(expiryTime, this.nextSequenceNumber++, packet);
+        this.entriesByExpiryTime.add(entry);
+        this.entriesByPacket.put(packet, entry);
+    }
+
+    /**
+     * Stops tracking the given packet. Does nothing if it isn't tracked.
+     *
+     * @param packet the packet to stop tracking.
+     */
+    synchronized void remove(IotHubTransportPacket packet)
+    {
+        Entry entry = this.entriesByPacket.remove(packet);
+        if (entry != null)
+        {
+            this.entriesByExpiryTime.remove(entry);
+        }
+    }
+
+    /**
+     * Returns every tracked packet that has expired by the given time. A message expires once the current time is past
+     * its expiry time, the same as {@link com.microsoft.azure.sdk.iot.device.Message#isExpired()}. The packets stay
+     * tracked until they are removed, so a packet that can't be completed yet is returned again the next time.
+     *
+     * @param currentTimeMillis the current time, in milliseconds since epoch.
+     * @return the expired packets, in the order they expired.
+     */
+    synchronized List<IotHubTransportPacket> getExpired(long currentTimeMillis)
+    {
+        if (this.entriesByExpiryTime.isEmpty() || this.entriesByExpiryTime.first().expiryTime >= currentTimeMillis)
+        {
+            return Collections.emptyList();
+        }
+
+        List<IotHubTransportPacket> expiredPackets = new ArrayList<>();
+        for (Entry entry : this.entriesByExpiryTime)
+        {
+            if (entry.expiryTime >= currentTimeMillis)
+            {
+                break;
+            }
+
+            expiredPackets.add(entry.packet);
+        }
+
+        return expiredPackets;
+    }
+
+    /**
+     * @return the number of packets being tracked.
+     */
+    synchronized int size()
+    {
+        return this.entriesByPacket.size();
+    }
+}
@@ -0,0 +1,193 @@
+// Copyright (c) Microsoft. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package com.microsoft.azure.sdk.iot.device.transport;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Holds the messages that {@link IotHubTransport} received until its receive task has executed their callbacks, and
+ * keeps count of how many messages, and how many bytes of message body, the client is holding on to.
+ * <p>
+ * A message is counted from when it is added until {@link #release(IotHubTransportMessage)} is called for it after its
+ * callback returned. A message that is added back before it is released, such as when its acknowledgement couldn't be
+ * sent, is counted again with its body as it is then, and the release still stops counting it as it was counted when
+ * it was taken. Messages that arrive while this buffer is full are still added since the service has already sent
+ * them. It is up to the protocol layer to stop asking the service for more while {@link #isFull()} is true, so a
+ * buffer can go over its limits by as many messages as the service was allowed to send before it filled up.
+ * <p>
+ * A message's body is counted at the length it was received with. Compressed bodies are only decompressed right
+ * before their callback is executed, one message at a time, and to no more than the largest message IoT hub takes.
+ * <p>
+ * A protocol that asks the service for messages on several links at once reserves the credit for each link here with
+ * {@link #reserveCredit(int)}, so that the credit of all links together never exceeds the room left in this buffer.
+ */
+public final class ReceivedMessageBuffer
+{
+    // 0 means no limit
+    private volatile int maxMessages;
+    private volatile long maxBytes;
+
+    private final Queue<IotHubTransportMessage> messages = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger bufferedMessageCount = new AtomicInteger();
+    private final AtomicLong bufferedBytes = new AtomicLong();
+
+    // Credit that has been given to the service and that it hasn't used for a message yet
+    private final AtomicInteger reservedCredit = new AtomicInteger();
+
+    /**
+     * @param maxMessages the number of messages at which this buffer is full, or 0 for no limit.
+     * @param maxBytes the number of bytes of message body at which this buffer is full, or 0 for no limit.
+     */
+    void setLimits(int maxMessages, long maxBytes)
+    {
+        if (maxMessages < 0 || maxBytes < 0)
+        {
+            throw new IllegalArgumentException("Receive buffer limits cannot be negative");
+        }
+
+        this.maxMessages = maxMessages;
+        this.maxBytes = maxBytes;
+    }
+
+    void add(IotHubTransportMessage message)
+    {
+        message.bufferedBodyLength = message.getBodyLength();
+        this.bufferedMessageCount.incrementAndGet();
+        this.bufferedBytes.addAndGet(message.bufferedBodyLength);
+        this.messages.add(message);
+    }
+
+    /**
+     * @return the next message to execute the callback of, or null if there is none. The message stays counted until
+     * it is released.
+     */
+    IotHubTransportMessage poll()
+    {
+        IotHubTransportMessage message = this.messages.poll();
+        if (message != null)
+        {
+            message.takenBodyLength = message.bufferedBodyLength;
+        }
+
+        return message;
+    }
+
+    boolean hasMessagesToHandle()
+    {
+        return !this.messages.isEmpty();
+    }
+
+    /**
+     * Stops counting a message that was taken from this buffer, once the client no longer holds on to it.
+     */
+    void release(IotHubTransportMessage message)
+    {
+        // The body may have been decompressed since it was added, so release what was counted rather than its length now
+        this.bufferedMessageCount.decrementAndGet();
+        this.bufferedBytes.addAndGet(-message.takenBodyLength);
+    }
+
+    /**
+     * @return true if this buffer has reached either of its limits.
+     */
+    public boolean isFull()
+    {
+        int maxMessages = this.maxMessages;
+        long maxBytes = this.maxBytes;
+        return (maxMessages > 0 && this.bufferedMessageCount.get() >= maxMessages)
+            || (maxBytes > 0 && this.bufferedBytes.get() >= maxBytes);
+    }
+
+    /**
+     * @return how many more messages this buffer can take before it is full, or {@link Integer#MAX_VALUE} if it has no
+     * message count limit and isn't full.
+     */
+    public int getRemainingMessageCapacity()
+    {
+        if (this.isFull())
+        {
+            return 0;
+        }
+
+        int maxMessages = this.maxMessages;
+        return maxMessages > 0 ? maxMessages - this.bufferedMessageCount.get() : Integer.MAX_VALUE;
+    }
+
+    /**
+     * Reserves credit to give to the service on one link. The credit that is reserved and not yet released never
+     * exceeds {@link #getRemainingMessageCapacity()}, so the service can't be allowed to send more messages than this
+     * buffer has room for, no matter how many links the credit is spread across.
+     *
+     * @param wantedCredit the credit that the link is missing.
+     * @return the credit that was reserved, which may be less than wanted, or 0.
+     */
+    public int reserveCredit(int wantedCredit)
+    {
+        while (true)
+        {
+            int reserved = this.reservedCredit.get();
+            int remainingCapacity = this.getRemainingMessageCapacity();
+            int availableCredit = remainingCapacity == Integer.MAX_VALUE
+                ? Integer.MAX_VALUE
+                : Math.max(0, remainingCapacity - reserved);
+
+            int credit = Math.min(wantedCredit, availableCredit);
+            if (credit <= 0)
+            {
+                return 0;
+            }
+
+            if (this.reservedCredit.compareAndSet(reserved, reserved + credit))
+            {
+                return credit;
+            }
+        }
+    }
+
+    /**
+     * Releases credit that was reserved with {@link #reserveCredit(int)}, either because the service used it for a
+     * message, which this buffer then counts instead, or because the link that it was given on was closed.
+     *
+     * @param credit the credit to release.
+     */
+    public void releaseCredit(int credit)
+    {
+        this.reservedCredit.updateAndGet(reserved -> Math.max(0, reserved - credit));
+    }
+
+    /**
+     * Releases all reserved credit, for when the links that it was given on are gone with their connection.
+     */
+    public void releaseAllCredit()
+    {
+        this.reservedCredit.set(0);
+    }
+
+    /**
+     * @return the credit that is reserved and not yet released.
+     */
+    public int getReservedCredit()
+    {
+        return this.reservedCredit.get();
+    }
+
+    /**
+     * @return the number of received messages that the client is holding on to.
+     */
+    public int getBufferedMessageCount()
+    {
+        return this.bufferedMessageCount.get();
+    }
+
+    /**
+     * @return the number of bytes of message body that the client is holding on to.
+     */
+    public long getBufferedBytes()
+    {
+        return this.bufferedBytes.get();
+    }
+}
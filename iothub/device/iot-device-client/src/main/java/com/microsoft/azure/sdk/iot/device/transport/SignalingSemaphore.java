@@ -0,0 +1,38 @@
+// Copyright (c) Microsoft. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package com.microsoft.azure.sdk.iot.device.transport;
+
+import java.util.concurrent.Semaphore;
+
+/**
+ * A {@link Semaphore} that also runs a listener each time it is released. {@link IotHubTransport} releases its send,
+ * receive and reconnect semaphores whenever there is work for the matching task, so the listener lets that task be
+ * scheduled when there is something to do, rather than having a thread wait on {@link #acquire()} for it.
+ */
+final class SignalingSemaphore extends Semaphore
+{
+    private volatile Runnable releaseListener;
+
+    SignalingSemaphore()
+    {
+        super(0);
+    }
+
+    void setReleaseListener(Runnable releaseListener)
+    {
+        this.releaseListener = releaseListener;
+    }
+
+    @Override
+    public void release()
+    {
+        super.release();
+
+        Runnable listener = this.releaseListener;
+        if (listener != null)
+        {
+            listener.run();
+        }
+    }
+}
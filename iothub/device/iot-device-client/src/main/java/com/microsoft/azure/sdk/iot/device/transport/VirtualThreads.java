@@ -0,0 +1,38 @@
+// Copyright (c) Microsoft. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package com.microsoft.azure.sdk.iot.device.transport;
+
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Creates the virtual threads that a client uses for its background work when
+ * {@link com.microsoft.azure.sdk.iot.device.ClientOptions#isUsingVirtualThreads()} is set.
+ * <p>
+ * Virtual threads are only available on Java 21 and later. This SDK is built for Java 8, so this version of the class
+ * reports them as unsupported. The SDK jar is a multi-release jar that also contains a Java 21 version of this class,
+ * found under src/main/java21, which the JVM loads instead when it is running on Java 21 or later.
+ */
+public final class VirtualThreads
+{
+    private VirtualThreads()
+    {
+    }
+
+    /**
+     * @return true if this JVM supports virtual threads.
+     */
+    public static boolean isSupported()
+    {
+        return false;
+    }
+
+    /**
+     * @return a factory that creates virtual threads.
+     * @throws UnsupportedOperationException if this JVM doesn't support virtual threads.
+     */
+    public static ThreadFactory getThreadFactory()
+    {
+        throw new UnsupportedOperationException("Virtual threads require Java 21 or later");
+    }
+}
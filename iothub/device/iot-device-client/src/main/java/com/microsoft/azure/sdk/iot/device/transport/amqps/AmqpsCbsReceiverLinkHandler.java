@@ -35,7 +35,7 @@ final class AmqpsCbsReceiverLinkHandler extends AmqpsReceiverLinkHandler
 
     AmqpsCbsReceiverLinkHandler(Receiver receiver, AmqpsLinkStateCallback amqpsLinkStateCallback)
     {
-        super(receiver, amqpsLinkStateCallback, UUID.randomUUID().toString());
+        super(receiver, amqpsLinkStateCallback, UUID.randomUUID().toString(), null);
         this.receiverLinkAddress = RECEIVER_LINK_ENDPOINT_PATH;
     }
 
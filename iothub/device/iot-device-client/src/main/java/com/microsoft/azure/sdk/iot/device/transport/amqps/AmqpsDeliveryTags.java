@@ -0,0 +1,76 @@
+// Copyright (c) Microsoft. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package com.microsoft.azure.sdk.iot.device.transport.amqps;
+
+/**
+ * Converts between the integer delivery tags that the sender links hand out and the bytes that are used as the proton
+ * delivery tag. The bytes are the tag's decimal digits in ASCII, which is what String.valueOf(tag).getBytes() produced
+ * before, but without building an intermediate String in either direction.
+ */
+final class AmqpsDeliveryTags
+{
+    private AmqpsDeliveryTags()
+    {
+    }
+
+    /**
+     * @param deliveryTag the non-negative delivery tag to convert.
+     * @return the delivery tag as ASCII decimal digits. Proton keeps a reference to this array for as long as the
+     * delivery exists, so a new array is returned each time.
+     */
+    static byte[] toBytes(int deliveryTag)
+    {
+        if (deliveryTag < 0)
+        {
+            throw new IllegalArgumentException("Delivery tag cannot be negative");
+        }
+
+        int digitCount = 1;
+        for (int remaining = deliveryTag / 10; remaining > 0; remaining /= 10)
+        {
+            digitCount++;
+        }
+
+        byte[] bytes = new byte[digitCount];
+        int remaining = deliveryTag;
+        for (int i = digitCount - 1; i >= 0; i--)
+        {
+            bytes[i] = (byte) ('0' + (remaining % 10));
+            remaining /= 10;
+        }
+
+        return bytes;
+    }
+
+    /**
+     * @param deliveryTag the delivery tag bytes, as created by {@link #toBytes(int)}.
+     * @return the delivery tag as an integer.
+     * @throws NumberFormatException if the bytes are not a non-negative decimal number that fits in an int.
+     */
+    static int toInt(byte[] deliveryTag)
+    {
+        if (deliveryTag == null || deliveryTag.length == 0)
+        {
+            throw new NumberFormatException("Delivery tag cannot be null or empty");
+        }
+
+        long value = 0;
+        for (byte digit : deliveryTag)
+        {
+            if (digit < '0' || digit > '9')
+            {
+                throw new NumberFormatException("Delivery tag contains a non-digit character");
+            }
+
+            value = value * 10 + (digit - '0');
+
+            if (value > Integer.MAX_VALUE)
+            {
+                throw new NumberFormatException("Delivery tag does not fit in an int");
+            }
+        }
+
+        return (int) value;
+    }
+}
@@ -31,6 +31,7 @@ import javax.net.ssl.SSLContext;
 import java.io.IOException;
 import java.util.*;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * An AMQPS IotHub connection between a device and an IoTHub or Edgehub. This class is responsible for reacting to connection level and
@@ -59,6 +60,14 @@ public final class AmqpsIotHubConnection extends BaseHandler implements IotHubTr
     private final int sendInterval; //every X milliseconds, the method onTimerTask will fire to send, at most, MAX_MESSAGES_TO_SEND_PER_CALLBACK queued messages
     private static final int MAX_MESSAGES_TO_SEND_PER_CALLBACK = 1000; //Max number of queued messages to send per periodic sending task
 
+    // If true, queueing an outgoing message or acknowledgement wakes the reactor thread so that it is sent on the next
+    // onReactorQuiesced callback rather than waiting for the next onTimerTask callback. onTimerTask still runs as a fallback.
+    private final boolean isEventDrivenSend;
+
+    // Set by the thread that wakes the reactor, cleared by the reactor thread right before it drains the queues. This
+    // keeps a burst of sends from writing one wakeup to the reactor's pipe per message.
+    private final AtomicBoolean reactorWakeupPending = new AtomicBoolean(false);
+
     // States of outgoing messages, incoming messages, and outgoing subscriptions
     private final Queue<Message> messagesToSend = new ConcurrentLinkedQueue<>();
     private String connectionId;
@@ -82,7 +91,7 @@ public final class AmqpsIotHubConnection extends BaseHandler implements IotHubTr
 
     // Proton-j primitives and wrappers for the device and authentication sessions
     private Connection connection;
-    private Reactor reactor;
+    private volatile Reactor reactor; // volatile since it is read from non-reactor threads when waking the reactor
 
     // keys are device Ids, values are the session handlers associated with that device id
     private final Map<String, AmqpsSessionHandler> reconnectingDeviceSessionHandlers = new ConcurrentHashMap<>();
@@ -90,6 +99,10 @@ public final class AmqpsIotHubConnection extends BaseHandler implements IotHubTr
     // keys are device Ids, values are the session handlers associated with that device id
     private final Map<String, AmqpsSessionHandler> sessionHandlers = new ConcurrentHashMap<>();
 
+    // The transport's buffer of received messages. The receiver links stop flowing credit to the service while it is
+    // full, so onTimerTask tops their credit back up once it has room again. Null if the transport never set it.
+    private ReceivedMessageBuffer receivedMessageBuffer;
+
     private final Queue<AmqpsSasTokenRenewalHandler> sasTokenRenewalHandlers = new ConcurrentLinkedQueue<>();
     private AmqpsCbsSessionHandler amqpsCbsSessionHandler;
 
@@ -146,6 +159,7 @@ public final class AmqpsIotHubConnection extends BaseHandler implements IotHubTr
 
         this.keepAliveInterval = config.getKeepAliveInterval();
         this.sendInterval = clientConfiguration.getSendInterval();
+        this.isEventDrivenSend = clientConfiguration.isAmqpEventDrivenSend();
         this.useIdentifiableThreadNames = clientConfiguration.isUsingIdentifiableThreadNames();
         this.threadNamePrefix = clientConfiguration.getThreadNamePrefix();
         this.threadNameSuffix = clientConfiguration.getThreadNameSuffix();
@@ -154,7 +168,7 @@ public final class AmqpsIotHubConnection extends BaseHandler implements IotHubTr
         log.trace("AmqpsIotHubConnection object is created successfully and will use port {}", this.isWebsocketConnection ? WEB_SOCKET_PORT : AMQP_PORT);
     }
 
-    public AmqpsIotHubConnection(String hostName, String transportUniqueIdentifier, boolean isWebsocketConnection, SSLContext sslContext, ProxySettings proxySettings, int keepAliveInterval, int sendInterval, boolean useIdentifiableThreadNames, String threadNamePrefix, String threadNameSuffix)
+    public AmqpsIotHubConnection(String hostName, String transportUniqueIdentifier, boolean isWebsocketConnection, SSLContext sslContext, ProxySettings proxySettings, int keepAliveInterval, int sendInterval, boolean isEventDrivenSend, boolean useIdentifiableThreadNames, String threadNamePrefix, String threadNameSuffix)
     {
         // This allows us to create thread safe sets despite there being no such type default in Java 7 or 8
         this.clientConfigurations = Collections.newSetFromMap(new ConcurrentHashMap<>());
@@ -180,6 +194,7 @@ public final class AmqpsIotHubConnection extends BaseHandler implements IotHubTr
 
         this.keepAliveInterval = keepAliveInterval;
         this.sendInterval = sendInterval;
+        this.isEventDrivenSend = isEventDrivenSend;
         this.useIdentifiableThreadNames = useIdentifiableThreadNames;
         this.threadNamePrefix = threadNamePrefix;
         this.threadNameSuffix = threadNameSuffix;
@@ -389,6 +404,12 @@ public final class AmqpsIotHubConnection extends BaseHandler implements IotHubTr
     {
         this.reactor = event.getReactor();
 
+        if (this.receivedMessageBuffer != null)
+        {
+            // Any credit that is still reserved was given on the links of a previous connection, which are gone
+            this.receivedMessageBuffer.releaseAllCredit();
+        }
+
         String hostName = this.hostName;
         int port = AMQP_PORT;
 
@@ -619,6 +640,7 @@ public final class AmqpsIotHubConnection extends BaseHandler implements IotHubTr
     {
         sendQueuedMessages();
         sendQueuedAcknowledgements();
+        replenishReceiverLinkCredit();
 
         checkForNewlyUnregisteredMultiplexedClientsToStop();
         checkForNewlyRegisteredMultiplexedClientsToStart();
@@ -626,12 +648,58 @@ public final class AmqpsIotHubConnection extends BaseHandler implements IotHubTr
         event.getReactor().schedule(this.sendInterval, this);
     }
 
+    @Override
+    public void onReactorQuiesced(Event event)
+    {
+        // This callback executes each time the reactor has run out of events to process, right before it blocks waiting
+        // on network activity or the next timer task. If another thread woke the reactor because it queued something to
+        // send, send it now rather than waiting for the next onTimerTask callback.
+        if (this.reactorWakeupPending.getAndSet(false))
+        {
+            sendQueuedMessages();
+            sendQueuedAcknowledgements();
+            replenishReceiverLinkCredit();
+
+            // At most MAX_MESSAGES_TO_SEND_PER_CALLBACK messages are sent per drain. Wake the reactor again for the rest
+            // so that they don't wait for the next onTimerTask callback.
+            if (!this.messagesToSend.isEmpty())
+            {
+                wakeReactor();
+            }
+        }
+    }
+
     @Override
     public void setListener(IotHubListener listener)
     {
         this.listener = listener;
     }
 
+    /**
+     * Sets the buffer that the transport adds received messages to. The receiver links of sessions that are created after
+     * this call never have more credit, all together, than this buffer has room for messages.
+     *
+     * @param receivedMessageBuffer the transport's buffer of received messages.
+     */
+    public void setReceivedMessageBuffer(ReceivedMessageBuffer receivedMessageBuffer)
+    {
+        this.receivedMessageBuffer = receivedMessageBuffer;
+    }
+
+    private void replenishReceiverLinkCredit()
+    {
+        // While the buffer is full, no receiver link may be given more credit
+        if (this.receivedMessageBuffer == null || this.receivedMessageBuffer.isFull())
+        {
+            return;
+        }
+
+        for (AmqpsSessionHandler sessionHandler : this.sessionHandlers.values())
+        {
+            sessionHandler.replenishReceiverLinkCredit();
+        }
+    }
+
     @Override
     public IotHubStatusCode sendMessage(com.microsoft.azure.sdk.iot.device.Message message)
     {
@@ -640,6 +708,7 @@ public final class AmqpsIotHubConnection extends BaseHandler implements IotHubTr
         // such as onLinkFlow(), or onTimerTask()
         log.trace("Adding message to amqp message queue to be sent later ({})", message);
         messagesToSend.add(message);
+        wakeReactor();
         return IotHubStatusCode.OK;
     }
 
@@ -649,9 +718,26 @@ public final class AmqpsIotHubConnection extends BaseHandler implements IotHubTr
         // don't send acknowledgements from outside the proton reactor thread. Queue them locally so that the reactor
         // thread can pick them up and send them later
         queuedAcknowledgements.put(message, result);
+        wakeReactor();
         return true;
     }
 
+    private void wakeReactor()
+    {
+        Reactor reactor = this.reactor;
+        if (!this.isEventDrivenSend || reactor == null)
+        {
+            return;
+        }
+
+        // Only the first send since the reactor last drained the queues needs to wake it. Reactor.wakeup() is the only
+        // thread safe method on the reactor, and it is a no-op if the reactor has already been freed.
+        if (this.reactorWakeupPending.compareAndSet(false, true))
+        {
+            reactor.wakeup();
+        }
+    }
+
     private void sendQueuedAcknowledgements()
     {
         while (!queuedAcknowledgements.isEmpty())
@@ -1087,7 +1173,7 @@ public final class AmqpsIotHubConnection extends BaseHandler implements IotHubTr
         {
             // If the device session did not exist in the previous connection, or if there was no previous connection,
             // create a new session
-            amqpsSessionHandler = new AmqpsSessionHandler(clientConfiguration, this);
+            amqpsSessionHandler = new AmqpsSessionHandler(clientConfiguration, this, this.receivedMessageBuffer);
         }
 
         this.sessionHandlers.put(deviceId, amqpsSessionHandler);
@@ -8,6 +8,7 @@ import com.microsoft.azure.sdk.iot.device.twin.DeviceOperations;
 import com.microsoft.azure.sdk.iot.device.MessageCallback;
 import com.microsoft.azure.sdk.iot.device.MessageType;
 import com.microsoft.azure.sdk.iot.device.transport.IotHubTransportMessage;
+import com.microsoft.azure.sdk.iot.device.transport.ReceivedMessageBuffer;
 import org.apache.qpid.proton.amqp.Symbol;
 import org.apache.qpid.proton.engine.Receiver;
 
@@ -29,9 +30,9 @@ final class AmqpsMethodsReceiverLinkHandler extends AmqpsReceiverLinkHandler
 
     private final ClientConfiguration clientConfiguration;
 
-    AmqpsMethodsReceiverLinkHandler(Receiver receiver, AmqpsLinkStateCallback amqpsLinkStateCallback, ClientConfiguration clientConfiguration, String linkCorrelationId)
+    AmqpsMethodsReceiverLinkHandler(Receiver receiver, AmqpsLinkStateCallback amqpsLinkStateCallback, ClientConfiguration clientConfiguration, String linkCorrelationId, ReceivedMessageBuffer receivedMessageBuffer)
     {
-        super(receiver, amqpsLinkStateCallback, linkCorrelationId);
+        super(receiver, amqpsLinkStateCallback, linkCorrelationId, receivedMessageBuffer);
 
         this.clientConfiguration = clientConfiguration;
 
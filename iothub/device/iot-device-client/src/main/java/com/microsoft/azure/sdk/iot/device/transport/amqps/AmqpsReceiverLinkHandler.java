@@ -7,6 +7,7 @@ import com.microsoft.azure.sdk.iot.device.Message;
 import com.microsoft.azure.sdk.iot.device.MessageProperty;
 import com.microsoft.azure.sdk.iot.device.MessageType;
 import com.microsoft.azure.sdk.iot.device.transport.IotHubTransportMessage;
+import com.microsoft.azure.sdk.iot.device.transport.ReceivedMessageBuffer;
 import com.microsoft.azure.sdk.iot.device.transport.TransportUtils;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.qpid.proton.amqp.Binary;
@@ -44,8 +45,13 @@ abstract class AmqpsReceiverLinkHandler extends BaseHandler
     String receiverLinkAddress;
     final Receiver receiverLink;
     private final AmqpsLinkStateCallback amqpsLinkStateCallback;
+    private final LoggingFlowController flowController;
 
-    AmqpsReceiverLinkHandler(Receiver receiver, AmqpsLinkStateCallback amqpsLinkStateCallback, String linkCorrelationId)
+    /**
+     * @param receivedMessageBuffer the client's buffer of received messages, which limits the credit that is flowed to
+     * the service on this link. May be null if the credit on this link shouldn't depend on it.
+     */
+    AmqpsReceiverLinkHandler(Receiver receiver, AmqpsLinkStateCallback amqpsLinkStateCallback, String linkCorrelationId, ReceivedMessageBuffer receivedMessageBuffer)
     {
         this.amqpProperties = new HashMap<>();
         this.amqpProperties.put(Symbol.getSymbol(API_VERSION_KEY), TransportUtils.IOTHUB_API_VERSION);
@@ -57,7 +63,8 @@ abstract class AmqpsReceiverLinkHandler extends BaseHandler
         BaseHandler.setHandler(receiver, this);
 
         //This flow controller handles all link credit handling on our behalf
-        add(new LoggingFlowController(this.linkCorrelationId));
+        this.flowController = new LoggingFlowController(this.linkCorrelationId, receivedMessageBuffer);
+        add(this.flowController);
     }
 
     @Override
@@ -76,7 +83,20 @@ abstract class AmqpsReceiverLinkHandler extends BaseHandler
         if (!hasFlowController)
         {
             log.trace("No flow controller detected in {} link with address {} and link correlation id {}. Adding a new flow controller.", getLinkInstanceType(), this.receiverLinkAddress, this.linkCorrelationId);
-            add(new LoggingFlowController(this.linkCorrelationId));
+            add(this.flowController);
+        }
+    }
+
+    /**
+     * Flows credit to the service on this link if it has fallen below what the client can take. Deliveries that arrive
+     * while the client's received message buffer is full don't flow any credit back, so this needs to be called once
+     * that buffer has room again.
+     */
+    void replenishCredit()
+    {
+        if (this.receiverLink.getLocalState() == EndpointState.ACTIVE)
+        {
+            this.flowController.topup(this.receiverLink);
         }
     }
 
@@ -2,8 +2,6 @@ package com.microsoft.azure.sdk.iot.device.transport.amqps;
 
 import lombok.Getter;
 
-import java.nio.charset.StandardCharsets;
-
 public class AmqpsSendResult
 {
     private static final int failedDeliveryTag = -1;
@@ -26,6 +24,6 @@ public class AmqpsSendResult
     AmqpsSendResult(byte[] deliveryTag)
     {
         this.deliverySuccessful = true;
-        this.deliveryTag = Integer.parseInt(new String(deliveryTag, StandardCharsets.UTF_8));
+        this.deliveryTag = AmqpsDeliveryTags.toInt(deliveryTag);
     }
 }
@@ -7,6 +7,7 @@ import com.microsoft.azure.sdk.iot.device.Message;
 import com.microsoft.azure.sdk.iot.device.MessageProperty;
 import com.microsoft.azure.sdk.iot.device.transport.ProtocolException;
 import com.microsoft.azure.sdk.iot.device.transport.TransportUtils;
+import com.microsoft.azure.sdk.iot.device.internal.MessageBodyAccessor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.qpid.proton.Proton;
 import org.apache.qpid.proton.amqp.Binary;
@@ -18,6 +19,7 @@ import org.apache.qpid.proton.amqp.messaging.Properties;
 import org.apache.qpid.proton.amqp.messaging.Section;
 import org.apache.qpid.proton.amqp.messaging.Target;
 import org.apache.qpid.proton.amqp.transport.SenderSettleMode;
+import org.apache.qpid.proton.codec.ReadableBuffer;
 import org.apache.qpid.proton.engine.BaseHandler;
 import org.apache.qpid.proton.engine.Delivery;
 import org.apache.qpid.proton.engine.EndpointState;
@@ -28,7 +30,7 @@ import org.apache.qpid.proton.engine.Sender;
 import org.apache.qpid.proton.message.impl.MessageImpl;
 
 import java.nio.BufferOverflowException;
-import java.nio.charset.StandardCharsets;
+import java.nio.ByteBuffer;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
@@ -40,12 +42,22 @@ abstract class AmqpsSenderLinkHandler extends BaseHandler
     static final String VERSION_IDENTIFIER_KEY = "com.microsoft:client-version";
     private static final String API_VERSION_KEY = "com.microsoft:api-version";
     private static final String PNP_MODEL_ID_KEY = "com.microsoft:model-id";
+
+    // Messages that encode to at most this many bytes are encoded into a buffer that this link keeps between sends.
+    // Larger messages get a buffer of their own so that one large message doesn't pin that much memory on every link
+    private static final int MAX_RETAINED_ENCODE_BUFFER_SIZE = 64 * 1024;
+    private static final int MIN_ENCODE_BUFFER_SIZE = 1024;
+
+    // Room left for the message's properties and annotations when sizing the encode buffer from the body length
+    private static final int ENCODE_BUFFER_HEADROOM = 1024;
+
     final Map<Integer, Message> inProgressMessages = new ConcurrentHashMap<>();
     final Map<Symbol, Object> amqpProperties;
     final String linkCorrelationId;
     String senderLinkAddress;
     final Sender senderLink;
     private long nextTag = 0;
+    private byte[] encodeBuffer;
     private final AmqpsLinkStateCallback amqpsLinkStateCallback;
 
     AmqpsSenderLinkHandler(Sender sender, AmqpsLinkStateCallback amqpsLinkStateCallback, String linkCorrelationId, String modelId)
@@ -87,7 +99,7 @@ abstract class AmqpsSenderLinkHandler extends BaseHandler
         //Safe to cast here because this callback will only ever fire for acknowledgements received on this sender link
         Delivery delivery = event.getDelivery();
 
-        int deliveryTag = Integer.parseInt(new String(event.getDelivery().getTag(), StandardCharsets.UTF_8));
+        int deliveryTag = AmqpsDeliveryTags.toInt(delivery.getTag());
 
         Message acknowledgedIotHubMessage = this.inProgressMessages.remove(deliveryTag);
         if (acknowledgedIotHubMessage == null)
@@ -207,7 +219,8 @@ abstract class AmqpsSenderLinkHandler extends BaseHandler
             this.nextTag++;
         }
 
-        byte[] msgData = new byte[1024];
+        // Sizing the buffer from the body up front means that even large messages are normally encoded in one attempt
+        byte[] msgData = getEncodeBuffer(getBodyLength(protonMessage) + ENCODE_BUFFER_HEADROOM);
         int length;
 
         while (true)
@@ -219,17 +232,27 @@ abstract class AmqpsSenderLinkHandler extends BaseHandler
             }
             catch (BufferOverflowException e)
             {
-                msgData = new byte[msgData.length * 2];
+                msgData = getEncodeBuffer(msgData.length * 2);
             }
         }
 
-        byte[] deliveryTag = String.valueOf(this.nextTag).getBytes(StandardCharsets.UTF_8);
+        byte[] deliveryTag = AmqpsDeliveryTags.toBytes((int) this.nextTag);
 
         Delivery delivery = this.senderLink.delivery(deliveryTag);
         try
         {
             log.trace("Sending {} bytes over the amqp {} sender link with address {} and link correlation id {} with link credit {}", length, getLinkInstanceType(), this.senderLinkAddress, this.linkCorrelationId, this.senderLink.getCredit());
-            int bytesSent = this.senderLink.send(msgData, 0, length);
+            int bytesSent;
+            if (msgData == this.encodeBuffer)
+            {
+                // Proton copies these bytes, so this link's encode buffer can be reused for the next message
+                bytesSent = this.senderLink.send(msgData, 0, length);
+            }
+            else
+            {
+                // This buffer was allocated just for this message, so proton can hold on to it instead of copying it
+                bytesSent = this.senderLink.sendNoCopy(ReadableBuffer.ByteBufferReader.wrap(ByteBuffer.wrap(msgData, 0, length)));
+            }
 
             if (bytesSent != length)
             {
@@ -243,7 +266,7 @@ abstract class AmqpsSenderLinkHandler extends BaseHandler
                 throw new ProtocolException(String.format("Failed to advance the senderLink after sending a message on %s sender link with link correlation id %s, retrying to send the message", getLinkInstanceType(), this.linkCorrelationId));
             }
 
-            log.trace("Message was sent over {} sender link with address {} and link correlation id {} with delivery tag {}", getLinkInstanceType(), this.senderLinkAddress, this.linkCorrelationId, new String(deliveryTag, StandardCharsets.UTF_8));
+            log.trace("Message was sent over {} sender link with address {} and link correlation id {} with delivery tag {}", getLinkInstanceType(), this.senderLinkAddress, this.linkCorrelationId, this.nextTag);
             log.trace("Current link credit on {} sender link with address {} and link correlation id {} is {}", this.getLinkInstanceType(), this.senderLinkAddress, this.linkCorrelationId, senderLink.getCredit());
             return new AmqpsSendResult(deliveryTag);
         }
@@ -256,6 +279,32 @@ abstract class AmqpsSenderLinkHandler extends BaseHandler
         }
     }
 
+    private byte[] getEncodeBuffer(int minimumSize)
+    {
+        if (minimumSize > MAX_RETAINED_ENCODE_BUFFER_SIZE)
+        {
+            return new byte[minimumSize];
+        }
+
+        if (this.encodeBuffer == null || this.encodeBuffer.length < minimumSize)
+        {
+            this.encodeBuffer = new byte[Math.max(minimumSize, MIN_ENCODE_BUFFER_SIZE)];
+        }
+
+        return this.encodeBuffer;
+    }
+
+    private static int getBodyLength(MessageImpl protonMessage)
+    {
+        Section body = protonMessage.getBody();
+        if (body instanceof Data && ((Data) body).getValue() != null)
+        {
+            return ((Data) body).getValue().getLength();
+        }
+
+        return 0;
+    }
+
     MessageImpl iotHubMessageToProtonMessage(Message message)
     {
         log.trace("Converting IoT Hub message to proton message for {} sender link with address {} and link correlation id {}. IoT Hub message correlationId {}", getLinkInstanceType(), this.senderLinkAddress, this.linkCorrelationId, message.getCorrelationId());
@@ -328,7 +377,7 @@ abstract class AmqpsSenderLinkHandler extends BaseHandler
         MessageAnnotations messageAnnotations = new MessageAnnotations(messageAnnotationsMap);
         outgoingMessage.setMessageAnnotations(messageAnnotations);
 
-        Binary binary = new Binary(message.getBytes());
+        Binary binary = new Binary(MessageBodyAccessor.getBodyWithoutCopy(message));
         Section section = new Data(binary);
         outgoingMessage.setBody(section);
         return outgoingMessage;
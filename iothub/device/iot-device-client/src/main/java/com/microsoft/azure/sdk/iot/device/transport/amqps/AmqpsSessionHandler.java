@@ -5,6 +5,7 @@ import com.microsoft.azure.sdk.iot.device.twin.DeviceOperations;
 import com.microsoft.azure.sdk.iot.device.Message;
 import com.microsoft.azure.sdk.iot.device.MessageType;
 import com.microsoft.azure.sdk.iot.device.transport.IotHubTransportMessage;
+import com.microsoft.azure.sdk.iot.device.transport.ReceivedMessageBuffer;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.qpid.proton.amqp.messaging.Accepted;
@@ -40,6 +41,9 @@ class AmqpsSessionHandler extends BaseHandler implements AmqpsLinkStateCallback
     private boolean subscribeToTwinOnReconnection = false;
     private final AmqpsSessionStateCallback amqpsSessionStateCallback;
 
+    // The buffer that messages received by this session are added to. Null if the connection was never given one.
+    private final ReceivedMessageBuffer receivedMessageBuffer;
+
     //Should not carry over state between reconnects
     //Maps from the type of message (twin/method/telemetry) to the appropriate sender/receiver link handler
     private final Map<MessageType, AmqpsSenderLinkHandler> senderLinkHandlers = new ConcurrentHashMap<>();
@@ -57,10 +61,11 @@ class AmqpsSessionHandler extends BaseHandler implements AmqpsLinkStateCallback
     private boolean sessionHandlerClosedBeforeRemoteSessionOpened;
     private boolean isClosing;
 
-    AmqpsSessionHandler(final ClientConfiguration clientConfiguration, AmqpsSessionStateCallback amqpsSessionStateCallback)
+    AmqpsSessionHandler(final ClientConfiguration clientConfiguration, AmqpsSessionStateCallback amqpsSessionStateCallback, ReceivedMessageBuffer receivedMessageBuffer)
     {
         this.clientConfiguration = clientConfiguration;
         this.amqpsSessionStateCallback = amqpsSessionStateCallback;
+        this.receivedMessageBuffer = receivedMessageBuffer;
     }
 
     public void setSession(Session session)
@@ -314,6 +319,15 @@ class AmqpsSessionHandler extends BaseHandler implements AmqpsLinkStateCallback
         this.amqpsSessionStateCallback.onSessionClosedUnexpectedly(errorCondition, this.getDeviceId());
     }
 
+    // Flows credit to the service on each receiver link of this session that has fallen below what the client can take
+    void replenishReceiverLinkCredit()
+    {
+        for (AmqpsReceiverLinkHandler receiverLinkHandler : this.receiverLinkHandlers.values())
+        {
+            receiverLinkHandler.replenishCredit();
+        }
+    }
+
     public boolean acknowledgeReceivedMessage(IotHubTransportMessage message, DeliveryState ackType)
     {
         AmqpsReceiverLinkHandler receiverLinkHandler = receiverLinkHandlers.get(message.getMessageType());
@@ -511,7 +525,7 @@ class AmqpsSessionHandler extends BaseHandler implements AmqpsLinkStateCallback
         this.senderLinkHandlers.put(DEVICE_TELEMETRY, new AmqpsTelemetrySenderLinkHandler(sender, this, this.clientConfiguration, telemetryLinkCorrelationId));
 
         Receiver receiver = session.receiver(AmqpsTelemetryReceiverLinkHandler.getTag(clientConfiguration, telemetryLinkCorrelationId));
-        this.receiverLinkHandlers.put(DEVICE_TELEMETRY, new AmqpsTelemetryReceiverLinkHandler(receiver, this, this.clientConfiguration, telemetryLinkCorrelationId));
+        this.receiverLinkHandlers.put(DEVICE_TELEMETRY, new AmqpsTelemetryReceiverLinkHandler(receiver, this, this.clientConfiguration, telemetryLinkCorrelationId, this.receivedMessageBuffer));
         this.alreadyCreatedTelemetryLinks = true;
     }
 
@@ -526,7 +540,7 @@ class AmqpsSessionHandler extends BaseHandler implements AmqpsLinkStateCallback
         this.senderLinkHandlers.put(DEVICE_METHODS, new AmqpsMethodsSenderLinkHandler(sender, this, this.clientConfiguration, methodsLinkCorrelationId));
 
         Receiver receiver = session.receiver(AmqpsMethodsReceiverLinkHandler.getTag(clientConfiguration, methodsLinkCorrelationId));
-        this.receiverLinkHandlers.put(DEVICE_METHODS, new AmqpsMethodsReceiverLinkHandler(receiver, this, this.clientConfiguration, methodsLinkCorrelationId));
+        this.receiverLinkHandlers.put(DEVICE_METHODS, new AmqpsMethodsReceiverLinkHandler(receiver, this, this.clientConfiguration, methodsLinkCorrelationId, this.receivedMessageBuffer));
 
         this.subscribeToMethodsOnReconnection = true;
         this.alreadyCreatedMethodLinks = true;
@@ -547,7 +561,7 @@ class AmqpsSessionHandler extends BaseHandler implements AmqpsLinkStateCallback
         this.senderLinkHandlers.put(DEVICE_TWIN, new AmqpsTwinSenderLinkHandler(sender, this, this.clientConfiguration, twinLinkCorrelationId, twinOperationCorrelationMap));
 
         Receiver receiver = session.receiver(AmqpsTwinReceiverLinkHandler.getTag(clientConfiguration, twinLinkCorrelationId));
-        this.receiverLinkHandlers.put(DEVICE_TWIN, new AmqpsTwinReceiverLinkHandler(receiver, this, this.clientConfiguration, twinLinkCorrelationId, twinOperationCorrelationMap));
+        this.receiverLinkHandlers.put(DEVICE_TWIN, new AmqpsTwinReceiverLinkHandler(receiver, this, this.clientConfiguration, twinLinkCorrelationId, twinOperationCorrelationMap, this.receivedMessageBuffer));
 
         this.subscribeToTwinOnReconnection = true;
         this.alreadyCreatedTwinLinks = true;
@@ -7,6 +7,7 @@ import com.microsoft.azure.sdk.iot.device.ClientConfiguration;
 import com.microsoft.azure.sdk.iot.device.MessageCallback;
 import com.microsoft.azure.sdk.iot.device.MessageType;
 import com.microsoft.azure.sdk.iot.device.transport.IotHubTransportMessage;
+import com.microsoft.azure.sdk.iot.device.transport.ReceivedMessageBuffer;
 import org.apache.qpid.proton.amqp.Symbol;
 import org.apache.qpid.proton.engine.Receiver;
 
@@ -31,9 +32,9 @@ final class AmqpsTelemetryReceiverLinkHandler extends AmqpsReceiverLinkHandler
 
     private final ClientConfiguration clientConfiguration;
 
-    AmqpsTelemetryReceiverLinkHandler(Receiver receiver, AmqpsLinkStateCallback amqpsLinkStateCallback, ClientConfiguration clientConfiguration, String linkCorrelationId)
+    AmqpsTelemetryReceiverLinkHandler(Receiver receiver, AmqpsLinkStateCallback amqpsLinkStateCallback, ClientConfiguration clientConfiguration, String linkCorrelationId, ReceivedMessageBuffer receivedMessageBuffer)
     {
-        super(receiver, amqpsLinkStateCallback, linkCorrelationId);
+        super(receiver, amqpsLinkStateCallback, linkCorrelationId, receivedMessageBuffer);
 
         this.clientConfiguration = clientConfiguration;
 
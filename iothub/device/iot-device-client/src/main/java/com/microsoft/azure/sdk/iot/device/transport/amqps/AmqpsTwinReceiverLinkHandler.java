@@ -8,6 +8,7 @@ import com.microsoft.azure.sdk.iot.device.twin.DeviceOperations;
 import com.microsoft.azure.sdk.iot.device.MessageCallback;
 import com.microsoft.azure.sdk.iot.device.MessageType;
 import com.microsoft.azure.sdk.iot.device.transport.IotHubTransportMessage;
+import com.microsoft.azure.sdk.iot.device.transport.ReceivedMessageBuffer;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.qpid.proton.amqp.Symbol;
 import org.apache.qpid.proton.amqp.messaging.MessageAnnotations;
@@ -47,9 +48,9 @@ final class AmqpsTwinReceiverLinkHandler extends AmqpsReceiverLinkHandler
 
     private final ClientConfiguration clientConfiguration;
 
-    AmqpsTwinReceiverLinkHandler(Receiver receiver, AmqpsLinkStateCallback amqpsLinkStateCallback, ClientConfiguration clientConfiguration, String linkCorrelationId, Map<String, DeviceOperations> twinOperationCorrelationMap)
+    AmqpsTwinReceiverLinkHandler(Receiver receiver, AmqpsLinkStateCallback amqpsLinkStateCallback, ClientConfiguration clientConfiguration, String linkCorrelationId, Map<String, DeviceOperations> twinOperationCorrelationMap, ReceivedMessageBuffer receivedMessageBuffer)
     {
-        super(receiver, amqpsLinkStateCallback, linkCorrelationId);
+        super(receiver, amqpsLinkStateCallback, linkCorrelationId, receivedMessageBuffer);
 
         this.clientConfiguration = clientConfiguration;
 
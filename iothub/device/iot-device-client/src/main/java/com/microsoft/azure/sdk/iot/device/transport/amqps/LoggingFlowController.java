@@ -3,6 +3,7 @@
 
 package com.microsoft.azure.sdk.iot.device.transport.amqps;
 
+import com.microsoft.azure.sdk.iot.device.transport.ReceivedMessageBuffer;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.qpid.proton.engine.BaseHandler;
 import org.apache.qpid.proton.engine.Event;
@@ -14,21 +15,55 @@ import org.apache.qpid.proton.engine.Receiver;
  *
  * Use this FlowController to automatically flow link credit back to the service from this client's receiver links after
  * each delivery on the receiver link.
+ *
+ * If it is given the client's {@link ReceivedMessageBuffer}, this FlowController reserves the credit that it flows on its
+ * link from the buffer, so that the credit on all the receiver links that share the buffer together never exceeds the
+ * number of messages that the buffer has room for, and flows no credit at all while the buffer is full. Credit is
+ * released back to the buffer as deliveries use it and when the link closes. Since credit isn't flowed on deliveries
+ * that arrive while the buffer is full, {@link #topup(Receiver)} has to be called again once the buffer has room.
  */
 @Slf4j
 public class LoggingFlowController extends BaseHandler
 {
     private static final int WINDOW = 1024;
     private final String linkCorrelationId;
+    private final ReceivedMessageBuffer receivedMessageBuffer;
+
+    // The credit on the link that was reserved from the buffer and that no delivery has used yet
+    private int reservedCredit;
 
     public LoggingFlowController(String linkCorrelationId)
+    {
+        this(linkCorrelationId, null);
+    }
+
+    /**
+     * @param linkCorrelationId the correlation id of the link, for logging.
+     * @param receivedMessageBuffer the buffer that the messages received on this link are added to, or null if the
+     * credit on this link shouldn't depend on it.
+     */
+    public LoggingFlowController(String linkCorrelationId, ReceivedMessageBuffer receivedMessageBuffer)
     {
         this.linkCorrelationId = linkCorrelationId;
+        this.receivedMessageBuffer = receivedMessageBuffer;
     }
 
-    private void topup(Receiver link)
+    void topup(Receiver link)
     {
-        int delta = WINDOW - link.getCredit();
+        int credit = link.getCredit();
+        int delta = WINDOW - credit;
+        if (this.receivedMessageBuffer != null)
+        {
+            // Each delivery used one credit, and the buffer counts the delivered message itself from then on
+            if (credit < this.reservedCredit)
+            {
+                this.receivedMessageBuffer.releaseCredit(this.reservedCredit - credit);
+                this.reservedCredit = credit;
+            }
+
+            delta = delta > 0 ? this.receivedMessageBuffer.reserveCredit(delta) : 0;
+            this.reservedCredit += delta;
+        }
 
         // if delta is zero, then there is no credit to replenish, so no need to send a flow message to the service
         if (delta > 0)
@@ -38,6 +73,15 @@ public class LoggingFlowController extends BaseHandler
         }
     }
 
+    private void releaseReservedCredit()
+    {
+        if (this.receivedMessageBuffer != null && this.reservedCredit > 0)
+        {
+            this.receivedMessageBuffer.releaseCredit(this.reservedCredit);
+            this.reservedCredit = 0;
+        }
+    }
+
     @Override
     public void onUnhandled(Event event)
     {
@@ -54,6 +98,12 @@ public class LoggingFlowController extends BaseHandler
                     topup((Receiver)link);
                 }
                 break;
+            case LINK_LOCAL_CLOSE:
+            case LINK_REMOTE_CLOSE:
+            case LINK_FINAL:
+                // The service can't use the credit on a closed link, so other links may have it
+                releaseReservedCredit();
+                break;
             default:
                 break;
         }
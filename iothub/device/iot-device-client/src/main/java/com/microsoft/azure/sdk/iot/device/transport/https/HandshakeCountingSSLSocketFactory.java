@@ -0,0 +1,91 @@
+// Copyright (c) Microsoft. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package com.microsoft.azure.sdk.iot.device.transport.https;
+
+import javax.net.ssl.SSLSocketFactory;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * An {@link SSLSocketFactory} that counts the sockets it creates. {@link javax.net.ssl.HttpsURLConnection} only asks
+ * its socket factory for a socket when it can't reuse a kept-alive connection, so each socket created here is one TLS
+ * handshake.
+ * <p>
+ * The JDK's keep-alive cache only reuses a connection for a request that uses the same socket factory instance as the
+ * request that opened it, so a single instance of this class needs to be used for all requests that should share
+ * connections.
+ */
+final class HandshakeCountingSSLSocketFactory extends SSLSocketFactory
+{
+    private final SSLSocketFactory delegate;
+    private final AtomicLong handshakeCount;
+
+    HandshakeCountingSSLSocketFactory(SSLSocketFactory delegate, AtomicLong handshakeCount)
+    {
+        this.delegate = delegate;
+        this.handshakeCount = handshakeCount;
+    }
+
+    @Override
+    public String[] getDefaultCipherSuites()
+    {
+        return this.delegate.getDefaultCipherSuites();
+    }
+
+    @Override
+    public String[] getSupportedCipherSuites()
+    {
+        return this.delegate.getSupportedCipherSuites();
+    }
+
+    @Override
+    public Socket createSocket() throws IOException
+    {
+        Socket socket = this.delegate.createSocket();
+        this.handshakeCount.incrementAndGet();
+        return socket;
+    }
+
+    @Override
+    public Socket createSocket(Socket socket, String host, int port, boolean autoClose) throws IOException
+    {
+        Socket sslSocket = this.delegate.createSocket(socket, host, port, autoClose);
+        this.handshakeCount.incrementAndGet();
+        return sslSocket;
+    }
+
+    @Override
+    public Socket createSocket(String host, int port) throws IOException
+    {
+        Socket socket = this.delegate.createSocket(host, port);
+        this.handshakeCount.incrementAndGet();
+        return socket;
+    }
+
+    @Override
+    public Socket createSocket(String host, int port, InetAddress localHost, int localPort) throws IOException
+    {
+        Socket socket = this.delegate.createSocket(host, port, localHost, localPort);
+        this.handshakeCount.incrementAndGet();
+        return socket;
+    }
+
+    @Override
+    public Socket createSocket(InetAddress host, int port) throws IOException
+    {
+        Socket socket = this.delegate.createSocket(host, port);
+        this.handshakeCount.incrementAndGet();
+        return socket;
+    }
+
+    @Override
+    public Socket createSocket(InetAddress address, int port, InetAddress localAddress, int localPort) throws IOException
+    {
+        Socket socket = this.delegate.createSocket(address, port, localAddress, localPort);
+        this.handshakeCount.incrementAndGet();
+        return socket;
+    }
+}
@@ -138,7 +138,7 @@ final class HttpsBatchMessage implements HttpsMessage
     private static void addJsonToStringBuilder(HttpsSingleMessage msg, StringBuilder jsonStringBuilder)
     {
         jsonStringBuilder.append('{' + BODY + KEY_VALUE_SEPARATOR);
-        jsonStringBuilder.append('\"').append(encodeBase64String(msg.getBody())).append("\",");
+        jsonStringBuilder.append('\"').append(encodeBase64String(msg.getBodyWithoutCopy())).append("\",");
         jsonStringBuilder.append(BASE_ENCODED_KEY + KEY_VALUE_SEPARATOR);
         jsonStringBuilder.append(true);
         MessageProperty[] properties = msg.getProperties();
@@ -9,10 +9,10 @@ import com.microsoft.azure.sdk.iot.device.transport.HttpProxySocketFactory;
 
 import javax.net.ssl.HttpsURLConnection;
 import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSocketFactory;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.*;
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
@@ -33,6 +33,12 @@ import java.util.Map;
  */
 public class HttpsConnection
 {
+    // Size of the chunks that response bodies are read in when their Content-Length isn't known
+    private static final int READ_BUFFER_SIZE = 8 * 1024;
+
+    // Upper bound on how much is allocated up front based on a response's Content-Length
+    private static final int MAX_PREALLOCATED_BODY_SIZE = 1024 * 1024;
+
     /** The underlying HTTP/HTTPS connection. */
     private final HttpURLConnection connection;
 
@@ -256,7 +262,7 @@ public class HttpsConnection
             byte[] input;
             try (InputStream inputStream = this.connection.getInputStream())
             {
-                input = readInputStream(inputStream);
+                input = readInputStream(inputStream, this.connection.getContentLength());
             }
 
             return input;
@@ -286,7 +292,7 @@ public class HttpsConnection
                 // if there is no error reason, getErrorStream() returns null.
                 if (errorStream != null)
                 {
-                    error = readInputStream(errorStream);
+                    error = readInputStream(errorStream, this.connection.getContentLength());
                 }
             }
 
@@ -334,32 +340,39 @@ public class HttpsConnection
      * Reads the input stream until the stream is empty.
      *
      * @param stream the input stream.
+     * @param contentLength the Content-Length of the response, or -1 if it isn't known. This is only used to size the
+     * buffer up front, the stream is still read until it is empty.
      *
      * @return the content of the input stream.
      *
      * @throws TransportException if the input stream could not be read from.
      */
-    private static byte[] readInputStream(InputStream stream) throws TransportException
+    private static byte[] readInputStream(InputStream stream, int contentLength) throws TransportException
     {
         try
         {
-            ArrayList<Byte> byteBuffer = new ArrayList<>();
-            int nextByte;
-            // read(byte[]) reads the byte into the buffer and returns the number
-            // of bytes read, or -1 if the end of the stream has been reached.
-            while ((nextByte = stream.read()) > -1)
-            {
-                byteBuffer.add((byte) nextByte);
-            }
-
-            int bufferSize = byteBuffer.size();
-            byte[] byteArray = new byte[bufferSize];
-            for (int i = 0; i < bufferSize; ++i)
+            // The Content-Length comes from the service, so it isn't trusted for more than a bounded up front allocation
+            byte[] buffer = new byte[contentLength > 0 ? Math.min(contentLength, MAX_PREALLOCATED_BODY_SIZE) : READ_BUFFER_SIZE];
+            int totalBytesRead = 0;
+            int bytesRead;
+            while ((bytesRead = stream.read(buffer, totalBytesRead, buffer.length - totalBytesRead)) > -1)
             {
-                byteArray[i] = byteBuffer.get(i);
+                totalBytesRead += bytesRead;
+                if (totalBytesRead == buffer.length)
+                {
+                    // Reading one more byte is the only way to tell a full buffer apart from the end of the stream
+                    int nextByte = stream.read();
+                    if (nextByte == -1)
+                    {
+                        break;
+                    }
+
+                    buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, READ_BUFFER_SIZE));
+                    buffer[totalBytesRead++] = (byte) nextByte;
+                }
             }
 
-            return byteArray;
+            return totalBytesRead == buffer.length ? buffer : Arrays.copyOf(buffer, totalBytesRead);
         }
         catch (IOException e)
         {
@@ -367,6 +380,31 @@ public class HttpsConnection
         }
     }
 
+    /**
+     * Sets the socket factory that this connection will use as is. Unlike {@link #setSSLContext(SSLContext)}, this does
+     * not wrap it for the proxy settings, so the caller is responsible for that. Using the same socket factory instance
+     * for multiple connections allows them to share kept-alive connections.
+     *
+     * @param sslSocketFactory the socket factory to use.
+     * @throws IllegalArgumentException if sslSocketFactory is null.
+     */
+    void setSSLSocketFactory(SSLSocketFactory sslSocketFactory) throws IllegalArgumentException
+    {
+        if (sslSocketFactory == null)
+        {
+            throw new IllegalArgumentException("SSL socket factory cannot be null");
+        }
+
+        if (this.connection instanceof HttpsURLConnection)
+        {
+            ((HttpsURLConnection) this.connection).setSSLSocketFactory(sslSocketFactory);
+        }
+        else
+        {
+            throw new UnsupportedOperationException("HTTP connections do not support using ssl socket factory");
+        }
+    }
+
     void setSSLContext(SSLContext sslContext) throws IllegalArgumentException
     {
         if (sslContext == null)
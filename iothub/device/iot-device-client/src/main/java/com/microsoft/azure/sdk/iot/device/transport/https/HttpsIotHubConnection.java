@@ -4,14 +4,17 @@
 package com.microsoft.azure.sdk.iot.device.transport.https;
 
 import com.microsoft.azure.sdk.iot.device.*;
+import com.microsoft.azure.sdk.iot.device.transport.HttpProxySocketFactory;
 import com.microsoft.azure.sdk.iot.device.transport.IotHubServiceException;
 import com.microsoft.azure.sdk.iot.device.transport.TransportException;
 import com.microsoft.azure.sdk.iot.device.transport.IotHubListener;
 import com.microsoft.azure.sdk.iot.device.transport.IotHubTransportConnection;
 import com.microsoft.azure.sdk.iot.device.transport.IotHubTransportMessage;
+import com.microsoft.azure.sdk.iot.device.internal.MessageBodyAccessor;
 import lombok.extern.slf4j.Slf4j;
 
 import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSocketFactory;
 import java.io.IOException;
 import java.net.MalformedURLException;
 import java.net.URL;
@@ -19,6 +22,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * An HTTPS connection between a device and an IoT Hub. Contains functionality
@@ -50,6 +54,18 @@ public class HttpsIotHubConnection implements IotHubTransportConnection
      */
     private final Map<Message, String> messageToETagMap = new HashMap<>();
 
+    /**
+     * Only used if {@link ClientConfiguration#isHttpsKeepAlive()} is true. Every request shares this socket factory so
+     * that the JDK can reuse their kept-alive connections. It is rebuilt if the authentication provider's SSLContext
+     * changes.
+     */
+    private SSLSocketFactory keepAliveSocketFactory;
+    private SSLContext keepAliveSocketFactorySslContext;
+
+    // Only counted if keep-alive is enabled
+    private final AtomicLong requestCount = new AtomicLong();
+    private final AtomicLong handshakeCount = new AtomicLong();
+
     /**
      * Constructs an instance from the given {@link ClientConfiguration}
      * object.
@@ -109,7 +125,11 @@ public class HttpsIotHubConnection implements IotHubTransportConnection
 
             URL eventUrl = this.buildUrlFromString(HTTPS_HEAD_TAG + iotHubEventUri.toString());
 
-            HttpsRequest request = new HttpsRequest(eventUrl, HttpsMethod.POST, httpsMessage.getBody(), this.config.getProductInfo().getUserAgentString(), config.getProxySettings());
+            // A single message's body is sent as is, without the copy that getBody() would make of it
+            byte[] body = httpsMessage instanceof HttpsSingleMessage
+                ? ((HttpsSingleMessage) httpsMessage).getBodyWithoutCopy()
+                : httpsMessage.getBody();
+            HttpsRequest request = new HttpsRequest(eventUrl, HttpsMethod.POST, body, this.config.getProductInfo().getUserAgentString(), config.getProxySettings());
 
             for (MessageProperty property : httpsMessage.getProperties())
             {
@@ -237,7 +257,7 @@ public class HttpsIotHubConnection implements IotHubTransportConnection
                 Message message = httpsMsg.toMessage();
 
                 //callbacks are always for telemetry as HTTPS does not support Twin or Methods
-                transportMessage = new IotHubTransportMessage(message.getBytes(), message.getMessageType(), message.getMessageId(), message.getCorrelationId(), message.getProperties());
+                transportMessage = new IotHubTransportMessage(MessageBodyAccessor.getBodyWithoutCopy(message), message.getMessageType(), message.getMessageId(), message.getCorrelationId(), message.getProperties());
                 transportMessage.setMessageCallback(this.config.getDeviceTelemetryMessageCallback(message.getInputName()));
                 transportMessage.setMessageCallbackContext(this.config.getDeviceTelemetryMessageContext(message.getInputName()));
 
@@ -282,7 +302,37 @@ public class HttpsIotHubConnection implements IotHubTransportConnection
     @Override
     public void close()
     {
-        //Dummy call
+        if (this.config.isHttpsKeepAlive())
+        {
+            log.debug("Https connection closed after sending {} requests using {} TLS handshakes ({} handshakes avoided by reusing kept-alive connections)", getRequestCount(), getHandshakeCount(), getHandshakesAvoided());
+        }
+    }
+
+    /**
+     * @return the number of https requests sent by this connection. Only counted if
+     * {@link ClientConfiguration#isHttpsKeepAlive()} is true.
+     */
+    public long getRequestCount()
+    {
+        return this.requestCount.get();
+    }
+
+    /**
+     * @return the number of TLS handshakes done for the https requests sent by this connection. Only counted if
+     * {@link ClientConfiguration#isHttpsKeepAlive()} is true.
+     */
+    public long getHandshakeCount()
+    {
+        return this.handshakeCount.get();
+    }
+
+    /**
+     * @return the number of https requests sent by this connection that reused a kept-alive connection rather than
+     * doing a new TLS handshake. Only counted if {@link ClientConfiguration#isHttpsKeepAlive()} is true.
+     */
+    public long getHandshakesAvoided()
+    {
+        return Math.max(0, this.requestCount.get() - this.handshakeCount.get());
     }
 
     /**
@@ -398,9 +448,42 @@ public class HttpsIotHubConnection implements IotHubTransportConnection
             request.setHeaderField(HTTPS_PROPERTY_AUTHORIZATION_TAG, this.getSasToken());
         }
 
-        request.setSSLContext(this.getSSLContext());
+        if (!this.config.isHttpsKeepAlive())
+        {
+            request.setSSLContext(this.getSSLContext());
+            return request.send();
+        }
+
+        request.setSSLSocketFactory(this.getKeepAliveSocketFactory());
+
+        long handshakeCountBeforeRequest = this.handshakeCount.get();
+        HttpsResponse response = request.send();
+        this.requestCount.incrementAndGet();
+
+        if (this.handshakeCount.get() == handshakeCountBeforeRequest)
+        {
+            log.trace("Https request reused a kept-alive connection");
+        }
+
+        return response;
+    }
+
+    private SSLSocketFactory getKeepAliveSocketFactory() throws TransportException
+    {
+        SSLContext sslContext = this.getSSLContext();
+        if (this.keepAliveSocketFactory == null || this.keepAliveSocketFactorySslContext != sslContext)
+        {
+            SSLSocketFactory socketFactory = sslContext.getSocketFactory();
+            if (this.config.getProxySettings() != null)
+            {
+                socketFactory = new HttpProxySocketFactory(socketFactory, this.config.getProxySettings());
+            }
+
+            this.keepAliveSocketFactory = new HandshakeCountingSSLSocketFactory(socketFactory, this.handshakeCount);
+            this.keepAliveSocketFactorySslContext = sslContext;
+        }
 
-        return request.send();
+        return this.keepAliveSocketFactory;
     }
 
     private URL buildUrlFromString(String url) throws TransportException
@@ -5,8 +5,10 @@ package com.microsoft.azure.sdk.iot.device.transport.https;
 
 import com.microsoft.azure.sdk.iot.device.ProxySettings;
 import com.microsoft.azure.sdk.iot.device.transport.TransportException;
+import lombok.extern.slf4j.Slf4j;
 
 import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSocketFactory;
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -16,6 +18,7 @@ import java.util.Map;
 /**
  * An HTTPS request.
  */
+@Slf4j
 public class HttpsRequest
 {
     private byte[] body;
@@ -25,6 +28,7 @@ public class HttpsRequest
     private int readTimeout;
     private int connectTimeout;
     private SSLContext sslContext;
+    private SSLSocketFactory sslSocketFactory;
     private ProxySettings proxySettings;
 
     /**
@@ -139,7 +143,11 @@ public class HttpsRequest
 
         connection.writeOutput(this.body);
 
-        if (this.sslContext != null && isHttps)
+        if (this.sslSocketFactory != null && isHttps)
+        {
+            connection.setSSLSocketFactory(this.sslSocketFactory);
+        }
+        else if (this.sslContext != null && isHttps)
         {
             connection.setSSLContext(this.sslContext);
         }
@@ -168,10 +176,36 @@ public class HttpsRequest
         {
             responseBody = connection.readInput();
         }
+        else if (this.sslSocketFactory != null)
+        {
+            // A kept-alive connection can only be reused for a later request once its last response has been fully
+            // read, so the rest of the response is read to the end and dropped
+            drainResponse(connection, responseStatus);
+        }
 
         return new HttpsResponse(responseStatus, responseBody, headerFields, errorReason);
     }
 
+    private static void drainResponse(HttpsConnection connection, int responseStatus)
+    {
+        try
+        {
+            if (responseStatus >= 400)
+            {
+                connection.readError();
+            }
+            else
+            {
+                connection.readInput();
+            }
+        }
+        catch (TransportException e)
+        {
+            // The response status is still returned. The connection just won't be reused.
+            log.debug("Failed to read the rest of the response with status {}, so its connection won't be kept alive", responseStatus, e);
+        }
+    }
+
     /**
      * Sets the header field to the given value.
      *
@@ -242,6 +276,26 @@ public class HttpsRequest
         return this;
     }
 
+    /**
+     * Sets the socket factory that this request will use. If set, this is used instead of the SSL context set in
+     * {@link #setSSLContext(SSLContext)}, and is used as is, so it must already account for any proxy settings. Requests
+     * to the same host that use the same socket factory instance can share kept-alive connections.
+     * @param sslSocketFactory the socket factory to use.
+     * @return itself, for fluent setting.
+     * @throws IllegalArgumentException if sslSocketFactory is null
+     */
+    public HttpsRequest setSSLSocketFactory(SSLSocketFactory sslSocketFactory) throws IllegalArgumentException
+    {
+        if (sslSocketFactory == null)
+        {
+            throw new IllegalArgumentException("Socket factory cannot be null");
+        }
+
+        this.sslSocketFactory = sslSocketFactory;
+
+        return this;
+    }
+
     public byte[] getBody()
     {
         return this.body;
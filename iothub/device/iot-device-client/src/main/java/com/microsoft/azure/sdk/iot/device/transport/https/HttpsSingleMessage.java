@@ -5,6 +5,7 @@ package com.microsoft.azure.sdk.iot.device.transport.https;
 
 import com.microsoft.azure.sdk.iot.device.Message;
 import com.microsoft.azure.sdk.iot.device.MessageProperty;
+import com.microsoft.azure.sdk.iot.device.internal.MessageBodyAccessor;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -76,8 +77,8 @@ final class HttpsSingleMessage implements HttpsMessage
 
     private static void parser(HttpsSingleMessage httpsMsg, Message message)
     {
-        byte[] msgBody = message.getBytes();
-        httpsMsg.body = Arrays.copyOf(msgBody, msgBody.length);
+        // Nothing modifies the body once it is parsed, so it is shared with the message rather than copied
+        httpsMsg.body = MessageBodyAccessor.getBodyWithoutCopy(message);
 
         MessageProperty[] msgProperties = message.getProperties();
         httpsMsg.properties = new MessageProperty[msgProperties.length];
@@ -221,6 +222,16 @@ final class HttpsSingleMessage implements HttpsMessage
         return Arrays.copyOf(this.body, this.body.length);
     }
 
+    /**
+     * Returns the message body itself rather than a copy of it, for the classes in this package that only read it.
+     *
+     * @return the message body, which must not be modified.
+     */
+    byte[] getBodyWithoutCopy()
+    {
+        return this.body;
+    }
+
     /**
      * Returns the message body as a string. The body is encoded using charset
      * UTF-8.
@@ -9,7 +9,9 @@ import com.microsoft.azure.sdk.iot.device.MessageType;
 import com.microsoft.azure.sdk.iot.device.transport.TransportException;
 import com.microsoft.azure.sdk.iot.device.transport.IotHubListener;
 import com.microsoft.azure.sdk.iot.device.transport.IotHubTransportMessage;
+import com.microsoft.azure.sdk.iot.device.transport.mqtt.exceptions.MqttInFlightLimitReachedException;
 import com.microsoft.azure.sdk.iot.device.transport.mqtt.exceptions.PahoExceptionTranslator;
+import com.microsoft.azure.sdk.iot.device.internal.MessageBodyAccessor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.tuple.MutablePair;
 import org.apache.commons.lang3.tuple.Pair;
@@ -20,6 +22,7 @@ import java.net.URLDecoder;
 import java.nio.charset.StandardCharsets;
 import java.util.Map;
 import java.util.Queue;
+import java.util.concurrent.TimeUnit;
 
 @Slf4j
 public abstract class Mqtt implements MqttCallback
@@ -31,14 +34,14 @@ public abstract class Mqtt implements MqttCallback
     private static final int QOS = 1;
     private static final int MAX_SUBSCRIBE_ACK_WAIT_TIME = 15 * 1000;
 
-    // relatively arbitrary, but only because Paho doesn't have any particular recommendations here. Just a high enough
-    // value that users who are building a gateway type solution don't find this value to be a bottleneck.
-    static final int MAX_IN_FLIGHT_COUNT = 65000;
+    // How long a publish waits on an in-flight message to be acknowledged before checking if the connection was lost
+    private static final int IN_FLIGHT_PERMIT_WAIT_MILLISECONDS = 1000;
 
     private MqttAsyncClient mqttAsyncClient;
     private final MqttConnectOptions connectOptions;
     private final MqttMessageListener messageListener;
     private final Map<Integer, Message> unacknowledgedSentMessages;
+    private final MqttInFlightMessageGate inFlightMessageGate;
 
     final Object receivedMessagesLock; // lock for making operations on the receivedMessagesQueue atomic
     final Queue<Pair<String, MqttMessage>> receivedMessages;
@@ -88,7 +91,8 @@ public abstract class Mqtt implements MqttCallback
         String deviceId,
         MqttConnectOptions connectOptions,
         Map<Integer, Message> unacknowledgedSentMessages,
-        Queue<Pair<String, MqttMessage>> receivedMessages)
+        Queue<Pair<String, MqttMessage>> receivedMessages,
+        MqttInFlightMessageGate inFlightMessageGate)
     {
         this.deviceId = deviceId;
         this.receivedMessages = receivedMessages;
@@ -98,6 +102,7 @@ public abstract class Mqtt implements MqttCallback
         this.messageListener = messageListener;
         this.connectOptions = connectOptions;
         this.unacknowledgedSentMessages = unacknowledgedSentMessages;
+        this.inFlightMessageGate = inFlightMessageGate;
     }
 
     void updatePassword(char[] newPassword)
@@ -181,11 +186,29 @@ public abstract class Mqtt implements MqttCallback
      *
      * @param publishTopic the topic to publish on mqtt broker connection.
      * @param message the message to publish.
-     * @throws TransportException if sas token has expired, if connection hasn't been established yet, or if Paho throws
-     * for any other reason
+     * @throws TransportException if sas token has expired, if connection hasn't been established yet, if the maximum
+     * number of in-flight messages has been reached and this client is configured not to wait, or if Paho throws for
+     * any other reason
      */
     void publish(String publishTopic, Message message) throws TransportException
     {
+        publish(publishTopic, message, false);
+    }
+
+    /**
+     * Method to publish to mqtt broker connection.
+     *
+     * @param publishTopic the topic to publish on mqtt broker connection.
+     * @param message the message to publish.
+     * @param isInFlightPermitReserved true if an in-flight permit was already taken for this message through
+     * {@link #tryReserveInFlightPermits(int)}. The permit is given back if the message isn't published.
+     * @throws TransportException if sas token has expired, if connection hasn't been established yet, if the maximum
+     * number of in-flight messages has been reached and this client is configured not to wait, or if Paho throws for
+     * any other reason
+     */
+    void publish(String publishTopic, Message message, boolean isInFlightPermitReserved) throws TransportException
+    {
+        boolean isInFlightPermitHeld = isInFlightPermitReserved;
         try
         {
             if (!this.mqttAsyncClient.isConnected())
@@ -195,38 +218,44 @@ public abstract class Mqtt implements MqttCallback
                 throw transportException;
             }
 
-            if (message == null || publishTopic == null || publishTopic.length() == 0 || message.getBytes() == null)
+            if (message == null || publishTopic == null || publishTopic.length() == 0 || MessageBodyAccessor.getBodyWithoutCopy(message) == null)
             {
                 throw new IllegalArgumentException("Cannot publish on null or empty publish topic");
             }
 
-            byte[] payload = message.getBytes();
+            byte[] payload = MessageBodyAccessor.getBodyWithoutCopy(message);
 
-            // Wait until either the number of in flight messages is below the limit before publishing another message
-            // Or wait until the connection is lost so the message can be requeued for later
-            while (this.mqttAsyncClient.getPendingDeliveryTokens().length >= MAX_IN_FLIGHT_COUNT)
+            if (!isInFlightPermitHeld)
             {
-                //noinspection BusyWait
-                Thread.sleep(10);
-
-                if (!this.mqttAsyncClient.isConnected())
-                {
-                    TransportException transportException = new TransportException("Cannot publish when mqtt client is holding " + MAX_IN_FLIGHT_COUNT + " tokens and is disconnected");
-                    transportException.setRetryable(true);
-                    throw transportException;
-                }
+                acquireInFlightPermit();
+                isInFlightPermitHeld = true;
             }
 
-            MqttMessage mqttMessage = (payload.length == 0) ? new MqttMessage() : new MqttMessage(payload);
+            boolean published = false;
+            try
+            {
+                MqttMessage mqttMessage = (payload.length == 0) ? new MqttMessage() : new SharedPayloadMqttMessage(payload);
 
-            mqttMessage.setQos(QOS);
+                mqttMessage.setQos(QOS);
 
-            synchronized (this.unacknowledgedSentMessagesLock)
+                synchronized (this.unacknowledgedSentMessagesLock)
+                {
+                    log.trace("Publishing message ({}) to MQTT topic {}", message, publishTopic);
+                    IMqttDeliveryToken publishToken = this.mqttAsyncClient.publish(publishTopic, mqttMessage);
+                    unacknowledgedSentMessages.put(publishToken.getMessageId(), message);
+                    published = true;
+                    log.trace("Message published to MQTT topic {}. Mqtt message id {} added to list of messages to wait for acknowledgement ({})", publishTopic, publishToken.getMessageId(), message);
+                }
+            }
+            finally
             {
-                log.trace("Publishing message ({}) to MQTT topic {}", message, publishTopic);
-                IMqttDeliveryToken publishToken = this.mqttAsyncClient.publish(publishTopic, mqttMessage);
-                unacknowledgedSentMessages.put(publishToken.getMessageId(), message);
-                log.trace("Message published to MQTT topic {}. Mqtt message id {} added to list of messages to wait for acknowledgement ({})", publishTopic, publishToken.getMessageId(), message);
+                if (!published)
+                {
+                    // This message will never be acknowledged, so it shouldn't count towards the in-flight limit
+                    this.inFlightMessageGate.release();
+                }
+
+                isInFlightPermitHeld = false;
             }
         }
         catch (MqttException e)
@@ -238,6 +267,78 @@ public abstract class Mqtt implements MqttCallback
         {
             throw new TransportException("Interrupted, Unable to publish message on topic : " + publishTopic, e);
         }
+        finally
+        {
+            if (isInFlightPermitHeld)
+            {
+                // The message failed its checks before it could be published, so the reserved permit isn't needed
+                this.inFlightMessageGate.release();
+            }
+        }
+    }
+
+    /**
+     * Takes in-flight permits for the given number of messages at once, so that they can all be published without
+     * reaching the in-flight limit part way through. Each reserved permit must be passed on to
+     * {@link #publish(String, Message, boolean)}, or given back through {@link #releaseInFlightPermits(int)}.
+     *
+     * @param permitCount the number of messages to reserve permits for.
+     * @return true if the permits were taken, false if fewer than that many are available. No permits are taken then.
+     */
+    boolean tryReserveInFlightPermits(int permitCount)
+    {
+        return this.inFlightMessageGate.tryAcquire(permitCount);
+    }
+
+    void releaseInFlightPermits(int permitCount)
+    {
+        if (permitCount > 0)
+        {
+            this.inFlightMessageGate.release(permitCount);
+        }
+    }
+
+    /**
+     * @return the maximum number of published messages that can wait on an acknowledgement at a time.
+     */
+    int getMaxInFlightMessages()
+    {
+        return this.inFlightMessageGate.getMaxInFlightMessages();
+    }
+
+    /**
+     * @return true if publishing while at the in-flight limit waits for a message to be acknowledged, false if it fails
+     * right away.
+     */
+    boolean isBlockingOnMaxInFlightMessages()
+    {
+        return this.inFlightMessageGate.isBlockingWhenFull();
+    }
+
+    private void acquireInFlightPermit() throws TransportException, InterruptedException
+    {
+        if (this.inFlightMessageGate.tryAcquire())
+        {
+            return;
+        }
+
+        if (!this.inFlightMessageGate.isBlockingWhenFull())
+        {
+            throw new MqttInFlightLimitReachedException("Cannot publish while " + this.inFlightMessageGate.getMaxInFlightMessages() + " messages are waiting to be acknowledged");
+        }
+
+        // Wait until either one of the in flight messages is acknowledged before publishing another message
+        // Or wait until the connection is lost so the message can be requeued for later
+        log.trace("Maximum number of in flight messages has been reached, waiting for one to be acknowledged before publishing");
+        while (!this.inFlightMessageGate.tryAcquire(IN_FLIGHT_PERMIT_WAIT_MILLISECONDS, TimeUnit.MILLISECONDS))
+        {
+            if (!this.mqttAsyncClient.isConnected())
+            {
+                TransportException transportException = new TransportException("Cannot publish when mqtt client is holding " + this.inFlightMessageGate.getMaxInFlightMessages() + " tokens and is disconnected");
+                transportException.setRetryable(true);
+                throw transportException;
+            }
+        }
     }
 
     /**
@@ -379,6 +480,7 @@ public abstract class Mqtt implements MqttCallback
             {
                 log.trace("Mqtt message with message id {} that was acknowledged by service was sent by this client", iMqttDeliveryToken.getMessageId());
                 deliveredMessage = unacknowledgedSentMessages.remove(iMqttDeliveryToken.getMessageId());
+                this.inFlightMessageGate.release();
             }
             else
             {
@@ -398,6 +500,16 @@ public abstract class Mqtt implements MqttCallback
             }
         }
 
+        if (deliveredMessage != null)
+        {
+            deliveredMessage = this.getAcknowledgedMessageToReport(deliveredMessage);
+            if (deliveredMessage == null)
+            {
+                // the acknowledged message is part of a larger send that is still waiting on other acknowledgements
+                return;
+            }
+        }
+
         if (this.listener != null)
         {
             this.listener.onMessageSent(deliveredMessage, this.deviceId, null);
@@ -521,6 +633,18 @@ public abstract class Mqtt implements MqttCallback
         }
     }
 
+    /**
+     * Gets the message that the listener should be told was sent, now that the service acknowledged the provided message.
+     * By default that is the acknowledged message itself.
+     *
+     * @param acknowledgedMessage the message that the service acknowledged.
+     * @return the message to report as sent, or null if nothing should be reported yet.
+     */
+    Message getAcknowledgedMessageToReport(Message acknowledgedMessage)
+    {
+        return acknowledgedMessage;
+    }
+
     void setListener(IotHubListener listener)
     {
         this.listener = listener;
@@ -537,4 +661,31 @@ public abstract class Mqtt implements MqttCallback
         // mqttAsyncClients are single use, so this setter is used when the MqttIotHubConnection layer needs to open a new connection
         this.mqttAsyncClient = mqttAsyncClient;
     }
+
+    /**
+     * Paho's {@link MqttMessage} copies any payload that it is given. A message body is never modified once it is
+     * queued to be sent, so this hands Paho the body itself instead. Paho only reads the payload of an outgoing message
+     * through {@link #getPayload()}.
+     */
+    private static final class SharedPayloadMqttMessage extends MqttMessage
+    {
+        private final byte[] sharedPayload;
+
+        SharedPayloadMqttMessage(byte[] payload)
+        {
+            this.sharedPayload = payload;
+        }
+
+        @Override
+        public byte[] getPayload()
+        {
+            return this.sharedPayload;
+        }
+
+        @Override
+        public String toString()
+        {
+            return new String(this.sharedPayload, StandardCharsets.UTF_8);
+        }
+    }
 }
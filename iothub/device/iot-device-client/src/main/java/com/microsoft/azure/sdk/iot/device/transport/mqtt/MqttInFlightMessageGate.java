@@ -0,0 +1,83 @@
+// Copyright (c) Microsoft. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package com.microsoft.azure.sdk.iot.device.transport.mqtt;
+
+import lombok.Getter;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limits how many published messages can be waiting on an acknowledgement from the service at a time. One instance is
+ * shared between the messaging, twin and method subclients since they all publish over the same MqttAsyncClient.
+ * A permit is taken before each publish and is given back once that publish is acknowledged in
+ * {@link Mqtt#deliveryComplete(org.eclipse.paho.client.mqttv3.IMqttDeliveryToken)}.
+ */
+final class MqttInFlightMessageGate
+{
+    @Getter
+    private final int maxInFlightMessages;
+
+    // If false, publishing while at the limit fails right away with a retryable exception rather than waiting for an
+    // in-flight message to be acknowledged.
+    @Getter
+    private final boolean blockingWhenFull;
+
+    private final Semaphore permits;
+
+    MqttInFlightMessageGate(int maxInFlightMessages, boolean blockingWhenFull)
+    {
+        if (maxInFlightMessages <= 0)
+        {
+            throw new IllegalArgumentException("maxInFlightMessages must be greater than 0");
+        }
+
+        this.maxInFlightMessages = maxInFlightMessages;
+        this.blockingWhenFull = blockingWhenFull;
+        this.permits = new Semaphore(maxInFlightMessages);
+    }
+
+    boolean tryAcquire()
+    {
+        return this.permits.tryAcquire();
+    }
+
+    boolean tryAcquire(long timeout, TimeUnit timeUnit) throws InterruptedException
+    {
+        return this.permits.tryAcquire(timeout, timeUnit);
+    }
+
+    /**
+     * Takes the given number of permits at once, or none of them.
+     */
+    boolean tryAcquire(int permitCount)
+    {
+        return this.permits.tryAcquire(permitCount);
+    }
+
+    void release()
+    {
+        this.permits.release();
+    }
+
+    void release(int permitCount)
+    {
+        this.permits.release(permitCount);
+    }
+
+    int getInFlightMessageCount()
+    {
+        return this.maxInFlightMessages - this.permits.availablePermits();
+    }
+
+    /**
+     * Gives back every permit. Publishes that were in flight on a closed MqttAsyncClient will never be acknowledged, so
+     * this is called each time a new MqttAsyncClient is opened.
+     */
+    void reset()
+    {
+        this.permits.drainPermits();
+        this.permits.release(this.maxInFlightMessages);
+    }
+}
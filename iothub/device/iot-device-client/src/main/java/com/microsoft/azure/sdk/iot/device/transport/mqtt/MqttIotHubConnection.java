@@ -4,6 +4,7 @@
 package com.microsoft.azure.sdk.iot.device.transport.mqtt;
 
 import com.microsoft.azure.sdk.iot.device.*;
+import com.microsoft.azure.sdk.iot.device.internal.MessageBodyAccessor;
 import com.microsoft.azure.sdk.iot.device.transport.*;
 import com.microsoft.azure.sdk.iot.device.transport.mqtt.exceptions.PahoExceptionTranslator;
 import lombok.extern.slf4j.Slf4j;
@@ -21,6 +22,7 @@ import java.net.Proxy;
 import java.net.URLEncoder;
 import java.net.UnknownHostException;
 import java.nio.charset.StandardCharsets;
+import java.util.List;
 import java.util.Map;
 import java.util.Queue;
 import java.util.UUID;
@@ -29,7 +31,6 @@ import java.util.concurrent.ConcurrentLinkedQueue;
 
 import static com.microsoft.azure.sdk.iot.device.MessageType.DEVICE_METHODS;
 import static com.microsoft.azure.sdk.iot.device.MessageType.DEVICE_TWIN;
-import static com.microsoft.azure.sdk.iot.device.transport.mqtt.Mqtt.MAX_IN_FLIGHT_COUNT;
 import static org.eclipse.paho.client.mqttv3.MqttConnectOptions.MQTT_VERSION_3_1_1;
 
 @Slf4j
@@ -65,6 +66,8 @@ public class MqttIotHubConnection implements IotHubTransportConnection, MqttMess
 
     private final Map<IotHubTransportMessage, Integer> receivedMessagesToAcknowledge = new ConcurrentHashMap<>();
 
+    private final MqttInFlightMessageGate inFlightMessageGate;
+
     /**
      * Constructs an instance from the given {@link ClientConfiguration}
      * object.
@@ -184,7 +187,7 @@ public class MqttIotHubConnection implements IotHubTransportConnection, MqttMess
         connectOptions.setCleanSession(SET_CLEAN_SESSION);
         connectOptions.setMqttVersion(MQTT_VERSION);
         connectOptions.setUserName(iotHubUserName);
-        connectOptions.setMaxInflight(MAX_IN_FLIGHT_COUNT);
+        connectOptions.setMaxInflight(this.config.getMqttMaxInFlightMessages());
         ProxySettings proxySettings = config.getProxySettings();
         if (proxySettings != null)
         {
@@ -216,6 +219,7 @@ public class MqttIotHubConnection implements IotHubTransportConnection, MqttMess
         // these variables are shared between the messaging, twin and method subclients
         Map<Integer, Message> unacknowledgedSentMessages = new ConcurrentHashMap<>();
         Queue<Pair<String, MqttMessage>> receivedMessages = new ConcurrentLinkedQueue<>();
+        this.inFlightMessageGate = new MqttInFlightMessageGate(this.config.getMqttMaxInFlightMessages(), this.config.isMqttBlockingOnMaxInFlightMessages());
 
         this.deviceMessaging = new MqttMessaging(
             deviceId,
@@ -224,19 +228,22 @@ public class MqttIotHubConnection implements IotHubTransportConnection, MqttMess
             this.config.getGatewayHostname() != null && !this.config.getGatewayHostname().isEmpty(),
             connectOptions,
             unacknowledgedSentMessages,
-            receivedMessages);
+            receivedMessages,
+            this.inFlightMessageGate);
 
         this.directMethod = new MqttDirectMethod(
             deviceId,
             connectOptions,
             unacknowledgedSentMessages,
-            receivedMessages);
+            receivedMessages,
+            this.inFlightMessageGate);
 
         this.deviceTwin = new MqttTwin(
             deviceId,
             connectOptions,
             unacknowledgedSentMessages,
-            receivedMessages);
+            receivedMessages,
+            this.inFlightMessageGate);
     }
 
     /**
@@ -279,6 +286,7 @@ public class MqttIotHubConnection implements IotHubTransportConnection, MqttMess
             // each time an open is called
             MqttAsyncClient mqttAsyncClient = buildMqttAsyncClient(this.serverUri, this.clientId);
             mqttAsyncClient.setCallback(this.deviceMessaging);
+            this.inFlightMessageGate.reset();
             this.deviceMessaging.setMqttAsyncClient(mqttAsyncClient);
             this.deviceTwin.setMqttAsyncClient(mqttAsyncClient);
             this.directMethod.setMqttAsyncClient(mqttAsyncClient);
@@ -340,10 +348,15 @@ public class MqttIotHubConnection implements IotHubTransportConnection, MqttMess
     @Override
     public IotHubStatusCode sendMessage(Message message) throws TransportException
     {
-        if (message == null || message.getBytes() == null ||
+        if (message instanceof BatchMessage)
+        {
+            return this.sendBatchMessage((BatchMessage) message);
+        }
+
+        if (message == null || MessageBodyAccessor.getBodyWithoutCopy(message) == null ||
             ((message.getMessageType() != DEVICE_TWIN
                     && message.getMessageType() != DEVICE_METHODS)
-                    && message.getBytes().length == 0))
+                    && MessageBodyAccessor.getBodyWithoutCopy(message).length == 0))
         {
             return IotHubStatusCode.BAD_FORMAT;
         }
@@ -376,6 +389,32 @@ public class MqttIotHubConnection implements IotHubTransportConnection, MqttMess
         return result;
     }
 
+    private IotHubStatusCode sendBatchMessage(BatchMessage batchMessage) throws TransportException
+    {
+        List<Message> nestedMessages = batchMessage.getNestedMessages();
+        if (nestedMessages == null || nestedMessages.isEmpty())
+        {
+            return IotHubStatusCode.BAD_FORMAT;
+        }
+
+        for (Message nestedMessage : nestedMessages)
+        {
+            if (nestedMessage == null || MessageBodyAccessor.getBodyWithoutCopy(nestedMessage) == null || MessageBodyAccessor.getBodyWithoutCopy(nestedMessage).length == 0)
+            {
+                return IotHubStatusCode.BAD_FORMAT;
+            }
+        }
+
+        if (this.state == IotHubConnectionStatus.DISCONNECTED)
+        {
+            throw new IllegalStateException("Cannot send event using a closed MQTT connection");
+        }
+
+        log.trace("Sending MQTT device telemetry batch message of {} messages ({})", nestedMessages.size(), batchMessage);
+        this.deviceMessaging.sendBatch(batchMessage);
+        return IotHubStatusCode.OK;
+    }
+
     /**
      * Sends an ACK to the service for the provided message
      * @param message the message to acknowledge to the service
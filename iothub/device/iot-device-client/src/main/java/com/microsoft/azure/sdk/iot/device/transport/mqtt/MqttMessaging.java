@@ -3,18 +3,21 @@
 
 package com.microsoft.azure.sdk.iot.device.transport.mqtt;
 
+import com.microsoft.azure.sdk.iot.device.BatchMessage;
 import com.microsoft.azure.sdk.iot.device.Message;
 import com.microsoft.azure.sdk.iot.device.MessageProperty;
 import com.microsoft.azure.sdk.iot.device.transport.TransportException;
+import com.microsoft.azure.sdk.iot.device.transport.mqtt.exceptions.MqttInFlightLimitReachedException;
+import com.microsoft.azure.sdk.iot.device.internal.MessageBodyAccessor;
 import org.apache.commons.lang3.tuple.Pair;
 import org.eclipse.paho.client.mqttv3.MqttConnectOptions;
 import org.eclipse.paho.client.mqttv3.MqttMessage;
 
-import java.io.UnsupportedEncodingException;
-import java.net.URLEncoder;
-import java.nio.charset.StandardCharsets;
+import java.util.List;
 import java.util.Map;
 import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 class MqttMessaging extends Mqtt
 {
@@ -23,6 +26,30 @@ class MqttMessaging extends Mqtt
     private final String inputsSubscribeTopic;
     private final String publishTopic;
     private final boolean isEdgeHub;
+    private final MqttTopicEncoder topicEncoder = new MqttTopicEncoder();
+
+    // Each message of a batch that was published but not acknowledged yet, mapped to the batch it belongs to
+    private final Map<Message, PendingBatch> pendingBatchMessages = new ConcurrentHashMap<>();
+
+    // The batches that failed to be published partway through, which only publish their remaining messages when the
+    // transport layer sends them again
+    private final Map<BatchMessage, PendingBatch> partiallyPublishedBatches = new ConcurrentHashMap<>();
+
+    private static final class PendingBatch
+    {
+        final BatchMessage batchMessage;
+        final AtomicInteger unacknowledgedMessageCount;
+
+        // The messages of a batch are published in order, so this many of its first messages have been published. Only
+        // used by the thread that sends the batch.
+        int publishedMessageCount;
+
+        PendingBatch(BatchMessage batchMessage, int messageCount)
+        {
+            this.batchMessage = batchMessage;
+            this.unacknowledgedMessageCount = new AtomicInteger(messageCount);
+        }
+    }
 
     public MqttMessaging(
         String deviceId,
@@ -31,9 +58,10 @@ class MqttMessaging extends Mqtt
         boolean isEdgeHub,
         MqttConnectOptions connectOptions,
         Map<Integer, Message> unacknowledgedSentMessages,
-        Queue<Pair<String, MqttMessage>> receivedMessages)
+        Queue<Pair<String, MqttMessage>> receivedMessages,
+        MqttInFlightMessageGate inFlightMessageGate)
     {
-        super(messageListener, deviceId, connectOptions, unacknowledgedSentMessages, receivedMessages);
+        super(messageListener, deviceId, connectOptions, unacknowledgedSentMessages, receivedMessages, inFlightMessageGate);
 
         if (deviceId == null || deviceId.isEmpty())
         {
@@ -74,6 +102,10 @@ class MqttMessaging extends Mqtt
     public void stop()
     {
         this.disconnect();
+
+        // batches that were not fully acknowledged are sent again in full by the transport layer
+        this.pendingBatchMessages.clear();
+        this.partiallyPublishedBatches.clear();
     }
 
     /**
@@ -84,39 +116,173 @@ class MqttMessaging extends Mqtt
      */
     public void send(Message message) throws TransportException
     {
-        if (message == null || message.getBytes() == null)
+        if (message == null || MessageBodyAccessor.getBodyWithoutCopy(message) == null)
         {
             throw new IllegalArgumentException("Message cannot be null");
         }
 
+        this.publish(this.buildPublishTopic(new StringBuilder(), message), message);
+    }
+
+    /**
+     * Sends each message of the provided batch over the mqtt connection, one publish right after the other. The listener
+     * is told the batch was sent once the service has acknowledged every message in it.
+     * <p>
+     * If publishing fails partway through the batch, the messages that were already published stay tracked, and sending
+     * the same batch again on this connection only publishes the rest. Once this connection is stopped, the whole batch
+     * is published again.
+     *
+     * @param batchMessage the batch to send
+     * @throws TransportException if any exception is encountered while sending the messages
+     */
+    public void sendBatch(BatchMessage batchMessage) throws TransportException
+    {
+        if (batchMessage == null || batchMessage.getNestedMessages() == null || batchMessage.getNestedMessages().isEmpty())
+        {
+            throw new IllegalArgumentException("Batch message cannot be null or empty");
+        }
+
+        List<Message> nestedMessages = batchMessage.getNestedMessages();
+        for (Message message : nestedMessages)
+        {
+            if (message == null || MessageBodyAccessor.getBodyWithoutCopy(message) == null)
+            {
+                throw new IllegalArgumentException("Message cannot be null");
+            }
+        }
+
+        PendingBatch pendingBatch = this.partiallyPublishedBatches.remove(batchMessage);
+        if (pendingBatch == null)
+        {
+            pendingBatch = new PendingBatch(batchMessage, nestedMessages.size());
+        }
+
+        List<Message> unpublishedMessages = nestedMessages.subList(pendingBatch.publishedMessageCount, nestedMessages.size());
+
+        // When publishing at the in-flight limit fails rather than waits, the rest of the batch must fit within the
+        // limit at once
+        int reservedPermitCount = 0;
+        if (!this.isBlockingOnMaxInFlightMessages())
+        {
+            if (unpublishedMessages.size() > this.getMaxInFlightMessages())
+            {
+                TransportException transportException = new TransportException("Cannot send a batch of " + unpublishedMessages.size()
+                    + " messages over MQTT since at most " + this.getMaxInFlightMessages()
+                    + " messages can wait on an acknowledgement at a time and the client is configured not to wait for one");
+                transportException.setRetryable(false);
+                throw transportException;
+            }
+
+            if (!this.tryReserveInFlightPermits(unpublishedMessages.size()))
+            {
+                this.rememberPartiallyPublishedBatch(pendingBatch);
+                throw new MqttInFlightLimitReachedException("Cannot publish a batch of " + unpublishedMessages.size()
+                    + " messages while fewer than that many of the " + this.getMaxInFlightMessages() + " in-flight messages are free");
+            }
+
+            reservedPermitCount = unpublishedMessages.size();
+        }
+
         StringBuilder stringBuilder = new StringBuilder();
+        Message publishingMessage = null;
+        try
+        {
+            for (Message message : unpublishedMessages)
+            {
+                publishingMessage = message;
+
+                // tracked before publishing since the acknowledgement may arrive before publish returns
+                this.pendingBatchMessages.put(message, pendingBatch);
+                String publishTopic = this.buildPublishTopic(stringBuilder, message);
+                boolean isInFlightPermitReserved = reservedPermitCount > 0;
+                if (isInFlightPermitReserved)
+                {
+                    // publish takes over the permit whether or not it succeeds
+                    reservedPermitCount--;
+                }
+
+                this.publish(publishTopic, message, isInFlightPermitReserved);
+                pendingBatch.publishedMessageCount++;
+            }
+        }
+        catch (TransportException | RuntimeException e)
+        {
+            // The messages that were already published will still be acknowledged, and count towards this batch when
+            // the transport layer sends it again. Only the message that failed to be published is published again.
+            this.pendingBatchMessages.remove(publishingMessage, pendingBatch);
+            this.rememberPartiallyPublishedBatch(pendingBatch);
+            throw e;
+        }
+        finally
+        {
+            this.releaseInFlightPermits(reservedPermitCount);
+        }
+    }
+
+    private void rememberPartiallyPublishedBatch(PendingBatch pendingBatch)
+    {
+        if (pendingBatch.publishedMessageCount > 0)
+        {
+            this.partiallyPublishedBatches.put(pendingBatch.batchMessage, pendingBatch);
+        }
+    }
+
+    @Override
+    Message getAcknowledgedMessageToReport(Message acknowledgedMessage)
+    {
+        PendingBatch pendingBatch = this.pendingBatchMessages.remove(acknowledgedMessage);
+        if (pendingBatch == null)
+        {
+            return acknowledgedMessage;
+        }
+
+        if (pendingBatch.unacknowledgedMessageCount.decrementAndGet() == 0)
+        {
+            return pendingBatch.batchMessage;
+        }
+
+        return null;
+    }
+
+    /**
+     * Builds the topic to publish the provided telemetry message to.
+     *
+     * @param stringBuilder the builder to build the topic in. Anything it already holds is discarded
+     * @param message the message to build the topic for
+     * @return the topic to publish the message to
+     */
+    private String buildPublishTopic(StringBuilder stringBuilder, Message message)
+    {
+        stringBuilder.setLength(0);
         stringBuilder.append(this.publishTopic);
 
         boolean separatorNeeded;
 
-        separatorNeeded = appendPropertyIfPresent(stringBuilder, false, MESSAGE_ID, message.getMessageId(), false);
-        separatorNeeded = appendPropertyIfPresent(stringBuilder, separatorNeeded, CORRELATION_ID, message.getCorrelationId(), false);
-        separatorNeeded = appendPropertyIfPresent(stringBuilder, separatorNeeded, USER_ID, message.getUserId(), false);
-        separatorNeeded = appendPropertyIfPresent(stringBuilder, separatorNeeded, TO, message.getTo(), false);
-        separatorNeeded = appendPropertyIfPresent(stringBuilder, separatorNeeded, OUTPUT_NAME, message.getOutputName(), false);
-        separatorNeeded = appendPropertyIfPresent(stringBuilder, separatorNeeded, CONNECTION_DEVICE_ID, message.getConnectionDeviceId(), false);
-        separatorNeeded = appendPropertyIfPresent(stringBuilder, separatorNeeded, CONNECTION_MODULE_ID, message.getConnectionModuleId(), false);
-        separatorNeeded = appendPropertyIfPresent(stringBuilder, separatorNeeded, CONTENT_ENCODING, message.getContentEncoding(), false);
-        separatorNeeded = appendPropertyIfPresent(stringBuilder, separatorNeeded, CONTENT_TYPE, message.getContentType(), false);
-        separatorNeeded = appendPropertyIfPresent(stringBuilder, separatorNeeded, CREATION_TIME_UTC, message.getCreationTimeUTCString(), false);
+        // Message ids, correlation ids and creation times are different for every message, so there is no point in
+        // caching their encodings. The other properties tend to be the same from one message to the next.
+        separatorNeeded = appendPropertyIfPresent(stringBuilder, false, MESSAGE_ID, message.getMessageId(), false, false);
+        separatorNeeded = appendPropertyIfPresent(stringBuilder, separatorNeeded, CORRELATION_ID, message.getCorrelationId(), false, false);
+        separatorNeeded = appendPropertyIfPresent(stringBuilder, separatorNeeded, USER_ID, message.getUserId(), false, true);
+        separatorNeeded = appendPropertyIfPresent(stringBuilder, separatorNeeded, TO, message.getTo(), false, true);
+        separatorNeeded = appendPropertyIfPresent(stringBuilder, separatorNeeded, OUTPUT_NAME, message.getOutputName(), false, true);
+        separatorNeeded = appendPropertyIfPresent(stringBuilder, separatorNeeded, CONNECTION_DEVICE_ID, message.getConnectionDeviceId(), false, true);
+        separatorNeeded = appendPropertyIfPresent(stringBuilder, separatorNeeded, CONNECTION_MODULE_ID, message.getConnectionModuleId(), false, true);
+        separatorNeeded = appendPropertyIfPresent(stringBuilder, separatorNeeded, CONTENT_ENCODING, message.getContentEncoding(), false, true);
+        separatorNeeded = appendPropertyIfPresent(stringBuilder, separatorNeeded, CONTENT_TYPE, message.getContentType(), false, true);
+        separatorNeeded = appendPropertyIfPresent(stringBuilder, separatorNeeded, CREATION_TIME_UTC, message.getCreationTimeUTCString(), false, false);
         if (message.isSecurityMessage())
         {
-            separatorNeeded = appendPropertyIfPresent(stringBuilder, separatorNeeded, MQTT_SECURITY_INTERFACE_ID, MessageProperty.IOTHUB_SECURITY_INTERFACE_ID_VALUE, false);
+            separatorNeeded = appendPropertyIfPresent(stringBuilder, separatorNeeded, MQTT_SECURITY_INTERFACE_ID, MessageProperty.IOTHUB_SECURITY_INTERFACE_ID_VALUE, false, true);
         }
 
         if (message.getComponentName() != null && !message.getComponentName().isEmpty())
         {
-            separatorNeeded = appendPropertyIfPresent(stringBuilder, separatorNeeded, COMPONENT_ID, message.getComponentName(), false);
+            separatorNeeded = appendPropertyIfPresent(stringBuilder, separatorNeeded, COMPONENT_ID, message.getComponentName(), false, true);
         }
 
         for (MessageProperty property : message.getProperties())
         {
-            separatorNeeded = appendPropertyIfPresent(stringBuilder, separatorNeeded, property.getName(), property.getValue(), true);
+            separatorNeeded = appendPropertyIfPresent(stringBuilder, separatorNeeded, property.getName(), property.getValue(), true, true);
         }
 
         if (this.moduleId != null && !this.moduleId.isEmpty())
@@ -124,9 +290,7 @@ class MqttMessaging extends Mqtt
             stringBuilder.append("/");
         }
 
-        String messagePublishTopic = stringBuilder.toString();
-
-        this.publish(messagePublishTopic, message);
+        return stringBuilder.toString();
     }
 
     /**
@@ -135,42 +299,42 @@ class MqttMessaging extends Mqtt
      * @param separatorNeeded if a separator should precede the new property
      * @param propertyKey the mqtt topic string property key
      * @param propertyValue the property value (message id, correlation id, etc.)
+     * @param isApplicationProperty if the property key is user defined, and so needs to be encoded
+     * @param cacheEncodedValue if the property value is likely to be sent again, and so its encoding should be cached
      * @return true if a separator will be needed for any later properties appended on
      */
-    private boolean appendPropertyIfPresent(StringBuilder stringBuilder, boolean separatorNeeded, String propertyKey, String propertyValue, boolean isApplicationProperty) throws TransportException
+    private boolean appendPropertyIfPresent(StringBuilder stringBuilder, boolean separatorNeeded, String propertyKey, String propertyValue, boolean isApplicationProperty, boolean cacheEncodedValue)
     {
-        try
+        if (propertyValue != null && !propertyValue.isEmpty())
         {
-            if (propertyValue != null && !propertyValue.isEmpty())
+            if (separatorNeeded)
             {
-                if (separatorNeeded)
-                {
-                    stringBuilder.append(MESSAGE_PROPERTY_SEPARATOR);
-                }
-
-                if (isApplicationProperty)
-                {
-                    // URLEncoder.Encode incorrectly encodes space characters as '+'. For MQTT to work, we need to replace those '+' with "%20"
-                    stringBuilder.append(URLEncoder.encode(propertyKey, StandardCharsets.UTF_8.name()).replaceAll("\\+", "%20"));
-                }
-                else
-                {
-                    stringBuilder.append(propertyKey);
-                }
+                stringBuilder.append(MESSAGE_PROPERTY_SEPARATOR);
+            }
 
-                stringBuilder.append(MESSAGE_PROPERTY_KEY_VALUE_SEPARATOR);
+            if (isApplicationProperty)
+            {
+                this.topicEncoder.appendEncodedAndCache(stringBuilder, propertyKey);
+            }
+            else
+            {
+                stringBuilder.append(propertyKey);
+            }
 
-                // URLEncoder.Encode incorrectly encodes space characters as '+'. For MQTT to work, we need to replace those '+' with "%20"
-                stringBuilder.append(URLEncoder.encode(propertyValue, StandardCharsets.UTF_8.name()).replaceAll("\\+", "%20"));
+            stringBuilder.append(MESSAGE_PROPERTY_KEY_VALUE_SEPARATOR);
 
-                return true;
+            if (cacheEncodedValue)
+            {
+                this.topicEncoder.appendEncodedAndCache(stringBuilder, propertyValue);
+            }
+            else
+            {
+                MqttTopicEncoder.appendEncoded(stringBuilder, propertyValue);
             }
 
-            return separatorNeeded;
-        }
-        catch (UnsupportedEncodingException e)
-        {
-            throw new TransportException("Could not utf-8 encode the property with name " + propertyKey + " and value " + propertyValue, e);
+            return true;
         }
+
+        return separatorNeeded;
     }
 }
@@ -0,0 +1,178 @@
+// Copyright (c) Microsoft. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package com.microsoft.azure.sdk.iot.device.transport.mqtt;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Percent encodes the property names and values that go into MQTT publish topics. The encoding is the same as
+ * {@link java.net.URLEncoder} with UTF-8, except that spaces become "%20" rather than '+', which is what MQTT needs.
+ * <p>
+ * Application property names and values tend to repeat from one message to the next, so encodings of those are kept
+ * in a bounded cache. Values that don't need encoding are appended as they are and never cached.
+ */
+final class MqttTopicEncoder
+{
+    // Once the cache holds this many encodings, it is emptied so that it follows whatever values are currently in use
+    static final int MAX_CACHED_ENCODINGS = 1024;
+
+    // Longer values are unlikely to repeat, and would make the cache hold on to a lot of memory
+    static final int MAX_CACHED_VALUE_LENGTH = 256;
+
+    private static final char[] HEX_DIGITS = "0123456789ABCDEF".toCharArray();
+
+    // What URLEncoder produces for a lone surrogate, which it replaces with '?' before encoding
+    private static final String ENCODED_REPLACEMENT_CHARACTER = "%3F";
+
+    private final Map<String, String> cachedEncodings = new ConcurrentHashMap<>();
+
+    /**
+     * Appends the encoded value, using and filling the cache of encodings.
+     *
+     * @param stringBuilder the builder to append to
+     * @param value the value to encode
+     */
+    void appendEncodedAndCache(StringBuilder stringBuilder, String value)
+    {
+        int firstCharToEncode = indexOfFirstCharToEncode(value);
+        if (firstCharToEncode < 0)
+        {
+            stringBuilder.append(value);
+            return;
+        }
+
+        if (value.length() > MAX_CACHED_VALUE_LENGTH)
+        {
+            appendEncoded(stringBuilder, value, firstCharToEncode);
+            return;
+        }
+
+        String encodedValue = this.cachedEncodings.get(value);
+        if (encodedValue == null)
+        {
+            StringBuilder encodedValueBuilder = new StringBuilder(value.length() + 16);
+            appendEncoded(encodedValueBuilder, value, firstCharToEncode);
+            encodedValue = encodedValueBuilder.toString();
+
+            if (this.cachedEncodings.size() >= MAX_CACHED_ENCODINGS)
+            {
+                this.cachedEncodings.clear();
+            }
+
+            this.cachedEncodings.put(value, encodedValue);
+        }
+
+        stringBuilder.append(encodedValue);
+    }
+
+    int getCachedEncodingCount()
+    {
+        return this.cachedEncodings.size();
+    }
+
+    /**
+     * Appends the encoded value without caching it. Used for values that change with every message, such as message
+     * ids and creation times.
+     *
+     * @param stringBuilder the builder to append to
+     * @param value the value to encode
+     */
+    static void appendEncoded(StringBuilder stringBuilder, String value)
+    {
+        int firstCharToEncode = indexOfFirstCharToEncode(value);
+        if (firstCharToEncode < 0)
+        {
+            stringBuilder.append(value);
+            return;
+        }
+
+        appendEncoded(stringBuilder, value, firstCharToEncode);
+    }
+
+    /**
+     * @param value the value to encode
+     * @return the encoded value
+     */
+    static String encode(String value)
+    {
+        if (indexOfFirstCharToEncode(value) < 0)
+        {
+            return value;
+        }
+
+        StringBuilder stringBuilder = new StringBuilder(value.length() + 16);
+        appendEncoded(stringBuilder, value);
+        return stringBuilder.toString();
+    }
+
+    private static int indexOfFirstCharToEncode(String value)
+    {
+        for (int i = 0; i < value.length(); i++)
+        {
+            if (!isUnreserved(value.charAt(i)))
+            {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    private static void appendEncoded(StringBuilder stringBuilder, String value, int firstCharToEncode)
+    {
+        stringBuilder.append(value, 0, firstCharToEncode);
+
+        int length = value.length();
+        for (int i = firstCharToEncode; i < length; i++)
+        {
+            char c = value.charAt(i);
+            if (isUnreserved(c))
+            {
+                stringBuilder.append(c);
+            }
+            else if (c < 0x80)
+            {
+                appendEncodedByte(stringBuilder, c);
+            }
+            else if (c < 0x800)
+            {
+                appendEncodedByte(stringBuilder, 0xC0 | (c >> 6));
+                appendEncodedByte(stringBuilder, 0x80 | (c & 0x3F));
+            }
+            else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1)))
+            {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                appendEncodedByte(stringBuilder, 0xF0 | (codePoint >> 18));
+                appendEncodedByte(stringBuilder, 0x80 | ((codePoint >> 12) & 0x3F));
+                appendEncodedByte(stringBuilder, 0x80 | ((codePoint >> 6) & 0x3F));
+                appendEncodedByte(stringBuilder, 0x80 | (codePoint & 0x3F));
+            }
+            else if (Character.isSurrogate(c))
+            {
+                stringBuilder.append(ENCODED_REPLACEMENT_CHARACTER);
+            }
+            else
+            {
+                appendEncodedByte(stringBuilder, 0xE0 | (c >> 12));
+                appendEncodedByte(stringBuilder, 0x80 | ((c >> 6) & 0x3F));
+                appendEncodedByte(stringBuilder, 0x80 | (c & 0x3F));
+            }
+        }
+    }
+
+    private static void appendEncodedByte(StringBuilder stringBuilder, int b)
+    {
+        stringBuilder.append('%').append(HEX_DIGITS[(b >> 4) & 0xF]).append(HEX_DIGITS[b & 0xF]);
+    }
+
+    // The characters that URLEncoder leaves as they are
+    private static boolean isUnreserved(char c)
+    {
+        return (c >= 'a' && c <= 'z')
+            || (c >= 'A' && c <= 'Z')
+            || (c >= '0' && c <= '9')
+            || c == '-' || c == '_' || c == '.' || c == '*';
+    }
+}
@@ -8,6 +8,7 @@ import com.microsoft.azure.sdk.iot.device.Message;
 import com.microsoft.azure.sdk.iot.device.MessageType;
 import com.microsoft.azure.sdk.iot.device.transport.TransportException;
 import com.microsoft.azure.sdk.iot.device.transport.IotHubTransportMessage;
+import com.microsoft.azure.sdk.iot.device.internal.MessageBodyAccessor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.tuple.Pair;
 import org.eclipse.paho.client.mqttv3.MqttConnectOptions;
@@ -52,9 +53,10 @@ class MqttTwin extends Mqtt
         String deviceId,
         MqttConnectOptions connectOptions,
         Map<Integer, Message> unacknowledgedSentMessages,
-        Queue<Pair<String, MqttMessage>> receivedMessages)
+        Queue<Pair<String, MqttMessage>> receivedMessages,
+        MqttInFlightMessageGate inFlightMessageGate)
     {
-        super(null, deviceId, connectOptions, unacknowledgedSentMessages, receivedMessages);
+        super(null, deviceId, connectOptions, unacknowledgedSentMessages, receivedMessages, inFlightMessageGate);
 
         this.subscribeTopic = RES + BACKSLASH + POUND;
     }
@@ -147,7 +149,7 @@ class MqttTwin extends Mqtt
      */
     public void send(final IotHubTransportMessage message) throws TransportException
     {
-        if (message == null || message.getBytes() == null)
+        if (message == null || MessageBodyAccessor.getBodyWithoutCopy(message) == null)
         {
             throw new IllegalArgumentException("Message cannot be null");
         }
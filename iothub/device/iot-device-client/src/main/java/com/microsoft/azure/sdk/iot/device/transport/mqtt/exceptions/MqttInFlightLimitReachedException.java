@@ -0,0 +1,22 @@
+/*
+ *  Copyright (c) Microsoft. All rights reserved.
+ *  Licensed under the MIT license. See LICENSE file in the project root for full license information.
+ */
+
+package com.microsoft.azure.sdk.iot.device.transport.mqtt.exceptions;
+
+import com.microsoft.azure.sdk.iot.device.transport.TransportException;
+
+/**
+ * This exception is thrown instead of waiting when a message is published while the maximum number of in-flight MQTT
+ * messages has been reached and the client is configured not to block in that case. It is always retryable since the
+ * message can be published once one of the in-flight messages is acknowledged.
+ */
+public class MqttInFlightLimitReachedException extends TransportException
+{
+    public MqttInFlightLimitReachedException(String message)
+    {
+        super(message);
+        this.isRetryable = true;
+    }
+}
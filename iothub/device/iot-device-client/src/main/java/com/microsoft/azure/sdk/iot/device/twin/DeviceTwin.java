@@ -19,11 +19,23 @@ import static com.microsoft.azure.sdk.iot.device.IotHubMessageResult.COMPLETE;
 public class DeviceTwin implements MessageCallback
 {
     private final InternalClient client;
+    private final TwinCache twinCache; // may be null
+    private final ReportedPropertiesCoalescer reportedPropertiesCoalescer; // may be null
 
     private DesiredPropertiesCallback desiredPropertiesCallback;
     private Object desiredPropertiesUpdateCallbackContext; // may be null
 
     public DeviceTwin(InternalClient client)
+    {
+        this(client, null);
+    }
+
+    /**
+     * @param client the client that this twin belongs to.
+     * @param twinCache the cache to keep up to date with the desired property patches, reported property updates and
+     * twins that this client receives. May be null.
+     */
+    public DeviceTwin(InternalClient client, TwinCache twinCache)
     {
         if (client == null)
         {
@@ -31,6 +43,12 @@ public class DeviceTwin implements MessageCallback
         }
 
         this.client = client;
+        this.twinCache = twinCache;
+
+        int coalescingWindow = this.client.getConfig().getReportedPropertiesCoalescingWindow();
+        this.reportedPropertiesCoalescer = coalescingWindow > 0
+            ? new ReportedPropertiesCoalescer(coalescingWindow, this.client.getConfig().getSharedTaskScheduler(), this::sendReportedProperties)
+            : null;
         this.client.getConfig().setDeviceTwinMessageCallback(this, null);
     }
 
@@ -48,12 +66,86 @@ public class DeviceTwin implements MessageCallback
         if (dtMessage.getDeviceOperationType() == DeviceOperations.DEVICE_OPERATION_TWIN_SUBSCRIBE_DESIRED_PROPERTIES_RESPONSE)
         {
             Twin twin = Twin.createFromDesiredPropertyJson(new String(dtMessage.getBytes(), Message.DEFAULT_IOTHUB_MESSAGE_CHARSET));
-            this.desiredPropertiesCallback.onDesiredPropertiesUpdated(twin, desiredPropertiesUpdateCallbackContext);
+            if (this.twinCache == null)
+            {
+                this.desiredPropertiesCallback.onDesiredPropertiesUpdated(twin, desiredPropertiesUpdateCallbackContext);
+            }
+            else
+            {
+                onDesiredPropertiesPatchReceived(twin);
+            }
         }
 
         return COMPLETE;
     }
 
+    private void onDesiredPropertiesPatchReceived(Twin patch)
+    {
+        switch (this.twinCache.applyDesiredPropertiesPatch(patch.getDesiredProperties()))
+        {
+            case APPLIED:
+                this.desiredPropertiesCallback.onDesiredPropertiesUpdated(patch, desiredPropertiesUpdateCallbackContext);
+                break;
+            case REFRESH_NEEDED:
+                log.debug("Desired property patches were missed. Getting the twin to refresh the twin cache");
+                refreshTwinCache();
+                break;
+            default:
+                // The cache already has the patch, or it will be applied once the twin that is being fetched arrives
+                break;
+        }
+    }
+
+    /**
+     * Gets the full twin after desired property patches were missed. Once it arrives, the desired properties callback is
+     * handed all of the desired properties, since the patches that were missed can't be recovered.
+     */
+    private void refreshTwinCache()
+    {
+        getTwinAsync(new GetTwinCorrelatingMessageCallback()
+        {
+            @Override
+            public void onRequestQueued(Message message, Object callbackContext)
+            {
+                // no action needed
+            }
+
+            @Override
+            public void onRequestSent(Message message, Object callbackContext)
+            {
+                // no action needed
+            }
+
+            @Override
+            public void onRequestAcknowledged(Message message, Object callbackContext, IotHubClientException e)
+            {
+                if (e != null)
+                {
+                    log.warn("Failed to send the request to get the twin for the twin cache", e);
+                    twinCache.onTwinRefreshFailed();
+                }
+            }
+
+            @Override
+            public void onResponseReceived(Twin twin, Message message, Object callbackContext, IotHubStatusCode statusCode, IotHubClientException e)
+            {
+                if (e != null || statusCode != IotHubStatusCode.OK)
+                {
+                    log.warn("Failed to get the twin for the twin cache with status {}", statusCode, e);
+                    twinCache.onTwinRefreshFailed();
+                }
+
+                // A successful response is applied to the cache by getTwinAsync, as any other twin that is received
+            }
+
+            @Override
+            public void onResponseAcknowledged(Message message, Object callbackContext)
+            {
+                // no action needed
+            }
+        }, null);
+    }
+
     public void getTwinAsync(
         GetTwinCorrelatingMessageCallback twinCallback,
         Object callbackContext)
@@ -94,7 +186,21 @@ public class DeviceTwin implements MessageCallback
             {
                 int status = Integer.parseInt(((IotHubTransportMessage) message).getStatus());
                 Twin twin = Twin.createFromPropertiesJson(new String(message.getBytes(), Message.DEFAULT_IOTHUB_MESSAGE_CHARSET));
-                twinCallback.onResponseReceived(twin, message, callbackContext, IotHubStatusCode.getIotHubStatusCode(status), e);
+                IotHubStatusCode statusCode = IotHubStatusCode.getIotHubStatusCode(status);
+                TwinCollection refreshedDesiredProperties = null;
+                if (twinCache != null && e == null && statusCode == IotHubStatusCode.OK)
+                {
+                    refreshedDesiredProperties = twinCache.onTwinReceived(twin);
+                }
+
+                twinCallback.onResponseReceived(twin, message, callbackContext, statusCode, e);
+
+                if (refreshedDesiredProperties != null)
+                {
+                    desiredPropertiesCallback.onDesiredPropertiesUpdated(
+                        new Twin(TwinProperties.createFromCollections(refreshedDesiredProperties, null)),
+                        desiredPropertiesUpdateCallbackContext);
+                }
             }
 
             @Override
@@ -125,6 +231,27 @@ public class DeviceTwin implements MessageCallback
 
         Objects.requireNonNull(reportedProperties, "Reported properties cannot be null");
 
+        if (this.reportedPropertiesCoalescer == null)
+        {
+            sendReportedProperties(reportedProperties, reportedPropertiesUpdateCorrelatingMessageCallback, callbackContext);
+        }
+        else if (reportedProperties.getVersion() != null)
+        {
+            // A versioned update only applies to the version it was made against, so it can't be merged with others
+            this.reportedPropertiesCoalescer.flush();
+            sendReportedProperties(reportedProperties, reportedPropertiesUpdateCorrelatingMessageCallback, callbackContext);
+        }
+        else
+        {
+            this.reportedPropertiesCoalescer.add(reportedProperties, reportedPropertiesUpdateCorrelatingMessageCallback, callbackContext);
+        }
+    }
+
+    private void sendReportedProperties(
+        TwinCollection reportedProperties,
+        ReportedPropertiesUpdateCorrelatingMessageCallback reportedPropertiesUpdateCorrelatingMessageCallback,
+        Object callbackContext)
+    {
         String serializedReportedProperties = reportedProperties.toJsonElement().toString();
 
         IotHubTransportMessage updateReportedPropertiesRequest = new IotHubTransportMessage(serializedReportedProperties.getBytes(StandardCharsets.UTF_8), MessageType.DEVICE_TWIN);
@@ -188,6 +315,11 @@ public class DeviceTwin implements MessageCallback
                     iotHubStatus = IotHubStatusCode.getIotHubStatusCode(Integer.parseInt(status));
                 }
 
+                if (twinCache != null && e == null && IotHubStatusCode.isSuccessful(iotHubStatus))
+                {
+                    twinCache.applyReportedPropertiesPatch(reportedProperties, dtMessage.getVersion());
+                }
+
                 if (reportedPropertiesUpdateCorrelatingMessageCallback != null)
                 {
                     log.trace("Executing twin status callback for device operation twin update reported properties response with status " + iotHubStatus);
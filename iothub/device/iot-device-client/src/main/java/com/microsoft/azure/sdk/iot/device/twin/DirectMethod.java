@@ -3,6 +3,7 @@
 
 package com.microsoft.azure.sdk.iot.device.twin;
 
+import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.JsonElement;
 import com.microsoft.azure.sdk.iot.device.*;
@@ -15,8 +16,11 @@ import java.nio.charset.StandardCharsets;
 @Slf4j
 public final class DirectMethod
 {
+    private static final Gson RESPONSE_PAYLOAD_GSON = new GsonBuilder().create();
+
     private MethodCallback methodCallback;
     private Object deviceMethodCallbackContext;
+    private DirectMethodDispatcher methodDispatcher;
     private final MessageSentCallback deviceMethodStatusCallback;
     private final Object deviceMethodStatusCallbackContext;
     private final Object DEVICE_METHOD_LOCK = new Object();
@@ -28,8 +32,6 @@ public final class DirectMethod
 
     private final class DirectMethodResponseCallback implements MessageCallback
     {
-        final ClientConfiguration nestedConfig = config;
-
         /*
         **Codes_SRS_DEVICEMETHOD_25_007: [**On receiving a message from IOTHub with for method invoke, the callback DeviceMethodResponseMessageCallback is triggered.**]**
          */
@@ -82,15 +84,7 @@ public final class DirectMethod
                                  **Codes_SRS_DEVICEMETHOD_25_011: [**If the user callback is successful and user has successfully provided the response message and status, then this method shall build a device method message of type DEVICE_OPERATION_METHOD_SEND_RESPONSE, serilize the user data by invoking MethodParser from serializer and save the user data as payload in the message before sending it to IotHub via sendeventAsync before marking the result as complete**]**
                                  **Codes_SRS_DEVICEMETHOD_25_015: [**User can provide null response message upon invoking the device method callback which will be serialized as is, before sending it to IotHub.**]**
                                  */
-                                JsonElement payload = new GsonBuilder().create().toJsonTree(responseData.getPayload());
-                                MethodParser methodParserObject = new MethodParser(payload);
-                                IotHubTransportMessage responseMessage = new IotHubTransportMessage(methodParserObject.toJson().getBytes(StandardCharsets.UTF_8), MessageType.DEVICE_METHODS);
-                                responseMessage.setRequestId(methodMessage.getRequestId());
-                                responseMessage.setConnectionDeviceId(this.nestedConfig.getDeviceId());
-                                responseMessage.setStatus(String.valueOf(responseData.getStatus()));
-                                responseMessage.setDeviceOperationType(DeviceOperations.DEVICE_OPERATION_METHOD_SEND_RESPONSE);
-
-                                client.sendEventAsync(responseMessage, new DirectMethodRequestMessageCallback(), null);
+                                sendResponse(methodMessage, responseData);
                                 result = IotHubMessageResult.COMPLETE;
                             }
                             else
@@ -109,6 +103,24 @@ public final class DirectMethod
                             deviceMethodStatusCallback.onMessageSent(message, IotHubStatusCode.toException(iotHubStatus), deviceMethodStatusCallbackContext);
                         }
                     }
+                    else if (methodDispatcher != null)
+                    {
+                        isSubscribed = true;
+                        try
+                        {
+                            // The method runs on its own executor, and its response is sent once it returns
+                            MethodParser methodParser = new MethodParser();
+                            JsonElement jsonElement = methodParser.getPayloadFromJson(new String(methodMessage.getBytes(), StandardCharsets.UTF_8));
+                            methodDispatcher.dispatch(methodMessage.getMethodName(), new DirectMethodPayload(jsonElement), new DispatchedMethodResponder(methodMessage));
+                            result = IotHubMessageResult.COMPLETE;
+                        }
+                        catch (Exception e)
+                        {
+                            log.info("Failed to dispatch method invocation for method name {}", methodMessage.getMethodName(), e);
+                            result = IotHubMessageResult.REJECT;
+                            deviceMethodStatusCallback.onMessageSent(message, IotHubStatusCode.toException(iotHubStatus), deviceMethodStatusCallbackContext);
+                        }
+                    }
                     else
                     {
                         log.warn("Received device method request, but device has not setup device method");
@@ -124,6 +136,37 @@ public final class DirectMethod
         }
     }
 
+    private final class DispatchedMethodResponder implements DirectMethodDispatcher.Responder
+    {
+        private final IotHubTransportMessage methodMessage;
+
+        DispatchedMethodResponder(IotHubTransportMessage methodMessage)
+        {
+            this.methodMessage = methodMessage;
+        }
+
+        @Override
+        public void onResponse(DirectMethodResponse response)
+        {
+            try
+            {
+                sendResponse(this.methodMessage, response);
+            }
+            catch (Exception e)
+            {
+                log.warn("Failed to send the response for method name {}", this.methodMessage.getMethodName(), e);
+                deviceMethodStatusCallback.onMessageSent(this.methodMessage, IotHubStatusCode.toException(IotHubStatusCode.ERROR), deviceMethodStatusCallbackContext);
+            }
+        }
+
+        @Override
+        public void onFailure(Exception e)
+        {
+            log.info("User callback did not succeed for method name {}", this.methodMessage.getMethodName(), e);
+            deviceMethodStatusCallback.onMessageSent(this.methodMessage, IotHubStatusCode.toException(IotHubStatusCode.ERROR), deviceMethodStatusCallbackContext);
+        }
+    }
+
     private final class DirectMethodRequestMessageCallback implements MessageSentCallback
     {
         @Override
@@ -182,9 +225,42 @@ public final class DirectMethod
             throw new IllegalArgumentException("Callback cannot be null");
         }
 
-        this.methodCallback = methodCallback;
-        this.deviceMethodCallbackContext = deviceMethodCallbackContext;
+        synchronized (DEVICE_METHOD_LOCK)
+        {
+            this.methodCallback = methodCallback;
+            this.deviceMethodCallbackContext = deviceMethodCallbackContext;
+            this.methodDispatcher = null;
+        }
 
+        subscribeIfNotSubscribed();
+    }
+
+    /**
+     * A method which subscribes to receive device method invocations for the user with the IotHub, and hands each of them
+     * to the method's callback in the dispatcher, on that callback's executor. Replaces the callback given to
+     * {@link #subscribeToDirectMethods(MethodCallback, Object)}.
+     * @param methodDispatcher The dispatcher with the method callbacks.
+     * @throws IllegalArgumentException This exception is thrown when methodDispatcher is provided null.
+     */
+    public void subscribeToDirectMethods(DirectMethodDispatcher methodDispatcher) throws IllegalArgumentException
+    {
+        if (methodDispatcher == null)
+        {
+            throw new IllegalArgumentException("Dispatcher cannot be null");
+        }
+
+        synchronized (DEVICE_METHOD_LOCK)
+        {
+            this.methodDispatcher = methodDispatcher;
+            this.methodCallback = null;
+            this.deviceMethodCallbackContext = null;
+        }
+
+        subscribeIfNotSubscribed();
+    }
+
+    private void subscribeIfNotSubscribed()
+    {
         if (!isSubscribed)
         {
             IotHubTransportMessage subscribeMessage = new IotHubTransportMessage(new byte[0], MessageType.DEVICE_METHODS);
@@ -193,4 +269,17 @@ public final class DirectMethod
             this.client.sendEventAsync(subscribeMessage, new DirectMethodRequestMessageCallback(), null);
         }
     }
+
+    private void sendResponse(IotHubTransportMessage methodMessage, DirectMethodResponse responseData)
+    {
+        JsonElement payload = RESPONSE_PAYLOAD_GSON.toJsonTree(responseData.getPayload());
+        MethodParser methodParserObject = new MethodParser(payload);
+        IotHubTransportMessage responseMessage = new IotHubTransportMessage(methodParserObject.toJson().getBytes(StandardCharsets.UTF_8), MessageType.DEVICE_METHODS);
+        responseMessage.setRequestId(methodMessage.getRequestId());
+        responseMessage.setConnectionDeviceId(this.config.getDeviceId());
+        responseMessage.setStatus(String.valueOf(responseData.getStatus()));
+        responseMessage.setDeviceOperationType(DeviceOperations.DEVICE_OPERATION_METHOD_SEND_RESPONSE);
+
+        this.client.sendEventAsync(responseMessage, new DirectMethodRequestMessageCallback(), null);
+    }
 }
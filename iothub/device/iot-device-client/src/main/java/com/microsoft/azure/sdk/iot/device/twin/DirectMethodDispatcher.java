@@ -0,0 +1,289 @@
+// Copyright (c) Microsoft. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package com.microsoft.azure.sdk.iot.device.twin;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Dispatches each direct method invocation to the callback that is registered for its method name, on that callback's
+ * own executor.
+ *
+ * <p> With a single {@link MethodCallback}, every method runs on the thread that receives messages from the service, so
+ * a slow method holds up every method and cloud to device message that comes after it. With this dispatcher, the receive
+ * thread only hands the invocation to the method's executor, and the response is sent once the callback returns, from
+ * the executor's thread. Each method also has a limit on how many of its invocations run at once. Invocations beyond the
+ * limit wait in line for that method only, so a slow method like a firmware update can't take every thread of an
+ * executor that it shares with a quick method like a ping.
+ *
+ * <p> Methods are registered before subscribing with
+ * {@link com.microsoft.azure.sdk.iot.device.InternalClient#subscribeToMethodsAsync(DirectMethodDispatcher, SubscriptionAcknowledgedCallback, Object)},
+ * and can be registered and unregistered while subscribed. An invocation of a method that isn't registered goes to the
+ * default method if one is set, and is otherwise answered with status 404. The callbacks are executed with a
+ * {@code null} context. The executors are not shut down by this dispatcher or by the client.
+ */
+@Slf4j
+public final class DirectMethodDispatcher
+{
+    static final int METHOD_NOT_FOUND_STATUS = 404;
+
+    /**
+     * Receives the outcome of an invocation.
+     */
+    interface Responder
+    {
+        void onResponse(DirectMethodResponse response);
+
+        void onFailure(Exception e);
+    }
+
+    private final Map<String, MethodHandler> methodHandlers = new ConcurrentHashMap<>();
+    private volatile MethodHandler defaultMethodHandler;
+
+    /**
+     * Registers the callback for a method, replacing the callback that was registered for it before. Invocations of the
+     * method that are already running or waiting are not affected.
+     *
+     * @param methodName the name of the method.
+     * @param methodCallback the callback to execute for each invocation of the method.
+     * @param executor the executor to execute the callback on.
+     * @param maxConcurrency the maximum number of invocations of the method to execute at once.
+     * @return this dispatcher.
+     * @throws IllegalArgumentException if the method name is null or empty, if the callback or executor is null, or if
+     * maxConcurrency is not greater than 0.
+     */
+    public DirectMethodDispatcher registerMethod(String methodName, MethodCallback methodCallback, Executor executor, int maxConcurrency)
+    {
+        if (methodName == null || methodName.isEmpty())
+        {
+            throw new IllegalArgumentException("Method name cannot be null or empty");
+        }
+
+        this.methodHandlers.put(methodName, new MethodHandler(methodCallback, executor, maxConcurrency));
+        return this;
+    }
+
+    /**
+     * Registers the callback for a method, without a limit on how many of its invocations run at once other than the
+     * executor's own.
+     *
+     * @param methodName the name of the method.
+     * @param methodCallback the callback to execute for each invocation of the method.
+     * @param executor the executor to execute the callback on.
+     * @return this dispatcher.
+     * @throws IllegalArgumentException if the method name is null or empty, or if the callback or executor is null.
+     */
+    public DirectMethodDispatcher registerMethod(String methodName, MethodCallback methodCallback, Executor executor)
+    {
+        return registerMethod(methodName, methodCallback, executor, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Unregisters the callback for a method, so that its invocations go to the default method, if one is set.
+     *
+     * @param methodName the name of the method.
+     * @return this dispatcher.
+     */
+    public DirectMethodDispatcher unregisterMethod(String methodName)
+    {
+        if (methodName != null)
+        {
+            this.methodHandlers.remove(methodName);
+        }
+
+        return this;
+    }
+
+    /**
+     * Sets the callback for the invocations of methods that aren't registered.
+     *
+     * @param methodCallback the callback to execute for each invocation, or null to answer them with status 404.
+     * @param executor the executor to execute the callback on. Ignored if the callback is null.
+     * @param maxConcurrency the maximum number of these invocations to execute at once. Ignored if the callback is null.
+     * @return this dispatcher.
+     * @throws IllegalArgumentException if the callback is not null and the executor is null, or if maxConcurrency is not
+     * greater than 0.
+     */
+    public DirectMethodDispatcher setDefaultMethod(MethodCallback methodCallback, Executor executor, int maxConcurrency)
+    {
+        this.defaultMethodHandler = methodCallback == null ? null : new MethodHandler(methodCallback, executor, maxConcurrency);
+        return this;
+    }
+
+    /**
+     * Hands an invocation to the executor of its method. This doesn't wait for the method to run.
+     */
+    void dispatch(String methodName, DirectMethodPayload methodPayload, Responder responder)
+    {
+        MethodHandler methodHandler = methodName == null ? null : this.methodHandlers.get(methodName);
+        if (methodHandler == null)
+        {
+            methodHandler = this.defaultMethodHandler;
+        }
+
+        if (methodHandler == null)
+        {
+            log.warn("Received invocation of direct method {}, which is not registered", methodName);
+            responder.onResponse(new DirectMethodResponse(METHOD_NOT_FOUND_STATUS, "Method '" + methodName + "' is not registered"));
+            return;
+        }
+
+        methodHandler.submit(new Invocation(methodHandler.methodCallback, methodName, methodPayload, responder));
+    }
+
+    private static final class Invocation implements Runnable
+    {
+        private final MethodCallback methodCallback;
+        private final String methodName;
+        private final DirectMethodPayload methodPayload;
+        private final Responder responder;
+
+        Invocation(MethodCallback methodCallback, String methodName, DirectMethodPayload methodPayload, Responder responder)
+        {
+            this.methodCallback = methodCallback;
+            this.methodName = methodName;
+            this.methodPayload = methodPayload;
+            this.responder = responder;
+        }
+
+        @Override
+        public void run()
+        {
+            DirectMethodResponse response;
+            try
+            {
+                log.trace("Executing method invocation callback for method name {}", this.methodName);
+                response = this.methodCallback.onMethodInvoked(this.methodName, this.methodPayload, null);
+                log.trace("Method invocation callback returned for method name {}", this.methodName);
+            }
+            catch (Exception e)
+            {
+                this.responder.onFailure(e);
+                return;
+            }
+
+            if (response == null)
+            {
+                this.responder.onFailure(new IllegalStateException("Callback for method " + this.methodName + " did not return a response"));
+                return;
+            }
+
+            this.responder.onResponse(response);
+        }
+    }
+
+    /**
+     * Runs the invocations of one method on its executor, at most maxConcurrency at a time. Invocations beyond the limit
+     * are queued here rather than on the executor, so that they don't take threads from the other methods on it.
+     */
+    private static final class MethodHandler
+    {
+        private final MethodCallback methodCallback;
+        private final Executor executor;
+        private final int maxConcurrency;
+
+        private final Queue<Invocation> waitingInvocations = new ArrayDeque<>();
+        private int runningInvocations;
+
+        MethodHandler(MethodCallback methodCallback, Executor executor, int maxConcurrency)
+        {
+            if (methodCallback == null)
+            {
+                throw new IllegalArgumentException("Method callback cannot be null");
+            }
+
+            if (executor == null)
+            {
+                throw new IllegalArgumentException("Executor cannot be null");
+            }
+
+            if (maxConcurrency <= 0)
+            {
+                throw new IllegalArgumentException("maxConcurrency must be greater than 0");
+            }
+
+            this.methodCallback = methodCallback;
+            this.executor = executor;
+            this.maxConcurrency = maxConcurrency;
+        }
+
+        void submit(Invocation invocation)
+        {
+            synchronized (this)
+            {
+                if (this.runningInvocations >= this.maxConcurrency)
+                {
+                    this.waitingInvocations.add(invocation);
+                    return;
+                }
+
+                this.runningInvocations++;
+            }
+
+            execute(invocation);
+        }
+
+        private void execute(Invocation invocation)
+        {
+            // A rejected invocation's slot goes to the next one, which is executed here rather than recursively, since a
+            // shut down executor rejects every invocation that is waiting
+            Invocation nextInvocation = invocation;
+            while (nextInvocation != null)
+            {
+                Invocation currentInvocation = nextInvocation;
+                try
+                {
+                    this.executor.execute(() ->
+                    {
+                        try
+                        {
+                            currentInvocation.run();
+                        }
+                        finally
+                        {
+                            onInvocationFinished();
+                        }
+                    });
+                    return;
+                }
+                catch (RejectedExecutionException e)
+                {
+                    currentInvocation.responder.onFailure(e);
+                    nextInvocation = takeNextInvocation();
+                }
+            }
+        }
+
+        private void onInvocationFinished()
+        {
+            // The finished invocation's slot goes to the next one
+            Invocation nextInvocation = takeNextInvocation();
+            if (nextInvocation != null)
+            {
+                execute(nextInvocation);
+            }
+        }
+
+        /**
+         * @return the next waiting invocation, which takes over the slot of an invocation that finished or was
+         * rejected, or null if there is none, in which case the slot is freed.
+         */
+        private synchronized Invocation takeNextInvocation()
+        {
+            Invocation nextInvocation = this.waitingInvocations.poll();
+            if (nextInvocation == null)
+            {
+                this.runningInvocations--;
+            }
+
+            return nextInvocation;
+        }
+    }
+}
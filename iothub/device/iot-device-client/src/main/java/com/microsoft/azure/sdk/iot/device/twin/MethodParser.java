@@ -149,10 +149,9 @@ public class MethodParser
             throw new IllegalArgumentException("Invalid json.");
         }
 
-        JsonParser jsonParser = new JsonParser();
         try
         {
-            JsonElement jsonElement = jsonParser.parse(json);
+            JsonElement jsonElement = JsonParser.parseString(json);
             if (jsonElement instanceof JsonPrimitive || jsonElement instanceof JsonArray)
             {
                 /*
@@ -271,8 +270,7 @@ public class MethodParser
             return new JsonObject();
         }
 
-        JsonElement jsonElement = new JsonParser().parse(json);
-        return jsonElement;
+        return JsonParser.parseString(json);
     }
 
     /**
@@ -320,11 +318,10 @@ public class MethodParser
         }
         else
         {
-            JsonParser parser = new JsonParser();
             try
             {
                 String json = payload.toString();
-                JsonElement jsonElement = parser.parse(json);
+                JsonElement jsonElement = JsonParser.parseString(json);
                 if (jsonElement.isJsonNull())
                 {
                     return new JsonPrimitive(json);
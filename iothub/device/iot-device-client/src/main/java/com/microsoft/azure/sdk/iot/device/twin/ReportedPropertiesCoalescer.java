@@ -0,0 +1,255 @@
+// Copyright (c) Microsoft. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package com.microsoft.azure.sdk.iot.device.twin;
+
+import com.microsoft.azure.sdk.iot.device.IotHubStatusCode;
+import com.microsoft.azure.sdk.iot.device.Message;
+import com.microsoft.azure.sdk.iot.device.exceptions.IotHubClientException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+/**
+ * Merges the reported property updates that are made within a window into a single reported properties patch.
+ *
+ * <p> The window starts with the first update after the previous patch was sent. Updates to the same property keep the
+ * last value that was written, and updates to nested collections are merged as the service merges them. Once the window
+ * has passed, the merged patch is sent as one request, and each callback that contributed to it is executed with its
+ * own context as that request progresses.
+ *
+ * <p> Patches are sent on the scheduler's thread. Sending only merges and queues a patch unless the client's outbound
+ * queue is full and its overflow policy is {@link com.microsoft.azure.sdk.iot.device.OutboundQueueOverflowPolicy#BLOCK},
+ * in which case the send waits on that thread for room in the queue, and so does every other patch that is due on the
+ * same scheduler.
+ */
+@Slf4j
+final class ReportedPropertiesCoalescer
+{
+    /**
+     * Sends a merged reported properties patch.
+     */
+    interface Sender
+    {
+        void send(TwinCollection reportedProperties, ReportedPropertiesUpdateCorrelatingMessageCallback callback, Object callbackContext);
+    }
+
+    // Flushing normally only merges and queues a patch, so all clients that don't share a ClientRuntime share one thread
+    // for it. A client with a full outbound queue and the BLOCK overflow policy holds up the others' patches.
+    private static final class DefaultSchedulerHolder
+    {
+        private static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(runnable ->
+        {
+            Thread thread = new Thread(runnable, "azure-iot-sdk-ReportedPropertiesCoalescer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private static final class Batch
+    {
+        private final TwinCollection reportedProperties = new TwinCollection();
+        private final List<Pair<ReportedPropertiesUpdateCorrelatingMessageCallback, Object>> callbacks = new ArrayList<>();
+    }
+
+    private final long windowMilliseconds;
+    private final ScheduledExecutorService scheduler;
+    private final Sender sender;
+
+    // Held from taking a patch until it has been sent, so that a flush can't return while an earlier patch is still being
+    // sent. Updates can still be added to the next patch meanwhile, since that only takes this object's lock.
+    private final Object sendLock = new Object();
+
+    private Batch pendingBatch;
+
+    /**
+     * @param windowMilliseconds how long to wait for more updates after the first update of a patch.
+     * @param scheduler the scheduler to send patches on, or null to use a scheduler that is shared by every client that
+     * doesn't set one.
+     * @param sender sends the merged patches.
+     */
+    ReportedPropertiesCoalescer(long windowMilliseconds, ScheduledExecutorService scheduler, Sender sender)
+    {
+        if (windowMilliseconds <= 0)
+        {
+            throw new IllegalArgumentException("The coalescing window must be greater than 0");
+        }
+
+        this.windowMilliseconds = windowMilliseconds;
+        this.scheduler = scheduler != null ? scheduler : DefaultSchedulerHolder.SCHEDULER;
+        this.sender = sender;
+    }
+
+    /**
+     * Merges an update into the pending patch, starting a new patch if there is none.
+     *
+     * @param reportedProperties the reported properties to update. They are copied, so they may change afterwards.
+     * @param callback the callback to execute as the patch that this update is sent in progresses. May be null.
+     * @param callbackContext the context to execute the callback with. May be null.
+     */
+    void add(TwinCollection reportedProperties, ReportedPropertiesUpdateCorrelatingMessageCallback callback, Object callbackContext)
+    {
+        synchronized (this)
+        {
+            if (this.pendingBatch == null)
+            {
+                Batch batch = new Batch();
+                this.pendingBatch = batch;
+                this.scheduler.schedule(() -> flush(batch), this.windowMilliseconds, TimeUnit.MILLISECONDS);
+            }
+
+            merge(this.pendingBatch.reportedProperties, reportedProperties);
+            if (callback != null)
+            {
+                this.pendingBatch.callbacks.add(new Pair<>(callback, callbackContext));
+            }
+        }
+    }
+
+    /**
+     * Sends the pending patch now, if there is one. This is used to keep a versioned update, which can't be merged, after
+     * the updates that were made before it, so it also waits for a patch that is already being sent to finish sending.
+     */
+    void flush()
+    {
+        synchronized (this.sendLock)
+        {
+            Batch batch;
+            synchronized (this)
+            {
+                batch = this.pendingBatch;
+            }
+
+            if (batch != null)
+            {
+                flush(batch);
+            }
+        }
+    }
+
+    private void flush(Batch batch)
+    {
+        synchronized (this.sendLock)
+        {
+            synchronized (this)
+            {
+                if (this.pendingBatch != batch)
+                {
+                    // Already sent by an earlier flush
+                    return;
+                }
+
+                this.pendingBatch = null;
+            }
+
+            log.trace("Sending {} coalesced reported property updates as one patch", batch.callbacks.size());
+            FanOutCallback callback = new FanOutCallback(batch.callbacks);
+            try
+            {
+                this.sender.send(batch.reportedProperties, callback, null);
+            }
+            catch (RuntimeException e)
+            {
+                // The callers were already told that their updates were accepted, so the failure can only reach them here,
+                // for instance if the client was closed during the window
+                log.warn("Failed to send coalesced reported properties patch", e);
+                IotHubClientException clientException = new IotHubClientException(IotHubStatusCode.ERROR, "Failed to send coalesced reported properties patch", e);
+                callback.onResponseReceived(null, null, IotHubStatusCode.ERROR, null, clientException);
+            }
+        }
+    }
+
+    /**
+     * Merges an update into a patch as the service would apply the two one after the other. A null value is kept, since
+     * it deletes the property.
+     */
+    static void merge(TwinCollection target, TwinCollection update)
+    {
+        for (Map.Entry<String, Object> entry : update.entrySet())
+        {
+            Object value = entry.getValue();
+            Object pendingValue = target.get(entry.getKey());
+            if (value instanceof TwinCollection && pendingValue instanceof TwinCollection)
+            {
+                merge((TwinCollection) pendingValue, (TwinCollection) value);
+            }
+            else if (value instanceof TwinCollection)
+            {
+                TwinCollection collection = new TwinCollection();
+                merge(collection, (TwinCollection) value);
+                target.putWithoutCopy(entry.getKey(), collection);
+            }
+            else
+            {
+                target.putWithoutCopy(entry.getKey(), value);
+            }
+        }
+    }
+
+    /**
+     * Executes the callback of every update that was merged into a patch, each with its own context.
+     */
+    private static final class FanOutCallback implements ReportedPropertiesUpdateCorrelatingMessageCallback
+    {
+        private final List<Pair<ReportedPropertiesUpdateCorrelatingMessageCallback, Object>> callbacks;
+
+        FanOutCallback(List<Pair<ReportedPropertiesUpdateCorrelatingMessageCallback, Object>> callbacks)
+        {
+            this.callbacks = callbacks;
+        }
+
+        @Override
+        public void onRequestQueued(Message message, Object callbackContext)
+        {
+            forEachCallback((callback, context) -> callback.onRequestQueued(message, context));
+        }
+
+        @Override
+        public void onRequestSent(Message message, Object callbackContext)
+        {
+            forEachCallback((callback, context) -> callback.onRequestSent(message, context));
+        }
+
+        @Override
+        public void onRequestAcknowledged(Message message, Object callbackContext, IotHubClientException e)
+        {
+            forEachCallback((callback, context) -> callback.onRequestAcknowledged(message, context, e));
+        }
+
+        @Override
+        public void onResponseReceived(Message message, Object callbackContext, IotHubStatusCode statusCode, ReportedPropertiesUpdateResponse response, IotHubClientException e)
+        {
+            forEachCallback((callback, context) -> callback.onResponseReceived(message, context, statusCode, response, e));
+        }
+
+        @Override
+        public void onResponseAcknowledged(Message message, Object callbackContext)
+        {
+            forEachCallback((callback, context) -> callback.onResponseAcknowledged(message, context));
+        }
+
+        /**
+         * Executes each callback on its own, so that one that throws doesn't keep the others from being executed.
+         */
+        private void forEachCallback(BiConsumer<ReportedPropertiesUpdateCorrelatingMessageCallback, Object> invocation)
+        {
+            for (Pair<ReportedPropertiesUpdateCorrelatingMessageCallback, Object> callback : this.callbacks)
+            {
+                try
+                {
+                    invocation.accept(callback.getKey(), callback.getValue());
+                }
+                catch (Exception e)
+                {
+                    log.warn("Exception thrown by the callback of a coalesced reported properties update", e);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,252 @@
+// Copyright (c) Microsoft. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package com.microsoft.azure.sdk.iot.device.twin;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Map;
+
+/**
+ * Turns the full reported state of a client into the smallest reported properties patch that brings the service's
+ * reported properties from the last state that was sent to the new one.
+ *
+ * <p> The patch only has the leaves whose values changed, and a null for each property that is no longer in the state,
+ * which deletes it. Patches are computed against the last state that was sent rather than the last one that was
+ * acknowledged, so that patches that are in flight at the same time each build on the one before them, and the service
+ * ends up with the last state once it has applied them all in order. Patches must therefore be sent in the order they
+ * were computed in.
+ *
+ * <p> A patch that fails may or may not have been applied, so the properties it had are unconfirmed until they are
+ * sent again: the next patch has the current value of each of them, or a null if it is no longer in the state, whether
+ * or not it changed.
+ *
+ * <p> Until a state has been sent, the whole state is sent. Properties that the service has but that were never part
+ * of a state that this engine saw are not deleted.
+ */
+@Slf4j
+public final class ReportedPropertiesDiffEngine
+{
+    private TwinCollection sentState;
+
+    // The properties of failed patches, as a tree of the property paths. The values are those of the failed patches.
+    private final TwinCollection unconfirmedProperties = new TwinCollection();
+
+    private Integer acknowledgedVersion;
+
+    /**
+     * Computes the patch from the last state that was sent to the given state, along with the properties of failed
+     * patches, and records the given state as sent. The patch must be sent before the next call to this method, or
+     * reported with {@link #onFailed(TwinCollection)} if it can't be.
+     *
+     * @param state the full reported state. A property with a null value is treated as not being in the state.
+     * @return the patch, which is empty if nothing changed.
+     * @throws IllegalArgumentException if the state is {@code null}.
+     */
+    public synchronized TwinCollection diff(TwinCollection state)
+    {
+        if (state == null)
+        {
+            throw new IllegalArgumentException("Reported properties state cannot be null");
+        }
+
+        TwinCollection patch = this.sentState == null ? copyWithoutNulls(state) : diff(this.sentState, state);
+        addUnconfirmedProperties(patch, this.unconfirmedProperties, state);
+        this.unconfirmedProperties.clear();
+        this.sentState = copyWithoutNulls(state);
+        return patch;
+    }
+
+    /**
+     * Records that the service accepted a patch.
+     *
+     * @param version the reported properties version that the service answered with, or {@code null} if it didn't
+     * answer with one.
+     */
+    public synchronized void onAcknowledged(Integer version)
+    {
+        if (version != null && (this.acknowledgedVersion == null || version > this.acknowledgedVersion))
+        {
+            this.acknowledgedVersion = version;
+        }
+    }
+
+    /**
+     * Records that a patch returned by {@link #diff(TwinCollection)} failed or couldn't be sent, so that the next patch
+     * has the properties it had again.
+     *
+     * @param patch the patch that failed.
+     * @throws IllegalArgumentException if the patch is {@code null}.
+     */
+    public synchronized void onFailed(TwinCollection patch)
+    {
+        if (patch == null)
+        {
+            throw new IllegalArgumentException("Reported properties patch cannot be null");
+        }
+
+        log.debug("Reported properties patch failed, so its properties will be sent again with the next patch");
+        ReportedPropertiesCoalescer.merge(this.unconfirmedProperties, patch);
+    }
+
+    /**
+     * @return the highest reported properties version that the service answered with, or {@code null} if there is none.
+     */
+    public synchronized Integer getAcknowledgedVersion()
+    {
+        return this.acknowledgedVersion;
+    }
+
+    /**
+     * Computes the patch that turns one reported state into another.
+     *
+     * @param previous the state that the service has.
+     * @param current the new state.
+     * @return the changed leaves of the new state, and a null for every property of the previous state that the new
+     * state doesn't have.
+     */
+    public static TwinCollection diff(TwinCollection previous, TwinCollection current)
+    {
+        TwinCollection patch = diffOrNull(previous, current);
+        return patch != null ? patch : new TwinCollection();
+    }
+
+    // Most collections of a large state are unchanged, so a patch is only allocated once a change is found
+    private static TwinCollection diffOrNull(TwinCollection previous, TwinCollection current)
+    {
+        TwinCollection patch = null;
+        for (Map.Entry<String, Object> entry : current.entrySet())
+        {
+            Object value = entry.getValue();
+            Object previousValue = previous.get(entry.getKey());
+            Object patchValue;
+            if (value == null)
+            {
+                if (previousValue == null)
+                {
+                    continue;
+                }
+
+                patchValue = null;
+            }
+            else if (value instanceof TwinCollection && previousValue instanceof TwinCollection)
+            {
+                patchValue = diffOrNull((TwinCollection) previousValue, (TwinCollection) value);
+                if (patchValue == null)
+                {
+                    continue;
+                }
+            }
+            else if (value instanceof TwinCollection)
+            {
+                // A collection replaces a value or fills an empty property, so all of its leaves are sent
+                patchValue = copyWithoutNulls((TwinCollection) value);
+            }
+            else if (!isSameValue(previousValue, value))
+            {
+                patchValue = value;
+            }
+            else
+            {
+                continue;
+            }
+
+            if (patch == null)
+            {
+                patch = new TwinCollection();
+            }
+
+            patch.putWithoutCopy(entry.getKey(), patchValue);
+        }
+
+        for (Map.Entry<String, Object> entry : previous.entrySet())
+        {
+            if (entry.getValue() != null && !current.containsKey(entry.getKey()))
+            {
+                if (patch == null)
+                {
+                    patch = new TwinCollection();
+                }
+
+                patch.putWithoutCopy(entry.getKey(), null);
+            }
+        }
+
+        return patch;
+    }
+
+    /**
+     * Adds the current value of each unconfirmed property to the patch, or a null if the state no longer has it, unless
+     * the patch already sets that property.
+     */
+    private static void addUnconfirmedProperties(TwinCollection patch, TwinCollection unconfirmedProperties, TwinCollection current)
+    {
+        for (Map.Entry<String, Object> entry : unconfirmedProperties.entrySet())
+        {
+            String key = entry.getKey();
+            Object currentValue = current.get(key);
+            Object patchValue = patch.get(key);
+            if (entry.getValue() instanceof TwinCollection && currentValue instanceof TwinCollection)
+            {
+                // Only some leaves of this collection are unconfirmed
+                TwinCollection collectionPatch = patchValue instanceof TwinCollection ? (TwinCollection) patchValue : new TwinCollection();
+                addUnconfirmedProperties(collectionPatch, (TwinCollection) entry.getValue(), (TwinCollection) currentValue);
+                if (!collectionPatch.isEmpty() && !patch.containsKey(key))
+                {
+                    patch.putWithoutCopy(key, collectionPatch);
+                }
+            }
+            else if (!patch.containsKey(key))
+            {
+                patch.putWithoutCopy(key, currentValue instanceof TwinCollection ? copyWithoutNulls((TwinCollection) currentValue) : currentValue);
+            }
+        }
+    }
+
+    private static boolean isSameValue(Object previousValue, Object value)
+    {
+        if (previousValue instanceof TwinCollection)
+        {
+            return false;
+        }
+
+        if (previousValue instanceof Number && value instanceof Number)
+        {
+            // The same number can be an Integer in one state and a Long in another, as it is once parsed from JSON
+            Number previousNumber = (Number) previousValue;
+            Number number = (Number) value;
+            if (isIntegral(previousNumber) && isIntegral(number))
+            {
+                return previousNumber.longValue() == number.longValue();
+            }
+
+            return Double.compare(previousNumber.doubleValue(), number.doubleValue()) == 0;
+        }
+
+        return value.equals(previousValue);
+    }
+
+    private static boolean isIntegral(Number number)
+    {
+        return number instanceof Long || number instanceof Integer || number instanceof Short || number instanceof Byte;
+    }
+
+    private static TwinCollection copyWithoutNulls(TwinCollection collection)
+    {
+        TwinCollection copy = new TwinCollection();
+        for (Map.Entry<String, Object> entry : collection.entrySet())
+        {
+            Object value = entry.getValue();
+            if (value instanceof TwinCollection)
+            {
+                copy.putWithoutCopy(entry.getKey(), copyWithoutNulls((TwinCollection) value));
+            }
+            else if (value != null)
+            {
+                copy.putWithoutCopy(entry.getKey(), value);
+            }
+        }
+
+        return copy;
+    }
+}
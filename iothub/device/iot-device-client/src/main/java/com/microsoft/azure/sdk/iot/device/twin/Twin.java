@@ -140,6 +140,16 @@ public class Twin
         }
     }
 
+    /**
+     * Creates an instance of the Twin with properties that are already in the {@link TwinCollection} format.
+     *
+     * @param properties the twin properties. It cannot be {@code null}.
+     */
+    Twin(TwinProperties properties)
+    {
+        this.properties = properties;
+    }
+
     /**
      * Serializer
      *
@@ -238,21 +248,7 @@ public class Twin
             throw new IllegalArgumentException("JSON with result is null or empty");
         }
 
-        Gson gson = TwinGsonBuilder.getGson();
-        Twin result = gson.fromJson(json, Twin.class);
-
-        /*
-         * During the deserialization process, the GSON will convert both tags and
-         * properties to a raw Map, which will includes the $version and $metadata
-         * as part of the collection. So, we need to reorganize this map using the
-         * TwinCollection format. This constructor will do that.
-         */
-        if (result.properties != null)
-        {
-            result.properties = new TwinProperties(result.properties.getDesired(), result.properties.getReported());
-        }
-
-        return result;
+        return TwinJsonParser.parseTwin(json);
     }
 
     /**
@@ -270,11 +266,9 @@ public class Twin
             throw new IllegalArgumentException("JSON with result is null or empty");
         }
 
-        Gson gson = TwinGsonBuilder.getGson();
-
-        TwinCollection result = gson.fromJson(json, TwinCollection.class);
+        TwinCollection result = TwinJsonParser.parseCollection(json);
 
-        return new Twin(result, null);
+        return result == null ? new Twin() : new Twin(TwinProperties.createFromCollections(result, null));
     }
 
     /**
@@ -292,11 +286,9 @@ public class Twin
             throw new IllegalArgumentException("JSON with result is null or empty");
         }
 
-        Gson gson = TwinGsonBuilder.getGson();
-
-        TwinCollection result = gson.fromJson(json, TwinCollection.class);
+        TwinCollection result = TwinJsonParser.parseCollection(json);
 
-        return new Twin(null, result);
+        return result == null ? new Twin() : new Twin(TwinProperties.createFromCollections(null, result));
     }
 
     /**
@@ -314,11 +306,7 @@ public class Twin
             throw new IllegalArgumentException("JSON with result is null or empty");
         }
 
-        Gson gson = TwinGsonBuilder.getGson();
-        
-        TwinProperties result = gson.fromJson(json, TwinProperties.class);
-
-        return new Twin(result.getDesired(), result.getReported());
+        return TwinJsonParser.parseProperties(json);
     }
 
     /**
@@ -0,0 +1,259 @@
+// Copyright (c) Microsoft. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package com.microsoft.azure.sdk.iot.device.twin;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * A local copy of a client's twin properties, kept up to date from the desired property patches that the service sends,
+ * the reported property updates that the client sends, and the full twins that it gets.
+ *
+ * <p> Each desired property patch carries the "$version" of the desired properties after it was applied. A patch is
+ * applied when its version directly follows the cached version, and patches that the cache already has are ignored. A
+ * patch whose version is further ahead means that patches were missed, for instance while the client was reconnecting,
+ * so the full twin has to be fetched again. Until it arrives, newer patches are held back, and the ones that follow the
+ * fetched twin's version are then applied in order.
+ *
+ * <p> Patches that are missed while the client is disconnected are only detected once the next patch arrives. Getting
+ * the twin from the service brings the cache up to date at any time.
+ */
+@Slf4j
+public final class TwinCache
+{
+    // A twin that is being fetched is given up on after this long, in case its response was lost on a reconnect
+    private static final long REFRESH_TIMEOUT_MILLISECONDS = 60 * 1000;
+
+    /**
+     * What {@link DeviceTwin} should do with a desired property patch after it was offered to the cache.
+     */
+    enum PatchResult
+    {
+        /**
+         * The patch was applied, and should be handed to the desired properties callback.
+         */
+        APPLIED,
+
+        /**
+         * The cache already had the patch.
+         */
+        IGNORED,
+
+        /**
+         * The patch follows a gap, and was held back until the full twin that is already being fetched arrives.
+         */
+        HELD_BACK,
+
+        /**
+         * The patch follows a gap, and was held back. The full twin needs to be fetched.
+         */
+        REFRESH_NEEDED
+    }
+
+    private TwinCollection desiredProperties;
+    private TwinCollection reportedProperties;
+
+    private boolean isRefreshing;
+    private long refreshStartTimeMillis;
+    private final TreeMap<Integer, TwinCollection> heldBackPatches = new TreeMap<>();
+
+    /**
+     * Creates an empty cache. It is filled by the first twin that the client gets.
+     */
+    public TwinCache()
+    {
+    }
+
+    /**
+     * @return a copy of the cached twin, or {@code null} if the client hasn't got its twin yet.
+     */
+    public synchronized Twin getTwin()
+    {
+        if (this.desiredProperties == null && this.reportedProperties == null)
+        {
+            return null;
+        }
+
+        return new Twin(TwinProperties.createFromCollections(copy(this.desiredProperties), copy(this.reportedProperties)));
+    }
+
+    synchronized PatchResult applyDesiredPropertiesPatch(TwinCollection patch)
+    {
+        Integer patchVersion = patch == null ? null : patch.getVersion();
+        if (patchVersion == null)
+        {
+            // Without a version, the patch can't be ordered against the cached properties
+            log.debug("Received a desired properties patch without a version");
+            return startRefresh();
+        }
+
+        Integer cachedVersion = this.desiredProperties == null ? null : this.desiredProperties.getVersion();
+        if (cachedVersion != null && patchVersion <= cachedVersion)
+        {
+            log.debug("Ignoring desired properties patch with version {} since the cached desired properties have version {}", patchVersion, cachedVersion);
+            return PatchResult.IGNORED;
+        }
+
+        if (cachedVersion != null && patchVersion == cachedVersion + 1 && !this.isRefreshing && this.heldBackPatches.isEmpty())
+        {
+            merge(this.desiredProperties, patch);
+            this.desiredProperties.setVersion(patchVersion);
+            return PatchResult.APPLIED;
+        }
+
+        log.debug("Holding back desired properties patch with version {} since the cached desired properties have version {}", patchVersion, cachedVersion);
+        this.heldBackPatches.put(patchVersion, patch);
+        return startRefresh();
+    }
+
+    /**
+     * Replaces the cached properties with the ones of a twin that was fetched from the service, unless the cache already
+     * has newer ones, and then applies the held back patches that follow it.
+     *
+     * @param twin the twin that was fetched.
+     * @return a copy of the desired properties if a refresh was pending, or {@code null} if it wasn't.
+     */
+    synchronized TwinCollection onTwinReceived(Twin twin)
+    {
+        if (isNewer(twin.getDesiredProperties(), this.desiredProperties))
+        {
+            this.desiredProperties = copy(twin.getDesiredProperties());
+        }
+
+        if (isNewer(twin.getReportedProperties(), this.reportedProperties))
+        {
+            this.reportedProperties = copy(twin.getReportedProperties());
+        }
+
+        if (!this.isRefreshing)
+        {
+            return null;
+        }
+
+        this.isRefreshing = false;
+        Integer cachedVersion = this.desiredProperties == null ? null : this.desiredProperties.getVersion();
+        if (cachedVersion != null)
+        {
+            this.heldBackPatches.headMap(cachedVersion, true).clear();
+            while (!this.heldBackPatches.isEmpty() && this.heldBackPatches.firstKey() == cachedVersion + 1)
+            {
+                Map.Entry<Integer, TwinCollection> patch = this.heldBackPatches.pollFirstEntry();
+                merge(this.desiredProperties, patch.getValue());
+                cachedVersion = patch.getKey();
+                this.desiredProperties.setVersion(cachedVersion);
+            }
+        }
+
+        // Anything still held back is behind another gap, which the next patch will ask to fetch again
+        return copy(this.desiredProperties);
+    }
+
+    /**
+     * Lets the next patch that follows a gap ask to fetch the twin again.
+     */
+    synchronized void onTwinRefreshFailed()
+    {
+        this.isRefreshing = false;
+    }
+
+    /**
+     * Merges reported properties that the service accepted into the cache.
+     *
+     * @param patch the reported properties that were sent.
+     * @param version the version of the reported properties after the update, or {@code null} if the service didn't
+     * report one.
+     */
+    synchronized void applyReportedPropertiesPatch(TwinCollection patch, Integer version)
+    {
+        if (this.reportedProperties == null)
+        {
+            return;
+        }
+
+        Integer cachedVersion = this.reportedProperties.getVersion();
+        if (version != null && cachedVersion != null && version <= cachedVersion)
+        {
+            // The response to a later update arrived first, so this update's values may already be overwritten
+            log.debug("Ignoring reported properties update with version {} since the cached reported properties have version {}", version, cachedVersion);
+            return;
+        }
+
+        merge(this.reportedProperties, patch);
+        if (version != null)
+        {
+            this.reportedProperties.setVersion(version);
+        }
+    }
+
+    private PatchResult startRefresh()
+    {
+        long now = System.currentTimeMillis();
+        if (this.isRefreshing && now - this.refreshStartTimeMillis < REFRESH_TIMEOUT_MILLISECONDS)
+        {
+            return PatchResult.HELD_BACK;
+        }
+
+        this.isRefreshing = true;
+        this.refreshStartTimeMillis = now;
+        return PatchResult.REFRESH_NEEDED;
+    }
+
+    private static boolean isNewer(TwinCollection received, TwinCollection cached)
+    {
+        return received != null
+            && (cached == null || cached.getVersion() == null || received.getVersion() == null || received.getVersion() >= cached.getVersion());
+    }
+
+    /**
+     * Applies a patch as the service does: a null value removes the property, a collection is merged into the collection
+     * of the same name, and any other value replaces the property. Collections are copied, so that the cache doesn't
+     * share them with the patch that is handed to the user. The metadata of a changed property is dropped, since
+     * patches don't carry it.
+     */
+    private static void merge(TwinCollection target, TwinCollection patch)
+    {
+        target.setTwinMetadata(null);
+        for (Map.Entry<String, Object> entry : patch.entrySet())
+        {
+            String key = entry.getKey();
+            Object value = entry.getValue();
+            Object cachedValue = target.get(key);
+            target.putTwinMetadata(key, null);
+
+            if (value == null)
+            {
+                target.remove(key);
+            }
+            else if (value instanceof TwinCollection && cachedValue instanceof TwinCollection)
+            {
+                merge((TwinCollection) cachedValue, (TwinCollection) value);
+            }
+            else if (value instanceof TwinCollection)
+            {
+                TwinCollection collection = new TwinCollection();
+                merge(collection, (TwinCollection) value);
+                target.putWithoutCopy(key, collection);
+            }
+            else
+            {
+                target.putWithoutCopy(key, value);
+            }
+        }
+    }
+
+    private static TwinCollection copy(TwinCollection collection)
+    {
+        if (collection == null)
+        {
+            return null;
+        }
+
+        // The copy constructor leaves the version out of empty collections
+        TwinCollection copy = new TwinCollection(collection);
+        copy.setVersion(collection.getVersion());
+        return copy;
+    }
+}
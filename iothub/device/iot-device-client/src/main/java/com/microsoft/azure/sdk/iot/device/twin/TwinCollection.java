@@ -205,6 +205,22 @@ public class TwinCollection extends HashMap<String, Object> {
         return last;
     }
 
+    /**
+     * Adds an entry that {@link TwinJsonParser} has already built in the TwinCollection format, without copying nested
+     * collections or validating the map again.
+     */
+    void putWithoutCopy(String key, Object value) {
+        super.put(key, value);
+    }
+
+    void setTwinMetadata(TwinMetadata twinMetadata) {
+        this.twinMetadata = twinMetadata;
+    }
+
+    void putTwinMetadata(String key, TwinMetadata twinMetadata) {
+        this.metadataMap.put(key, twinMetadata);
+    }
+
     /**
      * Internal Constructor from raw map.
      *
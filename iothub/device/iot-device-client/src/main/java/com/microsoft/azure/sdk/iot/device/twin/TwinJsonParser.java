@@ -0,0 +1,411 @@
+// Copyright (c) Microsoft. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package com.microsoft.azure.sdk.iot.device.twin;
+
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Parses the twin JSON that the service sends into {@link Twin}, {@link TwinCollection} and {@link TwinMetadata}
+ * instances in a single pass over a {@link JsonReader}.
+ *
+ * <p> Deserializing with Gson first builds a raw {@code Map} for every JSON object, which {@link TwinCollection#put}
+ * then copies into a new TwinCollection, and which {@link TwinCollection#createFromRawCollection(Map)} copies once more
+ * to split off the "$version" and "$metadata". This parser builds each TwinCollection once, directly from the JSON,
+ * and produces the same collections, values and metadata as that path. Numbers are parsed as Gson's
+ * {@code ToNumberPolicy.LONG_OR_DOUBLE} does, and malformed JSON is reported as a {@link JsonSyntaxException}.
+ */
+final class TwinJsonParser
+{
+    private static final String PROPERTIES_TAG = "properties";
+    private static final String DESIRED_PROPERTIES_TAG = "desired";
+    private static final String REPORTED_PROPERTIES_TAG = "reported";
+    private static final String VERSION_TAG = "$version";
+    private static final String METADATA_TAG = "$metadata";
+
+    /**
+     * The metadata of one entry in a "$metadata" object, and of its children. The "$metadata" object can come before or
+     * after the values it describes, so it is only applied to the collection once the whole collection has been read.
+     */
+    private static final class MetadataNode
+    {
+        TwinMetadata metadata;
+        Map<String, MetadataNode> children;
+    }
+
+    private TwinJsonParser()
+    {
+    }
+
+    /**
+     * @param json a full twin, as returned by a twin GET.
+     * @return the twin, with only its properties filled in.
+     */
+    static Twin parseTwin(String json)
+    {
+        try (JsonReader reader = createReader(json))
+        {
+            Twin twin = new Twin();
+            if (reader.peek() == JsonToken.NULL)
+            {
+                reader.nextNull();
+                twin = null;
+            }
+            else
+            {
+                reader.beginObject();
+                while (reader.hasNext())
+                {
+                    if (reader.nextName().equals(PROPERTIES_TAG) && reader.peek() != JsonToken.NULL)
+                    {
+                        twin = new Twin(readProperties(reader, true));
+                    }
+                    else
+                    {
+                        reader.skipValue();
+                    }
+                }
+                reader.endObject();
+            }
+
+            assertFullyConsumed(reader);
+            return twin;
+        }
+        catch (IOException | IllegalStateException e)
+        {
+            throw new JsonSyntaxException(e);
+        }
+    }
+
+    /**
+     * @param json an object with the "desired" and "reported" twin collections.
+     * @return the twin, or a twin without properties if the JSON had neither collection.
+     */
+    static Twin parseProperties(String json)
+    {
+        try (JsonReader reader = createReader(json))
+        {
+            TwinProperties properties = readProperties(reader, false);
+            assertFullyConsumed(reader);
+            return properties == null ? new Twin() : new Twin(properties);
+        }
+        catch (IOException | IllegalStateException e)
+        {
+            throw new JsonSyntaxException(e);
+        }
+    }
+
+    /**
+     * @param json a twin collection, optionally with its "$version" and "$metadata".
+     * @return the twin collection, or null if the JSON was null.
+     */
+    static TwinCollection parseCollection(String json)
+    {
+        try (JsonReader reader = createReader(json))
+        {
+            TwinCollection collection = null;
+            if (reader.peek() == JsonToken.NULL)
+            {
+                reader.nextNull();
+            }
+            else
+            {
+                collection = readCollection(reader, true);
+            }
+
+            assertFullyConsumed(reader);
+            return collection;
+        }
+        catch (IOException | IllegalStateException e)
+        {
+            throw new JsonSyntaxException(e);
+        }
+    }
+
+    private static JsonReader createReader(String json)
+    {
+        JsonReader reader = new JsonReader(new StringReader(json));
+
+        // Gson reads leniently too
+        reader.setLenient(true);
+        return reader;
+    }
+
+    private static void assertFullyConsumed(JsonReader reader) throws IOException
+    {
+        if (reader.peek() != JsonToken.END_DOCUMENT)
+        {
+            throw new JsonSyntaxException("JSON document was not fully consumed.");
+        }
+    }
+
+    private static TwinProperties readProperties(JsonReader reader, boolean isRequired) throws IOException
+    {
+        TwinCollection desired = null;
+        TwinCollection reported = null;
+
+        reader.beginObject();
+        while (reader.hasNext())
+        {
+            String name = reader.nextName();
+            if (reader.peek() == JsonToken.NULL)
+            {
+                reader.nextNull();
+            }
+            else if (name.equals(DESIRED_PROPERTIES_TAG))
+            {
+                desired = readCollection(reader, true);
+            }
+            else if (name.equals(REPORTED_PROPERTIES_TAG))
+            {
+                reported = readCollection(reader, true);
+            }
+            else
+            {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        if (desired == null && reported == null && !isRequired)
+        {
+            return null;
+        }
+
+        return TwinProperties.createFromCollections(desired, reported);
+    }
+
+    /**
+     * Reads a JSON object into a TwinCollection. Only the root of a desired or reported collection has its own
+     * "$version" and "$metadata". In nested collections, those are read as any other entry.
+     */
+    private static TwinCollection readCollection(JsonReader reader, boolean isRoot) throws IOException
+    {
+        TwinCollection collection = new TwinCollection();
+        MetadataNode metadata = null;
+
+        reader.beginObject();
+        while (reader.hasNext())
+        {
+            String name = reader.nextName();
+            if (isRoot && name.equals(VERSION_TAG))
+            {
+                Object version = readValue(reader);
+                if (!(version instanceof Number))
+                {
+                    throw new IllegalArgumentException("version is not a number");
+                }
+
+                collection.setVersion(((Number) version).intValue());
+            }
+            else if (isRoot && name.equals(METADATA_TAG))
+            {
+                metadata = readMetadata(reader, true);
+            }
+            else
+            {
+                collection.putWithoutCopy(name, readValue(reader));
+            }
+        }
+        reader.endObject();
+
+        if (metadata != null)
+        {
+            applyMetadata(collection, metadata);
+        }
+
+        return collection;
+    }
+
+    private static Object readValue(JsonReader reader) throws IOException
+    {
+        switch (reader.peek())
+        {
+            case BEGIN_OBJECT:
+                return readCollection(reader, false);
+            case BEGIN_ARRAY:
+                return readArray(reader);
+            case STRING:
+                return reader.nextString();
+            case NUMBER:
+                return readNumber(reader);
+            case BOOLEAN:
+                return reader.nextBoolean();
+            case NULL:
+                reader.nextNull();
+                return null;
+            default:
+                throw new IllegalStateException("Unexpected token " + reader.peek() + " at " + reader.getPath());
+        }
+    }
+
+    /**
+     * Twin collections aren't meant to hold arrays, but the ones that do get lists of plain values and maps, as they
+     * would from Gson.
+     */
+    private static List<Object> readArray(JsonReader reader) throws IOException
+    {
+        List<Object> list = new ArrayList<>();
+        reader.beginArray();
+        while (reader.hasNext())
+        {
+            if (reader.peek() == JsonToken.BEGIN_OBJECT)
+            {
+                list.add(readMap(reader));
+            }
+            else
+            {
+                list.add(readValue(reader));
+            }
+        }
+        reader.endArray();
+        return list;
+    }
+
+    private static Map<String, Object> readMap(JsonReader reader) throws IOException
+    {
+        Map<String, Object> map = new LinkedHashMap<>();
+        reader.beginObject();
+        while (reader.hasNext())
+        {
+            String name = reader.nextName();
+            map.put(name, reader.peek() == JsonToken.BEGIN_OBJECT ? readMap(reader) : readValue(reader));
+        }
+        reader.endObject();
+        return map;
+    }
+
+    // Same as ToNumberPolicy.LONG_OR_DOUBLE, which TwinGsonBuilder uses
+    private static Number readNumber(JsonReader reader) throws IOException
+    {
+        String value = reader.nextString();
+        try
+        {
+            return Long.parseLong(value);
+        }
+        catch (NumberFormatException e)
+        {
+            try
+            {
+                Double doubleValue = Double.valueOf(value);
+                if ((doubleValue.isInfinite() || doubleValue.isNaN()) && !reader.isLenient())
+                {
+                    throw new JsonSyntaxException("JSON forbids NaN and infinities: " + doubleValue + "; at path " + reader.getPath());
+                }
+
+                return doubleValue;
+            }
+            catch (NumberFormatException doubleE)
+            {
+                throw new JsonSyntaxException("Cannot parse " + value + "; at path " + reader.getPath(), doubleE);
+            }
+        }
+    }
+
+    /**
+     * Reads one object of the "$metadata" tree. Its "$lastUpdated", "$lastUpdatedVersion", "$lastUpdatedBy" and
+     * "$lastUpdatedByDigest" become its {@link TwinMetadata}, and every other object in it is the metadata of the
+     * entry of the same name.
+     */
+    private static MetadataNode readMetadata(JsonReader reader, boolean isRoot) throws IOException
+    {
+        MetadataNode node = new MetadataNode();
+        String lastUpdated = null;
+        Integer lastUpdatedVersion = null;
+        String lastUpdatedBy = null;
+        String lastUpdatedByDigest = null;
+
+        reader.beginObject();
+        while (reader.hasNext())
+        {
+            String name = reader.nextName();
+            if (name.equals(TwinMetadata.LAST_UPDATE_TAG))
+            {
+                lastUpdated = (String) readValue(reader);
+            }
+            else if (name.equals(TwinMetadata.LAST_UPDATE_VERSION_TAG))
+            {
+                Object version = readValue(reader);
+                if (version instanceof Number)
+                {
+                    lastUpdatedVersion = ((Number) version).intValue();
+                }
+                else if (!isRoot)
+                {
+                    throw new IllegalArgumentException("Version in the metadata shall be a number");
+                }
+            }
+            else if (name.equals(TwinMetadata.LAST_UPDATED_BY))
+            {
+                lastUpdatedBy = toStringOrNull(readValue(reader));
+            }
+            else if (name.equals(TwinMetadata.LAST_UPDATED_BY_DIGEST))
+            {
+                lastUpdatedByDigest = toStringOrNull(readValue(reader));
+            }
+            else if (reader.peek() == JsonToken.BEGIN_OBJECT)
+            {
+                if (node.children == null)
+                {
+                    node.children = new HashMap<>();
+                }
+
+                node.children.put(name, readMetadata(reader, false));
+            }
+            else
+            {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        if ((lastUpdatedVersion != null) || !Tools.isNullOrEmpty(lastUpdated))
+        {
+            node.metadata = new TwinMetadata(lastUpdated, lastUpdatedVersion, lastUpdatedBy, lastUpdatedByDigest);
+        }
+
+        return node;
+    }
+
+    private static void applyMetadata(TwinCollection collection, MetadataNode node)
+    {
+        if (node.metadata != null)
+        {
+            collection.setTwinMetadata(node.metadata);
+        }
+
+        if (node.children == null)
+        {
+            return;
+        }
+
+        for (Map.Entry<String, MetadataNode> child : node.children.entrySet())
+        {
+            if (child.getValue().metadata != null)
+            {
+                collection.putTwinMetadata(child.getKey(), child.getValue().metadata);
+            }
+
+            Object value = collection.get(child.getKey());
+            if (value instanceof TwinCollection)
+            {
+                applyMetadata((TwinCollection) value, child.getValue());
+            }
+        }
+    }
+
+    private static String toStringOrNull(Object value)
+    {
+        return value == null ? null : value.toString();
+    }
+}
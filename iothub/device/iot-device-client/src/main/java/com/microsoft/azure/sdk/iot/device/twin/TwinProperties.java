@@ -137,6 +137,28 @@ public class TwinProperties
         }
     }
 
+    /**
+     * Creates an instance of the TwinProperties with collections that are already in the {@link TwinCollection} format,
+     * such as the ones {@link TwinJsonParser} builds, without copying them.
+     *
+     * @param desired the {@link TwinCollection} with the desired property. It can be {@code null}.
+     * @param reported the {@link TwinCollection} with the reported property. It can be {@code null}.
+     * @return the new instance.
+     * @exception IllegalArgumentException if both desired and reported properties are {@code null}.
+     */
+    static TwinProperties createFromCollections(TwinCollection desired, TwinCollection reported)
+    {
+        if ((desired == null) && (reported == null))
+        {
+            throw new IllegalArgumentException("Desired property cannot be null.");
+        }
+
+        TwinProperties twinProperties = new TwinProperties();
+        twinProperties.desired = desired;
+        twinProperties.reported = reported;
+        return twinProperties;
+    }
+
     /**
      * Serializer
      *
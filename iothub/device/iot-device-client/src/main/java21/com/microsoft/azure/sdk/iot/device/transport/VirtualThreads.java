@@ -0,0 +1,36 @@
+// Copyright (c) Microsoft. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package com.microsoft.azure.sdk.iot.device.transport;
+
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * The Java 21 version of this class, which the JVM loads from META-INF/versions/21 in the SDK jar instead of the one
+ * under src/main/java. The two versions must keep the same public methods.
+ */
+public final class VirtualThreads
+{
+    // The client's tasks name their own threads when they start running, so the factory doesn't need to
+    private static final ThreadFactory THREAD_FACTORY = Thread.ofVirtual().factory();
+
+    private VirtualThreads()
+    {
+    }
+
+    /**
+     * @return true if this JVM supports virtual threads.
+     */
+    public static boolean isSupported()
+    {
+        return true;
+    }
+
+    /**
+     * @return a factory that creates virtual threads.
+     */
+    public static ThreadFactory getThreadFactory()
+    {
+        return THREAD_FACTORY;
+    }
+}
@@ -0,0 +1,334 @@
+// Copyright (c) Microsoft. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package com.microsoft.azure.sdk.iot.device;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for BlobUploader, against an in-process stand-in for the Azure Storage block blob REST API.
+ */
+public class BlobUploaderTest
+{
+    private static final int BLOCK_SIZE = 1024;
+
+    private HttpServer server;
+    private URI blobUri;
+
+    // Staged blocks by block id, and the committed blob
+    private final Map<String, byte[]> stagedBlocks = new ConcurrentHashMap<>();
+    private volatile byte[] committedBlob;
+    private final AtomicInteger putBlockRequestCount = new AtomicInteger();
+    private final AtomicInteger putBlockListRequestCount = new AtomicInteger();
+    private final AtomicInteger concurrentPutBlockRequests = new AtomicInteger();
+    private final AtomicInteger maxConcurrentPutBlockRequests = new AtomicInteger();
+
+    // Status codes that the next Put Block requests get instead of being staged
+    private final List<Integer> putBlockFailures = new ArrayList<>();
+
+    @Before
+    public void setUp() throws IOException
+    {
+        this.server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        this.server.createContext("/container/blob", this::handle);
+        this.server.setExecutor(Executors.newCachedThreadPool());
+        this.server.start();
+        this.blobUri = URI.create("http://localhost:" + this.server.getAddress().getPort() + "/container/blob?sv=2020-08-04&sig=signature");
+    }
+
+    @After
+    public void tearDown()
+    {
+        this.server.stop(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException
+    {
+        byte[] body = readFully(exchange.getRequestBody());
+        String query = exchange.getRequestURI().getRawQuery();
+        int status = 201;
+
+        if (!"PUT".equals(exchange.getRequestMethod()) || !query.startsWith("sv=2020-08-04&sig=signature&"))
+        {
+            status = 400;
+        }
+        else if (query.contains("comp=block&"))
+        {
+            this.putBlockRequestCount.incrementAndGet();
+            int concurrentRequests = this.concurrentPutBlockRequests.incrementAndGet();
+            this.maxConcurrentPutBlockRequests.accumulateAndGet(concurrentRequests, Math::max);
+            try
+            {
+                Thread.sleep(5);
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+            }
+
+            synchronized (this.putBlockFailures)
+            {
+                if (!this.putBlockFailures.isEmpty())
+                {
+                    status = this.putBlockFailures.remove(0);
+                }
+            }
+
+            if (status == 201)
+            {
+                String blockId = URLDecoder.decode(query.substring(query.indexOf("blockid=") + "blockid=".length()), "UTF-8");
+                this.stagedBlocks.put(blockId, body);
+            }
+
+            this.concurrentPutBlockRequests.decrementAndGet();
+        }
+        else if (query.endsWith("comp=blocklist"))
+        {
+            this.putBlockListRequestCount.incrementAndGet();
+            String blockList = new String(body, StandardCharsets.UTF_8);
+            ByteArrayOutputStream blob = new ByteArrayOutputStream();
+            int start;
+            int end = 0;
+            while ((start = blockList.indexOf("<Latest>", end)) != -1)
+            {
+                end = blockList.indexOf("</Latest>", start);
+                byte[] block = this.stagedBlocks.get(blockList.substring(start + "<Latest>".length(), end));
+                if (block == null)
+                {
+                    status = 400;
+                    break;
+                }
+
+                blob.write(block);
+            }
+
+            if (status == 201)
+            {
+                this.committedBlob = blob.toByteArray();
+            }
+        }
+        else
+        {
+            status = 400;
+        }
+
+        exchange.sendResponseHeaders(status, -1);
+        exchange.close();
+    }
+
+    private static byte[] readFully(InputStream inputStream) throws IOException
+    {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        byte[] buffer = new byte[1024];
+        int bytesRead;
+        while ((bytesRead = inputStream.read(buffer)) != -1)
+        {
+            outputStream.write(buffer, 0, bytesRead);
+        }
+
+        return outputStream.toByteArray();
+    }
+
+    private static byte[] file(int length)
+    {
+        byte[] file = new byte[length];
+        new Random(length).nextBytes(file);
+        return file;
+    }
+
+    private static BlobUploader uploader(int maxConcurrency, long maxBufferedBytes, int maxRetries)
+    {
+        BlobUploadOptions options = BlobUploadOptions.builder()
+            .blockSize(BLOCK_SIZE)
+            .maxConcurrency(maxConcurrency)
+            .maxBufferedBytes(maxBufferedBytes)
+            .maxRetries(maxRetries)
+            .retryDelayMilliseconds(1)
+            .build();
+
+        return new BlobUploader(options, null, "userAgent", 0, 10000);
+    }
+
+    @Test
+    public void uploadStagesBlocksAndCommitsThemInOrder() throws IOException, InterruptedException
+    {
+        //arrange
+        byte[] file = file(10 * BLOCK_SIZE + 100);
+
+        //act
+        uploader(4, 4 * BLOCK_SIZE, 0).upload(this.blobUri, BlobUploader.BlockSource.of(new ByteArrayInputStream(file)));
+
+        //assert
+        assertEquals(11, this.putBlockRequestCount.get());
+        assertEquals(1, this.putBlockListRequestCount.get());
+        assertArrayEquals(file, this.committedBlob);
+    }
+
+    @Test
+    public void uploadReadsFromFileChannel() throws IOException, InterruptedException
+    {
+        //arrange
+        byte[] file = file(5 * BLOCK_SIZE);
+        Path path = Files.createTempFile("BlobUploaderTest", ".bin");
+        try
+        {
+            Files.write(path, file);
+
+            //act
+            try (FileChannel fileChannel = FileChannel.open(path, StandardOpenOption.READ))
+            {
+                uploader(2, 2 * BLOCK_SIZE, 0).upload(this.blobUri, BlobUploader.BlockSource.of(fileChannel));
+            }
+        }
+        finally
+        {
+            Files.delete(path);
+        }
+
+        //assert
+        assertEquals(5, this.putBlockRequestCount.get());
+        assertArrayEquals(file, this.committedBlob);
+    }
+
+    @Test
+    public void uploadCommitsEmptyBlobForEmptyFile() throws IOException, InterruptedException
+    {
+        //act
+        uploader(4, 4 * BLOCK_SIZE, 0).upload(this.blobUri, BlobUploader.BlockSource.of(new ByteArrayInputStream(new byte[0])));
+
+        //assert
+        assertEquals(0, this.putBlockRequestCount.get());
+        assertEquals(1, this.putBlockListRequestCount.get());
+        assertArrayEquals(new byte[0], this.committedBlob);
+    }
+
+    @Test
+    public void uploadDoesNotExceedMemoryBudget() throws IOException, InterruptedException
+    {
+        //arrange
+        byte[] file = file(20 * BLOCK_SIZE);
+
+        //act
+        // 8 threads are asked for, but only 2 blocks fit in the memory budget
+        uploader(8, 2 * BLOCK_SIZE + BLOCK_SIZE / 2, 0).upload(this.blobUri, BlobUploader.BlockSource.of(new ByteArrayInputStream(file)));
+
+        //assert
+        assertTrue(this.maxConcurrentPutBlockRequests.get() <= 2);
+        assertArrayEquals(file, this.committedBlob);
+    }
+
+    @Test
+    public void uploadRetriesOnlyFailedBlocks() throws IOException, InterruptedException
+    {
+        //arrange
+        byte[] file = file(6 * BLOCK_SIZE);
+        this.putBlockFailures.add(503);
+        this.putBlockFailures.add(500);
+        this.putBlockFailures.add(429);
+
+        //act
+        uploader(1, BLOCK_SIZE, 3).upload(this.blobUri, BlobUploader.BlockSource.of(new ByteArrayInputStream(file)));
+
+        //assert
+        assertEquals(6 + 3, this.putBlockRequestCount.get());
+        assertArrayEquals(file, this.committedBlob);
+    }
+
+    @Test
+    public void uploadFailsWithoutCommittingWhenRetriesAreExhausted() throws InterruptedException
+    {
+        //arrange
+        byte[] file = file(6 * BLOCK_SIZE);
+        for (int i = 0; i < 3; i++)
+        {
+            this.putBlockFailures.add(503);
+        }
+
+        //act
+        try
+        {
+            uploader(1, BLOCK_SIZE, 2).upload(this.blobUri, BlobUploader.BlockSource.of(new ByteArrayInputStream(file)));
+            fail("Expected the upload to fail");
+        }
+        catch (IOException e)
+        {
+            //assert
+            assertTrue(e.getMessage().contains("503"));
+        }
+
+        assertEquals(3, this.putBlockRequestCount.get());
+        assertEquals(0, this.putBlockListRequestCount.get());
+        assertNull(this.committedBlob);
+    }
+
+    @Test
+    public void uploadDoesNotRetryClientErrors() throws InterruptedException
+    {
+        //arrange
+        this.putBlockFailures.add(403);
+
+        //act
+        try
+        {
+            uploader(1, BLOCK_SIZE, 5).upload(this.blobUri, BlobUploader.BlockSource.of(new ByteArrayInputStream(file(BLOCK_SIZE))));
+            fail("Expected the upload to fail");
+        }
+        catch (IOException e)
+        {
+            //assert
+            assertTrue(e.getMessage().contains("403"));
+        }
+
+        assertEquals(1, this.putBlockRequestCount.get());
+        assertNull(this.committedBlob);
+    }
+
+    @Test
+    public void blockIdsAreTheSameLength()
+    {
+        //act
+        //assert
+        assertEquals(BlobUploader.blockId(0).length(), BlobUploader.blockId(BlobUploader.MAX_BLOCK_COUNT - 1).length());
+        assertNotEquals(BlobUploader.blockId(1), BlobUploader.blockId(10));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructorThrowsIfMemoryBudgetIsSmallerThanBlock()
+    {
+        //act
+        uploader(1, BLOCK_SIZE - 1, 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructorThrowsIfMaxConcurrencyIsNotPositive()
+    {
+        //act
+        uploader(0, BLOCK_SIZE, 0);
+    }
+}
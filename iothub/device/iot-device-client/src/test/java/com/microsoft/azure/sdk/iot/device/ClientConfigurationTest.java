@@ -7,6 +7,7 @@ import com.microsoft.azure.sdk.iot.device.twin.Pair;
 import com.microsoft.azure.sdk.iot.device.auth.*;
 import com.microsoft.azure.sdk.iot.device.transport.ExponentialBackoffWithJitter;
 import com.microsoft.azure.sdk.iot.device.transport.RetryPolicy;
+import com.microsoft.azure.sdk.iot.device.transport.VirtualThreads;
 import com.microsoft.azure.sdk.iot.provisioning.security.SecurityProvider;
 import com.microsoft.azure.sdk.iot.provisioning.security.SecurityProviderSymmetricKey;
 import com.microsoft.azure.sdk.iot.provisioning.security.SecurityProviderTpm;
@@ -89,6 +90,146 @@ public class ClientConfigurationTest
         assertThat(testIotHubHostname, is(iotHubHostname));
     }
 
+    @Test
+    public void messageIdGeneratorIsSaved()
+    {
+        // arrange
+        MessageIdGenerator messageIdGenerator = () -> "someId";
+        ClientOptions clientOptions = ClientOptions.builder().messageIdGenerator(messageIdGenerator).build();
+
+        // act
+        ClientConfiguration config = new ClientConfiguration(mockSasTokenSoftwareAuthentication, IotHubClientProtocol.AMQPS, clientOptions);
+
+        // assert
+        assertSame(messageIdGenerator, config.getMessageIdGenerator());
+    }
+
+    @Test
+    public void messageIdGeneratorDefaultsToCountingGenerator()
+    {
+        // act
+        ClientConfiguration config = new ClientConfiguration(mockSasTokenSoftwareAuthentication, IotHubClientProtocol.AMQPS, ClientOptions.builder().build());
+
+        // assert
+        assertTrue(config.getMessageIdGenerator() instanceof CountingMessageIdGenerator);
+    }
+
+    @Test
+    public void payloadCodecIsOnlyCreatedWithPayloadCompression()
+    {
+        // act
+        ClientConfiguration uncompressedConfig = new ClientConfiguration(mockSasTokenSoftwareAuthentication, IotHubClientProtocol.AMQPS, ClientOptions.builder().build());
+        ClientConfiguration compressedConfig = new ClientConfiguration(mockSasTokenSoftwareAuthentication, IotHubClientProtocol.AMQPS, ClientOptions.builder().payloadCompression(PayloadCompression.GZIP).build());
+
+        // assert
+        assertNull(uncompressedConfig.getPayloadCodec());
+        assertNotNull(compressedConfig.getPayloadCodec());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void negativePayloadCompressionThresholdThrows()
+    {
+        // arrange
+        ClientOptions clientOptions = ClientOptions.builder().payloadCompression(PayloadCompression.GZIP).payloadCompressionThreshold(-1).build();
+
+        // act
+        new ClientConfiguration(mockSasTokenSoftwareAuthentication, IotHubClientProtocol.AMQPS, clientOptions);
+    }
+
+    @Test
+    public void messageCallbacksDecompressReceivedMessagesWithPayloadCompression(@Mocked final MessageCallback mockCallback, @Mocked final Message mockMessage)
+    {
+        // arrange
+        ClientOptions clientOptions = ClientOptions.builder().payloadCompression(PayloadCompression.GZIP).build();
+        ClientConfiguration config = new ClientConfiguration(mockSasTokenSoftwareAuthentication, IotHubClientProtocol.AMQPS, clientOptions);
+        config.setMessageCallback(mockCallback, null);
+        config.setMessageCallback("someInput", mockCallback, null);
+
+        // act
+        config.getDeviceTelemetryMessageCallback(null).onCloudToDeviceMessageReceived(mockMessage, null);
+        config.getDeviceTelemetryMessageCallback("someInput").onCloudToDeviceMessageReceived(mockMessage, null);
+
+        // assert
+        new Verifications()
+        {
+            {
+                mockMessage.getContentEncoding();
+                times = 2;
+                mockCallback.onCloudToDeviceMessageReceived(mockMessage, null);
+                times = 2;
+            }
+        };
+    }
+
+    @Test
+    public void messageCallbacksAreNotWrappedWithoutPayloadCompression(@Mocked final MessageCallback mockCallback)
+    {
+        // arrange
+        ClientConfiguration config = new ClientConfiguration(mockSasTokenSoftwareAuthentication, IotHubClientProtocol.AMQPS, ClientOptions.builder().build());
+
+        // act
+        config.setMessageCallback(mockCallback, null);
+
+        // assert
+        assertSame(mockCallback, config.getDeviceTelemetryMessageCallback(null));
+    }
+
+    @Test
+    public void useVirtualThreadsIsIgnoredIfUnsupported()
+    {
+        // arrange
+        ClientOptions clientOptions = ClientOptions.builder().useVirtualThreads(true).build();
+
+        // act
+        ClientConfiguration config = new ClientConfiguration(mockSasTokenSoftwareAuthentication, IotHubClientProtocol.AMQPS, clientOptions);
+
+        // assert
+        // The tests run against the Java 8 version of VirtualThreads, which never supports them
+        assertFalse(config.isUsingVirtualThreads());
+    }
+
+    @Test
+    public void useVirtualThreadsIsSavedIfSupported(@Mocked final VirtualThreads mockVirtualThreads)
+    {
+        // arrange
+        new NonStrictExpectations()
+        {
+            {
+                VirtualThreads.isSupported();
+                result = true;
+            }
+        };
+        ClientOptions clientOptions = ClientOptions.builder().useVirtualThreads(true).build();
+
+        // act
+        ClientConfiguration config = new ClientConfiguration(mockSasTokenSoftwareAuthentication, IotHubClientProtocol.AMQPS, clientOptions);
+
+        // assert
+        assertTrue(config.isUsingVirtualThreads());
+    }
+
+    @Test
+    public void useVirtualThreadsIsIgnoredWithClientRuntime(
+            @Mocked final VirtualThreads mockVirtualThreads,
+            @Mocked final ClientRuntime mockClientRuntime)
+    {
+        // arrange
+        new NonStrictExpectations()
+        {
+            {
+                VirtualThreads.isSupported();
+                result = true;
+            }
+        };
+        ClientOptions clientOptions = ClientOptions.builder().useVirtualThreads(true).clientRuntime(mockClientRuntime).build();
+
+        // act
+        ClientConfiguration config = new ClientConfiguration(mockSasTokenSoftwareAuthentication, IotHubClientProtocol.AMQPS, clientOptions);
+
+        // assert
+        assertFalse(config.isUsingVirtualThreads());
+    }
+
     // Tests_SRS_DEVICECLIENTCONFIG_34_057: [The function shall return the gateway hostname, or null if this connection string does not contain a gateway hostname.]
     @Test
     public void getGatewayHostnameReturnsGatewayHostname()
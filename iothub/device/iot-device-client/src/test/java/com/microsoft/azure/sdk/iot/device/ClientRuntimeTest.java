@@ -0,0 +1,131 @@
+// Copyright (c) Microsoft. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package com.microsoft.azure.sdk.iot.device;
+
+import com.microsoft.azure.sdk.iot.device.transport.IotHubConnectionStatus;
+import com.microsoft.azure.sdk.iot.device.transport.IotHubTransport;
+import mockit.Mocked;
+import mockit.NonStrictExpectations;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for ClientRuntime.
+ */
+public class ClientRuntimeTest
+{
+    private static final int RUNTIME_THREAD_COUNT = 4;
+
+    @Mocked
+    IotHubTransport mockedTransport;
+
+    @Mocked
+    ClientConfiguration mockConfig;
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructorThrowsForNonPositiveThreadCount()
+    {
+        new ClientRuntime(0);
+    }
+
+    @Test
+    public void constructorSavesThreadCount()
+    {
+        //arrange
+        ClientRuntime clientRuntime = new ClientRuntime(RUNTIME_THREAD_COUNT);
+
+        //assert
+        assertEquals(RUNTIME_THREAD_COUNT, clientRuntime.getThreadCount());
+        clientRuntime.close();
+    }
+
+    /**
+     * Connects the given number of clients and returns the number of threads that were started for them. The transport
+     * is mocked, so this covers the send, receive and reconnect threads. Each client that doesn't use a shared runtime
+     * also starts two threads of its own in the transport layer, for its task scheduler and for its expired message
+     * checks, so in practice that case grows by five threads per client.
+     */
+    private int countThreadsStartedForClients(int clientCount, final ClientRuntime clientRuntime)
+    {
+        final Semaphore idleSemaphore = new Semaphore(0);
+        new NonStrictExpectations()
+        {
+            {
+                new IotHubTransport(mockConfig, (IotHubConnectionStatusChangeCallback) any, false);
+                result = mockedTransport;
+                mockConfig.getSharedTaskScheduler();
+                result = clientRuntime != null ? clientRuntime.getScheduler() : null;
+                mockedTransport.getProtocol();
+                result = IotHubClientProtocol.MQTT;
+                mockedTransport.getSendThreadSemaphore();
+                result = idleSemaphore;
+                mockedTransport.getReceiveThreadSemaphore();
+                result = idleSemaphore;
+                mockedTransport.getReconnectThreadSemaphore();
+                result = idleSemaphore;
+            }
+        };
+
+        Set<Thread> threadsBefore = new HashSet<>(Thread.getAllStackTraces().keySet());
+
+        List<DeviceIO> clients = new ArrayList<>();
+        for (int i = 0; i < clientCount; i++)
+        {
+            DeviceIO deviceIO = new DeviceIO(mockConfig);
+            deviceIO.onStatusChanged(new ConnectionStatusChangeContext(IotHubConnectionStatus.CONNECTED, IotHubConnectionStatus.DISCONNECTED, IotHubConnectionStatusChangeReason.CONNECTION_OK, null, null));
+            clients.add(deviceIO);
+        }
+
+        Set<Thread> startedThreads = new HashSet<>(Thread.getAllStackTraces().keySet());
+        startedThreads.removeAll(threadsBefore);
+
+        for (DeviceIO deviceIO : clients)
+        {
+            deviceIO.onStatusChanged(new ConnectionStatusChangeContext(IotHubConnectionStatus.DISCONNECTED, IotHubConnectionStatus.CONNECTED, IotHubConnectionStatusChangeReason.CLIENT_CLOSE, null, null));
+        }
+
+        return startedThreads.size();
+    }
+
+    @Test
+    public void threadCountGrowsWithClientCountWithoutSharedRuntime()
+    {
+        for (int clientCount : new int[] {1, 10, 100})
+        {
+            //act
+            int startedThreadCount = countThreadsStartedForClients(clientCount, null);
+
+            //assert
+            assertEquals(3 * clientCount, startedThreadCount);
+        }
+    }
+
+    @Test
+    public void threadCountStaysWithinRuntimeThreadCountWithSharedRuntime()
+    {
+        ClientRuntime clientRuntime = new ClientRuntime(RUNTIME_THREAD_COUNT);
+        try
+        {
+            for (int clientCount : new int[] {1, 10, 100})
+            {
+                //act
+                int startedThreadCount = countThreadsStartedForClients(clientCount, clientRuntime);
+
+                //assert
+                assertTrue(startedThreadCount <= RUNTIME_THREAD_COUNT);
+            }
+        }
+        finally
+        {
+            clientRuntime.close();
+        }
+    }
+}
@@ -0,0 +1,76 @@
+// Copyright (c) Microsoft. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package com.microsoft.azure.sdk.iot.device;
+
+import org.junit.Test;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for CountingMessageIdGenerator.
+ */
+public class CountingMessageIdGeneratorTest
+{
+    @Test
+    public void generateIdReturnsUniqueIdsAcrossThreads() throws InterruptedException
+    {
+        //arrange
+        final int threadCount = 8;
+        final int idsPerThread = 10000;
+        final CountingMessageIdGenerator generator = new CountingMessageIdGenerator();
+        final Set<String> ids = ConcurrentHashMap.newKeySet();
+        final CountDownLatch start = new CountDownLatch(1);
+        Thread[] threads = new Thread[threadCount];
+        for (int i = 0; i < threadCount; i++)
+        {
+            threads[i] = new Thread(() ->
+            {
+                try
+                {
+                    start.await();
+                }
+                catch (InterruptedException e)
+                {
+                    return;
+                }
+
+                for (int j = 0; j < idsPerThread; j++)
+                {
+                    ids.add(generator.generateId());
+                }
+            });
+            threads[i].start();
+        }
+
+        //act
+        start.countDown();
+        for (Thread thread : threads)
+        {
+            thread.join();
+        }
+
+        //assert
+        assertEquals(threadCount * idsPerThread, ids.size());
+    }
+
+    @Test
+    public void generateIdReturnsDifferentIdsFromDifferentGenerators()
+    {
+        //arrange
+        CountingMessageIdGenerator generator1 = new CountingMessageIdGenerator();
+        CountingMessageIdGenerator generator2 = new CountingMessageIdGenerator();
+
+        //act
+        String id1 = generator1.generateId();
+        String id2 = generator2.generateId();
+
+        //assert
+        assertFalse(id1.isEmpty());
+        assertNotEquals(id1, id2);
+    }
+}
@@ -16,6 +16,7 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 
 import static org.junit.Assert.*;
@@ -64,6 +65,8 @@ public class DeviceIOTest
             {
                 new IotHubTransport(mockConfig, (IotHubConnectionStatusChangeCallback) any, false);
                 result = mockedTransport;
+                mockConfig.getSharedTaskScheduler();
+                result = null;
             }
         };
 
@@ -601,4 +604,37 @@ public class DeviceIOTest
             }
         };
     }
+
+    @Test
+    public void workerThreadsAreVirtualThreadsIfConfigured(
+            @Mocked final VirtualThreads mockVirtualThreads,
+            @Mocked final ThreadFactory mockThreadFactory) throws IOException
+    {
+        // arrange
+        new NonStrictExpectations()
+        {
+            {
+                mockConfig.isUsingVirtualThreads();
+                result = true;
+                VirtualThreads.getThreadFactory();
+                result = mockThreadFactory;
+            }
+        };
+        final DeviceIO deviceIO = newDeviceIO();
+
+        // act
+        ConnectionStatusChangeContext context = new ConnectionStatusChangeContext(IotHubConnectionStatus.CONNECTED, IotHubConnectionStatus.DISCONNECTED, IotHubConnectionStatusChangeReason.CONNECTION_OK, new Exception(), new Object());
+        Deencapsulation.invoke(deviceIO, "onStatusChanged", context);
+
+        // assert
+        new Verifications()
+        {
+            {
+                Executors.newScheduledThreadPool(1, mockThreadFactory);
+                times = 3;
+                Executors.newScheduledThreadPool(1);
+                times = 0;
+            }
+        };
+    }
 }
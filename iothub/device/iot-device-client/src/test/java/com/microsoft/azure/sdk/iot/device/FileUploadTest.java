@@ -1,5 +1,6 @@
 package com.microsoft.azure.sdk.iot.device;
 
+import com.microsoft.azure.sdk.iot.device.exceptions.IotHubClientException;
 import com.microsoft.azure.sdk.iot.device.transport.IotHubTransportMessage;
 import com.microsoft.azure.sdk.iot.device.transport.https.HttpsMethod;
 import com.microsoft.azure.sdk.iot.device.transport.https.HttpsResponse;
@@ -7,9 +8,13 @@ import com.microsoft.azure.sdk.iot.device.transport.https.HttpsTransportManager;
 import mockit.Deencapsulation;
 import mockit.Expectations;
 import mockit.Mocked;
+import mockit.Verifications;
 import org.junit.Test;
 
 import java.io.IOException;
+import java.net.URI;
+
+import static org.junit.Assert.fail;
 
 public class FileUploadTest
 {
@@ -100,4 +105,87 @@ public class FileUploadTest
         Deencapsulation.invoke(fileUpload, "sendNotification", mockFileUploadCompletionNotification);
     }
 
+    @Test
+    public void uploadToBlobSendsSuccessNotification(
+            @Mocked final BlobUploader mockBlobUploader,
+            @Mocked final BlobUploader.BlockSource mockBlockSource) throws Exception
+    {
+        new Expectations()
+        {
+            {
+                mockHttpsTransportManager.getFileUploadSasUri((IotHubTransportMessage) any);
+                result = mockResponseMessage;
+
+                mockHttpsTransportManager.sendFileUploadNotification((IotHubTransportMessage) any);
+                result = mockResponseMessage;
+
+                mockResponseMessage.getBody();
+                result = "some response payload".getBytes();
+
+                mockResponseMessage.getStatus();
+                result = 200;
+            }
+        };
+
+        FileUpload fileUpload = Deencapsulation.newInstance(FileUpload.class, mockHttpsTransportManager);
+
+        fileUpload.uploadToBlob("someBlob", mockBlockSource, mockBlobUploader);
+
+        new Verifications()
+        {
+            {
+                mockBlobUploader.upload((URI) any, mockBlockSource);
+                times = 1;
+
+                new FileUploadCompletionNotification(anyString, true, anyInt, anyString);
+                times = 1;
+            }
+        };
+    }
+
+    @Test
+    public void uploadToBlobSendsFailureNotificationWhenUploadFails(
+            @Mocked final BlobUploader mockBlobUploader,
+            @Mocked final BlobUploader.BlockSource mockBlockSource) throws Exception
+    {
+        new Expectations()
+        {
+            {
+                mockHttpsTransportManager.getFileUploadSasUri((IotHubTransportMessage) any);
+                result = mockResponseMessage;
+
+                mockHttpsTransportManager.sendFileUploadNotification((IotHubTransportMessage) any);
+                result = mockResponseMessage;
+
+                mockResponseMessage.getBody();
+                result = "some response payload".getBytes();
+
+                mockResponseMessage.getStatus();
+                result = 200;
+
+                mockBlobUploader.upload((URI) any, mockBlockSource);
+                result = new IOException("Put Block request failed");
+            }
+        };
+
+        FileUpload fileUpload = Deencapsulation.newInstance(FileUpload.class, mockHttpsTransportManager);
+
+        try
+        {
+            fileUpload.uploadToBlob("someBlob", mockBlockSource, mockBlobUploader);
+            fail("Expected the upload to fail");
+        }
+        catch (IotHubClientException e)
+        {
+            // expected
+        }
+
+        new Verifications()
+        {
+            {
+                new FileUploadCompletionNotification(anyString, false, anyInt, anyString);
+                times = 1;
+            }
+        };
+    }
 }
@@ -367,6 +367,43 @@ public class InternalClientTest
         };
     }
 
+    @Test
+    public void sendEventAsyncCompressesTelemetryMessages(
+            @Mocked final Message mockMessage,
+            @Mocked final MessageSentCallback mockCallback,
+            @Mocked final PayloadCodec mockPayloadCodec)
+            throws IOException, URISyntaxException, IotHubClientException
+    {
+        //arrange
+        InternalClient client = Deencapsulation.newInstance(InternalClient.class, new Class[] {IotHubConnectionString.class, IotHubClientProtocol.class, ClientOptions.class}, mockIotHubConnectionString, IotHubClientProtocol.AMQPS, null);
+        Deencapsulation.setField(client, "config", mockConfig);
+        client.open(false);
+        new NonStrictExpectations()
+        {
+            {
+                mockConfig.getPayloadCodec();
+                result = mockPayloadCodec;
+                mockMessage.getMessageType();
+                returns(MessageType.DEVICE_TELEMETRY, MessageType.DEVICE_TELEMETRY, MessageType.DEVICE_TWIN, MessageType.DEVICE_TWIN);
+            }
+        };
+
+        // act
+        client.sendEventAsync(mockMessage, mockCallback, null);
+        client.sendEventAsync(mockMessage, mockCallback, null);
+
+        // assert
+        new Verifications()
+        {
+            {
+                mockPayloadCodec.compress(mockMessage);
+                times = 1;
+                mockDeviceIO.sendEventAsync(mockMessage, mockCallback, null, anyString);
+                times = 2;
+            }
+        };
+    }
+
     //Tests_SRS_INTERNALCLIENT_34_045: [This function shall set the provided message's connection device id to the config's saved device id.]
     @Test
     public void sendEventAsyncSetsConnectionDeviceId(
@@ -3,6 +3,7 @@
 
 package com.microsoft.azure.sdk.iot.device;
 
+import com.microsoft.azure.sdk.iot.device.internal.MessageBodyAccessor;
 import mockit.Deencapsulation;
 import mockit.Mocked;
 import mockit.NonStrictExpectations;
@@ -10,7 +11,9 @@ import org.junit.Test;
 
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.text.SimpleDateFormat;
 import java.util.Date;
+import java.util.TimeZone;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.not;
@@ -38,6 +41,70 @@ public class MessageTest
         assertThat(testBody, is(body));
     }
 
+    @Test
+    public void bodyAccessorReturnsBodyItself()
+    {
+        final byte[] body = { 1, 2, 3 };
+
+        Message msg = new Message(body);
+
+        assertSame(body, MessageBodyAccessor.getBodyWithoutCopy(msg));
+        assertNotSame(body, msg.getBytes());
+    }
+
+    @Test
+    public void bodyAccessorReturnsNullWithoutBody()
+    {
+        Message msg = new Message();
+
+        assertNull(MessageBodyAccessor.getBodyWithoutCopy(msg));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void bodyAccessorCannotBeImplementedOutsideMessage()
+    {
+        new MessageBodyAccessor()
+        {
+            @Override
+            protected byte[] readBody(Message message)
+            {
+                return null;
+            }
+        };
+    }
+
+    @Test
+    public void constructorDoesNotCreateIds()
+    {
+        Message msg = new Message(new byte[] { 1, 2, 3 });
+
+        assertNull(msg.getMessageId());
+        assertEquals("", msg.getCorrelationId());
+    }
+
+    @Test
+    public void getCreationTimeUTCStringMatchesIotHubFormat()
+    {
+        SimpleDateFormat legacyFormat = new SimpleDateFormat("yyyy-MM-dd_HH:mm:ss.SSSSSSS");
+        legacyFormat.setTimeZone(TimeZone.getTimeZone("UTC"));
+        long[] times = { 0L, 5L, 1600000000123L, 1538413472999L, -86400001L };
+
+        for (long time : times)
+        {
+            Message msg = new Message();
+            msg.setCreationTimeUTC(new Date(time));
+
+            String expected = legacyFormat.format(new Date(time)).replace("_", "T") + "Z";
+            assertEquals(expected, msg.getCreationTimeUTCString());
+        }
+    }
+
+    @Test
+    public void getCreationTimeUTCStringReturnsNullWithoutCreationTime()
+    {
+        assertNull(new Message().getCreationTimeUTCString());
+    }
+
     // Tests_SRS_MESSAGE_11_025: [If the message body is null, the constructor shall throw an IllegalArgumentException.]
     @Test(expected = IllegalArgumentException.class)
     public void constructorRejectsNullBody()
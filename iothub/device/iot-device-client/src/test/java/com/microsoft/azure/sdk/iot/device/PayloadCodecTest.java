@@ -0,0 +1,309 @@
+// Copyright (c) Microsoft. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package com.microsoft.azure.sdk.iot.device;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for PayloadCodec.
+ */
+public class PayloadCodecTest
+{
+    private static byte[] jsonBody(int approximateLength)
+    {
+        StringBuilder body = new StringBuilder("[");
+        for (int i = 0; body.length() < approximateLength; i++)
+        {
+            body.append("{\"temperature\":").append(20 + i % 7).append(",\"humidity\":").append(40 + i % 11).append("},");
+        }
+
+        body.append("{}]");
+        return body.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] readFully(InputStream inputStream) throws IOException
+    {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        byte[] buffer = new byte[1024];
+        int bytesRead;
+        while ((bytesRead = inputStream.read(buffer)) != -1)
+        {
+            outputStream.write(buffer, 0, bytesRead);
+        }
+
+        return outputStream.toByteArray();
+    }
+
+    @Test
+    public void compressGzipsBodyAndSetsContentEncoding() throws IOException
+    {
+        //arrange
+        byte[] body = jsonBody(10000);
+        Message message = new Message(body);
+        PayloadCodec codec = new PayloadCodec(PayloadCompression.GZIP, 1024);
+
+        //act
+        codec.compress(message);
+
+        //assert
+        assertEquals("gzip", message.getContentEncoding());
+        assertTrue(message.getBytes().length < body.length);
+        assertArrayEquals(body, readFully(new GZIPInputStream(new ByteArrayInputStream(message.getBytes()))));
+    }
+
+    @Test
+    public void compressDeflatesBodyAndSetsContentEncoding() throws IOException
+    {
+        //arrange
+        byte[] body = jsonBody(10000);
+        Message message = new Message(body);
+        PayloadCodec codec = new PayloadCodec(PayloadCompression.DEFLATE, 1024);
+
+        //act
+        codec.compress(message);
+
+        //assert
+        assertEquals("deflate", message.getContentEncoding());
+        assertTrue(message.getBytes().length < body.length);
+        assertArrayEquals(body, readFully(new InflaterInputStream(new ByteArrayInputStream(message.getBytes()))));
+    }
+
+    @Test
+    public void compressReusesPooledCompressorsForManyBodies() throws IOException
+    {
+        //arrange
+        PayloadCodec codec = new PayloadCodec(PayloadCompression.GZIP, 0);
+
+        for (int length = 100; length < 200000; length *= 3)
+        {
+            byte[] body = jsonBody(length);
+            Message message = new Message(body);
+
+            //act
+            codec.compress(message);
+
+            //assert
+            assertArrayEquals(body, readFully(new GZIPInputStream(new ByteArrayInputStream(message.getBytes()))));
+        }
+    }
+
+    @Test
+    public void compressSkipsBodiesBelowThreshold()
+    {
+        //arrange
+        byte[] body = jsonBody(500);
+        Message message = new Message(body);
+        PayloadCodec codec = new PayloadCodec(PayloadCompression.GZIP, 1024);
+
+        //act
+        codec.compress(message);
+
+        //assert
+        assertNull(message.getContentEncoding());
+        assertSame(body, message.getBody());
+    }
+
+    @Test
+    public void compressSkipsMessagesWithContentEncoding()
+    {
+        //arrange
+        byte[] body = jsonBody(10000);
+        Message message = new Message(body);
+        message.setContentEncoding("utf-8");
+        PayloadCodec codec = new PayloadCodec(PayloadCompression.GZIP, 1024);
+
+        //act
+        codec.compress(message);
+
+        //assert
+        assertEquals("utf-8", message.getContentEncoding());
+        assertSame(body, message.getBody());
+    }
+
+    @Test
+    public void compressSkipsBodiesThatDoNotGetSmaller()
+    {
+        //arrange
+        byte[] body = new byte[4096];
+        new Random(1).nextBytes(body);
+        Message message = new Message(body);
+        PayloadCodec codec = new PayloadCodec(PayloadCompression.DEFLATE, 0);
+
+        //act
+        codec.compress(message);
+
+        //assert
+        assertNull(message.getContentEncoding());
+        assertSame(body, message.getBody());
+    }
+
+    @Test
+    public void compressSkipsTinyBodies()
+    {
+        //arrange
+        PayloadCodec codec = new PayloadCodec(PayloadCompression.GZIP, 0);
+
+        //act
+        //assert
+        assertNull(codec.compress(new byte[0]));
+        assertNull(codec.compress(new byte[] { 1 }));
+        assertNull(codec.compress(new byte[] { 1, 2, 3 }));
+    }
+
+    @Test
+    public void decompressGunzipsBodyAndClearsContentEncoding() throws IOException
+    {
+        //arrange
+        byte[] body = jsonBody(10000);
+        ByteArrayOutputStream compressedBody = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzipOutputStream = new GZIPOutputStream(compressedBody))
+        {
+            gzipOutputStream.write(body);
+        }
+
+        Message message = new Message(compressedBody.toByteArray());
+        message.setContentEncoding("GZIP");
+        PayloadCodec codec = new PayloadCodec(PayloadCompression.DEFLATE, 1024);
+
+        //act
+        codec.decompress(message);
+
+        //assert
+        assertNull(message.getContentEncoding());
+        assertArrayEquals(body, message.getBytes());
+    }
+
+    @Test
+    public void decompressInflatesBodyAndClearsContentEncoding() throws IOException
+    {
+        //arrange
+        byte[] body = jsonBody(10000);
+        ByteArrayOutputStream compressedBody = new ByteArrayOutputStream();
+        try (DeflaterOutputStream deflaterOutputStream = new DeflaterOutputStream(compressedBody))
+        {
+            deflaterOutputStream.write(body);
+        }
+
+        Message message = new Message(compressedBody.toByteArray());
+        message.setContentEncoding("deflate");
+        PayloadCodec codec = new PayloadCodec(PayloadCompression.GZIP, 1024);
+
+        //act
+        codec.decompress(message);
+
+        //assert
+        assertNull(message.getContentEncoding());
+        assertArrayEquals(body, message.getBytes());
+    }
+
+    @Test
+    public void decompressLeavesOtherContentEncodingsAlone()
+    {
+        //arrange
+        byte[] body = jsonBody(100);
+        Message message = new Message(body);
+        message.setContentEncoding("utf-8");
+        PayloadCodec codec = new PayloadCodec(PayloadCompression.GZIP, 1024);
+
+        //act
+        codec.decompress(message);
+
+        //assert
+        assertEquals("utf-8", message.getContentEncoding());
+        assertSame(body, message.getBody());
+    }
+
+    @Test
+    public void decompressLeavesCorruptBodiesAlone()
+    {
+        //arrange
+        byte[] body = jsonBody(100);
+        Message message = new Message(body);
+        message.setContentEncoding("gzip");
+        PayloadCodec codec = new PayloadCodec(PayloadCompression.GZIP, 1024);
+
+        //act
+        codec.decompress(message);
+
+        //assert
+        assertEquals("gzip", message.getContentEncoding());
+        assertSame(body, message.getBody());
+    }
+
+    @Test
+    public void decompressLeavesBodiesThatDecompressTooLargeAlone() throws IOException
+    {
+        //arrange
+        ByteArrayOutputStream compressedBody = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzipOutputStream = new GZIPOutputStream(compressedBody))
+        {
+            gzipOutputStream.write(new byte[PayloadCodec.MAX_DECOMPRESSED_BODY_SIZE + 1]);
+        }
+
+        byte[] body = compressedBody.toByteArray();
+        Message message = new Message(body);
+        message.setContentEncoding("gzip");
+        PayloadCodec codec = new PayloadCodec(PayloadCompression.GZIP, 1024);
+
+        //act
+        codec.decompress(message);
+
+        //assert
+        assertEquals("gzip", message.getContentEncoding());
+        assertSame(body, message.getBody());
+    }
+
+    @Test
+    public void decompressTakesBodiesOfMaxSize() throws IOException
+    {
+        //arrange
+        byte[] body = new byte[PayloadCodec.MAX_DECOMPRESSED_BODY_SIZE];
+        ByteArrayOutputStream compressedBody = new ByteArrayOutputStream();
+        try (DeflaterOutputStream deflaterOutputStream = new DeflaterOutputStream(compressedBody))
+        {
+            deflaterOutputStream.write(body);
+        }
+
+        Message message = new Message(compressedBody.toByteArray());
+        message.setContentEncoding("deflate");
+        PayloadCodec codec = new PayloadCodec(PayloadCompression.DEFLATE, 1024);
+
+        //act
+        codec.decompress(message);
+
+        //assert
+        assertNull(message.getContentEncoding());
+        assertArrayEquals(body, message.getBytes());
+    }
+
+    @Test
+    public void compressStillWorksAfterClose() throws IOException
+    {
+        //arrange
+        byte[] body = jsonBody(10000);
+        PayloadCodec codec = new PayloadCodec(PayloadCompression.DEFLATE, 1024);
+        codec.compress(body);
+
+        //act
+        codec.close();
+        byte[] compressedBody = codec.compress(body);
+
+        //assert
+        assertNotNull(compressedBody);
+        assertArrayEquals(body, readFully(new InflaterInputStream(new ByteArrayInputStream(compressedBody))));
+    }
+}
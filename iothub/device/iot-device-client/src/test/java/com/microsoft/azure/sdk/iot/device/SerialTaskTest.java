@@ -0,0 +1,265 @@
+// Copyright (c) Microsoft. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package com.microsoft.azure.sdk.iot.device;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for SerialTask.
+ */
+public class SerialTaskTest
+{
+    private static final long DELAY_MILLISECONDS = 10;
+    private static final long TIMEOUT_MILLISECONDS = 10000;
+
+    private ScheduledExecutorService scheduler;
+
+    @Before
+    public void setUp()
+    {
+        this.scheduler = new ScheduledThreadPoolExecutor(4);
+    }
+
+    @After
+    public void tearDown()
+    {
+        this.scheduler.shutdownNow();
+    }
+
+    private static void waitUntil(AtomicInteger counter, int expectedValue) throws InterruptedException
+    {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLISECONDS;
+        while (counter.get() < expectedValue && System.currentTimeMillis() < deadline)
+        {
+            Thread.sleep(1);
+        }
+    }
+
+    @Test
+    public void wakeUpDoesNothingUntilStarted() throws InterruptedException
+    {
+        //arrange
+        final AtomicInteger runCount = new AtomicInteger();
+        SerialTask task = new SerialTask("test", this.scheduler, () ->
+        {
+            runCount.incrementAndGet();
+            return false;
+        }, DELAY_MILLISECONDS);
+
+        //act
+        task.wakeUp();
+        Thread.sleep(100);
+
+        //assert
+        assertEquals(0, runCount.get());
+    }
+
+    @Test
+    public void startRunsTaskOnce() throws InterruptedException
+    {
+        //arrange
+        final AtomicInteger runCount = new AtomicInteger();
+        SerialTask task = new SerialTask("test", this.scheduler, () ->
+        {
+            runCount.incrementAndGet();
+            return false;
+        }, DELAY_MILLISECONDS);
+
+        //act
+        task.start();
+        waitUntil(runCount, 1);
+        Thread.sleep(100);
+
+        //assert
+        assertEquals(1, runCount.get());
+    }
+
+    @Test
+    public void wakeUpsDuringRunLeadToOneMoreRun() throws InterruptedException
+    {
+        //arrange
+        final AtomicInteger runCount = new AtomicInteger();
+        final CountDownLatch firstRunStarted = new CountDownLatch(1);
+        final CountDownLatch firstRunMayFinish = new CountDownLatch(1);
+        SerialTask task = new SerialTask("test", this.scheduler, () ->
+        {
+            if (runCount.incrementAndGet() == 1)
+            {
+                firstRunStarted.countDown();
+                try
+                {
+                    firstRunMayFinish.await();
+                }
+                catch (InterruptedException e)
+                {
+                    Thread.currentThread().interrupt();
+                }
+            }
+
+            return false;
+        }, DELAY_MILLISECONDS);
+        task.start();
+        assertTrue(firstRunStarted.await(TIMEOUT_MILLISECONDS, TimeUnit.MILLISECONDS));
+
+        //act
+        for (int i = 0; i < 10; i++)
+        {
+            task.wakeUp();
+        }
+
+        firstRunMayFinish.countDown();
+        waitUntil(runCount, 2);
+        Thread.sleep(100);
+
+        //assert
+        assertEquals(2, runCount.get());
+    }
+
+    @Test
+    public void runsNeverOverlap() throws InterruptedException
+    {
+        //arrange
+        final AtomicInteger runningCount = new AtomicInteger();
+        final AtomicBoolean overlapped = new AtomicBoolean();
+        final AtomicInteger runCount = new AtomicInteger();
+        final SerialTask task = new SerialTask("test", this.scheduler, () ->
+        {
+            if (runningCount.incrementAndGet() > 1)
+            {
+                overlapped.set(true);
+            }
+
+            runCount.incrementAndGet();
+            runningCount.decrementAndGet();
+            return false;
+        }, DELAY_MILLISECONDS);
+        task.start();
+
+        //act
+        Thread[] wakers = new Thread[4];
+        for (int i = 0; i < wakers.length; i++)
+        {
+            wakers[i] = new Thread(() ->
+            {
+                for (int j = 0; j < 10000; j++)
+                {
+                    task.wakeUp();
+                }
+            });
+            wakers[i].start();
+        }
+
+        for (Thread waker : wakers)
+        {
+            waker.join();
+        }
+
+        // Every wake up is followed by a run, so one more wake up is followed by at least one more run
+        int runCountAfterWakeUps = runCount.get();
+        task.wakeUp();
+        waitUntil(runCount, runCountAfterWakeUps + 1);
+
+        //assert
+        assertFalse(overlapped.get());
+        assertTrue(runCount.get() > runCountAfterWakeUps);
+    }
+
+    @Test
+    public void taskWithWorkLeftRunsAgainAfterDelay() throws InterruptedException
+    {
+        //arrange
+        final AtomicInteger runCount = new AtomicInteger();
+        SerialTask task = new SerialTask("test", this.scheduler, () -> runCount.incrementAndGet() < 3, DELAY_MILLISECONDS);
+
+        //act
+        task.start();
+        waitUntil(runCount, 3);
+        Thread.sleep(100);
+
+        //assert
+        assertEquals(3, runCount.get());
+    }
+
+    @Test
+    public void stopPreventsFurtherRuns() throws InterruptedException
+    {
+        //arrange
+        final AtomicInteger runCount = new AtomicInteger();
+        SerialTask task = new SerialTask("test", this.scheduler, () ->
+        {
+            runCount.incrementAndGet();
+            return true;
+        }, DELAY_MILLISECONDS);
+        task.start();
+        waitUntil(runCount, 1);
+
+        //act
+        task.stop();
+        Thread.sleep(100);
+        int runCountAfterStop = runCount.get();
+        task.wakeUp();
+        Thread.sleep(100);
+
+        //assert
+        assertFalse(task.isStarted());
+        assertEquals(runCountAfterStop, runCount.get());
+    }
+
+    @Test
+    public void taskRunsAgainAfterTheDelayItAsksForWithoutHoldingASchedulerThread() throws InterruptedException
+    {
+        //arrange
+        ScheduledExecutorService singleThreadScheduler = new ScheduledThreadPoolExecutor(1);
+        try
+        {
+            final long requestedDelayMilliseconds = 300;
+            final AtomicInteger delayedRunCount = new AtomicInteger();
+            final long[] runTimes = new long[2];
+            SerialTask delayedTask = new SerialTask("delayed", singleThreadScheduler, () ->
+            {
+                int runNumber = delayedRunCount.getAndIncrement();
+                runTimes[runNumber] = System.nanoTime();
+                return runNumber == 0 ? requestedDelayMilliseconds : -1;
+            });
+            final AtomicInteger otherRunCount = new AtomicInteger();
+            SerialTask otherTask = new SerialTask("other", singleThreadScheduler, () ->
+            {
+                otherRunCount.incrementAndGet();
+                return false;
+            }, DELAY_MILLISECONDS);
+            otherTask.start();
+            waitUntil(otherRunCount, 1);
+
+            //act
+            delayedTask.start();
+            waitUntil(delayedRunCount, 1);
+            long otherWakeUpTime = System.nanoTime();
+            otherTask.wakeUp();
+            waitUntil(otherRunCount, 2);
+            long otherRunLatencyMilliseconds = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - otherWakeUpTime);
+            waitUntil(delayedRunCount, 2);
+            Thread.sleep(requestedDelayMilliseconds);
+
+            //assert
+            assertEquals(2, delayedRunCount.get());
+            assertTrue(TimeUnit.NANOSECONDS.toMillis(runTimes[1] - runTimes[0]) >= requestedDelayMilliseconds);
+            assertTrue(otherRunLatencyMilliseconds < requestedDelayMilliseconds);
+        }
+        finally
+        {
+            singleThreadScheduler.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,221 @@
+// Copyright (c) Microsoft. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package com.microsoft.azure.sdk.iot.device.transport;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for CorrelationCallbackRegistry.
+ */
+public class CorrelationCallbackRegistryTest
+{
+    private static final long LIVE_TIME_MILLIS = 60000;
+    private static final long TICK_MILLIS = 1000;
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructorThrowsForNonPositiveLiveTime()
+    {
+        new CorrelationCallbackRegistry(0, TICK_MILLIS);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructorThrowsForNonPositiveTick()
+    {
+        new CorrelationCallbackRegistry(LIVE_TIME_MILLIS, 0);
+    }
+
+    @Test
+    public void putAndGetWork()
+    {
+        //arrange
+        CorrelationCallbackRegistry registry = new CorrelationCallbackRegistry(LIVE_TIME_MILLIS, TICK_MILLIS);
+        CorrelationCallbackContext context = new CorrelationCallbackContext(null, null, System.currentTimeMillis());
+
+        //act
+        registry.put("correlationId", context);
+
+        //assert
+        assertSame(context, registry.get("correlationId"));
+        assertEquals(1, registry.size());
+    }
+
+    @Test
+    public void removeExpiredKeepsContextsWithinLiveTime()
+    {
+        //arrange
+        long now = System.currentTimeMillis();
+        CorrelationCallbackRegistry registry = new CorrelationCallbackRegistry(LIVE_TIME_MILLIS, TICK_MILLIS);
+        registry.put("correlationId", new CorrelationCallbackContext(null, null, now));
+
+        //act
+        int removedCount = registry.removeExpired(now + LIVE_TIME_MILLIS - TICK_MILLIS);
+
+        //assert
+        assertEquals(0, removedCount);
+        assertEquals(1, registry.size());
+    }
+
+    @Test
+    public void removeExpiredRemovesContextsOlderThanLiveTime()
+    {
+        //arrange
+        long now = System.currentTimeMillis();
+        CorrelationCallbackRegistry registry = new CorrelationCallbackRegistry(LIVE_TIME_MILLIS, TICK_MILLIS);
+        registry.put("oldCorrelationId", new CorrelationCallbackContext(null, null, now));
+        registry.put("newCorrelationId", new CorrelationCallbackContext(null, null, now + 10 * TICK_MILLIS));
+
+        //act
+        int removedCount = registry.removeExpired(now + LIVE_TIME_MILLIS + TICK_MILLIS);
+
+        //assert
+        assertEquals(1, removedCount);
+        assertNull(registry.get("oldCorrelationId"));
+        assertNotNull(registry.get("newCorrelationId"));
+        assertEquals(1, registry.getExpiredCount());
+    }
+
+    @Test
+    public void removeExpiredDoesNotCountContextsAlreadyRemoved()
+    {
+        //arrange
+        long now = System.currentTimeMillis();
+        CorrelationCallbackRegistry registry = new CorrelationCallbackRegistry(LIVE_TIME_MILLIS, TICK_MILLIS);
+        registry.put("correlationId", new CorrelationCallbackContext(null, null, now));
+        registry.remove("correlationId");
+
+        //act
+        int removedCount = registry.removeExpired(now + LIVE_TIME_MILLIS + TICK_MILLIS);
+
+        //assert
+        assertEquals(0, removedCount);
+        assertEquals(0, registry.size());
+        assertEquals(0, registry.getExpiredCount());
+    }
+
+    @Test
+    public void removeExpiredDoesNotRemoveNewerContextWithSameCorrelationId()
+    {
+        //arrange
+        long now = System.currentTimeMillis();
+        CorrelationCallbackRegistry registry = new CorrelationCallbackRegistry(LIVE_TIME_MILLIS, TICK_MILLIS);
+        CorrelationCallbackContext newerContext = new CorrelationCallbackContext(null, null, now + 30 * TICK_MILLIS);
+        registry.put("correlationId", new CorrelationCallbackContext(null, null, now));
+        registry.put("correlationId", newerContext);
+
+        //act
+        int removedCount = registry.removeExpired(now + LIVE_TIME_MILLIS + TICK_MILLIS);
+
+        //assert
+        assertEquals(0, removedCount);
+        assertSame(newerContext, registry.get("correlationId"));
+    }
+
+    @Test
+    public void removeExpiredCatchesUpAfterMissedTicks()
+    {
+        //arrange
+        long now = System.currentTimeMillis();
+        CorrelationCallbackRegistry registry = new CorrelationCallbackRegistry(LIVE_TIME_MILLIS, TICK_MILLIS);
+        for (int i = 0; i < 10; i++)
+        {
+            registry.put("correlationId" + i, new CorrelationCallbackContext(null, null, now + i * TICK_MILLIS));
+        }
+
+        //act
+        int removedCount = registry.removeExpired(now + 10 * LIVE_TIME_MILLIS);
+
+        //assert
+        assertEquals(10, removedCount);
+        assertEquals(0, registry.size());
+    }
+
+    @Test
+    public void removeExpiredKeepsContextsUntilLiveTimeAfterLastSendTime()
+    {
+        //arrange
+        long now = System.currentTimeMillis();
+        long operationTimeoutMillis = 4 * 60 * 1000;
+        CorrelationCallbackRegistry registry = new CorrelationCallbackRegistry(LIVE_TIME_MILLIS, TICK_MILLIS);
+        registry.put("correlationId", new CorrelationCallbackContext(null, null, now), now + operationTimeoutMillis);
+
+        //act
+        // More than one turn of the wheel, but still within the live time after the operation timeout
+        int removedCountBeforeExpiry = 0;
+        for (long time = now; time <= now + operationTimeoutMillis + LIVE_TIME_MILLIS - TICK_MILLIS; time += TICK_MILLIS)
+        {
+            removedCountBeforeExpiry += registry.removeExpired(time);
+        }
+
+        int removedCountAfterExpiry = registry.removeExpired(now + operationTimeoutMillis + LIVE_TIME_MILLIS + TICK_MILLIS);
+
+        //assert
+        assertEquals(0, removedCountBeforeExpiry);
+        assertEquals(1, removedCountAfterExpiry);
+        assertNull(registry.get("correlationId"));
+    }
+
+    @Test
+    public void removeExpiredRemovesContextsFarInTheFutureAfterMissedTicks()
+    {
+        //arrange
+        long now = System.currentTimeMillis();
+        CorrelationCallbackRegistry registry = new CorrelationCallbackRegistry(LIVE_TIME_MILLIS, TICK_MILLIS);
+        registry.put("correlationId", new CorrelationCallbackContext(null, null, now), now + 5 * LIVE_TIME_MILLIS);
+
+        //act
+        int removedCountBeforeExpiry = registry.removeExpired(now + 5 * LIVE_TIME_MILLIS);
+        int removedCountAfterExpiry = registry.removeExpired(now + 10 * LIVE_TIME_MILLIS);
+
+        //assert
+        assertEquals(0, removedCountBeforeExpiry);
+        assertEquals(1, removedCountAfterExpiry);
+    }
+
+    @Test
+    public void removeUnlinksContextFromWheel()
+    {
+        //arrange
+        long now = System.currentTimeMillis();
+        CorrelationCallbackRegistry registry = new CorrelationCallbackRegistry(LIVE_TIME_MILLIS, TICK_MILLIS);
+        for (int i = 0; i < 10; i++)
+        {
+            registry.put("correlationId" + i, new CorrelationCallbackContext(null, null, now), now + 4 * LIVE_TIME_MILLIS);
+        }
+
+        //act
+        for (int i = 0; i < 10; i += 2)
+        {
+            registry.remove("correlationId" + i);
+        }
+
+        //assert
+        assertEquals(5, registry.size());
+        assertEquals(5, registry.wheelSize());
+        for (int i = 1; i < 10; i += 2)
+        {
+            assertNotNull(registry.get("correlationId" + i));
+        }
+    }
+
+    @Test
+    public void putReplacesWheelEntryOfSameCorrelationId()
+    {
+        //arrange
+        long now = System.currentTimeMillis();
+        CorrelationCallbackRegistry registry = new CorrelationCallbackRegistry(LIVE_TIME_MILLIS, TICK_MILLIS);
+        CorrelationCallbackContext newestContext = new CorrelationCallbackContext(null, null, now + 2 * TICK_MILLIS);
+
+        //act
+        registry.put("correlationId", new CorrelationCallbackContext(null, null, now));
+        registry.put("correlationId", new CorrelationCallbackContext(null, null, now + TICK_MILLIS));
+        registry.put("correlationId", newestContext);
+
+        //assert
+        assertEquals(1, registry.size());
+        assertEquals(1, registry.wheelSize());
+        assertSame(newestContext, registry.get("correlationId"));
+    }
+}
@@ -0,0 +1,350 @@
+// Copyright (c) Microsoft. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package com.microsoft.azure.sdk.iot.device.transport;
+
+import com.microsoft.azure.sdk.iot.device.Message;
+import com.microsoft.azure.sdk.iot.device.MessageType;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for DeviceRoundRobinPacketQueue.
+ */
+public class DeviceRoundRobinPacketQueueTest
+{
+    private static IotHubTransportPacket createPacket(String deviceId)
+    {
+        return new IotHubTransportPacket(new Message("test"), null, null, null, System.currentTimeMillis(), deviceId);
+    }
+
+    private static IotHubTransportPacket createPacket(String deviceId, int priority, long startTimeMillis)
+    {
+        Message message = new Message("test");
+        message.setPriority(priority);
+        return new IotHubTransportPacket(message, null, null, null, startTimeMillis, deviceId);
+    }
+
+    @Test
+    public void pollAlternatesBetweenDevices()
+    {
+        //arrange
+        DeviceRoundRobinPacketQueue queue = new DeviceRoundRobinPacketQueue();
+        IotHubTransportPacket chatty1 = createPacket("chatty");
+        IotHubTransportPacket chatty2 = createPacket("chatty");
+        IotHubTransportPacket chatty3 = createPacket("chatty");
+        IotHubTransportPacket quiet1 = createPacket("quiet1");
+        IotHubTransportPacket quiet2 = createPacket("quiet2");
+        queue.add(chatty1);
+        queue.add(chatty2);
+        queue.add(chatty3);
+        queue.add(quiet1);
+        queue.add(quiet2);
+
+        //act
+        List<IotHubTransportPacket> polled = new ArrayList<>();
+        IotHubTransportPacket packet = queue.poll();
+        while (packet != null)
+        {
+            polled.add(packet);
+            packet = queue.poll();
+        }
+
+        //assert
+        assertEquals(5, polled.size());
+        assertSame(chatty1, polled.get(0));
+        assertSame(quiet1, polled.get(1));
+        assertSame(quiet2, polled.get(2));
+        assertSame(chatty2, polled.get(3));
+        assertSame(chatty3, polled.get(4));
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void pollReturnsNullWhenEmpty()
+    {
+        //arrange
+        DeviceRoundRobinPacketQueue queue = new DeviceRoundRobinPacketQueue();
+
+        //act
+        IotHubTransportPacket packet = queue.poll();
+
+        //assert
+        assertNull(packet);
+        assertEquals(0, queue.size());
+    }
+
+    @Test
+    public void pollAllRemovesOnlyPacketsOfThatDevice()
+    {
+        //arrange
+        DeviceRoundRobinPacketQueue queue = new DeviceRoundRobinPacketQueue();
+        IotHubTransportPacket device1Packet1 = createPacket("device1");
+        IotHubTransportPacket device2Packet = createPacket("device2");
+        IotHubTransportPacket device1Packet2 = createPacket("device1");
+        queue.add(device1Packet1);
+        queue.add(device2Packet);
+        queue.add(device1Packet2);
+
+        //act
+        List<IotHubTransportPacket> removed = queue.pollAll("device1");
+
+        //assert
+        assertEquals(2, removed.size());
+        assertSame(device1Packet1, removed.get(0));
+        assertSame(device1Packet2, removed.get(1));
+        assertEquals(1, queue.size());
+        assertSame(device2Packet, queue.poll());
+        assertNull(queue.poll());
+    }
+
+    @Test
+    public void pollAllReturnsEmptyListForUnknownDevice()
+    {
+        //arrange
+        DeviceRoundRobinPacketQueue queue = new DeviceRoundRobinPacketQueue();
+        queue.add(createPacket("device1"));
+
+        //act
+        List<IotHubTransportPacket> removed = queue.pollAll("device2");
+
+        //assert
+        assertTrue(removed.isEmpty());
+        assertEquals(1, queue.size());
+    }
+
+    @Test
+    public void iteratorRemoveRemovesPacket()
+    {
+        //arrange
+        DeviceRoundRobinPacketQueue queue = new DeviceRoundRobinPacketQueue();
+        IotHubTransportPacket packetToRemove = createPacket("device1");
+        IotHubTransportPacket packetToKeep = createPacket("device2");
+        queue.add(packetToRemove);
+        queue.add(packetToKeep);
+
+        //act
+        Iterator<IotHubTransportPacket> iterator = queue.iterator();
+        while (iterator.hasNext())
+        {
+            if (iterator.next() == packetToRemove)
+            {
+                iterator.remove();
+            }
+        }
+
+        //assert
+        assertEquals(1, queue.size());
+        assertSame(packetToKeep, queue.poll());
+        assertNull(queue.poll());
+    }
+
+    @Test
+    public void packetsWithoutDeviceIdAreQueued()
+    {
+        //arrange
+        DeviceRoundRobinPacketQueue queue = new DeviceRoundRobinPacketQueue();
+        IotHubTransportPacket packet = createPacket(null);
+
+        //act
+        queue.add(packet);
+
+        //assert
+        assertEquals(1, queue.size());
+        assertSame(packet, queue.peek());
+        assertSame(packet, queue.poll());
+    }
+
+    @Test
+    public void concurrentProducersDoNotLosePackets() throws InterruptedException
+    {
+        //arrange
+        final DeviceRoundRobinPacketQueue queue = new DeviceRoundRobinPacketQueue();
+        final int producerCount = 4;
+        final int packetsPerProducer = 5000;
+        final int deviceCount = 100;
+        final CountDownLatch producersDone = new CountDownLatch(producerCount);
+        for (int i = 0; i < producerCount; i++)
+        {
+            final int producerIndex = i;
+            new Thread(() ->
+            {
+                for (int j = 0; j < packetsPerProducer; j++)
+                {
+                    queue.add(createPacket("device" + ((producerIndex * packetsPerProducer + j) % deviceCount)));
+                }
+
+                producersDone.countDown();
+            }).start();
+        }
+
+        //act
+        int polledCount = 0;
+        while (producersDone.getCount() > 0 || !queue.isEmpty())
+        {
+            if (queue.poll() != null)
+            {
+                polledCount++;
+            }
+        }
+
+        //assert
+        assertTrue(producersDone.await(30, TimeUnit.SECONDS));
+        assertEquals(producerCount * packetsPerProducer, polledCount);
+        assertNull(queue.poll());
+        assertEquals(0, queue.getDeviceCount());
+    }
+
+    @Test
+    public void pollRemovesQueueOfDeviceWithNoPacketsLeft()
+    {
+        //arrange
+        DeviceRoundRobinPacketQueue queue = new DeviceRoundRobinPacketQueue();
+        for (int i = 0; i < 100; i++)
+        {
+            queue.add(createPacket("device" + i));
+        }
+
+        //act
+        while (queue.poll() != null)
+        {
+            // drain the queue
+        }
+
+        //assert
+        assertEquals(0, queue.getDeviceCount());
+
+        // a device that comes back gets a new queue
+        IotHubTransportPacket packet = createPacket("device0");
+        queue.add(packet);
+        assertEquals(1, queue.getDeviceCount());
+        assertSame(packet, queue.poll());
+    }
+
+    @Test
+    public void pollAllRemovesQueueOfDevice()
+    {
+        //arrange
+        DeviceRoundRobinPacketQueue queue = new DeviceRoundRobinPacketQueue();
+        queue.add(createPacket("device1"));
+        queue.add(createPacket("device2"));
+
+        //act
+        queue.pollAll("device1");
+
+        //assert
+        assertEquals(1, queue.getDeviceCount());
+        assertEquals(1, queue.size());
+        assertNotNull(queue.poll());
+        assertNull(queue.poll());
+        assertEquals(0, queue.getDeviceCount());
+    }
+
+    @Test
+    public void removeLowestPriorityRemovesOldestOfLowestPriority()
+    {
+        //arrange
+        DeviceRoundRobinPacketQueue queue = new DeviceRoundRobinPacketQueue();
+        IotHubTransportPacket important = createPacket("device1", 5, 1);
+        IotHubTransportPacket newerUnimportant = createPacket("device1", 1, 3);
+        IotHubTransportPacket olderUnimportant = createPacket("device2", 1, 2);
+        queue.add(important);
+        queue.add(newerUnimportant);
+        queue.add(olderUnimportant);
+
+        //act
+        IotHubTransportPacket removed = queue.removeLowestPriority(5, packet -> true);
+
+        //assert
+        assertSame(olderUnimportant, removed);
+        assertEquals(2, queue.size());
+        assertFalse(queue.contains(olderUnimportant));
+    }
+
+    @Test
+    public void removeLowestPriorityIgnoresPacketsAboveMaxPriority()
+    {
+        //arrange
+        DeviceRoundRobinPacketQueue queue = new DeviceRoundRobinPacketQueue();
+        queue.add(createPacket("device1", 2, 1));
+        queue.add(createPacket("device2", 3, 2));
+
+        //act
+        IotHubTransportPacket removed = queue.removeLowestPriority(1, packet -> true);
+
+        //assert
+        assertNull(removed);
+        assertEquals(2, queue.size());
+    }
+
+    @Test
+    public void removeLowestPriorityReturnsNullForEmptyQueue()
+    {
+        assertNull(new DeviceRoundRobinPacketQueue().removeLowestPriority(Integer.MAX_VALUE, packet -> true));
+    }
+
+    @Test
+    public void removeLowestPrioritySkipsPacketsThatCannotBeRemoved()
+    {
+        //arrange
+        DeviceRoundRobinPacketQueue queue = new DeviceRoundRobinPacketQueue();
+        IotHubTransportPacket twin = createPacket("device1", 0, 1);
+        twin.getMessage().setMessageType(MessageType.DEVICE_TWIN);
+        IotHubTransportPacket telemetry = createPacket("device1", 1, 2);
+        queue.add(twin);
+        queue.add(telemetry);
+
+        //act
+        IotHubTransportPacket removed = queue.removeLowestPriority(5, packet -> packet.getMessage().getMessageType() != MessageType.DEVICE_TWIN);
+
+        //assert
+        assertSame(telemetry, removed);
+        assertTrue(queue.contains(twin));
+    }
+
+    @Test
+    public void removeNextRemovesFirstRemovablePacketInPollOrder()
+    {
+        //arrange
+        DeviceRoundRobinPacketQueue queue = new DeviceRoundRobinPacketQueue();
+        IotHubTransportPacket twin = createPacket("device1");
+        twin.getMessage().setMessageType(MessageType.DEVICE_TWIN);
+        IotHubTransportPacket telemetry1 = createPacket("device1");
+        IotHubTransportPacket telemetry2 = createPacket("device2");
+        queue.add(twin);
+        queue.add(telemetry1);
+        queue.add(telemetry2);
+
+        //act
+        IotHubTransportPacket removed = queue.removeNext(packet -> packet.getMessage().getMessageType() != MessageType.DEVICE_TWIN);
+
+        //assert
+        assertSame(telemetry1, removed);
+        assertEquals(2, queue.size());
+        assertSame(twin, queue.poll());
+        assertSame(telemetry2, queue.poll());
+        assertNull(queue.poll());
+    }
+
+    @Test
+    public void removeNextReturnsNullIfNoPacketCanBeRemoved()
+    {
+        //arrange
+        DeviceRoundRobinPacketQueue queue = new DeviceRoundRobinPacketQueue();
+        queue.add(createPacket("device1"));
+
+        //act
+        IotHubTransportPacket removed = queue.removeNext(packet -> false);
+
+        //assert
+        assertNull(removed);
+        assertEquals(1, queue.size());
+    }
+}
@@ -220,9 +220,9 @@ public class IotHubTransportTest
         transport.onMessageReceived(mockedTransportMessage, null);
 
         //assert
-        Queue<IotHubTransportPacket> receivedMessagesQueue = Deencapsulation.getField(transport, "receivedMessagesQueue");
-        assertEquals(1, receivedMessagesQueue.size());
-        assertEquals(mockedTransportMessage, receivedMessagesQueue.poll());
+        ReceivedMessageBuffer receivedMessageBuffer = Deencapsulation.getField(transport, "receivedMessageBuffer");
+        assertEquals(1, receivedMessageBuffer.getBufferedMessageCount());
+        assertEquals(mockedTransportMessage, receivedMessageBuffer.poll());
     }
 
     //Tests_SRS_IOTHUBTRANSPORT_34_014: [If the provided connectionId is associated with the current connection, This function shall invoke updateStatus with status CONNECTED, change reason CONNECTION_OK and a null throwable.]
@@ -401,7 +401,7 @@ public class IotHubTransportTest
                 }
             }
         };
-        final Queue<IotHubTransportPacket> waitingPacketsQueue = new ConcurrentLinkedQueue<>();
+        final DeviceRoundRobinPacketQueue waitingPacketsQueue = new DeviceRoundRobinPacketQueue();
         final Map<String, IotHubTransportPacket> inProgressPackets = new ConcurrentHashMap<>();
         final Queue<IotHubTransportPacket> callbackPacketsQueue = new ConcurrentLinkedQueue<>();
         waitingPacketsQueue.add(mockedPacket);
@@ -853,7 +853,7 @@ public class IotHubTransportTest
     public void isEmptyReturnsTrueIfAllQueuesEmpty()
     {
         //arrange
-        final Queue<IotHubTransportPacket> waitingPacketsQueue = new ConcurrentLinkedQueue<>();
+        final DeviceRoundRobinPacketQueue waitingPacketsQueue = new DeviceRoundRobinPacketQueue();
         final Map<String, IotHubTransportPacket> inProgressPackets = new ConcurrentHashMap<>();
         final Queue<IotHubTransportPacket> callbackPacketsQueue = new ConcurrentLinkedQueue<>();
 
@@ -882,7 +882,7 @@ public class IotHubTransportTest
     public void isEmptyReturnsFalseIfWaitingQueueNotEmpty()
     {
         //arrange
-        final Queue<IotHubTransportPacket> waitingPacketsQueue = new ConcurrentLinkedQueue<>();
+        final DeviceRoundRobinPacketQueue waitingPacketsQueue = new DeviceRoundRobinPacketQueue();
         final Map<String, IotHubTransportPacket> inProgressPackets = new ConcurrentHashMap<>();
         final Queue<IotHubTransportPacket> callbackPacketsQueue = new ConcurrentLinkedQueue<>();
         waitingPacketsQueue.add(mockedPacket);
@@ -912,7 +912,7 @@ public class IotHubTransportTest
     public void isEmptyReturnsFalseIfInProgressMapNotEmpty()
     {
         //arrange
-        final Queue<IotHubTransportPacket> waitingPacketsQueue = new ConcurrentLinkedQueue<>();
+        final DeviceRoundRobinPacketQueue waitingPacketsQueue = new DeviceRoundRobinPacketQueue();
         final Map<String, IotHubTransportPacket> inProgressPackets = new ConcurrentHashMap<>();
         final Queue<IotHubTransportPacket> callbackPacketsQueue = new ConcurrentLinkedQueue<>();
         inProgressPackets.put("asdf", mockedPacket);
@@ -941,7 +941,7 @@ public class IotHubTransportTest
     public void isEmptyReturnsFalseIfCallbackQueueNotEmpty()
     {
         //arrange
-        final Queue<IotHubTransportPacket> waitingPacketsQueue = new ConcurrentLinkedQueue<>();
+        final DeviceRoundRobinPacketQueue waitingPacketsQueue = new DeviceRoundRobinPacketQueue();
         final Map<String, IotHubTransportPacket> inProgressPackets = new ConcurrentHashMap<>();
         final Queue<IotHubTransportPacket> callbackPacketsQueue = new ConcurrentLinkedQueue<>();
         callbackPacketsQueue.add(mockedPacket);
@@ -1085,7 +1085,7 @@ public class IotHubTransportTest
         };
         IotHubTransport transport = new IotHubTransport(mockedConfig, mockedIotHubConnectionStatusChangeCallback, false);
         Deencapsulation.setField(transport, "connectionStatus", CONNECTED);
-        Queue<IotHubTransportPacket> waitingPacketsQueue = new ConcurrentLinkedQueue<>();
+        DeviceRoundRobinPacketQueue waitingPacketsQueue = new DeviceRoundRobinPacketQueue();
         Deencapsulation.setField(transport, "waitingPacketsQueue", waitingPacketsQueue);
 
         new NonStrictExpectations()
@@ -1103,6 +1103,191 @@ public class IotHubTransportTest
         assertEquals(1, waitingPacketsQueue.size());
     }
 
+    @Test
+    public void addMessageAssignsMissingIdsFromDeviceMessageIdGenerator()
+    {
+        //arrange
+        final MessageIdGenerator messageIdGenerator = () -> "generatedId";
+        new NonStrictExpectations()
+        {
+            {
+                mockedConfig.getDeviceId();
+                result = "someDeviceId";
+                mockedConfig.getMessageIdGenerator();
+                result = messageIdGenerator;
+                mockedMessage.getMessageId();
+                result = null;
+                mockedMessage.getCorrelationId();
+                result = "";
+            }
+        };
+        IotHubTransport transport = new IotHubTransport(mockedConfig, mockedIotHubConnectionStatusChangeCallback, false);
+        Deencapsulation.setField(transport, "connectionStatus", CONNECTED);
+
+        //act
+        transport.addMessage(mockedMessage, mockedEventCallback, new Object(), "someDeviceId");
+
+        //assert
+        new Verifications()
+        {
+            {
+                mockedMessage.setMessageId("generatedId");
+                times = 1;
+                mockedMessage.setCorrelationId("generatedId");
+                times = 1;
+            }
+        };
+    }
+
+    @Test
+    public void addMessageKeepsExistingIds()
+    {
+        //arrange
+        final MessageIdGenerator messageIdGenerator = () -> "generatedId";
+        new NonStrictExpectations()
+        {
+            {
+                mockedConfig.getDeviceId();
+                result = "someDeviceId";
+                mockedConfig.getMessageIdGenerator();
+                result = messageIdGenerator;
+                mockedMessage.getMessageId();
+                result = "someMessageId";
+                mockedMessage.getCorrelationId();
+                result = "someCorrelationId";
+            }
+        };
+        IotHubTransport transport = new IotHubTransport(mockedConfig, mockedIotHubConnectionStatusChangeCallback, false);
+        Deencapsulation.setField(transport, "connectionStatus", CONNECTED);
+
+        //act
+        transport.addMessage(mockedMessage, mockedEventCallback, new Object(), "someDeviceId");
+
+        //assert
+        new Verifications()
+        {
+            {
+                mockedMessage.setMessageId(anyString);
+                times = 0;
+                mockedMessage.setCorrelationId(anyString);
+                times = 0;
+            }
+        };
+    }
+
+    @Test
+    public void addMessageRejectsMessageWhenOutboundQueueIsFull()
+    {
+        //arrange
+        new Expectations()
+        {
+            {
+                mockedConfig.getDeviceId();
+                result = "someDeviceId";
+            }
+        };
+        IotHubTransport transport = new IotHubTransport(mockedConfig, mockedIotHubConnectionStatusChangeCallback, false);
+        Deencapsulation.setField(transport, "connectionStatus", CONNECTED);
+        transport.setOutboundQueueLimits(1, 0, OutboundQueueOverflowPolicy.REJECT);
+
+        //act
+        transport.addMessage(mockedMessage, mockedEventCallback, new Object(), null);
+        transport.addMessage(mockedMessage, mockedEventCallback, new Object(), null);
+
+        //assert
+        DeviceRoundRobinPacketQueue waitingPacketsQueue = Deencapsulation.getField(transport, "waitingPacketsQueue");
+        Queue<IotHubTransportPacket> callbackPacketsQueue = Deencapsulation.getField(transport, "callbackPacketsQueue");
+        assertEquals(1, waitingPacketsQueue.size());
+        assertEquals(1, callbackPacketsQueue.size());
+        assertEquals(1, transport.getQueuedOutboundMessageCount());
+        assertEquals(1, transport.getDroppedOutboundMessageCount());
+        new Verifications()
+        {
+            {
+                mockedPacket.setStatus(IotHubStatusCode.MESSAGE_DROPPED);
+                times = 1;
+            }
+        };
+    }
+
+    @Test
+    public void addMessageDropsOldestMessageWhenOutboundQueueIsFull()
+    {
+        //arrange
+        new NonStrictExpectations()
+        {
+            {
+                mockedConfig.getDeviceId();
+                result = "someDeviceId";
+            }
+        };
+        IotHubTransport transport = new IotHubTransport(mockedConfig, mockedIotHubConnectionStatusChangeCallback, false);
+        Deencapsulation.setField(transport, "connectionStatus", CONNECTED);
+        transport.setOutboundQueueLimits(2, 0, OutboundQueueOverflowPolicy.DROP_OLDEST);
+
+        //act
+        transport.addMessage(mockedMessage, mockedEventCallback, new Object(), null);
+        transport.addMessage(mockedMessage, mockedEventCallback, new Object(), null);
+        transport.addMessage(mockedMessage, mockedEventCallback, new Object(), null);
+
+        //assert
+        DeviceRoundRobinPacketQueue waitingPacketsQueue = Deencapsulation.getField(transport, "waitingPacketsQueue");
+        Queue<IotHubTransportPacket> callbackPacketsQueue = Deencapsulation.getField(transport, "callbackPacketsQueue");
+        assertEquals(2, waitingPacketsQueue.size());
+        assertEquals(1, callbackPacketsQueue.size());
+        assertEquals(2, transport.getQueuedOutboundMessageCount());
+        assertEquals(1, transport.getDroppedOutboundMessageCount());
+    }
+
+    @Test
+    public void addMessageDoesNotDropTwinOrMethodMessagesWhenOutboundQueueIsFull(@Mocked final Message mockedTwinMessage, @Mocked final Message mockedMethodMessage)
+    {
+        //arrange
+        new NonStrictExpectations()
+        {
+            {
+                mockedConfig.getDeviceId();
+                result = "someDeviceId";
+                mockedTwinMessage.getMessageType();
+                result = MessageType.DEVICE_TWIN;
+                mockedMethodMessage.getMessageType();
+                result = MessageType.DEVICE_METHODS;
+            }
+        };
+        IotHubTransport transport = new IotHubTransport(mockedConfig, mockedIotHubConnectionStatusChangeCallback, false);
+        Deencapsulation.setField(transport, "connectionStatus", CONNECTED);
+        transport.setOutboundQueueLimits(2, 0, OutboundQueueOverflowPolicy.DROP_OLDEST);
+
+        //act
+        transport.addMessage(mockedTwinMessage, mockedEventCallback, new Object(), null);
+        transport.addMessage(mockedMethodMessage, mockedEventCallback, new Object(), null);
+        transport.addMessage(mockedMessage, mockedEventCallback, new Object(), null);
+
+        //assert
+        DeviceRoundRobinPacketQueue waitingPacketsQueue = Deencapsulation.getField(transport, "waitingPacketsQueue");
+        assertEquals(2, waitingPacketsQueue.size());
+        assertSame(mockedTwinMessage, waitingPacketsQueue.poll().getMessage());
+        assertSame(mockedMethodMessage, waitingPacketsQueue.poll().getMessage());
+        assertEquals(1, transport.getDroppedOutboundMessageCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void setOutboundQueueLimitsThrowsForNullPolicy()
+    {
+        //arrange
+        new Expectations()
+        {
+            {
+                mockedConfig.getDeviceId();
+                result = "someDeviceId";
+            }
+        };
+        IotHubTransport transport = new IotHubTransport(mockedConfig, mockedIotHubConnectionStatusChangeCallback, false);
+
+        //act
+        transport.setOutboundQueueLimits(1, 0, null);
+    }
+
     //Tests_SRS_IOTHUBTRANSPORT_34_043: [If the connection status of this object is not CONNECTED, this function shall do nothing]
     @Test
     public void sendMessagesDoesNothingIfNotConnected()
@@ -1117,7 +1302,7 @@ public class IotHubTransportTest
         };
         IotHubTransport transport = new IotHubTransport(mockedConfig, mockedIotHubConnectionStatusChangeCallback, false);
         Deencapsulation.setField(transport, "connectionStatus", DISCONNECTED);
-        Queue<IotHubTransportPacket> waitingPacketsQueue = new ConcurrentLinkedQueue<>();
+        DeviceRoundRobinPacketQueue waitingPacketsQueue = new DeviceRoundRobinPacketQueue();
         waitingPacketsQueue.add(mockedPacket);
         Deencapsulation.setField(transport, "waitingPacketsQueue", waitingPacketsQueue);
 
@@ -1154,7 +1339,7 @@ public class IotHubTransportTest
         final IotHubTransport transport = new IotHubTransport(mockedConfig, mockedIotHubConnectionStatusChangeCallback, false);
         final int MAX_MESSAGES_TO_SEND_PER_THREAD = Deencapsulation.getField(transport, "DEFAULT_MAX_MESSAGES_TO_SEND_PER_THREAD");
         Deencapsulation.setField(transport, "connectionStatus", CONNECTED);
-        Queue<IotHubTransportPacket> waitingPacketsQueue = new ConcurrentLinkedQueue<>();
+        DeviceRoundRobinPacketQueue waitingPacketsQueue = new DeviceRoundRobinPacketQueue();
         for (int i = 0; i < MAX_MESSAGES_TO_SEND_PER_THREAD + 1; i++)
         {
             waitingPacketsQueue.add(mockedPacket);
@@ -1217,6 +1402,72 @@ public class IotHubTransportTest
         };
     }
 
+    @Test
+    public void invokeCallbacksRunsCallbacksOnMessageSentCallbackExecutor(final @Mocked IotHubStatusCode mockedStatus)
+    {
+        //arrange
+        new Expectations()
+        {
+            {
+                mockedConfig.getDeviceId();
+                result = "someDeviceId";
+            }
+        };
+        final IotHubTransport transport = new IotHubTransport(mockedConfig, mockedIotHubConnectionStatusChangeCallback, false);
+        final List<Runnable> submittedTasks = new ArrayList<>();
+        transport.setMessageSentCallbackExecutor(submittedTasks::add);
+        Queue<IotHubTransportPacket> callbackPacketsQueue = new ConcurrentLinkedQueue<>();
+        callbackPacketsQueue.add(mockedPacket);
+        callbackPacketsQueue.add(mockedPacket);
+        callbackPacketsQueue.add(mockedPacket);
+        Deencapsulation.setField(transport, "callbackPacketsQueue", callbackPacketsQueue);
+        final Object context = new Object();
+        new NonStrictExpectations()
+        {
+            {
+                mockedPacket.getDeviceId();
+                result = "someDeviceId";
+
+                mockedPacket.getCallback();
+                result = mockedEventCallback;
+
+                mockedPacket.getContext();
+                result = context;
+
+                mockedPacket.getStatus();
+                result = mockedStatus;
+            }
+        };
+
+        //act
+        transport.invokeCallbacks();
+
+        //assert
+        assertTrue(callbackPacketsQueue.isEmpty());
+        assertEquals(1, submittedTasks.size());
+        assertEquals(3, transport.getPendingMessageSentCallbackCount());
+        new Verifications()
+        {
+            {
+                mockedEventCallback.onMessageSent(mockedMessage, (IotHubClientException) any, context);
+                times = 0;
+            }
+        };
+
+        //act
+        submittedTasks.get(0).run();
+
+        //assert
+        assertEquals(0, transport.getPendingMessageSentCallbackCount());
+        new Verifications()
+        {
+            {
+                mockedEventCallback.onMessageSent(mockedMessage, (IotHubClientException) any, context);
+                times = 3;
+            }
+        };
+    }
+
     //Tests_SRS_IOTHUBTRANSPORT_34_046: [If this object's connection status is not CONNEECTED, this function shall do nothing.]
     @Test
     public void handleMessageDoesNothingIfNotConnected() throws IotHubClientException, TransportException
@@ -1239,10 +1490,9 @@ public class IotHubTransportTest
         };
         final IotHubTransport transport = new IotHubTransport(mockedConfig, mockedIotHubConnectionStatusChangeCallback, false);
         Deencapsulation.setField(transport, "connectionStatus", DISCONNECTED);
-        Queue<IotHubTransportMessage> receivedMessagesQueue = new ConcurrentLinkedQueue<>();
-        receivedMessagesQueue.add(mockedTransportMessage);
-        receivedMessagesQueue.add(mockedTransportMessage);
-        Deencapsulation.setField(transport, "receivedMessagesQueue", receivedMessagesQueue);
+        ReceivedMessageBuffer receivedMessageBuffer = Deencapsulation.getField(transport, "receivedMessageBuffer");
+        receivedMessageBuffer.add(mockedTransportMessage);
+        receivedMessageBuffer.add(mockedTransportMessage);
 
         Deencapsulation.setField(transport, "iotHubTransportConnection", mockedHttpsIotHubConnection);
 
@@ -1250,7 +1500,7 @@ public class IotHubTransportTest
         transport.handleMessage();
 
         //assert
-        assertEquals(2, receivedMessagesQueue.size());
+        assertEquals(2, receivedMessageBuffer.getBufferedMessageCount());
     }
 
     //Tests_SRS_IOTHUBTRANSPORT_34_047: [If this object's connection status is CONNECTED and is using HTTPS,
@@ -1285,10 +1535,9 @@ public class IotHubTransportTest
         };
         final IotHubTransport transport = new IotHubTransport(mockedConfig, mockedIotHubConnectionStatusChangeCallback, false);
         Deencapsulation.setField(transport, "connectionStatus", CONNECTED);
-        Queue<IotHubTransportMessage> receivedMessagesQueue = new ConcurrentLinkedQueue<>();
-        receivedMessagesQueue.add(mockedTransportMessage);
-        receivedMessagesQueue.add(mockedTransportMessage);
-        Deencapsulation.setField(transport, "receivedMessagesQueue", receivedMessagesQueue);
+        ReceivedMessageBuffer receivedMessageBuffer = Deencapsulation.getField(transport, "receivedMessageBuffer");
+        receivedMessageBuffer.add(mockedTransportMessage);
+        receivedMessageBuffer.add(mockedTransportMessage);
 
         Deencapsulation.setField(transport, "iotHubTransportConnection", mockedHttpsIotHubConnection);
 
@@ -1296,7 +1545,7 @@ public class IotHubTransportTest
         transport.handleMessage();
 
         //assert
-        assertEquals(1, receivedMessagesQueue.size());
+        assertEquals(1, receivedMessageBuffer.getBufferedMessageCount());
         assertTrue(methodsCalled.toString().contains("addReceivedMessagesOverHttpToReceivedQueue"));
         assertTrue(methodsCalled.toString().contains("acknowledgeReceivedMessage"));
     }
@@ -1327,16 +1576,15 @@ public class IotHubTransportTest
         };
         final IotHubTransport transport = new IotHubTransport(mockedConfig, mockedIotHubConnectionStatusChangeCallback, false);
         Deencapsulation.setField(transport, "connectionStatus", CONNECTED);
-        Queue<IotHubTransportMessage> receivedMessagesQueue = new ConcurrentLinkedQueue<>();
-        receivedMessagesQueue.add(mockedTransportMessage);
-        receivedMessagesQueue.add(mockedTransportMessage);
-        Deencapsulation.setField(transport, "receivedMessagesQueue", receivedMessagesQueue);
+        ReceivedMessageBuffer receivedMessageBuffer = Deencapsulation.getField(transport, "receivedMessageBuffer");
+        receivedMessageBuffer.add(mockedTransportMessage);
+        receivedMessageBuffer.add(mockedTransportMessage);
 
         //act
         transport.handleMessage();
 
         //assert
-        assertEquals(1, receivedMessagesQueue.size());
+        assertEquals(1, receivedMessageBuffer.getBufferedMessageCount());
         assertEquals("acknowledgeReceivedMessage", methodsCalled.toString());
     }
 
@@ -1469,8 +1717,8 @@ public class IotHubTransportTest
 
         //assert
         assertTrue(exceptionRethrown);
-        Queue<IotHubTransportMessage> receivedMessagesQueue = Deencapsulation.getField(transport, "receivedMessagesQueue");
-        assertEquals(1, receivedMessagesQueue.size());
+        ReceivedMessageBuffer receivedMessageBuffer = Deencapsulation.getField(transport, "receivedMessageBuffer");
+        assertEquals(1, receivedMessageBuffer.getBufferedMessageCount());
     }
 
     //Tests_SRS_IOTHUBTRANSPORT_34_056: [If the saved http transport connection can receive a message, add it to receivedMessagesQueue.]
@@ -1493,8 +1741,8 @@ public class IotHubTransportTest
         Deencapsulation.invoke(transport, "addReceivedMessagesOverHttpToReceivedQueue");
 
         //assert
-        Queue<IotHubTransportMessage> receivedMessagesQueue = Deencapsulation.getField(transport, "receivedMessagesQueue");
-        assertEquals(1, receivedMessagesQueue.size());
+        ReceivedMessageBuffer receivedMessageBuffer = Deencapsulation.getField(transport, "receivedMessageBuffer");
+        assertEquals(1, receivedMessageBuffer.getBufferedMessageCount());
         new Verifications()
         {
             {
@@ -1504,6 +1752,138 @@ public class IotHubTransportTest
         };
     }
 
+    @Test
+    public void handleMessageDoesNotPollHttpWhileReceiveBufferIsFull() throws TransportException
+    {
+        //arrange
+        new MockUp<IotHubTransport>()
+        {
+            @Mock void acknowledgeReceivedMessage(IotHubTransportMessage receivedMessage)
+            {
+            }
+
+            @Mock void addReceivedMessagesOverHttpToReceivedQueue()
+            {
+                fail("should not have called this method");
+            }
+        };
+        new Expectations()
+        {
+            {
+                mockedConfig.getDeviceId();
+                result = "someDeviceId";
+            }
+        };
+        final IotHubTransport transport = new IotHubTransport(mockedConfig, mockedIotHubConnectionStatusChangeCallback, false);
+        Deencapsulation.setField(transport, "connectionStatus", CONNECTED);
+        Deencapsulation.setField(transport, "iotHubTransportConnection", mockedHttpsIotHubConnection);
+        transport.setReceiveBufferLimits(1, 0);
+        ReceivedMessageBuffer receivedMessageBuffer = Deencapsulation.getField(transport, "receivedMessageBuffer");
+        receivedMessageBuffer.add(mockedTransportMessage);
+
+        //act
+        transport.handleMessage();
+
+        //assert
+        assertEquals(0, transport.getBufferedReceivedMessageCount());
+    }
+
+    @Test
+    public void handleMessageCountsMessageWhoseAcknowledgementFailedAtItsNewBodyLength() throws TransportException
+    {
+        //arrange
+        final Object context = new Object();
+        new NonStrictExpectations()
+        {
+            {
+                mockedConfig.getDeviceId();
+                result = "someDeviceId";
+                mockedTransportMessage.getBodyLength();
+                // As if the body had been decompressed by its callback
+                returns(100, 1000);
+                mockedTransportMessage.getMessageCallback();
+                result = mockedMessageCallback;
+                mockedTransportMessage.getMessageCallbackContext();
+                result = context;
+                mockedMessageCallback.onCloudToDeviceMessageReceived(mockedTransportMessage, context);
+                result = IotHubMessageResult.COMPLETE;
+                mockedIotHubTransportConnection.sendMessageResult(mockedTransportMessage, IotHubMessageResult.COMPLETE);
+                result = mockedTransportException;
+            }
+        };
+        final IotHubTransport transport = new IotHubTransport(mockedConfig, mockedIotHubConnectionStatusChangeCallback, false);
+        Deencapsulation.setField(transport, "connectionStatus", CONNECTED);
+        Deencapsulation.setField(transport, "iotHubTransportConnection", mockedIotHubTransportConnection);
+        ReceivedMessageBuffer receivedMessageBuffer = Deencapsulation.getField(transport, "receivedMessageBuffer");
+        receivedMessageBuffer.add(mockedTransportMessage);
+
+        //act
+        try
+        {
+            transport.handleMessage();
+            fail("Expected the failed acknowledgement to be rethrown");
+        }
+        catch (TransportException e)
+        {
+            // expected
+        }
+
+        //assert
+        assertEquals(1, receivedMessageBuffer.getBufferedMessageCount());
+        assertEquals(1000, receivedMessageBuffer.getBufferedBytes());
+    }
+
+    @Test
+    public void handleMessageDefersMqttAcknowledgementsWhileReceiveBufferIsFull() throws TransportException
+    {
+        //arrange
+        final Object context = new Object();
+        new NonStrictExpectations()
+        {
+            {
+                mockedConfig.getDeviceId();
+                result = "someDeviceId";
+                mockedConfig.getProtocol();
+                result = IotHubClientProtocol.MQTT;
+                mockedTransportMessage.getMessageCallback();
+                result = mockedMessageCallback;
+                mockedTransportMessage.getMessageCallbackContext();
+                result = context;
+                mockedMessageCallback.onCloudToDeviceMessageReceived(mockedTransportMessage, context);
+                result = IotHubMessageResult.COMPLETE;
+            }
+        };
+        final IotHubTransport transport = new IotHubTransport(mockedConfig, mockedIotHubConnectionStatusChangeCallback, false);
+        Deencapsulation.setField(transport, "connectionStatus", CONNECTED);
+        Deencapsulation.setField(transport, "iotHubTransportConnection", mockedIotHubTransportConnection);
+        transport.setReceiveBufferLimits(2, 0);
+        ReceivedMessageBuffer receivedMessageBuffer = Deencapsulation.getField(transport, "receivedMessageBuffer");
+        receivedMessageBuffer.add(mockedTransportMessage);
+        receivedMessageBuffer.add(mockedTransportMessage);
+        receivedMessageBuffer.add(mockedTransportMessage);
+        Queue<?> deferredAcknowledgements = Deencapsulation.getField(transport, "deferredAcknowledgements");
+
+        //act
+        transport.handleMessage();
+        int deferredAfterFirstMessage = deferredAcknowledgements.size();
+        transport.handleMessage();
+        int deferredAfterSecondMessage = deferredAcknowledgements.size();
+        transport.handleMessage();
+
+        //assert
+        assertEquals(1, deferredAfterFirstMessage);
+        assertEquals(0, deferredAfterSecondMessage);
+        assertEquals(0, deferredAcknowledgements.size());
+        assertEquals(0, transport.getBufferedReceivedMessageCount());
+        new Verifications()
+        {
+            {
+                mockedIotHubTransportConnection.sendMessageResult(mockedTransportMessage, IotHubMessageResult.COMPLETE);
+                times = 3;
+            }
+        };
+    }
+
     //Tests_SRS_IOTHUBTRANSPORT_34_063: [If the provided transportException is retryable, the packet has not
     // timed out, and the retry policy allows, this function shall schedule a task to add the provided
     // packet to the waiting list after the amount of time determined by the retry policy.]
@@ -2616,29 +2996,32 @@ public class IotHubTransportTest
         IotHubTransport transport = new IotHubTransport(mockedConfig, mockedIotHubConnectionStatusChangeCallback, false);
         Map<String, IotHubTransportPacket> inProgressMessages = new HashMap<>();
         Queue<IotHubTransportPacket> callbackPacketsQueue = new ConcurrentLinkedQueue<>();
-        Queue<IotHubTransportPacket> waitingPacketsQueue = new ConcurrentLinkedQueue<>();
+        DeviceRoundRobinPacketQueue waitingPacketsQueue = new DeviceRoundRobinPacketQueue();
         Deencapsulation.setField(transport, "callbackPacketsQueue", callbackPacketsQueue);
         Deencapsulation.setField(transport, "inProgressPackets", inProgressMessages);
         Deencapsulation.setField(transport, "waitingPacketsQueue", waitingPacketsQueue);
         Deencapsulation.setField(transport, "connectionStatus", CONNECTED);
 
-        waitingPacketsQueue.add(mockedPacket);
-
-        new Expectations()
+        new NonStrictExpectations()
         {
             {
                 mockedPacket.getMessage();
                 result = mockedMessage;
-                mockedMessage.isExpired();
-                result = true;
+                mockedMessage.getExpiryTime();
+                result = 1;
             }
         };
 
+        waitingPacketsQueue.add(mockedPacket);
+        PacketExpiryIndex expiringPackets = Deencapsulation.getField(transport, "expiringPackets");
+        expiringPackets.add(mockedPacket);
+
         //act
         transport.sendMessages();
 
         //assert
         assertTrue(waitingPacketsQueue.isEmpty());
+        assertEquals(0, expiringPackets.size());
         assertTrue(callbackPacketsQueue.contains(mockedPacket));
         new Verifications()
         {
@@ -2650,7 +3033,7 @@ public class IotHubTransportTest
     }
 
     @Test
-    public void sendMessagesChecksForExpiredMessagesInInProgressPackets()
+    public void sendMessagesChecksExpiredPacketAgainOnceItIsInProgress()
     {
         //arrange
         new Expectations()
@@ -2664,24 +3047,76 @@ public class IotHubTransportTest
         IotHubTransport transport = new IotHubTransport(mockedConfig, mockedIotHubConnectionStatusChangeCallback, false);
         Map<String, IotHubTransportPacket> inProgressMessages = new HashMap<>();
         Queue<IotHubTransportPacket> callbackPacketsQueue = new ConcurrentLinkedQueue<>();
-        Queue<IotHubTransportPacket> waitingPacketsQueue = new ConcurrentLinkedQueue<>();
         Deencapsulation.setField(transport, "callbackPacketsQueue", callbackPacketsQueue);
         Deencapsulation.setField(transport, "inProgressPackets", inProgressMessages);
-        Deencapsulation.setField(transport, "waitingPacketsQueue", waitingPacketsQueue);
         Deencapsulation.setField(transport, "connectionStatus", CONNECTED);
 
+        new NonStrictExpectations()
+        {
+            {
+                mockedPacket.getMessage();
+                result = mockedMessage;
+                mockedMessage.getExpiryTime();
+                result = 1;
+                mockedMessage.getMessageId();
+                result = "someMessageId";
+            }
+        };
+
+        PacketExpiryIndex expiringPackets = Deencapsulation.getField(transport, "expiringPackets");
+        expiringPackets.add(mockedPacket);
+
+        //act
+        // The packet is being sent, so it is neither waiting nor in progress yet
+        transport.sendMessages();
+        boolean completedWhileBeingSent = callbackPacketsQueue.contains(mockedPacket);
         inProgressMessages.put("someMessageId", mockedPacket);
+        transport.sendMessages();
 
+        //assert
+        assertFalse(completedWhileBeingSent);
+        assertTrue(callbackPacketsQueue.contains(mockedPacket));
+        assertTrue(inProgressMessages.isEmpty());
+        assertEquals(0, expiringPackets.size());
+    }
+
+    @Test
+    public void sendMessagesChecksForExpiredMessagesInInProgressPackets()
+    {
+        //arrange
         new Expectations()
+        {
+            {
+                mockedConfig.getDeviceId();
+                result = "someDeviceId";
+            }
+        };
+
+        IotHubTransport transport = new IotHubTransport(mockedConfig, mockedIotHubConnectionStatusChangeCallback, false);
+        Map<String, IotHubTransportPacket> inProgressMessages = new HashMap<>();
+        Queue<IotHubTransportPacket> callbackPacketsQueue = new ConcurrentLinkedQueue<>();
+        DeviceRoundRobinPacketQueue waitingPacketsQueue = new DeviceRoundRobinPacketQueue();
+        Deencapsulation.setField(transport, "callbackPacketsQueue", callbackPacketsQueue);
+        Deencapsulation.setField(transport, "inProgressPackets", inProgressMessages);
+        Deencapsulation.setField(transport, "waitingPacketsQueue", waitingPacketsQueue);
+        Deencapsulation.setField(transport, "connectionStatus", CONNECTED);
+
+        new NonStrictExpectations()
         {
             {
                 mockedPacket.getMessage();
                 result = mockedMessage;
-                mockedMessage.isExpired();
-                result = true;
+                mockedMessage.getExpiryTime();
+                result = 1;
+                mockedMessage.getMessageId();
+                result = "someMessageId";
             }
         };
 
+        inProgressMessages.put("someMessageId", mockedPacket);
+        PacketExpiryIndex expiringPackets = Deencapsulation.getField(transport, "expiringPackets");
+        expiringPackets.add(mockedPacket);
+
         //act
         transport.sendMessages();
 
@@ -0,0 +1,198 @@
+// Copyright (c) Microsoft. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package com.microsoft.azure.sdk.iot.device.transport;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for MessageSentCallbackDispatcher.
+ */
+public class MessageSentCallbackDispatcherTest
+{
+    private static final long TIMEOUT_MILLISECONDS = 10000;
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructorThrowsForNullExecutor()
+    {
+        new MessageSentCallbackDispatcher(null);
+    }
+
+    @Test
+    public void callbacksForSameDeviceRunInOrder() throws InterruptedException
+    {
+        //arrange
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        MessageSentCallbackDispatcher dispatcher = new MessageSentCallbackDispatcher(executor);
+        final int callbackCount = 1000;
+        final List<Integer> invocationOrder = new ArrayList<>();
+        final CountDownLatch allInvoked = new CountDownLatch(callbackCount);
+
+        try
+        {
+            //act
+            for (int i = 0; i < callbackCount; i++)
+            {
+                final int callbackIndex = i;
+                dispatcher.dispatch("someDeviceId", () ->
+                {
+                    // Callbacks for the same device never run at the same time, so this list needs no lock
+                    invocationOrder.add(callbackIndex);
+                    allInvoked.countDown();
+                });
+            }
+
+            //assert
+            assertTrue(allInvoked.await(TIMEOUT_MILLISECONDS, TimeUnit.MILLISECONDS));
+            for (int i = 0; i < callbackCount; i++)
+            {
+                assertEquals(i, (int) invocationOrder.get(i));
+            }
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void callbacksForDifferentDevicesRunInParallel() throws InterruptedException
+    {
+        //arrange
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        MessageSentCallbackDispatcher dispatcher = new MessageSentCallbackDispatcher(executor);
+        final CountDownLatch bothRunning = new CountDownLatch(2);
+
+        try
+        {
+            //act
+            // Each callback waits for the other one, so this only finishes if they run at the same time
+            dispatcher.dispatch("device1", () -> awaitQuietly(bothRunning));
+            dispatcher.dispatch("device2", () -> awaitQuietly(bothRunning));
+
+            //assert
+            assertTrue(bothRunning.await(TIMEOUT_MILLISECONDS, TimeUnit.MILLISECONDS));
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void oneTaskPerDeviceIsSubmittedAtATime()
+    {
+        //arrange
+        final List<Runnable> submittedTasks = new ArrayList<>();
+        MessageSentCallbackDispatcher dispatcher = new MessageSentCallbackDispatcher(submittedTasks::add);
+        final int[] invocationCount = new int[1];
+
+        //act
+        for (int i = 0; i < 3; i++)
+        {
+            dispatcher.dispatch("someDeviceId", () -> invocationCount[0]++);
+        }
+
+        //assert
+        assertEquals(1, submittedTasks.size());
+        assertEquals(0, invocationCount[0]);
+        assertEquals(3, dispatcher.getPendingCallbackCount());
+
+        //act
+        submittedTasks.get(0).run();
+
+        //assert
+        assertEquals(3, invocationCount[0]);
+        assertEquals(0, dispatcher.getPendingCallbackCount());
+    }
+
+    @Test
+    public void longBacklogIsResubmittedInsteadOfDrainedAtOnce()
+    {
+        //arrange
+        final List<Runnable> submittedTasks = new ArrayList<>();
+        MessageSentCallbackDispatcher dispatcher = new MessageSentCallbackDispatcher(submittedTasks::add);
+        final int[] invocationCount = new int[1];
+        for (int i = 0; i < MessageSentCallbackDispatcher.MAX_CALLBACKS_PER_DRAIN + 1; i++)
+        {
+            dispatcher.dispatch("someDeviceId", () -> invocationCount[0]++);
+        }
+
+        //act
+        submittedTasks.get(0).run();
+
+        //assert
+        assertEquals(MessageSentCallbackDispatcher.MAX_CALLBACKS_PER_DRAIN, invocationCount[0]);
+        assertEquals(2, submittedTasks.size());
+
+        //act
+        submittedTasks.get(1).run();
+
+        //assert
+        assertEquals(MessageSentCallbackDispatcher.MAX_CALLBACKS_PER_DRAIN + 1, invocationCount[0]);
+        assertEquals(0, dispatcher.getPendingCallbackCount());
+    }
+
+    @Test
+    public void callbackThatThrowsDoesNotStopLaterCallbacks()
+    {
+        //arrange
+        final List<Runnable> submittedTasks = new ArrayList<>();
+        MessageSentCallbackDispatcher dispatcher = new MessageSentCallbackDispatcher(submittedTasks::add);
+        final boolean[] laterCallbackInvoked = new boolean[1];
+        dispatcher.dispatch("someDeviceId", () ->
+        {
+            throw new IllegalStateException("some exception");
+        });
+        dispatcher.dispatch("someDeviceId", () -> laterCallbackInvoked[0] = true);
+
+        //act
+        submittedTasks.get(0).run();
+
+        //assert
+        assertTrue(laterCallbackInvoked[0]);
+        assertEquals(0, dispatcher.getPendingCallbackCount());
+    }
+
+    @Test
+    public void callbacksRejectedByExecutorRunOnCallingThread()
+    {
+        //arrange
+        MessageSentCallbackDispatcher dispatcher = new MessageSentCallbackDispatcher(task ->
+        {
+            throw new RejectedExecutionException("some exception");
+        });
+        final Thread callingThread = Thread.currentThread();
+        final Thread[] invokingThread = new Thread[1];
+
+        //act
+        dispatcher.dispatch("someDeviceId", () -> invokingThread[0] = Thread.currentThread());
+
+        //assert
+        assertSame(callingThread, invokingThread[0]);
+        assertEquals(0, dispatcher.getPendingCallbackCount());
+    }
+
+    private static void awaitQuietly(CountDownLatch latch)
+    {
+        latch.countDown();
+        try
+        {
+            latch.await(TIMEOUT_MILLISECONDS, TimeUnit.MILLISECONDS);
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
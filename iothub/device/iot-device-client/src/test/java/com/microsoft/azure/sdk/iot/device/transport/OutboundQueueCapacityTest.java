@@ -0,0 +1,191 @@
+// Copyright (c) Microsoft. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package com.microsoft.azure.sdk.iot.device.transport;
+
+import com.microsoft.azure.sdk.iot.device.Message;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for OutboundQueueCapacity.
+ */
+public class OutboundQueueCapacityTest
+{
+    private static final long TIMEOUT_MILLISECONDS = 10000;
+
+    private static IotHubTransportPacket createPacket(int bodyLength)
+    {
+        return new IotHubTransportPacket(new Message(new byte[bodyLength]), null, null, null, System.currentTimeMillis(), "someDeviceId");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void setLimitsThrowsForNegativeLimits()
+    {
+        new OutboundQueueCapacity().setLimits(-1, 0);
+    }
+
+    @Test
+    public void tryAcquireAlwaysCountsWithoutLimits()
+    {
+        //arrange
+        OutboundQueueCapacity capacity = new OutboundQueueCapacity();
+
+        //act
+        for (int i = 0; i < 1000; i++)
+        {
+            assertTrue(capacity.tryAcquire(createPacket(10)));
+        }
+
+        //assert
+        assertEquals(1000, capacity.getMessageCount());
+        assertEquals(10000, capacity.getBytes());
+    }
+
+    @Test
+    public void tryAcquireRespectsMessageLimit()
+    {
+        //arrange
+        OutboundQueueCapacity capacity = new OutboundQueueCapacity();
+        capacity.setLimits(2, 0);
+
+        //act
+        boolean first = capacity.tryAcquire(createPacket(10));
+        boolean second = capacity.tryAcquire(createPacket(10));
+        boolean third = capacity.tryAcquire(createPacket(10));
+
+        //assert
+        assertTrue(first);
+        assertTrue(second);
+        assertFalse(third);
+        assertEquals(2, capacity.getMessageCount());
+    }
+
+    @Test
+    public void tryAcquireRespectsByteLimit()
+    {
+        //arrange
+        OutboundQueueCapacity capacity = new OutboundQueueCapacity();
+        capacity.setLimits(0, 100);
+
+        //act
+        boolean first = capacity.tryAcquire(createPacket(60));
+        boolean second = capacity.tryAcquire(createPacket(41));
+        boolean third = capacity.tryAcquire(createPacket(40));
+
+        //assert
+        assertTrue(first);
+        assertFalse(second);
+        assertTrue(third);
+        assertEquals(100, capacity.getBytes());
+    }
+
+    @Test
+    public void packetLargerThanByteLimitFitsWhenNothingElseIsCounted()
+    {
+        //arrange
+        OutboundQueueCapacity capacity = new OutboundQueueCapacity();
+        capacity.setLimits(0, 100);
+
+        //act
+        boolean acquired = capacity.tryAcquire(createPacket(1000));
+
+        //assert
+        assertTrue(acquired);
+    }
+
+    @Test
+    public void releaseOnlyStopsCountingPacketOnce()
+    {
+        //arrange
+        OutboundQueueCapacity capacity = new OutboundQueueCapacity();
+        IotHubTransportPacket packet = createPacket(10);
+        capacity.tryAcquire(packet);
+        capacity.tryAcquire(createPacket(10));
+
+        //act
+        capacity.release(packet);
+        capacity.release(packet);
+        capacity.release(createPacket(10));
+
+        //assert
+        assertEquals(1, capacity.getMessageCount());
+        assertEquals(10, capacity.getBytes());
+    }
+
+    @Test
+    public void acquireWaitsUntilPacketIsReleased() throws InterruptedException
+    {
+        //arrange
+        final OutboundQueueCapacity capacity = new OutboundQueueCapacity();
+        capacity.setLimits(1, 0);
+        IotHubTransportPacket queuedPacket = createPacket(10);
+        capacity.tryAcquire(queuedPacket);
+        final AtomicBoolean acquired = new AtomicBoolean();
+        final CountDownLatch acquireReturned = new CountDownLatch(1);
+        Thread sender = new Thread(() ->
+        {
+            try
+            {
+                acquired.set(capacity.acquire(createPacket(10), () -> false));
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+            }
+
+            acquireReturned.countDown();
+        });
+        sender.start();
+
+        //act
+        assertFalse(acquireReturned.await(100, TimeUnit.MILLISECONDS));
+        capacity.release(queuedPacket);
+
+        //assert
+        assertTrue(acquireReturned.await(TIMEOUT_MILLISECONDS, TimeUnit.MILLISECONDS));
+        assertTrue(acquired.get());
+        assertEquals(1, capacity.getMessageCount());
+    }
+
+    @Test
+    public void acquireStopsWaitingWhenWokenUpWithStopCondition() throws InterruptedException
+    {
+        //arrange
+        final OutboundQueueCapacity capacity = new OutboundQueueCapacity();
+        capacity.setLimits(1, 0);
+        capacity.tryAcquire(createPacket(10));
+        final AtomicBoolean stopWaiting = new AtomicBoolean();
+        final AtomicBoolean acquired = new AtomicBoolean(true);
+        final CountDownLatch acquireReturned = new CountDownLatch(1);
+        Thread sender = new Thread(() ->
+        {
+            try
+            {
+                acquired.set(capacity.acquire(createPacket(10), stopWaiting::get));
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+            }
+
+            acquireReturned.countDown();
+        });
+        sender.start();
+        assertFalse(acquireReturned.await(100, TimeUnit.MILLISECONDS));
+
+        //act
+        stopWaiting.set(true);
+        capacity.wakeUpWaitingSenders();
+
+        //assert
+        assertTrue(acquireReturned.await(TIMEOUT_MILLISECONDS, TimeUnit.MILLISECONDS));
+        assertFalse(acquired.get());
+        assertEquals(1, capacity.getMessageCount());
+    }
+}
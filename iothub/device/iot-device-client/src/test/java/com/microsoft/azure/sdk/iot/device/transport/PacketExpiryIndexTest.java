@@ -0,0 +1,135 @@
+// Copyright (c) Microsoft. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package com.microsoft.azure.sdk.iot.device.transport;
+
+import com.microsoft.azure.sdk.iot.device.Message;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for PacketExpiryIndex.
+ */
+public class PacketExpiryIndexTest
+{
+    private static IotHubTransportPacket createPacket(long absoluteExpiryTime)
+    {
+        Message message = new Message("test");
+        message.setAbsoluteExpiryTime(absoluteExpiryTime);
+        return new IotHubTransportPacket(message, null, null, null, System.currentTimeMillis(), "someDeviceId");
+    }
+
+    @Test
+    public void addIgnoresPacketsWithoutExpiryTime()
+    {
+        //arrange
+        PacketExpiryIndex index = new PacketExpiryIndex();
+
+        //act
+        index.add(createPacket(0));
+
+        //assert
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    public void addIgnoresPacketsAlreadyTracked()
+    {
+        //arrange
+        PacketExpiryIndex index = new PacketExpiryIndex();
+        IotHubTransportPacket packet = createPacket(1000);
+
+        //act
+        index.add(packet);
+        index.add(packet);
+
+        //assert
+        assertEquals(1, index.size());
+        assertEquals(1, index.getExpired(2000).size());
+    }
+
+    @Test
+    public void getExpiredReturnsOnlyExpiredPacketsInExpiryOrder()
+    {
+        //arrange
+        PacketExpiryIndex index = new PacketExpiryIndex();
+        IotHubTransportPacket expiresLast = createPacket(3000);
+        IotHubTransportPacket expiresFirst = createPacket(1000);
+        IotHubTransportPacket expiresSecond = createPacket(2000);
+        IotHubTransportPacket expiresSecondToo = createPacket(2000);
+        index.add(expiresLast);
+        index.add(expiresFirst);
+        index.add(expiresSecond);
+        index.add(expiresSecondToo);
+
+        //act
+        List<IotHubTransportPacket> expiredPackets = index.getExpired(2001);
+
+        //assert
+        assertEquals(3, expiredPackets.size());
+        assertSame(expiresFirst, expiredPackets.get(0));
+        assertSame(expiresSecond, expiredPackets.get(1));
+        assertSame(expiresSecondToo, expiredPackets.get(2));
+        assertEquals(4, index.size());
+    }
+
+    @Test
+    public void getExpiredDoesNotReturnPacketsExpiringAtCurrentTime()
+    {
+        //arrange
+        PacketExpiryIndex index = new PacketExpiryIndex();
+        index.add(createPacket(1000));
+
+        //act
+        List<IotHubTransportPacket> expiredPackets = index.getExpired(1000);
+
+        //assert
+        assertTrue(expiredPackets.isEmpty());
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    public void removeStopsTrackingPacket()
+    {
+        //arrange
+        PacketExpiryIndex index = new PacketExpiryIndex();
+        IotHubTransportPacket removedPacket = createPacket(1000);
+        IotHubTransportPacket keptPacket = createPacket(1000);
+        index.add(removedPacket);
+        index.add(keptPacket);
+
+        //act
+        index.remove(removedPacket);
+
+        //assert
+        List<IotHubTransportPacket> expiredPackets = index.getExpired(2000);
+        assertEquals(1, expiredPackets.size());
+        assertSame(keptPacket, expiredPackets.get(0));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    public void getExpiredKeepsReturningPacketsUntilTheyAreRemoved()
+    {
+        //arrange
+        PacketExpiryIndex index = new PacketExpiryIndex();
+        IotHubTransportPacket packet = createPacket(1000);
+        index.add(packet);
+
+        //act
+        // As if the packet was being sent the first time it was found expired
+        List<IotHubTransportPacket> firstExpiredPackets = index.getExpired(2000);
+        List<IotHubTransportPacket> secondExpiredPackets = index.getExpired(3000);
+        index.remove(packet);
+
+        //assert
+        assertEquals(1, firstExpiredPackets.size());
+        assertEquals(1, secondExpiredPackets.size());
+        assertSame(packet, secondExpiredPackets.get(0));
+        assertTrue(index.getExpired(4000).isEmpty());
+        assertEquals(0, index.size());
+    }
+}
@@ -0,0 +1,292 @@
+// Copyright (c) Microsoft. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package com.microsoft.azure.sdk.iot.device.transport;
+
+import com.microsoft.azure.sdk.iot.device.MessageType;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for ReceivedMessageBuffer.
+ */
+public class ReceivedMessageBufferTest
+{
+    private static IotHubTransportMessage createMessage(int bodyLength)
+    {
+        return new IotHubTransportMessage(new byte[bodyLength], MessageType.DEVICE_TELEMETRY);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void setLimitsThrowsForNegativeMessageLimit()
+    {
+        new ReceivedMessageBuffer().setLimits(-1, 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void setLimitsThrowsForNegativeByteLimit()
+    {
+        new ReceivedMessageBuffer().setLimits(0, -1);
+    }
+
+    @Test
+    public void bufferWithoutLimitsIsNeverFull()
+    {
+        //arrange
+        ReceivedMessageBuffer buffer = new ReceivedMessageBuffer();
+
+        //act
+        for (int i = 0; i < 10000; i++)
+        {
+            buffer.add(createMessage(1024));
+        }
+
+        //assert
+        assertFalse(buffer.isFull());
+        assertEquals(Integer.MAX_VALUE, buffer.getRemainingMessageCapacity());
+    }
+
+    @Test
+    public void addAndReleaseTrackMessagesAndBytes()
+    {
+        //arrange
+        ReceivedMessageBuffer buffer = new ReceivedMessageBuffer();
+        IotHubTransportMessage message = createMessage(100);
+
+        //act
+        buffer.add(message);
+        buffer.add(createMessage(50));
+
+        //assert
+        assertEquals(2, buffer.getBufferedMessageCount());
+        assertEquals(150, buffer.getBufferedBytes());
+
+        //act
+        buffer.release(buffer.poll());
+
+        //assert
+        assertEquals(1, buffer.getBufferedMessageCount());
+        assertEquals(50, buffer.getBufferedBytes());
+    }
+
+    @Test
+    public void polledMessagesStayCountedUntilReleased()
+    {
+        //arrange
+        ReceivedMessageBuffer buffer = new ReceivedMessageBuffer();
+        buffer.setLimits(1, 0);
+        buffer.add(createMessage(10));
+
+        //act
+        IotHubTransportMessage message = buffer.poll();
+
+        //assert
+        assertFalse(buffer.hasMessagesToHandle());
+        assertTrue(buffer.isFull());
+
+        //act
+        buffer.release(message);
+
+        //assert
+        assertFalse(buffer.isFull());
+    }
+
+    @Test
+    public void bufferIsFullAtMessageLimit()
+    {
+        //arrange
+        ReceivedMessageBuffer buffer = new ReceivedMessageBuffer();
+        buffer.setLimits(3, 0);
+
+        //act
+        buffer.add(createMessage(10));
+        buffer.add(createMessage(10));
+
+        //assert
+        assertFalse(buffer.isFull());
+        assertEquals(1, buffer.getRemainingMessageCapacity());
+
+        //act
+        buffer.add(createMessage(10));
+
+        //assert
+        assertTrue(buffer.isFull());
+        assertEquals(0, buffer.getRemainingMessageCapacity());
+    }
+
+    @Test
+    public void bufferIsFullAtByteLimit()
+    {
+        //arrange
+        ReceivedMessageBuffer buffer = new ReceivedMessageBuffer();
+        buffer.setLimits(100, 1000);
+
+        //act
+        buffer.add(createMessage(999));
+
+        //assert
+        assertFalse(buffer.isFull());
+        assertEquals(99, buffer.getRemainingMessageCapacity());
+
+        //act
+        buffer.add(createMessage(1));
+
+        //assert
+        assertTrue(buffer.isFull());
+        assertEquals(0, buffer.getRemainingMessageCapacity());
+    }
+
+    @Test
+    public void messagesAddedWhileFullAreStillBuffered()
+    {
+        //arrange
+        ReceivedMessageBuffer buffer = new ReceivedMessageBuffer();
+        buffer.setLimits(1, 0);
+        buffer.add(createMessage(10));
+
+        //act
+        buffer.add(createMessage(10));
+
+        //assert
+        assertEquals(2, buffer.getBufferedMessageCount());
+        assertEquals(0, buffer.getRemainingMessageCapacity());
+        assertNotNull(buffer.poll());
+        assertNotNull(buffer.poll());
+    }
+
+    @Test
+    public void reservedCreditNeverExceedsRemainingCapacity()
+    {
+        //arrange
+        ReceivedMessageBuffer buffer = new ReceivedMessageBuffer();
+        buffer.setLimits(10, 0);
+        buffer.add(createMessage(10));
+
+        //act
+        int firstLinkCredit = buffer.reserveCredit(1024);
+        int secondLinkCredit = buffer.reserveCredit(1024);
+
+        //assert
+        assertEquals(9, firstLinkCredit);
+        assertEquals(0, secondLinkCredit);
+        assertEquals(9, buffer.getReservedCredit());
+    }
+
+    @Test
+    public void releasedCreditCanBeReservedAgain()
+    {
+        //arrange
+        ReceivedMessageBuffer buffer = new ReceivedMessageBuffer();
+        buffer.setLimits(10, 0);
+        buffer.reserveCredit(6);
+        buffer.reserveCredit(4);
+
+        //act
+        buffer.releaseCredit(3);
+        int credit = buffer.reserveCredit(1024);
+
+        //assert
+        assertEquals(3, credit);
+
+        //act
+        buffer.releaseAllCredit();
+
+        //assert
+        assertEquals(0, buffer.getReservedCredit());
+        assertEquals(10, buffer.reserveCredit(1024));
+    }
+
+    @Test
+    public void creditIsNotLimitedWithoutMessageLimit()
+    {
+        //arrange
+        ReceivedMessageBuffer buffer = new ReceivedMessageBuffer();
+
+        //act
+        int firstLinkCredit = buffer.reserveCredit(1024);
+        int secondLinkCredit = buffer.reserveCredit(1024);
+
+        //assert
+        assertEquals(1024, firstLinkCredit);
+        assertEquals(1024, secondLinkCredit);
+    }
+
+    @Test
+    public void noCreditIsReservedWhileFull()
+    {
+        //arrange
+        ReceivedMessageBuffer buffer = new ReceivedMessageBuffer();
+        buffer.setLimits(0, 10);
+        buffer.add(createMessage(10));
+
+        //act
+        int credit = buffer.reserveCredit(1024);
+
+        //assert
+        assertEquals(0, credit);
+    }
+
+    @Test
+    public void releaseStopsCountingWhatWasAddedEvenIfBodyChanged()
+    {
+        //arrange
+        ReceivedMessageBuffer buffer = new ReceivedMessageBuffer();
+        AtomicInteger bodyLength = new AtomicInteger(100);
+        IotHubTransportMessage message = new IotHubTransportMessage(new byte[100], MessageType.DEVICE_TELEMETRY)
+        {
+            @Override
+            public int getBodyLength()
+            {
+                return bodyLength.get();
+            }
+        };
+        buffer.add(message);
+        buffer.add(createMessage(50));
+
+        //act
+        // As if the body had been decompressed by its callback
+        bodyLength.set(1000);
+        buffer.release(buffer.poll());
+
+        //assert
+        assertEquals(50, buffer.getBufferedBytes());
+    }
+
+    @Test
+    public void messageAddedBackBeforeReleaseIsCountedAtItsNewLength()
+    {
+        //arrange
+        ReceivedMessageBuffer buffer = new ReceivedMessageBuffer();
+        AtomicInteger bodyLength = new AtomicInteger(100);
+        IotHubTransportMessage message = new IotHubTransportMessage(new byte[100], MessageType.DEVICE_TELEMETRY)
+        {
+            @Override
+            public int getBodyLength()
+            {
+                return bodyLength.get();
+            }
+        };
+        buffer.add(message);
+        IotHubTransportMessage takenMessage = buffer.poll();
+
+        //act
+        // As if the body had been decompressed by its callback, and its acknowledgement then failed to be sent
+        bodyLength.set(1000);
+        buffer.add(takenMessage);
+        buffer.release(takenMessage);
+
+        //assert
+        assertEquals(1, buffer.getBufferedMessageCount());
+        assertEquals(1000, buffer.getBufferedBytes());
+
+        //act
+        buffer.release(buffer.poll());
+
+        //assert
+        assertEquals(0, buffer.getBufferedMessageCount());
+        assertEquals(0, buffer.getBufferedBytes());
+    }
+}
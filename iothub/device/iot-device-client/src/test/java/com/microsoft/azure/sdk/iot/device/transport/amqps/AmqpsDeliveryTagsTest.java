@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) Microsoft. All rights reserved.
+ * Licensed under the MIT license. See LICENSE file in the project root for full license information.
+ */
+package com.microsoft.azure.sdk.iot.device.transport.amqps;
+
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for AmqpsDeliveryTags
+ */
+public class AmqpsDeliveryTagsTest
+{
+    @Test
+    public void toBytesMatchesDecimalString()
+    {
+        int[] deliveryTags = {0, 7, 10, 56, 999, 1000, 123456789, Integer.MAX_VALUE};
+
+        for (int deliveryTag : deliveryTags)
+        {
+            //act
+            byte[] actualBytes = AmqpsDeliveryTags.toBytes(deliveryTag);
+
+            //assert
+            assertArrayEquals(String.valueOf(deliveryTag).getBytes(StandardCharsets.UTF_8), actualBytes);
+        }
+    }
+
+    @Test
+    public void toIntReversesToBytes()
+    {
+        int[] deliveryTags = {0, 7, 10, 56, 999, 1000, 123456789, Integer.MAX_VALUE};
+
+        for (int deliveryTag : deliveryTags)
+        {
+            //act
+            int actualDeliveryTag = AmqpsDeliveryTags.toInt(AmqpsDeliveryTags.toBytes(deliveryTag));
+
+            //assert
+            assertEquals(deliveryTag, actualDeliveryTag);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void toBytesThrowsForNegativeDeliveryTag()
+    {
+        //act
+        AmqpsDeliveryTags.toBytes(-1);
+    }
+
+    @Test(expected = NumberFormatException.class)
+    public void toIntThrowsForNonDigits()
+    {
+        //act
+        AmqpsDeliveryTags.toInt("12a".getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test(expected = NumberFormatException.class)
+    public void toIntThrowsForEmptyDeliveryTag()
+    {
+        //act
+        AmqpsDeliveryTags.toInt(new byte[0]);
+    }
+
+    @Test(expected = NumberFormatException.class)
+    public void toIntThrowsIfDeliveryTagDoesNotFitInAnInt()
+    {
+        //act
+        AmqpsDeliveryTags.toInt("2147483648".getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -72,6 +72,7 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static junit.framework.TestCase.*;
 import static org.junit.Assert.assertFalse;
@@ -1146,6 +1147,170 @@ public class AmqpsIotHubConnectionTest {
         assertEquals(1, messagesToSend.size());
     }
 
+    @Test
+    public void sendMessageDoesNotWakeReactorIfNotEventDrivenSend() throws TransportException
+    {
+        //arrange
+        baseExpectations();
+        new NonStrictExpectations()
+        {
+            {
+                mockConfig.isAmqpEventDrivenSend();
+                result = false;
+            }
+        };
+
+        final AmqpsIotHubConnection connection = new AmqpsIotHubConnection(mockConfig, "");
+        Deencapsulation.setField(connection, "reactor", mockReactor);
+
+        //act
+        connection.sendMessage(mockIoTMessage);
+        connection.sendMessageResult(mockedTransportMessage, IotHubMessageResult.COMPLETE);
+
+        //assert
+        new Verifications()
+        {
+            {
+                mockReactor.wakeup();
+                times = 0;
+            }
+        };
+    }
+
+    @Test
+    public void sendMessageWakesReactorOnceUntilQueuesAreDrained() throws TransportException
+    {
+        //arrange
+        baseExpectations();
+        new NonStrictExpectations()
+        {
+            {
+                mockConfig.isAmqpEventDrivenSend();
+                result = true;
+            }
+        };
+
+        final AmqpsIotHubConnection connection = new AmqpsIotHubConnection(mockConfig, "");
+        Deencapsulation.setField(connection, "reactor", mockReactor);
+
+        //act
+        connection.sendMessage(mockIoTMessage);
+        connection.sendMessage(mockIoTMessage);
+        connection.sendMessageResult(mockedTransportMessage, IotHubMessageResult.COMPLETE);
+
+        //assert
+        new Verifications()
+        {
+            {
+                mockReactor.wakeup();
+                times = 1;
+            }
+        };
+    }
+
+    @Test
+    public void onReactorQuiescedSendsQueuedMessagesAfterWakeup() throws TransportException
+    {
+        //arrange
+        Queue<com.microsoft.azure.sdk.iot.device.Message> messagesToSend = new ConcurrentLinkedQueue<>();
+        baseExpectations();
+        new NonStrictExpectations()
+        {
+            {
+                mockConfig.isAmqpEventDrivenSend();
+                result = true;
+                mockIoTMessage.getConnectionDeviceId();
+                result = deviceId;
+            }
+        };
+
+        final AmqpsIotHubConnection connection = new AmqpsIotHubConnection(mockConfig, "");
+        Deencapsulation.setField(connection, "reactor", mockReactor);
+        Deencapsulation.setField(connection, "messagesToSend", messagesToSend);
+        Deencapsulation.setField(connection, "listener", mockedIotHubListener);
+        connection.sendMessage(mockIoTMessage);
+
+        //act
+        connection.onReactorQuiesced(mockEvent);
+
+        //assert
+        assertEquals(0, messagesToSend.size());
+        AtomicBoolean reactorWakeupPending = Deencapsulation.getField(connection, "reactorWakeupPending");
+        assertFalse(reactorWakeupPending.get());
+
+        // the reactor must be woken again for the next message once the queue has been drained
+        connection.sendMessage(mockIoTMessage);
+        new Verifications()
+        {
+            {
+                mockReactor.wakeup();
+                times = 2;
+            }
+        };
+    }
+
+    @Test
+    public void onReactorQuiescedWakesReactorAgainIfMessagesAreLeftAfterDrain() throws TransportException
+    {
+        //arrange
+        Queue<com.microsoft.azure.sdk.iot.device.Message> messagesToSend = new ConcurrentLinkedQueue<>();
+        baseExpectations();
+        new NonStrictExpectations()
+        {
+            {
+                mockConfig.isAmqpEventDrivenSend();
+                result = true;
+                mockIoTMessage.getConnectionDeviceId();
+                result = deviceId;
+            }
+        };
+
+        final AmqpsIotHubConnection connection = new AmqpsIotHubConnection(mockConfig, "");
+        Deencapsulation.setField(connection, "reactor", mockReactor);
+        Deencapsulation.setField(connection, "messagesToSend", messagesToSend);
+        Deencapsulation.setField(connection, "listener", mockedIotHubListener);
+        int maxMessagesToSendPerCallback = Deencapsulation.getField(AmqpsIotHubConnection.class, "MAX_MESSAGES_TO_SEND_PER_CALLBACK");
+        for (int i = 0; i < maxMessagesToSendPerCallback + 1; i++)
+        {
+            messagesToSend.add(mockIoTMessage);
+        }
+
+        connection.sendMessageResult(mockedTransportMessage, IotHubMessageResult.COMPLETE);
+
+        //act
+        connection.onReactorQuiesced(mockEvent);
+
+        //assert
+        assertEquals(1, messagesToSend.size());
+        AtomicBoolean reactorWakeupPending = Deencapsulation.getField(connection, "reactorWakeupPending");
+        assertTrue(reactorWakeupPending.get());
+        new Verifications()
+        {
+            {
+                mockReactor.wakeup();
+                times = 2;
+            }
+        };
+    }
+
+    @Test
+    public void onReactorQuiescedDoesNotSendIfNotWoken() throws TransportException
+    {
+        //arrange
+        Queue<com.microsoft.azure.sdk.iot.device.Message> messagesToSend = new ConcurrentLinkedQueue<>();
+        messagesToSend.add(mockIoTMessage);
+        baseExpectations();
+
+        final AmqpsIotHubConnection connection = new AmqpsIotHubConnection(mockConfig, "");
+        Deencapsulation.setField(connection, "messagesToSend", messagesToSend);
+
+        //act
+        connection.onReactorQuiesced(mockEvent);
+
+        //assert
+        assertEquals(1, messagesToSend.size());
+    }
+
     // Tests_SRS_AMQPSTRANSPORT_34_094: [This function shall return the saved connection id.]
     @Test
     public void getConnectionIdReturnsSavedConnectionId() throws TransportException
@@ -0,0 +1,138 @@
+// Copyright (c) Microsoft. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package com.microsoft.azure.sdk.iot.device.transport.amqps;
+
+import com.microsoft.azure.sdk.iot.device.transport.ReceivedMessageBuffer;
+import mockit.Expectations;
+import mockit.Mocked;
+import mockit.Verifications;
+import org.apache.qpid.proton.engine.Receiver;
+import org.junit.Test;
+
+/**
+ * Unit tests for LoggingFlowController.
+ */
+public class LoggingFlowControllerTest
+{
+    private static final int WINDOW = 1024;
+
+    @Mocked
+    Receiver mockReceiver;
+
+    @Mocked
+    ReceivedMessageBuffer mockReceivedMessageBuffer;
+
+    @Test
+    public void topupFlowsFullWindowWithoutBuffer()
+    {
+        //arrange
+        new Expectations()
+        {
+            {
+                mockReceiver.getCredit();
+                result = 24;
+            }
+        };
+        LoggingFlowController flowController = new LoggingFlowController("someLinkCorrelationId");
+
+        //act
+        flowController.topup(mockReceiver);
+
+        //assert
+        new Verifications()
+        {
+            {
+                mockReceiver.flow(WINDOW - 24);
+                times = 1;
+            }
+        };
+    }
+
+    @Test
+    public void topupFlowsNoMoreThanBufferCapacity()
+    {
+        //arrange
+        new Expectations()
+        {
+            {
+                mockReceiver.getCredit();
+                result = 2;
+                mockReceivedMessageBuffer.reserveCredit(WINDOW - 2);
+                result = 8;
+            }
+        };
+        LoggingFlowController flowController = new LoggingFlowController("someLinkCorrelationId", mockReceivedMessageBuffer);
+
+        //act
+        flowController.topup(mockReceiver);
+
+        //assert
+        new Verifications()
+        {
+            {
+                mockReceiver.flow(8);
+                times = 1;
+            }
+        };
+    }
+
+    @Test
+    public void topupFlowsNothingWhileBufferIsFull()
+    {
+        //arrange
+        new Expectations()
+        {
+            {
+                mockReceiver.getCredit();
+                result = 0;
+                mockReceivedMessageBuffer.reserveCredit(WINDOW);
+                result = 0;
+            }
+        };
+        LoggingFlowController flowController = new LoggingFlowController("someLinkCorrelationId", mockReceivedMessageBuffer);
+
+        //act
+        flowController.topup(mockReceiver);
+
+        //assert
+        new Verifications()
+        {
+            {
+                mockReceiver.flow(anyInt);
+                times = 0;
+            }
+        };
+    }
+
+    @Test
+    public void topupReleasesCreditUsedByDeliveries()
+    {
+        //arrange
+        new Expectations()
+        {
+            {
+                mockReceiver.getCredit();
+                returns(0, 5);
+                mockReceivedMessageBuffer.reserveCredit(WINDOW);
+                result = 10;
+                mockReceivedMessageBuffer.reserveCredit(WINDOW - 5);
+                result = 0;
+            }
+        };
+        LoggingFlowController flowController = new LoggingFlowController("someLinkCorrelationId", mockReceivedMessageBuffer);
+        flowController.topup(mockReceiver);
+
+        //act
+        flowController.topup(mockReceiver);
+
+        //assert
+        new Verifications()
+        {
+            {
+                mockReceivedMessageBuffer.releaseCredit(5);
+                times = 1;
+            }
+        };
+    }
+}
@@ -0,0 +1,80 @@
+// Copyright (c) Microsoft. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package com.microsoft.azure.sdk.iot.device.transport.https;
+
+import mockit.Mocked;
+import mockit.NonStrictExpectations;
+import mockit.Verifications;
+import org.junit.Test;
+
+import javax.net.ssl.SSLSocketFactory;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertEquals;
+
+/** Unit tests for HandshakeCountingSSLSocketFactory. */
+public class HandshakeCountingSSLSocketFactoryTest
+{
+    @Mocked
+    SSLSocketFactory mockDelegate;
+
+    @Mocked
+    Socket mockSocket;
+
+    @Mocked
+    InetAddress mockAddress;
+
+    @Test
+    public void createSocketCountsEachSocket() throws IOException
+    {
+        AtomicLong handshakeCount = new AtomicLong();
+        HandshakeCountingSSLSocketFactory socketFactory = new HandshakeCountingSSLSocketFactory(mockDelegate, handshakeCount);
+
+        socketFactory.createSocket();
+        socketFactory.createSocket(mockSocket, "localhost", 443, true);
+        socketFactory.createSocket("localhost", 443);
+        socketFactory.createSocket("localhost", 443, mockAddress, 0);
+        socketFactory.createSocket(mockAddress, 443);
+        socketFactory.createSocket(mockAddress, 443, mockAddress, 0);
+
+        assertEquals(6, handshakeCount.get());
+        new Verifications()
+        {
+            {
+                mockDelegate.createSocket();
+                times = 1;
+                mockDelegate.createSocket(mockSocket, "localhost", 443, true);
+                times = 1;
+            }
+        };
+    }
+
+    @Test
+    public void createSocketDoesNotCountFailedSockets() throws IOException
+    {
+        AtomicLong handshakeCount = new AtomicLong();
+        HandshakeCountingSSLSocketFactory socketFactory = new HandshakeCountingSSLSocketFactory(mockDelegate, handshakeCount);
+        new NonStrictExpectations()
+        {
+            {
+                mockDelegate.createSocket();
+                result = new IOException("connection refused");
+            }
+        };
+
+        try
+        {
+            socketFactory.createSocket();
+        }
+        catch (IOException expected)
+        {
+            // expected
+        }
+
+        assertEquals(0, handshakeCount.get());
+    }
+}
@@ -54,7 +54,7 @@ public class HttpsBatchMessageTest
         new NonStrictExpectations()
         {
             {
-                mockMsg.getBody();
+                mockMsg.getBodyWithoutCopy();
                 result = msgBody.getBytes(StandardCharsets.UTF_8);
             }
         };
@@ -78,7 +78,7 @@ public class HttpsBatchMessageTest
         new NonStrictExpectations()
         {
             {
-                mockMsg.getBody();
+                mockMsg.getBodyWithoutCopy();
                 result = msgBody.getBytes(StandardCharsets.UTF_8);
             }
         };
@@ -139,7 +139,7 @@ public class HttpsBatchMessageTest
         new NonStrictExpectations()
         {
             {
-                mockMsg.getBody();
+                mockMsg.getBodyWithoutCopy();
                 result = msgBody.getBytes(StandardCharsets.UTF_8);
                 mockMsg.getProperties();
                 result = properties;
@@ -274,7 +274,7 @@ public class HttpsBatchMessageTest
         new NonStrictExpectations()
         {
             {
-                mockMsg.getBody();
+                mockMsg.getBodyWithoutCopy();
                 result = msgBody.getBytes(StandardCharsets.UTF_8);
             }
         };
@@ -303,7 +303,7 @@ public class HttpsBatchMessageTest
         new NonStrictExpectations()
         {
             {
-                mockMsg.getBody();
+                mockMsg.getBodyWithoutCopy();
                 result = validSizeBody;
             }
         };
@@ -13,6 +13,7 @@ import org.junit.Test;
 import javax.net.ssl.HttpsURLConnection;
 import javax.net.ssl.SSLContext;
 import javax.net.ssl.SSLSocketFactory;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.*;
@@ -566,8 +567,7 @@ public class HttpsConnectionTest
 
     // Tests_SRS_HTTPSCONNECTION_11_011: [The function shall read from the input stream (response stream) and return the response.]
     @Test
-    public void readInputCompletelyReadsInputStream(
-            @Mocked final InputStream mockIs) throws IOException, TransportException
+    public void readInputCompletelyReadsInputStream() throws IOException, TransportException
     {
         final HttpsMethod httpsMethod = HttpsMethod.GET;
         new NonStrictExpectations()
@@ -580,9 +580,7 @@ public class HttpsConnectionTest
                 mockUrlConn.getRequestMethod();
                 result = httpsMethod.name();
                 mockUrlConn.getInputStream();
-                result = mockIs;
-                mockIs.read();
-                returns(1, 2, 3, -1);
+                result = new ByteArrayInputStream(new byte[] { 1, 2, 3 });
             }
         };
         HttpsConnection conn = new HttpsConnection(mockUrl, httpsMethod);
@@ -594,6 +592,45 @@ public class HttpsConnectionTest
         assertThat(testResponse, is(expectedResponse));
     }
 
+    // Tests_SRS_HTTPSCONNECTION_11_011: [The function shall read from the input stream (response stream) and return the response.]
+    @Test
+    public void readInputReadsWholeStreamRegardlessOfContentLength() throws IOException, TransportException
+    {
+        final HttpsMethod httpsMethod = HttpsMethod.GET;
+        final byte[] expectedResponse = new byte[20000];
+        for (int i = 0; i < expectedResponse.length; i++)
+        {
+            expectedResponse[i] = (byte) i;
+        }
+
+        // Content-Length that is unknown, smaller than, equal to and larger than the actual body
+        final int[] contentLengths = { -1, 0, 3, expectedResponse.length, expectedResponse.length * 2 };
+        for (final int contentLength : contentLengths)
+        {
+            new NonStrictExpectations()
+            {
+                {
+                    mockUrl.getProtocol();
+                    result = "https";
+                    mockUrl.openConnection();
+                    result = mockUrlConn;
+                    mockUrlConn.getRequestMethod();
+                    result = httpsMethod.name();
+                    mockUrlConn.getContentLength();
+                    result = contentLength;
+                    mockUrlConn.getInputStream();
+                    result = new ByteArrayInputStream(expectedResponse);
+                }
+            };
+            HttpsConnection conn = new HttpsConnection(mockUrl, httpsMethod);
+            conn.connect();
+
+            byte[] testResponse = conn.readInput();
+
+            assertThat(testResponse, is(expectedResponse));
+        }
+    }
+
     // Tests_SRS_HTTPSCONNECTION_11_019: [The function shall close the input stream after it has been completely read.]
     @Test
     public void readInputClosesStreamIfExceptionWhileReading(
@@ -611,7 +648,7 @@ public class HttpsConnectionTest
                 result = httpsMethod.name();
                 mockUrlConn.getInputStream();
                 result = mockIs;
-                mockIs.read();
+                mockIs.read((byte[]) any, anyInt, anyInt);
                 result = new TransportException("This is a test exception");
             }
         };
@@ -715,7 +752,7 @@ public class HttpsConnectionTest
                 result = httpsMethod.name();
                 mockUrlConn.getInputStream();
                 result = mockIs;
-                mockIs.read();
+                mockIs.read((byte[]) any, anyInt, anyInt);
                 result = -1;
             }
         };
@@ -734,8 +771,7 @@ public class HttpsConnectionTest
 
     // Tests_SRS_HTTPSCONNECTION_11_013: [The function shall read from the error stream and return the response.]
     @Test
-    public void readErrorCompletelyReadsErrorStream(
-            @Mocked final InputStream mockIs) throws IOException, TransportException
+    public void readErrorCompletelyReadsErrorStream() throws IOException, TransportException
     {
         final HttpsMethod httpsMethod = HttpsMethod.GET;
         new NonStrictExpectations()
@@ -748,9 +784,7 @@ public class HttpsConnectionTest
                 mockUrlConn.getRequestMethod();
                 result = httpsMethod.name();
                 mockUrlConn.getErrorStream();
-                result = mockIs;
-                mockIs.read();
-                returns(1, 2, 3, -1);
+                result = new ByteArrayInputStream(new byte[] { 1, 2, 3 });
             }
         };
         HttpsConnection conn = new HttpsConnection(mockUrl, httpsMethod);
@@ -779,7 +813,7 @@ public class HttpsConnectionTest
                 result = httpsMethod.name();
                 mockUrlConn.getErrorStream();
                 result = mockIs;
-                mockIs.read();
+                mockIs.read((byte[]) any, anyInt, anyInt);
                 result = new TransportException("This is a test exception");
             }
         };
@@ -872,7 +906,7 @@ public class HttpsConnectionTest
                 result = httpsMethod.name();
                 mockUrlConn.getErrorStream();
                 result = mockIs;
-                mockIs.read();
+                mockIs.read((byte[]) any, anyInt, anyInt);
                 result = -1;
             }
         };
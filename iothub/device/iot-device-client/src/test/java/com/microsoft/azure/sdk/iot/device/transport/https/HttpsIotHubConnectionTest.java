@@ -14,8 +14,10 @@ import org.junit.Before;
 import org.junit.Test;
 
 import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSocketFactory;
 import java.io.IOException;
 import java.net.URL;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
@@ -136,7 +138,7 @@ public class HttpsIotHubConnectionTest
         new NonStrictExpectations()
         {
             {
-                mockMsg.getBody();
+                mockMsg.getBodyWithoutCopy();
                 result = body;
             }
         };
@@ -161,7 +163,7 @@ public class HttpsIotHubConnectionTest
         new NonStrictExpectations()
         {
             {
-                mockMsg.getBody();
+                mockMsg.getBodyWithoutCopy();
                 result = body;
 
                 mockConfig.getProxySettings();
@@ -270,6 +272,79 @@ public class HttpsIotHubConnectionTest
         };
     }
 
+    @Test
+    public void sendEventWithKeepAliveReusesSocketFactory(@Mocked final IotHubEventUri mockUri,
+                                                          @Mocked final SSLContext mockContext) throws IOException, TransportException
+    {
+        final List<SSLSocketFactory> socketFactories = new ArrayList<>();
+        new NonStrictExpectations()
+        {
+            {
+                mockConfig.isHttpsKeepAlive();
+                result = true;
+                mockConfig.getProxySettings();
+                result = null;
+                mockConfig.getAuthenticationProvider().getSSLContext();
+                result = mockContext;
+            }
+        };
+
+        HttpsIotHubConnection conn = new HttpsIotHubConnection(mockConfig);
+        conn.setListener(mockedListener);
+        conn.sendMessage(mockedMessage);
+        conn.sendMessage(mockedMessage);
+
+        new Verifications()
+        {
+            {
+                mockRequest.setSSLSocketFactory(withCapture(socketFactories));
+                times = 2;
+                mockRequest.setSSLContext((SSLContext) any);
+                times = 0;
+                mockContext.getSocketFactory();
+                times = 1;
+            }
+        };
+        assertSame(socketFactories.get(0), socketFactories.get(1));
+        assertTrue(socketFactories.get(0) instanceof HandshakeCountingSSLSocketFactory);
+        assertEquals(2, conn.getRequestCount());
+        assertEquals(0, conn.getHandshakeCount());
+        assertEquals(2, conn.getHandshakesAvoided());
+    }
+
+    @Test
+    public void sendEventWithKeepAliveRecreatesSocketFactoryWhenSSLContextChanges(@Mocked final IotHubEventUri mockUri,
+                                                                                  @Mocked final SSLContext mockContext,
+                                                                                  @Mocked final SSLContext mockRenewedContext) throws IOException, TransportException
+    {
+        final List<SSLSocketFactory> socketFactories = new ArrayList<>();
+        new NonStrictExpectations()
+        {
+            {
+                mockConfig.isHttpsKeepAlive();
+                result = true;
+                mockConfig.getProxySettings();
+                result = null;
+                mockConfig.getAuthenticationProvider().getSSLContext();
+                returns(mockContext, mockRenewedContext);
+            }
+        };
+
+        HttpsIotHubConnection conn = new HttpsIotHubConnection(mockConfig);
+        conn.setListener(mockedListener);
+        conn.sendMessage(mockedMessage);
+        conn.sendMessage(mockedMessage);
+
+        new Verifications()
+        {
+            {
+                mockRequest.setSSLSocketFactory(withCapture(socketFactories));
+                times = 2;
+            }
+        };
+        assertNotSame(socketFactories.get(0), socketFactories.get(1));
+    }
+
     // Tests_SRS_HTTPSIOTHUBCONNECTION_11_007: [The function shall set the header field 'authorization' to be a valid SAS token generated from the configuration parameters.]
     @Test
     public void sendEventSetsAuthToSasToken(@Mocked final IotHubEventUri mockUri) throws IOException, TransportException
@@ -11,6 +11,7 @@ import org.junit.Assert;
 import org.junit.Test;
 
 import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSocketFactory;
 import java.io.IOException;
 import java.net.MalformedURLException;
 import java.net.URL;
@@ -313,6 +314,127 @@ public class HttpsRequestTest
         assertThat(testBody, is(responseBody));
     }
 
+    @Test
+    public void sendDoesNotReadErrorWithoutSocketFactory(@Mocked final HttpsConnection mockConn) throws TransportException, MalformedURLException {
+        final HttpsMethod httpsMethod = HttpsMethod.GET;
+        final byte[] requestBody = new byte[0];
+        final URL mockUrl = new URL("https://www.microsoft.com");
+        new NonStrictExpectations()
+        {
+            {
+                mockConn.getResponseStatus();
+                result = 404;
+            }
+        };
+
+        HttpsRequest request =
+                new HttpsRequest(mockUrl, httpsMethod, requestBody, "");
+        HttpsResponse response = request.send();
+
+        assertThat(response.getStatus(), is(404));
+        assertThat(response.getErrorReason().length, is(0));
+        new Verifications()
+        {
+            {
+                mockConn.readError();
+                times = 0;
+                mockConn.readInput();
+                times = 0;
+            }
+        };
+    }
+
+    @Test
+    public void sendDrainsErrorResponseWithSocketFactory(@Mocked final HttpsConnection mockConn,
+                                                        @Mocked final SSLSocketFactory mockedSocketFactory) throws TransportException, MalformedURLException {
+        final HttpsMethod httpsMethod = HttpsMethod.GET;
+        final byte[] requestBody = new byte[0];
+        final URL mockUrl = new URL("https://www.microsoft.com");
+        new NonStrictExpectations()
+        {
+            {
+                mockConn.readError();
+                result = "not found".getBytes(StandardCharsets.UTF_8);
+                mockConn.getResponseStatus();
+                result = 404;
+            }
+        };
+
+        HttpsRequest request =
+                new HttpsRequest(mockUrl, httpsMethod, requestBody, "");
+        request.setSSLSocketFactory(mockedSocketFactory);
+        HttpsResponse response = request.send();
+
+        assertThat(response.getStatus(), is(404));
+        assertThat(response.getErrorReason().length, is(0));
+        new Verifications()
+        {
+            {
+                mockConn.readError();
+                times = 1;
+                mockConn.readInput();
+                times = 0;
+            }
+        };
+    }
+
+    @Test
+    public void sendReturnsStatusIfDrainingErrorResponseFails(@Mocked final HttpsConnection mockConn,
+                                                             @Mocked final SSLSocketFactory mockedSocketFactory,
+                                                             @Mocked final TransportException mockedTransportException) throws TransportException, MalformedURLException {
+        final HttpsMethod httpsMethod = HttpsMethod.GET;
+        final byte[] requestBody = new byte[0];
+        final URL mockUrl = new URL("https://www.microsoft.com");
+        new NonStrictExpectations()
+        {
+            {
+                mockConn.readError();
+                result = mockedTransportException;
+                mockConn.getResponseStatus();
+                result = 429;
+            }
+        };
+
+        HttpsRequest request =
+                new HttpsRequest(mockUrl, httpsMethod, requestBody, "");
+        request.setSSLSocketFactory(mockedSocketFactory);
+        HttpsResponse response = request.send();
+
+        assertThat(response.getStatus(), is(429));
+        assertThat(response.getErrorReason().length, is(0));
+    }
+
+    @Test
+    public void sendDrainsNon200SuccessResponseWithSocketFactory(@Mocked final HttpsConnection mockConn,
+                                                                @Mocked final SSLSocketFactory mockedSocketFactory) throws TransportException, MalformedURLException {
+        final HttpsMethod httpsMethod = HttpsMethod.DELETE;
+        final byte[] requestBody = new byte[0];
+        final URL mockUrl = new URL("https://www.microsoft.com");
+        new NonStrictExpectations()
+        {
+            {
+                mockConn.getResponseStatus();
+                result = 204;
+            }
+        };
+
+        HttpsRequest request =
+                new HttpsRequest(mockUrl, httpsMethod, requestBody, "");
+        request.setSSLSocketFactory(mockedSocketFactory);
+        HttpsResponse response = request.send();
+
+        assertThat(response.getBody().length, is(0));
+        new Verifications()
+        {
+            {
+                mockConn.readInput();
+                times = 1;
+                mockConn.readError();
+                times = 0;
+            }
+        };
+    }
+
     // Tests_SRS_HTTPSREQUEST_11_009: [The function shall return the HTTPS response received, including the status code, body, header fields, and error reason (if any).]
     @Test
     public void sendReturnsHeaderFields(@Mocked final HttpsConnection mockConn) throws TransportException, MalformedURLException {
@@ -469,6 +591,51 @@ public class HttpsRequestTest
         request.setSSLContext(null);
     }
 
+    @Test
+    public void setSSLSocketFactorySetsSocketFactory(@Mocked final HttpsConnection mockConn,
+                                                    @Mocked final SSLContext mockedContext,
+                                                    @Mocked final SSLSocketFactory mockedSocketFactory,
+                                                    final @Mocked URL mockUrl) throws TransportException
+    {
+        final HttpsMethod httpsMethod = HttpsMethod.POST;
+        final byte[] body = new byte[0];
+        new NonStrictExpectations()
+        {
+            {
+                mockUrl.getProtocol();
+                result = "https";
+            }
+        };
+
+        HttpsRequest request =
+                new HttpsRequest(mockUrl, httpsMethod, body, "");
+        request.setSSLContext(mockedContext);
+        request.setSSLSocketFactory(mockedSocketFactory);
+
+        request.send();
+
+        new Verifications()
+        {
+            {
+                mockConn.setSSLSocketFactory(mockedSocketFactory);
+                times = 1;
+                mockConn.setSSLContext((SSLContext) any);
+                times = 0;
+            }
+        };
+    }
+
+    @Test (expected = IllegalArgumentException.class)
+    public void setSSLSocketFactoryThrowsOnNull(@Mocked final HttpsConnection mockConn) throws TransportException, MalformedURLException {
+        final HttpsMethod httpsMethod = HttpsMethod.POST;
+        final byte[] body = new byte[0];
+        final URL mockUrl = new URL("https://www.microsoft.com");
+
+        HttpsRequest request =
+                new HttpsRequest(mockUrl, httpsMethod, body, "");
+        request.setSSLSocketFactory(null);
+    }
+
     // Tests_SRS_HTTPSREQUEST_34_020: [The function shall return the request headers saved in this object's connection instance.]
     // Tests_SRS_HTTPSREQUEST_34_017: [The function shall return the body saved in this object's connection instance.]
     @Test
@@ -5,6 +5,7 @@ package com.microsoft.azure.sdk.iot.device.transport.https;
 
 import com.microsoft.azure.sdk.iot.device.Message;
 import com.microsoft.azure.sdk.iot.device.MessageProperty;
+import com.microsoft.azure.sdk.iot.device.internal.MessageBodyAccessor;
 import mockit.Expectations;
 import mockit.Mocked;
 import mockit.NonStrictExpectations;
@@ -41,7 +42,7 @@ public class HttpsSingleMessageTest
         new NonStrictExpectations()
         {
             {
-                mockMsg.getBytes();
+                MessageBodyAccessor.getBodyWithoutCopy(mockMsg);
                 result = body;
                 mockMsg.getProperties();
                 result = properties;
@@ -76,7 +77,7 @@ public class HttpsSingleMessageTest
         new NonStrictExpectations()
         {
             {
-                mockMsg.getBytes();
+                MessageBodyAccessor.getBodyWithoutCopy(mockMsg);
                 result = body;
                 mockMsg.getProperties();
                 result = properties;
@@ -109,7 +110,7 @@ public class HttpsSingleMessageTest
         new NonStrictExpectations()
         {
             {
-                mockMsg.getBytes();
+                MessageBodyAccessor.getBodyWithoutCopy(mockMsg);
                 result = body;
                 mockMsg.getProperties();
                 result = properties;
@@ -186,7 +187,7 @@ public class HttpsSingleMessageTest
         new NonStrictExpectations()
         {
             {
-                mockMsg.getBytes();
+                MessageBodyAccessor.getBodyWithoutCopy(mockMsg);
                 result = body;
                 mockMsg.getProperties();
                 result = properties;
@@ -227,7 +228,7 @@ public class HttpsSingleMessageTest
         new NonStrictExpectations()
         {
             {
-                mockMsg.getBytes();
+                MessageBodyAccessor.getBodyWithoutCopy(mockMsg);
                 result = body;
                 mockMsg.getProperties();
                 result = properties;
@@ -265,7 +266,7 @@ public class HttpsSingleMessageTest
         new NonStrictExpectations()
         {
             {
-                mockMsg.getBytes();
+                MessageBodyAccessor.getBodyWithoutCopy(mockMsg);
                 result = body;
                 mockMsg.getProperties();
                 result = properties;
@@ -299,7 +300,7 @@ public class HttpsSingleMessageTest
         new NonStrictExpectations()
         {
             {
-                mockMsg.getBytes();
+                MessageBodyAccessor.getBodyWithoutCopy(mockMsg);
                 result = body;
                 mockMsg.getProperties();
                 result = properties;
@@ -351,7 +352,7 @@ public class HttpsSingleMessageTest
         new NonStrictExpectations()
         {
             {
-                mockMsg.getBytes();
+                MessageBodyAccessor.getBodyWithoutCopy(mockMsg);
                 result = body;
                 mockMsg.getProperties();
                 result = properties;
@@ -576,7 +577,7 @@ public class HttpsSingleMessageTest
         new NonStrictExpectations()
         {
             {
-                mockMsg.getBytes();
+                MessageBodyAccessor.getBodyWithoutCopy(mockMsg);
                 result = body;
                 mockMsg.getProperties();
                 result = properties;
@@ -611,7 +612,7 @@ public class HttpsSingleMessageTest
         new NonStrictExpectations()
         {
             {
-                mockMsg.getBytes();
+                MessageBodyAccessor.getBodyWithoutCopy(mockMsg);
                 result = body;
                 mockMsg.getProperties();
                 result = properties;
@@ -644,7 +645,7 @@ public class HttpsSingleMessageTest
         new NonStrictExpectations()
         {
             {
-                mockMsg.getBytes();
+                MessageBodyAccessor.getBodyWithoutCopy(mockMsg);
                 result = body;
                 mockMsg.getProperties();
                 result = properties;
@@ -677,7 +678,7 @@ public class HttpsSingleMessageTest
         new NonStrictExpectations()
         {
             {
-                mockMsg.getBytes();
+                MessageBodyAccessor.getBodyWithoutCopy(mockMsg);
                 result = body;
                 mockMsg.getProperties();
                 result = properties;
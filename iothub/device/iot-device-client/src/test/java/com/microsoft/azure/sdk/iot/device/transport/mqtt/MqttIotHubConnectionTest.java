@@ -13,6 +13,7 @@ import com.microsoft.azure.sdk.iot.device.transport.IotHubConnectionStatus;
 import com.microsoft.azure.sdk.iot.device.transport.IotHubListener;
 import com.microsoft.azure.sdk.iot.device.transport.IotHubTransportMessage;
 import com.microsoft.azure.sdk.iot.device.transport.TransportUtils;
+import com.microsoft.azure.sdk.iot.device.internal.MessageBodyAccessor;
 import mockit.*;
 import org.eclipse.paho.client.mqttv3.MqttAsyncClient;
 import org.eclipse.paho.client.mqttv3.MqttConnectOptions;
@@ -22,6 +23,8 @@ import org.junit.Test;
 
 import javax.net.ssl.SSLContext;
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Map;
 import java.util.Queue;
 import java.util.concurrent.ConcurrentHashMap;
@@ -60,6 +63,9 @@ public class MqttIotHubConnectionTest
     @Mocked
     private MqttMessaging mockDeviceMessaging;
 
+    @Mocked
+    private MqttInFlightMessageGate mockInFlightMessageGate;
+
     @Mocked
     private MqttDirectMethod mockDeviceMethod;
 
@@ -458,7 +464,7 @@ public class MqttIotHubConnectionTest
         new NonStrictExpectations()
         {
             {
-                mockedMessage.getBytes();
+                MessageBodyAccessor.getBodyWithoutCopy(mockedMessage);
                 result = msgBody;
                 mockDeviceMessaging.send(mockedMessage);
             }
@@ -480,6 +486,73 @@ public class MqttIotHubConnectionTest
         };
     }
 
+    @Test
+    public void sendEventSendsBatchMessageThroughMessaging(@Mocked final BatchMessage mockBatchMessage) throws TransportException, MqttException
+    {
+        baseExpectations();
+        openExpectations(null);
+
+        final byte[] msgBody = { 0x61, 0x62, 0x63 };
+        new NonStrictExpectations()
+        {
+            {
+                mockBatchMessage.getNestedMessages();
+                result = Arrays.asList(mockedMessage, mockedMessage);
+                MessageBodyAccessor.getBodyWithoutCopy(mockedMessage);
+                result = msgBody;
+            }
+        };
+
+        MqttIotHubConnection connection = new MqttIotHubConnection(mockConfig);
+        Deencapsulation.setField(connection, "listener", mockedIotHubListener);
+        connection.open();
+        IotHubStatusCode result = connection.sendMessage(mockBatchMessage);
+
+        assertEquals(IotHubStatusCode.OK, result);
+
+        new Verifications()
+        {
+            {
+                mockDeviceMessaging.sendBatch(mockBatchMessage);
+                times = 1;
+                mockDeviceMessaging.send((Message) any);
+                times = 0;
+            }
+        };
+    }
+
+    @Test
+    public void sendEventReturnsBadFormatIfBatchMessageHasEmptyNestedMessage(@Mocked final BatchMessage mockBatchMessage) throws TransportException, MqttException
+    {
+        baseExpectations();
+        openExpectations(null);
+
+        new NonStrictExpectations()
+        {
+            {
+                mockBatchMessage.getNestedMessages();
+                result = Collections.singletonList(mockedMessage);
+                MessageBodyAccessor.getBodyWithoutCopy(mockedMessage);
+                result = new byte[0];
+            }
+        };
+
+        MqttIotHubConnection connection = new MqttIotHubConnection(mockConfig);
+        Deencapsulation.setField(connection, "listener", mockedIotHubListener);
+        connection.open();
+        IotHubStatusCode result = connection.sendMessage(mockBatchMessage);
+
+        assertEquals(IotHubStatusCode.BAD_FORMAT, result);
+
+        new Verifications()
+        {
+            {
+                mockDeviceMessaging.sendBatch((BatchMessage) any);
+                times = 0;
+            }
+        };
+    }
+
     // Tests_SRS_MQTTIOTHUBCONNECTION_15_010: [If the message is null or empty,
     // the function shall return status code BAD_FORMAT.]
     @Test
@@ -508,7 +581,7 @@ public class MqttIotHubConnectionTest
         new NonStrictExpectations()
         {
             {
-                mockedMessage.getBytes();
+                MessageBodyAccessor.getBodyWithoutCopy(mockedMessage);
                 result = msgBody;
             }
         };
@@ -532,7 +605,7 @@ public class MqttIotHubConnectionTest
         new NonStrictExpectations()
         {
             {
-                mockedMessage.getBytes();
+                MessageBodyAccessor.getBodyWithoutCopy(mockedMessage);
                 result = new byte[0];
             }
         };
@@ -555,7 +628,7 @@ public class MqttIotHubConnectionTest
         new NonStrictExpectations()
         {
             {
-                mockedMessage.getBytes();
+                MessageBodyAccessor.getBodyWithoutCopy(mockedMessage);
                 result = msgBody;
             }
         };
@@ -574,7 +647,7 @@ public class MqttIotHubConnectionTest
         new NonStrictExpectations()
         {
             {
-                mockedMessage.getBytes();
+                MessageBodyAccessor.getBodyWithoutCopy(mockedMessage);
                 result = msgBody;
             }
         };
@@ -597,7 +670,7 @@ public class MqttIotHubConnectionTest
         new NonStrictExpectations()
         {
             {
-                mockDeviceTwinMsg.getBytes();
+                MessageBodyAccessor.getBodyWithoutCopy(mockDeviceTwinMsg);
                 result = msgBody;
                 mockDeviceTwinMsg.getMessageType();
                 result = MessageType.DEVICE_TWIN;
@@ -637,7 +710,7 @@ public class MqttIotHubConnectionTest
         new NonStrictExpectations()
         {
             {
-                mockDeviceMethodMsg.getBytes();
+                MessageBodyAccessor.getBodyWithoutCopy(mockDeviceMethodMsg);
                 result = msgBody;
                 mockDeviceMethodMsg.getMessageType();
                 result = MessageType.DEVICE_METHODS;
@@ -697,7 +770,7 @@ public class MqttIotHubConnectionTest
         new Verifications()
         {
             {
-                new MqttMessaging(anyString, null, anyString, anyBoolean, (MqttConnectOptions) any, (Map) any, (Queue) any);
+                new MqttMessaging(anyString, null, anyString, anyBoolean, (MqttConnectOptions) any, (Map) any, (Queue) any, (MqttInFlightMessageGate) any);
                 times = 1;
             }
         };
@@ -1110,7 +1183,7 @@ public class MqttIotHubConnectionTest
                 mockedProductInfo.getUserAgentString();
                 result = "someUserAgentString";
 
-                mockedMessage.getBytes();
+                MessageBodyAccessor.getBodyWithoutCopy(mockedMessage);
                 result = expectedMessageBody;
 
                 mockedMessage.getMessageType();
@@ -1129,11 +1202,11 @@ public class MqttIotHubConnectionTest
             {
                 new MqttAsyncClient(anyString, anyString, (MemoryPersistence) any);
                 result = mockedMqttConnection;
-                new MqttMessaging(anyString, null, anyString, anyBoolean, (MqttConnectOptions) any, (Map) any, (Queue) any);
+                new MqttMessaging(anyString, null, anyString, anyBoolean, (MqttConnectOptions) any, (Map) any, (Queue) any, (MqttInFlightMessageGate) any);
                 result = mockDeviceMessaging;
-                new MqttTwin(anyString, (MqttConnectOptions) any, (Map) any, (Queue) any);
+                new MqttTwin(anyString, (MqttConnectOptions) any, (Map) any, (Queue) any, (MqttInFlightMessageGate) any);
                 result = mockDeviceTwin;
-                new MqttDirectMethod(anyString, (MqttConnectOptions) any, (Map) any, (Queue) any);
+                new MqttDirectMethod(anyString, (MqttConnectOptions) any, (Map) any, (Queue) any, (MqttInFlightMessageGate) any);
                 result = mockDeviceMethod;
                 mockDeviceMessaging.start();
                 result = null;
@@ -4,10 +4,13 @@
 
 package com.microsoft.azure.sdk.iot.device.transport.mqtt;
 
+import com.microsoft.azure.sdk.iot.device.BatchMessage;
 import com.microsoft.azure.sdk.iot.device.Message;
 import com.microsoft.azure.sdk.iot.device.MessageProperty;
 import com.microsoft.azure.sdk.iot.device.transport.TransportException;
 import com.microsoft.azure.sdk.iot.device.transport.IotHubListener;
+import com.microsoft.azure.sdk.iot.device.transport.mqtt.exceptions.MqttInFlightLimitReachedException;
+import com.microsoft.azure.sdk.iot.device.internal.MessageBodyAccessor;
 import mockit.*;
 import org.eclipse.paho.client.mqttv3.MqttAsyncClient;
 import org.eclipse.paho.client.mqttv3.MqttConnectOptions;
@@ -17,13 +20,21 @@ import java.io.IOException;
 import java.io.UnsupportedEncodingException;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 /*
  * Unit tests for MqttMessaging.java
@@ -56,7 +67,7 @@ public class MqttMessagingTest
     public void constructorCallsBaseConstructorWithArguments(@Mocked final Mqtt mockMqtt) throws TransportException
     {
 
-        MqttMessaging testMqttMessaging = new MqttMessaging(CLIENT_ID, null, "", false, mockConnectOptions, new HashMap<Integer, Message>(), new ConcurrentLinkedQueue<>());
+        MqttMessaging testMqttMessaging = new MqttMessaging(CLIENT_ID, null, "", false, mockConnectOptions, new HashMap<Integer, Message>(), new ConcurrentLinkedQueue<>(), new MqttInFlightMessageGate(65000, true));
 
         String actualPublishTopic = Deencapsulation.getField(testMqttMessaging, "publishTopic");
         assertNotNull(actualPublishTopic);
@@ -72,7 +83,7 @@ public class MqttMessagingTest
         //arrange
         final String expectedModuleId = "someModule";
         final String expectedDeviceId = "someDevice";
-        MqttMessaging testMqttMessaging = new MqttMessaging(expectedDeviceId, null, expectedModuleId, false, mockConnectOptions, new HashMap<Integer, Message>(), new ConcurrentLinkedQueue<>());
+        MqttMessaging testMqttMessaging = new MqttMessaging(expectedDeviceId, null, expectedModuleId, false, mockConnectOptions, new HashMap<Integer, Message>(), new ConcurrentLinkedQueue<>(), new MqttInFlightMessageGate(65000, true));
 
         String actualPublishTopic = Deencapsulation.getField(testMqttMessaging, "publishTopic");
         assertEquals("devices/" + expectedDeviceId + "/modules/" + expectedModuleId +"/messages/events/", actualPublishTopic);
@@ -88,13 +99,13 @@ public class MqttMessagingTest
     @Test (expected = IllegalArgumentException.class)
     public void constructorFailsIfDeviceIDIsEmpty() throws TransportException
     {
-        MqttMessaging testMqttMessaging = new MqttMessaging( "", null, "", false, mockConnectOptions, new HashMap<Integer, Message>(), new ConcurrentLinkedQueue<>());
+        MqttMessaging testMqttMessaging = new MqttMessaging( "", null, "", false, mockConnectOptions, new HashMap<Integer, Message>(), new ConcurrentLinkedQueue<>(), new MqttInFlightMessageGate(65000, true));
     }
 
     @Test (expected = IllegalArgumentException.class)
     public void constructorFailsIfDeviceIDIsNull() throws TransportException
     {
-        MqttMessaging testMqttMessaging = new MqttMessaging( null, null, "", false, mockConnectOptions, new HashMap<Integer, Message>(), new ConcurrentLinkedQueue<>());
+        MqttMessaging testMqttMessaging = new MqttMessaging( null, null, "", false, mockConnectOptions, new HashMap<Integer, Message>(), new ConcurrentLinkedQueue<>(), new MqttInFlightMessageGate(65000, true));
     }
 
     /*
@@ -112,7 +123,7 @@ public class MqttMessagingTest
             }
         };
 
-        MqttMessaging testMqttMessaging = new MqttMessaging( CLIENT_ID, null, "", false, mockConnectOptions, new HashMap<Integer, Message>(), new ConcurrentLinkedQueue<>());
+        MqttMessaging testMqttMessaging = new MqttMessaging( CLIENT_ID, null, "", false, mockConnectOptions, new HashMap<Integer, Message>(), new ConcurrentLinkedQueue<>(), new MqttInFlightMessageGate(65000, true));
 
         testMqttMessaging.start();
         new Verifications()
@@ -138,7 +149,7 @@ public class MqttMessagingTest
             }
         };
 
-        MqttMessaging testMqttMessaging = new MqttMessaging( CLIENT_ID, null, "", false, mockConnectOptions, new HashMap<Integer, Message>(), new ConcurrentLinkedQueue<>());
+        MqttMessaging testMqttMessaging = new MqttMessaging( CLIENT_ID, null, "", false, mockConnectOptions, new HashMap<Integer, Message>(), new ConcurrentLinkedQueue<>(), new MqttInFlightMessageGate(65000, true));
         testMqttMessaging.start();
 
         new Verifications()
@@ -166,7 +177,7 @@ public class MqttMessagingTest
             }
         };
 
-        MqttMessaging testMqttMessaging = new MqttMessaging( CLIENT_ID, null, "", false, mockConnectOptions, new HashMap<Integer, Message>(), new ConcurrentLinkedQueue<>());
+        MqttMessaging testMqttMessaging = new MqttMessaging( CLIENT_ID, null, "", false, mockConnectOptions, new HashMap<Integer, Message>(), new ConcurrentLinkedQueue<>(), new MqttInFlightMessageGate(65000, true));
         testMqttMessaging.start();
 
         new Verifications()
@@ -197,7 +208,7 @@ public class MqttMessagingTest
             }
         };
 
-        MqttMessaging testMqttMessaging = new MqttMessaging( CLIENT_ID, null, "", false, mockConnectOptions, new HashMap<Integer, Message>(), new ConcurrentLinkedQueue<>());
+        MqttMessaging testMqttMessaging = new MqttMessaging( CLIENT_ID, null, "", false, mockConnectOptions, new HashMap<Integer, Message>(), new ConcurrentLinkedQueue<>(), new MqttInFlightMessageGate(65000, true));
         testMqttMessaging.start();
         testMqttMessaging.stop();
 
@@ -223,7 +234,7 @@ public class MqttMessagingTest
             }
         };
 
-        MqttMessaging testMqttMessaging = new MqttMessaging( CLIENT_ID, null, "", false, mockConnectOptions, new HashMap<Integer, Message>(), new ConcurrentLinkedQueue<>());
+        MqttMessaging testMqttMessaging = new MqttMessaging( CLIENT_ID, null, "", false, mockConnectOptions, new HashMap<Integer, Message>(), new ConcurrentLinkedQueue<>(), new MqttInFlightMessageGate(65000, true));
         testMqttMessaging.start();
         testMqttMessaging.stop();
 
@@ -246,20 +257,20 @@ public class MqttMessagingTest
         new NonStrictExpectations()
         {
             {
-                mockedMessage.getBytes();
+                MessageBodyAccessor.getBodyWithoutCopy(mockedMessage);
                 result = messageBody;
                 Deencapsulation.invoke(mockMqtt, "publish", new Class[] {String.class, Message.class}, anyString, (Message) any);
             }
         };
 
-        MqttMessaging testMqttMessaging = new MqttMessaging( CLIENT_ID, null, "", false, mockConnectOptions, new HashMap<Integer, Message>(), new ConcurrentLinkedQueue<>());
+        MqttMessaging testMqttMessaging = new MqttMessaging( CLIENT_ID, null, "", false, mockConnectOptions, new HashMap<Integer, Message>(), new ConcurrentLinkedQueue<>(), new MqttInFlightMessageGate(65000, true));
         testMqttMessaging.send(mockedMessage);
 
         //assert
         new Verifications()
         {
             {
-                mockedMessage.getBytes();
+                MessageBodyAccessor.getBodyWithoutCopy(mockedMessage);
                 times = 1;
                 Deencapsulation.invoke(mockMqtt, "publish", new Class[]{String.class, Message.class}, anyString, mockedMessage);
                 times = 1;
@@ -276,18 +287,18 @@ public class MqttMessagingTest
         new NonStrictExpectations()
         {
             {
-                mockedMessage.getBytes();
+                MessageBodyAccessor.getBodyWithoutCopy(mockedMessage);
                 result = messageBody;
             }
         };
 
-        MqttMessaging testMqttMessaging = new MqttMessaging( CLIENT_ID, null, "", false, mockConnectOptions, new HashMap<Integer, Message>(), new ConcurrentLinkedQueue<>());
+        MqttMessaging testMqttMessaging = new MqttMessaging( CLIENT_ID, null, "", false, mockConnectOptions, new HashMap<Integer, Message>(), new ConcurrentLinkedQueue<>(), new MqttInFlightMessageGate(65000, true));
         testMqttMessaging.send(null);
 
         new Verifications()
         {
             {
-                mockedMessage.getBytes();
+                MessageBodyAccessor.getBodyWithoutCopy(mockedMessage);
                 times = 1;
                 Deencapsulation.invoke(mockMqtt, "publish", MOCK_PARSE_TOPIC, new byte[1]);
                 times = 1;
@@ -302,13 +313,13 @@ public class MqttMessagingTest
     public void sendShallThrowTransportExceptionIfMessageIsNull(@Mocked final Mqtt mockMqtt) throws TransportException
     {
 
-        MqttMessaging testMqttMessaging = new MqttMessaging( CLIENT_ID, null, "", false, mockConnectOptions, new HashMap<Integer, Message>(), new ConcurrentLinkedQueue<>());
+        MqttMessaging testMqttMessaging = new MqttMessaging( CLIENT_ID, null, "", false, mockConnectOptions, new HashMap<Integer, Message>(), new ConcurrentLinkedQueue<>(), new MqttInFlightMessageGate(65000, true));
         testMqttMessaging.send(null);
 
         new Verifications()
         {
             {
-                mockedMessage.getBytes();
+                MessageBodyAccessor.getBodyWithoutCopy(mockedMessage);
                 times = 0;
                 Deencapsulation.invoke(mockMqtt, "publish", MOCK_PARSE_TOPIC, new byte[1]);
                 times = 0;
@@ -333,14 +344,14 @@ public class MqttMessagingTest
         new NonStrictExpectations()
         {
             {
-                mockedMessage.getBytes();
+                MessageBodyAccessor.getBodyWithoutCopy(mockedMessage);
                 result = messageBody;
                 mockedMessage.getProperties();
                 result = messageProperties;
             }
         };
 
-        MqttMessaging testMqttMessaging = new MqttMessaging( CLIENT_ID, null, "", false, mockConnectOptions, new HashMap<Integer, Message>(), new ConcurrentLinkedQueue<>());
+        MqttMessaging testMqttMessaging = new MqttMessaging( CLIENT_ID, null, "", false, mockConnectOptions, new HashMap<Integer, Message>(), new ConcurrentLinkedQueue<>(), new MqttInFlightMessageGate(65000, true));
         final String publishTopicWithCustomProperties = String.format(
                 "devices/%s/messages/events/%s=%s&%s=%s", CLIENT_ID, propertyName1, propertyValue1, propertyName2, propertyValue2);
 
@@ -368,7 +379,7 @@ public class MqttMessagingTest
         new NonStrictExpectations()
         {
             {
-                mockedMessage.getBytes();
+                MessageBodyAccessor.getBodyWithoutCopy(mockedMessage);
                 result = messageBody;
                 mockedMessage.getProperties();
                 result = messageProperties;
@@ -377,7 +388,7 @@ public class MqttMessagingTest
             }
         };
 
-        MqttMessaging testMqttMessaging = new MqttMessaging( CLIENT_ID, null, "", false, mockConnectOptions, new HashMap<Integer, Message>(), new ConcurrentLinkedQueue<>());
+        MqttMessaging testMqttMessaging = new MqttMessaging( CLIENT_ID, null, "", false, mockConnectOptions, new HashMap<Integer, Message>(), new ConcurrentLinkedQueue<>(), new MqttInFlightMessageGate(65000, true));
 
         //act
         testMqttMessaging.send(mockedMessage);
@@ -404,7 +415,7 @@ public class MqttMessagingTest
         new NonStrictExpectations()
         {
             {
-                mockedMessage.getBytes();
+                MessageBodyAccessor.getBodyWithoutCopy(mockedMessage);
                 result = messageBody;
                 mockedMessage.getProperties();
                 result = messageProperties;
@@ -413,7 +424,7 @@ public class MqttMessagingTest
             }
         };
 
-        MqttMessaging testMqttMessaging = new MqttMessaging( CLIENT_ID, null, "", false, mockConnectOptions, new HashMap<Integer, Message>(), new ConcurrentLinkedQueue<>());
+        MqttMessaging testMqttMessaging = new MqttMessaging( CLIENT_ID, null, "", false, mockConnectOptions, new HashMap<Integer, Message>(), new ConcurrentLinkedQueue<>(), new MqttInFlightMessageGate(65000, true));
 
         //act
         testMqttMessaging.send(mockedMessage);
@@ -439,7 +450,7 @@ public class MqttMessagingTest
         new NonStrictExpectations()
         {
             {
-                mockedMessage.getBytes();
+                MessageBodyAccessor.getBodyWithoutCopy(mockedMessage);
                 result = messageBody;
                 mockedMessage.getProperties();
                 result = messageProperties;
@@ -448,7 +459,7 @@ public class MqttMessagingTest
             }
         };
 
-        MqttMessaging testMqttMessaging = new MqttMessaging( CLIENT_ID, null, "", false, mockConnectOptions, new HashMap<Integer, Message>(), new ConcurrentLinkedQueue<>());
+        MqttMessaging testMqttMessaging = new MqttMessaging( CLIENT_ID, null, "", false, mockConnectOptions, new HashMap<Integer, Message>(), new ConcurrentLinkedQueue<>(), new MqttInFlightMessageGate(65000, true));
 
         //act
         testMqttMessaging.send(mockedMessage);
@@ -475,7 +486,7 @@ public class MqttMessagingTest
         new NonStrictExpectations()
         {
             {
-                mockedMessage.getBytes();
+                MessageBodyAccessor.getBodyWithoutCopy(mockedMessage);
                 result = messageBody;
                 mockedMessage.getProperties();
                 result = messageProperties;
@@ -484,7 +495,7 @@ public class MqttMessagingTest
             }
         };
 
-        MqttMessaging testMqttMessaging = new MqttMessaging( CLIENT_ID, null, "", false, mockConnectOptions, new HashMap<Integer, Message>(), new ConcurrentLinkedQueue<>());
+        MqttMessaging testMqttMessaging = new MqttMessaging( CLIENT_ID, null, "", false, mockConnectOptions, new HashMap<Integer, Message>(), new ConcurrentLinkedQueue<>(), new MqttInFlightMessageGate(65000, true));
 
         //act
         testMqttMessaging.send(mockedMessage);
@@ -511,7 +522,7 @@ public class MqttMessagingTest
         new NonStrictExpectations()
         {
             {
-                mockedMessage.getBytes();
+                MessageBodyAccessor.getBodyWithoutCopy(mockedMessage);
                 result = messageBody;
                 mockedMessage.getProperties();
                 result = messageProperties;
@@ -520,7 +531,7 @@ public class MqttMessagingTest
             }
         };
 
-        MqttMessaging testMqttMessaging = new MqttMessaging( CLIENT_ID, null, "", false, mockConnectOptions, new HashMap<Integer, Message>(), new ConcurrentLinkedQueue<>());
+        MqttMessaging testMqttMessaging = new MqttMessaging( CLIENT_ID, null, "", false, mockConnectOptions, new HashMap<Integer, Message>(), new ConcurrentLinkedQueue<>(), new MqttInFlightMessageGate(65000, true));
 
         //act
         testMqttMessaging.send(mockedMessage);
@@ -569,7 +580,7 @@ public class MqttMessagingTest
         new NonStrictExpectations()
         {
             {
-                mockedMessage.getBytes();
+                MessageBodyAccessor.getBodyWithoutCopy(mockedMessage);
                 result = messageBody;
                 mockedMessage.getMessageId();
                 result = messageId;
@@ -594,7 +605,7 @@ public class MqttMessagingTest
             }
         };
 
-        MqttMessaging testMqttMessaging = new MqttMessaging( CLIENT_ID, null, "", false, mockConnectOptions, new HashMap<Integer, Message>(), new ConcurrentLinkedQueue<>());
+        MqttMessaging testMqttMessaging = new MqttMessaging( CLIENT_ID, null, "", false, mockConnectOptions, new HashMap<Integer, Message>(), new ConcurrentLinkedQueue<>(), new MqttInFlightMessageGate(65000, true));
         final String publishTopicWithAllSystemAndCustomProperties = String.format(
                 "devices/%s/messages/events/$.mid=%s&$.cid=%s&$.uid=%s&$.to=%s&$.on=%s&$.ce=%s&$.ct=%s&$.ctime=%s&%s=%s&%s=%s", CLIENT_ID, messageId, correlationId, userId, to, outputName, contentEncoding, contentTypeEncoded, creationTimeUtcEncoded, propertyName1, propertyValue1, propertyName2, propertyValue2);
 
@@ -619,7 +630,7 @@ public class MqttMessagingTest
         String moduleId = "5678";
         final String inputsSubsriptionChannel = "devices/" + deviceId + "/modules/" + moduleId + "/inputs/#";
         final String eventsSubsriptionChannel = "devices/" + deviceId + "/modules/" + moduleId + "/messages/devicebound/#";
-        final MqttMessaging testMqttMessaging = new MqttMessaging( deviceId, null, moduleId, true, mockConnectOptions, new HashMap<Integer, Message>(), new ConcurrentLinkedQueue<>());
+        final MqttMessaging testMqttMessaging = new MqttMessaging( deviceId, null, moduleId, true, mockConnectOptions, new HashMap<Integer, Message>(), new ConcurrentLinkedQueue<>(), new MqttInFlightMessageGate(65000, true));
 
         //act
         testMqttMessaging.start();
@@ -646,7 +657,7 @@ public class MqttMessagingTest
         String moduleId = "5678";
         final String inputsSubsriptionChannel = "devices/" + deviceId + "/modules/" + moduleId + "/inputs/#";
         final String eventsSubsriptionChannel = "devices/" + deviceId + "/modules/" + moduleId + "/messages/devicebound/#";
-        final MqttMessaging testMqttMessaging = new MqttMessaging( deviceId, null, moduleId, false, mockConnectOptions, new HashMap<Integer, Message>(), new ConcurrentLinkedQueue<>());
+        final MqttMessaging testMqttMessaging = new MqttMessaging( deviceId, null, moduleId, false, mockConnectOptions, new HashMap<Integer, Message>(), new ConcurrentLinkedQueue<>(), new MqttInFlightMessageGate(65000, true));
 
         //act
         testMqttMessaging.start();
@@ -663,4 +674,308 @@ public class MqttMessagingTest
             }
         };
     }
+
+    private static BatchMessage createBatchMessage(List<Message> messages)
+    {
+        return Deencapsulation.newInstance(BatchMessage.class, new Class[] {List.class}, messages);
+    }
+
+    @Test
+    public void sendBatchPublishesEachNestedMessage(@Mocked final Mqtt mockMqtt) throws TransportException
+    {
+        //arrange
+        final byte[] messageBody = {0x61, 0x62, 0x63};
+        final Message firstMessage = new Message(messageBody);
+        final Message secondMessage = new Message(messageBody);
+        new NonStrictExpectations()
+        {
+            {
+                MessageBodyAccessor.getBodyWithoutCopy(mockedMessage);
+                result = messageBody;
+                mockMqtt.isBlockingOnMaxInFlightMessages();
+                result = true;
+            }
+        };
+
+        MqttMessaging testMqttMessaging = new MqttMessaging(CLIENT_ID, null, "", false, mockConnectOptions, new HashMap<Integer, Message>(), new ConcurrentLinkedQueue<>(), new MqttInFlightMessageGate(65000, true));
+
+        //act
+        testMqttMessaging.sendBatch(createBatchMessage(Arrays.asList(firstMessage, secondMessage)));
+
+        //assert
+        new Verifications()
+        {
+            {
+                mockMqtt.publish(anyString, firstMessage, false);
+                times = 1;
+                mockMqtt.publish(anyString, secondMessage, false);
+                times = 1;
+            }
+        };
+    }
+
+    @Test (expected = IllegalArgumentException.class)
+    public void sendBatchThrowsIfBatchIsEmpty(@Mocked final Mqtt mockMqtt) throws TransportException
+    {
+        //arrange
+        MqttMessaging testMqttMessaging = new MqttMessaging(CLIENT_ID, null, "", false, mockConnectOptions, new HashMap<Integer, Message>(), new ConcurrentLinkedQueue<>(), new MqttInFlightMessageGate(65000, true));
+
+        //act
+        testMqttMessaging.sendBatch(createBatchMessage(new ArrayList<>()));
+    }
+
+    @Test
+    public void acknowledgedBatchIsOnlyReportedOnceEveryNestedMessageIsAcknowledged(@Mocked final Mqtt mockMqtt) throws TransportException
+    {
+        //arrange
+        final byte[] messageBody = {0x61, 0x62, 0x63};
+        new NonStrictExpectations()
+        {
+            {
+                MessageBodyAccessor.getBodyWithoutCopy(mockedMessage);
+                result = messageBody;
+                mockMqtt.isBlockingOnMaxInFlightMessages();
+                result = true;
+            }
+        };
+
+        Message firstMessage = new Message(messageBody);
+        Message secondMessage = new Message(messageBody);
+        BatchMessage batchMessage = createBatchMessage(Arrays.asList(firstMessage, secondMessage));
+        MqttMessaging testMqttMessaging = new MqttMessaging(CLIENT_ID, null, "", false, mockConnectOptions, new HashMap<Integer, Message>(), new ConcurrentLinkedQueue<>(), new MqttInFlightMessageGate(65000, true));
+        testMqttMessaging.sendBatch(batchMessage);
+
+        //act
+        Message reportedAfterFirstAck = testMqttMessaging.getAcknowledgedMessageToReport(secondMessage);
+        Message reportedAfterSecondAck = testMqttMessaging.getAcknowledgedMessageToReport(firstMessage);
+
+        //assert
+        assertNull(reportedAfterFirstAck);
+        assertSame(batchMessage, reportedAfterSecondAck);
+    }
+
+    @Test
+    public void acknowledgedMessageOutsideOfBatchIsReportedAsIs(@Mocked final Mqtt mockMqtt)
+    {
+        //arrange
+        MqttMessaging testMqttMessaging = new MqttMessaging(CLIENT_ID, null, "", false, mockConnectOptions, new HashMap<Integer, Message>(), new ConcurrentLinkedQueue<>(), new MqttInFlightMessageGate(65000, true));
+
+        //act
+        Message reportedMessage = testMqttMessaging.getAcknowledgedMessageToReport(mockedMessage);
+
+        //assert
+        assertSame(mockedMessage, reportedMessage);
+    }
+
+    @Test
+    public void sendBatchStopsTrackingBatchIfPublishFails(@Mocked final Mqtt mockMqtt) throws TransportException
+    {
+        //arrange
+        final byte[] messageBody = {0x61, 0x62, 0x63};
+        new NonStrictExpectations()
+        {
+            {
+                MessageBodyAccessor.getBodyWithoutCopy(mockedMessage);
+                result = messageBody;
+                mockMqtt.isBlockingOnMaxInFlightMessages();
+                result = true;
+                mockMqtt.publish(anyString, (Message) any, anyBoolean);
+                result = new TransportException("publish failed");
+            }
+        };
+
+        Message firstMessage = new Message(messageBody);
+        Message secondMessage = new Message(messageBody);
+        MqttMessaging testMqttMessaging = new MqttMessaging(CLIENT_ID, null, "", false, mockConnectOptions, new HashMap<Integer, Message>(), new ConcurrentLinkedQueue<>(), new MqttInFlightMessageGate(65000, true));
+
+        //act
+        try
+        {
+            testMqttMessaging.sendBatch(createBatchMessage(Arrays.asList(firstMessage, secondMessage)));
+            fail("Expected sendBatch to throw");
+        }
+        catch (TransportException e)
+        {
+            // expected
+        }
+
+        //assert
+        assertSame(firstMessage, testMqttMessaging.getAcknowledgedMessageToReport(firstMessage));
+    }
+
+    @Test
+    public void sendBatchOnlyPublishesRemainingMessagesWhenSentAgainAfterPublishFails(@Mocked final Mqtt mockMqtt) throws TransportException
+    {
+        //arrange
+        final byte[] messageBody = {0x61, 0x62, 0x63};
+        final Message firstMessage = new Message(messageBody);
+        final Message secondMessage = new Message(messageBody);
+        final AtomicInteger publishCount = new AtomicInteger();
+        new NonStrictExpectations()
+        {
+            {
+                mockMqtt.isBlockingOnMaxInFlightMessages();
+                result = true;
+                mockMqtt.publish(anyString, (Message) any, anyBoolean);
+                result = new Delegate()
+                {
+                    @SuppressWarnings("unused")
+                    void publish(String topic, Message message, boolean isInFlightPermitReserved) throws TransportException
+                    {
+                        // The second publish fails, as if the connection had a transient error
+                        if (publishCount.incrementAndGet() == 2)
+                        {
+                            throw new TransportException("publish failed");
+                        }
+                    }
+                };
+            }
+        };
+
+        BatchMessage batchMessage = createBatchMessage(Arrays.asList(firstMessage, secondMessage));
+        MqttMessaging testMqttMessaging = new MqttMessaging(CLIENT_ID, null, "", false, mockConnectOptions, new HashMap<Integer, Message>(), new ConcurrentLinkedQueue<>(), new MqttInFlightMessageGate(65000, true));
+        try
+        {
+            testMqttMessaging.sendBatch(batchMessage);
+            fail("Expected sendBatch to throw");
+        }
+        catch (TransportException e)
+        {
+            // expected
+        }
+
+        //act
+        Message reportedAfterFirstAck = testMqttMessaging.getAcknowledgedMessageToReport(firstMessage);
+        testMqttMessaging.sendBatch(batchMessage);
+        Message reportedAfterSecondAck = testMqttMessaging.getAcknowledgedMessageToReport(secondMessage);
+
+        //assert
+        assertNull(reportedAfterFirstAck);
+        assertSame(batchMessage, reportedAfterSecondAck);
+        new Verifications()
+        {
+            {
+                mockMqtt.publish(anyString, firstMessage, false);
+                times = 1;
+                mockMqtt.publish(anyString, secondMessage, false);
+                times = 2;
+            }
+        };
+    }
+
+    @Test
+    public void sendBatchFailsWithoutPublishingIfBatchExceedsInFlightLimitAndNotBlocking(@Mocked final Mqtt mockMqtt) throws TransportException
+    {
+        //arrange
+        final byte[] messageBody = {0x61, 0x62, 0x63};
+        new NonStrictExpectations()
+        {
+            {
+                mockMqtt.isBlockingOnMaxInFlightMessages();
+                result = false;
+                mockMqtt.getMaxInFlightMessages();
+                result = 1;
+            }
+        };
+
+        MqttMessaging testMqttMessaging = new MqttMessaging(CLIENT_ID, null, "", false, mockConnectOptions, new HashMap<Integer, Message>(), new ConcurrentLinkedQueue<>(), new MqttInFlightMessageGate(1, false));
+
+        //act
+        try
+        {
+            testMqttMessaging.sendBatch(createBatchMessage(Arrays.asList(new Message(messageBody), new Message(messageBody))));
+            fail("Expected sendBatch to throw");
+        }
+        catch (TransportException e)
+        {
+            //assert
+            assertFalse(e.isRetryable());
+        }
+
+        new Verifications()
+        {
+            {
+                mockMqtt.publish(anyString, (Message) any, anyBoolean);
+                times = 0;
+            }
+        };
+    }
+
+    @Test
+    public void sendBatchFailsWithoutPublishingIfInFlightPermitsCannotBeReservedAndNotBlocking(@Mocked final Mqtt mockMqtt) throws TransportException
+    {
+        //arrange
+        final byte[] messageBody = {0x61, 0x62, 0x63};
+        new NonStrictExpectations()
+        {
+            {
+                mockMqtt.isBlockingOnMaxInFlightMessages();
+                result = false;
+                mockMqtt.getMaxInFlightMessages();
+                result = 10;
+                mockMqtt.tryReserveInFlightPermits(2);
+                result = false;
+            }
+        };
+
+        MqttMessaging testMqttMessaging = new MqttMessaging(CLIENT_ID, null, "", false, mockConnectOptions, new HashMap<Integer, Message>(), new ConcurrentLinkedQueue<>(), new MqttInFlightMessageGate(10, false));
+
+        //act
+        try
+        {
+            testMqttMessaging.sendBatch(createBatchMessage(Arrays.asList(new Message(messageBody), new Message(messageBody))));
+            fail("Expected sendBatch to throw");
+        }
+        catch (MqttInFlightLimitReachedException e)
+        {
+            //assert
+            assertTrue(e.isRetryable());
+        }
+
+        new Verifications()
+        {
+            {
+                mockMqtt.publish(anyString, (Message) any, anyBoolean);
+                times = 0;
+            }
+        };
+    }
+
+    @Test
+    public void sendBatchPublishesWithReservedInFlightPermitsIfNotBlocking(@Mocked final Mqtt mockMqtt) throws TransportException
+    {
+        //arrange
+        final byte[] messageBody = {0x61, 0x62, 0x63};
+        final Message firstMessage = new Message(messageBody);
+        final Message secondMessage = new Message(messageBody);
+        new NonStrictExpectations()
+        {
+            {
+                mockMqtt.isBlockingOnMaxInFlightMessages();
+                result = false;
+                mockMqtt.getMaxInFlightMessages();
+                result = 10;
+                mockMqtt.tryReserveInFlightPermits(2);
+                result = true;
+            }
+        };
+
+        MqttMessaging testMqttMessaging = new MqttMessaging(CLIENT_ID, null, "", false, mockConnectOptions, new HashMap<Integer, Message>(), new ConcurrentLinkedQueue<>(), new MqttInFlightMessageGate(10, false));
+
+        //act
+        testMqttMessaging.sendBatch(createBatchMessage(Arrays.asList(firstMessage, secondMessage)));
+
+        //assert
+        new Verifications()
+        {
+            {
+                mockMqtt.publish(anyString, firstMessage, true);
+                times = 1;
+                mockMqtt.publish(anyString, secondMessage, true);
+                times = 1;
+                mockMqtt.releaseInFlightPermits(0);
+                times = 1;
+            }
+        };
+    }
 }
@@ -9,6 +9,8 @@ import com.microsoft.azure.sdk.iot.device.transport.ProtocolException;
 import com.microsoft.azure.sdk.iot.device.transport.TransportException;
 import com.microsoft.azure.sdk.iot.device.transport.IotHubListener;
 import com.microsoft.azure.sdk.iot.device.transport.IotHubTransportMessage;
+import com.microsoft.azure.sdk.iot.device.transport.mqtt.exceptions.MqttInFlightLimitReachedException;
+import com.microsoft.azure.sdk.iot.device.internal.MessageBodyAccessor;
 import mockit.*;
 import org.apache.commons.lang3.tuple.MutablePair;
 import org.apache.commons.lang3.tuple.Pair;
@@ -20,7 +22,9 @@ import java.io.IOException;
 import java.io.UnsupportedEncodingException;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Queue;
 import java.util.concurrent.ConcurrentLinkedQueue;
@@ -95,14 +99,14 @@ public class MqttTest
     {
         if (withParameters)
         {
-            MqttMessaging mqttMessaging = new MqttMessaging(CLIENT_ID, mockedMessageListener, "", false, mockMqttConnectionOptions, new HashMap<Integer, Message>(), new ConcurrentLinkedQueue<>());
+            MqttMessaging mqttMessaging = new MqttMessaging(CLIENT_ID, mockedMessageListener, "", false, mockMqttConnectionOptions, new HashMap<Integer, Message>(), new ConcurrentLinkedQueue<>(), new MqttInFlightMessageGate(65000, true));
             Deencapsulation.invoke(mqttMessaging, "setListener", new Class[]{IotHubListener.class}, listener);
             Deencapsulation.invoke(mqttMessaging, "setMqttAsyncClient", mockMqttAsyncClient);
             return mqttMessaging;
         }
         else
         {
-            MqttTwin mqttTwin = new MqttTwin(null, mockMqttConnectionOptions, new HashMap<Integer, Message>(), new ConcurrentLinkedQueue<>());
+            MqttTwin mqttTwin = new MqttTwin(null, mockMqttConnectionOptions, new HashMap<Integer, Message>(), new ConcurrentLinkedQueue<>(), new MqttInFlightMessageGate(65000, true));
             Deencapsulation.invoke(mqttTwin, "setListener", new Class[]{IotHubListener.class}, listener);
             Deencapsulation.invoke(mqttTwin, "setMqttAsyncClient", mockMqttAsyncClient);
             return mqttTwin;
@@ -143,13 +147,11 @@ public class MqttTest
         new NonStrictExpectations()
         {
             {
-                mockedMessage.getBytes();
+                MessageBodyAccessor.getBodyWithoutCopy(mockedMessage);
                 result = payload;
                 mockMqttAsyncClient.isConnected();
                 result = true;
-                new MqttMessage(payload);
-                result = mockMqttMessage;
-                mockMqttAsyncClient.publish(MOCK_PARSE_TOPIC, mockMqttMessage);
+                mockMqttAsyncClient.publish(MOCK_PARSE_TOPIC, (MqttMessage) any);
                 result = mockMqttDeliveryToken;
             }
         };
@@ -317,15 +319,51 @@ public class MqttTest
         Deencapsulation.invoke(mockMqtt, "publish", MOCK_PARSE_TOPIC, mockedMessage);
 
         //assert
+        final List<MqttMessage> publishedMessages = new ArrayList<>();
         new Verifications()
         {
             {
                 mockMqttAsyncClient.isConnected();
                 minTimes = 2;
-                mockMqttAsyncClient.publish(MOCK_PARSE_TOPIC, mockMqttMessage);
+                mockMqttAsyncClient.publish(MOCK_PARSE_TOPIC, withCapture(publishedMessages));
                 times = 1;
             }
         };
+        assertArrayEquals(payload, publishedMessages.get(0).getPayload());
+    }
+
+    @Test
+    public void publishHandsPahoMessageBodyWithoutCopyingIt(final @Mocked Message mockedMessage) throws TransportException, MqttException
+    {
+        //arrange
+        final byte[] body = {0x61, 0x62, 0x63};
+        new NonStrictExpectations()
+        {
+            {
+                MessageBodyAccessor.getBodyWithoutCopy(mockedMessage);
+                result = body;
+                mockMqttAsyncClient.isConnected();
+                result = true;
+                mockMqttAsyncClient.publish(MOCK_PARSE_TOPIC, (MqttMessage) any);
+                result = mockMqttDeliveryToken;
+            }
+        };
+        Mqtt mockMqtt = instantiateMqtt(true);
+        Deencapsulation.setField(mockMqtt, "mqttAsyncClient", mockMqttAsyncClient);
+
+        //act
+        mockMqtt.publish(MOCK_PARSE_TOPIC, mockedMessage);
+
+        //assert
+        final List<MqttMessage> publishedMessages = new ArrayList<>();
+        new Verifications()
+        {
+            {
+                mockMqttAsyncClient.publish(MOCK_PARSE_TOPIC, withCapture(publishedMessages));
+                times = 1;
+            }
+        };
+        assertSame(body, publishedMessages.get(0).getPayload());
     }
 
     /*
@@ -357,28 +395,160 @@ public class MqttTest
     {
         //arrange
         final byte[] payload = {0x61, 0x62, 0x63};
-        final IMqttDeliveryToken[] testTokens = {mockMqttDeliveryToken, mockMqttDeliveryToken, mockMqttDeliveryToken,
-                mockMqttDeliveryToken, mockMqttDeliveryToken, mockMqttDeliveryToken,
-                mockMqttDeliveryToken, mockMqttDeliveryToken, mockMqttDeliveryToken,
-                mockMqttDeliveryToken, mockMqttDeliveryToken, mockMqttDeliveryToken
+        new NonStrictExpectations()
+        {
+            {
+                MessageBodyAccessor.getBodyWithoutCopy(mockedMessage);
+                result = payload;
+                mockMqttAsyncClient.isConnected();
+                returns(true, false);
+            }
         };
+        Mqtt mockMqtt = instantiateMqtt(true);
+        MqttInFlightMessageGate inFlightMessageGate = new MqttInFlightMessageGate(1, true);
+        assertTrue(inFlightMessageGate.tryAcquire());
+        Deencapsulation.setField(mockMqtt, "inFlightMessageGate", inFlightMessageGate);
+
+        //act
+        Deencapsulation.invoke(mockMqtt, "publish", MOCK_PARSE_TOPIC, mockedMessage);
+    }
+
+    @Test
+    public void publishFailsWithoutWaitingWhenInFlightLimitReachedAndNotBlocking(final @Mocked Message mockedMessage) throws TransportException, MqttException
+    {
+        //arrange
+        final byte[] payload = {0x61, 0x62, 0x63};
         new NonStrictExpectations()
         {
             {
+                MessageBodyAccessor.getBodyWithoutCopy(mockedMessage);
+                result = payload;
                 mockMqttAsyncClient.isConnected();
                 result = true;
-                mockMqttAsyncClient.getPendingDeliveryTokens();
-                result = testTokens;
-                mockMqttAsyncClient.isConnected();
-                result = false;
             }
         };
         Mqtt mockMqtt = instantiateMqtt(true);
+        MqttInFlightMessageGate inFlightMessageGate = new MqttInFlightMessageGate(1, false);
+        assertTrue(inFlightMessageGate.tryAcquire());
+        Deencapsulation.setField(mockMqtt, "inFlightMessageGate", inFlightMessageGate);
+
+        //act
+        try
+        {
+            mockMqtt.publish(MOCK_PARSE_TOPIC, mockedMessage);
+            fail("Expected publish to fail since the in flight message limit was reached");
+        }
+        catch (MqttInFlightLimitReachedException e)
+        {
+            assertTrue(e.isRetryable());
+        }
+
+        //assert
+        new Verifications()
+        {
+            {
+                mockMqttAsyncClient.publish(anyString, (MqttMessage) any);
+                times = 0;
+            }
+        };
+    }
+
+    @Test
+    public void publishWaitsForInFlightMessageToBeAcknowledged(final @Mocked Message mockedMessage) throws TransportException, MqttException, InterruptedException
+    {
+        //arrange
+        basePublishExpectations(mockedMessage);
+        Mqtt mockMqtt = instantiateMqtt(true);
+        final MqttInFlightMessageGate inFlightMessageGate = new MqttInFlightMessageGate(1, true);
+        assertTrue(inFlightMessageGate.tryAcquire());
+        Deencapsulation.setField(mockMqtt, "inFlightMessageGate", inFlightMessageGate);
+
+        Thread acknowledgingThread = new Thread(() ->
+        {
+            try
+            {
+                Thread.sleep(100);
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+            }
+
+            inFlightMessageGate.release();
+        });
+        acknowledgingThread.start();
 
         //act
         Deencapsulation.invoke(mockMqtt, "publish", MOCK_PARSE_TOPIC, mockedMessage);
+        acknowledgingThread.join();
+
+        //assert
+        assertEquals(1, inFlightMessageGate.getInFlightMessageCount());
+        new Verifications()
+        {
+            {
+                mockMqttAsyncClient.publish(MOCK_PARSE_TOPIC, (MqttMessage) any);
+                times = 1;
+            }
+        };
+    }
+
+    @Test
+    public void publishReleasesInFlightPermitIfPublishFails(final @Mocked Message mockedMessage) throws MqttException
+    {
+        //arrange
+        basePublishExpectations(mockedMessage);
+        new NonStrictExpectations()
+        {
+            {
+                mockMqttAsyncClient.publish(MOCK_PARSE_TOPIC, (MqttMessage) any);
+                result = mockMqttException;
+            }
+        };
+        Mqtt mockMqtt = instantiateMqtt(true);
+        MqttInFlightMessageGate inFlightMessageGate = new MqttInFlightMessageGate(1, true);
+        Deencapsulation.setField(mockMqtt, "inFlightMessageGate", inFlightMessageGate);
+
+        //act
+        try
+        {
+            mockMqtt.publish(MOCK_PARSE_TOPIC, mockedMessage);
+            fail("Expected publish to fail");
+        }
+        catch (TransportException e)
+        {
+            // expected
+        }
+
+        //assert
+        assertEquals(0, inFlightMessageGate.getInFlightMessageCount());
     }
 
+    @Test
+    public void deliveryCompleteReleasesInFlightPermit(final @Mocked Message mockedMessage) throws TransportException, MqttException
+    {
+        //arrange
+        final int expectedMessageId = 13;
+        basePublishExpectations(mockedMessage);
+        new NonStrictExpectations()
+        {
+            {
+                mockMqttDeliveryToken.getMessageId();
+                result = expectedMessageId;
+            }
+        };
+        Mqtt mockMqtt = instantiateMqtt(true, mockedIotHubListener);
+        MqttInFlightMessageGate inFlightMessageGate = new MqttInFlightMessageGate(1, true);
+        Deencapsulation.setField(mockMqtt, "inFlightMessageGate", inFlightMessageGate);
+        Deencapsulation.invoke(mockMqtt, "publish", MOCK_PARSE_TOPIC, mockedMessage);
+        assertEquals(1, inFlightMessageGate.getInFlightMessageCount());
+
+        //act
+        mockMqtt.deliveryComplete(mockMqttDeliveryToken);
+
+        //assert
+        assertEquals(0, inFlightMessageGate.getInFlightMessageCount());
+    }
 
     /*
      **Tests_SRS_Mqtt_25_047: [If the Mqtt Client Async throws MqttException, the function shall throw a ProtocolException with the message.]
@@ -388,15 +558,12 @@ public class MqttTest
     {
         //arrange
         basePublishExpectations(mockedMessage);
-        final byte[] payload = {0x61, 0x62, 0x63};
         new NonStrictExpectations()
         {
             {
                 mockMqttAsyncClient.isConnected();
                 result = true;
-                new MqttMessage(payload);
-                result = mockMqttMessage;
-                mockMqttAsyncClient.publish(MOCK_PARSE_TOPIC, mockMqttMessage);
+                mockMqttAsyncClient.publish(MOCK_PARSE_TOPIC, (MqttMessage) any);
                 result = mockMqttException;
             }
         };
@@ -616,7 +783,7 @@ public class MqttTest
         final byte[] payload = {0x61, 0x62, 0x63};
         baseConnectExpectation();
 
-       final Mqtt mockMqtt = new MqttMessaging(CLIENT_ID, null, "", false, mockMqttConnectionOptions, new HashMap<Integer, Message>(), new ConcurrentLinkedQueue<>());
+       final Mqtt mockMqtt = new MqttMessaging(CLIENT_ID, null, "", false, mockMqttConnectionOptions, new HashMap<Integer, Message>(), new ConcurrentLinkedQueue<>(), new MqttInFlightMessageGate(65000, true));
        Deencapsulation.invoke(mockMqtt, "setMqttAsyncClient", mockMqttAsyncClient);
        new NonStrictExpectations()
         {
@@ -661,7 +828,7 @@ public class MqttTest
         final byte[] payload = {0x61, 0x62, 0x63};
         baseConnectExpectation();
 
-        final Mqtt mockMqtt = new MqttMessaging(CLIENT_ID, null, "", false, mockMqttConnectionOptions, new HashMap<Integer, Message>(), new ConcurrentLinkedQueue<>());
+        final Mqtt mockMqtt = new MqttMessaging(CLIENT_ID, null, "", false, mockMqttConnectionOptions, new HashMap<Integer, Message>(), new ConcurrentLinkedQueue<>(), new MqttInFlightMessageGate(65000, true));
         Deencapsulation.invoke(mockMqtt, "setMqttAsyncClient", mockMqttAsyncClient);
         new NonStrictExpectations()
         {
@@ -694,7 +861,7 @@ public class MqttTest
         //arrange
         final byte[] payload = {0x61, 0x62, 0x63};
         baseConnectExpectation();
-        final Mqtt mockMqtt = new MqttMessaging(CLIENT_ID,  null, "", false, mockMqttConnectionOptions, new HashMap<Integer, Message>(), new ConcurrentLinkedQueue<>());
+        final Mqtt mockMqtt = new MqttMessaging(CLIENT_ID,  null, "", false, mockMqttConnectionOptions, new HashMap<Integer, Message>(), new ConcurrentLinkedQueue<>(), new MqttInFlightMessageGate(65000, true));
         Deencapsulation.invoke(mockMqtt, "setMqttAsyncClient", mockMqttAsyncClient);
 
         new NonStrictExpectations()
@@ -799,7 +966,7 @@ public class MqttTest
         try
         {
             //arrange
-            MqttMessaging testMqttClient = new MqttMessaging("deviceId", null, "", false, mockMqttConnectionOptions, new HashMap<Integer, Message>(), new ConcurrentLinkedQueue<>());
+            MqttMessaging testMqttClient = new MqttMessaging("deviceId", null, "", false, mockMqttConnectionOptions, new HashMap<Integer, Message>(), new ConcurrentLinkedQueue<>(), new MqttInFlightMessageGate(65000, true));
             Queue<Pair<String, byte[]>> testreceivedMessages = new ConcurrentLinkedQueue<>();
             Deencapsulation.setField(testMqttClient, "receivedMessages", testreceivedMessages);
 
@@ -824,7 +991,7 @@ public class MqttTest
         final String mockParseTopicInvalidPropertyFormat = "devices/deviceID/messages/devicebound/%24.mid=69ea4caf-d83e-454b-81f2-caafda4c81c8&%24.exp=99999&%24.to=%2Fdevices%2FdeviceID%2Fmessages%2FdeviceBound&%24.cid=169c34b3-99b0-49f9-b0f6-8fa9d2c99345&iothub-ack=full&property1value1";
         baseConnectExpectation();
 
-        final Mqtt mockMqtt = new MqttMessaging(CLIENT_ID, null, "", false, mockMqttConnectionOptions, new HashMap<Integer, Message>(), new ConcurrentLinkedQueue<>());
+        final Mqtt mockMqtt = new MqttMessaging(CLIENT_ID, null, "", false, mockMqttConnectionOptions, new HashMap<Integer, Message>(), new ConcurrentLinkedQueue<>(), new MqttInFlightMessageGate(65000, true));
         Deencapsulation.invoke(mockMqtt, "setMqttAsyncClient", mockMqttAsyncClient);
         new NonStrictExpectations()
         {
@@ -857,7 +1024,7 @@ public class MqttTest
         final String mockParseTopicNoCustomProperties = "devices/deviceID/messages/devicebound/%24.mid=69ea4caf-d83e-454b-81f2-caafda4c81c8&%24.exp=0&%24.to=%2Fdevices%2FdeviceID%2Fmessages%2FdeviceBound&%24.cid=169c34b3-99b0-49f9-b0f6-8fa9d2c99345&iothub-ack=full";
         baseConnectExpectation();
 
-        final Mqtt mockMqtt = new MqttMessaging(CLIENT_ID, null, "", false, mockMqttConnectionOptions, new HashMap<Integer, Message>(), new ConcurrentLinkedQueue<>());
+        final Mqtt mockMqtt = new MqttMessaging(CLIENT_ID, null, "", false, mockMqttConnectionOptions, new HashMap<Integer, Message>(), new ConcurrentLinkedQueue<>(), new MqttInFlightMessageGate(65000, true));
         Deencapsulation.invoke(mockMqtt, "setMqttAsyncClient", mockMqttAsyncClient);
 
         new NonStrictExpectations()
@@ -894,7 +1061,7 @@ public class MqttTest
         final String mockParseTopicWithUnusualCharacters = "devices/deviceID/messages/devicebound/%24.mid=69ea4caf-d83e-454b-81f2-caafda4c81c8&%24.exp=0&%24.to=%2Fdevices%2FdeviceID%2Fmessages%2FdeviceBound&%24.cid=169c34b3-99b0-49f9-b0f6-8fa9d2c99345&iothub-ack=full&property1=%24&property2=%26&%25=_&finalProperty=.";
         baseConnectExpectation();
 
-        final Mqtt mockMqtt = new MqttMessaging(CLIENT_ID, null, "", false, mockMqttConnectionOptions, new HashMap<Integer, Message>(), new ConcurrentLinkedQueue<>());
+        final Mqtt mockMqtt = new MqttMessaging(CLIENT_ID, null, "", false, mockMqttConnectionOptions, new HashMap<Integer, Message>(), new ConcurrentLinkedQueue<>(), new MqttInFlightMessageGate(65000, true));
         Deencapsulation.invoke(mockMqtt, "setMqttAsyncClient", mockMqttAsyncClient);
         new NonStrictExpectations()
         {
@@ -947,7 +1114,7 @@ public class MqttTest
         final String mockParseTopicWithUnusualCharacters = "devices/deviceID/messages/devicebound/%24.mid=" + msgId + "&%24.exp=" + expTime + "&%24.to=" + URLEncoder.encode(to, StandardCharsets.UTF_8.name()) + "&%24.cid=" + corId + "&iothub-ack=full&%24.ce=" + contentEncoding + "&%24.ct=" + URLEncoder.encode(contentType, StandardCharsets.UTF_8.name()) + "&%24.on=" + outputName + "&property1=%24&property2=%26&%25=_&finalProperty=.";
         baseConnectExpectation();
 
-        final Mqtt mockMqtt = new MqttMessaging(CLIENT_ID, null, "", false, mockMqttConnectionOptions, new HashMap<Integer, Message>(), new ConcurrentLinkedQueue<>());
+        final Mqtt mockMqtt = new MqttMessaging(CLIENT_ID, null, "", false, mockMqttConnectionOptions, new HashMap<Integer, Message>(), new ConcurrentLinkedQueue<>(), new MqttInFlightMessageGate(65000, true));
         Deencapsulation.invoke(mockMqtt, "setMqttAsyncClient", mockMqttAsyncClient);
         new NonStrictExpectations()
         {
@@ -0,0 +1,122 @@
+// Copyright (c) Microsoft. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package com.microsoft.azure.sdk.iot.device.transport.mqtt;
+
+import org.junit.Test;
+
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for MqttTopicEncoder.
+ */
+public class MqttTopicEncoderTest
+{
+    private static final String[] VALUES =
+        {
+            "",
+            "temperature",
+            "value with spaces",
+            "application/json",
+            "a+b=c&d?e#f%g/h$i",
+            "-_.*~!'()",
+            "café üß",
+            "温度",
+            "😀 smile",
+            "lone \ud83d surrogate",
+            "lone \ude00 low surrogate",
+            "2020-09-13T12:26:40.0000000Z",
+        };
+
+    private static String urlEncode(String value) throws UnsupportedEncodingException
+    {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8.name()).replaceAll("\\+", "%20");
+    }
+
+    @Test
+    public void encodeMatchesUrlEncoderWithEncodedSpaces() throws UnsupportedEncodingException
+    {
+        for (String value : VALUES)
+        {
+            //act
+            String encodedValue = MqttTopicEncoder.encode(value);
+
+            //assert
+            assertEquals(value, urlEncode(value), encodedValue);
+        }
+    }
+
+    @Test
+    public void appendEncodedAndCacheMatchesUrlEncoderWithEncodedSpaces() throws UnsupportedEncodingException
+    {
+        //arrange
+        MqttTopicEncoder encoder = new MqttTopicEncoder();
+
+        for (String value : VALUES)
+        {
+            // The second time round, the encoding comes from the cache
+            for (int i = 0; i < 2; i++)
+            {
+                StringBuilder stringBuilder = new StringBuilder("prefix=");
+
+                //act
+                encoder.appendEncodedAndCache(stringBuilder, value);
+
+                //assert
+                assertEquals(value, "prefix=" + urlEncode(value), stringBuilder.toString());
+            }
+        }
+    }
+
+    @Test
+    public void appendEncodedAndCacheOnlyCachesValuesThatNeedEncoding()
+    {
+        //arrange
+        MqttTopicEncoder encoder = new MqttTopicEncoder();
+
+        //act
+        encoder.appendEncodedAndCache(new StringBuilder(), "temperature");
+        encoder.appendEncodedAndCache(new StringBuilder(), "value with spaces");
+
+        //assert
+        assertEquals(1, encoder.getCachedEncodingCount());
+    }
+
+    @Test
+    public void appendEncodedAndCacheDoesNotCacheLongValues()
+    {
+        //arrange
+        MqttTopicEncoder encoder = new MqttTopicEncoder();
+        StringBuilder longValue = new StringBuilder();
+        while (longValue.length() <= MqttTopicEncoder.MAX_CACHED_VALUE_LENGTH)
+        {
+            longValue.append("a b ");
+        }
+
+        //act
+        encoder.appendEncodedAndCache(new StringBuilder(), longValue.toString());
+
+        //assert
+        assertEquals(0, encoder.getCachedEncodingCount());
+    }
+
+    @Test
+    public void appendEncodedAndCacheBoundsCacheSize()
+    {
+        //arrange
+        MqttTopicEncoder encoder = new MqttTopicEncoder();
+
+        //act
+        for (int i = 0; i < MqttTopicEncoder.MAX_CACHED_ENCODINGS * 3; i++)
+        {
+            encoder.appendEncodedAndCache(new StringBuilder(), "value " + i);
+        }
+
+        //assert
+        assertTrue(encoder.getCachedEncodingCount() <= MqttTopicEncoder.MAX_CACHED_ENCODINGS);
+    }
+}
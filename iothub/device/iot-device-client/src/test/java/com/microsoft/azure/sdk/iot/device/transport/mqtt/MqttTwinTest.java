@@ -8,6 +8,7 @@ import com.microsoft.azure.sdk.iot.device.Message;
 import com.microsoft.azure.sdk.iot.device.MessageType;
 import com.microsoft.azure.sdk.iot.device.transport.TransportException;
 import com.microsoft.azure.sdk.iot.device.transport.IotHubTransportMessage;
+import com.microsoft.azure.sdk.iot.device.internal.MessageBodyAccessor;
 import mockit.*;
 import org.apache.commons.lang3.tuple.MutablePair;
 import org.apache.commons.lang3.tuple.Pair;
@@ -53,7 +54,7 @@ public class MqttTwinTest
         //arrange
 
         //act
-        MqttTwin testTwin = new MqttTwin("", mockedConnectOptions, new HashMap<>(), new ConcurrentLinkedQueue<>());
+        MqttTwin testTwin = new MqttTwin("", mockedConnectOptions, new HashMap<>(), new ConcurrentLinkedQueue<>(), new MqttInFlightMessageGate(65000, true));
         //assert
         String actualSubscribeTopic = Deencapsulation.getField(testTwin, "subscribeTopic");
         assertNotNull(actualSubscribeTopic);
@@ -66,7 +67,7 @@ public class MqttTwinTest
     public void startSubscribesToDeviceTwinResponse(@Mocked final Mqtt mockMqtt) throws TransportException
     {
         //arrange
-        MqttTwin testTwin = new MqttTwin("", mockedConnectOptions, new HashMap<>(), new ConcurrentLinkedQueue<>());
+        MqttTwin testTwin = new MqttTwin("", mockedConnectOptions, new HashMap<>(), new ConcurrentLinkedQueue<>(), new MqttInFlightMessageGate(65000, true));
 
         //act
 
@@ -96,7 +97,7 @@ public class MqttTwinTest
             }
         };
 
-        MqttTwin testTwin = new MqttTwin("", mockedConnectOptions, new HashMap<>(), new ConcurrentLinkedQueue<>());
+        MqttTwin testTwin = new MqttTwin("", mockedConnectOptions, new HashMap<>(), new ConcurrentLinkedQueue<>(), new MqttInFlightMessageGate(65000, true));
 
         //act
         testTwin.start();
@@ -111,12 +112,12 @@ public class MqttTwinTest
         //arrange
         final byte[] actualPayload = {0x61, 0x62, 0x63};
         final String expectedTopic = "$iothub/twin/GET/?$rid="+mockReqId;
-        MqttTwin testTwin = new MqttTwin("", mockedConnectOptions, new HashMap<>(), new ConcurrentLinkedQueue<>());
+        MqttTwin testTwin = new MqttTwin("", mockedConnectOptions, new HashMap<>(), new ConcurrentLinkedQueue<>(), new MqttInFlightMessageGate(65000, true));
         testTwin.start();
         new NonStrictExpectations()
         {
             {
-                mockMessage.getBytes();
+                MessageBodyAccessor.getBodyWithoutCopy(mockMessage);
                 result = actualPayload;
                 mockMessage.getMessageType();
                 result = MessageType.DEVICE_TWIN;
@@ -134,7 +135,7 @@ public class MqttTwinTest
         new Verifications()
         {
             {
-                mockMessage.getBytes();
+                MessageBodyAccessor.getBodyWithoutCopy(mockMessage);
                 times = 1;
                 Deencapsulation.invoke(mockMqtt, "publish", expectedTopic, mockMessage);
                 times = 1;
@@ -152,12 +153,12 @@ public class MqttTwinTest
         try
         {
             //arrange
-            MqttTwin testTwin = new MqttTwin("", mockedConnectOptions, new HashMap<>(), new ConcurrentLinkedQueue<>());
+            MqttTwin testTwin = new MqttTwin("", mockedConnectOptions, new HashMap<>(), new ConcurrentLinkedQueue<>(), new MqttInFlightMessageGate(65000, true));
             testTwin.start();
             new NonStrictExpectations()
             {
                 {
-                    mockMessage.getBytes();
+                    MessageBodyAccessor.getBodyWithoutCopy(mockMessage);
                     result = actualPayload;
                     mockMessage.getMessageType();
                     result = MessageType.DEVICE_TWIN;
@@ -177,7 +178,7 @@ public class MqttTwinTest
             new Verifications()
             {
                 {
-                    mockMessage.getBytes();
+                    MessageBodyAccessor.getBodyWithoutCopy(mockMessage);
                     times = 1;
                     Deencapsulation.invoke(mockMqtt, "publish", expectedTopic, new MqttMessage(actualPayload), mockMessage);
                     times = 0;
@@ -195,12 +196,12 @@ public class MqttTwinTest
         //arrange
         final byte[] actualPayload = {0x61, 0x62, 0x63};
         final String expectedTopic = "$iothub/twin/PATCH/properties/reported/?$rid="+ mockReqId + "&$version=" + mockVersion;
-        MqttTwin testTwin = new MqttTwin("", mockedConnectOptions, new HashMap<>(), new ConcurrentLinkedQueue<>());
+        MqttTwin testTwin = new MqttTwin("", mockedConnectOptions, new HashMap<>(), new ConcurrentLinkedQueue<>(), new MqttInFlightMessageGate(65000, true));
         testTwin.start();
         new NonStrictExpectations()
         {
             {
-                mockMessage.getBytes();
+                MessageBodyAccessor.getBodyWithoutCopy(mockMessage);
                 result = actualPayload;
                 mockMessage.getMessageType();
                 result = MessageType.DEVICE_TWIN;
@@ -220,7 +221,7 @@ public class MqttTwinTest
         new Verifications()
         {
             {
-                mockMessage.getBytes();
+                MessageBodyAccessor.getBodyWithoutCopy(mockMessage);
                 times = 1;
                 Deencapsulation.invoke(mockMqtt, "publish", expectedTopic, mockMessage);
                 times = 1;
@@ -233,12 +234,12 @@ public class MqttTwinTest
         //arrange
         final byte[] actualPayload = {0x61, 0x62, 0x63};
         final String expectedTopic = "$iothub/twin/PATCH/properties/reported/?$rid="+ mockReqId;
-        MqttTwin testTwin = new MqttTwin("", mockedConnectOptions, new HashMap<>(), new ConcurrentLinkedQueue<>());
+        MqttTwin testTwin = new MqttTwin("", mockedConnectOptions, new HashMap<>(), new ConcurrentLinkedQueue<>(), new MqttInFlightMessageGate(65000, true));
         testTwin.start();
         new NonStrictExpectations()
         {
             {
-                mockMessage.getBytes();
+                MessageBodyAccessor.getBodyWithoutCopy(mockMessage);
                 result = actualPayload;
                 mockMessage.getMessageType();
                 result = MessageType.DEVICE_TWIN;
@@ -258,7 +259,7 @@ public class MqttTwinTest
         new Verifications()
         {
             {
-                mockMessage.getBytes();
+                MessageBodyAccessor.getBodyWithoutCopy(mockMessage);
                 times = 1;
                 Deencapsulation.invoke(mockMqtt, "publish", expectedTopic, mockMessage);
                 times = 1;
@@ -276,12 +277,12 @@ public class MqttTwinTest
         try
         {
             //arrange
-            MqttTwin testTwin = new MqttTwin("", mockedConnectOptions, new HashMap<>(), new ConcurrentLinkedQueue<>());
+            MqttTwin testTwin = new MqttTwin("", mockedConnectOptions, new HashMap<>(), new ConcurrentLinkedQueue<>(), new MqttInFlightMessageGate(65000, true));
             testTwin.start();
             new NonStrictExpectations()
             {
                 {
-                    mockMessage.getBytes();
+                    MessageBodyAccessor.getBodyWithoutCopy(mockMessage);
                     result = actualPayload;
                     mockMessage.getMessageType();
                     result = MessageType.DEVICE_TWIN;
@@ -301,7 +302,7 @@ public class MqttTwinTest
             new Verifications()
             {
                 {
-                    mockMessage.getBytes();
+                    MessageBodyAccessor.getBodyWithoutCopy(mockMessage);
                     times = 1;
                     Deencapsulation.invoke(mockMqtt, "publish", expectedTopic, new MqttMessage(actualPayload), mockMessage);
                     times = 0;
@@ -319,12 +320,12 @@ public class MqttTwinTest
         //arrange
         final byte[] actualPayload = {0x61, 0x62, 0x63};
         final String expectedTopic = "$iothub/twin/PATCH/properties/desired/#";
-        MqttTwin testTwin = new MqttTwin("", mockedConnectOptions, new HashMap<>(), new ConcurrentLinkedQueue<>());
+        MqttTwin testTwin = new MqttTwin("", mockedConnectOptions, new HashMap<>(), new ConcurrentLinkedQueue<>(), new MqttInFlightMessageGate(65000, true));
         testTwin.start();
         new NonStrictExpectations()
         {
             {
-                mockMessage.getBytes();
+                MessageBodyAccessor.getBodyWithoutCopy(mockMessage);
                 result = actualPayload;
                 mockMessage.getMessageType();
                 result = MessageType.DEVICE_TWIN;
@@ -342,7 +343,7 @@ public class MqttTwinTest
         new Verifications()
         {
             {
-                mockMessage.getBytes();
+                MessageBodyAccessor.getBodyWithoutCopy(mockMessage);
                 times = 1;
                 Deencapsulation.invoke(mockMqtt, "subscribe", expectedTopic);
                 times = 1;
@@ -359,12 +360,12 @@ public class MqttTwinTest
     {
         //arrange
         final byte[] actualPayload = {0x61, 0x62, 0x63};
-        MqttTwin testTwin = new MqttTwin("", mockedConnectOptions, new HashMap<>(), new ConcurrentLinkedQueue<>());
+        MqttTwin testTwin = new MqttTwin("", mockedConnectOptions, new HashMap<>(), new ConcurrentLinkedQueue<>(), new MqttInFlightMessageGate(65000, true));
         testTwin.start();
         new NonStrictExpectations()
         {
             {
-                mockMessage.getBytes();
+                MessageBodyAccessor.getBodyWithoutCopy(mockMessage);
                 result = actualPayload;
                 mockMessage.getMessageType();
                 result = MessageType.DEVICE_TWIN;
@@ -385,7 +386,7 @@ public class MqttTwinTest
         new Verifications()
         {
             {
-                mockMessage.getBytes();
+                MessageBodyAccessor.getBodyWithoutCopy(mockMessage);
                 times = 1;
                 Deencapsulation.invoke(mockMqtt, "subscribe", anyString);
                 times = 0;
@@ -405,7 +406,7 @@ public class MqttTwinTest
         final byte[] actualPayload = {0x61, 0x62, 0x63};
         final String expectedTopic = "$iothub/twin/PATCH/properties/desired/?$version="+ mockVersion;
         final String expectedSubscribeTopic = "$iothub/twin/PATCH/properties/desired/#";
-        MqttTwin testTwin = new MqttTwin("", mockedConnectOptions, new HashMap<Integer, Message>(), new ConcurrentLinkedQueue<>());
+        MqttTwin testTwin = new MqttTwin("", mockedConnectOptions, new HashMap<Integer, Message>(), new ConcurrentLinkedQueue<>(), new MqttInFlightMessageGate(65000, true));
         testTwin.start();
         new NonStrictExpectations()
         {
@@ -416,7 +417,7 @@ public class MqttTwinTest
                 result = DEVICE_OPERATION_TWIN_SUBSCRIBE_DESIRED_PROPERTIES_REQUEST;
                 mockMessage.getVersion();
                 result = mockVersion;
-                mockMessage.getBytes();
+                MessageBodyAccessor.getBodyWithoutCopy(mockMessage);
                 result = actualPayload;
             }
         };
@@ -428,7 +429,7 @@ public class MqttTwinTest
         new Verifications()
         {
             {
-                mockMessage.getBytes();
+                MessageBodyAccessor.getBodyWithoutCopy(mockMessage);
                 times = 1;
                 Deencapsulation.invoke(mockMqtt, "subscribe", expectedSubscribeTopic);
                 times = 1;
@@ -448,7 +449,7 @@ public class MqttTwinTest
         try
         {
             //arrange
-            MqttTwin testTwin = new MqttTwin("", mockedConnectOptions, new HashMap<Integer, Message>(), new ConcurrentLinkedQueue<>());
+            MqttTwin testTwin = new MqttTwin("", mockedConnectOptions, new HashMap<Integer, Message>(), new ConcurrentLinkedQueue<>(), new MqttInFlightMessageGate(65000, true));
 
             //act
             testTwin.send(null);
@@ -458,7 +459,7 @@ public class MqttTwinTest
             new Verifications()
             {
                 {
-                    mockMessage.getBytes();
+                    MessageBodyAccessor.getBodyWithoutCopy(mockMessage);
                     times = 0;
                     Deencapsulation.invoke(mockMqtt, "publish", expectedTopic, new MqttMessage(actualPayload), mockMessage);
                     times = 0;
@@ -480,7 +481,7 @@ public class MqttTwinTest
         try
         {
             //arrange
-            MqttTwin testTwin = new MqttTwin("", mockedConnectOptions, new HashMap<Integer, Message>(), new ConcurrentLinkedQueue<>());
+            MqttTwin testTwin = new MqttTwin("", mockedConnectOptions, new HashMap<Integer, Message>(), new ConcurrentLinkedQueue<>(), new MqttInFlightMessageGate(65000, true));
             Queue<Pair<String, MqttMessage>> testreceivedMessages = new ConcurrentLinkedQueue<>();
             testreceivedMessages.add(new MutablePair<>(expectedTopic, new MqttMessage(actualPayload)));
             Deencapsulation.setField(testTwin, "receivedMessages", testreceivedMessages);
@@ -517,7 +518,7 @@ public class MqttTwinTest
         try
         {
             //arrange
-            MqttTwin testTwin = new MqttTwin("", mockedConnectOptions, new HashMap<Integer, Message>(), new ConcurrentLinkedQueue<>());
+            MqttTwin testTwin = new MqttTwin("", mockedConnectOptions, new HashMap<Integer, Message>(), new ConcurrentLinkedQueue<>(), new MqttInFlightMessageGate(65000, true));
             Queue<Pair<String, MqttMessage>> testreceivedMessages = new ConcurrentLinkedQueue<>();
             testreceivedMessages.add(new MutablePair<>(expectedTopic, new MqttMessage(actualPayload)));
             Deencapsulation.setField(testTwin, "receivedMessages", testreceivedMessages);
@@ -553,7 +554,7 @@ public class MqttTwinTest
         try
         {
             //arrange
-            MqttTwin testTwin = new MqttTwin("", mockedConnectOptions, new HashMap<Integer, Message>(), new ConcurrentLinkedQueue<>());
+            MqttTwin testTwin = new MqttTwin("", mockedConnectOptions, new HashMap<Integer, Message>(), new ConcurrentLinkedQueue<>(), new MqttInFlightMessageGate(65000, true));
             Queue<Pair<String, MqttMessage>> testreceivedMessages = new ConcurrentLinkedQueue<>();
             testreceivedMessages.add(new MutablePair<>(expectedTopic, new MqttMessage(actualPayload)));
             Deencapsulation.setField(testTwin, "receivedMessages", testreceivedMessages);
@@ -585,7 +586,7 @@ public class MqttTwinTest
         try
         {
             //arrange
-            MqttTwin testTwin = new MqttTwin("", mockedConnectOptions, new HashMap<Integer, Message>(), new ConcurrentLinkedQueue<>());
+            MqttTwin testTwin = new MqttTwin("", mockedConnectOptions, new HashMap<Integer, Message>(), new ConcurrentLinkedQueue<>(), new MqttInFlightMessageGate(65000, true));
             Queue<Pair<String, MqttMessage>> testreceivedMessages = new ConcurrentLinkedQueue<>();
             testreceivedMessages.add(new MutablePair<>(expectedTopic, new MqttMessage(actualPayload)));
             Deencapsulation.setField(testTwin, "receivedMessages", testreceivedMessages);
@@ -611,7 +612,7 @@ public class MqttTwinTest
         try
         {
             //arrange
-            MqttTwin testTwin = new MqttTwin("", mockedConnectOptions, new HashMap<Integer, Message>(), new ConcurrentLinkedQueue<>());
+            MqttTwin testTwin = new MqttTwin("", mockedConnectOptions, new HashMap<Integer, Message>(), new ConcurrentLinkedQueue<>(), new MqttInFlightMessageGate(65000, true));
             Queue<Pair<String, MqttMessage>> testreceivedMessages = new ConcurrentLinkedQueue<>();
             testreceivedMessages.add(new MutablePair<>(expectedTopic, new MqttMessage(actualPayload)));
             Deencapsulation.setField(testTwin, "receivedMessages", testreceivedMessages);
@@ -639,7 +640,7 @@ public class MqttTwinTest
         try
         {
             //arrange
-            MqttTwin testTwin = new MqttTwin("", mockedConnectOptions, new HashMap<Integer, Message>(), new ConcurrentLinkedQueue<>());
+            MqttTwin testTwin = new MqttTwin("", mockedConnectOptions, new HashMap<Integer, Message>(), new ConcurrentLinkedQueue<>(), new MqttInFlightMessageGate(65000, true));
             Queue<Pair<String, MqttMessage>> testreceivedMessages = new ConcurrentLinkedQueue<>();
             testreceivedMessages.add(new MutablePair<>(expectedTopic, new MqttMessage(actualPayload)));
             Deencapsulation.setField(testTwin, "receivedMessages", testreceivedMessages);
@@ -675,7 +676,7 @@ public class MqttTwinTest
         try
         {
             //arrange
-            MqttTwin testTwin = new MqttTwin("", mockedConnectOptions, new HashMap<Integer, Message>(), new ConcurrentLinkedQueue<>());
+            MqttTwin testTwin = new MqttTwin("", mockedConnectOptions, new HashMap<Integer, Message>(), new ConcurrentLinkedQueue<>(), new MqttInFlightMessageGate(65000, true));
             Queue<Pair<String, MqttMessage>> testreceivedMessages = new ConcurrentLinkedQueue<>();
             testreceivedMessages.add(new MutablePair<>(expectedTopic, new MqttMessage(actualPayload)));
             Deencapsulation.setField(testTwin, "receivedMessages", testreceivedMessages);
@@ -712,7 +713,7 @@ public class MqttTwinTest
         try
         {
             //arrange
-            MqttTwin testTwin = new MqttTwin("", mockedConnectOptions, new HashMap<Integer, Message>(), new ConcurrentLinkedQueue<>());
+            MqttTwin testTwin = new MqttTwin("", mockedConnectOptions, new HashMap<Integer, Message>(), new ConcurrentLinkedQueue<>(), new MqttInFlightMessageGate(65000, true));
             Queue<Pair<String, MqttMessage>> testreceivedMessages = new ConcurrentLinkedQueue<>();
             testreceivedMessages.add(new MutablePair<>(expectedTopic, new MqttMessage(actualPayload)));
             Deencapsulation.setField(testTwin, "receivedMessages", testreceivedMessages);
@@ -750,7 +751,7 @@ public class MqttTwinTest
         try
         {
             //arrange
-            MqttTwin testTwin = new MqttTwin("", mockedConnectOptions, new HashMap<Integer, Message>(), new ConcurrentLinkedQueue<>());
+            MqttTwin testTwin = new MqttTwin("", mockedConnectOptions, new HashMap<Integer, Message>(), new ConcurrentLinkedQueue<>(), new MqttInFlightMessageGate(65000, true));
             Queue<Pair<String, MqttMessage>> testreceivedMessages = new ConcurrentLinkedQueue<>();
             testreceivedMessages.add(new MutablePair<>(expectedTopic, new MqttMessage(actualPayload)));
             Deencapsulation.setField(testTwin, "receivedMessages", testreceivedMessages);
@@ -785,7 +786,7 @@ public class MqttTwinTest
         try
         {
             //arrange
-            MqttTwin testTwin = new MqttTwin("", mockedConnectOptions, new HashMap<Integer, Message>(), new ConcurrentLinkedQueue<>());
+            MqttTwin testTwin = new MqttTwin("", mockedConnectOptions, new HashMap<Integer, Message>(), new ConcurrentLinkedQueue<>(), new MqttInFlightMessageGate(65000, true));
             Queue<Pair<String, MqttMessage>> testreceivedMessages = new ConcurrentLinkedQueue<>();
             testreceivedMessages.add(new MutablePair<>(expectedTopic, new MqttMessage(actualPayload)));
             Deencapsulation.setField(testTwin, "receivedMessages", testreceivedMessages);
@@ -835,7 +836,7 @@ public class MqttTwinTest
         try
         {
             //arrange
-            MqttTwin testTwin = new MqttTwin("", mockedConnectOptions, new HashMap<Integer, Message>(), new ConcurrentLinkedQueue<>());
+            MqttTwin testTwin = new MqttTwin("", mockedConnectOptions, new HashMap<Integer, Message>(), new ConcurrentLinkedQueue<>(), new MqttInFlightMessageGate(65000, true));
             Queue<Pair<String, MqttMessage>> testreceivedMessages = new ConcurrentLinkedQueue<>();
             testreceivedMessages.add(new MutablePair<>(expectedTopic, new MqttMessage(actualPayload)));
             Deencapsulation.setField(testTwin, "receivedMessages", testreceivedMessages);
@@ -875,7 +876,7 @@ public class MqttTwinTest
         try
         {
             //arrange
-            MqttTwin testTwin = new MqttTwin("", mockedConnectOptions, new HashMap<Integer, Message>(), new ConcurrentLinkedQueue<>());
+            MqttTwin testTwin = new MqttTwin("", mockedConnectOptions, new HashMap<Integer, Message>(), new ConcurrentLinkedQueue<>(), new MqttInFlightMessageGate(65000, true));
             Queue<Pair<String, MqttMessage>> testreceivedMessages = new ConcurrentLinkedQueue<>();
             testreceivedMessages.add(new MutablePair<>(expectedTopic, new MqttMessage(actualPayload)));
             Deencapsulation.setField(testTwin, "receivedMessages", testreceivedMessages);
@@ -915,7 +916,7 @@ public class MqttTwinTest
         try
         {
             //arrange
-            MqttTwin testTwin = new MqttTwin("", mockedConnectOptions, new HashMap<Integer, Message>(), new ConcurrentLinkedQueue<>());
+            MqttTwin testTwin = new MqttTwin("", mockedConnectOptions, new HashMap<Integer, Message>(), new ConcurrentLinkedQueue<>(), new MqttInFlightMessageGate(65000, true));
             Queue<Pair<String, MqttMessage>> testreceivedMessages = new ConcurrentLinkedQueue<>();
             testreceivedMessages.add(new MutablePair<>(expectedTopic, new MqttMessage(actualPayload)));
             Deencapsulation.setField(testTwin, "receivedMessages", testreceivedMessages);
@@ -956,7 +957,7 @@ public class MqttTwinTest
             MqttMessage mqttMessage = new MqttMessage(actualPayload);
             mqttMessage.setQos(expectedQualityOfService);
             testreceivedMessages.add(new MutablePair<>(expectedTopic, mqttMessage));
-            MqttTwin testTwin = new MqttTwin("", mockedConnectOptions, new HashMap<>(), testreceivedMessages);
+            MqttTwin testTwin = new MqttTwin("", mockedConnectOptions, new HashMap<>(), testreceivedMessages, new MqttInFlightMessageGate(65000, true));
 
             //act
             receivedMessage = testTwin.receive();
@@ -981,7 +982,7 @@ public class MqttTwinTest
         try
         {
             //arrange
-            MqttTwin testTwin = new MqttTwin("", mockedConnectOptions, new HashMap<Integer, Message>(), new ConcurrentLinkedQueue<>());
+            MqttTwin testTwin = new MqttTwin("", mockedConnectOptions, new HashMap<Integer, Message>(), new ConcurrentLinkedQueue<>(), new MqttInFlightMessageGate(65000, true));
             Queue<Pair<String, MqttMessage>> testreceivedMessages = new ConcurrentLinkedQueue<>();
             testreceivedMessages.add(new MutablePair<>(expectedTopic, new MqttMessage(actualPayload)));
             Deencapsulation.setField(testTwin, "receivedMessages", testreceivedMessages);
@@ -1016,7 +1017,7 @@ public class MqttTwinTest
     public void receiveReturnsNullMessageIfTopicNotFound(@Mocked final Mqtt mockMqtt) throws TransportException
     {
         //arrange
-        MqttTwin testTwin = new MqttTwin("", mockedConnectOptions, new HashMap<Integer, Message>(), new ConcurrentLinkedQueue<>());
+        MqttTwin testTwin = new MqttTwin("", mockedConnectOptions, new HashMap<Integer, Message>(), new ConcurrentLinkedQueue<>(), new MqttInFlightMessageGate(65000, true));
         Queue<Pair<String, MqttMessage>> testreceivedMessages = new ConcurrentLinkedQueue<>();
         testreceivedMessages.add(new MutablePair<>(null, new MqttMessage(new byte[5])));
         Deencapsulation.setField(testTwin, "receivedMessages", testreceivedMessages);
@@ -0,0 +1,293 @@
+// Copyright (c) Microsoft. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package com.microsoft.azure.sdk.iot.device.twin;
+
+import com.google.gson.JsonPrimitive;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for DirectMethodDispatcher.
+ */
+public class DirectMethodDispatcherTest
+{
+    private static final DirectMethodPayload PAYLOAD = new DirectMethodPayload(new JsonPrimitive("payload"));
+
+    private final ExecutorService slowExecutor = Executors.newFixedThreadPool(4);
+    private final ExecutorService fastExecutor = Executors.newFixedThreadPool(2);
+
+    /**
+     * Collects the outcome of each invocation.
+     */
+    private static final class TestResponder implements DirectMethodDispatcher.Responder
+    {
+        final BlockingQueue<DirectMethodResponse> responses = new ArrayBlockingQueue<>(1000);
+        final BlockingQueue<Exception> failures = new ArrayBlockingQueue<>(1000);
+
+        @Override
+        public void onResponse(DirectMethodResponse response)
+        {
+            this.responses.add(response);
+        }
+
+        @Override
+        public void onFailure(Exception e)
+        {
+            this.failures.add(e);
+        }
+    }
+
+    @After
+    public void tearDown()
+    {
+        this.slowExecutor.shutdownNow();
+        this.fastExecutor.shutdownNow();
+    }
+
+    @Test
+    public void fastMethodIsNotHeldUpBySlowMethods() throws InterruptedException
+    {
+        //arrange
+        CountDownLatch releaseSlowMethods = new CountDownLatch(1);
+        DirectMethodDispatcher dispatcher = new DirectMethodDispatcher()
+            .registerMethod("update", (methodName, payload, context) ->
+            {
+                try
+                {
+                    releaseSlowMethods.await();
+                }
+                catch (InterruptedException e)
+                {
+                    Thread.currentThread().interrupt();
+                }
+
+                return new DirectMethodResponse(200, "updated");
+            }, this.slowExecutor, 1)
+            .registerMethod("ping", (methodName, payload, context) -> new DirectMethodResponse(200, "pong"), this.fastExecutor);
+        TestResponder slowResponder = new TestResponder();
+        TestResponder fastResponder = new TestResponder();
+
+        try
+        {
+            //act
+            for (int i = 0; i < 10; i++)
+            {
+                dispatcher.dispatch("update", PAYLOAD, slowResponder);
+            }
+
+            long longestPingNanos = 0;
+            for (int i = 0; i < 100; i++)
+            {
+                long start = System.nanoTime();
+                dispatcher.dispatch("ping", PAYLOAD, fastResponder);
+                DirectMethodResponse response = fastResponder.responses.poll(5, TimeUnit.SECONDS);
+                longestPingNanos = Math.max(longestPingNanos, System.nanoTime() - start);
+
+                assertNotNull(response);
+                assertEquals("pong", response.getPayload());
+            }
+
+            //assert
+            assertTrue(slowResponder.responses.isEmpty());
+            assertTrue("Slowest ping took " + longestPingNanos + " ns", longestPingNanos < TimeUnit.SECONDS.toNanos(1));
+        }
+        finally
+        {
+            releaseSlowMethods.countDown();
+        }
+
+        for (int i = 0; i < 10; i++)
+        {
+            assertNotNull(slowResponder.responses.poll(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    public void methodRunsAtMostMaxConcurrencyInvocationsAtOnce() throws InterruptedException
+    {
+        //arrange
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger mostRunning = new AtomicInteger();
+        DirectMethodDispatcher dispatcher = new DirectMethodDispatcher()
+            .registerMethod("update", (methodName, payload, context) ->
+            {
+                mostRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                try
+                {
+                    Thread.sleep(5);
+                }
+                catch (InterruptedException e)
+                {
+                    Thread.currentThread().interrupt();
+                }
+
+                running.decrementAndGet();
+                return new DirectMethodResponse(200, null);
+            }, this.slowExecutor, 2);
+        TestResponder responder = new TestResponder();
+
+        //act
+        for (int i = 0; i < 20; i++)
+        {
+            dispatcher.dispatch("update", PAYLOAD, responder);
+        }
+
+        //assert
+        for (int i = 0; i < 20; i++)
+        {
+            assertNotNull(responder.responses.poll(5, TimeUnit.SECONDS));
+        }
+
+        assertEquals(2, mostRunning.get());
+    }
+
+    @Test
+    public void unregisteredMethodGoesToDefaultMethod() throws InterruptedException
+    {
+        //arrange
+        DirectMethodDispatcher dispatcher = new DirectMethodDispatcher()
+            .setDefaultMethod((methodName, payload, context) -> new DirectMethodResponse(200, methodName), this.fastExecutor, 1);
+        TestResponder responder = new TestResponder();
+
+        //act
+        dispatcher.dispatch("reboot", PAYLOAD, responder);
+
+        //assert
+        DirectMethodResponse response = responder.responses.poll(5, TimeUnit.SECONDS);
+        assertNotNull(response);
+        assertEquals("reboot", response.getPayload());
+    }
+
+    @Test
+    public void unregisteredMethodIsAnsweredWithNotFound()
+    {
+        //arrange
+        DirectMethodDispatcher dispatcher = new DirectMethodDispatcher()
+            .registerMethod("ping", (methodName, payload, context) -> new DirectMethodResponse(200, "pong"), this.fastExecutor)
+            .unregisterMethod("ping");
+        TestResponder responder = new TestResponder();
+
+        //act
+        dispatcher.dispatch("ping", PAYLOAD, responder);
+
+        //assert
+        DirectMethodResponse response = responder.responses.poll();
+        assertNotNull(response);
+        assertEquals(DirectMethodDispatcher.METHOD_NOT_FOUND_STATUS, response.getStatus());
+    }
+
+    @Test
+    public void failingMethodIsReportedAsFailure() throws InterruptedException
+    {
+        //arrange
+        DirectMethodDispatcher dispatcher = new DirectMethodDispatcher()
+            .registerMethod("throws", (methodName, payload, context) ->
+            {
+                throw new IllegalStateException("failed");
+            }, this.fastExecutor, 1)
+            .registerMethod("returnsNull", (methodName, payload, context) -> null, this.fastExecutor, 1);
+        TestResponder responder = new TestResponder();
+
+        //act
+        dispatcher.dispatch("throws", PAYLOAD, responder);
+        dispatcher.dispatch("returnsNull", PAYLOAD, responder);
+
+        //assert
+        assertNotNull(responder.failures.poll(5, TimeUnit.SECONDS));
+        assertNotNull(responder.failures.poll(5, TimeUnit.SECONDS));
+        assertTrue(responder.responses.isEmpty());
+    }
+
+    @Test
+    public void rejectedInvocationIsReportedAsFailureAndFreesItsSlot() throws InterruptedException
+    {
+        //arrange
+        ExecutorService shutDownExecutor = Executors.newSingleThreadExecutor();
+        shutDownExecutor.shutdown();
+        DirectMethodDispatcher dispatcher = new DirectMethodDispatcher()
+            .registerMethod("ping", (methodName, payload, context) -> new DirectMethodResponse(200, "pong"), shutDownExecutor, 1);
+        TestResponder responder = new TestResponder();
+
+        //act
+        dispatcher.dispatch("ping", PAYLOAD, responder);
+        dispatcher.dispatch("ping", PAYLOAD, responder);
+
+        //assert
+        assertEquals(2, responder.failures.size());
+    }
+
+    @Test
+    public void waitingInvocationsAreAllRejectedOnceExecutorIsShutDown() throws InterruptedException
+    {
+        //arrange
+        final int waitingInvocationCount = 100000;
+        CountDownLatch firstInvocationStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirstInvocation = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        DirectMethodDispatcher dispatcher = new DirectMethodDispatcher()
+            .registerMethod("update", (methodName, payload, context) ->
+            {
+                firstInvocationStarted.countDown();
+                try
+                {
+                    releaseFirstInvocation.await();
+                }
+                catch (InterruptedException e)
+                {
+                    Thread.currentThread().interrupt();
+                }
+
+                return new DirectMethodResponse(200, null);
+            }, executor, 1);
+        AtomicInteger failures = new AtomicInteger();
+        CountDownLatch allRejected = new CountDownLatch(1);
+        DirectMethodDispatcher.Responder responder = new DirectMethodDispatcher.Responder()
+        {
+            @Override
+            public void onResponse(DirectMethodResponse response)
+            {
+            }
+
+            @Override
+            public void onFailure(Exception e)
+            {
+                if (failures.incrementAndGet() == waitingInvocationCount)
+                {
+                    allRejected.countDown();
+                }
+            }
+        };
+        dispatcher.dispatch("update", PAYLOAD, responder);
+        assertTrue(firstInvocationStarted.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < waitingInvocationCount; i++)
+        {
+            dispatcher.dispatch("update", PAYLOAD, responder);
+        }
+
+        //act
+        executor.shutdown();
+        releaseFirstInvocation.countDown();
+
+        //assert
+        assertTrue(allRejected.await(10, TimeUnit.SECONDS));
+        assertEquals(waitingInvocationCount, failures.get());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void registerMethodThrowsIfMaxConcurrencyIsNotPositive()
+    {
+        //act
+        new DirectMethodDispatcher().registerMethod("ping", (methodName, payload, context) -> null, this.fastExecutor, 0);
+    }
+}
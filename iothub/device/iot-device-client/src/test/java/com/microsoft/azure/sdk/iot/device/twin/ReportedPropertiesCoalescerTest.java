@@ -0,0 +1,265 @@
+// Copyright (c) Microsoft. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package com.microsoft.azure.sdk.iot.device.twin;
+
+import com.microsoft.azure.sdk.iot.device.IotHubStatusCode;
+import com.microsoft.azure.sdk.iot.device.Message;
+import com.microsoft.azure.sdk.iot.device.exceptions.IotHubClientException;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for ReportedPropertiesCoalescer.
+ */
+public class ReportedPropertiesCoalescerTest
+{
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    private final List<TwinCollection> sentPatches = Collections.synchronizedList(new ArrayList<>());
+    private final List<ReportedPropertiesUpdateCorrelatingMessageCallback> sentCallbacks = Collections.synchronizedList(new ArrayList<>());
+    private final CountDownLatch sent = new CountDownLatch(1);
+
+    private final ReportedPropertiesCoalescer.Sender sender = (reportedProperties, callback, callbackContext) ->
+    {
+        this.sentPatches.add(reportedProperties);
+        this.sentCallbacks.add(callback);
+        this.sent.countDown();
+    };
+
+    @After
+    public void tearDown()
+    {
+        this.scheduler.shutdownNow();
+    }
+
+    private static TwinCollection reported(String json)
+    {
+        return TwinJsonParser.parseCollection(json);
+    }
+
+    /**
+     * Records the contexts that the response was received with.
+     */
+    private static class RecordingCallback implements ReportedPropertiesUpdateCorrelatingMessageCallback
+    {
+        private final List<Object> responseContexts = new ArrayList<>();
+        private IotHubStatusCode statusCode;
+
+        @Override
+        public void onRequestQueued(Message message, Object callbackContext)
+        {
+        }
+
+        @Override
+        public void onRequestSent(Message message, Object callbackContext)
+        {
+        }
+
+        @Override
+        public void onRequestAcknowledged(Message message, Object callbackContext, IotHubClientException e)
+        {
+        }
+
+        @Override
+        public void onResponseReceived(Message message, Object callbackContext, IotHubStatusCode statusCode, ReportedPropertiesUpdateResponse response, IotHubClientException e)
+        {
+            this.responseContexts.add(callbackContext);
+            this.statusCode = statusCode;
+        }
+
+        @Override
+        public void onResponseAcknowledged(Message message, Object callbackContext)
+        {
+        }
+    }
+
+    @Test
+    public void updatesInWindowAreSentAsOnePatch() throws InterruptedException
+    {
+        //arrange
+        ReportedPropertiesCoalescer coalescer = new ReportedPropertiesCoalescer(50, this.scheduler, this.sender);
+        RecordingCallback callback = new RecordingCallback();
+
+        //act
+        coalescer.add(reported("{\"Temperature\":20,\"Humidity\":40}"), callback, "first");
+        coalescer.add(reported("{\"Temperature\":21}"), callback, "second");
+        coalescer.add(reported("{\"Temperature\":22,\"Pressure\":null}"), callback, "third");
+
+        //assert
+        assertTrue(this.sent.await(10, TimeUnit.SECONDS));
+        assertEquals(1, this.sentPatches.size());
+        TwinCollection patch = this.sentPatches.get(0);
+        assertEquals(22L, patch.get("Temperature"));
+        assertEquals(40L, patch.get("Humidity"));
+        assertTrue(patch.containsKey("Pressure"));
+        assertNull(patch.get("Pressure"));
+
+        this.sentCallbacks.get(0).onResponseReceived(null, null, IotHubStatusCode.OK, new ReportedPropertiesUpdateResponse(7), null);
+        assertEquals(IotHubStatusCode.OK, callback.statusCode);
+        assertEquals(Arrays.asList("first", "second", "third"), callback.responseContexts);
+    }
+
+    @Test
+    public void mergeMergesNestedCollections()
+    {
+        //arrange
+        TwinCollection patch = new TwinCollection();
+
+        //act
+        ReportedPropertiesCoalescer.merge(patch, reported("{\"Sensor\":{\"Temperature\":20,\"Humidity\":40}}"));
+        ReportedPropertiesCoalescer.merge(patch, reported("{\"Sensor\":{\"Temperature\":21}}"));
+
+        //assert
+        TwinCollection sensor = (TwinCollection) patch.get("Sensor");
+        assertEquals(21L, sensor.get("Temperature"));
+        assertEquals(40L, sensor.get("Humidity"));
+    }
+
+    @Test
+    public void mergeCopiesUpdate()
+    {
+        //arrange
+        TwinCollection patch = new TwinCollection();
+        TwinCollection update = reported("{\"Sensor\":{\"Temperature\":20}}");
+
+        //act
+        ReportedPropertiesCoalescer.merge(patch, update);
+        ((TwinCollection) update.get("Sensor")).put("Temperature", 30);
+
+        //assert
+        assertEquals(20L, ((TwinCollection) patch.get("Sensor")).get("Temperature"));
+    }
+
+    @Test
+    public void flushSendsPendingPatchOnce() throws InterruptedException
+    {
+        //arrange
+        ReportedPropertiesCoalescer coalescer = new ReportedPropertiesCoalescer(20, this.scheduler, this.sender);
+        coalescer.add(reported("{\"Temperature\":20}"), null, null);
+
+        //act
+        coalescer.flush();
+        coalescer.flush();
+        Thread.sleep(100);
+
+        //assert
+        assertEquals(1, this.sentPatches.size());
+    }
+
+    @Test
+    public void flushWaitsForPatchThatIsBeingSent() throws InterruptedException
+    {
+        //arrange
+        List<String> sends = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch sendStarted = new CountDownLatch(1);
+        CountDownLatch sendAllowed = new CountDownLatch(1);
+        ReportedPropertiesCoalescer coalescer = new ReportedPropertiesCoalescer(
+            1,
+            this.scheduler,
+            (reportedProperties, callback, callbackContext) ->
+            {
+                sendStarted.countDown();
+                try
+                {
+                    sendAllowed.await(10, TimeUnit.SECONDS);
+                }
+                catch (InterruptedException e)
+                {
+                    Thread.currentThread().interrupt();
+                }
+
+                sends.add("coalesced");
+            });
+        coalescer.add(reported("{\"Temperature\":20}"), null, null);
+        assertTrue(sendStarted.await(10, TimeUnit.SECONDS));
+
+        //act
+        // As a versioned update would be sent while the window's patch is being sent
+        Thread versionedUpdate = new Thread(() ->
+        {
+            coalescer.flush();
+            sends.add("versioned");
+        });
+        versionedUpdate.start();
+        versionedUpdate.join(100);
+
+        //assert
+        assertTrue(versionedUpdate.isAlive());
+
+        //act
+        sendAllowed.countDown();
+        versionedUpdate.join(10000);
+
+        //assert
+        assertEquals(Arrays.asList("coalesced", "versioned"), sends);
+    }
+
+    @Test
+    public void sendFailureIsReportedToEveryCallback()
+    {
+        //arrange
+        ReportedPropertiesCoalescer coalescer = new ReportedPropertiesCoalescer(
+            1000,
+            this.scheduler,
+            (reportedProperties, callback, callbackContext) ->
+            {
+                throw new IllegalStateException("Open the client connection before using it");
+            });
+        RecordingCallback callback = new RecordingCallback();
+        coalescer.add(reported("{\"Temperature\":20}"), callback, "first");
+        coalescer.add(reported("{\"Temperature\":21}"), callback, "second");
+
+        //act
+        coalescer.flush();
+
+        //assert
+        assertEquals(IotHubStatusCode.ERROR, callback.statusCode);
+        assertEquals(Arrays.asList("first", "second"), callback.responseContexts);
+    }
+
+    @Test
+    public void callbackThatThrowsDoesNotKeepOthersFromBeingExecuted() throws InterruptedException
+    {
+        //arrange
+        ReportedPropertiesCoalescer coalescer = new ReportedPropertiesCoalescer(1000, this.scheduler, this.sender);
+        RecordingCallback callback = new RecordingCallback();
+        RecordingCallback throwingCallback = new RecordingCallback()
+        {
+            @Override
+            public void onResponseReceived(Message message, Object callbackContext, IotHubStatusCode statusCode, ReportedPropertiesUpdateResponse response, IotHubClientException e)
+            {
+                throw new IllegalStateException("Callback failed");
+            }
+        };
+        coalescer.add(reported("{\"Temperature\":20}"), callback, "first");
+        coalescer.add(reported("{\"Temperature\":21}"), throwingCallback, "second");
+        coalescer.add(reported("{\"Temperature\":22}"), callback, "third");
+        coalescer.flush();
+        assertTrue(this.sent.await(10, TimeUnit.SECONDS));
+
+        //act
+        this.sentCallbacks.get(0).onResponseReceived(null, null, IotHubStatusCode.OK, new ReportedPropertiesUpdateResponse(7), null);
+
+        //assert
+        assertEquals(IotHubStatusCode.OK, callback.statusCode);
+        assertEquals(Arrays.asList("first", "third"), callback.responseContexts);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructorThrowsIfWindowIsNotPositive()
+    {
+        //act
+        new ReportedPropertiesCoalescer(0, this.scheduler, this.sender);
+    }
+}
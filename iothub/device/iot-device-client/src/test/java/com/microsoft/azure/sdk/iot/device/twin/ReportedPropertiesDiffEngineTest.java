@@ -0,0 +1,203 @@
+// Copyright (c) Microsoft. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package com.microsoft.azure.sdk.iot.device.twin;
+
+import com.google.gson.JsonParser;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for ReportedPropertiesDiffEngine.
+ */
+public class ReportedPropertiesDiffEngineTest
+{
+    private static final String STATE_JSON =
+        "{" +
+            "\"Firmware\":\"1.0\"," +
+            "\"Sensors\":{" +
+                "\"Temperature\":{\"Value\":20,\"Unit\":\"C\"}," +
+                "\"Humidity\":{\"Value\":40.5,\"Unit\":\"%\"}" +
+            "}," +
+            "\"Enabled\":true" +
+        "}";
+
+    private static TwinCollection state(String json)
+    {
+        return TwinJsonParser.parseCollection(json);
+    }
+
+    private static void assertPatch(String expectedJson, TwinCollection patch)
+    {
+        assertEquals(JsonParser.parseString(expectedJson), patch.toJsonElement());
+    }
+
+    @Test
+    public void diffSendsWholeStateFirst()
+    {
+        //arrange
+        ReportedPropertiesDiffEngine engine = new ReportedPropertiesDiffEngine();
+
+        //act
+        TwinCollection patch = engine.diff(state(STATE_JSON));
+
+        //assert
+        assertPatch(STATE_JSON, patch);
+    }
+
+    @Test
+    public void diffSendsOnlyChangedLeaves()
+    {
+        //arrange
+        ReportedPropertiesDiffEngine engine = new ReportedPropertiesDiffEngine();
+        engine.diff(state(STATE_JSON));
+        TwinCollection newState = state(STATE_JSON);
+        ((TwinCollection) ((TwinCollection) newState.get("Sensors")).get("Temperature")).put("Value", 21);
+
+        //act
+        TwinCollection patch = engine.diff(newState);
+
+        //assert
+        assertPatch("{\"Sensors\":{\"Temperature\":{\"Value\":21}}}", patch);
+    }
+
+    @Test
+    public void diffDeletesRemovedProperties()
+    {
+        //arrange
+        ReportedPropertiesDiffEngine engine = new ReportedPropertiesDiffEngine();
+        engine.diff(state(STATE_JSON));
+
+        //act
+        TwinCollection patch = engine.diff(state("{\"Firmware\":\"1.0\",\"Sensors\":{\"Temperature\":{\"Value\":20,\"Unit\":\"C\"},\"Humidity\":null}}"));
+
+        //assert
+        assertPatch("{\"Sensors\":{\"Humidity\":null},\"Enabled\":null}", patch);
+    }
+
+    @Test
+    public void diffReplacesValuesWithCollections()
+    {
+        //arrange
+        ReportedPropertiesDiffEngine engine = new ReportedPropertiesDiffEngine();
+        engine.diff(state("{\"Firmware\":\"1.0\",\"Location\":{\"Lat\":1}}"));
+
+        //act
+        TwinCollection patch = engine.diff(state("{\"Firmware\":{\"Version\":\"1.0\",\"Channel\":null},\"Location\":\"unknown\"}"));
+
+        //assert
+        assertPatch("{\"Firmware\":{\"Version\":\"1.0\"},\"Location\":\"unknown\"}", patch);
+    }
+
+    @Test
+    public void diffIsEmptyIfNothingChanged()
+    {
+        //arrange
+        ReportedPropertiesDiffEngine engine = new ReportedPropertiesDiffEngine();
+        TwinCollection sentState = new TwinCollection();
+        sentState.put("Count", 5);
+        sentState.put("Ratio", 0.5f);
+        engine.diff(sentState);
+
+        //act
+        // Parsed numbers are Longs and Doubles
+        TwinCollection patch = engine.diff(state("{\"Count\":5,\"Ratio\":0.5}"));
+
+        //assert
+        assertTrue(patch.isEmpty());
+    }
+
+    @Test
+    public void overlappingUpdatesEachBuildOnThePreviousSentState()
+    {
+        //arrange
+        ReportedPropertiesDiffEngine engine = new ReportedPropertiesDiffEngine();
+        engine.diff(state("{\"k\":1}"));
+
+        //act
+        // Neither patch has been acknowledged yet when the next state is diffed
+        TwinCollection secondPatch = engine.diff(state("{\"k\":2}"));
+        TwinCollection thirdPatch = engine.diff(state("{\"k\":1}"));
+
+        //assert
+        assertPatch("{\"k\":2}", secondPatch);
+        assertPatch("{\"k\":1}", thirdPatch);
+    }
+
+    @Test
+    public void failedPatchPropertiesAreSentAgain()
+    {
+        //arrange
+        ReportedPropertiesDiffEngine engine = new ReportedPropertiesDiffEngine();
+        engine.diff(state(STATE_JSON));
+        TwinCollection failedPatch = engine.diff(state("{\"Firmware\":\"2.0\",\"Sensors\":{\"Temperature\":{\"Value\":21,\"Unit\":\"C\"}},\"Enabled\":true}"));
+
+        //act
+        engine.onFailed(failedPatch);
+        TwinCollection patch = engine.diff(state("{\"Firmware\":\"2.0\",\"Sensors\":{\"Temperature\":{\"Value\":21,\"Unit\":\"C\"}},\"Enabled\":false}"));
+
+        //assert
+        assertPatch("{\"Firmware\":\"2.0\",\"Sensors\":{\"Temperature\":{\"Value\":21},\"Humidity\":null},\"Enabled\":false}", patch);
+        assertTrue(engine.diff(state("{\"Firmware\":\"2.0\",\"Sensors\":{\"Temperature\":{\"Value\":21,\"Unit\":\"C\"}},\"Enabled\":false}")).isEmpty());
+    }
+
+    @Test
+    public void failedPatchPropertiesAreSentWithTheirCurrentValues()
+    {
+        //arrange
+        ReportedPropertiesDiffEngine engine = new ReportedPropertiesDiffEngine();
+        engine.diff(state("{\"k\":1,\"Location\":{\"Lat\":1}}"));
+        TwinCollection failedPatch = engine.diff(state("{\"k\":2,\"Location\":{\"Lat\":2}}"));
+
+        //act
+        engine.onFailed(failedPatch);
+        TwinCollection patch = engine.diff(state("{\"k\":1}"));
+
+        //assert
+        assertPatch("{\"k\":1,\"Location\":null}", patch);
+    }
+
+    @Test
+    public void onAcknowledgedIgnoresOlderVersions()
+    {
+        //arrange
+        ReportedPropertiesDiffEngine engine = new ReportedPropertiesDiffEngine();
+        engine.onAcknowledged(5);
+
+        //act
+        engine.onAcknowledged(4);
+
+        //assert
+        assertEquals(5, (int) engine.getAcknowledgedVersion());
+    }
+
+    @Test
+    public void diffCopiesState()
+    {
+        //arrange
+        ReportedPropertiesDiffEngine engine = new ReportedPropertiesDiffEngine();
+        TwinCollection sentState = state(STATE_JSON);
+        engine.diff(sentState);
+
+        //act
+        ((TwinCollection) sentState.get("Sensors")).put("Pressure", 1000);
+
+        //assert
+        assertPatch("{\"Sensors\":{\"Pressure\":1000}}", engine.diff(sentState));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void onFailedThrowsIfPatchIsNull()
+    {
+        //act
+        new ReportedPropertiesDiffEngine().onFailed(null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void diffThrowsIfStateIsNull()
+    {
+        //act
+        new ReportedPropertiesDiffEngine().diff(null);
+    }
+}
@@ -0,0 +1,187 @@
+// Copyright (c) Microsoft. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package com.microsoft.azure.sdk.iot.device.twin;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for TwinCache.
+ */
+public class TwinCacheTest
+{
+    private static final String TWIN_JSON =
+        "{" +
+            "\"desired\":{\"Color\":\"White\",\"MaxSpeed\":{\"Value\":500,\"NewValue\":300},\"$version\":4}," +
+            "\"reported\":{\"Firmware\":\"1.0\",\"$version\":2}" +
+        "}";
+
+    private static TwinCollection patch(String json)
+    {
+        return TwinJsonParser.parseCollection(json);
+    }
+
+    private static TwinCache filledCache()
+    {
+        TwinCache cache = new TwinCache();
+        assertNull(cache.onTwinReceived(Twin.createFromPropertiesJson(TWIN_JSON)));
+        return cache;
+    }
+
+    @Test
+    public void getTwinReturnsNullUntilTwinIsReceived()
+    {
+        //act
+        TwinCache cache = new TwinCache();
+
+        //assert
+        assertNull(cache.getTwin());
+    }
+
+    @Test
+    public void getTwinReturnsCopy()
+    {
+        //arrange
+        TwinCache cache = filledCache();
+
+        //act
+        cache.getTwin().getDesiredProperties().put("Color", "Red");
+
+        //assert
+        assertEquals("White", cache.getTwin().getDesiredProperties().get("Color"));
+        assertEquals(4, (int) cache.getTwin().getDesiredProperties().getVersion());
+        assertEquals("1.0", cache.getTwin().getReportedProperties().get("Firmware"));
+    }
+
+    @Test
+    public void applyDesiredPropertiesPatchMergesNextVersion()
+    {
+        //arrange
+        TwinCache cache = filledCache();
+
+        //act
+        TwinCache.PatchResult result = cache.applyDesiredPropertiesPatch(patch("{\"Color\":null,\"MaxSpeed\":{\"Value\":600},\"Mode\":\"eco\",\"$version\":5}"));
+
+        //assert
+        assertEquals(TwinCache.PatchResult.APPLIED, result);
+        TwinCollection desired = cache.getTwin().getDesiredProperties();
+        assertEquals(5, (int) desired.getVersion());
+        assertFalse(desired.containsKey("Color"));
+        assertEquals("eco", desired.get("Mode"));
+        assertEquals(600L, ((TwinCollection) desired.get("MaxSpeed")).get("Value"));
+        assertEquals(300L, ((TwinCollection) desired.get("MaxSpeed")).get("NewValue"));
+    }
+
+    @Test
+    public void applyDesiredPropertiesPatchIgnoresPatchesTheCacheHas()
+    {
+        //arrange
+        TwinCache cache = filledCache();
+
+        //act
+        TwinCache.PatchResult result = cache.applyDesiredPropertiesPatch(patch("{\"Color\":\"Red\",\"$version\":4}"));
+
+        //assert
+        assertEquals(TwinCache.PatchResult.IGNORED, result);
+        assertEquals("White", cache.getTwin().getDesiredProperties().get("Color"));
+    }
+
+    @Test
+    public void applyDesiredPropertiesPatchAsksForRefreshOnceAfterGap()
+    {
+        //arrange
+        TwinCache cache = filledCache();
+
+        //act
+        TwinCache.PatchResult firstResult = cache.applyDesiredPropertiesPatch(patch("{\"Color\":\"Red\",\"$version\":7}"));
+        TwinCache.PatchResult secondResult = cache.applyDesiredPropertiesPatch(patch("{\"Color\":\"Blue\",\"$version\":8}"));
+
+        //assert
+        assertEquals(TwinCache.PatchResult.REFRESH_NEEDED, firstResult);
+        assertEquals(TwinCache.PatchResult.HELD_BACK, secondResult);
+        assertEquals(4, (int) cache.getTwin().getDesiredProperties().getVersion());
+    }
+
+    @Test
+    public void applyDesiredPropertiesPatchAsksForRefreshBeforeTwinIsReceived()
+    {
+        //arrange
+        TwinCache cache = new TwinCache();
+
+        //act
+        TwinCache.PatchResult result = cache.applyDesiredPropertiesPatch(patch("{\"Color\":\"Red\",\"$version\":1}"));
+
+        //assert
+        assertEquals(TwinCache.PatchResult.REFRESH_NEEDED, result);
+    }
+
+    @Test
+    public void onTwinReceivedAppliesHeldBackPatchesInOrder()
+    {
+        //arrange
+        TwinCache cache = filledCache();
+        cache.applyDesiredPropertiesPatch(patch("{\"Mode\":\"sport\",\"$version\":9}"));
+        cache.applyDesiredPropertiesPatch(patch("{\"Color\":\"Red\",\"$version\":7}"));
+        cache.applyDesiredPropertiesPatch(patch("{\"Color\":\"Green\",\"$version\":6}"));
+        cache.applyDesiredPropertiesPatch(patch("{\"Color\":\"Blue\",\"$version\":8}"));
+
+        //act
+        TwinCollection refreshed = cache.onTwinReceived(Twin.createFromPropertiesJson("{\"desired\":{\"Color\":\"Green\",\"$version\":6}}"));
+
+        //assert
+        assertEquals(9, (int) refreshed.getVersion());
+        assertEquals("Blue", refreshed.get("Color"));
+        assertEquals("sport", refreshed.get("Mode"));
+        assertEquals(refreshed, cache.getTwin().getDesiredProperties());
+        assertEquals(TwinCache.PatchResult.APPLIED, cache.applyDesiredPropertiesPatch(patch("{\"Mode\":\"eco\",\"$version\":10}")));
+    }
+
+    @Test
+    public void onTwinReceivedKeepsNewerCachedProperties()
+    {
+        //arrange
+        TwinCache cache = filledCache();
+        cache.applyDesiredPropertiesPatch(patch("{\"Color\":\"Red\",\"$version\":5}"));
+
+        //act
+        TwinCollection refreshed = cache.onTwinReceived(Twin.createFromPropertiesJson(TWIN_JSON));
+
+        //assert
+        assertNull(refreshed);
+        assertEquals("Red", cache.getTwin().getDesiredProperties().get("Color"));
+        assertEquals(5, (int) cache.getTwin().getDesiredProperties().getVersion());
+    }
+
+    @Test
+    public void onTwinRefreshFailedLetsNextPatchAskForRefreshAgain()
+    {
+        //arrange
+        TwinCache cache = filledCache();
+        cache.applyDesiredPropertiesPatch(patch("{\"Color\":\"Red\",\"$version\":7}"));
+
+        //act
+        cache.onTwinRefreshFailed();
+
+        //assert
+        assertEquals(TwinCache.PatchResult.REFRESH_NEEDED, cache.applyDesiredPropertiesPatch(patch("{\"Color\":\"Blue\",\"$version\":8}")));
+    }
+
+    @Test
+    public void applyReportedPropertiesPatchMergesAcceptedUpdates()
+    {
+        //arrange
+        TwinCache cache = filledCache();
+        TwinCollection reported = new TwinCollection();
+        reported.put("Firmware", "1.1");
+
+        //act
+        cache.applyReportedPropertiesPatch(reported, 3);
+        cache.applyReportedPropertiesPatch(patch("{\"Firmware\":\"0.9\"}"), 3);
+
+        //assert
+        assertEquals("1.1", cache.getTwin().getReportedProperties().get("Firmware"));
+        assertEquals(3, (int) cache.getTwin().getReportedProperties().getVersion());
+    }
+}
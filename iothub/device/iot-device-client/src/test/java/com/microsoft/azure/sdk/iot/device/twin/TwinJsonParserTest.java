@@ -0,0 +1,188 @@
+// Copyright (c) Microsoft. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package com.microsoft.azure.sdk.iot.device.twin;
+
+import com.google.gson.JsonParser;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.reflect.TypeToken;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for TwinJsonParser.
+ */
+public class TwinJsonParserTest
+{
+    private static final String COLLECTION_JSON =
+        "{" +
+            "\"Color\":\"White\"," +
+            "\"Deleted\":null," +
+            "\"Ratio\":0.25," +
+            "\"Enabled\":true," +
+            "\"Readings\":[1,2.5,\"three\",{\"four\":4}]," +
+            "\"MaxSpeed\":{" +
+                "\"Value\":500," +
+                "\"NewValue\":{\"Inner\":300,\"$version\":2}" +
+            "}," +
+            "\"$metadata\":{" +
+                "\"$lastUpdated\":\"2017-09-21T02:07:44.238Z\"," +
+                "\"$lastUpdatedVersion\":4," +
+                "\"Color\":{" +
+                    "\"$lastUpdated\":\"2017-09-21T02:07:44.238Z\"," +
+                    "\"$lastUpdatedVersion\":4," +
+                    "\"$lastUpdatedBy\":\"newconfig\"," +
+                    "\"$lastUpdatedByDigest\":\"637570574076206429\"" +
+                "}," +
+                "\"MaxSpeed\":{" +
+                    "\"$lastUpdated\":\"2017-09-21T02:07:44.238Z\"," +
+                    "\"$lastUpdatedVersion\":3," +
+                    "\"Value\":{\"$lastUpdated\":\"2017-09-21T02:07:44.238Z\",\"$lastUpdatedVersion\":5}," +
+                    "\"NewValue\":{" +
+                        "\"$lastUpdated\":\"2017-09-21T02:07:44.238Z\"," +
+                        "\"$lastUpdatedVersion\":5," +
+                        "\"Inner\":{\"$lastUpdatedVersion\":6}" +
+                    "}" +
+                "}" +
+            "}," +
+            "\"$version\":4" +
+        "}";
+
+    // What the Gson based parsing produced before the streaming parser
+    private static TwinCollection parseWithGson(String json)
+    {
+        Map<String, Object> rawCollection = TwinGsonBuilder.getGson().fromJson(json, new TypeToken<Map<String, Object>>() {}.getType());
+        return TwinCollection.createFromRawCollection(rawCollection);
+    }
+
+    private static void assertSameCollection(TwinCollection expected, TwinCollection actual)
+    {
+        assertEquals(expected, actual);
+        assertEquals(expected.getVersion(), actual.getVersion());
+        assertEquals(JsonParser.parseString(expected.toString()), JsonParser.parseString(actual.toString()));
+    }
+
+    @Test
+    public void parseCollectionMatchesGsonParsing()
+    {
+        //act
+        TwinCollection collection = TwinJsonParser.parseCollection(COLLECTION_JSON);
+
+        //assert
+        assertSameCollection(parseWithGson(COLLECTION_JSON), collection);
+        assertEquals(4, (int) collection.getVersion());
+        assertEquals(4, (int) collection.getTwinMetadata().getLastUpdatedVersion());
+        assertEquals("newconfig", collection.getTwinMetadata("Color").getLastUpdatedBy());
+        assertEquals("637570574076206429", collection.getTwinMetadata("Color").getLastUpdatedByDigest());
+        assertTrue(collection.containsKey("Deleted"));
+        assertNull(collection.get("Deleted"));
+        assertEquals(0.25, collection.get("Ratio"));
+        assertEquals(Arrays.asList(1L, 2.5, "three", Collections.singletonMap("four", 4L)), collection.get("Readings"));
+
+        TwinCollection maxSpeed = (TwinCollection) collection.get("MaxSpeed");
+        assertEquals(500L, maxSpeed.get("Value"));
+        assertEquals(3, (int) maxSpeed.getTwinMetadata().getLastUpdatedVersion());
+        assertEquals(5, (int) maxSpeed.getTwinMetadata("Value").getLastUpdatedVersion());
+
+        // Only the root of a collection has its own version
+        TwinCollection newValue = (TwinCollection) maxSpeed.get("NewValue");
+        assertNull(newValue.getVersion());
+        assertEquals(2L, newValue.get("$version"));
+        assertEquals(6, (int) newValue.getTwinMetadata("Inner").getLastUpdatedVersion());
+    }
+
+    @Test
+    public void parseCollectionAppliesMetadataThatComesBeforeTheValues()
+    {
+        //arrange
+        String json = "{\"$version\":7,\"$metadata\":{\"Group\":{\"$lastUpdated\":\"2017-09-21T02:07:44.238Z\",\"$lastUpdatedVersion\":7,\"Leaf\":{\"$lastUpdatedVersion\":6}}},\"Group\":{\"Leaf\":1}}";
+
+        //act
+        TwinCollection collection = TwinJsonParser.parseCollection(json);
+
+        //assert
+        assertSameCollection(parseWithGson(json), collection);
+        assertEquals(7, (int) collection.getTwinMetadata("Group").getLastUpdatedVersion());
+        assertEquals(6, (int) ((TwinCollection) collection.get("Group")).getTwinMetadata("Leaf").getLastUpdatedVersion());
+    }
+
+    @Test
+    public void parsePropertiesReadsDesiredAndReported()
+    {
+        //arrange
+        String json = "{\"desired\":" + COLLECTION_JSON + ",\"reported\":{\"Color\":\"Red\",\"$version\":9}}";
+
+        //act
+        Twin twin = TwinJsonParser.parseProperties(json);
+
+        //assert
+        assertSameCollection(parseWithGson(COLLECTION_JSON), twin.getDesiredProperties());
+        assertEquals("Red", twin.getReportedProperties().get("Color"));
+        assertEquals(9, (int) twin.getReportedProperties().getVersion());
+    }
+
+    @Test
+    public void parsePropertiesWithoutCollectionsHasNoProperties()
+    {
+        //act
+        Twin twin = TwinJsonParser.parseProperties("{\"unknown\":{\"a\":1}}");
+
+        //assert
+        assertNull(twin.getDesiredProperties());
+        assertNull(twin.getReportedProperties());
+    }
+
+    @Test
+    public void parseTwinReadsPropertiesAndSkipsEverythingElse()
+    {
+        //arrange
+        String json = "{\"deviceId\":\"device\",\"tags\":{\"a\":[1,{\"b\":2}]},\"properties\":{\"desired\":" + COLLECTION_JSON + "},\"version\":3}";
+
+        //act
+        Twin twin = TwinJsonParser.parseTwin(json);
+
+        //assert
+        assertSameCollection(parseWithGson(COLLECTION_JSON), twin.getDesiredProperties());
+        assertNull(twin.getReportedProperties());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void parseTwinThrowsIfPropertiesHaveNeitherCollection()
+    {
+        //act
+        TwinJsonParser.parseTwin("{\"properties\":{}}");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void parseCollectionThrowsIfVersionIsNotANumber()
+    {
+        //act
+        TwinJsonParser.parseCollection("{\"$version\":\"four\"}");
+    }
+
+    @Test(expected = JsonSyntaxException.class)
+    public void parseCollectionThrowsOnMalformedJson()
+    {
+        //act
+        TwinJsonParser.parseCollection("{\"Color\":\"White\"");
+    }
+
+    @Test(expected = JsonSyntaxException.class)
+    public void parseCollectionThrowsOnTrailingContent()
+    {
+        //act
+        TwinJsonParser.parseCollection("{\"Color\":\"White\"} {}");
+    }
+
+    @Test(expected = JsonSyntaxException.class)
+    public void parseCollectionThrowsIfNotAnObject()
+    {
+        //act
+        TwinJsonParser.parseCollection("[1,2]");
+    }
+}
@@ -11,7 +11,6 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.net.ProtocolException;
 import java.net.URL;
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
@@ -29,6 +28,12 @@ import java.util.Map;
  */
 class HttpConnection
 {
+    // Size of the chunks that response bodies are read in when their Content-Length isn't known
+    private static final int READ_BUFFER_SIZE = 8 * 1024;
+
+    // Upper bound on how much is allocated up front based on a response's Content-Length
+    private static final int MAX_PREALLOCATED_BODY_SIZE = 1024 * 1024;
+
     /** The underlying HTTPS connection. */
     private final HttpsURLConnection connection;
 
@@ -196,7 +201,7 @@ class HttpConnection
         byte[] input;
         try (InputStream inputStream = this.connection.getInputStream())
         {
-            input = readInputStream(inputStream);
+            input = readInputStream(inputStream, this.connection.getContentLength());
         }
 
         return input;
@@ -218,7 +223,7 @@ class HttpConnection
             // if there is no error reason, getErrorStream() returns null.
             if (errorStream != null)
             {
-                error = readInputStream(errorStream);
+                error = readInputStream(errorStream, this.connection.getContentLength());
             }
         }
 
@@ -254,31 +259,38 @@ class HttpConnection
      * Reads the input stream until the stream is empty.
      *
      * @param stream The input stream.
+     * @param contentLength The Content-Length of the response, or -1 if it isn't known. This is only used to size the
+     * buffer up front, the stream is still read until it is empty.
      *
      * @return The content of the input stream.
      *
      * @throws IOException This exception thrown if the input stream could not be read from.
      */
-    private static byte[] readInputStream(InputStream stream)
+    private static byte[] readInputStream(InputStream stream, int contentLength)
         throws IOException
     {
-        ArrayList<Byte> byteBuffer = new ArrayList<>();
-        int nextByte;
-        // read(byte[]) reads the byte into the buffer and returns the number
-        // of bytes read, or -1 if the end of the stream has been reached.
-        while ((nextByte = stream.read()) > -1)
+        // The Content-Length comes from the service, so it isn't trusted for more than a bounded up front allocation
+        byte[] buffer = new byte[contentLength > 0 ? Math.min(contentLength, MAX_PREALLOCATED_BODY_SIZE) : READ_BUFFER_SIZE];
+        int totalBytesRead = 0;
+        int bytesRead;
+        while ((bytesRead = stream.read(buffer, totalBytesRead, buffer.length - totalBytesRead)) > -1)
         {
-            byteBuffer.add((byte) nextByte);
-        }
+            totalBytesRead += bytesRead;
+            if (totalBytesRead == buffer.length)
+            {
+                // Reading one more byte is the only way to tell a full buffer apart from the end of the stream
+                int nextByte = stream.read();
+                if (nextByte == -1)
+                {
+                    break;
+                }
 
-        int bufferSize = byteBuffer.size();
-        byte[] byteArray = new byte[bufferSize];
-        for (int i = 0; i < bufferSize; ++i)
-        {
-            byteArray[i] = byteBuffer.get(i);
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, READ_BUFFER_SIZE));
+                buffer[totalBytesRead++] = (byte) nextByte;
+            }
         }
 
-        return byteArray;
+        return totalBytesRead == buffer.length ? buffer : Arrays.copyOf(buffer, totalBytesRead);
     }
 
     void setSSLContext(SSLContext sslContext) throws IllegalArgumentException
@@ -32,6 +32,22 @@ elseif (($env:JAVA_VERSION).equals("11"))
 {
     $env:JAVA_HOME=$env:JAVA_HOME_11_X64
     mvn -DRUN_PROVISIONING_TESTS="$Env:runProvisioningTests" -DRUN_DIGITAL_TESTS="$Env:runDigitalTwinTests" -DRUN_IOTHUB_TESTS="$Env:runIotHubTests" -DIS_PULL_REQUEST="$isPullRequestBuild" install -T 2C -DskipUnitTests --batch-mode -q
+    if ($LASTEXITCODE -ne 0)
+    {
+        exit $LASTEXITCODE
+    }
+
+    # The Java 21 classes of the device client under src/main/java21 are only compiled by its multi-release-jar profile,
+    # which is only active on JDK 21 or later, so compile the device client with JDK 21 as well to keep them building
+    if ($env:JAVA_HOME_21_X64)
+    {
+        $env:JAVA_HOME=$env:JAVA_HOME_21_X64
+        mvn compile -pl iothub/device/iot-device-client -am --batch-mode -q
+    }
+    else
+    {
+        Write-Host "Skipping the Java 21 build of the device client since this agent doesn't have JDK 21"
+    }
 }
 # Leaving this commented out to make it easy to add Java 17 support later
 #elseif (($env:JAVA_VERSION).equals("17"))